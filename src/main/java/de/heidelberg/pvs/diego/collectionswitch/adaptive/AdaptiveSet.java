@@ -1,134 +1,179 @@
-package de.heidelberg.pvs.diego.collectionswitch.adaptive;
-
-import java.util.Collection;
-import java.util.Iterator;
-import java.util.Set;
-
-import edu.stanford.nlp.util.ArraySet;
-import net.openhft.koloboke.collect.set.hash.HashObjSets;
-
-public class AdaptiveSet<E> implements Set<E> {
-
-	private static final int TURNING_POINT = 40;
-
-	Set<E> set;
-
-	private boolean transformed;
-
-	public AdaptiveSet() {
-		super();
-		set = new ArraySet<E>();
-	}
-
-	public AdaptiveSet(int capacity) {
-		super();
-		if (capacity < TURNING_POINT) {
-			set = new ArraySet<E>(capacity);
-		} else  {
-			set = HashObjSets.newMutableSet(capacity);
-			transformed = true;
-		} 
-	}
-
-	public AdaptiveSet(int capacity, float loadFactor) {
-		super();
-		
-		if (capacity < TURNING_POINT) {
-			set = new ArraySet<E>(capacity);
-		} else  {
-			set = HashObjSets.newMutableSet(capacity);
-			transformed = true;
-		} 
-	}
-
-	public AdaptiveSet(Collection<? extends E> setToCopy) {
-
-		if (setToCopy.size() < TURNING_POINT) {
-			this.set = new ArraySet<E>();
-			this.set.addAll(setToCopy);
-		} else  {
-			this.set = HashObjSets.newMutableSet(setToCopy);
-			transformed = true;
-		} 
-
-	}
-
-	private void manageImplementation(int delta) {
-		int newSize = size() + delta;
-		
-		// Double-check on transformed
-		if (newSize > TURNING_POINT && !transformed) {
-			set = HashObjSets.newMutableSet(set);
-			transformed = true;
-		} 
-		
-	}
-
-	public boolean add(E e) {
-		if(!transformed) {
-			manageImplementation(1);
-		}
-		return set.add(e);
-	}
-
-	public boolean addAll(Collection<? extends E> c) {
-		if(!transformed) {
-			manageImplementation(c.size());
-		}
-		manageImplementation(c.size());
-		return set.addAll(c);
-	}
-
-	public void clear() {
-		set.clear();
-	}
-
-	public boolean contains(Object o) {
-		return set.contains(o);
-	}
-
-	public boolean containsAll(Collection<?> c) {
-		return set.containsAll(c);
-	}
-
-	public boolean equals(Object o) {
-		return set.equals(o);
-	}
-
-	public int hashCode() {
-		return set.hashCode();
-	}
-
-	public boolean isEmpty() {
-		return set.isEmpty();
-	}
-
-	public Iterator<E> iterator() {
-		return set.iterator();
-	}
-
-	public boolean remove(Object o) {
-		return set.remove(o);
-	}
-
-	public boolean removeAll(Collection<?> c) {
-		return set.removeAll(c);
-	}
-
-	public boolean retainAll(Collection<?> c) {
-		return set.retainAll(c);
-	}
-
-	public int size() {
-		return set.size();
-	}
-
-	public Object[] toArray() {
-		return set.toArray();
-	}
-
-	public Object[] toArray(Object[] a) {
-		return set.toArray(a);
-	}
-
-}
+package de.heidelberg.pvs.diego.collectionswitch.adaptive;
+
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Set;
+
+import edu.stanford.nlp.util.ArraySet;
+import net.openhft.koloboke.collect.set.hash.HashObjSets;
+
+public class AdaptiveSet<E> implements Set<E> {
+
+	public static final int DEFAULT_TURNING_POINT = 40;
+
+	// Transformed instances only go back to the array below a quarter of the
+	// turning point, so that sizes around it do not convert on every operation
+	private static final int SHRINK_RATIO = 4;
+
+	private final int turningPoint;
+
+	Set<E> set;
+
+	private boolean transformed;
+
+	public AdaptiveSet() {
+		super();
+		this.turningPoint = DEFAULT_TURNING_POINT;
+		set = new ArraySet<E>();
+	}
+
+	public AdaptiveSet(TurningPoint turningPoint) {
+		super();
+		this.turningPoint = turningPoint.get();
+		set = new ArraySet<E>();
+	}
+
+	public AdaptiveSet(int capacity) {
+		this(capacity, DEFAULT_TURNING_POINT);
+	}
+
+	public AdaptiveSet(int capacity, float loadFactor) {
+		this(capacity, DEFAULT_TURNING_POINT);
+	}
+
+	public AdaptiveSet(int capacity, TurningPoint turningPoint) {
+		this(capacity, turningPoint.get());
+	}
+
+	private AdaptiveSet(int capacity, int turningPoint) {
+		super();
+		this.turningPoint = turningPoint;
+		if (capacity < turningPoint) {
+			set = new ArraySet<E>(capacity);
+		} else  {
+			set = HashObjSets.newMutableSet(capacity);
+			transformed = true;
+		} 
+	}
+
+	public AdaptiveSet(Collection<? extends E> setToCopy) {
+		this(setToCopy, DEFAULT_TURNING_POINT);
+	}
+
+	public AdaptiveSet(Collection<? extends E> setToCopy, TurningPoint turningPoint) {
+		this(setToCopy, turningPoint.get());
+	}
+
+	private AdaptiveSet(Collection<? extends E> setToCopy, int turningPoint) {
+
+		this.turningPoint = turningPoint;
+		if (setToCopy.size() < turningPoint) {
+			this.set = new ArraySet<E>();
+			this.set.addAll(setToCopy);
+		} else  {
+			this.set = HashObjSets.newMutableSet(setToCopy);
+			transformed = true;
+		} 
+
+	}
+
+	private void manageImplementation(int delta) {
+		int newSize = size() + delta;
+		
+		// Double-check on transformed
+		if (newSize > turningPoint && !transformed) {
+			set = HashObjSets.newMutableSet(set);
+			transformed = true;
+		} 
+		
+	}
+
+	private void shrinkImplementation() {
+		if (transformed && size() < turningPoint / SHRINK_RATIO) {
+			Set<E> compact = new ArraySet<E>(set.size());
+			compact.addAll(set);
+			set = compact;
+			transformed = false;
+		}
+	}
+
+	public boolean add(E e) {
+		if(!transformed) {
+			manageImplementation(1);
+		}
+		return set.add(e);
+	}
+
+	public boolean addAll(Collection<? extends E> c) {
+		if(!transformed) {
+			manageImplementation(c.size());
+		}
+		manageImplementation(c.size());
+		return set.addAll(c);
+	}
+
+	public void clear() {
+		if (transformed) {
+			// Drops the hash table instead of clearing it
+			set = new ArraySet<E>();
+			transformed = false;
+		} else {
+			set.clear();
+		}
+	}
+
+	public boolean contains(Object o) {
+		return set.contains(o);
+	}
+
+	public boolean containsAll(Collection<?> c) {
+		return set.containsAll(c);
+	}
+
+	public boolean equals(Object o) {
+		return set.equals(o);
+	}
+
+	public int hashCode() {
+		return set.hashCode();
+	}
+
+	public boolean isEmpty() {
+		return set.isEmpty();
+	}
+
+	public Iterator<E> iterator() {
+		return set.iterator();
+	}
+
+	public boolean remove(Object o) {
+		boolean removed = set.remove(o);
+		shrinkImplementation();
+		return removed;
+	}
+
+	public boolean removeAll(Collection<?> c) {
+		boolean changed = set.removeAll(c);
+		shrinkImplementation();
+		return changed;
+	}
+
+	public boolean retainAll(Collection<?> c) {
+		boolean changed = set.retainAll(c);
+		shrinkImplementation();
+		return changed;
+	}
+
+	public int size() {
+		return set.size();
+	}
+
+	public Object[] toArray() {
+		return set.toArray();
+	}
+
+	public Object[] toArray(Object[] a) {
+		return set.toArray(a);
+	}
+
+}
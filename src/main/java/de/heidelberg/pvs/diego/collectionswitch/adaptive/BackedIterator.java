@@ -0,0 +1,46 @@
+package de.heidelberg.pvs.diego.collectionswitch.adaptive;
+
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+
+/**
+ * Iterator of a wrapper whose backing collection can be replaced. Once the
+ * backing it was created from is no longer current, it fails fast as after any
+ * other structural modification of the wrapper.
+ */
+abstract class BackedIterator<E> implements Iterator<E> {
+
+	private final Iterator<E> iterator;
+	private final Object backing;
+
+	BackedIterator(Iterator<E> iterator, Object backing) {
+		this.iterator = iterator;
+		this.backing = backing;
+	}
+
+	/**
+	 * Backing collection the wrapper currently delegates to
+	 */
+	protected abstract Object currentBacking();
+
+	protected void checkBacking() {
+		if (currentBacking() != backing) {
+			throw new ConcurrentModificationException();
+		}
+	}
+
+	public boolean hasNext() {
+		return iterator.hasNext();
+	}
+
+	public E next() {
+		checkBacking();
+		return iterator.next();
+	}
+
+	public void remove() {
+		checkBacking();
+		iterator.remove();
+	}
+
+}
@@ -0,0 +1,239 @@
+package de.heidelberg.pvs.diego.collectionswitch.adaptive;
+
+import java.util.AbstractList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.ListIterator;
+
+import de.heidelberg.pvs.diego.collectionswitch.context.ListCollectionType;
+
+/**
+ * List that follows the type selected for its allocation context after it was
+ * created.
+ * 
+ * The backing list is replaced on the next mutating call after a new type is
+ * published, which is a safe point for the caller. Only structural
+ * modifications migrate: sub lists go through this list, and iterators fail
+ * fast once the list migrated, as after any other structural modification.
+ */
+public class MigratableList<E> extends AbstractList<E> implements List<E> {
+
+	private List<E> list;
+
+	private ListCollectionType type;
+
+	private final MigrationSignal<ListCollectionType> signal;
+	private MigrationSignal.Target<ListCollectionType> seen;
+
+	public MigratableList(List<E> list, MigrationSignal<ListCollectionType> signal,
+			MigrationSignal.Target<ListCollectionType> seen) {
+		super();
+		this.list = list;
+		this.signal = signal;
+		this.seen = seen;
+		this.type = seen.getType();
+	}
+
+	private void migrateIfRequested() {
+		MigrationSignal.Target<ListCollectionType> target = signal.current();
+		if (target != seen) {
+			seen = target;
+			// Live instances never move to primitive types, which would reject
+			// other elements. New instances are guarded by their context
+			if (target.getType() != type && target.getType().accepts(Object.class)
+					&& target.allowsMigration(list.size())) {
+				list = target.getType().createList(list);
+				type = target.getType();
+			}
+		}
+	}
+
+	public ListCollectionType getCurrentCollectionType() {
+		return type;
+	}
+
+	// -------------------------------------------------
+	// 						MUTATING
+	// -------------------------------------------------
+
+	public boolean add(E e) {
+		modCount++;
+		migrateIfRequested();
+		return list.add(e);
+	}
+
+	public boolean addAll(Collection<? extends E> c) {
+		modCount++;
+		migrateIfRequested();
+		return list.addAll(c);
+	}
+
+	public boolean addAll(int index, Collection<? extends E> c) {
+		modCount++;
+		migrateIfRequested();
+		return list.addAll(index, c);
+	}
+
+	public void add(int index, E element) {
+		modCount++;
+		migrateIfRequested();
+		list.add(index, element);
+	}
+
+	// Replacing an element is not structural, so it keeps open iterators valid
+	public E set(int index, E element) {
+		return list.set(index, element);
+	}
+
+	public boolean remove(Object o) {
+		modCount++;
+		migrateIfRequested();
+		return list.remove(o);
+	}
+
+	public E remove(int index) {
+		modCount++;
+		migrateIfRequested();
+		return list.remove(index);
+	}
+
+	public boolean removeAll(Collection<?> c) {
+		modCount++;
+		migrateIfRequested();
+		return list.removeAll(c);
+	}
+
+	public boolean retainAll(Collection<?> c) {
+		modCount++;
+		migrateIfRequested();
+		return list.retainAll(c);
+	}
+
+	public void clear() {
+		modCount++;
+		list.clear();
+		// An empty list migrates for free
+		migrateIfRequested();
+	}
+
+	// ----------------------------------------
+
+	public int size() {
+		return list.size();
+	}
+
+	public boolean isEmpty() {
+		return list.isEmpty();
+	}
+
+	public boolean contains(Object o) {
+		return list.contains(o);
+	}
+
+	public Iterator<E> iterator() {
+		return new Itr(0);
+	}
+
+	public Object[] toArray() {
+		return list.toArray();
+	}
+
+	public <T> T[] toArray(T[] a) {
+		return list.toArray(a);
+	}
+
+	public boolean containsAll(Collection<?> c) {
+		return list.containsAll(c);
+	}
+
+	public E get(int index) {
+		return list.get(index);
+	}
+
+	public int indexOf(Object o) {
+		return list.indexOf(o);
+	}
+
+	public int lastIndexOf(Object o) {
+		return list.lastIndexOf(o);
+	}
+
+	public ListIterator<E> listIterator() {
+		return new Itr(0);
+	}
+
+	public ListIterator<E> listIterator(int index) {
+		return new Itr(index);
+	}
+
+	public boolean equals(Object o) {
+		return list.equals(o);
+	}
+
+	public int hashCode() {
+		return list.hashCode();
+	}
+
+	public String toString() {
+		return list.toString();
+	}
+
+	/**
+	 * Iterator over the backing list it was created from
+	 */
+	private class Itr extends BackedIterator<E> implements ListIterator<E> {
+
+		private final ListIterator<E> iterator;
+
+		Itr(int index) {
+			this(list.listIterator(index));
+		}
+
+		private Itr(ListIterator<E> iterator) {
+			super(iterator, list);
+			this.iterator = iterator;
+		}
+
+		@Override
+		protected Object currentBacking() {
+			return list;
+		}
+
+		public boolean hasPrevious() {
+			return iterator.hasPrevious();
+		}
+
+		public E previous() {
+			checkBacking();
+			return iterator.previous();
+		}
+
+		public int nextIndex() {
+			return iterator.nextIndex();
+		}
+
+		public int previousIndex() {
+			return iterator.previousIndex();
+		}
+
+		@Override
+		public void remove() {
+			super.remove();
+			modCount++;
+		}
+
+		public void set(E e) {
+			checkBacking();
+			iterator.set(e);
+		}
+
+		public void add(E e) {
+			checkBacking();
+			iterator.add(e);
+			modCount++;
+		}
+
+	}
+
+}
@@ -0,0 +1,224 @@
+package de.heidelberg.pvs.diego.collectionswitch.adaptive;
+
+import java.util.AbstractCollection;
+import java.util.AbstractSet;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+
+import de.heidelberg.pvs.diego.collectionswitch.context.MapCollectionType;
+
+/**
+ * Map that follows the type selected for its allocation context after it was
+ * created.
+ * 
+ * The backing map is replaced on the next mutating call after a new type is
+ * published. Key, value and entry views go through this map, and their
+ * iterators fail fast once the map migrated, as after any other structural
+ * modification.
+ */
+public class MigratableMap<K, V> implements Map<K, V> {
+
+	private Map<K, V> map;
+
+	private MapCollectionType type;
+
+	private final MigrationSignal<MapCollectionType> signal;
+	private MigrationSignal.Target<MapCollectionType> seen;
+
+	public MigratableMap(Map<K, V> map, MigrationSignal<MapCollectionType> signal,
+			MigrationSignal.Target<MapCollectionType> seen) {
+		super();
+		this.map = map;
+		this.signal = signal;
+		this.seen = seen;
+		this.type = seen.getType();
+	}
+
+	private void migrateIfRequested() {
+		MigrationSignal.Target<MapCollectionType> target = signal.current();
+		if (target != seen) {
+			seen = target;
+			// Live instances never move to primitive types, which would reject
+			// other elements. New instances are guarded by their context
+			if (target.getType() != type && target.getType().accepts(Object.class)
+					&& target.allowsMigration(map.size())) {
+				map = target.getType().createMap(map);
+				type = target.getType();
+			}
+		}
+	}
+
+	private boolean isMigrationRequested() {
+		return signal.current() != seen;
+	}
+
+	public MapCollectionType getCurrentCollectionType() {
+		return type;
+	}
+
+	// -----------------------------------------------------
+	// 						MUTATING
+	// -----------------------------------------------------
+
+	public V put(K key, V value) {
+		// Replacing a value is not structural, so it keeps open iterators valid
+		if (isMigrationRequested() && !map.containsKey(key)) {
+			migrateIfRequested();
+		}
+		return map.put(key, value);
+	}
+
+	public void putAll(Map<? extends K, ? extends V> m) {
+		migrateIfRequested();
+		map.putAll(m);
+	}
+
+	public V remove(Object key) {
+		migrateIfRequested();
+		return map.remove(key);
+	}
+
+	public void clear() {
+		map.clear();
+		// An empty map migrates for free
+		migrateIfRequested();
+	}
+
+	// -----------------------------------------------------
+
+	public int size() {
+		return map.size();
+	}
+
+	public boolean isEmpty() {
+		return map.isEmpty();
+	}
+
+	public boolean containsKey(Object key) {
+		return map.containsKey(key);
+	}
+
+	public boolean containsValue(Object value) {
+		return map.containsValue(value);
+	}
+
+	public V get(Object key) {
+		return map.get(key);
+	}
+
+	public Set<K> keySet() {
+		return new KeySet();
+	}
+
+	public Collection<V> values() {
+		return new Values();
+	}
+
+	public Set<java.util.Map.Entry<K, V>> entrySet() {
+		return new EntrySet();
+	}
+
+	public boolean equals(Object o) {
+		return map.equals(o);
+	}
+
+	public int hashCode() {
+		return map.hashCode();
+	}
+
+	public String toString() {
+		return map.toString();
+	}
+
+	// -----------------------------------------------------
+	// 						VIEWS
+	// -----------------------------------------------------
+
+	private <E> Iterator<E> iterator(Collection<E> view) {
+		return new BackedIterator<E>(view.iterator(), map) {
+			@Override
+			protected Object currentBacking() {
+				return map;
+			}
+		};
+	}
+
+	private class KeySet extends AbstractSet<K> {
+
+		public Iterator<K> iterator() {
+			return MigratableMap.this.iterator(map.keySet());
+		}
+
+		public int size() {
+			return map.size();
+		}
+
+		public boolean contains(Object o) {
+			return map.containsKey(o);
+		}
+
+		public boolean remove(Object o) {
+			if (!map.containsKey(o)) {
+				return false;
+			}
+			MigratableMap.this.remove(o);
+			return true;
+		}
+
+		public void clear() {
+			MigratableMap.this.clear();
+		}
+
+	}
+
+	private class Values extends AbstractCollection<V> {
+
+		public Iterator<V> iterator() {
+			return MigratableMap.this.iterator(map.values());
+		}
+
+		public int size() {
+			return map.size();
+		}
+
+		public boolean contains(Object o) {
+			return map.containsValue(o);
+		}
+
+		public void clear() {
+			MigratableMap.this.clear();
+		}
+
+	}
+
+	private class EntrySet extends AbstractSet<java.util.Map.Entry<K, V>> {
+
+		public Iterator<java.util.Map.Entry<K, V>> iterator() {
+			return MigratableMap.this.iterator(map.entrySet());
+		}
+
+		public int size() {
+			return map.size();
+		}
+
+		public boolean contains(Object o) {
+			return map.entrySet().contains(o);
+		}
+
+		public boolean remove(Object o) {
+			if (!map.entrySet().contains(o)) {
+				return false;
+			}
+			MigratableMap.this.remove(((java.util.Map.Entry<?, ?>) o).getKey());
+			return true;
+		}
+
+		public void clear() {
+			MigratableMap.this.clear();
+		}
+
+	}
+
+}
@@ -0,0 +1,135 @@
+package de.heidelberg.pvs.diego.collectionswitch.adaptive;
+
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Set;
+
+import de.heidelberg.pvs.diego.collectionswitch.context.SetCollectionType;
+
+/**
+ * Set that follows the type selected for its allocation context after it was
+ * created.
+ * 
+ * The backing set is replaced on the next mutating call after a new type is
+ * published. Iterators fail fast once the set migrated, as after any other
+ * structural modification.
+ */
+public class MigratableSet<E> implements Set<E> {
+
+	private Set<E> set;
+
+	private SetCollectionType type;
+
+	private final MigrationSignal<SetCollectionType> signal;
+	private MigrationSignal.Target<SetCollectionType> seen;
+
+	public MigratableSet(Set<E> set, MigrationSignal<SetCollectionType> signal,
+			MigrationSignal.Target<SetCollectionType> seen) {
+		super();
+		this.set = set;
+		this.signal = signal;
+		this.seen = seen;
+		this.type = seen.getType();
+	}
+
+	private void migrateIfRequested() {
+		MigrationSignal.Target<SetCollectionType> target = signal.current();
+		if (target != seen) {
+			seen = target;
+			// Live instances never move to primitive types, which would reject
+			// other elements. New instances are guarded by their context
+			if (target.getType() != type && target.getType().accepts(Object.class)
+					&& target.allowsMigration(set.size())) {
+				set = target.getType().createSet(set);
+				type = target.getType();
+			}
+		}
+	}
+
+	public SetCollectionType getCurrentCollectionType() {
+		return type;
+	}
+
+	// -------------------------------------------------
+	// 						MUTATING
+	// -------------------------------------------------
+
+	public boolean add(E e) {
+		migrateIfRequested();
+		return set.add(e);
+	}
+
+	public boolean addAll(Collection<? extends E> c) {
+		migrateIfRequested();
+		return set.addAll(c);
+	}
+
+	public boolean remove(Object o) {
+		migrateIfRequested();
+		return set.remove(o);
+	}
+
+	public boolean removeAll(Collection<?> c) {
+		migrateIfRequested();
+		return set.removeAll(c);
+	}
+
+	public boolean retainAll(Collection<?> c) {
+		migrateIfRequested();
+		return set.retainAll(c);
+	}
+
+	public void clear() {
+		set.clear();
+		// An empty set migrates for free
+		migrateIfRequested();
+	}
+
+	// ----------------------------------------
+
+	public int size() {
+		return set.size();
+	}
+
+	public boolean isEmpty() {
+		return set.isEmpty();
+	}
+
+	public boolean contains(Object o) {
+		return set.contains(o);
+	}
+
+	public Iterator<E> iterator() {
+		return new BackedIterator<E>(set.iterator(), set) {
+			@Override
+			protected Object currentBacking() {
+				return set;
+			}
+		};
+	}
+
+	public Object[] toArray() {
+		return set.toArray();
+	}
+
+	public <T> T[] toArray(T[] a) {
+		return set.toArray(a);
+	}
+
+	public boolean containsAll(Collection<?> c) {
+		return set.containsAll(c);
+	}
+
+	public boolean equals(Object o) {
+		return set.equals(o);
+	}
+
+	public int hashCode() {
+		return set.hashCode();
+	}
+
+	public String toString() {
+		return set.toString();
+	}
+
+}
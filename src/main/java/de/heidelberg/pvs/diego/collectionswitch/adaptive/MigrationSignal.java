@@ -0,0 +1,50 @@
+package de.heidelberg.pvs.diego.collectionswitch.adaptive;
+
+/**
+ * Shared by an allocation context and its migratable instances to announce a
+ * new collection type.
+ * 
+ * Instances compare the published target with the last one they have seen, so
+ * checking for a migration is a single volatile read.
+ */
+public final class MigrationSignal<T> {
+
+	private volatile Target<T> current;
+
+	public MigrationSignal(T type) {
+		this.current = new Target<T>(type, 0);
+	}
+
+	public Target<T> current() {
+		return current;
+	}
+
+	/**
+	 * Asks every live instance with at most maxMigrationSize elements to move
+	 * to the given type
+	 */
+	public void publish(T type, int maxMigrationSize) {
+		this.current = new Target<T>(type, maxMigrationSize);
+	}
+
+	public static final class Target<T> {
+
+		private final T type;
+		private final int maxMigrationSize;
+
+		Target(T type, int maxMigrationSize) {
+			this.type = type;
+			this.maxMigrationSize = maxMigrationSize;
+		}
+
+		public T getType() {
+			return type;
+		}
+
+		public boolean allowsMigration(int size) {
+			return size <= maxMigrationSize;
+		}
+
+	}
+
+}
@@ -0,0 +1,26 @@
+package de.heidelberg.pvs.diego.collectionswitch.adaptive;
+
+/**
+ * Size at which the adaptive collections of one allocation context move from
+ * the array to the hash representation.
+ * 
+ * The optimizer of the context updates it from the performance models, and
+ * each adaptive instance reads it once when it is created.
+ */
+public final class TurningPoint {
+
+	private volatile int value;
+
+	public TurningPoint(int value) {
+		this.value = value;
+	}
+
+	public int get() {
+		return value;
+	}
+
+	public void set(int value) {
+		this.value = value;
+	}
+
+}
@@ -0,0 +1,173 @@
+package de.heidelberg.pvs.diego.collectionswitch.adaptive;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.RandomAccess;
+
+import de.heidelberg.pvs.diego.collectionswitch.context.ListCollectionType;
+
+/**
+ * List of a generic context whose profile promoted it to a primitive
+ * implementation.
+ *
+ * The elements stay in the primitive list while all of them are of its element
+ * type. The first {@code null} or element of another class moves them to an
+ * {@link ArrayList}, so the list still accepts everything a generic list does.
+ * Iterators and sub lists go through this list, so they follow the move.
+ */
+public class UnboxedList<E> extends AbstractList<E> implements RandomAccess {
+
+	private List<E> list;
+
+	// Class of the elements of the primitive list, null once boxed
+	private Class<?> elementType;
+
+	public UnboxedList(List<E> list, Class<?> elementType) {
+		super();
+		this.list = list;
+		this.elementType = elementType;
+	}
+
+	/**
+	 * The given list, guarded if its type does not accept every element of the
+	 * context
+	 */
+	public static <E> List<E> guard(List<E> list, ListCollectionType type, Class<?> contextType) {
+		return type.accepts(contextType) ? list : new UnboxedList<E>(list, type.getElementType());
+	}
+
+	/**
+	 * Guarded copy of the given elements in an instance of the given type,
+	 * boxed if any of them does not fit
+	 */
+	public static <E> List<E> copyOf(Collection<? extends E> c, ListCollectionType type) {
+		UnboxedList<E> list = new UnboxedList<E>(type.createList(c.size()), type.getElementType());
+		list.addAll(c);
+		return list;
+	}
+
+	public boolean isUnboxed() {
+		return elementType != null;
+	}
+
+	private boolean fits(Object o) {
+		return elementType == null || (o != null && o.getClass() == elementType);
+	}
+
+	private void insert(Object o) {
+		if (!fits(o)) {
+			list = new ArrayList<E>(list);
+			elementType = null;
+		}
+	}
+
+	private void insertAll(Collection<?> c) {
+		if (elementType != null) {
+			for (Object o : c) {
+				if (!fits(o)) {
+					insert(o);
+					return;
+				}
+			}
+		}
+	}
+
+	// -------------------------------------------------
+	// 						MUTATING
+	// -------------------------------------------------
+
+	public boolean add(E e) {
+		insert(e);
+		modCount++;
+		return list.add(e);
+	}
+
+	public void add(int index, E element) {
+		insert(element);
+		modCount++;
+		list.add(index, element);
+	}
+
+	public boolean addAll(Collection<? extends E> c) {
+		insertAll(c);
+		modCount++;
+		return list.addAll(c);
+	}
+
+	public boolean addAll(int index, Collection<? extends E> c) {
+		insertAll(c);
+		modCount++;
+		return list.addAll(index, c);
+	}
+
+	public E set(int index, E element) {
+		insert(element);
+		return list.set(index, element);
+	}
+
+	public E remove(int index) {
+		modCount++;
+		return list.remove(index);
+	}
+
+	public boolean remove(Object o) {
+		modCount++;
+		return fits(o) && list.remove(o);
+	}
+
+	public void clear() {
+		modCount++;
+		list.clear();
+	}
+
+	public void sort(Comparator<? super E> c) {
+		modCount++;
+		list.sort(c);
+	}
+
+	// ----------------------------------------
+
+	public E get(int index) {
+		return list.get(index);
+	}
+
+	public int size() {
+		return list.size();
+	}
+
+	public boolean contains(Object o) {
+		return fits(o) && list.contains(o);
+	}
+
+	public int indexOf(Object o) {
+		return fits(o) ? list.indexOf(o) : -1;
+	}
+
+	public int lastIndexOf(Object o) {
+		return fits(o) ? list.lastIndexOf(o) : -1;
+	}
+
+	public Object[] toArray() {
+		return list.toArray();
+	}
+
+	public <T> T[] toArray(T[] a) {
+		return list.toArray(a);
+	}
+
+	public boolean equals(Object o) {
+		return o == this || list.equals(o);
+	}
+
+	public int hashCode() {
+		return list.hashCode();
+	}
+
+	public String toString() {
+		return list.toString();
+	}
+
+}
@@ -0,0 +1,211 @@
+package de.heidelberg.pvs.diego.collectionswitch.adaptive;
+
+import java.util.AbstractCollection;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+
+import de.heidelberg.pvs.diego.collectionswitch.context.MapCollectionType;
+
+/**
+ * Map of a generic context whose profile promoted it to a primitive
+ * implementation, see {@link UnboxedList}. Other keys move the map to a
+ * {@link HashMap}. The default methods of {@link Map} insert through
+ * {@link #put(Object, Object)}, so they are guarded as well.
+ *
+ * Key, value and entry views go through this map, so they follow the move.
+ * Their iterators fail fast once it moved, as after any other new key.
+ */
+public class UnboxedMap<K, V> extends AbstractMap<K, V> {
+
+	private Map<K, V> map;
+
+	// Class of the keys of the primitive map, null once boxed
+	private Class<?> keyType;
+
+	public UnboxedMap(Map<K, V> map, Class<?> keyType) {
+		super();
+		this.map = map;
+		this.keyType = keyType;
+	}
+
+	/**
+	 * The given map, guarded if its type does not accept every key of the
+	 * context
+	 */
+	public static <K, V> Map<K, V> guard(Map<K, V> map, MapCollectionType type, Class<?> contextType) {
+		return type.accepts(contextType) ? map : new UnboxedMap<K, V>(map, type.getKeyType());
+	}
+
+	/**
+	 * Guarded copy of the given mappings in an instance of the given type,
+	 * boxed if any of them does not fit
+	 */
+	public static <K, V> Map<K, V> copyOf(Map<? extends K, ? extends V> m, MapCollectionType type) {
+		UnboxedMap<K, V> map = new UnboxedMap<K, V>(type.createMap(m.size()), type.getKeyType());
+		map.putAll(m);
+		return map;
+	}
+
+	public boolean isUnboxed() {
+		return keyType != null;
+	}
+
+	private boolean fits(Object key) {
+		return keyType == null || (key != null && key.getClass() == keyType);
+	}
+
+	private void insert(Object key) {
+		if (!fits(key)) {
+			map = new HashMap<K, V>(map);
+			keyType = null;
+		}
+	}
+
+	public V put(K key, V value) {
+		insert(key);
+		return map.put(key, value);
+	}
+
+	public void putAll(Map<? extends K, ? extends V> m) {
+		if (keyType != null) {
+			for (Object key : m.keySet()) {
+				if (!fits(key)) {
+					insert(key);
+					break;
+				}
+			}
+		}
+		map.putAll(m);
+	}
+
+	public V get(Object key) {
+		return fits(key) ? map.get(key) : null;
+	}
+
+	public boolean containsKey(Object key) {
+		return fits(key) && map.containsKey(key);
+	}
+
+	public V remove(Object key) {
+		return fits(key) ? map.remove(key) : null;
+	}
+
+	public boolean containsValue(Object value) {
+		return map.containsValue(value);
+	}
+
+	public void clear() {
+		map.clear();
+	}
+
+	public int size() {
+		return map.size();
+	}
+
+	public Set<K> keySet() {
+		return new KeySet();
+	}
+
+	public Collection<V> values() {
+		return new Values();
+	}
+
+	public Set<Map.Entry<K, V>> entrySet() {
+		return new EntrySet();
+	}
+
+	public int hashCode() {
+		return map.hashCode();
+	}
+
+	public String toString() {
+		return map.toString();
+	}
+
+	// -----------------------------------------------------
+	// 						VIEWS
+	// -----------------------------------------------------
+
+	private <E> Iterator<E> iterator(Collection<E> view) {
+		return new BackedIterator<E>(view.iterator(), map) {
+			@Override
+			protected Object currentBacking() {
+				return map;
+			}
+		};
+	}
+
+	private class KeySet extends AbstractSet<K> {
+
+		public Iterator<K> iterator() {
+			return UnboxedMap.this.iterator(map.keySet());
+		}
+
+		public int size() {
+			return map.size();
+		}
+
+		public boolean contains(Object o) {
+			return containsKey(o);
+		}
+
+		public boolean remove(Object o) {
+			return fits(o) && map.keySet().remove(o);
+		}
+
+		public void clear() {
+			map.clear();
+		}
+
+	}
+
+	private class Values extends AbstractCollection<V> {
+
+		public Iterator<V> iterator() {
+			return UnboxedMap.this.iterator(map.values());
+		}
+
+		public int size() {
+			return map.size();
+		}
+
+		public boolean contains(Object o) {
+			return map.containsValue(o);
+		}
+
+		public void clear() {
+			map.clear();
+		}
+
+	}
+
+	private class EntrySet extends AbstractSet<Map.Entry<K, V>> {
+
+		public Iterator<Map.Entry<K, V>> iterator() {
+			return UnboxedMap.this.iterator(map.entrySet());
+		}
+
+		public int size() {
+			return map.size();
+		}
+
+		public boolean contains(Object o) {
+			return o instanceof Map.Entry && fits(((Map.Entry<?, ?>) o).getKey()) && map.entrySet().contains(o);
+		}
+
+		public boolean remove(Object o) {
+			return o instanceof Map.Entry && fits(((Map.Entry<?, ?>) o).getKey()) && map.entrySet().remove(o);
+		}
+
+		public void clear() {
+			map.clear();
+		}
+
+	}
+
+}
@@ -0,0 +1,121 @@
+package de.heidelberg.pvs.diego.collectionswitch.adaptive;
+
+import java.util.AbstractSet;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Set;
+
+import de.heidelberg.pvs.diego.collectionswitch.context.SetCollectionType;
+
+/**
+ * Set of a generic context whose profile promoted it to a primitive
+ * implementation, see {@link UnboxedList}. Other elements move the set to a
+ * {@link HashSet}. Adding such an element is a structural modification, so
+ * iterators created before fail fast.
+ */
+public class UnboxedSet<E> extends AbstractSet<E> {
+
+	private Set<E> set;
+
+	// Class of the elements of the primitive set, null once boxed
+	private Class<?> elementType;
+
+	public UnboxedSet(Set<E> set, Class<?> elementType) {
+		super();
+		this.set = set;
+		this.elementType = elementType;
+	}
+
+	/**
+	 * The given set, guarded if its type does not accept every element of the
+	 * context
+	 */
+	public static <E> Set<E> guard(Set<E> set, SetCollectionType type, Class<?> contextType) {
+		return type.accepts(contextType) ? set : new UnboxedSet<E>(set, type.getElementType());
+	}
+
+	/**
+	 * Guarded copy of the given elements in an instance of the given type,
+	 * boxed if any of them does not fit
+	 */
+	public static <E> Set<E> copyOf(Collection<? extends E> c, SetCollectionType type) {
+		UnboxedSet<E> set = new UnboxedSet<E>(type.createSet(c.size()), type.getElementType());
+		set.addAll(c);
+		return set;
+	}
+
+	public boolean isUnboxed() {
+		return elementType != null;
+	}
+
+	private boolean fits(Object o) {
+		return elementType == null || (o != null && o.getClass() == elementType);
+	}
+
+	private void insert(Object o) {
+		if (!fits(o)) {
+			set = new HashSet<E>(set);
+			elementType = null;
+		}
+	}
+
+	public boolean add(E e) {
+		insert(e);
+		return set.add(e);
+	}
+
+	public boolean addAll(Collection<? extends E> c) {
+		if (elementType != null) {
+			for (Object o : c) {
+				if (!fits(o)) {
+					insert(o);
+					break;
+				}
+			}
+		}
+		return set.addAll(c);
+	}
+
+	public boolean remove(Object o) {
+		return fits(o) && set.remove(o);
+	}
+
+	public boolean contains(Object o) {
+		return fits(o) && set.contains(o);
+	}
+
+	public void clear() {
+		set.clear();
+	}
+
+	public int size() {
+		return set.size();
+	}
+
+	public Iterator<E> iterator() {
+		return new BackedIterator<E>(set.iterator(), set) {
+			@Override
+			protected Object currentBacking() {
+				return set;
+			}
+		};
+	}
+
+	public Object[] toArray() {
+		return set.toArray();
+	}
+
+	public <T> T[] toArray(T[] a) {
+		return set.toArray(a);
+	}
+
+	public int hashCode() {
+		return set.hashCode();
+	}
+
+	public String toString() {
+		return set.toString();
+	}
+
+}
@@ -1,7 +1,16 @@
-package de.heidelberg.pvs.diego.collectionswitch.context;
-
-public interface AllocationContextUpdatable<E> {
-	
-	void updateCollectionType(E type);
-	
-}
+package de.heidelberg.pvs.diego.collectionswitch.context;
+
+public interface AllocationContextUpdatable<E> {
+	
+	void updateCollectionType(E type);
+	
+	/**
+	 * Updates the type and lets the live instances with at most
+	 * maxMigrationSize elements switch to it. Contexts that do not migrate
+	 * instances only update the type.
+	 */
+	default void updateCollectionType(E type, int maxMigrationSize) {
+		updateCollectionType(type);
+	}
+	
+}
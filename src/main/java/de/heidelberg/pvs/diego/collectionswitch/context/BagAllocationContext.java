@@ -0,0 +1,13 @@
+package de.heidelberg.pvs.diego.collectionswitch.context;
+
+import java.util.Collection;
+
+import org.apache.commons.collections4.Bag;
+
+public interface BagAllocationContext extends AllocationContextUpdatable<BagCollectionType> {
+
+	public <E> Bag<E> createBag();
+
+	public <E> Bag<E> createBag(Collection<? extends E> c);
+
+}
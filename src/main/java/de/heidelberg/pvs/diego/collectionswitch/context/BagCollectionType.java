@@ -0,0 +1,72 @@
+package de.heidelberg.pvs.diego.collectionswitch.context;
+
+import java.util.Collection;
+
+import org.apache.commons.collections4.Bag;
+import org.apache.commons.collections4.bag.HashBag;
+
+import de.heidelberg.pvs.diego.collectionswitch.custom.bags.ObjectIntHashBag;
+import de.heidelberg.pvs.diego.collectionswitch.custom.lists.LinkedHashBag;
+
+/**
+ * Bags counting the occurrences of their elements, all behind the commons
+ * {@link Bag} interface.
+ *
+ * The {@link LinkedHashBag} iterates in insertion order, so it neither
+ * replaces nor is replaced by the unordered ones.
+ */
+public enum BagCollectionType {
+
+	COMMONS_HASHBAG,
+
+	GSCOLLECTIONS_HASHBAG,
+
+	ONLINEADAPTER_LINKEDHASHBAG;
+
+	/**
+	 * Whether the instances iterate in insertion order
+	 */
+	public boolean isOrdered() {
+		return this == ONLINEADAPTER_LINKEDHASHBAG;
+	}
+
+	public <E> Bag<E> createBag() {
+
+		switch (this) {
+
+		case COMMONS_HASHBAG:
+			return new HashBag<E>();
+
+		case GSCOLLECTIONS_HASHBAG:
+			return new ObjectIntHashBag<E>();
+
+		case ONLINEADAPTER_LINKEDHASHBAG:
+			return new LinkedHashBag<E>();
+
+		default:
+			return new HashBag<E>();
+		}
+
+	}
+
+	@SuppressWarnings("unchecked")
+	public <E> Bag<E> createBag(Collection<? extends E> c) {
+
+		switch (this) {
+
+		case COMMONS_HASHBAG:
+			return new HashBag<E>((Collection<E>) c);
+
+		case GSCOLLECTIONS_HASHBAG:
+			return new ObjectIntHashBag<E>(c);
+
+		case ONLINEADAPTER_LINKEDHASHBAG:
+			return new LinkedHashBag<E>(c);
+
+		default:
+			return new HashBag<E>((Collection<E>) c);
+		}
+
+	}
+
+}
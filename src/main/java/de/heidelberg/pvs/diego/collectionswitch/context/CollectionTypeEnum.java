@@ -1,7 +1,7 @@
-package de.heidelberg.pvs.diego.collectionswitch.context;
-
-public enum CollectionTypeEnum {
-	
-	DEFAULT, ARRAY, HASH, LINKED, OPEN_HASH;
-
-}
+package de.heidelberg.pvs.diego.collectionswitch.context;
+
+public enum CollectionTypeEnum {
+	
+	DEFAULT, ARRAY, HASH, LINKED, OPEN_HASH;
+
+}
@@ -0,0 +1,23 @@
+package de.heidelberg.pvs.diego.collectionswitch.context;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Allocation site of maps shared by many threads
+ */
+public interface ConcurrentMapAllocationContext extends AllocationContextUpdatable<ConcurrentMapCollectionType> {
+
+	public <K, V> ConcurrentMap<K, V> createMap();
+
+	public <K, V> ConcurrentMap<K, V> createMap(int initialCapacity);
+
+	public <K, V> ConcurrentMap<K, V> createMap(Map<K, V> map);
+
+	/**
+	 * Monitors the next instances again when the instances of the window
+	 * finished before performing enough operations to be analyzed
+	 */
+	public void openWindow();
+
+}
@@ -0,0 +1,7 @@
+package de.heidelberg.pvs.diego.collectionswitch.context;
+
+public interface ConcurrentMapAllocationContextInfo extends ConcurrentMapAllocationContext {
+
+	ConcurrentMapCollectionType getCurrentCollectionType();
+
+}
@@ -0,0 +1,88 @@
+package de.heidelberg.pvs.diego.collectionswitch.context;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+import org.eclipse.collections.impl.map.mutable.ConcurrentHashMapUnsafe;
+
+import de.heidelberg.pvs.diego.collectionswitch.custom.maps.StripedHashMap;
+
+/**
+ * Thread-safe maps for instances shared by many threads, such as caches.
+ * Koloboke has no concurrent maps, so the candidates are the JDK and Eclipse
+ * tables, the JDK skip list and a HashMap striped behind locks.
+ */
+public enum ConcurrentMapCollectionType {
+
+	JDK_CONCURRENTHASHMAP, JDK_CONCURRENTSKIPLISTMAP,
+
+	GSCOLLECTIONS_CONCURRENTHASHMAP, GSCOLLECTIONS_CONCURRENTHASHMAPUNSAFE,
+
+	ONLINEADAPTER_STRIPEDHASHMAP;
+
+	public <K, V> ConcurrentMap<K, V> createMap() {
+
+		switch (this) {
+
+		case JDK_CONCURRENTHASHMAP:
+			return new ConcurrentHashMap<K, V>();
+
+		case JDK_CONCURRENTSKIPLISTMAP:
+			return new ConcurrentSkipListMap<K, V>();
+
+		case GSCOLLECTIONS_CONCURRENTHASHMAP:
+			return new org.eclipse.collections.impl.map.mutable.ConcurrentHashMap<K, V>();
+
+		case GSCOLLECTIONS_CONCURRENTHASHMAPUNSAFE:
+			return new ConcurrentHashMapUnsafe<K, V>();
+
+		case ONLINEADAPTER_STRIPEDHASHMAP:
+			return new StripedHashMap<K, V>();
+
+		default:
+			return new ConcurrentHashMap<K, V>();
+		}
+
+	}
+
+	public <K, V> ConcurrentMap<K, V> createMap(int initialCapacity) {
+
+		switch (this) {
+
+		case JDK_CONCURRENTHASHMAP:
+			return new ConcurrentHashMap<K, V>(initialCapacity);
+
+		case JDK_CONCURRENTSKIPLISTMAP:
+			return new ConcurrentSkipListMap<K, V>();
+
+		case GSCOLLECTIONS_CONCURRENTHASHMAP:
+			return new org.eclipse.collections.impl.map.mutable.ConcurrentHashMap<K, V>(initialCapacity);
+
+		case GSCOLLECTIONS_CONCURRENTHASHMAPUNSAFE:
+			return new ConcurrentHashMapUnsafe<K, V>(initialCapacity);
+
+		case ONLINEADAPTER_STRIPEDHASHMAP:
+			return new StripedHashMap<K, V>(initialCapacity);
+
+		default:
+			return new ConcurrentHashMap<K, V>(initialCapacity);
+		}
+
+	}
+
+	public <K, V> ConcurrentMap<K, V> createMap(Map<K, V> mapToCopy) {
+		ConcurrentMap<K, V> map = createMap(mapToCopy.size());
+		map.putAll(mapToCopy);
+		return map;
+	}
+
+	/**
+	 * Whether the map keeps its keys sorted, which requires comparable keys
+	 */
+	public boolean isSorted() {
+		return this == JDK_CONCURRENTSKIPLISTMAP;
+	}
+
+}
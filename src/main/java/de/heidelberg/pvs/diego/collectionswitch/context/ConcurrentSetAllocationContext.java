@@ -0,0 +1,23 @@
+package de.heidelberg.pvs.diego.collectionswitch.context;
+
+import java.util.Collection;
+import java.util.Set;
+
+/**
+ * Allocation site of sets shared by many threads
+ */
+public interface ConcurrentSetAllocationContext extends AllocationContextUpdatable<ConcurrentSetCollectionType> {
+
+	public <E> Set<E> createSet();
+
+	public <E> Set<E> createSet(int initialCapacity);
+
+	public <E> Set<E> createSet(Collection<? extends E> set);
+
+	/**
+	 * Monitors the next instances again when the instances of the window
+	 * finished before performing enough operations to be analyzed
+	 */
+	public void openWindow();
+
+}
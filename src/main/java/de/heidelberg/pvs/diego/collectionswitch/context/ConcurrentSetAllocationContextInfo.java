@@ -0,0 +1,7 @@
+package de.heidelberg.pvs.diego.collectionswitch.context;
+
+public interface ConcurrentSetAllocationContextInfo extends ConcurrentSetAllocationContext {
+
+	ConcurrentSetCollectionType getCurrentCollectionType();
+
+}
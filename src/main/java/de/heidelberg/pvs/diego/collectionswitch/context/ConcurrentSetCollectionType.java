@@ -0,0 +1,102 @@
+package de.heidelberg.pvs.diego.collectionswitch.context;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.CopyOnWriteArraySet;
+
+import de.heidelberg.pvs.diego.collectionswitch.custom.maps.StripedHashMap;
+
+/**
+ * Thread-safe sets for instances shared by many threads, the key sets of the
+ * concurrent maps plus the copy-on-write array for small sets that are
+ * mostly read.
+ */
+public enum ConcurrentSetCollectionType {
+
+	JDK_CONCURRENTHASHSET, JDK_CONCURRENTSKIPLISTSET, JDK_COPYONWRITEARRAYSET,
+
+	GSCOLLECTIONS_CONCURRENTHASHSET,
+
+	ONLINEADAPTER_STRIPEDHASHSET;
+
+	public <E> Set<E> createSet() {
+
+		switch (this) {
+
+		case JDK_CONCURRENTHASHSET:
+			return ConcurrentHashMap.newKeySet();
+
+		case JDK_CONCURRENTSKIPLISTSET:
+			return new ConcurrentSkipListSet<E>();
+
+		case JDK_COPYONWRITEARRAYSET:
+			return new CopyOnWriteArraySet<E>();
+
+		case GSCOLLECTIONS_CONCURRENTHASHSET:
+			return Collections.newSetFromMap(new org.eclipse.collections.impl.map.mutable.ConcurrentHashMap<E, Boolean>());
+
+		case ONLINEADAPTER_STRIPEDHASHSET:
+			return Collections.newSetFromMap(new StripedHashMap<E, Boolean>());
+
+		default:
+			return ConcurrentHashMap.newKeySet();
+		}
+
+	}
+
+	public <E> Set<E> createSet(int initialCapacity) {
+
+		switch (this) {
+
+		case JDK_CONCURRENTHASHSET:
+			return ConcurrentHashMap.newKeySet(initialCapacity);
+
+		case JDK_CONCURRENTSKIPLISTSET:
+			return new ConcurrentSkipListSet<E>();
+
+		case JDK_COPYONWRITEARRAYSET:
+			return new CopyOnWriteArraySet<E>();
+
+		case GSCOLLECTIONS_CONCURRENTHASHSET:
+			return Collections.newSetFromMap(
+					new org.eclipse.collections.impl.map.mutable.ConcurrentHashMap<E, Boolean>(initialCapacity));
+
+		case ONLINEADAPTER_STRIPEDHASHSET:
+			return Collections.newSetFromMap(new StripedHashMap<E, Boolean>(initialCapacity));
+
+		default:
+			return ConcurrentHashMap.newKeySet(initialCapacity);
+		}
+
+	}
+
+	public <E> Set<E> createSet(Collection<? extends E> setToCopy) {
+
+		switch (this) {
+
+		case JDK_CONCURRENTSKIPLISTSET:
+			return new ConcurrentSkipListSet<E>(setToCopy);
+
+		case JDK_COPYONWRITEARRAYSET:
+			return new CopyOnWriteArraySet<E>(setToCopy);
+
+		default:
+			Set<E> set = createSet(setToCopy.size());
+			set.addAll(setToCopy);
+			return set;
+		}
+
+	}
+
+	/**
+	 * Whether the set keeps its elements sorted, which requires comparable
+	 * elements
+	 */
+	public boolean isSorted() {
+		return this == JDK_CONCURRENTSKIPLISTSET;
+	}
+
+}
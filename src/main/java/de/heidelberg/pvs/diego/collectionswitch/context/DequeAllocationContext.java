@@ -0,0 +1,14 @@
+package de.heidelberg.pvs.diego.collectionswitch.context;
+
+import java.util.Collection;
+import java.util.Deque;
+
+public interface DequeAllocationContext extends AllocationContextUpdatable<QueueCollectionType> {
+
+	public <E> Deque<E> createDeque();
+
+	public <E> Deque<E> createDeque(int initialCapacity);
+
+	public <E> Deque<E> createDeque(Collection<? extends E> c);
+
+}
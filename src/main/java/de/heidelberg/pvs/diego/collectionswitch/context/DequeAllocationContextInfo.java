@@ -0,0 +1,7 @@
+package de.heidelberg.pvs.diego.collectionswitch.context;
+
+public interface DequeAllocationContextInfo extends DequeAllocationContext {
+
+	public QueueCollectionType getCurrentCollectionType();
+
+}
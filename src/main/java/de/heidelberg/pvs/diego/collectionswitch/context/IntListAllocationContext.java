@@ -0,0 +1,17 @@
+package de.heidelberg.pvs.diego.collectionswitch.context;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Creates lists of {@code Integer} elements, which may be stored unboxed
+ */
+public interface IntListAllocationContext {
+
+	public List<Integer> createList();
+
+	public List<Integer> createList(int initialCapacity);
+
+	public List<Integer> createList(Collection<? extends Integer> c);
+
+}
@@ -0,0 +1,16 @@
+package de.heidelberg.pvs.diego.collectionswitch.context;
+
+import java.util.Map;
+
+/**
+ * Creates maps of {@code Integer} keys, which may be stored unboxed
+ */
+public interface IntObjMapAllocationContext {
+
+	public <V> Map<Integer, V> createMap();
+
+	public <V> Map<Integer, V> createMap(int initialCapacity);
+
+	public <V> Map<Integer, V> createMap(Map<Integer, V> map);
+
+}
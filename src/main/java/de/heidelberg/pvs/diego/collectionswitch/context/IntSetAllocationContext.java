@@ -0,0 +1,17 @@
+package de.heidelberg.pvs.diego.collectionswitch.context;
+
+import java.util.Collection;
+import java.util.Set;
+
+/**
+ * Creates sets of {@code Integer} elements, which may be stored unboxed
+ */
+public interface IntSetAllocationContext {
+
+	public Set<Integer> createSet();
+
+	public Set<Integer> createSet(int initialCapacity);
+
+	public Set<Integer> createSet(Collection<? extends Integer> set);
+
+}
@@ -1,7 +1,7 @@
-package de.heidelberg.pvs.diego.collectionswitch.context;
-
-public interface ListAllocationContextInfo extends ListAllocationContext {
-	
-	public ListCollectionType getCurrentCollectionType();
-	
-}
+package de.heidelberg.pvs.diego.collectionswitch.context;
+
+public interface ListAllocationContextInfo extends ListAllocationContext {
+	
+	public ListCollectionType getCurrentCollectionType();
+	
+}
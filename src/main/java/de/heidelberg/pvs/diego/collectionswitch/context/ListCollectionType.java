@@ -1,86 +1,170 @@
-package de.heidelberg.pvs.diego.collectionswitch.context;
-
-import java.util.ArrayList;
-import java.util.Collection;
-import java.util.LinkedList;
-import java.util.List;
-
-import de.heidelberg.pvs.diego.collectionswitch.adaptive.AdaptiveList;
-import de.heidelberg.pvs.diego.collectionswitch.custom.lists.HashArrayList;
-
-public enum ListCollectionType {
-
-	JDK_ARRAYLIST, 
-	JDK_LINKEDLIST, 
-	ONLINEADAPTER_HASHARRAYLIST, 
-	ONLINEADAPTER_ADAPTIVELIST;
-
-	public <E> List<E> createList(int initialCapacity) {
-
-		switch (this) {
-
-		case JDK_ARRAYLIST:
-			return new ArrayList<E>(initialCapacity);
-
-		case ONLINEADAPTER_ADAPTIVELIST:
-			return new AdaptiveList<E>(initialCapacity);
-		
-		case ONLINEADAPTER_HASHARRAYLIST:
-			return new HashArrayList<E>(initialCapacity);
-
-		case JDK_LINKEDLIST:
-			return new LinkedList<E>();
-
-		default:
-			return new ArrayList<E>(initialCapacity);
-		}
-
-	}
-
-	public <E> List<E> createList() {
-
-		switch (this) {
-
-		case JDK_ARRAYLIST:
-			return new ArrayList<E>();
-
-		case ONLINEADAPTER_HASHARRAYLIST:
-			return new HashArrayList<E>();
-			
-		case ONLINEADAPTER_ADAPTIVELIST:
-			return new AdaptiveList<E>();
-
-		case JDK_LINKEDLIST:
-			return new LinkedList<E>();
-
-		default:
-			return new ArrayList<E>();
-			
-		}
-
-	}
-
-	public <E> List<E> createList(Collection<? extends E> c) {
-		
-		switch (this) {
-
-		case JDK_ARRAYLIST:
-			return new ArrayList<E>(c);
-
-		case ONLINEADAPTER_HASHARRAYLIST:
-			return new HashArrayList<E>(c);
-			
-		case ONLINEADAPTER_ADAPTIVELIST:
-			return new AdaptiveList<E>(c);
-
-		case JDK_LINKEDLIST:
-			return new LinkedList<E>(c);
-
-		default:
-			return new ArrayList<E>(c);
-		}
-
-		
-	}
-
-}
+package de.heidelberg.pvs.diego.collectionswitch.context;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedList;
+import java.util.List;
+
+import de.heidelberg.pvs.diego.collectionswitch.adaptive.AdaptiveList;
+import de.heidelberg.pvs.diego.collectionswitch.adaptive.TurningPoint;
+import de.heidelberg.pvs.diego.collectionswitch.custom.lists.HashArrayList;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+
+public enum ListCollectionType {
+
+	JDK_ARRAYLIST, 
+	JDK_LINKEDLIST, 
+	ONLINEADAPTER_HASHARRAYLIST, 
+	ONLINEADAPTER_ADAPTIVELIST,
+
+	// Primitive arrays behind the boxed API, only for the element type given
+	// by getElementType()
+	FASTUTIL_INTARRAYLIST,
+	FASTUTIL_LONGARRAYLIST;
+
+	public <E> List<E> createList(int initialCapacity) {
+
+		switch (this) {
+
+		case JDK_ARRAYLIST:
+			return new ArrayList<E>(initialCapacity);
+
+		case ONLINEADAPTER_ADAPTIVELIST:
+			return new AdaptiveList<E>(initialCapacity);
+		
+		case ONLINEADAPTER_HASHARRAYLIST:
+			return new HashArrayList<E>(initialCapacity);
+
+		case JDK_LINKEDLIST:
+			return new LinkedList<E>();
+
+		case FASTUTIL_INTARRAYLIST:
+			return primitive(new IntArrayList(initialCapacity));
+
+		case FASTUTIL_LONGARRAYLIST:
+			return primitive(new LongArrayList(initialCapacity));
+
+		default:
+			return new ArrayList<E>(initialCapacity);
+		}
+
+	}
+
+	public <E> List<E> createList() {
+
+		switch (this) {
+
+		case JDK_ARRAYLIST:
+			return new ArrayList<E>();
+
+		case ONLINEADAPTER_HASHARRAYLIST:
+			return new HashArrayList<E>();
+			
+		case ONLINEADAPTER_ADAPTIVELIST:
+			return new AdaptiveList<E>();
+
+		case JDK_LINKEDLIST:
+			return new LinkedList<E>();
+
+		case FASTUTIL_INTARRAYLIST:
+			return primitive(new IntArrayList());
+
+		case FASTUTIL_LONGARRAYLIST:
+			return primitive(new LongArrayList());
+
+		default:
+			return new ArrayList<E>();
+			
+		}
+
+	}
+
+	public <E> List<E> createList(Collection<? extends E> c) {
+		
+		switch (this) {
+
+		case JDK_ARRAYLIST:
+			return new ArrayList<E>(c);
+
+		case ONLINEADAPTER_HASHARRAYLIST:
+			return new HashArrayList<E>(c);
+			
+		case ONLINEADAPTER_ADAPTIVELIST:
+			return new AdaptiveList<E>(c);
+
+		case JDK_LINKEDLIST:
+			return new LinkedList<E>(c);
+
+		case FASTUTIL_INTARRAYLIST:
+		case FASTUTIL_LONGARRAYLIST:
+			List<E> list = createList(c.size());
+			list.addAll(c);
+			return list;
+
+		default:
+			return new ArrayList<E>(c);
+		}
+
+		
+	}
+
+	/**
+	 * Like {@link #createList()}, adaptive instances use the given turning point
+	 */
+	public <E> List<E> createList(TurningPoint turningPoint) {
+		if (this == ONLINEADAPTER_ADAPTIVELIST) {
+			return new AdaptiveList<E>(turningPoint);
+		}
+		return createList();
+	}
+
+	/**
+	 * Like {@link #createList(int)}, adaptive instances use the given turning point
+	 */
+	public <E> List<E> createList(int initialCapacity, TurningPoint turningPoint) {
+		if (this == ONLINEADAPTER_ADAPTIVELIST) {
+			return new AdaptiveList<E>(initialCapacity, turningPoint);
+		}
+		return createList(initialCapacity);
+	}
+
+	/**
+	 * Like {@link #createList(Collection)}, adaptive instances use the given turning point
+	 */
+	public <E> List<E> createList(Collection<? extends E> c, TurningPoint turningPoint) {
+		if (this == ONLINEADAPTER_ADAPTIVELIST) {
+			return new AdaptiveList<E>(c, turningPoint);
+		}
+		return createList(c);
+	}
+
+	/**
+	 * Class of the elements the implementation can hold: {@code Object} for
+	 * the generic ones, the boxed type for the primitive ones
+	 */
+	public Class<?> getElementType() {
+		switch (this) {
+		case FASTUTIL_INTARRAYLIST:
+			return Integer.class;
+		case FASTUTIL_LONGARRAYLIST:
+			return Long.class;
+		default:
+			return Object.class;
+		}
+	}
+
+	/**
+	 * Whether the implementation can hold all the elements of the given class
+	 */
+	public boolean accepts(Class<?> elementType) {
+		return getElementType() == Object.class || getElementType() == elementType;
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <E> List<E> primitive(List<?> list) {
+		// Adding elements of other classes fails with a ClassCastException
+		return (List<E>) list;
+	}
+
+}
@@ -0,0 +1,17 @@
+package de.heidelberg.pvs.diego.collectionswitch.context;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Creates lists of {@code Long} elements, which may be stored unboxed
+ */
+public interface LongListAllocationContext {
+
+	public List<Long> createList();
+
+	public List<Long> createList(int initialCapacity);
+
+	public List<Long> createList(Collection<? extends Long> c);
+
+}
@@ -0,0 +1,16 @@
+package de.heidelberg.pvs.diego.collectionswitch.context;
+
+import java.util.Map;
+
+/**
+ * Creates maps of {@code Long} keys, which may be stored unboxed
+ */
+public interface LongObjMapAllocationContext {
+
+	public <V> Map<Long, V> createMap();
+
+	public <V> Map<Long, V> createMap(int initialCapacity);
+
+	public <V> Map<Long, V> createMap(Map<Long, V> map);
+
+}
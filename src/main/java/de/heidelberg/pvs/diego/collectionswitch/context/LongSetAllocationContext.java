@@ -0,0 +1,17 @@
+package de.heidelberg.pvs.diego.collectionswitch.context;
+
+import java.util.Collection;
+import java.util.Set;
+
+/**
+ * Creates sets of {@code Long} elements, which may be stored unboxed
+ */
+public interface LongSetAllocationContext {
+
+	public Set<Long> createSet();
+
+	public Set<Long> createSet(int initialCapacity);
+
+	public Set<Long> createSet(Collection<? extends Long> set);
+
+}
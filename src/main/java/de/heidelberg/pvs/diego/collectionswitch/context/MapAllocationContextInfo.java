@@ -1,7 +1,7 @@
-package de.heidelberg.pvs.diego.collectionswitch.context;
-
-public interface MapAllocationContextInfo extends MapAllocationContext {
-
-	MapCollectionType getCurrentCollectionType();
-
-}
+package de.heidelberg.pvs.diego.collectionswitch.context;
+
+public interface MapAllocationContextInfo extends MapAllocationContext {
+
+	MapCollectionType getCurrentCollectionType();
+
+}
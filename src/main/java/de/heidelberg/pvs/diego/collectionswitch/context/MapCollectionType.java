@@ -1,145 +1,273 @@
-package de.heidelberg.pvs.diego.collectionswitch.context;
-
-import java.util.HashMap;
-import java.util.LinkedHashMap;
-import java.util.Map;
-
-import org.eclipse.collections.impl.map.mutable.UnifiedMap;
-
-import de.heidelberg.pvs.diego.collectionswitch.adaptive.AdaptiveMap;
-import edu.stanford.nlp.util.ArrayMap;
-import gnu.trove.map.hash.THashMap;
-import net.openhft.koloboke.collect.map.hash.HashObjObjMaps;
-import vlsi.utils.CompactHashMap;
-
-public enum MapCollectionType {
-
-	JDK_HASHMAP, 
-	KOLOBOKE_HASHMAP,
-	ONLINEADAPTER_ADAPTIVEMAP, 
-
-	JDK_LINKEDHASHMAP,
-	
-	FASTUTILS_HASHMAP, 
-	GSCOLLECTIONS_UNIFIEDMAP, 
-	
-	NLP_ARRAYMAP,
-	GOOGLE_ARRAYMAP, NAYUKI_COMPACTHASHMAP;
-
-	public <K, V> Map<K, V> createMap(int initialCapacity) {
-
-		switch (this) {
-
-		case JDK_HASHMAP:
-			return new HashMap<K, V>(initialCapacity);
-			
-		case KOLOBOKE_HASHMAP:
-			return HashObjObjMaps.newMutableMap(initialCapacity);
-			
-		case ONLINEADAPTER_ADAPTIVEMAP:
-			return new AdaptiveMap<K, V>(initialCapacity);
-			
-		case JDK_LINKEDHASHMAP:
-			return new LinkedHashMap<K, V>(initialCapacity);
-
-		case FASTUTILS_HASHMAP:
-			return new THashMap<K, V>(initialCapacity);
-
-		case GSCOLLECTIONS_UNIFIEDMAP:
-			return new UnifiedMap<K, V>(initialCapacity);
-			
-		case GOOGLE_ARRAYMAP:
-			return new com.google.api.client.util.ArrayMap<K, V>();
-			
-		case NLP_ARRAYMAP:
-			return new ArrayMap<K, V>(initialCapacity);
-			
-		case NAYUKI_COMPACTHASHMAP:
-			return new CompactHashMap<K, V>();
-			
-		default:
-			return new HashMap<K, V>(initialCapacity);
-		}
-
-	}
-
-	public <K, V> Map<K, V> createMap() {
-
-
-		switch (this) {
-
-		case JDK_HASHMAP:
-			return new HashMap<K, V>();
-			
-		case KOLOBOKE_HASHMAP:
-			return HashObjObjMaps.newMutableMap();
-			
-		case ONLINEADAPTER_ADAPTIVEMAP:
-			return new AdaptiveMap<K, V>();
-			
-		case JDK_LINKEDHASHMAP:
-			return new LinkedHashMap<K, V>();
-
-		case FASTUTILS_HASHMAP:
-			return new THashMap<K, V>();
-
-		case GSCOLLECTIONS_UNIFIEDMAP:
-			return new UnifiedMap<K, V>();
-			
-		case GOOGLE_ARRAYMAP:
-			return new com.google.api.client.util.ArrayMap<K, V>();
-			
-		case NLP_ARRAYMAP:
-			return new ArrayMap<K, V>();
-			
-		case NAYUKI_COMPACTHASHMAP:
-			return new CompactHashMap<K, V>();
-			
-		default:
-			return new HashMap<K, V>();
-		}
-
-	}
-	
-	public <K, V> Map<K, V> createMap(Map<K, V> mapToCopy) {
-
-		switch (this) {
-
-		case JDK_HASHMAP:
-			return new HashMap<K, V>(mapToCopy);
-			
-		case KOLOBOKE_HASHMAP:
-			return HashObjObjMaps.newMutableMap(mapToCopy);
-			
-		case ONLINEADAPTER_ADAPTIVEMAP:
-			return new AdaptiveMap<K, V>(mapToCopy);
-			
-		case JDK_LINKEDHASHMAP:
-			return new LinkedHashMap<K, V>(mapToCopy);
-
-		case FASTUTILS_HASHMAP:
-			return new THashMap<K, V>(mapToCopy);
-
-		case GSCOLLECTIONS_UNIFIEDMAP:
-			return new UnifiedMap<K, V>(mapToCopy);
-			
-		case GOOGLE_ARRAYMAP:
-			Map<K, V> map = new com.google.api.client.util.ArrayMap<K, V>();
-			map.putAll(mapToCopy);
-			return map;
-			
-		case NLP_ARRAYMAP:
-			return new ArrayMap<K, V>(mapToCopy);
-			
-		case NAYUKI_COMPACTHASHMAP:
-			Map<K, V> map2 = new CompactHashMap<K, V>();
-			map2.putAll(mapToCopy);
-			return map2;
-			
-		default:
-			return new HashMap<K, V>(mapToCopy);
-		}
-
-	}
-
-}
+package de.heidelberg.pvs.diego.collectionswitch.context;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.eclipse.collections.impl.map.mutable.UnifiedMap;
+
+import de.heidelberg.pvs.diego.collectionswitch.adaptive.AdaptiveMap;
+import de.heidelberg.pvs.diego.collectionswitch.adaptive.TurningPoint;
+import de.heidelberg.pvs.diego.collectionswitch.monitors.KeyProfile.HashMixing;
+import edu.stanford.nlp.util.ArrayMap;
+import gnu.trove.map.hash.THashMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.openhft.koloboke.collect.map.hash.HashIntObjMaps;
+import net.openhft.koloboke.collect.map.hash.HashLongObjMaps;
+import net.openhft.koloboke.collect.map.hash.HashObjObjMaps;
+import vlsi.utils.CompactHashMap;
+
+public enum MapCollectionType {
+
+	JDK_HASHMAP, 
+	KOLOBOKE_HASHMAP,
+	ONLINEADAPTER_ADAPTIVEMAP, 
+
+	JDK_LINKEDHASHMAP,
+	
+	FASTUTILS_HASHMAP, 
+	GSCOLLECTIONS_UNIFIEDMAP, 
+	
+	NLP_ARRAYMAP,
+	GOOGLE_ARRAYMAP, NAYUKI_COMPACTHASHMAP,
+
+	// Primitive keys behind the boxed API, only for the key type given by
+	// getKeyType()
+	FASTUTIL_INT2OBJECTMAP, KOLOBOKE_HASHINTOBJMAP,
+
+	FASTUTIL_LONG2OBJECTMAP, KOLOBOKE_HASHLONGOBJMAP;
+
+	public <K, V> Map<K, V> createMap(int initialCapacity) {
+
+		switch (this) {
+
+		case JDK_HASHMAP:
+			return new HashMap<K, V>(initialCapacity);
+			
+		case KOLOBOKE_HASHMAP:
+			return HashObjObjMaps.newMutableMap(initialCapacity);
+			
+		case ONLINEADAPTER_ADAPTIVEMAP:
+			return new AdaptiveMap<K, V>(initialCapacity);
+			
+		case JDK_LINKEDHASHMAP:
+			return new LinkedHashMap<K, V>(initialCapacity);
+
+		case FASTUTILS_HASHMAP:
+			return new THashMap<K, V>(initialCapacity);
+
+		case GSCOLLECTIONS_UNIFIEDMAP:
+			return new UnifiedMap<K, V>(initialCapacity);
+			
+		case GOOGLE_ARRAYMAP:
+			return new com.google.api.client.util.ArrayMap<K, V>();
+			
+		case NLP_ARRAYMAP:
+			return new ArrayMap<K, V>(initialCapacity);
+			
+		case NAYUKI_COMPACTHASHMAP:
+			return new CompactHashMap<K, V>();
+
+		case FASTUTIL_INT2OBJECTMAP:
+			return primitive(new Int2ObjectOpenHashMap<V>(initialCapacity));
+
+		case KOLOBOKE_HASHINTOBJMAP:
+			return primitive(HashIntObjMaps.<V>newMutableMap(initialCapacity));
+
+		case FASTUTIL_LONG2OBJECTMAP:
+			return primitive(new Long2ObjectOpenHashMap<V>(initialCapacity));
+
+		case KOLOBOKE_HASHLONGOBJMAP:
+			return primitive(HashLongObjMaps.<V>newMutableMap(initialCapacity));
+			
+		default:
+			return new HashMap<K, V>(initialCapacity);
+		}
+
+	}
+
+	public <K, V> Map<K, V> createMap() {
+
+
+		switch (this) {
+
+		case JDK_HASHMAP:
+			return new HashMap<K, V>();
+			
+		case KOLOBOKE_HASHMAP:
+			return HashObjObjMaps.newMutableMap();
+			
+		case ONLINEADAPTER_ADAPTIVEMAP:
+			return new AdaptiveMap<K, V>();
+			
+		case JDK_LINKEDHASHMAP:
+			return new LinkedHashMap<K, V>();
+
+		case FASTUTILS_HASHMAP:
+			return new THashMap<K, V>();
+
+		case GSCOLLECTIONS_UNIFIEDMAP:
+			return new UnifiedMap<K, V>();
+			
+		case GOOGLE_ARRAYMAP:
+			return new com.google.api.client.util.ArrayMap<K, V>();
+			
+		case NLP_ARRAYMAP:
+			return new ArrayMap<K, V>();
+			
+		case NAYUKI_COMPACTHASHMAP:
+			return new CompactHashMap<K, V>();
+
+		case FASTUTIL_INT2OBJECTMAP:
+			return primitive(new Int2ObjectOpenHashMap<V>());
+
+		case KOLOBOKE_HASHINTOBJMAP:
+			return primitive(HashIntObjMaps.<V>newMutableMap());
+
+		case FASTUTIL_LONG2OBJECTMAP:
+			return primitive(new Long2ObjectOpenHashMap<V>());
+
+		case KOLOBOKE_HASHLONGOBJMAP:
+			return primitive(HashLongObjMaps.<V>newMutableMap());
+			
+		default:
+			return new HashMap<K, V>();
+		}
+
+	}
+	
+	public <K, V> Map<K, V> createMap(Map<K, V> mapToCopy) {
+
+		switch (this) {
+
+		case JDK_HASHMAP:
+			return new HashMap<K, V>(mapToCopy);
+			
+		case KOLOBOKE_HASHMAP:
+			return HashObjObjMaps.newMutableMap(mapToCopy);
+			
+		case ONLINEADAPTER_ADAPTIVEMAP:
+			return new AdaptiveMap<K, V>(mapToCopy);
+			
+		case JDK_LINKEDHASHMAP:
+			return new LinkedHashMap<K, V>(mapToCopy);
+
+		case FASTUTILS_HASHMAP:
+			return new THashMap<K, V>(mapToCopy);
+
+		case GSCOLLECTIONS_UNIFIEDMAP:
+			return new UnifiedMap<K, V>(mapToCopy);
+			
+		case GOOGLE_ARRAYMAP:
+			Map<K, V> map = new com.google.api.client.util.ArrayMap<K, V>();
+			map.putAll(mapToCopy);
+			return map;
+			
+		case NLP_ARRAYMAP:
+			return new ArrayMap<K, V>(mapToCopy);
+			
+		case NAYUKI_COMPACTHASHMAP:
+			Map<K, V> map2 = new CompactHashMap<K, V>();
+			map2.putAll(mapToCopy);
+			return map2;
+
+		case FASTUTIL_INT2OBJECTMAP:
+		case KOLOBOKE_HASHINTOBJMAP:
+		case FASTUTIL_LONG2OBJECTMAP:
+		case KOLOBOKE_HASHLONGOBJMAP:
+			Map<K, V> map3 = createMap(mapToCopy.size());
+			map3.putAll(mapToCopy);
+			return map3;
+			
+		default:
+			return new HashMap<K, V>(mapToCopy);
+		}
+
+	}
+
+	/**
+	 * Like {@link #createMap()}, adaptive instances use the given turning point
+	 */
+	public <K, V> Map<K, V> createMap(TurningPoint turningPoint) {
+		if (this == ONLINEADAPTER_ADAPTIVEMAP) {
+			return new AdaptiveMap<K, V>(turningPoint);
+		}
+		return createMap();
+	}
+
+	/**
+	 * Like {@link #createMap(int)}, adaptive instances use the given turning point
+	 */
+	public <K, V> Map<K, V> createMap(int initialCapacity, TurningPoint turningPoint) {
+		if (this == ONLINEADAPTER_ADAPTIVEMAP) {
+			return new AdaptiveMap<K, V>(initialCapacity, turningPoint);
+		}
+		return createMap(initialCapacity);
+	}
+
+	/**
+	 * Like {@link #createMap(Map)}, adaptive instances use the given turning point
+	 */
+	public <K, V> Map<K, V> createMap(Map<K, V> mapToCopy, TurningPoint turningPoint) {
+		if (this == ONLINEADAPTER_ADAPTIVEMAP) {
+			return new AdaptiveMap<K, V>(mapToCopy, turningPoint);
+		}
+		return createMap(mapToCopy);
+	}
+
+	/**
+	 * Mixing of the hash codes of implementations that resolve collisions by
+	 * probing other slots of a power of two table, which gets slower when the
+	 * mixed hash codes cluster. {@code null} for chained tables, and for those
+	 * indexed by a prime modulus, which spreads clustered low bits
+	 */
+	public HashMixing getHashMixing() {
+		switch (this) {
+		case KOLOBOKE_HASHMAP:
+		case ONLINEADAPTER_ADAPTIVEMAP:
+			return HashMixing.SPREAD;
+		case FASTUTILS_HASHMAP:
+		case FASTUTIL_INT2OBJECTMAP:
+		case KOLOBOKE_HASHINTOBJMAP:
+			return HashMixing.PHI;
+		case FASTUTIL_LONG2OBJECTMAP:
+		case KOLOBOKE_HASHLONGOBJMAP:
+			return HashMixing.LONG_PHI;
+		default:
+			return null;
+		}
+	}
+
+
+	/**
+	 * Class of the keys the implementation can hold: {@code Object} for the
+	 * generic ones, the boxed type for the primitive ones
+	 */
+	public Class<?> getKeyType() {
+		switch (this) {
+		case FASTUTIL_INT2OBJECTMAP:
+		case KOLOBOKE_HASHINTOBJMAP:
+			return Integer.class;
+		case FASTUTIL_LONG2OBJECTMAP:
+		case KOLOBOKE_HASHLONGOBJMAP:
+			return Long.class;
+		default:
+			return Object.class;
+		}
+	}
+
+	/**
+	 * Whether the implementation can hold all the keys of the given class
+	 */
+	public boolean accepts(Class<?> keyType) {
+		return getKeyType() == Object.class || getKeyType() == keyType;
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <K, V> Map<K, V> primitive(Map<?, V> map) {
+		// Putting keys of other classes fails with a ClassCastException
+		return (Map<K, V>) map;
+	}
+
+}
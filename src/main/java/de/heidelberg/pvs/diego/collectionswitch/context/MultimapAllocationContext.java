@@ -0,0 +1,11 @@
+package de.heidelberg.pvs.diego.collectionswitch.context;
+
+import org.apache.commons.collections4.MultiValuedMap;
+
+public interface MultimapAllocationContext extends AllocationContextUpdatable<MultimapCollectionType> {
+
+	public <K, V> MultiValuedMap<K, V> createMultimap();
+
+	public <K, V> MultiValuedMap<K, V> createMultimap(int initialKeyCapacity);
+
+}
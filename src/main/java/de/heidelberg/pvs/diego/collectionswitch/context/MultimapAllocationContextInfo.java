@@ -0,0 +1,7 @@
+package de.heidelberg.pvs.diego.collectionswitch.context;
+
+public interface MultimapAllocationContextInfo extends MultimapAllocationContext {
+
+	public MultimapCollectionType getCurrentCollectionType();
+
+}
@@ -0,0 +1,87 @@
+package de.heidelberg.pvs.diego.collectionswitch.context;
+
+import org.apache.commons.collections4.MultiValuedMap;
+import org.apache.commons.collections4.multimap.ArrayListValuedHashMap;
+import org.apache.commons.collections4.multimap.HashSetValuedHashMap;
+
+import de.heidelberg.pvs.diego.collectionswitch.custom.maps.UnifiedListValuedMap;
+import de.heidelberg.pvs.diego.collectionswitch.custom.maps.UnifiedSetValuedMap;
+
+/**
+ * Multimaps behind the commons {@link MultiValuedMap} interface. List valued
+ * maps keep duplicated values and set valued ones do not, so each one only
+ * replaces and is replaced by those of its own kind.
+ *
+ * The compact list multimap is the map of lists fallback for keys with few
+ * values, whose lists start with a single slot.
+ */
+public enum MultimapCollectionType {
+
+	COMMONS_ARRAYLISTVALUEDHASHMAP, COMMONS_HASHSETVALUEDHASHMAP,
+
+	GSCOLLECTIONS_FASTLISTMULTIMAP, GSCOLLECTIONS_UNIFIEDSETMULTIMAP,
+
+	ONLINEADAPTER_COMPACTLISTMULTIMAP;
+
+	/**
+	 * Whether the values of each key are a set instead of a list
+	 */
+	public boolean isSetValued() {
+		return this == COMMONS_HASHSETVALUEDHASHMAP || this == GSCOLLECTIONS_UNIFIEDSETMULTIMAP;
+	}
+
+	public <K, V> MultiValuedMap<K, V> createMultimap() {
+
+		switch (this) {
+
+		case COMMONS_ARRAYLISTVALUEDHASHMAP:
+			return new ArrayListValuedHashMap<K, V>();
+
+		case COMMONS_HASHSETVALUEDHASHMAP:
+			return new HashSetValuedHashMap<K, V>();
+
+		case GSCOLLECTIONS_FASTLISTMULTIMAP:
+			return new UnifiedListValuedMap<K, V>();
+
+		case GSCOLLECTIONS_UNIFIEDSETMULTIMAP:
+			return new UnifiedSetValuedMap<K, V>();
+
+		case ONLINEADAPTER_COMPACTLISTMULTIMAP:
+			return new UnifiedListValuedMap<K, V>(1);
+
+		default:
+			return new ArrayListValuedHashMap<K, V>();
+		}
+
+	}
+
+	/**
+	 * @param initialKeyCapacity
+	 *            expected number of keys
+	 */
+	public <K, V> MultiValuedMap<K, V> createMultimap(int initialKeyCapacity) {
+
+		switch (this) {
+
+		case COMMONS_ARRAYLISTVALUEDHASHMAP:
+			return new ArrayListValuedHashMap<K, V>(initialKeyCapacity);
+
+		case COMMONS_HASHSETVALUEDHASHMAP:
+			return new HashSetValuedHashMap<K, V>(initialKeyCapacity);
+
+		case GSCOLLECTIONS_FASTLISTMULTIMAP:
+			return new UnifiedListValuedMap<K, V>(initialKeyCapacity, 10);
+
+		case GSCOLLECTIONS_UNIFIEDSETMULTIMAP:
+			return new UnifiedSetValuedMap<K, V>(initialKeyCapacity);
+
+		case ONLINEADAPTER_COMPACTLISTMULTIMAP:
+			return new UnifiedListValuedMap<K, V>(initialKeyCapacity, 1);
+
+		default:
+			return new ArrayListValuedHashMap<K, V>(initialKeyCapacity);
+		}
+
+	}
+
+}
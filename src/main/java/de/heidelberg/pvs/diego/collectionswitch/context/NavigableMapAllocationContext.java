@@ -0,0 +1,18 @@
+package de.heidelberg.pvs.diego.collectionswitch.context;
+
+import java.util.Comparator;
+import java.util.Map;
+import java.util.NavigableMap;
+
+/**
+ * Context of navigable maps, which only selects among the navigable types
+ */
+public interface NavigableMapAllocationContext extends SortedMapAllocationContext {
+
+	public <K, V> NavigableMap<K, V> createNavigableMap();
+
+	public <K, V> NavigableMap<K, V> createNavigableMap(Comparator<? super K> comparator);
+
+	public <K, V> NavigableMap<K, V> createNavigableMap(Map<? extends K, ? extends V> mapToCopy);
+
+}
@@ -0,0 +1,5 @@
+package de.heidelberg.pvs.diego.collectionswitch.context;
+
+public interface NavigableMapAllocationContextInfo extends NavigableMapAllocationContext, SortedMapAllocationContextInfo {
+
+}
@@ -0,0 +1,18 @@
+package de.heidelberg.pvs.diego.collectionswitch.context;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.NavigableSet;
+
+/**
+ * Context of navigable sets, which only selects among the navigable types
+ */
+public interface NavigableSetAllocationContext extends SortedSetAllocationContext {
+
+	public <E> NavigableSet<E> createNavigableSet();
+
+	public <E> NavigableSet<E> createNavigableSet(Comparator<? super E> comparator);
+
+	public <E> NavigableSet<E> createNavigableSet(Collection<? extends E> c);
+
+}
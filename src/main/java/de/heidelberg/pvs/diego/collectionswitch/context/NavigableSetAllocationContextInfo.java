@@ -0,0 +1,5 @@
+package de.heidelberg.pvs.diego.collectionswitch.context;
+
+public interface NavigableSetAllocationContextInfo extends NavigableSetAllocationContext, SortedSetAllocationContextInfo {
+
+}
@@ -0,0 +1,21 @@
+package de.heidelberg.pvs.diego.collectionswitch.context;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Queue;
+
+public interface QueueAllocationContext extends AllocationContextUpdatable<QueueCollectionType> {
+
+	public <E> Queue<E> createQueue();
+
+	public <E> Queue<E> createQueue(int initialCapacity);
+
+	public <E> Queue<E> createQueue(Collection<? extends E> c);
+
+	/**
+	 * Queue ordered by the given comparator, only for contexts of priority
+	 * queues
+	 */
+	public <E> Queue<E> createQueue(int initialCapacity, Comparator<? super E> comparator);
+
+}
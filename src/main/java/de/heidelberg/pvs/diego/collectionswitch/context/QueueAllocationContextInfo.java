@@ -0,0 +1,7 @@
+package de.heidelberg.pvs.diego.collectionswitch.context;
+
+public interface QueueAllocationContextInfo extends QueueAllocationContext {
+
+	public QueueCollectionType getCurrentCollectionType();
+
+}
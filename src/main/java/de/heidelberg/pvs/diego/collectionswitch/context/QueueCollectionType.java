@@ -0,0 +1,167 @@
+package de.heidelberg.pvs.diego.collectionswitch.context;
+
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.LinkedList;
+import java.util.PriorityQueue;
+import java.util.Queue;
+
+import de.heidelberg.pvs.diego.collectionswitch.custom.queues.ArrayPriorityQueue;
+
+/**
+ * Queues in two families that cannot replace each other: the deques, which
+ * poll in insertion order from either end, and the priority queues, which poll
+ * the least element first.
+ *
+ * {@link ArrayDeque} and the priority queues reject {@code null} elements,
+ * which the {@link Queue} interface already discourages since poll returns
+ * {@code null} when empty.
+ */
+public enum QueueCollectionType {
+
+	JDK_ARRAYDEQUE,
+	JDK_LINKEDLIST,
+
+	JDK_PRIORITYQUEUE,
+	ONLINEADAPTER_ARRAYPRIORITYQUEUE;
+
+	// Smallest capacity PriorityQueue accepts
+	private static final int MIN_CAPACITY = 1;
+
+	/**
+	 * Whether the instances poll the least element first instead of the
+	 * oldest one
+	 */
+	public boolean isPriority() {
+		return this == JDK_PRIORITYQUEUE || this == ONLINEADAPTER_ARRAYPRIORITYQUEUE;
+	}
+
+	/**
+	 * Whether the instances are also a {@link Deque}
+	 */
+	public boolean isDeque() {
+		return !isPriority();
+	}
+
+	public <E> Queue<E> createQueue() {
+
+		switch (this) {
+
+		case JDK_ARRAYDEQUE:
+			return new ArrayDeque<E>();
+
+		case JDK_LINKEDLIST:
+			return new LinkedList<E>();
+
+		case JDK_PRIORITYQUEUE:
+			return new PriorityQueue<E>();
+
+		case ONLINEADAPTER_ARRAYPRIORITYQUEUE:
+			return new ArrayPriorityQueue<E>();
+
+		default:
+			return new ArrayDeque<E>();
+		}
+
+	}
+
+	public <E> Queue<E> createQueue(int initialCapacity) {
+
+		switch (this) {
+
+		case JDK_ARRAYDEQUE:
+			return new ArrayDeque<E>(initialCapacity);
+
+		case JDK_LINKEDLIST:
+			return new LinkedList<E>();
+
+		case JDK_PRIORITYQUEUE:
+			return new PriorityQueue<E>(Math.max(MIN_CAPACITY, initialCapacity));
+
+		case ONLINEADAPTER_ARRAYPRIORITYQUEUE:
+			return new ArrayPriorityQueue<E>(initialCapacity);
+
+		default:
+			return new ArrayDeque<E>(initialCapacity);
+		}
+
+	}
+
+	public <E> Queue<E> createQueue(Collection<? extends E> c) {
+
+		switch (this) {
+
+		case JDK_ARRAYDEQUE:
+			return new ArrayDeque<E>(c);
+
+		case JDK_LINKEDLIST:
+			return new LinkedList<E>(c);
+
+		case JDK_PRIORITYQUEUE:
+			if (c instanceof ArrayPriorityQueue) {
+				// PriorityQueue only keeps the comparator of its own kind and sorted sets
+				Queue<E> queue = this.<E>createQueue(c.size(), ArrayPriorityQueue.<E>comparatorOf(c));
+				queue.addAll(c);
+				return queue;
+			}
+			return new PriorityQueue<E>(c);
+
+		case ONLINEADAPTER_ARRAYPRIORITYQUEUE:
+			return new ArrayPriorityQueue<E>(c);
+
+		default:
+			return new ArrayDeque<E>(c);
+		}
+
+	}
+
+	/**
+	 * Priority queue ordered by the given comparator
+	 *
+	 * @throws IllegalStateException
+	 *             if the type is not a priority queue
+	 */
+	public <E> Queue<E> createQueue(int initialCapacity, Comparator<? super E> comparator) {
+
+		switch (this) {
+
+		case JDK_PRIORITYQUEUE:
+			return new PriorityQueue<E>(Math.max(MIN_CAPACITY, initialCapacity), comparator);
+
+		case ONLINEADAPTER_ARRAYPRIORITYQUEUE:
+			return new ArrayPriorityQueue<E>(initialCapacity, comparator);
+
+		default:
+			throw new IllegalStateException("Not a priority queue: " + this);
+		}
+
+	}
+
+	/**
+	 * @throws IllegalStateException
+	 *             if the type is not a deque
+	 */
+	public <E> Deque<E> createDeque() {
+		checkDeque();
+		return (Deque<E>) this.<E>createQueue();
+	}
+
+	public <E> Deque<E> createDeque(int initialCapacity) {
+		checkDeque();
+		return (Deque<E>) this.<E>createQueue(initialCapacity);
+	}
+
+	public <E> Deque<E> createDeque(Collection<? extends E> c) {
+		checkDeque();
+		return (Deque<E>) this.<E>createQueue(c);
+	}
+
+	private void checkDeque() {
+		if (!isDeque()) {
+			throw new IllegalStateException("Not a deque: " + this);
+		}
+	}
+
+}
@@ -1,7 +1,7 @@
-package de.heidelberg.pvs.diego.collectionswitch.context;
-
-public interface SetAllocationContextInfo extends SetAllocationContext {
-
-	String getCurrentCollectionType();
-
-}
+package de.heidelberg.pvs.diego.collectionswitch.context;
+
+public interface SetAllocationContextInfo extends SetAllocationContext {
+
+	String getCurrentCollectionType();
+
+}
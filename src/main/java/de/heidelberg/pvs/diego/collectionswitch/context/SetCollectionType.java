@@ -1,130 +1,259 @@
-package de.heidelberg.pvs.diego.collectionswitch.context;
-
-import java.util.Collection;
-import java.util.HashSet;
-import java.util.LinkedHashSet;
-import java.util.Set;
-
-import org.eclipse.collections.impl.set.mutable.UnifiedSet;
-
-import de.heidelberg.pvs.diego.collectionswitch.adaptive.AdaptiveSet;
-import edu.stanford.nlp.util.ArraySet;
-import gnu.trove.set.hash.THashSet;
-import net.openhft.koloboke.collect.set.hash.HashObjSets;
-
-public enum SetCollectionType {
-
-	JDK_HASHSET, JDK_LINKEDHASHSET,
-
-	FASTUTILS_HASHSET, GSCOLLECTIONS_UNIFIEDSET, KOLOBOKE_HASHSET,
-
-	NLP_ARRAYSET,
-	// ONLINEADAPTER_ARRAYSET,
-	ONLINEADAPTER_ADAPTIVESET;
-
-	public <E> Set<E> createSet(int initialCapacity) {
-
-		switch (this) {
-
-		case JDK_HASHSET:
-			return new HashSet<E>(initialCapacity);
-
-		case KOLOBOKE_HASHSET:
-			return HashObjSets.newMutableSet(initialCapacity);
-
-		case JDK_LINKEDHASHSET:
-			return new LinkedHashSet<E>(initialCapacity);
-
-		case FASTUTILS_HASHSET:
-			return new THashSet<E>(initialCapacity);
-
-		case GSCOLLECTIONS_UNIFIEDSET:
-			return new UnifiedSet<E>(initialCapacity);
-
-		case NLP_ARRAYSET:
-			return new ArraySet<E>(initialCapacity);
-
-			// case ONLINEADAPTER_ARRAYSET:
-			// return new ArraySet_Naive(initialCapacity);
-
-		case ONLINEADAPTER_ADAPTIVESET:
-			return new AdaptiveSet<E>(initialCapacity);
-
-		default:
-			return new HashSet<E>(initialCapacity);
-		}
-
-	}
-
-	public <E> Set<E> createSet() {
-
-
-		switch (this) {
-
-		case JDK_HASHSET:
-			return new HashSet<E>();
-
-		case KOLOBOKE_HASHSET:
-			return HashObjSets.newMutableSet();
-
-		case JDK_LINKEDHASHSET:
-			return new LinkedHashSet<E>();
-
-		case FASTUTILS_HASHSET:
-			return new THashSet<E>();
-
-		case GSCOLLECTIONS_UNIFIEDSET:
-			return new UnifiedSet<E>();
-
-		case NLP_ARRAYSET:
-			return new ArraySet<E>();
-
-			// case ONLINEADAPTER_ARRAYSET:
-			// return new ArraySet_Naive(initialCapacity);
-
-		case ONLINEADAPTER_ADAPTIVESET:
-			return new AdaptiveSet<E>();
-
-		default:
-			return new HashSet<E>();
-		}
-
-	}
-
-	
-	public <E> Set<E> createSet(Collection<? extends E> setToCopy) {
-
-		switch (this) {
-
-		case JDK_HASHSET:
-			return new HashSet<E>(setToCopy);
-
-		case KOLOBOKE_HASHSET:
-			return HashObjSets.newMutableSet(setToCopy);
-
-		case JDK_LINKEDHASHSET:
-			return new LinkedHashSet<E>(setToCopy);
-
-		case FASTUTILS_HASHSET:
-			return new THashSet<E>(setToCopy);
-
-		case GSCOLLECTIONS_UNIFIEDSET:
-			return new UnifiedSet<E>(setToCopy);
-
-		case NLP_ARRAYSET:
-			Set<E> set2 = new ArraySet<E>();
-			set2.addAll(setToCopy);
-			return set2;
-
-			// case ONLINEADAPTER_ARRAYSET:
-			// return new ArraySet_Naive(initialCapacity);
-
-		case ONLINEADAPTER_ADAPTIVESET:
-			return new AdaptiveSet<E>(setToCopy);
-
-		default:
-			return new HashSet<E>(setToCopy);
-		}
-
-	}
-}
+package de.heidelberg.pvs.diego.collectionswitch.context;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+import org.eclipse.collections.impl.set.mutable.UnifiedSet;
+
+import de.heidelberg.pvs.diego.collectionswitch.adaptive.AdaptiveSet;
+import de.heidelberg.pvs.diego.collectionswitch.adaptive.TurningPoint;
+import de.heidelberg.pvs.diego.collectionswitch.monitors.KeyProfile.HashMixing;
+import edu.stanford.nlp.util.ArraySet;
+import gnu.trove.set.hash.THashSet;
+import it.unimi.dsi.fastutil.ints.IntOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import net.openhft.koloboke.collect.set.hash.HashIntSets;
+import net.openhft.koloboke.collect.set.hash.HashLongSets;
+import net.openhft.koloboke.collect.set.hash.HashObjSets;
+
+public enum SetCollectionType {
+
+	JDK_HASHSET, JDK_LINKEDHASHSET,
+
+	FASTUTILS_HASHSET, GSCOLLECTIONS_UNIFIEDSET, KOLOBOKE_HASHSET,
+
+	NLP_ARRAYSET,
+	// ONLINEADAPTER_ARRAYSET,
+	ONLINEADAPTER_ADAPTIVESET,
+
+	// Primitive tables behind the boxed API, only for the element type given
+	// by getElementType()
+	FASTUTIL_INTOPENHASHSET, KOLOBOKE_HASHINTSET,
+
+	FASTUTIL_LONGOPENHASHSET, KOLOBOKE_HASHLONGSET;
+
+	public <E> Set<E> createSet(int initialCapacity) {
+
+		switch (this) {
+
+		case JDK_HASHSET:
+			return new HashSet<E>(initialCapacity);
+
+		case KOLOBOKE_HASHSET:
+			return HashObjSets.newMutableSet(initialCapacity);
+
+		case JDK_LINKEDHASHSET:
+			return new LinkedHashSet<E>(initialCapacity);
+
+		case FASTUTILS_HASHSET:
+			return new THashSet<E>(initialCapacity);
+
+		case GSCOLLECTIONS_UNIFIEDSET:
+			return new UnifiedSet<E>(initialCapacity);
+
+		case NLP_ARRAYSET:
+			return new ArraySet<E>(initialCapacity);
+
+			// case ONLINEADAPTER_ARRAYSET:
+			// return new ArraySet_Naive(initialCapacity);
+
+		case ONLINEADAPTER_ADAPTIVESET:
+			return new AdaptiveSet<E>(initialCapacity);
+
+		case FASTUTIL_INTOPENHASHSET:
+			return primitive(new IntOpenHashSet(initialCapacity));
+
+		case KOLOBOKE_HASHINTSET:
+			return primitive(HashIntSets.newMutableSet(initialCapacity));
+
+		case FASTUTIL_LONGOPENHASHSET:
+			return primitive(new LongOpenHashSet(initialCapacity));
+
+		case KOLOBOKE_HASHLONGSET:
+			return primitive(HashLongSets.newMutableSet(initialCapacity));
+
+		default:
+			return new HashSet<E>(initialCapacity);
+		}
+
+	}
+
+	public <E> Set<E> createSet() {
+
+
+		switch (this) {
+
+		case JDK_HASHSET:
+			return new HashSet<E>();
+
+		case KOLOBOKE_HASHSET:
+			return HashObjSets.newMutableSet();
+
+		case JDK_LINKEDHASHSET:
+			return new LinkedHashSet<E>();
+
+		case FASTUTILS_HASHSET:
+			return new THashSet<E>();
+
+		case GSCOLLECTIONS_UNIFIEDSET:
+			return new UnifiedSet<E>();
+
+		case NLP_ARRAYSET:
+			return new ArraySet<E>();
+
+			// case ONLINEADAPTER_ARRAYSET:
+			// return new ArraySet_Naive(initialCapacity);
+
+		case ONLINEADAPTER_ADAPTIVESET:
+			return new AdaptiveSet<E>();
+
+		case FASTUTIL_INTOPENHASHSET:
+			return primitive(new IntOpenHashSet());
+
+		case KOLOBOKE_HASHINTSET:
+			return primitive(HashIntSets.newMutableSet());
+
+		case FASTUTIL_LONGOPENHASHSET:
+			return primitive(new LongOpenHashSet());
+
+		case KOLOBOKE_HASHLONGSET:
+			return primitive(HashLongSets.newMutableSet());
+
+		default:
+			return new HashSet<E>();
+		}
+
+	}
+
+	
+	public <E> Set<E> createSet(Collection<? extends E> setToCopy) {
+
+		switch (this) {
+
+		case JDK_HASHSET:
+			return new HashSet<E>(setToCopy);
+
+		case KOLOBOKE_HASHSET:
+			return HashObjSets.newMutableSet(setToCopy);
+
+		case JDK_LINKEDHASHSET:
+			return new LinkedHashSet<E>(setToCopy);
+
+		case FASTUTILS_HASHSET:
+			return new THashSet<E>(setToCopy);
+
+		case GSCOLLECTIONS_UNIFIEDSET:
+			return new UnifiedSet<E>(setToCopy);
+
+		case NLP_ARRAYSET:
+			Set<E> set2 = new ArraySet<E>();
+			set2.addAll(setToCopy);
+			return set2;
+
+			// case ONLINEADAPTER_ARRAYSET:
+			// return new ArraySet_Naive(initialCapacity);
+
+		case ONLINEADAPTER_ADAPTIVESET:
+			return new AdaptiveSet<E>(setToCopy);
+
+		case FASTUTIL_INTOPENHASHSET:
+		case KOLOBOKE_HASHINTSET:
+		case FASTUTIL_LONGOPENHASHSET:
+		case KOLOBOKE_HASHLONGSET:
+			Set<E> set = createSet(setToCopy.size());
+			set.addAll(setToCopy);
+			return set;
+
+		default:
+			return new HashSet<E>(setToCopy);
+		}
+
+	}
+
+	/**
+	 * Like {@link #createSet()}, adaptive instances use the given turning point
+	 */
+	public <E> Set<E> createSet(TurningPoint turningPoint) {
+		if (this == ONLINEADAPTER_ADAPTIVESET) {
+			return new AdaptiveSet<E>(turningPoint);
+		}
+		return createSet();
+	}
+
+	/**
+	 * Like {@link #createSet(int)}, adaptive instances use the given turning point
+	 */
+	public <E> Set<E> createSet(int initialCapacity, TurningPoint turningPoint) {
+		if (this == ONLINEADAPTER_ADAPTIVESET) {
+			return new AdaptiveSet<E>(initialCapacity, turningPoint);
+		}
+		return createSet(initialCapacity);
+	}
+
+	/**
+	 * Like {@link #createSet(Collection)}, adaptive instances use the given turning point
+	 */
+	public <E> Set<E> createSet(Collection<? extends E> setToCopy, TurningPoint turningPoint) {
+		if (this == ONLINEADAPTER_ADAPTIVESET) {
+			return new AdaptiveSet<E>(setToCopy, turningPoint);
+		}
+		return createSet(setToCopy);
+	}
+
+	/**
+	 * Mixing of the hash codes of implementations that resolve collisions by
+	 * probing other slots of a power of two table, which gets slower when the
+	 * mixed hash codes cluster. {@code null} for chained tables, and for those
+	 * indexed by a prime modulus, which spreads clustered low bits
+	 */
+	public HashMixing getHashMixing() {
+		switch (this) {
+		case KOLOBOKE_HASHSET:
+		case ONLINEADAPTER_ADAPTIVESET:
+			return HashMixing.SPREAD;
+		case FASTUTILS_HASHSET:
+		case FASTUTIL_INTOPENHASHSET:
+		case KOLOBOKE_HASHINTSET:
+			return HashMixing.PHI;
+		case FASTUTIL_LONGOPENHASHSET:
+		case KOLOBOKE_HASHLONGSET:
+			return HashMixing.LONG_PHI;
+		default:
+			return null;
+		}
+	}
+
+
+	/**
+	 * Class of the elements the implementation can hold: {@code Object} for
+	 * the generic ones, the boxed type for the primitive ones
+	 */
+	public Class<?> getElementType() {
+		switch (this) {
+		case FASTUTIL_INTOPENHASHSET:
+		case KOLOBOKE_HASHINTSET:
+			return Integer.class;
+		case FASTUTIL_LONGOPENHASHSET:
+		case KOLOBOKE_HASHLONGSET:
+			return Long.class;
+		default:
+			return Object.class;
+		}
+	}
+
+	/**
+	 * Whether the implementation can hold all the elements of the given class
+	 */
+	public boolean accepts(Class<?> elementType) {
+		return getElementType() == Object.class || getElementType() == elementType;
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <E> Set<E> primitive(Set<?> set) {
+		// Adding elements of other classes fails with a ClassCastException
+		return (Set<E>) set;
+	}
+
+}
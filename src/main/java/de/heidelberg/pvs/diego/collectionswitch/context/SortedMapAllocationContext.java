@@ -0,0 +1,15 @@
+package de.heidelberg.pvs.diego.collectionswitch.context;
+
+import java.util.Comparator;
+import java.util.Map;
+import java.util.SortedMap;
+
+public interface SortedMapAllocationContext extends AllocationContextUpdatable<SortedMapCollectionType> {
+
+	public <K, V> SortedMap<K, V> createMap();
+
+	public <K, V> SortedMap<K, V> createMap(Comparator<? super K> comparator);
+
+	public <K, V> SortedMap<K, V> createMap(Map<? extends K, ? extends V> mapToCopy);
+
+}
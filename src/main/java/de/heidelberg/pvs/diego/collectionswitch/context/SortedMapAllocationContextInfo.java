@@ -0,0 +1,7 @@
+package de.heidelberg.pvs.diego.collectionswitch.context;
+
+public interface SortedMapAllocationContextInfo extends SortedMapAllocationContext {
+
+	public SortedMapCollectionType getCurrentCollectionType();
+
+}
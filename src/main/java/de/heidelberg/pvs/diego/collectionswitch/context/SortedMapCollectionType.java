@@ -0,0 +1,112 @@
+package de.heidelberg.pvs.diego.collectionswitch.context;
+
+import java.util.Comparator;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+import de.heidelberg.pvs.diego.collectionswitch.custom.maps.SortedArrayMap;
+import it.unimi.dsi.fastutil.objects.Object2ObjectAVLTreeMap;
+import it.unimi.dsi.fastutil.objects.Object2ObjectRBTreeMap;
+
+/**
+ * Maps ordered by their keys. The fastutil trees are only a
+ * {@link SortedMap}, the other ones a {@link NavigableMap} too.
+ *
+ * {@link ConcurrentSkipListMap} is thread-safe but rejects {@code null}
+ * values, so it neither replaces nor is replaced by the other ones.
+ */
+public enum SortedMapCollectionType {
+
+	JDK_TREEMAP, JDK_CONCURRENTSKIPLISTMAP,
+
+	FASTUTIL_AVLTREEMAP, FASTUTIL_RBTREEMAP,
+
+	ONLINEADAPTER_SORTEDARRAYMAP;
+
+	/**
+	 * Whether the instances are also a {@link NavigableMap}
+	 */
+	public boolean isNavigable() {
+		return this != FASTUTIL_AVLTREEMAP && this != FASTUTIL_RBTREEMAP;
+	}
+
+	public boolean isConcurrent() {
+		return this == JDK_CONCURRENTSKIPLISTMAP;
+	}
+
+	public <K, V> SortedMap<K, V> createMap() {
+		return createMap((Comparator<? super K>) null);
+	}
+
+	/**
+	 * Map ordered by the given comparator, or by the natural order of the keys
+	 * if {@code null}
+	 */
+	public <K, V> SortedMap<K, V> createMap(Comparator<? super K> comparator) {
+
+		switch (this) {
+
+		case JDK_TREEMAP:
+			return new TreeMap<K, V>(comparator);
+
+		case JDK_CONCURRENTSKIPLISTMAP:
+			return new ConcurrentSkipListMap<K, V>(comparator);
+
+		case FASTUTIL_AVLTREEMAP:
+			return new Object2ObjectAVLTreeMap<K, V>(comparator);
+
+		case FASTUTIL_RBTREEMAP:
+			return new Object2ObjectRBTreeMap<K, V>(comparator);
+
+		case ONLINEADAPTER_SORTEDARRAYMAP:
+			return new SortedArrayMap<K, V>(comparator);
+
+		default:
+			return new TreeMap<K, V>(comparator);
+		}
+
+	}
+
+	/**
+	 * Copy of the given map, keeping the comparator of a sorted map
+	 */
+	@SuppressWarnings("unchecked")
+	public <K, V> SortedMap<K, V> createMap(Map<? extends K, ? extends V> mapToCopy) {
+		if (this == ONLINEADAPTER_SORTEDARRAYMAP) {
+			return new SortedArrayMap<K, V>(mapToCopy);
+		}
+		SortedMap<K, V> map = createMap(
+				mapToCopy instanceof SortedMap ? ((SortedMap<K, ?>) mapToCopy).comparator() : null);
+		map.putAll(mapToCopy);
+		return map;
+	}
+
+	/**
+	 * @throws IllegalStateException
+	 *             if the type is not navigable
+	 */
+	public <K, V> NavigableMap<K, V> createNavigableMap() {
+		checkNavigable();
+		return (NavigableMap<K, V>) this.<K, V>createMap();
+	}
+
+	public <K, V> NavigableMap<K, V> createNavigableMap(Comparator<? super K> comparator) {
+		checkNavigable();
+		return (NavigableMap<K, V>) this.<K, V>createMap(comparator);
+	}
+
+	public <K, V> NavigableMap<K, V> createNavigableMap(Map<? extends K, ? extends V> mapToCopy) {
+		checkNavigable();
+		return (NavigableMap<K, V>) this.<K, V>createMap(mapToCopy);
+	}
+
+	private void checkNavigable() {
+		if (!isNavigable()) {
+			throw new IllegalStateException("Not navigable: " + this);
+		}
+	}
+
+}
@@ -0,0 +1,15 @@
+package de.heidelberg.pvs.diego.collectionswitch.context;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.SortedSet;
+
+public interface SortedSetAllocationContext extends AllocationContextUpdatable<SortedSetCollectionType> {
+
+	public <E> SortedSet<E> createSet();
+
+	public <E> SortedSet<E> createSet(Comparator<? super E> comparator);
+
+	public <E> SortedSet<E> createSet(Collection<? extends E> c);
+
+}
@@ -0,0 +1,7 @@
+package de.heidelberg.pvs.diego.collectionswitch.context;
+
+public interface SortedSetAllocationContextInfo extends SortedSetAllocationContext {
+
+	public SortedSetCollectionType getCurrentCollectionType();
+
+}
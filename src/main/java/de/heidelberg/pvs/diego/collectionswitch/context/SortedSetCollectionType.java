@@ -0,0 +1,108 @@
+package de.heidelberg.pvs.diego.collectionswitch.context;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.NavigableSet;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+import de.heidelberg.pvs.diego.collectionswitch.custom.sets.SortedArraySet;
+import it.unimi.dsi.fastutil.objects.ObjectAVLTreeSet;
+import it.unimi.dsi.fastutil.objects.ObjectRBTreeSet;
+
+/**
+ * Sets ordered by their elements, the counterparts of the
+ * {@link SortedMapCollectionType}.
+ */
+public enum SortedSetCollectionType {
+
+	JDK_TREESET, JDK_CONCURRENTSKIPLISTSET,
+
+	FASTUTIL_AVLTREESET, FASTUTIL_RBTREESET,
+
+	ONLINEADAPTER_SORTEDARRAYSET;
+
+	/**
+	 * Whether the instances are also a {@link NavigableSet}
+	 */
+	public boolean isNavigable() {
+		return this != FASTUTIL_AVLTREESET && this != FASTUTIL_RBTREESET;
+	}
+
+	public boolean isConcurrent() {
+		return this == JDK_CONCURRENTSKIPLISTSET;
+	}
+
+	public <E> SortedSet<E> createSet() {
+		return createSet((Comparator<? super E>) null);
+	}
+
+	/**
+	 * Set ordered by the given comparator, or by the natural order of the
+	 * elements if {@code null}
+	 */
+	public <E> SortedSet<E> createSet(Comparator<? super E> comparator) {
+
+		switch (this) {
+
+		case JDK_TREESET:
+			return new TreeSet<E>(comparator);
+
+		case JDK_CONCURRENTSKIPLISTSET:
+			return new ConcurrentSkipListSet<E>(comparator);
+
+		case FASTUTIL_AVLTREESET:
+			return new ObjectAVLTreeSet<E>(comparator);
+
+		case FASTUTIL_RBTREESET:
+			return new ObjectRBTreeSet<E>(comparator);
+
+		case ONLINEADAPTER_SORTEDARRAYSET:
+			return new SortedArraySet<E>(comparator);
+
+		default:
+			return new TreeSet<E>(comparator);
+		}
+
+	}
+
+	/**
+	 * Copy of the given collection, keeping the comparator of a sorted set
+	 */
+	@SuppressWarnings("unchecked")
+	public <E> SortedSet<E> createSet(Collection<? extends E> c) {
+		if (this == ONLINEADAPTER_SORTEDARRAYSET) {
+			return new SortedArraySet<E>(c);
+		}
+		SortedSet<E> set = createSet(c instanceof SortedSet ? ((SortedSet<E>) c).comparator() : null);
+		set.addAll(c);
+		return set;
+	}
+
+	/**
+	 * @throws IllegalStateException
+	 *             if the type is not navigable
+	 */
+	public <E> NavigableSet<E> createNavigableSet() {
+		checkNavigable();
+		return (NavigableSet<E>) this.<E>createSet();
+	}
+
+	public <E> NavigableSet<E> createNavigableSet(Comparator<? super E> comparator) {
+		checkNavigable();
+		return (NavigableSet<E>) this.<E>createSet(comparator);
+	}
+
+	public <E> NavigableSet<E> createNavigableSet(Collection<? extends E> c) {
+		checkNavigable();
+		return (NavigableSet<E>) this.<E>createSet(c);
+	}
+
+	private void checkNavigable() {
+		if (!isNavigable()) {
+			throw new IllegalStateException("Not navigable: " + this);
+		}
+	}
+
+}
@@ -0,0 +1,89 @@
+package de.heidelberg.pvs.diego.collectionswitch.context.impl;
+
+import java.util.Collection;
+import java.util.List;
+
+import de.heidelberg.pvs.diego.collectionswitch.adaptive.TurningPoint;
+import de.heidelberg.pvs.diego.collectionswitch.adaptive.UnboxedList;
+import de.heidelberg.pvs.diego.collectionswitch.context.ListAllocationContextInfo;
+import de.heidelberg.pvs.diego.collectionswitch.context.ListCollectionType;
+import de.heidelberg.pvs.diego.collectionswitch.optimizers.lists.BanditListOptimizer;
+
+/**
+ * List context that hands a sampled fraction of the instances to the types
+ * selected by a {@link BanditListOptimizer}, which measures their real cost.
+ * The other instances take the best type so far.
+ */
+public class BanditListAllocationContext implements ListAllocationContextInfo {
+
+	private volatile ListCollectionType type;
+
+	private final InstanceSampler sampler;
+
+	private final BanditListOptimizer optimizer;
+	private final TurningPoint turningPoint;
+
+	// Class of the elements the instances must accept, Object for generic contexts
+	private final Class<?> elementType;
+
+	public BanditListAllocationContext(ListCollectionType defaultCollectionType, BanditListOptimizer optimizer,
+			int explorationRate, Class<?> elementType) {
+		super();
+		this.type = defaultCollectionType;
+		this.optimizer = optimizer;
+		this.turningPoint = optimizer.getTurningPoint();
+		this.sampler = new InstanceSampler(explorationRate);
+		this.elementType = elementType;
+	}
+
+	@Override
+	public <E> List<E> createList() {
+		if (sampler.sample()) {
+			ListCollectionType arm = optimizer.selectArm();
+			long start = optimizer.start();
+			return optimizer.measure(UnboxedList.guard(arm.createList(turningPoint), arm, elementType), arm, start);
+		}
+
+		ListCollectionType type = this.type;
+		return UnboxedList.guard(type.createList(turningPoint), type, elementType);
+	}
+
+	@Override
+	public <E> List<E> createList(int initialCapacity) {
+		if (sampler.sample()) {
+			ListCollectionType arm = optimizer.selectArm();
+			long start = optimizer.start();
+			return optimizer.measure(UnboxedList.guard(arm.createList(initialCapacity, turningPoint), arm, elementType),
+					arm, start);
+		}
+
+		ListCollectionType type = this.type;
+		return UnboxedList.guard(type.createList(initialCapacity, turningPoint), type, elementType);
+	}
+
+	@Override
+	public <E> List<E> createList(Collection<? extends E> c) {
+		if (sampler.sample()) {
+			ListCollectionType arm = optimizer.selectArm();
+			long start = optimizer.start();
+			return optimizer.measure(copy(c, arm), arm, start);
+		}
+
+		return copy(c, this.type);
+	}
+
+	@Override
+	public void updateCollectionType(ListCollectionType type) {
+		this.type = type;
+	}
+
+	@Override
+	public ListCollectionType getCurrentCollectionType() {
+		return type;
+	}
+
+	private <E> List<E> copy(Collection<? extends E> c, ListCollectionType type) {
+		return type.accepts(elementType) ? type.createList(c, turningPoint) : UnboxedList.copyOf(c, type);
+	}
+
+}
@@ -0,0 +1,93 @@
+package de.heidelberg.pvs.diego.collectionswitch.context.impl;
+
+import java.util.Map;
+
+import de.heidelberg.pvs.diego.collectionswitch.adaptive.TurningPoint;
+import de.heidelberg.pvs.diego.collectionswitch.adaptive.UnboxedMap;
+import de.heidelberg.pvs.diego.collectionswitch.context.MapAllocationContextInfo;
+import de.heidelberg.pvs.diego.collectionswitch.context.MapCollectionType;
+import de.heidelberg.pvs.diego.collectionswitch.optimizers.maps.BanditMapOptimizer;
+
+/**
+ * Map context that hands a sampled fraction of the instances to the types
+ * selected by a {@link BanditMapOptimizer}, which measures their real cost.
+ * The other instances take the best type so far.
+ */
+public class BanditMapAllocationContext implements MapAllocationContextInfo {
+
+	private volatile MapCollectionType type;
+
+	private final InstanceSampler sampler;
+
+	private final BanditMapOptimizer optimizer;
+	private final TurningPoint turningPoint;
+
+	// Class of the keys the instances must accept, Object for generic contexts
+	private final Class<?> elementType;
+
+	public BanditMapAllocationContext(MapCollectionType type, BanditMapOptimizer optimizer, int explorationRate,
+			Class<?> elementType) {
+		super();
+		this.type = type;
+		this.optimizer = optimizer;
+		this.turningPoint = optimizer.getTurningPoint();
+		this.sampler = new InstanceSampler(explorationRate);
+		this.elementType = elementType;
+	}
+
+	@Override
+	public void updateCollectionType(MapCollectionType type) {
+		this.type = type;
+	}
+
+	@Override
+	public <K, V> Map<K, V> createMap() {
+		if (sampler.sample()) {
+			MapCollectionType arm = optimizer.selectArm();
+			long start = optimizer.start();
+			return optimizer.measure(UnboxedMap.guard(arm.createMap(turningPoint), arm, elementType), arm, start);
+		}
+
+		MapCollectionType type = this.type;
+		return UnboxedMap.guard(type.createMap(turningPoint), type, elementType);
+	}
+
+	@Override
+	public <K, V> Map<K, V> createMap(int initialCapacity) {
+		if (sampler.sample()) {
+			MapCollectionType arm = optimizer.selectArm();
+			long start = optimizer.start();
+			return optimizer.measure(UnboxedMap.guard(arm.createMap(initialCapacity, turningPoint), arm, elementType),
+					arm, start);
+		}
+
+		MapCollectionType type = this.type;
+		return UnboxedMap.guard(type.createMap(initialCapacity, turningPoint), type, elementType);
+	}
+
+	@Override
+	public <K, V> Map<K, V> createMap(int initialCapacity, float loadFactor) {
+		return createMap(initialCapacity);
+	}
+
+	@Override
+	public <K, V> Map<K, V> createMap(Map<K, V> mapToCopy) {
+		if (sampler.sample()) {
+			MapCollectionType arm = optimizer.selectArm();
+			long start = optimizer.start();
+			return optimizer.measure(copy(mapToCopy, arm), arm, start);
+		}
+
+		return copy(mapToCopy, this.type);
+	}
+
+	@Override
+	public MapCollectionType getCurrentCollectionType() {
+		return type;
+	}
+
+	private <K, V> Map<K, V> copy(Map<K, V> mapToCopy, MapCollectionType type) {
+		return type.accepts(elementType) ? type.createMap(mapToCopy, turningPoint) : UnboxedMap.copyOf(mapToCopy, type);
+	}
+
+}
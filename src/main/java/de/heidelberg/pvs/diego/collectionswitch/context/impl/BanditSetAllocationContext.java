@@ -0,0 +1,89 @@
+package de.heidelberg.pvs.diego.collectionswitch.context.impl;
+
+import java.util.Collection;
+import java.util.Set;
+
+import de.heidelberg.pvs.diego.collectionswitch.adaptive.TurningPoint;
+import de.heidelberg.pvs.diego.collectionswitch.adaptive.UnboxedSet;
+import de.heidelberg.pvs.diego.collectionswitch.context.SetAllocationContextInfo;
+import de.heidelberg.pvs.diego.collectionswitch.context.SetCollectionType;
+import de.heidelberg.pvs.diego.collectionswitch.optimizers.sets.BanditSetOptimizer;
+
+/**
+ * Set context that hands a sampled fraction of the instances to the types
+ * selected by a {@link BanditSetOptimizer}, which measures their real cost.
+ * The other instances take the best type so far.
+ */
+public class BanditSetAllocationContext implements SetAllocationContextInfo {
+
+	private volatile SetCollectionType type;
+
+	private final InstanceSampler sampler;
+
+	private final BanditSetOptimizer optimizer;
+	private final TurningPoint turningPoint;
+
+	// Class of the elements the instances must accept, Object for generic contexts
+	private final Class<?> elementType;
+
+	public BanditSetAllocationContext(SetCollectionType defaultCollectionType, BanditSetOptimizer optimizer,
+			int explorationRate, Class<?> elementType) {
+		super();
+		this.type = defaultCollectionType;
+		this.optimizer = optimizer;
+		this.turningPoint = optimizer.getTurningPoint();
+		this.sampler = new InstanceSampler(explorationRate);
+		this.elementType = elementType;
+	}
+
+	@Override
+	public <E> Set<E> createSet() {
+		if (sampler.sample()) {
+			SetCollectionType arm = optimizer.selectArm();
+			long start = optimizer.start();
+			return optimizer.measure(UnboxedSet.guard(arm.createSet(turningPoint), arm, elementType), arm, start);
+		}
+
+		SetCollectionType type = this.type;
+		return UnboxedSet.guard(type.createSet(turningPoint), type, elementType);
+	}
+
+	@Override
+	public <E> Set<E> createSet(int initialCapacity) {
+		if (sampler.sample()) {
+			SetCollectionType arm = optimizer.selectArm();
+			long start = optimizer.start();
+			return optimizer.measure(UnboxedSet.guard(arm.createSet(initialCapacity, turningPoint), arm, elementType),
+					arm, start);
+		}
+
+		SetCollectionType type = this.type;
+		return UnboxedSet.guard(type.createSet(initialCapacity, turningPoint), type, elementType);
+	}
+
+	@Override
+	public <E> Set<E> createSet(Collection<? extends E> c) {
+		if (sampler.sample()) {
+			SetCollectionType arm = optimizer.selectArm();
+			long start = optimizer.start();
+			return optimizer.measure(copy(c, arm), arm, start);
+		}
+
+		return copy(c, this.type);
+	}
+
+	@Override
+	public void updateCollectionType(SetCollectionType type) {
+		this.type = type;
+	}
+
+	@Override
+	public String getCurrentCollectionType() {
+		return type.toString();
+	}
+
+	private <E> Set<E> copy(Collection<? extends E> c, SetCollectionType type) {
+		return type.accepts(elementType) ? type.createSet(c, turningPoint) : UnboxedSet.copyOf(c, type);
+	}
+
+}
@@ -0,0 +1,117 @@
+package de.heidelberg.pvs.diego.collectionswitch.context.impl;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+import de.heidelberg.pvs.diego.collectionswitch.adaptive.TurningPoint;
+import de.heidelberg.pvs.diego.collectionswitch.adaptive.UnboxedList;
+import de.heidelberg.pvs.diego.collectionswitch.context.ListAllocationContextInfo;
+import de.heidelberg.pvs.diego.collectionswitch.context.ListCollectionType;
+import de.heidelberg.pvs.diego.collectionswitch.optimizers.lists.ListAllocationOptimizer;
+
+/**
+ * Thread-safe variant of {@link EmpiricalListAllocationContext} for allocation
+ * sites shared by many threads.
+ * 
+ * The chosen type is safely published through a volatile field and the window
+ * is counted on a {@link LongAdder}. Once the window is full the creation path
+ * only reads two volatile fields, so it does not contend between threads.
+ */
+public class ConcurrentEmpiricalListAllocationContext implements ListAllocationContextInfo {
+
+	private volatile ListCollectionType type;
+	private volatile boolean monitoring;
+
+	private final LongAdder instancesCount;
+	private final int windowSize;
+
+	private final ListAllocationOptimizer optimizer;
+	private final TurningPoint turningPoint;
+
+	// Class of the elements the instances must accept, Object for generic contexts
+	private final Class<?> elementType;
+
+	public ConcurrentEmpiricalListAllocationContext(ListCollectionType defaultCollectionType,
+			ListAllocationOptimizer optimizer, int windowSize) {
+		this(defaultCollectionType, optimizer, windowSize, Object.class);
+	}
+
+	/**
+	 * Context whose instances must accept elements of the given class. Instances
+	 * of primitive types that do not accept it are guarded, see
+	 * {@link UnboxedList}
+	 */
+	public ConcurrentEmpiricalListAllocationContext(ListCollectionType defaultCollectionType,
+			ListAllocationOptimizer optimizer, int windowSize, Class<?> elementType) {
+		super();
+		this.instancesCount = new LongAdder();
+		this.windowSize = windowSize;
+		this.optimizer = optimizer;
+		this.turningPoint = optimizer.getTurningPoint();
+		this.monitoring = windowSize > 0;
+		this.type = defaultCollectionType;
+		this.elementType = elementType;
+	}
+
+	@Override
+	public <E> List<E> createList() {
+		ListCollectionType type = this.type;
+		List<E> list = UnboxedList.guard(type.createList(turningPoint), type, elementType);
+
+		if (monitoring && isInsideWindow()) {
+			return optimizer.createMonitor(list);
+		}
+
+		return list;
+	}
+
+	@Override
+	public <E> List<E> createList(int initialCapacity) {
+		ListCollectionType type = this.type;
+		List<E> list = UnboxedList.guard(type.createList(initialCapacity, turningPoint), type, elementType);
+
+		if (monitoring && isInsideWindow()) {
+			return optimizer.createMonitor(list);
+		}
+
+		return list;
+	}
+
+	@Override
+	public <E> List<E> createList(Collection<? extends E> c) {
+		ListCollectionType type = this.type;
+		List<E> list = type.accepts(elementType) ? type.createList(c, turningPoint)
+				: UnboxedList.copyOf(c, type);
+
+		if (monitoring && isInsideWindow()) {
+			return optimizer.createMonitor(list);
+		}
+
+		return list;
+	}
+
+	private boolean isInsideWindow() {
+		instancesCount.increment();
+		// The sum always includes the increments that completed before ours,
+		// so at most windowSize instances are monitored per window
+		if (instancesCount.sum() <= windowSize) {
+			return true;
+		}
+		monitoring = false;
+		return false;
+	}
+
+	@Override
+	public void updateCollectionType(ListCollectionType type) {
+		instancesCount.reset();
+		this.type = type;
+		this.monitoring = windowSize > 0; // reset
+	}
+
+	@Override
+	public ListCollectionType getCurrentCollectionType() {
+		return type;
+	}
+
+}
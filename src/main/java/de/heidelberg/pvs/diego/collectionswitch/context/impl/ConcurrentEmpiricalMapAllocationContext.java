@@ -0,0 +1,128 @@
+package de.heidelberg.pvs.diego.collectionswitch.context.impl;
+
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+import de.heidelberg.pvs.diego.collectionswitch.adaptive.TurningPoint;
+import de.heidelberg.pvs.diego.collectionswitch.adaptive.UnboxedMap;
+import de.heidelberg.pvs.diego.collectionswitch.context.MapAllocationContextInfo;
+import de.heidelberg.pvs.diego.collectionswitch.context.MapCollectionType;
+import de.heidelberg.pvs.diego.collectionswitch.optimizers.maps.MapAllocationOptimizer;
+
+/**
+ * Thread-safe variant of {@link EmpiricalMapAllocationContext} for allocation
+ * sites shared by many threads.
+ * 
+ * The chosen type is safely published through a volatile field and the window
+ * is counted on a {@link LongAdder}. Once the window is full the creation path
+ * only reads two volatile fields, so it does not contend between threads.
+ */
+public class ConcurrentEmpiricalMapAllocationContext implements MapAllocationContextInfo {
+
+	private volatile MapCollectionType type;
+	private volatile boolean monitoring;
+
+	private final LongAdder instancesCount;
+	private final int windowSize;
+
+	private final MapAllocationOptimizer optimizer;
+	private final TurningPoint turningPoint;
+
+	// Class of the keys the instances must accept, Object for generic contexts
+	private final Class<?> elementType;
+
+	public ConcurrentEmpiricalMapAllocationContext(MapCollectionType type, MapAllocationOptimizer optimizer,
+			int windowSize) {
+		this(type, optimizer, windowSize, Object.class);
+	}
+
+	/**
+	 * Context whose instances must accept keys of the given class. Instances
+	 * of primitive types that do not accept it are guarded, see
+	 * {@link UnboxedMap}
+	 */
+	public ConcurrentEmpiricalMapAllocationContext(MapCollectionType type, MapAllocationOptimizer optimizer,
+			int windowSize, Class<?> elementType) {
+		super();
+		this.instancesCount = new LongAdder();
+		this.windowSize = windowSize;
+		this.optimizer = optimizer;
+		this.turningPoint = optimizer.getTurningPoint();
+		this.monitoring = windowSize > 0;
+		this.type = type;
+		this.elementType = elementType;
+	}
+
+	@Override
+	public void updateCollectionType(MapCollectionType type) {
+		instancesCount.reset();
+		this.type = type;
+		this.monitoring = windowSize > 0; // reset
+	}
+
+	@Override
+	public <K, V> Map<K, V> createMap() {
+		MapCollectionType type = this.type;
+		Map<K, V> map = UnboxedMap.guard(type.createMap(turningPoint), type, elementType);
+
+		if (monitoring && isInsideWindow()) {
+			return this.optimizer.createMonitor(map);
+		}
+
+		return map;
+	}
+
+	@Override
+	public <K, V> Map<K, V> createMap(int initialCapacity) {
+		MapCollectionType type = this.type;
+		Map<K, V> map = UnboxedMap.guard(type.createMap(initialCapacity, turningPoint), type, elementType);
+
+		if (monitoring && isInsideWindow()) {
+			return this.optimizer.createMonitor(map);
+		}
+
+		return map;
+	}
+
+	@Override
+	public <K, V> Map<K, V> createMap(int initialCapacity, float loadFactor) {
+		MapCollectionType type = this.type;
+		Map<K, V> map = UnboxedMap.guard(type.createMap(initialCapacity, turningPoint), type, elementType);
+
+		if (monitoring && isInsideWindow()) {
+			return this.optimizer.createMonitor(map);
+		}
+
+		return map;
+	}
+
+	@Override
+	public <K, V> Map<K, V> createMap(Map<K, V> mapToCopy) {
+		MapCollectionType type = this.type;
+		Map<K, V> map = type.accepts(elementType) ? type.createMap(mapToCopy, turningPoint)
+				: UnboxedMap.copyOf(mapToCopy, type);
+
+		if (monitoring && isInsideWindow()) {
+			return this.optimizer.createMonitor(map);
+		}
+
+		return map;
+	}
+
+	private boolean isInsideWindow() {
+		instancesCount.increment();
+		// The sum always includes the increments that completed before ours,
+		// so at most windowSize instances are monitored per window
+		if (instancesCount.sum() <= windowSize) {
+			return true;
+		}
+		monitoring = false;
+		return false;
+	}
+
+	@Override
+	public MapCollectionType getCurrentCollectionType() {
+		return type;
+	}
+
+}
@@ -0,0 +1,117 @@
+package de.heidelberg.pvs.diego.collectionswitch.context.impl;
+
+import java.util.Collection;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+
+import de.heidelberg.pvs.diego.collectionswitch.adaptive.TurningPoint;
+import de.heidelberg.pvs.diego.collectionswitch.adaptive.UnboxedSet;
+import de.heidelberg.pvs.diego.collectionswitch.context.SetAllocationContextInfo;
+import de.heidelberg.pvs.diego.collectionswitch.context.SetCollectionType;
+import de.heidelberg.pvs.diego.collectionswitch.optimizers.sets.SetAllocationOptimizer;
+
+/**
+ * Thread-safe variant of {@link EmpiricalSetAllocationContext} for allocation
+ * sites shared by many threads.
+ * 
+ * The chosen type is safely published through a volatile field and the window
+ * is counted on a {@link LongAdder}. Once the window is full the creation path
+ * only reads two volatile fields, so it does not contend between threads.
+ */
+public class ConcurrentEmpiricalSetAllocationContext implements SetAllocationContextInfo {
+
+	private volatile SetCollectionType type;
+	private volatile boolean monitoring;
+
+	private final LongAdder instancesCount;
+	private final int windowSize;
+
+	private final SetAllocationOptimizer optimizer;
+	private final TurningPoint turningPoint;
+
+	// Class of the elements the instances must accept, Object for generic contexts
+	private final Class<?> elementType;
+
+	public ConcurrentEmpiricalSetAllocationContext(SetCollectionType defaultCollectionType,
+			SetAllocationOptimizer optimizer, int windowSize) {
+		this(defaultCollectionType, optimizer, windowSize, Object.class);
+	}
+
+	/**
+	 * Context whose instances must accept elements of the given class. Instances
+	 * of primitive types that do not accept it are guarded, see
+	 * {@link UnboxedSet}
+	 */
+	public ConcurrentEmpiricalSetAllocationContext(SetCollectionType defaultCollectionType,
+			SetAllocationOptimizer optimizer, int windowSize, Class<?> elementType) {
+		super();
+		this.instancesCount = new LongAdder();
+		this.windowSize = windowSize;
+		this.optimizer = optimizer;
+		this.turningPoint = optimizer.getTurningPoint();
+		this.monitoring = windowSize > 0;
+		this.type = defaultCollectionType;
+		this.elementType = elementType;
+	}
+
+	@Override
+	public <E> Set<E> createSet() {
+		SetCollectionType type = this.type;
+		Set<E> set = UnboxedSet.guard(type.createSet(turningPoint), type, elementType);
+
+		if (monitoring && isInsideWindow()) {
+			return optimizer.createMonitor(set);
+		}
+
+		return set;
+	}
+
+	@Override
+	public <E> Set<E> createSet(int initialCapacity) {
+		SetCollectionType type = this.type;
+		Set<E> set = UnboxedSet.guard(type.createSet(initialCapacity, turningPoint), type, elementType);
+
+		if (monitoring && isInsideWindow()) {
+			return optimizer.createMonitor(set);
+		}
+
+		return set;
+	}
+
+	@Override
+	public <E> Set<E> createSet(Collection<? extends E> c) {
+		SetCollectionType type = this.type;
+		Set<E> set = type.accepts(elementType) ? type.createSet(c, turningPoint)
+				: UnboxedSet.copyOf(c, type);
+
+		if (monitoring && isInsideWindow()) {
+			return optimizer.createMonitor(set);
+		}
+
+		return set;
+	}
+
+	private boolean isInsideWindow() {
+		instancesCount.increment();
+		// The sum always includes the increments that completed before ours,
+		// so at most windowSize instances are monitored per window
+		if (instancesCount.sum() <= windowSize) {
+			return true;
+		}
+		monitoring = false;
+		return false;
+	}
+
+	@Override
+	public void updateCollectionType(SetCollectionType type) {
+		instancesCount.reset();
+		this.type = type;
+		this.monitoring = windowSize > 0; // reset
+	}
+
+	@Override
+	public String getCurrentCollectionType() {
+		return type.toString();
+	}
+
+}
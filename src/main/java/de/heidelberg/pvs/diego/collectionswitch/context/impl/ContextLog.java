@@ -0,0 +1,66 @@
+package de.heidelberg.pvs.diego.collectionswitch.context.impl;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Log file of the changes of a context, in the format of
+ * {@link LogMapAllocationContext}. It can be shared by many threads, as the
+ * contexts of concurrent collections are.
+ */
+class ContextLog {
+
+	private static final int FREQUENCY = 1000;
+
+	private final String collections;
+
+	private final AtomicInteger count = new AtomicInteger();
+
+	private PrintWriter writer;
+
+	/**
+	 * Log of the context with the given identifier in the given directory,
+	 * which counts the created instances as the given collections
+	 */
+	ContextLog(String identifier, String dir, String collections, Object type) {
+		super();
+		this.collections = collections;
+
+		String date = new SimpleDateFormat("yyyy-MM-dd_HH-mm-ss-SSS").format(new Date(System.currentTimeMillis()));
+		try {
+			writer = new PrintWriter(dir + "/" + identifier + "__-__" + date + ".txt", "UTF-8");
+		} catch (IOException e) {
+			System.err.println("Cannot log context " + identifier + ": " + e);
+			return;
+		}
+		print("Context initialized", "Collecton Type: " + type);
+	}
+
+	void created() {
+		int created = count.incrementAndGet();
+		if (created % FREQUENCY == 0) {
+			print(String.format("Created %d %s", created, collections));
+		}
+	}
+
+	void updated(Object before, Object after) {
+		if (!before.equals(after)) {
+			print(String.format("%d %s created so far.", count.get(), collections),
+					"Type updated from " + before + " -- to --" + after);
+		}
+	}
+
+	private synchronized void print(String... lines) {
+		if (writer == null) {
+			return;
+		}
+		for (String line : lines) {
+			writer.println(line);
+		}
+		writer.flush();
+	}
+
+}
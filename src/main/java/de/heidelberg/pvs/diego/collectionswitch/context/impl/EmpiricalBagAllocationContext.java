@@ -0,0 +1,59 @@
+package de.heidelberg.pvs.diego.collectionswitch.context.impl;
+
+import java.util.Collection;
+
+import org.apache.commons.collections4.Bag;
+
+import de.heidelberg.pvs.diego.collectionswitch.context.BagAllocationContextInfo;
+import de.heidelberg.pvs.diego.collectionswitch.context.BagCollectionType;
+import de.heidelberg.pvs.diego.collectionswitch.optimizers.counting.BagAllocationOptimizer;
+
+public class EmpiricalBagAllocationContext implements BagAllocationContextInfo {
+
+	protected BagCollectionType type;
+
+	private int instancesCount;
+	private int windowSize;
+
+	protected BagAllocationOptimizer optimizer;
+
+	public EmpiricalBagAllocationContext(BagCollectionType defaultCollectionType, BagAllocationOptimizer optimizer,
+			int windowSize) {
+		super();
+		this.type = defaultCollectionType;
+		this.windowSize = windowSize;
+		this.optimizer = optimizer;
+		instancesCount = 0;
+	}
+
+	@Override
+	public <E> Bag<E> createBag() {
+		Bag<E> bag = type.createBag();
+		return isMonitored() ? optimizer.createMonitor(bag) : bag;
+	}
+
+	@Override
+	public <E> Bag<E> createBag(Collection<? extends E> c) {
+		Bag<E> bag = type.createBag(c);
+		return isMonitored() ? optimizer.createMonitor(bag) : bag;
+	}
+
+	/**
+	 * Whether the next instance belongs to the monitored window
+	 */
+	private boolean isMonitored() {
+		return instancesCount++ < windowSize;
+	}
+
+	@Override
+	public void updateCollectionType(BagCollectionType type) {
+		this.type = type;
+		this.instancesCount = 0; // reset
+	}
+
+	@Override
+	public BagCollectionType getCurrentCollectionType() {
+		return type;
+	}
+
+}
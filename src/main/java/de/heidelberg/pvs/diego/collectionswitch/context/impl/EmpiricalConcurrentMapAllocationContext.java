@@ -0,0 +1,98 @@
+package de.heidelberg.pvs.diego.collectionswitch.context.impl;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import de.heidelberg.pvs.diego.collectionswitch.context.ConcurrentMapAllocationContextInfo;
+import de.heidelberg.pvs.diego.collectionswitch.context.ConcurrentMapCollectionType;
+import de.heidelberg.pvs.diego.collectionswitch.optimizers.concurrent.ConcurrentMapAllocationOptimizer;
+
+/**
+ * Context of maps shared by many threads. The context itself is thread-safe
+ * in the same way as {@link ConcurrentEmpiricalMapAllocationContext}, and the
+ * first instances of each window are monitored for contention.
+ */
+public class EmpiricalConcurrentMapAllocationContext implements ConcurrentMapAllocationContextInfo {
+
+	private volatile ConcurrentMapCollectionType type;
+	private volatile boolean monitoring;
+
+	private final LongAdder instancesCount;
+	private final int windowSize;
+
+	private final ConcurrentMapAllocationOptimizer optimizer;
+
+	public EmpiricalConcurrentMapAllocationContext(ConcurrentMapCollectionType type,
+			ConcurrentMapAllocationOptimizer optimizer, int windowSize) {
+		super();
+		this.instancesCount = new LongAdder();
+		this.windowSize = windowSize;
+		this.optimizer = optimizer;
+		this.monitoring = windowSize > 0;
+		this.type = type;
+	}
+
+	@Override
+	public void updateCollectionType(ConcurrentMapCollectionType type) {
+		instancesCount.reset();
+		this.type = type;
+		this.monitoring = windowSize > 0; // reset
+	}
+
+	@Override
+	public <K, V> ConcurrentMap<K, V> createMap() {
+		ConcurrentMap<K, V> map = type.createMap();
+
+		if (monitoring && isInsideWindow()) {
+			return this.optimizer.createMonitor(map);
+		}
+
+		return map;
+	}
+
+	@Override
+	public <K, V> ConcurrentMap<K, V> createMap(int initialCapacity) {
+		ConcurrentMap<K, V> map = type.createMap(initialCapacity);
+
+		if (monitoring && isInsideWindow()) {
+			return this.optimizer.createMonitor(map);
+		}
+
+		return map;
+	}
+
+	@Override
+	public <K, V> ConcurrentMap<K, V> createMap(Map<K, V> mapToCopy) {
+		ConcurrentMap<K, V> map = type.createMap(mapToCopy);
+
+		if (monitoring && isInsideWindow()) {
+			return this.optimizer.createMonitor(map);
+		}
+
+		return map;
+	}
+
+	@Override
+	public void openWindow() {
+		if (!monitoring && windowSize > 0) {
+			instancesCount.reset();
+			monitoring = true;
+		}
+	}
+
+	private boolean isInsideWindow() {
+		instancesCount.increment();
+		if (instancesCount.sum() <= windowSize) {
+			return true;
+		}
+		monitoring = false;
+		return false;
+	}
+
+	@Override
+	public ConcurrentMapCollectionType getCurrentCollectionType() {
+		return type;
+	}
+
+}
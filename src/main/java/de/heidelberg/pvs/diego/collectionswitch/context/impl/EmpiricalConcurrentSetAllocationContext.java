@@ -0,0 +1,98 @@
+package de.heidelberg.pvs.diego.collectionswitch.context.impl;
+
+import java.util.Collection;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+
+import de.heidelberg.pvs.diego.collectionswitch.context.ConcurrentSetAllocationContextInfo;
+import de.heidelberg.pvs.diego.collectionswitch.context.ConcurrentSetCollectionType;
+import de.heidelberg.pvs.diego.collectionswitch.optimizers.concurrent.ConcurrentSetAllocationOptimizer;
+
+/**
+ * Context of sets shared by many threads. The context itself is thread-safe
+ * in the same way as {@link ConcurrentEmpiricalSetAllocationContext}, and the
+ * first instances of each window are monitored for contention.
+ */
+public class EmpiricalConcurrentSetAllocationContext implements ConcurrentSetAllocationContextInfo {
+
+	private volatile ConcurrentSetCollectionType type;
+	private volatile boolean monitoring;
+
+	private final LongAdder instancesCount;
+	private final int windowSize;
+
+	private final ConcurrentSetAllocationOptimizer optimizer;
+
+	public EmpiricalConcurrentSetAllocationContext(ConcurrentSetCollectionType type,
+			ConcurrentSetAllocationOptimizer optimizer, int windowSize) {
+		super();
+		this.instancesCount = new LongAdder();
+		this.windowSize = windowSize;
+		this.optimizer = optimizer;
+		this.monitoring = windowSize > 0;
+		this.type = type;
+	}
+
+	@Override
+	public void updateCollectionType(ConcurrentSetCollectionType type) {
+		instancesCount.reset();
+		this.type = type;
+		this.monitoring = windowSize > 0; // reset
+	}
+
+	@Override
+	public <E> Set<E> createSet() {
+		Set<E> set = type.createSet();
+
+		if (monitoring && isInsideWindow()) {
+			return this.optimizer.createMonitor(set);
+		}
+
+		return set;
+	}
+
+	@Override
+	public <E> Set<E> createSet(int initialCapacity) {
+		Set<E> set = type.createSet(initialCapacity);
+
+		if (monitoring && isInsideWindow()) {
+			return this.optimizer.createMonitor(set);
+		}
+
+		return set;
+	}
+
+	@Override
+	public <E> Set<E> createSet(Collection<? extends E> setToCopy) {
+		Set<E> set = type.createSet(setToCopy);
+
+		if (monitoring && isInsideWindow()) {
+			return this.optimizer.createMonitor(set);
+		}
+
+		return set;
+	}
+
+	@Override
+	public void openWindow() {
+		if (!monitoring && windowSize > 0) {
+			instancesCount.reset();
+			monitoring = true;
+		}
+	}
+
+	private boolean isInsideWindow() {
+		instancesCount.increment();
+		if (instancesCount.sum() <= windowSize) {
+			return true;
+		}
+		monitoring = false;
+		return false;
+	}
+
+	@Override
+	public ConcurrentSetCollectionType getCurrentCollectionType() {
+		return type;
+	}
+
+}
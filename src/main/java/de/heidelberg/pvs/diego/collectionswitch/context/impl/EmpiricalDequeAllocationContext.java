@@ -0,0 +1,61 @@
+package de.heidelberg.pvs.diego.collectionswitch.context.impl;
+
+import java.util.Collection;
+import java.util.Deque;
+
+import de.heidelberg.pvs.diego.collectionswitch.context.DequeAllocationContextInfo;
+import de.heidelberg.pvs.diego.collectionswitch.context.QueueCollectionType;
+import de.heidelberg.pvs.diego.collectionswitch.optimizers.queues.QueueAllocationOptimizer;
+
+public class EmpiricalDequeAllocationContext implements DequeAllocationContextInfo {
+
+	private QueueCollectionType type;
+
+	private int instancesCount;
+	private int windowSize;
+
+	private QueueAllocationOptimizer optimizer;
+
+	public EmpiricalDequeAllocationContext(QueueCollectionType defaultCollectionType,
+			QueueAllocationOptimizer optimizer, int windowSize) {
+		super();
+		this.type = defaultCollectionType;
+		this.windowSize = windowSize;
+		this.optimizer = optimizer;
+		instancesCount = 0;
+	}
+
+	@Override
+	public <E> Deque<E> createDeque() {
+		return monitor(type.createDeque());
+	}
+
+	@Override
+	public <E> Deque<E> createDeque(int initialCapacity) {
+		return monitor(type.createDeque(initialCapacity));
+	}
+
+	@Override
+	public <E> Deque<E> createDeque(Collection<? extends E> c) {
+		return monitor(type.createDeque(c));
+	}
+
+	private <E> Deque<E> monitor(Deque<E> deque) {
+		if (instancesCount++ < windowSize) {
+			return optimizer.createDequeMonitor(deque);
+		}
+		return deque;
+	}
+
+	@Override
+	public void updateCollectionType(QueueCollectionType type) {
+		this.type = type;
+		this.instancesCount = 0; // reset
+	}
+
+	@Override
+	public QueueCollectionType getCurrentCollectionType() {
+		return type;
+	}
+
+}
@@ -1,81 +1,103 @@
-package de.heidelberg.pvs.diego.collectionswitch.context.impl;
-
-import java.util.Collection;
-import java.util.List;
-
-import de.heidelberg.pvs.diego.collectionswitch.context.ListAllocationContextInfo;
-import de.heidelberg.pvs.diego.collectionswitch.context.ListCollectionType;
-import de.heidelberg.pvs.diego.collectionswitch.optimizers.lists.ListAllocationOptimizer;
-
-public class EmpiricalListAllocationContext implements ListAllocationContextInfo {
-
-	private ListCollectionType type;
-
-	private int instancesCount;
-	private int windowSize;
-
-	private ListAllocationOptimizer optimizer;
-	
-	
-	public EmpiricalListAllocationContext(ListCollectionType defaultCollectionType, 
-			ListAllocationOptimizer optimizer, int windowSize) {
-		super();
-		this.type = defaultCollectionType;
-		this.windowSize = windowSize;
-		this.optimizer = optimizer;
-		instancesCount = 0;
-	}
-
-	@Override
-	public <E> List<E> createList() {
-		List<E> list = type.createList();
-		
-		if(instancesCount++ < windowSize) {
-			return optimizer.createMonitor(list);
-		}
-		
-		return list;
-		
-	}
-
-	@Override
-	public <E> List<E> createList(int initialCapacity) {
-
-		List<E> list = type.createList(initialCapacity);
-		
-		if(instancesCount++ < windowSize) {
-			return optimizer.createMonitor(list);
-		}
-		
-		return list;
-		
-	}
-
-	@Override
-	public <E> List<E> createList(Collection<? extends E> c) {
-		
-		List<E> list = type.createList(c);
-		
-		if(instancesCount++ < windowSize) {
-			return optimizer.createMonitor(list);
-		}
-		
-		return list;
-	}
-
-
-
-	@Override
-	public void updateCollectionType(ListCollectionType type) {
-		this.type = type;
-		this.instancesCount = 0; // reset
-	}
-
-
-	@Override
-	public ListCollectionType getCurrentCollectionType() {
-		return type;
-	}
-
-
-}
+package de.heidelberg.pvs.diego.collectionswitch.context.impl;
+
+import java.util.Collection;
+import java.util.List;
+
+import de.heidelberg.pvs.diego.collectionswitch.adaptive.TurningPoint;
+import de.heidelberg.pvs.diego.collectionswitch.adaptive.UnboxedList;
+import de.heidelberg.pvs.diego.collectionswitch.context.ListAllocationContextInfo;
+import de.heidelberg.pvs.diego.collectionswitch.context.ListCollectionType;
+import de.heidelberg.pvs.diego.collectionswitch.optimizers.lists.ListAllocationOptimizer;
+
+public class EmpiricalListAllocationContext implements ListAllocationContextInfo {
+
+	private ListCollectionType type;
+
+	private int instancesCount;
+	private int windowSize;
+
+	private ListAllocationOptimizer optimizer;
+	private final TurningPoint turningPoint;
+
+	// Class of the elements the instances must accept, Object for generic contexts
+	private final Class<?> elementType;
+	
+	
+	public EmpiricalListAllocationContext(ListCollectionType defaultCollectionType, 
+			ListAllocationOptimizer optimizer, int windowSize) {
+		this(defaultCollectionType, optimizer, windowSize, Object.class);
+	}
+
+	/**
+	 * Context whose instances must accept elements of the given class. Instances
+	 * of primitive types that do not accept it are guarded, see
+	 * {@link UnboxedList}
+	 */
+	public EmpiricalListAllocationContext(ListCollectionType defaultCollectionType, 
+			ListAllocationOptimizer optimizer, int windowSize, Class<?> elementType) {
+		super();
+		this.type = defaultCollectionType;
+		this.windowSize = windowSize;
+		this.optimizer = optimizer;
+		this.turningPoint = optimizer.getTurningPoint();
+		instancesCount = 0;
+		this.elementType = elementType;
+	}
+
+	@Override
+	public <E> List<E> createList() {
+		ListCollectionType type = this.type;
+		List<E> list = UnboxedList.guard(type.createList(turningPoint), type, elementType);
+		
+		if(instancesCount++ < windowSize) {
+			return optimizer.createMonitor(list);
+		}
+		
+		return list;
+		
+	}
+
+	@Override
+	public <E> List<E> createList(int initialCapacity) {
+
+		ListCollectionType type = this.type;
+		List<E> list = UnboxedList.guard(type.createList(initialCapacity, turningPoint), type, elementType);
+		
+		if(instancesCount++ < windowSize) {
+			return optimizer.createMonitor(list);
+		}
+		
+		return list;
+		
+	}
+
+	@Override
+	public <E> List<E> createList(Collection<? extends E> c) {
+		
+		ListCollectionType type = this.type;
+		List<E> list = type.accepts(elementType) ? type.createList(c, turningPoint)
+				: UnboxedList.copyOf(c, type);
+		
+		if(instancesCount++ < windowSize) {
+			return optimizer.createMonitor(list);
+		}
+		
+		return list;
+	}
+
+
+
+	@Override
+	public void updateCollectionType(ListCollectionType type) {
+		this.type = type;
+		this.instancesCount = 0; // reset
+	}
+
+
+	@Override
+	public ListCollectionType getCurrentCollectionType() {
+		return type;
+	}
+
+
+}
@@ -1,84 +1,107 @@
-package de.heidelberg.pvs.diego.collectionswitch.context.impl;
-
-import java.util.Map;
-
-import de.heidelberg.pvs.diego.collectionswitch.context.MapAllocationContextInfo;
-import de.heidelberg.pvs.diego.collectionswitch.context.MapCollectionType;
-import de.heidelberg.pvs.diego.collectionswitch.optimizers.maps.MapAllocationOptimizer;
-
-public class EmpiricalMapAllocationContext implements MapAllocationContextInfo {
-
-	private int windowSize;
-	private int instancesCount;
-
-	private MapAllocationOptimizer optimizer;
-
-	private MapCollectionType type;
-
-	public EmpiricalMapAllocationContext(MapCollectionType type, MapAllocationOptimizer optimizer, int windowSize) {
-		super();
-		this.type = type;
-		this.optimizer = optimizer;
-		this.windowSize = windowSize;
-		this.instancesCount = 0;
-	}
-
-	@Override
-	public void updateCollectionType(MapCollectionType type) {
-		this.type = type;
-		instancesCount = 0; // reset
-
-	}
-
-	@Override
-	public <K, V> Map<K, V> createMap() {
-		
-		Map<K, V> map = type.createMap();
-
-		if (instancesCount++ < windowSize) {
-			return this.optimizer.createMonitor(map);
-		}
-
-		return map;
-	}
-
-	@Override
-	public <K, V> Map<K, V> createMap(int initialCapacity) {
-
-		Map<K, V> map = type.createMap(initialCapacity);
-
-		if (instancesCount++ < windowSize) {
-			return this.optimizer.createMonitor(map);
-		}
-
-		return map;
-	}
-
-	@Override
-	public <K, V> Map<K, V> createMap(int initialCapacity, float loadFactor) {
-		Map<K, V> map = type.createMap(initialCapacity);
-
-		if (instancesCount++ < windowSize) {
-			return this.optimizer.createMonitor(map);
-		}
-
-		return map;
-	}
-
-	@Override
-	public <K, V> Map<K, V> createMap(Map<K, V> mapToCopy) {
-		Map<K, V> map = type.createMap(mapToCopy);
-
-		if (instancesCount++ < windowSize) {
-			return this.optimizer.createMonitor(map);
-		}
-
-		return map;
-	}
-
-	@Override
-	public MapCollectionType getCurrentCollectionType() {
-		return type;
-	}
-
-}
+package de.heidelberg.pvs.diego.collectionswitch.context.impl;
+
+import java.util.Map;
+
+import de.heidelberg.pvs.diego.collectionswitch.adaptive.TurningPoint;
+import de.heidelberg.pvs.diego.collectionswitch.adaptive.UnboxedMap;
+import de.heidelberg.pvs.diego.collectionswitch.context.MapAllocationContextInfo;
+import de.heidelberg.pvs.diego.collectionswitch.context.MapCollectionType;
+import de.heidelberg.pvs.diego.collectionswitch.optimizers.maps.MapAllocationOptimizer;
+
+public class EmpiricalMapAllocationContext implements MapAllocationContextInfo {
+
+	private int windowSize;
+	private int instancesCount;
+
+	private MapAllocationOptimizer optimizer;
+	private final TurningPoint turningPoint;
+
+	// Class of the keys the instances must accept, Object for generic contexts
+	private final Class<?> elementType;
+
+	private MapCollectionType type;
+
+	public EmpiricalMapAllocationContext(MapCollectionType type, MapAllocationOptimizer optimizer, int windowSize) {
+		this(type, optimizer, windowSize, Object.class);
+	}
+
+	/**
+	 * Context whose instances must accept keys of the given class. Instances
+	 * of primitive types that do not accept it are guarded, see
+	 * {@link UnboxedMap}
+	 */
+	public EmpiricalMapAllocationContext(MapCollectionType type, MapAllocationOptimizer optimizer, int windowSize,
+			Class<?> elementType) {
+		super();
+		this.type = type;
+		this.optimizer = optimizer;
+		this.turningPoint = optimizer.getTurningPoint();
+		this.windowSize = windowSize;
+		this.instancesCount = 0;
+		this.elementType = elementType;
+	}
+
+	@Override
+	public void updateCollectionType(MapCollectionType type) {
+		this.type = type;
+		instancesCount = 0; // reset
+
+	}
+
+	@Override
+	public <K, V> Map<K, V> createMap() {
+		
+		MapCollectionType type = this.type;
+		Map<K, V> map = UnboxedMap.guard(type.createMap(turningPoint), type, elementType);
+
+		if (instancesCount++ < windowSize) {
+			return this.optimizer.createMonitor(map);
+		}
+
+		return map;
+	}
+
+	@Override
+	public <K, V> Map<K, V> createMap(int initialCapacity) {
+
+		MapCollectionType type = this.type;
+		Map<K, V> map = UnboxedMap.guard(type.createMap(initialCapacity, turningPoint), type, elementType);
+
+		if (instancesCount++ < windowSize) {
+			return this.optimizer.createMonitor(map);
+		}
+
+		return map;
+	}
+
+	@Override
+	public <K, V> Map<K, V> createMap(int initialCapacity, float loadFactor) {
+		MapCollectionType type = this.type;
+		Map<K, V> map = UnboxedMap.guard(type.createMap(initialCapacity, turningPoint), type, elementType);
+
+		if (instancesCount++ < windowSize) {
+			return this.optimizer.createMonitor(map);
+		}
+
+		return map;
+	}
+
+	@Override
+	public <K, V> Map<K, V> createMap(Map<K, V> mapToCopy) {
+		MapCollectionType type = this.type;
+		Map<K, V> map = type.accepts(elementType) ? type.createMap(mapToCopy, turningPoint)
+				: UnboxedMap.copyOf(mapToCopy, type);
+
+		if (instancesCount++ < windowSize) {
+			return this.optimizer.createMonitor(map);
+		}
+
+		return map;
+	}
+
+	@Override
+	public MapCollectionType getCurrentCollectionType() {
+		return type;
+	}
+
+}
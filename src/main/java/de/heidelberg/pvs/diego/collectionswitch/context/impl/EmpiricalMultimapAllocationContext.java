@@ -0,0 +1,57 @@
+package de.heidelberg.pvs.diego.collectionswitch.context.impl;
+
+import org.apache.commons.collections4.MultiValuedMap;
+
+import de.heidelberg.pvs.diego.collectionswitch.context.MultimapAllocationContextInfo;
+import de.heidelberg.pvs.diego.collectionswitch.context.MultimapCollectionType;
+import de.heidelberg.pvs.diego.collectionswitch.optimizers.counting.MultimapAllocationOptimizer;
+
+public class EmpiricalMultimapAllocationContext implements MultimapAllocationContextInfo {
+
+	protected MultimapCollectionType type;
+
+	private int instancesCount;
+	private int windowSize;
+
+	protected MultimapAllocationOptimizer optimizer;
+
+	public EmpiricalMultimapAllocationContext(MultimapCollectionType defaultCollectionType,
+			MultimapAllocationOptimizer optimizer, int windowSize) {
+		super();
+		this.type = defaultCollectionType;
+		this.windowSize = windowSize;
+		this.optimizer = optimizer;
+		instancesCount = 0;
+	}
+
+	@Override
+	public <K, V> MultiValuedMap<K, V> createMultimap() {
+		MultiValuedMap<K, V> map = type.createMultimap();
+		return isMonitored() ? optimizer.createMonitor(map) : map;
+	}
+
+	@Override
+	public <K, V> MultiValuedMap<K, V> createMultimap(int initialKeyCapacity) {
+		MultiValuedMap<K, V> map = type.createMultimap(initialKeyCapacity);
+		return isMonitored() ? optimizer.createMonitor(map) : map;
+	}
+
+	/**
+	 * Whether the next instance belongs to the monitored window
+	 */
+	private boolean isMonitored() {
+		return instancesCount++ < windowSize;
+	}
+
+	@Override
+	public void updateCollectionType(MultimapCollectionType type) {
+		this.type = type;
+		this.instancesCount = 0; // reset
+	}
+
+	@Override
+	public MultimapCollectionType getCurrentCollectionType() {
+		return type;
+	}
+
+}
@@ -0,0 +1,37 @@
+package de.heidelberg.pvs.diego.collectionswitch.context.impl;
+
+import java.util.Comparator;
+import java.util.Map;
+import java.util.NavigableMap;
+
+import de.heidelberg.pvs.diego.collectionswitch.context.NavigableMapAllocationContextInfo;
+import de.heidelberg.pvs.diego.collectionswitch.context.SortedMapCollectionType;
+import de.heidelberg.pvs.diego.collectionswitch.optimizers.sorted.SortedMapAllocationOptimizer;
+
+public class EmpiricalNavigableMapAllocationContext extends EmpiricalSortedMapAllocationContext
+		implements NavigableMapAllocationContextInfo {
+
+	public EmpiricalNavigableMapAllocationContext(SortedMapCollectionType defaultCollectionType,
+			SortedMapAllocationOptimizer optimizer, int windowSize) {
+		super(defaultCollectionType, optimizer, windowSize);
+	}
+
+	@Override
+	public <K, V> NavigableMap<K, V> createNavigableMap() {
+		NavigableMap<K, V> map = type.createNavigableMap();
+		return isMonitored() ? optimizer.createNavigableMonitor(map) : map;
+	}
+
+	@Override
+	public <K, V> NavigableMap<K, V> createNavigableMap(Comparator<? super K> comparator) {
+		NavigableMap<K, V> map = type.createNavigableMap(comparator);
+		return isMonitored() ? optimizer.createNavigableMonitor(map) : map;
+	}
+
+	@Override
+	public <K, V> NavigableMap<K, V> createNavigableMap(Map<? extends K, ? extends V> mapToCopy) {
+		NavigableMap<K, V> map = type.createNavigableMap(mapToCopy);
+		return isMonitored() ? optimizer.createNavigableMonitor(map) : map;
+	}
+
+}
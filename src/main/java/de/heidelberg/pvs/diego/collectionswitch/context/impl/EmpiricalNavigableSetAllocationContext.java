@@ -0,0 +1,37 @@
+package de.heidelberg.pvs.diego.collectionswitch.context.impl;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.NavigableSet;
+
+import de.heidelberg.pvs.diego.collectionswitch.context.NavigableSetAllocationContextInfo;
+import de.heidelberg.pvs.diego.collectionswitch.context.SortedSetCollectionType;
+import de.heidelberg.pvs.diego.collectionswitch.optimizers.sorted.SortedSetAllocationOptimizer;
+
+public class EmpiricalNavigableSetAllocationContext extends EmpiricalSortedSetAllocationContext
+		implements NavigableSetAllocationContextInfo {
+
+	public EmpiricalNavigableSetAllocationContext(SortedSetCollectionType defaultCollectionType,
+			SortedSetAllocationOptimizer optimizer, int windowSize) {
+		super(defaultCollectionType, optimizer, windowSize);
+	}
+
+	@Override
+	public <E> NavigableSet<E> createNavigableSet() {
+		NavigableSet<E> set = type.createNavigableSet();
+		return isMonitored() ? optimizer.createNavigableMonitor(set) : set;
+	}
+
+	@Override
+	public <E> NavigableSet<E> createNavigableSet(Comparator<? super E> comparator) {
+		NavigableSet<E> set = type.createNavigableSet(comparator);
+		return isMonitored() ? optimizer.createNavigableMonitor(set) : set;
+	}
+
+	@Override
+	public <E> NavigableSet<E> createNavigableSet(Collection<? extends E> c) {
+		NavigableSet<E> set = type.createNavigableSet(c);
+		return isMonitored() ? optimizer.createNavigableMonitor(set) : set;
+	}
+
+}
@@ -0,0 +1,67 @@
+package de.heidelberg.pvs.diego.collectionswitch.context.impl;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Queue;
+
+import de.heidelberg.pvs.diego.collectionswitch.context.QueueAllocationContextInfo;
+import de.heidelberg.pvs.diego.collectionswitch.context.QueueCollectionType;
+import de.heidelberg.pvs.diego.collectionswitch.optimizers.queues.QueueAllocationOptimizer;
+
+public class EmpiricalQueueAllocationContext implements QueueAllocationContextInfo {
+
+	private QueueCollectionType type;
+
+	private int instancesCount;
+	private int windowSize;
+
+	private QueueAllocationOptimizer optimizer;
+
+	public EmpiricalQueueAllocationContext(QueueCollectionType defaultCollectionType,
+			QueueAllocationOptimizer optimizer, int windowSize) {
+		super();
+		this.type = defaultCollectionType;
+		this.windowSize = windowSize;
+		this.optimizer = optimizer;
+		instancesCount = 0;
+	}
+
+	@Override
+	public <E> Queue<E> createQueue() {
+		return monitor(type.createQueue());
+	}
+
+	@Override
+	public <E> Queue<E> createQueue(int initialCapacity) {
+		return monitor(type.createQueue(initialCapacity));
+	}
+
+	@Override
+	public <E> Queue<E> createQueue(Collection<? extends E> c) {
+		return monitor(type.createQueue(c));
+	}
+
+	@Override
+	public <E> Queue<E> createQueue(int initialCapacity, Comparator<? super E> comparator) {
+		return monitor(type.createQueue(initialCapacity, comparator));
+	}
+
+	private <E> Queue<E> monitor(Queue<E> queue) {
+		if (instancesCount++ < windowSize) {
+			return optimizer.createMonitor(queue);
+		}
+		return queue;
+	}
+
+	@Override
+	public void updateCollectionType(QueueCollectionType type) {
+		this.type = type;
+		this.instancesCount = 0; // reset
+	}
+
+	@Override
+	public QueueCollectionType getCurrentCollectionType() {
+		return type;
+	}
+
+}
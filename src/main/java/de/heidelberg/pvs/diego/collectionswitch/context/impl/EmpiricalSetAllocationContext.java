@@ -1,75 +1,97 @@
-package de.heidelberg.pvs.diego.collectionswitch.context.impl;
-
-import java.util.Collection;
-import java.util.Set;
-
-import de.heidelberg.pvs.diego.collectionswitch.context.SetAllocationContextInfo;
-import de.heidelberg.pvs.diego.collectionswitch.context.SetCollectionType;
-import de.heidelberg.pvs.diego.collectionswitch.optimizers.sets.SetAllocationOptimizer;
-
-public class EmpiricalSetAllocationContext  implements SetAllocationContextInfo {
-
-	private int windowSize;
-	private int instancesCount;
-
-	private SetAllocationOptimizer optimizer;
-	
-	private SetCollectionType type;
-	
-	public EmpiricalSetAllocationContext(SetCollectionType type, SetAllocationOptimizer optimizer, int windowSize) {
-		super();
-		this.type = type;
-		this.optimizer = optimizer;
-		this.windowSize = windowSize;
-		this.instancesCount = 0;
-	}
-
-
-	@Override
-	public <E> Set<E> createSet() {
-		Set<E> set = type.createSet();
-		
-		if(instancesCount++ < windowSize) {
-			return this.optimizer.createMonitor(set);
-		}
-		
-		return set;
-		
-	}
-
-	@Override
-	public <E> Set<E> createSet(int initialCapacity) {
-		
-		Set<E> set = type.createSet(initialCapacity);
-				
-		if(instancesCount++ < windowSize) {
-			return this.optimizer.createMonitor(set);
-		}
-		
-		return set;
-	}
-
-	@Override
-	public <E> Set<E> createSet(Collection<? extends E> setToCopy) {
-		
-		Set<E> set = type.createSet(setToCopy);
-		if(instancesCount++ < windowSize) {
-			return this.optimizer.createMonitor(set);
-		}
-		
-		return set;
-	}
-
-
-	@Override
-	public String getCurrentCollectionType() {
-		return type.toString();
-	}
-
-	@Override
-	public void updateCollectionType(SetCollectionType type) {
-		this.type = type;
-		this.instancesCount = 0; // reset
-	}
-
-}
+package de.heidelberg.pvs.diego.collectionswitch.context.impl;
+
+import java.util.Collection;
+import java.util.Set;
+
+import de.heidelberg.pvs.diego.collectionswitch.adaptive.TurningPoint;
+import de.heidelberg.pvs.diego.collectionswitch.adaptive.UnboxedSet;
+import de.heidelberg.pvs.diego.collectionswitch.context.SetAllocationContextInfo;
+import de.heidelberg.pvs.diego.collectionswitch.context.SetCollectionType;
+import de.heidelberg.pvs.diego.collectionswitch.optimizers.sets.SetAllocationOptimizer;
+
+public class EmpiricalSetAllocationContext  implements SetAllocationContextInfo {
+
+	private int windowSize;
+	private int instancesCount;
+
+	private SetAllocationOptimizer optimizer;
+	private final TurningPoint turningPoint;
+
+	// Class of the elements the instances must accept, Object for generic contexts
+	private final Class<?> elementType;
+	
+	private SetCollectionType type;
+	
+	public EmpiricalSetAllocationContext(SetCollectionType type, SetAllocationOptimizer optimizer, int windowSize) {
+		this(type, optimizer, windowSize, Object.class);
+	}
+
+	/**
+	 * Context whose instances must accept elements of the given class. Instances
+	 * of primitive types that do not accept it are guarded, see
+	 * {@link UnboxedSet}
+	 */
+	public EmpiricalSetAllocationContext(SetCollectionType type, SetAllocationOptimizer optimizer, int windowSize,
+			Class<?> elementType) {
+		super();
+		this.type = type;
+		this.optimizer = optimizer;
+		this.turningPoint = optimizer.getTurningPoint();
+		this.windowSize = windowSize;
+		this.instancesCount = 0;
+		this.elementType = elementType;
+	}
+
+
+	@Override
+	public <E> Set<E> createSet() {
+		SetCollectionType type = this.type;
+		Set<E> set = UnboxedSet.guard(type.createSet(turningPoint), type, elementType);
+		
+		if(instancesCount++ < windowSize) {
+			return this.optimizer.createMonitor(set);
+		}
+		
+		return set;
+		
+	}
+
+	@Override
+	public <E> Set<E> createSet(int initialCapacity) {
+		
+		SetCollectionType type = this.type;
+		Set<E> set = UnboxedSet.guard(type.createSet(initialCapacity, turningPoint), type, elementType);
+				
+		if(instancesCount++ < windowSize) {
+			return this.optimizer.createMonitor(set);
+		}
+		
+		return set;
+	}
+
+	@Override
+	public <E> Set<E> createSet(Collection<? extends E> setToCopy) {
+		
+		SetCollectionType type = this.type;
+		Set<E> set = type.accepts(elementType) ? type.createSet(setToCopy, turningPoint)
+				: UnboxedSet.copyOf(setToCopy, type);
+		if(instancesCount++ < windowSize) {
+			return this.optimizer.createMonitor(set);
+		}
+		
+		return set;
+	}
+
+
+	@Override
+	public String getCurrentCollectionType() {
+		return type.toString();
+	}
+
+	@Override
+	public void updateCollectionType(SetCollectionType type) {
+		this.type = type;
+		this.instancesCount = 0; // reset
+	}
+
+}
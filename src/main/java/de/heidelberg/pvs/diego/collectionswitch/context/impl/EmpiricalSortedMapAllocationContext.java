@@ -0,0 +1,65 @@
+package de.heidelberg.pvs.diego.collectionswitch.context.impl;
+
+import java.util.Comparator;
+import java.util.Map;
+import java.util.SortedMap;
+
+import de.heidelberg.pvs.diego.collectionswitch.context.SortedMapAllocationContextInfo;
+import de.heidelberg.pvs.diego.collectionswitch.context.SortedMapCollectionType;
+import de.heidelberg.pvs.diego.collectionswitch.optimizers.sorted.SortedMapAllocationOptimizer;
+
+public class EmpiricalSortedMapAllocationContext implements SortedMapAllocationContextInfo {
+
+	protected SortedMapCollectionType type;
+
+	private int instancesCount;
+	private int windowSize;
+
+	protected SortedMapAllocationOptimizer optimizer;
+
+	public EmpiricalSortedMapAllocationContext(SortedMapCollectionType defaultCollectionType,
+			SortedMapAllocationOptimizer optimizer, int windowSize) {
+		super();
+		this.type = defaultCollectionType;
+		this.windowSize = windowSize;
+		this.optimizer = optimizer;
+		instancesCount = 0;
+	}
+
+	@Override
+	public <K, V> SortedMap<K, V> createMap() {
+		SortedMap<K, V> map = type.createMap();
+		return isMonitored() ? optimizer.createMonitor(map) : map;
+	}
+
+	@Override
+	public <K, V> SortedMap<K, V> createMap(Comparator<? super K> comparator) {
+		SortedMap<K, V> map = type.createMap(comparator);
+		return isMonitored() ? optimizer.createMonitor(map) : map;
+	}
+
+	@Override
+	public <K, V> SortedMap<K, V> createMap(Map<? extends K, ? extends V> mapToCopy) {
+		SortedMap<K, V> map = type.createMap(mapToCopy);
+		return isMonitored() ? optimizer.createMonitor(map) : map;
+	}
+
+	/**
+	 * Whether the next instance belongs to the monitored window
+	 */
+	protected boolean isMonitored() {
+		return instancesCount++ < windowSize;
+	}
+
+	@Override
+	public void updateCollectionType(SortedMapCollectionType type) {
+		this.type = type;
+		this.instancesCount = 0; // reset
+	}
+
+	@Override
+	public SortedMapCollectionType getCurrentCollectionType() {
+		return type;
+	}
+
+}
@@ -0,0 +1,65 @@
+package de.heidelberg.pvs.diego.collectionswitch.context.impl;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.SortedSet;
+
+import de.heidelberg.pvs.diego.collectionswitch.context.SortedSetAllocationContextInfo;
+import de.heidelberg.pvs.diego.collectionswitch.context.SortedSetCollectionType;
+import de.heidelberg.pvs.diego.collectionswitch.optimizers.sorted.SortedSetAllocationOptimizer;
+
+public class EmpiricalSortedSetAllocationContext implements SortedSetAllocationContextInfo {
+
+	protected SortedSetCollectionType type;
+
+	private int instancesCount;
+	private int windowSize;
+
+	protected SortedSetAllocationOptimizer optimizer;
+
+	public EmpiricalSortedSetAllocationContext(SortedSetCollectionType defaultCollectionType,
+			SortedSetAllocationOptimizer optimizer, int windowSize) {
+		super();
+		this.type = defaultCollectionType;
+		this.windowSize = windowSize;
+		this.optimizer = optimizer;
+		instancesCount = 0;
+	}
+
+	@Override
+	public <E> SortedSet<E> createSet() {
+		SortedSet<E> set = type.createSet();
+		return isMonitored() ? optimizer.createMonitor(set) : set;
+	}
+
+	@Override
+	public <E> SortedSet<E> createSet(Comparator<? super E> comparator) {
+		SortedSet<E> set = type.createSet(comparator);
+		return isMonitored() ? optimizer.createMonitor(set) : set;
+	}
+
+	@Override
+	public <E> SortedSet<E> createSet(Collection<? extends E> c) {
+		SortedSet<E> set = type.createSet(c);
+		return isMonitored() ? optimizer.createMonitor(set) : set;
+	}
+
+	/**
+	 * Whether the next instance belongs to the monitored window
+	 */
+	protected boolean isMonitored() {
+		return instancesCount++ < windowSize;
+	}
+
+	@Override
+	public void updateCollectionType(SortedSetCollectionType type) {
+		this.type = type;
+		this.instancesCount = 0; // reset
+	}
+
+	@Override
+	public SortedSetCollectionType getCurrentCollectionType() {
+		return type;
+	}
+
+}
@@ -0,0 +1,32 @@
+package de.heidelberg.pvs.diego.collectionswitch.context.impl;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Decides whether a new instance should be monitored, sampling one in every
+ * {@code rate} instances.
+ * 
+ * The decision uses the thread-local pseudo-random generator, so it does not
+ * allocate nor share state between threads. The rate is rounded up to the
+ * next power of two, which makes the decision a single mask test.
+ */
+public final class InstanceSampler {
+
+	private final int mask;
+
+	public InstanceSampler(int rate) {
+		if (rate < 1) {
+			throw new IllegalArgumentException("Sampling rate must be positive: " + rate);
+		}
+		this.mask = rate == 1 ? 0 : (Integer.highestOneBit(rate - 1) << 1) - 1;
+	}
+
+	public boolean sample() {
+		return (ThreadLocalRandom.current().nextInt() & mask) == 0;
+	}
+
+	public int getRate() {
+		return mask + 1;
+	}
+
+}
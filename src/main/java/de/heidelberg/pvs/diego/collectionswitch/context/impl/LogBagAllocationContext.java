@@ -0,0 +1,45 @@
+package de.heidelberg.pvs.diego.collectionswitch.context.impl;
+
+import java.util.Collection;
+
+import org.apache.commons.collections4.Bag;
+
+import de.heidelberg.pvs.diego.collectionswitch.context.BagAllocationContext;
+import de.heidelberg.pvs.diego.collectionswitch.context.BagAllocationContextInfo;
+import de.heidelberg.pvs.diego.collectionswitch.context.BagCollectionType;
+
+/**
+ * Logs the changes of a context of bags
+ */
+public class LogBagAllocationContext implements BagAllocationContext {
+
+	private final BagAllocationContextInfo context;
+
+	private final ContextLog log;
+
+	public LogBagAllocationContext(BagAllocationContextInfo context, String identifier, String dir) {
+		super();
+		this.context = context;
+		this.log = new ContextLog(identifier, dir, "bags", context.getCurrentCollectionType());
+	}
+
+	@Override
+	public <E> Bag<E> createBag() {
+		log.created();
+		return context.createBag();
+	}
+
+	@Override
+	public <E> Bag<E> createBag(Collection<? extends E> c) {
+		log.created();
+		return context.createBag(c);
+	}
+
+	@Override
+	public void updateCollectionType(BagCollectionType type) {
+		BagCollectionType before = context.getCurrentCollectionType();
+		context.updateCollectionType(type);
+		log.updated(before, context.getCurrentCollectionType());
+	}
+
+}
@@ -0,0 +1,56 @@
+package de.heidelberg.pvs.diego.collectionswitch.context.impl;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentMap;
+
+import de.heidelberg.pvs.diego.collectionswitch.context.ConcurrentMapAllocationContext;
+import de.heidelberg.pvs.diego.collectionswitch.context.ConcurrentMapAllocationContextInfo;
+import de.heidelberg.pvs.diego.collectionswitch.context.ConcurrentMapCollectionType;
+
+/**
+ * Logs the changes of a context of concurrent maps
+ */
+public class LogConcurrentMapAllocationContext implements ConcurrentMapAllocationContext {
+
+	private final ConcurrentMapAllocationContextInfo context;
+
+	private final ContextLog log;
+
+	public LogConcurrentMapAllocationContext(ConcurrentMapAllocationContextInfo context, String identifier,
+			String dir) {
+		super();
+		this.context = context;
+		this.log = new ContextLog(identifier, dir, "maps", context.getCurrentCollectionType());
+	}
+
+	@Override
+	public <K, V> ConcurrentMap<K, V> createMap() {
+		log.created();
+		return context.createMap();
+	}
+
+	@Override
+	public <K, V> ConcurrentMap<K, V> createMap(int initialCapacity) {
+		log.created();
+		return context.createMap(initialCapacity);
+	}
+
+	@Override
+	public <K, V> ConcurrentMap<K, V> createMap(Map<K, V> map) {
+		log.created();
+		return context.createMap(map);
+	}
+
+	@Override
+	public void openWindow() {
+		context.openWindow();
+	}
+
+	@Override
+	public void updateCollectionType(ConcurrentMapCollectionType type) {
+		ConcurrentMapCollectionType before = context.getCurrentCollectionType();
+		context.updateCollectionType(type);
+		log.updated(before, context.getCurrentCollectionType());
+	}
+
+}
@@ -0,0 +1,56 @@
+package de.heidelberg.pvs.diego.collectionswitch.context.impl;
+
+import java.util.Collection;
+import java.util.Set;
+
+import de.heidelberg.pvs.diego.collectionswitch.context.ConcurrentSetAllocationContext;
+import de.heidelberg.pvs.diego.collectionswitch.context.ConcurrentSetAllocationContextInfo;
+import de.heidelberg.pvs.diego.collectionswitch.context.ConcurrentSetCollectionType;
+
+/**
+ * Logs the changes of a context of concurrent sets
+ */
+public class LogConcurrentSetAllocationContext implements ConcurrentSetAllocationContext {
+
+	private final ConcurrentSetAllocationContextInfo context;
+
+	private final ContextLog log;
+
+	public LogConcurrentSetAllocationContext(ConcurrentSetAllocationContextInfo context, String identifier,
+			String dir) {
+		super();
+		this.context = context;
+		this.log = new ContextLog(identifier, dir, "sets", context.getCurrentCollectionType());
+	}
+
+	@Override
+	public <E> Set<E> createSet() {
+		log.created();
+		return context.createSet();
+	}
+
+	@Override
+	public <E> Set<E> createSet(int initialCapacity) {
+		log.created();
+		return context.createSet(initialCapacity);
+	}
+
+	@Override
+	public <E> Set<E> createSet(Collection<? extends E> set) {
+		log.created();
+		return context.createSet(set);
+	}
+
+	@Override
+	public void openWindow() {
+		context.openWindow();
+	}
+
+	@Override
+	public void updateCollectionType(ConcurrentSetCollectionType type) {
+		ConcurrentSetCollectionType before = context.getCurrentCollectionType();
+		context.updateCollectionType(type);
+		log.updated(before, context.getCurrentCollectionType());
+	}
+
+}
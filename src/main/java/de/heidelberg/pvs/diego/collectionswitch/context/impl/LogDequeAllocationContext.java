@@ -0,0 +1,50 @@
+package de.heidelberg.pvs.diego.collectionswitch.context.impl;
+
+import java.util.Collection;
+import java.util.Deque;
+
+import de.heidelberg.pvs.diego.collectionswitch.context.DequeAllocationContext;
+import de.heidelberg.pvs.diego.collectionswitch.context.DequeAllocationContextInfo;
+import de.heidelberg.pvs.diego.collectionswitch.context.QueueCollectionType;
+
+/**
+ * Logs the changes of a context of deques
+ */
+public class LogDequeAllocationContext implements DequeAllocationContext {
+
+	private final DequeAllocationContextInfo context;
+
+	private final ContextLog log;
+
+	public LogDequeAllocationContext(DequeAllocationContextInfo context, String identifier, String dir) {
+		super();
+		this.context = context;
+		this.log = new ContextLog(identifier, dir, "deques", context.getCurrentCollectionType());
+	}
+
+	@Override
+	public <E> Deque<E> createDeque() {
+		log.created();
+		return context.createDeque();
+	}
+
+	@Override
+	public <E> Deque<E> createDeque(int initialCapacity) {
+		log.created();
+		return context.createDeque(initialCapacity);
+	}
+
+	@Override
+	public <E> Deque<E> createDeque(Collection<? extends E> c) {
+		log.created();
+		return context.createDeque(c);
+	}
+
+	@Override
+	public void updateCollectionType(QueueCollectionType type) {
+		QueueCollectionType before = context.getCurrentCollectionType();
+		context.updateCollectionType(type);
+		log.updated(before, context.getCurrentCollectionType());
+	}
+
+}
@@ -0,0 +1,43 @@
+package de.heidelberg.pvs.diego.collectionswitch.context.impl;
+
+import org.apache.commons.collections4.MultiValuedMap;
+
+import de.heidelberg.pvs.diego.collectionswitch.context.MultimapAllocationContext;
+import de.heidelberg.pvs.diego.collectionswitch.context.MultimapAllocationContextInfo;
+import de.heidelberg.pvs.diego.collectionswitch.context.MultimapCollectionType;
+
+/**
+ * Logs the changes of a context of multimaps
+ */
+public class LogMultimapAllocationContext implements MultimapAllocationContext {
+
+	private final MultimapAllocationContextInfo context;
+
+	private final ContextLog log;
+
+	public LogMultimapAllocationContext(MultimapAllocationContextInfo context, String identifier, String dir) {
+		super();
+		this.context = context;
+		this.log = new ContextLog(identifier, dir, "multimaps", context.getCurrentCollectionType());
+	}
+
+	@Override
+	public <K, V> MultiValuedMap<K, V> createMultimap() {
+		log.created();
+		return context.createMultimap();
+	}
+
+	@Override
+	public <K, V> MultiValuedMap<K, V> createMultimap(int initialKeyCapacity) {
+		log.created();
+		return context.createMultimap(initialKeyCapacity);
+	}
+
+	@Override
+	public void updateCollectionType(MultimapCollectionType type) {
+		MultimapCollectionType before = context.getCurrentCollectionType();
+		context.updateCollectionType(type);
+		log.updated(before, context.getCurrentCollectionType());
+	}
+
+}
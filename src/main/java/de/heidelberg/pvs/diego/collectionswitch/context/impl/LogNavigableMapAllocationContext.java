@@ -0,0 +1,42 @@
+package de.heidelberg.pvs.diego.collectionswitch.context.impl;
+
+import java.util.Comparator;
+import java.util.Map;
+import java.util.NavigableMap;
+
+import de.heidelberg.pvs.diego.collectionswitch.context.NavigableMapAllocationContext;
+import de.heidelberg.pvs.diego.collectionswitch.context.NavigableMapAllocationContextInfo;
+
+/**
+ * Logs the changes of a context of navigable maps
+ */
+public class LogNavigableMapAllocationContext extends LogSortedMapAllocationContext
+		implements NavigableMapAllocationContext {
+
+	private final NavigableMapAllocationContextInfo context;
+
+	public LogNavigableMapAllocationContext(NavigableMapAllocationContextInfo context, String identifier,
+			String dir) {
+		super(context, identifier, dir);
+		this.context = context;
+	}
+
+	@Override
+	public <K, V> NavigableMap<K, V> createNavigableMap() {
+		log.created();
+		return context.createNavigableMap();
+	}
+
+	@Override
+	public <K, V> NavigableMap<K, V> createNavigableMap(Comparator<? super K> comparator) {
+		log.created();
+		return context.createNavigableMap(comparator);
+	}
+
+	@Override
+	public <K, V> NavigableMap<K, V> createNavigableMap(Map<? extends K, ? extends V> mapToCopy) {
+		log.created();
+		return context.createNavigableMap(mapToCopy);
+	}
+
+}
@@ -0,0 +1,42 @@
+package de.heidelberg.pvs.diego.collectionswitch.context.impl;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.NavigableSet;
+
+import de.heidelberg.pvs.diego.collectionswitch.context.NavigableSetAllocationContext;
+import de.heidelberg.pvs.diego.collectionswitch.context.NavigableSetAllocationContextInfo;
+
+/**
+ * Logs the changes of a context of navigable sets
+ */
+public class LogNavigableSetAllocationContext extends LogSortedSetAllocationContext
+		implements NavigableSetAllocationContext {
+
+	private final NavigableSetAllocationContextInfo context;
+
+	public LogNavigableSetAllocationContext(NavigableSetAllocationContextInfo context, String identifier,
+			String dir) {
+		super(context, identifier, dir);
+		this.context = context;
+	}
+
+	@Override
+	public <E> NavigableSet<E> createNavigableSet() {
+		log.created();
+		return context.createNavigableSet();
+	}
+
+	@Override
+	public <E> NavigableSet<E> createNavigableSet(Comparator<? super E> comparator) {
+		log.created();
+		return context.createNavigableSet(comparator);
+	}
+
+	@Override
+	public <E> NavigableSet<E> createNavigableSet(Collection<? extends E> c) {
+		log.created();
+		return context.createNavigableSet(c);
+	}
+
+}
@@ -0,0 +1,57 @@
+package de.heidelberg.pvs.diego.collectionswitch.context.impl;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Queue;
+
+import de.heidelberg.pvs.diego.collectionswitch.context.QueueAllocationContext;
+import de.heidelberg.pvs.diego.collectionswitch.context.QueueAllocationContextInfo;
+import de.heidelberg.pvs.diego.collectionswitch.context.QueueCollectionType;
+
+/**
+ * Logs the changes of a context of queues
+ */
+public class LogQueueAllocationContext implements QueueAllocationContext {
+
+	private final QueueAllocationContextInfo context;
+
+	private final ContextLog log;
+
+	public LogQueueAllocationContext(QueueAllocationContextInfo context, String identifier, String dir) {
+		super();
+		this.context = context;
+		this.log = new ContextLog(identifier, dir, "queues", context.getCurrentCollectionType());
+	}
+
+	@Override
+	public <E> Queue<E> createQueue() {
+		log.created();
+		return context.createQueue();
+	}
+
+	@Override
+	public <E> Queue<E> createQueue(int initialCapacity) {
+		log.created();
+		return context.createQueue(initialCapacity);
+	}
+
+	@Override
+	public <E> Queue<E> createQueue(Collection<? extends E> c) {
+		log.created();
+		return context.createQueue(c);
+	}
+
+	@Override
+	public <E> Queue<E> createQueue(int initialCapacity, Comparator<? super E> comparator) {
+		log.created();
+		return context.createQueue(initialCapacity, comparator);
+	}
+
+	@Override
+	public void updateCollectionType(QueueCollectionType type) {
+		QueueCollectionType before = context.getCurrentCollectionType();
+		context.updateCollectionType(type);
+		log.updated(before, context.getCurrentCollectionType());
+	}
+
+}
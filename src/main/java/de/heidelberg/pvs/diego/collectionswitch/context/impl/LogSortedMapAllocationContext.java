@@ -0,0 +1,51 @@
+package de.heidelberg.pvs.diego.collectionswitch.context.impl;
+
+import java.util.Comparator;
+import java.util.Map;
+import java.util.SortedMap;
+
+import de.heidelberg.pvs.diego.collectionswitch.context.SortedMapAllocationContext;
+import de.heidelberg.pvs.diego.collectionswitch.context.SortedMapAllocationContextInfo;
+import de.heidelberg.pvs.diego.collectionswitch.context.SortedMapCollectionType;
+
+/**
+ * Logs the changes of a context of sorted maps
+ */
+public class LogSortedMapAllocationContext implements SortedMapAllocationContext {
+
+	private final SortedMapAllocationContextInfo context;
+
+	final ContextLog log;
+
+	public LogSortedMapAllocationContext(SortedMapAllocationContextInfo context, String identifier, String dir) {
+		super();
+		this.context = context;
+		this.log = new ContextLog(identifier, dir, "sorted maps", context.getCurrentCollectionType());
+	}
+
+	@Override
+	public <K, V> SortedMap<K, V> createMap() {
+		log.created();
+		return context.createMap();
+	}
+
+	@Override
+	public <K, V> SortedMap<K, V> createMap(Comparator<? super K> comparator) {
+		log.created();
+		return context.createMap(comparator);
+	}
+
+	@Override
+	public <K, V> SortedMap<K, V> createMap(Map<? extends K, ? extends V> mapToCopy) {
+		log.created();
+		return context.createMap(mapToCopy);
+	}
+
+	@Override
+	public void updateCollectionType(SortedMapCollectionType type) {
+		SortedMapCollectionType before = context.getCurrentCollectionType();
+		context.updateCollectionType(type);
+		log.updated(before, context.getCurrentCollectionType());
+	}
+
+}
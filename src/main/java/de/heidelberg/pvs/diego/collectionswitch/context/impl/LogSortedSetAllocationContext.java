@@ -0,0 +1,51 @@
+package de.heidelberg.pvs.diego.collectionswitch.context.impl;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.SortedSet;
+
+import de.heidelberg.pvs.diego.collectionswitch.context.SortedSetAllocationContext;
+import de.heidelberg.pvs.diego.collectionswitch.context.SortedSetAllocationContextInfo;
+import de.heidelberg.pvs.diego.collectionswitch.context.SortedSetCollectionType;
+
+/**
+ * Logs the changes of a context of sorted sets
+ */
+public class LogSortedSetAllocationContext implements SortedSetAllocationContext {
+
+	private final SortedSetAllocationContextInfo context;
+
+	final ContextLog log;
+
+	public LogSortedSetAllocationContext(SortedSetAllocationContextInfo context, String identifier, String dir) {
+		super();
+		this.context = context;
+		this.log = new ContextLog(identifier, dir, "sorted sets", context.getCurrentCollectionType());
+	}
+
+	@Override
+	public <E> SortedSet<E> createSet() {
+		log.created();
+		return context.createSet();
+	}
+
+	@Override
+	public <E> SortedSet<E> createSet(Comparator<? super E> comparator) {
+		log.created();
+		return context.createSet(comparator);
+	}
+
+	@Override
+	public <E> SortedSet<E> createSet(Collection<? extends E> c) {
+		log.created();
+		return context.createSet(c);
+	}
+
+	@Override
+	public void updateCollectionType(SortedSetCollectionType type) {
+		SortedSetCollectionType before = context.getCurrentCollectionType();
+		context.updateCollectionType(type);
+		log.updated(before, context.getCurrentCollectionType());
+	}
+
+}
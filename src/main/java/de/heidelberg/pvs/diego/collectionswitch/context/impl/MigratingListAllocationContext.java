@@ -0,0 +1,74 @@
+package de.heidelberg.pvs.diego.collectionswitch.context.impl;
+
+import java.util.Collection;
+import java.util.List;
+
+import de.heidelberg.pvs.diego.collectionswitch.adaptive.MigratableList;
+import de.heidelberg.pvs.diego.collectionswitch.adaptive.MigrationSignal;
+import de.heidelberg.pvs.diego.collectionswitch.context.ListAllocationContextInfo;
+import de.heidelberg.pvs.diego.collectionswitch.context.ListCollectionType;
+import de.heidelberg.pvs.diego.collectionswitch.monitors.MonitoredInstance;
+
+/**
+ * Wraps the lists of another context, so that the instances already allocated
+ * also move to a new collection type.
+ */
+public class MigratingListAllocationContext implements ListAllocationContextInfo {
+
+	private final ListAllocationContextInfo context;
+
+	private final MigrationSignal<ListCollectionType> signal;
+
+	public MigratingListAllocationContext(ListCollectionType type, ListAllocationContextInfo context) {
+		super();
+		this.context = context;
+		this.signal = new MigrationSignal<ListCollectionType>(type);
+	}
+
+	// The target is read before the list is created: a list created during an
+	// update migrates once more instead of keeping the old type
+	
+	@Override
+	public <E> List<E> createList() {
+		MigrationSignal.Target<ListCollectionType> target = signal.current();
+		return migratable(context.<E>createList(), target);
+	}
+
+	@Override
+	public <E> List<E> createList(int initialCapacity) {
+		MigrationSignal.Target<ListCollectionType> target = signal.current();
+		return migratable(context.<E>createList(initialCapacity), target);
+	}
+
+	@Override
+	public <E> List<E> createList(Collection<? extends E> c) {
+		MigrationSignal.Target<ListCollectionType> target = signal.current();
+		return migratable(context.<E>createList(c), target);
+	}
+
+	// Monitored instances keep their type: their record is bound to the
+	// instance, and a copy would leave it truncated
+	private <E> List<E> migratable(List<E> list, MigrationSignal.Target<ListCollectionType> target) {
+		if (list instanceof MonitoredInstance) {
+			return list;
+		}
+		return new MigratableList<E>(list, signal, target);
+	}
+
+	@Override
+	public void updateCollectionType(ListCollectionType type) {
+		updateCollectionType(type, Integer.MAX_VALUE);
+	}
+
+	@Override
+	public void updateCollectionType(ListCollectionType type, int maxMigrationSize) {
+		context.updateCollectionType(type, maxMigrationSize);
+		signal.publish(type, maxMigrationSize);
+	}
+
+	@Override
+	public ListCollectionType getCurrentCollectionType() {
+		return context.getCurrentCollectionType();
+	}
+
+}
@@ -0,0 +1,79 @@
+package de.heidelberg.pvs.diego.collectionswitch.context.impl;
+
+import java.util.Map;
+
+import de.heidelberg.pvs.diego.collectionswitch.adaptive.MigratableMap;
+import de.heidelberg.pvs.diego.collectionswitch.adaptive.MigrationSignal;
+import de.heidelberg.pvs.diego.collectionswitch.context.MapAllocationContextInfo;
+import de.heidelberg.pvs.diego.collectionswitch.context.MapCollectionType;
+import de.heidelberg.pvs.diego.collectionswitch.monitors.MonitoredInstance;
+
+/**
+ * Wraps the maps of another context, so that the instances already allocated
+ * also move to a new collection type.
+ */
+public class MigratingMapAllocationContext implements MapAllocationContextInfo {
+
+	private final MapAllocationContextInfo context;
+
+	private final MigrationSignal<MapCollectionType> signal;
+
+	public MigratingMapAllocationContext(MapCollectionType type, MapAllocationContextInfo context) {
+		super();
+		this.context = context;
+		this.signal = new MigrationSignal<MapCollectionType>(type);
+	}
+
+	// The target is read before the map is created: a map created during an
+	// update migrates once more instead of keeping the old type
+
+	@Override
+	public <K, V> Map<K, V> createMap() {
+		MigrationSignal.Target<MapCollectionType> target = signal.current();
+		return migratable(context.<K, V>createMap(), target);
+	}
+
+	@Override
+	public <K, V> Map<K, V> createMap(int initialCapacity) {
+		MigrationSignal.Target<MapCollectionType> target = signal.current();
+		return migratable(context.<K, V>createMap(initialCapacity), target);
+	}
+
+	@Override
+	public <K, V> Map<K, V> createMap(int initialCapacity, float loadFactor) {
+		MigrationSignal.Target<MapCollectionType> target = signal.current();
+		return migratable(context.<K, V>createMap(initialCapacity, loadFactor), target);
+	}
+
+	@Override
+	public <K, V> Map<K, V> createMap(Map<K, V> map) {
+		MigrationSignal.Target<MapCollectionType> target = signal.current();
+		return migratable(context.<K, V>createMap(map), target);
+	}
+
+	// Monitored instances keep their type: their record is bound to the
+	// instance, and a copy would leave it truncated
+	private <K, V> Map<K, V> migratable(Map<K, V> map, MigrationSignal.Target<MapCollectionType> target) {
+		if (map instanceof MonitoredInstance) {
+			return map;
+		}
+		return new MigratableMap<K, V>(map, signal, target);
+	}
+
+	@Override
+	public void updateCollectionType(MapCollectionType type) {
+		updateCollectionType(type, Integer.MAX_VALUE);
+	}
+
+	@Override
+	public void updateCollectionType(MapCollectionType type, int maxMigrationSize) {
+		context.updateCollectionType(type, maxMigrationSize);
+		signal.publish(type, maxMigrationSize);
+	}
+
+	@Override
+	public MapCollectionType getCurrentCollectionType() {
+		return context.getCurrentCollectionType();
+	}
+
+}
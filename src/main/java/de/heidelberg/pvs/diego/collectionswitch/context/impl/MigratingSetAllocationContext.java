@@ -0,0 +1,74 @@
+package de.heidelberg.pvs.diego.collectionswitch.context.impl;
+
+import java.util.Collection;
+import java.util.Set;
+
+import de.heidelberg.pvs.diego.collectionswitch.adaptive.MigratableSet;
+import de.heidelberg.pvs.diego.collectionswitch.adaptive.MigrationSignal;
+import de.heidelberg.pvs.diego.collectionswitch.context.SetAllocationContextInfo;
+import de.heidelberg.pvs.diego.collectionswitch.context.SetCollectionType;
+import de.heidelberg.pvs.diego.collectionswitch.monitors.MonitoredInstance;
+
+/**
+ * Wraps the sets of another context, so that the instances already allocated
+ * also move to a new collection type.
+ */
+public class MigratingSetAllocationContext implements SetAllocationContextInfo {
+
+	private final SetAllocationContextInfo context;
+
+	private final MigrationSignal<SetCollectionType> signal;
+
+	public MigratingSetAllocationContext(SetCollectionType type, SetAllocationContextInfo context) {
+		super();
+		this.context = context;
+		this.signal = new MigrationSignal<SetCollectionType>(type);
+	}
+
+	// The target is read before the set is created: a set created during an
+	// update migrates once more instead of keeping the old type
+
+	@Override
+	public <E> Set<E> createSet() {
+		MigrationSignal.Target<SetCollectionType> target = signal.current();
+		return migratable(context.<E>createSet(), target);
+	}
+
+	@Override
+	public <E> Set<E> createSet(int initialCapacity) {
+		MigrationSignal.Target<SetCollectionType> target = signal.current();
+		return migratable(context.<E>createSet(initialCapacity), target);
+	}
+
+	@Override
+	public <E> Set<E> createSet(Collection<? extends E> set) {
+		MigrationSignal.Target<SetCollectionType> target = signal.current();
+		return migratable(context.<E>createSet(set), target);
+	}
+
+	// Monitored instances keep their type: their record is bound to the
+	// instance, and a copy would leave it truncated
+	private <E> Set<E> migratable(Set<E> set, MigrationSignal.Target<SetCollectionType> target) {
+		if (set instanceof MonitoredInstance) {
+			return set;
+		}
+		return new MigratableSet<E>(set, signal, target);
+	}
+
+	@Override
+	public void updateCollectionType(SetCollectionType type) {
+		updateCollectionType(type, Integer.MAX_VALUE);
+	}
+
+	@Override
+	public void updateCollectionType(SetCollectionType type, int maxMigrationSize) {
+		context.updateCollectionType(type, maxMigrationSize);
+		signal.publish(type, maxMigrationSize);
+	}
+
+	@Override
+	public String getCurrentCollectionType() {
+		return context.getCurrentCollectionType();
+	}
+
+}
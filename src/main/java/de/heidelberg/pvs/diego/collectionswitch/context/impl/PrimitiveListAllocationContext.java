@@ -0,0 +1,50 @@
+package de.heidelberg.pvs.diego.collectionswitch.context.impl;
+
+import java.util.Collection;
+import java.util.List;
+
+import de.heidelberg.pvs.diego.collectionswitch.context.IntListAllocationContext;
+import de.heidelberg.pvs.diego.collectionswitch.context.ListAllocationContext;
+import de.heidelberg.pvs.diego.collectionswitch.context.LongListAllocationContext;
+
+/**
+ * Typed view of a list context whose optimizer only selects implementations
+ * that accept the element type, primitive ones included
+ */
+public class PrimitiveListAllocationContext<E> {
+
+	private final ListAllocationContext context;
+
+	public PrimitiveListAllocationContext(ListAllocationContext context) {
+		this.context = context;
+	}
+
+	public List<E> createList() {
+		return context.createList();
+	}
+
+	public List<E> createList(int initialCapacity) {
+		return context.createList(initialCapacity);
+	}
+
+	public List<E> createList(Collection<? extends E> c) {
+		return context.createList(c);
+	}
+
+	public static class OfInt extends PrimitiveListAllocationContext<Integer> implements IntListAllocationContext {
+
+		public OfInt(ListAllocationContext context) {
+			super(context);
+		}
+
+	}
+
+	public static class OfLong extends PrimitiveListAllocationContext<Long> implements LongListAllocationContext {
+
+		public OfLong(ListAllocationContext context) {
+			super(context);
+		}
+
+	}
+
+}
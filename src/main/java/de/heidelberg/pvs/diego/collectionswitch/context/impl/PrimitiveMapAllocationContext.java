@@ -0,0 +1,49 @@
+package de.heidelberg.pvs.diego.collectionswitch.context.impl;
+
+import java.util.Map;
+
+import de.heidelberg.pvs.diego.collectionswitch.context.IntObjMapAllocationContext;
+import de.heidelberg.pvs.diego.collectionswitch.context.LongObjMapAllocationContext;
+import de.heidelberg.pvs.diego.collectionswitch.context.MapAllocationContext;
+
+/**
+ * Typed view of a map context whose optimizer only selects implementations
+ * that accept the key type, primitive ones included
+ */
+public class PrimitiveMapAllocationContext<K> {
+
+	private final MapAllocationContext context;
+
+	public PrimitiveMapAllocationContext(MapAllocationContext context) {
+		this.context = context;
+	}
+
+	public <V> Map<K, V> createMap() {
+		return context.createMap();
+	}
+
+	public <V> Map<K, V> createMap(int initialCapacity) {
+		return context.createMap(initialCapacity);
+	}
+
+	public <V> Map<K, V> createMap(Map<K, V> map) {
+		return context.createMap(map);
+	}
+
+	public static class OfInt extends PrimitiveMapAllocationContext<Integer> implements IntObjMapAllocationContext {
+
+		public OfInt(MapAllocationContext context) {
+			super(context);
+		}
+
+	}
+
+	public static class OfLong extends PrimitiveMapAllocationContext<Long> implements LongObjMapAllocationContext {
+
+		public OfLong(MapAllocationContext context) {
+			super(context);
+		}
+
+	}
+
+}
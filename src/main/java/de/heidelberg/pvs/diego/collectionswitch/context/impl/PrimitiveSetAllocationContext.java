@@ -0,0 +1,50 @@
+package de.heidelberg.pvs.diego.collectionswitch.context.impl;
+
+import java.util.Collection;
+import java.util.Set;
+
+import de.heidelberg.pvs.diego.collectionswitch.context.IntSetAllocationContext;
+import de.heidelberg.pvs.diego.collectionswitch.context.LongSetAllocationContext;
+import de.heidelberg.pvs.diego.collectionswitch.context.SetAllocationContext;
+
+/**
+ * Typed view of a set context whose optimizer only selects implementations
+ * that accept the element type, primitive ones included
+ */
+public class PrimitiveSetAllocationContext<E> {
+
+	private final SetAllocationContext context;
+
+	public PrimitiveSetAllocationContext(SetAllocationContext context) {
+		this.context = context;
+	}
+
+	public Set<E> createSet() {
+		return context.createSet();
+	}
+
+	public Set<E> createSet(int initialCapacity) {
+		return context.createSet(initialCapacity);
+	}
+
+	public Set<E> createSet(Collection<? extends E> set) {
+		return context.createSet(set);
+	}
+
+	public static class OfInt extends PrimitiveSetAllocationContext<Integer> implements IntSetAllocationContext {
+
+		public OfInt(SetAllocationContext context) {
+			super(context);
+		}
+
+	}
+
+	public static class OfLong extends PrimitiveSetAllocationContext<Long> implements LongSetAllocationContext {
+
+		public OfLong(SetAllocationContext context) {
+			super(context);
+		}
+
+	}
+
+}
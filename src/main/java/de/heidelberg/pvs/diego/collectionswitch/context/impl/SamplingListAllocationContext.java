@@ -0,0 +1,110 @@
+package de.heidelberg.pvs.diego.collectionswitch.context.impl;
+
+import java.util.Collection;
+import java.util.List;
+
+import de.heidelberg.pvs.diego.collectionswitch.adaptive.TurningPoint;
+import de.heidelberg.pvs.diego.collectionswitch.adaptive.UnboxedList;
+import de.heidelberg.pvs.diego.collectionswitch.context.ListAllocationContextInfo;
+import de.heidelberg.pvs.diego.collectionswitch.context.ListCollectionType;
+import de.heidelberg.pvs.diego.collectionswitch.optimizers.lists.ListAllocationOptimizer;
+
+/**
+ * List context that monitors a sampled fraction of the instances for the whole
+ * lifetime of the process, instead of only the first window after each switch.
+ */
+public class SamplingListAllocationContext implements ListAllocationContextInfo {
+
+	private volatile ListCollectionType type;
+
+	private final InstanceSampler sampler;
+	private final int lightPeriod;
+
+	private final ListAllocationOptimizer optimizer;
+	private final TurningPoint turningPoint;
+
+	// Class of the elements the instances must accept, Object for generic contexts
+	private final Class<?> elementType;
+
+	public SamplingListAllocationContext(ListCollectionType defaultCollectionType, ListAllocationOptimizer optimizer,
+			int samplingRate) {
+		this(defaultCollectionType, optimizer, samplingRate, 0);
+	}
+
+	/**
+	 * Monitors the sampled instances with light monitors recording one in
+	 * every {@code lightPeriod} operations, or with full monitors if it is 0
+	 */
+	public SamplingListAllocationContext(ListCollectionType defaultCollectionType, ListAllocationOptimizer optimizer,
+			int samplingRate, int lightPeriod) {
+		this(defaultCollectionType, optimizer, samplingRate, lightPeriod, Object.class);
+	}
+
+	/**
+	 * Context whose instances must accept elements of the given class. Instances
+	 * of primitive types that do not accept it are guarded, see
+	 * {@link UnboxedList}
+	 */
+	public SamplingListAllocationContext(ListCollectionType defaultCollectionType, ListAllocationOptimizer optimizer,
+			int samplingRate, int lightPeriod, Class<?> elementType) {
+		super();
+		this.type = defaultCollectionType;
+		this.optimizer = optimizer;
+		this.turningPoint = optimizer.getTurningPoint();
+		this.sampler = new InstanceSampler(samplingRate);
+		this.lightPeriod = lightPeriod;
+		this.elementType = elementType;
+	}
+
+	@Override
+	public <E> List<E> createList() {
+		ListCollectionType type = this.type;
+		List<E> list = UnboxedList.guard(type.createList(turningPoint), type, elementType);
+
+		if (sampler.sample()) {
+			return monitor(list);
+		}
+
+		return list;
+	}
+
+	@Override
+	public <E> List<E> createList(int initialCapacity) {
+		ListCollectionType type = this.type;
+		List<E> list = UnboxedList.guard(type.createList(initialCapacity, turningPoint), type, elementType);
+
+		if (sampler.sample()) {
+			return monitor(list);
+		}
+
+		return list;
+	}
+
+	@Override
+	public <E> List<E> createList(Collection<? extends E> c) {
+		ListCollectionType type = this.type;
+		List<E> list = type.accepts(elementType) ? type.createList(c, turningPoint)
+				: UnboxedList.copyOf(c, type);
+
+		if (sampler.sample()) {
+			return monitor(list);
+		}
+
+		return list;
+	}
+
+	@Override
+	public void updateCollectionType(ListCollectionType type) {
+		this.type = type;
+	}
+
+	@Override
+	public ListCollectionType getCurrentCollectionType() {
+		return type;
+	}
+
+	private <E> List<E> monitor(List<E> list) {
+		return lightPeriod > 0 ? optimizer.createLightMonitor(list, lightPeriod) : optimizer.createMonitor(list);
+	}
+
+}
@@ -0,0 +1,120 @@
+package de.heidelberg.pvs.diego.collectionswitch.context.impl;
+
+import java.util.Map;
+
+import de.heidelberg.pvs.diego.collectionswitch.adaptive.TurningPoint;
+import de.heidelberg.pvs.diego.collectionswitch.adaptive.UnboxedMap;
+import de.heidelberg.pvs.diego.collectionswitch.context.MapAllocationContextInfo;
+import de.heidelberg.pvs.diego.collectionswitch.context.MapCollectionType;
+import de.heidelberg.pvs.diego.collectionswitch.optimizers.maps.MapAllocationOptimizer;
+
+/**
+ * Map context that monitors a sampled fraction of the instances for the whole
+ * lifetime of the process, instead of only the first window after each switch.
+ */
+public class SamplingMapAllocationContext implements MapAllocationContextInfo {
+
+	private volatile MapCollectionType type;
+
+	private final InstanceSampler sampler;
+	private final int lightPeriod;
+
+	private final MapAllocationOptimizer optimizer;
+	private final TurningPoint turningPoint;
+
+	// Class of the keys the instances must accept, Object for generic contexts
+	private final Class<?> elementType;
+
+	public SamplingMapAllocationContext(MapCollectionType type, MapAllocationOptimizer optimizer, int samplingRate) {
+		this(type, optimizer, samplingRate, 0);
+	}
+
+	/**
+	 * Monitors the sampled instances with light monitors recording one in
+	 * every {@code lightPeriod} operations, or with full monitors if it is 0
+	 */
+	public SamplingMapAllocationContext(MapCollectionType type, MapAllocationOptimizer optimizer, int samplingRate,
+			int lightPeriod) {
+		this(type, optimizer, samplingRate, lightPeriod, Object.class);
+	}
+
+	/**
+	 * Context whose instances must accept keys of the given class. Instances
+	 * of primitive types that do not accept it are guarded, see
+	 * {@link UnboxedMap}
+	 */
+	public SamplingMapAllocationContext(MapCollectionType type, MapAllocationOptimizer optimizer, int samplingRate,
+			int lightPeriod, Class<?> elementType) {
+		super();
+		this.type = type;
+		this.optimizer = optimizer;
+		this.turningPoint = optimizer.getTurningPoint();
+		this.sampler = new InstanceSampler(samplingRate);
+		this.lightPeriod = lightPeriod;
+		this.elementType = elementType;
+	}
+
+	@Override
+	public void updateCollectionType(MapCollectionType type) {
+		this.type = type;
+	}
+
+	@Override
+	public <K, V> Map<K, V> createMap() {
+		MapCollectionType type = this.type;
+		Map<K, V> map = UnboxedMap.guard(type.createMap(turningPoint), type, elementType);
+
+		if (sampler.sample()) {
+			return monitor(map);
+		}
+
+		return map;
+	}
+
+	@Override
+	public <K, V> Map<K, V> createMap(int initialCapacity) {
+		MapCollectionType type = this.type;
+		Map<K, V> map = UnboxedMap.guard(type.createMap(initialCapacity, turningPoint), type, elementType);
+
+		if (sampler.sample()) {
+			return monitor(map);
+		}
+
+		return map;
+	}
+
+	@Override
+	public <K, V> Map<K, V> createMap(int initialCapacity, float loadFactor) {
+		MapCollectionType type = this.type;
+		Map<K, V> map = UnboxedMap.guard(type.createMap(initialCapacity, turningPoint), type, elementType);
+
+		if (sampler.sample()) {
+			return monitor(map);
+		}
+
+		return map;
+	}
+
+	@Override
+	public <K, V> Map<K, V> createMap(Map<K, V> mapToCopy) {
+		MapCollectionType type = this.type;
+		Map<K, V> map = type.accepts(elementType) ? type.createMap(mapToCopy, turningPoint)
+				: UnboxedMap.copyOf(mapToCopy, type);
+
+		if (sampler.sample()) {
+			return monitor(map);
+		}
+
+		return map;
+	}
+
+	@Override
+	public MapCollectionType getCurrentCollectionType() {
+		return type;
+	}
+
+	private <K, V> Map<K, V> monitor(Map<K, V> map) {
+		return lightPeriod > 0 ? optimizer.createLightMonitor(map, lightPeriod) : optimizer.createMonitor(map);
+	}
+
+}
@@ -0,0 +1,109 @@
+package de.heidelberg.pvs.diego.collectionswitch.context.impl;
+
+import java.util.Collection;
+import java.util.Set;
+
+import de.heidelberg.pvs.diego.collectionswitch.adaptive.TurningPoint;
+import de.heidelberg.pvs.diego.collectionswitch.adaptive.UnboxedSet;
+import de.heidelberg.pvs.diego.collectionswitch.context.SetAllocationContextInfo;
+import de.heidelberg.pvs.diego.collectionswitch.context.SetCollectionType;
+import de.heidelberg.pvs.diego.collectionswitch.optimizers.sets.SetAllocationOptimizer;
+
+/**
+ * Set context that monitors a sampled fraction of the instances for the whole
+ * lifetime of the process, instead of only the first window after each switch.
+ */
+public class SamplingSetAllocationContext implements SetAllocationContextInfo {
+
+	private volatile SetCollectionType type;
+
+	private final InstanceSampler sampler;
+	private final int lightPeriod;
+
+	private final SetAllocationOptimizer optimizer;
+	private final TurningPoint turningPoint;
+
+	// Class of the elements the instances must accept, Object for generic contexts
+	private final Class<?> elementType;
+
+	public SamplingSetAllocationContext(SetCollectionType type, SetAllocationOptimizer optimizer, int samplingRate) {
+		this(type, optimizer, samplingRate, 0);
+	}
+
+	/**
+	 * Monitors the sampled instances with light monitors recording one in
+	 * every {@code lightPeriod} operations, or with full monitors if it is 0
+	 */
+	public SamplingSetAllocationContext(SetCollectionType type, SetAllocationOptimizer optimizer, int samplingRate,
+			int lightPeriod) {
+		this(type, optimizer, samplingRate, lightPeriod, Object.class);
+	}
+
+	/**
+	 * Context whose instances must accept elements of the given class. Instances
+	 * of primitive types that do not accept it are guarded, see
+	 * {@link UnboxedSet}
+	 */
+	public SamplingSetAllocationContext(SetCollectionType type, SetAllocationOptimizer optimizer, int samplingRate,
+			int lightPeriod, Class<?> elementType) {
+		super();
+		this.type = type;
+		this.optimizer = optimizer;
+		this.turningPoint = optimizer.getTurningPoint();
+		this.sampler = new InstanceSampler(samplingRate);
+		this.lightPeriod = lightPeriod;
+		this.elementType = elementType;
+	}
+
+	@Override
+	public <E> Set<E> createSet() {
+		SetCollectionType type = this.type;
+		Set<E> set = UnboxedSet.guard(type.createSet(turningPoint), type, elementType);
+
+		if (sampler.sample()) {
+			return monitor(set);
+		}
+
+		return set;
+	}
+
+	@Override
+	public <E> Set<E> createSet(int initialCapacity) {
+		SetCollectionType type = this.type;
+		Set<E> set = UnboxedSet.guard(type.createSet(initialCapacity, turningPoint), type, elementType);
+
+		if (sampler.sample()) {
+			return monitor(set);
+		}
+
+		return set;
+	}
+
+	@Override
+	public <E> Set<E> createSet(Collection<? extends E> setToCopy) {
+		SetCollectionType type = this.type;
+		Set<E> set = type.accepts(elementType) ? type.createSet(setToCopy, turningPoint)
+				: UnboxedSet.copyOf(setToCopy, type);
+
+		if (sampler.sample()) {
+			return monitor(set);
+		}
+
+		return set;
+	}
+
+	@Override
+	public String getCurrentCollectionType() {
+		return type.toString();
+	}
+
+	@Override
+	public void updateCollectionType(SetCollectionType type) {
+		this.type = type;
+	}
+
+	private <E> Set<E> monitor(Set<E> set) {
+		return lightPeriod > 0 ? optimizer.createLightMonitor(set, lightPeriod) : optimizer.createMonitor(set);
+	}
+
+}
@@ -0,0 +1,170 @@
+package de.heidelberg.pvs.diego.collectionswitch.custom.bags;
+
+import java.util.AbstractCollection;
+import java.util.AbstractSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Set;
+
+import org.apache.commons.collections4.Bag;
+import org.eclipse.collections.impl.bag.mutable.HashBag;
+
+/**
+ * Commons {@link Bag} over an Eclipse {@link HashBag}, which counts the
+ * occurrences in an open addressing map of primitive ints instead of a
+ * {@link java.util.HashMap} of boxed counters.
+ *
+ * The bulk operations respect the cardinality, as the commons bags do, and the
+ * unique set is a read-only view whose iterators traverse a snapshot of the
+ * elements.
+ */
+public class ObjectIntHashBag<E> extends AbstractCollection<E> implements Bag<E> {
+
+	private final HashBag<E> bag;
+
+	public ObjectIntHashBag() {
+		this.bag = new HashBag<E>();
+	}
+
+	public ObjectIntHashBag(int initialCapacity) {
+		this.bag = new HashBag<E>(initialCapacity);
+	}
+
+	public ObjectIntHashBag(Collection<? extends E> c) {
+		this.bag = HashBag.newBag(c);
+	}
+
+	public int getCount(Object object) {
+		return bag.occurrencesOf(object);
+	}
+
+	/**
+	 * @return whether the object was not in the unique set yet
+	 */
+	public boolean add(E object) {
+		return add(object, 1);
+	}
+
+	public boolean add(E object, int nCopies) {
+		return nCopies > 0 && bag.addOccurrences(object, nCopies) == nCopies;
+	}
+
+	/**
+	 * Removes all the occurrences of the object
+	 */
+	public boolean remove(Object object) {
+		int count = bag.occurrencesOf(object);
+		return count > 0 && bag.removeOccurrences(object, count);
+	}
+
+	public boolean remove(Object object, int nCopies) {
+		return nCopies > 0 && bag.removeOccurrences(object, nCopies);
+	}
+
+	public boolean contains(Object object) {
+		return bag.occurrencesOf(object) > 0;
+	}
+
+	/**
+	 * Whether the bag has at least as many occurrences of each element as the
+	 * given collection
+	 */
+	public boolean containsAll(Collection<?> coll) {
+		HashBag<Object> other = HashBag.newBag(coll);
+		return other.toSet().allSatisfy(o -> bag.occurrencesOf(o) >= other.occurrencesOf(o));
+	}
+
+	/**
+	 * Removes one occurrence for each element of the given collection
+	 */
+	public boolean removeAll(Collection<?> coll) {
+		boolean modified = false;
+		for (Object o : coll) {
+			modified |= bag.removeOccurrences(o, 1);
+		}
+		return modified;
+	}
+
+	/**
+	 * Keeps at most as many occurrences of each element as the given collection
+	 * has
+	 */
+	public boolean retainAll(Collection<?> coll) {
+		HashBag<Object> other = HashBag.newBag(coll);
+		boolean modified = false;
+		for (E e : bag.toSet()) {
+			int excess = bag.occurrencesOf(e) - other.occurrencesOf(e);
+			if (excess > 0) {
+				modified |= bag.removeOccurrences(e, excess);
+			}
+		}
+		return modified;
+	}
+
+	public Iterator<E> iterator() {
+		return bag.iterator();
+	}
+
+	public int size() {
+		return bag.size();
+	}
+
+	public boolean isEmpty() {
+		return bag.isEmpty();
+	}
+
+	public void clear() {
+		bag.clear();
+	}
+
+	public Set<E> uniqueSet() {
+		return new UniqueSet();
+	}
+
+	/**
+	 * Bags with the same occurrences of the same elements are equal
+	 */
+	public boolean equals(Object o) {
+		if (o == this) {
+			return true;
+		}
+		if (!(o instanceof Bag)) {
+			return false;
+		}
+		Bag<?> other = (Bag<?>) o;
+		if (other.size() != size() || other.uniqueSet().size() != bag.sizeDistinct()) {
+			return false;
+		}
+		return bag.toSet().allSatisfy(e -> other.getCount(e) == bag.occurrencesOf(e));
+	}
+
+	/**
+	 * Same hash code as the commons bags
+	 */
+	public int hashCode() {
+		int[] hash = new int[1];
+		bag.forEachWithOccurrences((e, count) -> hash[0] += (e == null ? 0 : e.hashCode()) ^ count);
+		return hash[0];
+	}
+
+	/**
+	 * Read-only, like the unique sets of the commons bags
+	 */
+	private class UniqueSet extends AbstractSet<E> {
+
+		public boolean contains(Object o) {
+			return bag.occurrencesOf(o) > 0;
+		}
+
+		public int size() {
+			return bag.sizeDistinct();
+		}
+
+		public Iterator<E> iterator() {
+			return Collections.unmodifiableSet(bag.toSet()).iterator();
+		}
+
+	}
+
+}
@@ -0,0 +1,762 @@
+package de.heidelberg.pvs.diego.collectionswitch.custom.maps;
+
+import java.util.AbstractCollection;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.SortedSet;
+
+/**
+ * Navigable map over two parallel arrays of keys and values, with the keys in
+ * ascending order. Lookups and navigation are binary searches, ordered
+ * iterations and range queries scan contiguous memory, while inserts and
+ * removals in the middle shift the arrays.
+ *
+ * It suits sorted maps that are mostly read, or written in key order, better
+ * than the nodes of {@link java.util.TreeMap}. Like it, it accepts
+ * {@code null} values and only accepts {@code null} keys if the comparator
+ * does. Its views are backed by the map, and the entries returned by the
+ * navigation methods are snapshots.
+ */
+public class SortedArrayMap<K, V> extends AbstractMap<K, V> implements NavigableMap<K, V> {
+
+	private static final Object[] EMPTY = {};
+
+	private static final int DEFAULT_CAPACITY = 8;
+
+	private final Store<K, V> store;
+
+	// Bounds of a view, the whole map has none
+	private final boolean fromStart;
+	private final K lo;
+	private final boolean loInclusive;
+	private final boolean toEnd;
+	private final K hi;
+	private final boolean hiInclusive;
+
+	private final boolean descending;
+
+	public SortedArrayMap() {
+		this(0, null);
+	}
+
+	public SortedArrayMap(int initialCapacity) {
+		this(initialCapacity, null);
+	}
+
+	public SortedArrayMap(Comparator<? super K> comparator) {
+		this(0, comparator);
+	}
+
+	public SortedArrayMap(int initialCapacity, Comparator<? super K> comparator) {
+		this(new Store<K, V>(initialCapacity, comparator), true, null, true, true, null, true, false);
+	}
+
+	/**
+	 * Copy of the given map, keeping the comparator of a sorted map
+	 */
+	@SuppressWarnings("unchecked")
+	public SortedArrayMap(Map<? extends K, ? extends V> map) {
+		this(map.size(), map instanceof SortedMap ? ((SortedMap<K, ?>) map).comparator() : null);
+		if (map instanceof SortedMap) {
+			// Already in order, so every entry is appended
+			for (Map.Entry<? extends K, ? extends V> entry : map.entrySet()) {
+				store.insert(store.size, entry.getKey(), entry.getValue());
+			}
+		} else {
+			putAll(map);
+		}
+	}
+
+	private SortedArrayMap(Store<K, V> store, boolean fromStart, K lo, boolean loInclusive, boolean toEnd, K hi,
+			boolean hiInclusive, boolean descending) {
+		if (!fromStart && !toEnd && store.compare(lo, hi) > 0) {
+			throw new IllegalArgumentException("fromKey > toKey");
+		}
+		this.store = store;
+		this.fromStart = fromStart;
+		this.lo = lo;
+		this.loInclusive = loInclusive;
+		this.toEnd = toEnd;
+		this.hi = hi;
+		this.hiInclusive = hiInclusive;
+		this.descending = descending;
+	}
+
+	// -------------------------------------------------
+	// 					LOOKUPS AND WRITES
+	// -------------------------------------------------
+
+	public int size() {
+		return Math.max(0, fence() - lowest());
+	}
+
+	public boolean isEmpty() {
+		return size() == 0;
+	}
+
+	public boolean containsKey(Object key) {
+		return inRange(key) && store.search(key) >= 0;
+	}
+
+	@SuppressWarnings("unchecked")
+	public V get(Object key) {
+		if (!inRange(key)) {
+			return null;
+		}
+		int index = store.search(key);
+		return index >= 0 ? (V) store.values[index] : null;
+	}
+
+	@SuppressWarnings("unchecked")
+	public V put(K key, V value) {
+		if (!inRange(key)) {
+			throw new IllegalArgumentException("key out of range");
+		}
+		int index = store.search(key);
+		if (index >= 0) {
+			V old = (V) store.values[index];
+			store.values[index] = value;
+			return old;
+		}
+		store.insert(-index - 1, key, value);
+		return null;
+	}
+
+	@SuppressWarnings("unchecked")
+	public V remove(Object key) {
+		if (!inRange(key)) {
+			return null;
+		}
+		int index = store.search(key);
+		if (index < 0) {
+			return null;
+		}
+		V old = (V) store.values[index];
+		store.removeAt(index);
+		return old;
+	}
+
+	public void clear() {
+		int from = lowest();
+		int to = fence();
+		if (from < to) {
+			store.removeRange(from, to);
+		}
+	}
+
+	public Comparator<? super K> comparator() {
+		if (descending) {
+			return Collections.reverseOrder(store.comparator);
+		}
+		return store.comparator;
+	}
+
+	// -------------------------------------------------
+	// 						NAVIGATION
+	// -------------------------------------------------
+
+	public Map.Entry<K, V> firstEntry() {
+		return exportEntry(descending ? absHighest() : absLowest());
+	}
+
+	public Map.Entry<K, V> lastEntry() {
+		return exportEntry(descending ? absLowest() : absHighest());
+	}
+
+	public Map.Entry<K, V> pollFirstEntry() {
+		return pollEntry(descending ? absHighest() : absLowest());
+	}
+
+	public Map.Entry<K, V> pollLastEntry() {
+		return pollEntry(descending ? absLowest() : absHighest());
+	}
+
+	public K firstKey() {
+		return keyOrThrow(descending ? absHighest() : absLowest());
+	}
+
+	public K lastKey() {
+		return keyOrThrow(descending ? absLowest() : absHighest());
+	}
+
+	public Map.Entry<K, V> lowerEntry(K key) {
+		return exportEntry(descending ? absHigher(key, false) : absLower(key, false));
+	}
+
+	public K lowerKey(K key) {
+		return keyOrNull(descending ? absHigher(key, false) : absLower(key, false));
+	}
+
+	public Map.Entry<K, V> floorEntry(K key) {
+		return exportEntry(descending ? absHigher(key, true) : absLower(key, true));
+	}
+
+	public K floorKey(K key) {
+		return keyOrNull(descending ? absHigher(key, true) : absLower(key, true));
+	}
+
+	public Map.Entry<K, V> ceilingEntry(K key) {
+		return exportEntry(descending ? absLower(key, true) : absHigher(key, true));
+	}
+
+	public K ceilingKey(K key) {
+		return keyOrNull(descending ? absLower(key, true) : absHigher(key, true));
+	}
+
+	public Map.Entry<K, V> higherEntry(K key) {
+		return exportEntry(descending ? absLower(key, false) : absHigher(key, false));
+	}
+
+	public K higherKey(K key) {
+		return keyOrNull(descending ? absLower(key, false) : absHigher(key, false));
+	}
+
+	// -------------------------------------------------
+	// 						VIEWS
+	// -------------------------------------------------
+
+	public NavigableMap<K, V> subMap(K fromKey, boolean fromInclusive, K toKey, boolean toInclusive) {
+		if (descending) {
+			checkBound(toKey, toInclusive);
+			checkBound(fromKey, fromInclusive);
+			return view(false, toKey, toInclusive, false, fromKey, fromInclusive, true);
+		}
+		checkBound(fromKey, fromInclusive);
+		checkBound(toKey, toInclusive);
+		return view(false, fromKey, fromInclusive, false, toKey, toInclusive, false);
+	}
+
+	public NavigableMap<K, V> headMap(K toKey, boolean inclusive) {
+		checkBound(toKey, inclusive);
+		if (descending) {
+			return view(false, toKey, inclusive, toEnd, hi, hiInclusive, true);
+		}
+		return view(fromStart, lo, loInclusive, false, toKey, inclusive, false);
+	}
+
+	public NavigableMap<K, V> tailMap(K fromKey, boolean inclusive) {
+		checkBound(fromKey, inclusive);
+		if (descending) {
+			return view(fromStart, lo, loInclusive, false, fromKey, inclusive, true);
+		}
+		return view(false, fromKey, inclusive, toEnd, hi, hiInclusive, false);
+	}
+
+	public SortedMap<K, V> subMap(K fromKey, K toKey) {
+		return subMap(fromKey, true, toKey, false);
+	}
+
+	public SortedMap<K, V> headMap(K toKey) {
+		return headMap(toKey, false);
+	}
+
+	public SortedMap<K, V> tailMap(K fromKey) {
+		return tailMap(fromKey, true);
+	}
+
+	public NavigableMap<K, V> descendingMap() {
+		return view(fromStart, lo, loInclusive, toEnd, hi, hiInclusive, !descending);
+	}
+
+	public NavigableSet<K> navigableKeySet() {
+		return new KeySet<K>(this);
+	}
+
+	public Set<K> keySet() {
+		return navigableKeySet();
+	}
+
+	public NavigableSet<K> descendingKeySet() {
+		return descendingMap().navigableKeySet();
+	}
+
+	public Collection<V> values() {
+		return new Values();
+	}
+
+	public Set<Map.Entry<K, V>> entrySet() {
+		return new EntrySet();
+	}
+
+	private SortedArrayMap<K, V> view(boolean fromStart, K lo, boolean loInclusive, boolean toEnd, K hi,
+			boolean hiInclusive, boolean descending) {
+		return new SortedArrayMap<K, V>(store, fromStart, lo, loInclusive, toEnd, hi, hiInclusive, descending);
+	}
+
+	// -------------------------------------------------
+	// 				RANGE OF THE VIEW
+	// -------------------------------------------------
+
+	private boolean tooLow(Object key) {
+		if (fromStart) {
+			return false;
+		}
+		int c = store.compare(key, lo);
+		return c < 0 || (c == 0 && !loInclusive);
+	}
+
+	private boolean tooHigh(Object key) {
+		if (toEnd) {
+			return false;
+		}
+		int c = store.compare(key, hi);
+		return c > 0 || (c == 0 && !hiInclusive);
+	}
+
+	private boolean inRange(Object key) {
+		return !tooLow(key) && !tooHigh(key);
+	}
+
+	/**
+	 * Bounds of new views may be exclusive bounds of this view
+	 */
+	private void checkBound(K key, boolean inclusive) {
+		boolean inside = inclusive ? inRange(key)
+				: (fromStart || store.compare(key, lo) >= 0) && (toEnd || store.compare(key, hi) <= 0);
+		if (!inside) {
+			throw new IllegalArgumentException("key out of range");
+		}
+	}
+
+	/**
+	 * Index of the first key of the view, in ascending order
+	 */
+	private int lowest() {
+		return fromStart ? 0 : store.ceilingIndex(lo, loInclusive);
+	}
+
+	/**
+	 * Index after the last key of the view, in ascending order
+	 */
+	private int fence() {
+		return toEnd ? store.size : store.floorIndex(hi, hiInclusive) + 1;
+	}
+
+	// Indexes of the keys in ascending order, or -1 outside the view
+
+	private int absLowest() {
+		int index = lowest();
+		return index < store.size && !tooHigh(store.keys[index]) ? index : -1;
+	}
+
+	private int absHighest() {
+		int index = fence() - 1;
+		return index >= 0 && !tooLow(store.keys[index]) ? index : -1;
+	}
+
+	private int absHigher(K key, boolean inclusive) {
+		if (tooLow(key)) {
+			return absLowest();
+		}
+		int index = store.ceilingIndex(key, inclusive);
+		return index < store.size && !tooHigh(store.keys[index]) ? index : -1;
+	}
+
+	private int absLower(K key, boolean inclusive) {
+		if (tooHigh(key)) {
+			return absHighest();
+		}
+		int index = store.floorIndex(key, inclusive);
+		return index >= 0 && !tooLow(store.keys[index]) ? index : -1;
+	}
+
+	@SuppressWarnings("unchecked")
+	private Map.Entry<K, V> exportEntry(int index) {
+		if (index < 0) {
+			return null;
+		}
+		return new AbstractMap.SimpleImmutableEntry<K, V>((K) store.keys[index], (V) store.values[index]);
+	}
+
+	private Map.Entry<K, V> pollEntry(int index) {
+		Map.Entry<K, V> entry = exportEntry(index);
+		if (entry != null) {
+			store.removeAt(index);
+		}
+		return entry;
+	}
+
+	@SuppressWarnings("unchecked")
+	private K keyOrNull(int index) {
+		return index < 0 ? null : (K) store.keys[index];
+	}
+
+	private K keyOrThrow(int index) {
+		if (index < 0) {
+			throw new NoSuchElementException();
+		}
+		return keyOrNull(index);
+	}
+
+	// -------------------------------------------------
+	// 						STORAGE
+	// -------------------------------------------------
+
+	/**
+	 * Arrays shared by a map and its views
+	 */
+	private static final class Store<K, V> {
+
+		final Comparator<? super K> comparator;
+
+		Object[] keys;
+		Object[] values;
+		int size;
+		int modCount;
+
+		Store(int initialCapacity, Comparator<? super K> comparator) {
+			if (initialCapacity < 0) {
+				throw new IllegalArgumentException("Illegal capacity: " + initialCapacity);
+			}
+			this.comparator = comparator;
+			this.keys = initialCapacity == 0 ? EMPTY : new Object[initialCapacity];
+			this.values = initialCapacity == 0 ? EMPTY : new Object[initialCapacity];
+		}
+
+		@SuppressWarnings("unchecked")
+		int compare(Object a, Object b) {
+			return comparator == null ? ((Comparable<Object>) a).compareTo(b) : comparator.compare((K) a, (K) b);
+		}
+
+		/**
+		 * Index of the key, or -(insertion point + 1) if absent
+		 */
+		int search(Object key) {
+			if (comparator == null) {
+				Objects.requireNonNull(key);
+			}
+			int low = 0;
+			int high = size - 1;
+			while (low <= high) {
+				int middle = (low + high) >>> 1;
+				int c = compare(keys[middle], key);
+				if (c < 0) {
+					low = middle + 1;
+				} else if (c > 0) {
+					high = middle - 1;
+				} else {
+					return middle;
+				}
+			}
+			return -(low + 1);
+		}
+
+		/**
+		 * Index of the least key greater than, or equal if inclusive, to the
+		 * given one, or size if none
+		 */
+		int ceilingIndex(Object key, boolean inclusive) {
+			int index = search(key);
+			if (index >= 0) {
+				return inclusive ? index : index + 1;
+			}
+			return -index - 1;
+		}
+
+		/**
+		 * Index of the greatest key less than, or equal if inclusive, to the
+		 * given one, or -1 if none
+		 */
+		int floorIndex(Object key, boolean inclusive) {
+			int index = search(key);
+			if (index >= 0) {
+				return inclusive ? index : index - 1;
+			}
+			return -index - 2;
+		}
+
+		void insert(int index, K key, V value) {
+			if (size == keys.length) {
+				int capacity = Math.max(DEFAULT_CAPACITY, size + (size >> 1));
+				keys = Arrays.copyOf(keys, capacity);
+				values = Arrays.copyOf(values, capacity);
+			}
+			System.arraycopy(keys, index, keys, index + 1, size - index);
+			System.arraycopy(values, index, values, index + 1, size - index);
+			keys[index] = key;
+			values[index] = value;
+			size++;
+			modCount++;
+		}
+
+		void removeAt(int index) {
+			removeRange(index, index + 1);
+		}
+
+		void removeRange(int from, int to) {
+			System.arraycopy(keys, to, keys, from, size - to);
+			System.arraycopy(values, to, values, from, size - to);
+			int newSize = size - (to - from);
+			Arrays.fill(keys, newSize, size, null);
+			Arrays.fill(values, newSize, size, null);
+			size = newSize;
+			modCount++;
+		}
+
+	}
+
+	/**
+	 * Iterator over the indexes of the view in its order
+	 */
+	private abstract class IndexIterator<T> implements Iterator<T> {
+
+		private int next;
+		private int end;
+		private int last = -1;
+		private int expectedModCount = store.modCount;
+
+		IndexIterator() {
+			if (descending) {
+				next = fence() - 1;
+				end = lowest() - 1;
+			} else {
+				next = lowest();
+				end = fence();
+			}
+		}
+
+		public boolean hasNext() {
+			return descending ? next > end : next < end;
+		}
+
+		int nextIndex() {
+			if (expectedModCount != store.modCount) {
+				throw new ConcurrentModificationException();
+			}
+			if (!hasNext()) {
+				throw new NoSuchElementException();
+			}
+			last = next;
+			next += descending ? -1 : 1;
+			return last;
+		}
+
+		public void remove() {
+			if (last < 0) {
+				throw new IllegalStateException();
+			}
+			if (expectedModCount != store.modCount) {
+				throw new ConcurrentModificationException();
+			}
+			store.removeAt(last);
+			// The following keys move one position down
+			if (!descending) {
+				next--;
+				end--;
+			}
+			last = -1;
+			expectedModCount = store.modCount;
+		}
+
+	}
+
+	/**
+	 * Iterator over the keys of the view, created on the map itself so that
+	 * the key set does not instantiate it on a wildcard receiver
+	 */
+	private Iterator<K> keyIterator() {
+		return new IndexIterator<K>() {
+			@SuppressWarnings("unchecked")
+			public K next() {
+				return (K) store.keys[nextIndex()];
+			}
+		};
+	}
+
+	private final class EntrySet extends AbstractSet<Map.Entry<K, V>> {
+
+		public Iterator<Map.Entry<K, V>> iterator() {
+			return new IndexIterator<Map.Entry<K, V>>() {
+				@SuppressWarnings("unchecked")
+				public Map.Entry<K, V> next() {
+					int index = nextIndex();
+					return new WriteThroughEntry((K) store.keys[index], (V) store.values[index]);
+				}
+			};
+		}
+
+		public boolean contains(Object o) {
+			if (!(o instanceof Map.Entry)) {
+				return false;
+			}
+			Map.Entry<?, ?> entry = (Map.Entry<?, ?>) o;
+			return containsKey(entry.getKey()) && Objects.equals(get(entry.getKey()), entry.getValue());
+		}
+
+		public boolean remove(Object o) {
+			if (!contains(o)) {
+				return false;
+			}
+			SortedArrayMap.this.remove(((Map.Entry<?, ?>) o).getKey());
+			return true;
+		}
+
+		public int size() {
+			return SortedArrayMap.this.size();
+		}
+
+		public void clear() {
+			SortedArrayMap.this.clear();
+		}
+
+	}
+
+	private final class Values extends AbstractCollection<V> {
+
+		public Iterator<V> iterator() {
+			return new IndexIterator<V>() {
+				@SuppressWarnings("unchecked")
+				public V next() {
+					return (V) store.values[nextIndex()];
+				}
+			};
+		}
+
+		public int size() {
+			return SortedArrayMap.this.size();
+		}
+
+		public void clear() {
+			SortedArrayMap.this.clear();
+		}
+
+	}
+
+	@SuppressWarnings("serial")
+	private final class WriteThroughEntry extends AbstractMap.SimpleEntry<K, V> {
+
+		WriteThroughEntry(K key, V value) {
+			super(key, value);
+		}
+
+		public V setValue(V value) {
+			V old = super.setValue(value);
+			put(getKey(), value);
+			return old;
+		}
+
+	}
+
+	/**
+	 * Keys of a map or of one of its views
+	 */
+	private static final class KeySet<E> extends AbstractSet<E> implements NavigableSet<E> {
+
+		private final SortedArrayMap<E, ?> map;
+
+		KeySet(SortedArrayMap<E, ?> map) {
+			this.map = map;
+		}
+
+		public Iterator<E> iterator() {
+			return map.keyIterator();
+		}
+
+		public Iterator<E> descendingIterator() {
+			return descendingSet().iterator();
+		}
+
+		public int size() {
+			return map.size();
+		}
+
+		public boolean isEmpty() {
+			return map.isEmpty();
+		}
+
+		public boolean contains(Object o) {
+			return map.containsKey(o);
+		}
+
+		public boolean remove(Object o) {
+			int size = map.size();
+			map.remove(o);
+			return map.size() != size;
+		}
+
+		public void clear() {
+			map.clear();
+		}
+
+		public Comparator<? super E> comparator() {
+			return map.comparator();
+		}
+
+		public E first() {
+			return map.firstKey();
+		}
+
+		public E last() {
+			return map.lastKey();
+		}
+
+		public E lower(E e) {
+			return map.lowerKey(e);
+		}
+
+		public E floor(E e) {
+			return map.floorKey(e);
+		}
+
+		public E ceiling(E e) {
+			return map.ceilingKey(e);
+		}
+
+		public E higher(E e) {
+			return map.higherKey(e);
+		}
+
+		public E pollFirst() {
+			Map.Entry<E, ?> entry = map.pollFirstEntry();
+			return entry == null ? null : entry.getKey();
+		}
+
+		public E pollLast() {
+			Map.Entry<E, ?> entry = map.pollLastEntry();
+			return entry == null ? null : entry.getKey();
+		}
+
+		public NavigableSet<E> descendingSet() {
+			return map.descendingMap().navigableKeySet();
+		}
+
+		public NavigableSet<E> subSet(E fromElement, boolean fromInclusive, E toElement, boolean toInclusive) {
+			return map.subMap(fromElement, fromInclusive, toElement, toInclusive).navigableKeySet();
+		}
+
+		public NavigableSet<E> headSet(E toElement, boolean inclusive) {
+			return map.headMap(toElement, inclusive).navigableKeySet();
+		}
+
+		public NavigableSet<E> tailSet(E fromElement, boolean inclusive) {
+			return map.tailMap(fromElement, inclusive).navigableKeySet();
+		}
+
+		public SortedSet<E> subSet(E fromElement, E toElement) {
+			return subSet(fromElement, true, toElement, false);
+		}
+
+		public SortedSet<E> headSet(E toElement) {
+			return headSet(toElement, false);
+		}
+
+		public SortedSet<E> tailSet(E fromElement) {
+			return tailSet(fromElement, true);
+		}
+
+	}
+
+}
@@ -0,0 +1,307 @@
+package de.heidelberg.pvs.diego.collectionswitch.custom.maps;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * Concurrent map striped over a fixed number of {@link HashMap} segments, each
+ * guarded by its own lock. Operations on keys of different segments do not
+ * contend, while every segment keeps the layout of a plain HashMap.
+ *
+ * Like {@link java.util.concurrent.ConcurrentHashMap} it rejects {@code null}
+ * keys and values. Its iterators are weakly consistent: they visit a copy of
+ * each segment taken when the iteration reaches it.
+ */
+public class StripedHashMap<K, V> extends AbstractMap<K, V> implements ConcurrentMap<K, V> {
+
+	public static final int DEFAULT_STRIPES = 16;
+
+	private static final int DEFAULT_CAPACITY = 16;
+
+	private final HashMap<K, V>[] segments;
+
+	// Segments are chosen by the high bits of the mixed hash, so that the
+	// HashMap of each segment still spreads its keys on the low bits
+	private final int shift;
+
+	public StripedHashMap() {
+		this(DEFAULT_CAPACITY, DEFAULT_STRIPES);
+	}
+
+	public StripedHashMap(int initialCapacity) {
+		this(initialCapacity, DEFAULT_STRIPES);
+	}
+
+	/**
+	 * Map with the given number of segments, rounded up to a power of two
+	 */
+	@SuppressWarnings("unchecked")
+	public StripedHashMap(int initialCapacity, int stripes) {
+		if (initialCapacity < 0 || stripes < 1) {
+			throw new IllegalArgumentException("Illegal capacity or stripes: " + initialCapacity + ", " + stripes);
+		}
+		int bits = 32 - Integer.numberOfLeadingZeros(stripes - 1);
+		int length = 1 << bits;
+		this.shift = 32 - bits;
+		this.segments = new HashMap[length];
+		int segmentCapacity = (initialCapacity + length - 1) / length;
+		for (int i = 0; i < length; i++) {
+			segments[i] = new HashMap<K, V>(segmentCapacity);
+		}
+	}
+
+	public StripedHashMap(Map<? extends K, ? extends V> map) {
+		this(map.size(), DEFAULT_STRIPES);
+		putAll(map);
+	}
+
+	private HashMap<K, V> segment(Object key) {
+		int hash = key.hashCode() * 0x9E3779B9;
+		// A shift by 32 leaves the hash unchanged
+		return shift == 32 ? segments[0] : segments[hash >>> shift];
+	}
+
+	// -------------------------------------------------
+	// 						READS
+	// -------------------------------------------------
+
+	public V get(Object key) {
+		HashMap<K, V> segment = segment(key);
+		synchronized (segment) {
+			return segment.get(key);
+		}
+	}
+
+	public boolean containsKey(Object key) {
+		HashMap<K, V> segment = segment(key);
+		synchronized (segment) {
+			return segment.containsKey(key);
+		}
+	}
+
+	public boolean containsValue(Object value) {
+		Objects.requireNonNull(value);
+		for (HashMap<K, V> segment : segments) {
+			synchronized (segment) {
+				if (segment.containsValue(value)) {
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
+	public int size() {
+		long size = 0;
+		for (HashMap<K, V> segment : segments) {
+			synchronized (segment) {
+				size += segment.size();
+			}
+		}
+		return (int) Math.min(size, Integer.MAX_VALUE);
+	}
+
+	// -------------------------------------------------
+	// 						WRITES
+	// -------------------------------------------------
+
+	public V put(K key, V value) {
+		Objects.requireNonNull(value);
+		HashMap<K, V> segment = segment(key);
+		synchronized (segment) {
+			return segment.put(key, value);
+		}
+	}
+
+	public void putAll(Map<? extends K, ? extends V> map) {
+		for (Map.Entry<? extends K, ? extends V> entry : map.entrySet()) {
+			put(entry.getKey(), entry.getValue());
+		}
+	}
+
+	public V remove(Object key) {
+		HashMap<K, V> segment = segment(key);
+		synchronized (segment) {
+			return segment.remove(key);
+		}
+	}
+
+	public void clear() {
+		for (HashMap<K, V> segment : segments) {
+			synchronized (segment) {
+				segment.clear();
+			}
+		}
+	}
+
+	public V putIfAbsent(K key, V value) {
+		Objects.requireNonNull(value);
+		HashMap<K, V> segment = segment(key);
+		synchronized (segment) {
+			return segment.putIfAbsent(key, value);
+		}
+	}
+
+	public boolean remove(Object key, Object value) {
+		HashMap<K, V> segment = segment(key);
+		synchronized (segment) {
+			return value != null && segment.remove(key, value);
+		}
+	}
+
+	public boolean replace(K key, V oldValue, V newValue) {
+		Objects.requireNonNull(oldValue);
+		Objects.requireNonNull(newValue);
+		HashMap<K, V> segment = segment(key);
+		synchronized (segment) {
+			return segment.replace(key, oldValue, newValue);
+		}
+	}
+
+	public V replace(K key, V value) {
+		Objects.requireNonNull(value);
+		HashMap<K, V> segment = segment(key);
+		synchronized (segment) {
+			return segment.replace(key, value);
+		}
+	}
+
+	// The functions run under the lock of the segment, so that they are
+	// applied at most once and atomically, as in ConcurrentHashMap
+
+	public V computeIfAbsent(K key, Function<? super K, ? extends V> mappingFunction) {
+		HashMap<K, V> segment = segment(key);
+		synchronized (segment) {
+			return segment.computeIfAbsent(key, mappingFunction);
+		}
+	}
+
+	public V computeIfPresent(K key, BiFunction<? super K, ? super V, ? extends V> remappingFunction) {
+		HashMap<K, V> segment = segment(key);
+		synchronized (segment) {
+			return segment.computeIfPresent(key, remappingFunction);
+		}
+	}
+
+	public V compute(K key, BiFunction<? super K, ? super V, ? extends V> remappingFunction) {
+		HashMap<K, V> segment = segment(key);
+		synchronized (segment) {
+			return segment.compute(key, remappingFunction);
+		}
+	}
+
+	public V merge(K key, V value, BiFunction<? super V, ? super V, ? extends V> remappingFunction) {
+		Objects.requireNonNull(value);
+		HashMap<K, V> segment = segment(key);
+		synchronized (segment) {
+			return segment.merge(key, value, remappingFunction);
+		}
+	}
+
+	// -------------------------------------------------
+	// 						VIEWS
+	// -------------------------------------------------
+
+	public Set<Map.Entry<K, V>> entrySet() {
+		return new EntrySet();
+	}
+
+	private final class EntrySet extends AbstractSet<Map.Entry<K, V>> {
+
+		public Iterator<Map.Entry<K, V>> iterator() {
+			return new EntryIterator();
+		}
+
+		public boolean contains(Object o) {
+			if (!(o instanceof Map.Entry)) {
+				return false;
+			}
+			Map.Entry<?, ?> entry = (Map.Entry<?, ?>) o;
+			Object value = entry.getKey() == null ? null : get(entry.getKey());
+			return value != null && value.equals(entry.getValue());
+		}
+
+		public boolean remove(Object o) {
+			if (!(o instanceof Map.Entry)) {
+				return false;
+			}
+			Map.Entry<?, ?> entry = (Map.Entry<?, ?>) o;
+			return entry.getKey() != null && StripedHashMap.this.remove(entry.getKey(), entry.getValue());
+		}
+
+		public int size() {
+			return StripedHashMap.this.size();
+		}
+
+		public void clear() {
+			StripedHashMap.this.clear();
+		}
+
+	}
+
+	private final class EntryIterator implements Iterator<Map.Entry<K, V>> {
+
+		private int next;
+		private Iterator<Map.Entry<K, V>> current = Collections.emptyIterator();
+		private Map.Entry<K, V> last;
+
+		public boolean hasNext() {
+			while (!current.hasNext() && next < segments.length) {
+				HashMap<K, V> segment = segments[next++];
+				ArrayList<Map.Entry<K, V>> copy;
+				synchronized (segment) {
+					copy = new ArrayList<Map.Entry<K, V>>(segment.size());
+					for (Map.Entry<K, V> entry : segment.entrySet()) {
+						copy.add(new WriteThroughEntry(entry.getKey(), entry.getValue()));
+					}
+				}
+				current = copy.iterator();
+			}
+			return current.hasNext();
+		}
+
+		public Map.Entry<K, V> next() {
+			if (!hasNext()) {
+				throw new NoSuchElementException();
+			}
+			last = current.next();
+			return last;
+		}
+
+		public void remove() {
+			if (last == null) {
+				throw new IllegalStateException();
+			}
+			StripedHashMap.this.remove(last.getKey());
+			last = null;
+		}
+
+	}
+
+	@SuppressWarnings("serial")
+	private final class WriteThroughEntry extends AbstractMap.SimpleEntry<K, V> {
+
+		WriteThroughEntry(K key, V value) {
+			super(key, value);
+		}
+
+		public V setValue(V value) {
+			V old = super.setValue(value);
+			put(getKey(), value);
+			return old;
+		}
+
+	}
+
+}
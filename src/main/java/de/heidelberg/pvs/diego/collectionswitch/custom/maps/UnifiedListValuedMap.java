@@ -0,0 +1,46 @@
+package de.heidelberg.pvs.diego.collectionswitch.custom.maps;
+
+import java.util.List;
+
+import org.apache.commons.collections4.multimap.AbstractListValuedMap;
+import org.eclipse.collections.impl.list.mutable.FastList;
+import org.eclipse.collections.impl.map.mutable.UnifiedMap;
+
+/**
+ * List valued map keeping a {@link FastList} for each key in a
+ * {@link UnifiedMap}, which chains its collisions in the table instead of
+ * allocating a node for each key.
+ *
+ * Most keys of the analytics multimaps have a handful of values, so the lists
+ * may start smaller than the usual ten elements.
+ */
+public class UnifiedListValuedMap<K, V> extends AbstractListValuedMap<K, V> {
+
+	private static final int DEFAULT_LIST_CAPACITY = 10;
+
+	private final int listCapacity;
+
+	public UnifiedListValuedMap() {
+		this(DEFAULT_LIST_CAPACITY);
+	}
+
+	/**
+	 * @param listCapacity
+	 *            initial capacity of the list of each key
+	 */
+	public UnifiedListValuedMap(int listCapacity) {
+		super(new UnifiedMap<K, List<V>>());
+		this.listCapacity = listCapacity;
+	}
+
+	public UnifiedListValuedMap(int initialKeyCapacity, int listCapacity) {
+		super(new UnifiedMap<K, List<V>>(initialKeyCapacity));
+		this.listCapacity = listCapacity;
+	}
+
+	@Override
+	protected List<V> createCollection() {
+		return new FastList<V>(listCapacity);
+	}
+
+}
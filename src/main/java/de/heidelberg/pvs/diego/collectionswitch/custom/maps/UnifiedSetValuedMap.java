@@ -0,0 +1,28 @@
+package de.heidelberg.pvs.diego.collectionswitch.custom.maps;
+
+import java.util.Set;
+
+import org.apache.commons.collections4.multimap.AbstractSetValuedMap;
+import org.eclipse.collections.impl.map.mutable.UnifiedMap;
+import org.eclipse.collections.impl.set.mutable.UnifiedSet;
+
+/**
+ * Set valued map keeping a {@link UnifiedSet} for each key in a
+ * {@link UnifiedMap}, the counterpart of the {@link UnifiedListValuedMap}.
+ */
+public class UnifiedSetValuedMap<K, V> extends AbstractSetValuedMap<K, V> {
+
+	public UnifiedSetValuedMap() {
+		super(new UnifiedMap<K, Set<V>>());
+	}
+
+	public UnifiedSetValuedMap(int initialKeyCapacity) {
+		super(new UnifiedMap<K, Set<V>>(initialKeyCapacity));
+	}
+
+	@Override
+	protected Set<V> createCollection() {
+		return new UnifiedSet<V>();
+	}
+
+}
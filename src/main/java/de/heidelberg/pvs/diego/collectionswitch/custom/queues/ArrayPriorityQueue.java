@@ -0,0 +1,229 @@
+package de.heidelberg.pvs.diego.collectionswitch.custom.queues;
+
+import java.util.AbstractQueue;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.SortedSet;
+
+/**
+ * Priority queue over an unsorted array which keeps the position of its least
+ * element. Offers and peeks are constant, only a poll scans the array for the
+ * next least element.
+ *
+ * Unlike the binary heap of {@link java.util.PriorityQueue}, it performs best
+ * on small queues that are mostly filled and dropped, and its array is only
+ * allocated by the first offer. Like it, it rejects {@code null} elements and
+ * its iterator visits the elements in no particular order.
+ */
+public class ArrayPriorityQueue<E> extends AbstractQueue<E> {
+
+	private static final Object[] EMPTY = {};
+
+	private static final int DEFAULT_CAPACITY = 8;
+
+	private final Comparator<? super E> comparator;
+
+	private Object[] elements;
+	private int size;
+
+	// Position of the least element, meaningless when empty
+	private int least;
+
+	private int modCount;
+
+	public ArrayPriorityQueue() {
+		this(0, null);
+	}
+
+	public ArrayPriorityQueue(int initialCapacity) {
+		this(initialCapacity, null);
+	}
+
+	public ArrayPriorityQueue(Comparator<? super E> comparator) {
+		this(0, comparator);
+	}
+
+	public ArrayPriorityQueue(int initialCapacity, Comparator<? super E> comparator) {
+		if (initialCapacity < 0) {
+			throw new IllegalArgumentException("Illegal capacity: " + initialCapacity);
+		}
+		this.comparator = comparator;
+		this.elements = initialCapacity == 0 ? EMPTY : new Object[initialCapacity];
+	}
+
+	/**
+	 * Keeps the order of a sorted set or priority queue, as
+	 * {@link java.util.PriorityQueue#PriorityQueue(Collection)} does
+	 */
+	public ArrayPriorityQueue(Collection<? extends E> c) {
+		this(c.size(), ArrayPriorityQueue.<E>comparatorOf(c));
+		addAll(c);
+	}
+
+	/**
+	 * Comparator of a sorted set or priority queue, {@code null} for natural
+	 * ordering or any other collection
+	 */
+	@SuppressWarnings("unchecked")
+	public static <E> Comparator<? super E> comparatorOf(Collection<? extends E> c) {
+		if (c instanceof SortedSet) {
+			return (Comparator<? super E>) ((SortedSet<? extends E>) c).comparator();
+		}
+		if (c instanceof PriorityQueue) {
+			return (Comparator<? super E>) ((PriorityQueue<? extends E>) c).comparator();
+		}
+		if (c instanceof ArrayPriorityQueue) {
+			return (Comparator<? super E>) ((ArrayPriorityQueue<? extends E>) c).comparator();
+		}
+		return null;
+	}
+
+	public boolean offer(E e) {
+		Objects.requireNonNull(e);
+		if (size == elements.length) {
+			elements = Arrays.copyOf(elements, Math.max(DEFAULT_CAPACITY, size + (size >> 1)));
+		}
+		if (size == 0) {
+			// Compared even when alone, so that the queue rejects incomparable
+			// elements as soon as they are offered
+			compare(e, e);
+			least = 0;
+		} else if (compare(e, elementAt(least)) < 0) {
+			least = size;
+		}
+		elements[size++] = e;
+		modCount++;
+		return true;
+	}
+
+	public E peek() {
+		return size == 0 ? null : elementAt(least);
+	}
+
+	public E poll() {
+		if (size == 0) {
+			return null;
+		}
+		E polled = elementAt(least);
+		removeAt(least);
+		return polled;
+	}
+
+	public int size() {
+		return size;
+	}
+
+	public void clear() {
+		Arrays.fill(elements, 0, size, null);
+		size = 0;
+		modCount++;
+	}
+
+	public boolean contains(Object o) {
+		return indexOf(o) >= 0;
+	}
+
+	public boolean remove(Object o) {
+		int index = indexOf(o);
+		if (index < 0) {
+			return false;
+		}
+		removeAt(index);
+		return true;
+	}
+
+	public Comparator<? super E> comparator() {
+		return comparator;
+	}
+
+	public Object[] toArray() {
+		return Arrays.copyOf(elements, size);
+	}
+
+	public Iterator<E> iterator() {
+		return new Itr();
+	}
+
+	private int indexOf(Object o) {
+		if (o != null) {
+			for (int i = 0; i < size; i++) {
+				if (o.equals(elements[i])) {
+					return i;
+				}
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Moves the last element into the given position and finds the least one
+	 */
+	private void removeAt(int index) {
+		int last = --size;
+		elements[index] = elements[last];
+		elements[last] = null;
+		modCount++;
+
+		least = 0;
+		for (int i = 1; i < size; i++) {
+			if (compare(elementAt(i), elementAt(least)) < 0) {
+				least = i;
+			}
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private E elementAt(int index) {
+		return (E) elements[index];
+	}
+
+	@SuppressWarnings("unchecked")
+	private int compare(E a, E b) {
+		return comparator == null ? ((Comparable<? super E>) a).compareTo(b) : comparator.compare(a, b);
+	}
+
+	private final class Itr implements Iterator<E> {
+
+		private int cursor;
+		private int last = -1;
+		private int expectedModCount = modCount;
+
+		public boolean hasNext() {
+			return cursor < size;
+		}
+
+		public E next() {
+			if (expectedModCount != modCount) {
+				throw new ConcurrentModificationException();
+			}
+			if (cursor >= size) {
+				throw new NoSuchElementException();
+			}
+			last = cursor++;
+			return elementAt(last);
+		}
+
+		public void remove() {
+			if (last < 0) {
+				throw new IllegalStateException();
+			}
+			if (expectedModCount != modCount) {
+				throw new ConcurrentModificationException();
+			}
+			// The last element moves into the removed position, which is
+			// visited next
+			removeAt(last);
+			cursor = last;
+			last = -1;
+			expectedModCount = modCount;
+		}
+
+	}
+
+}
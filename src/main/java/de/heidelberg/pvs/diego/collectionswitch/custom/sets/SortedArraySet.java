@@ -0,0 +1,152 @@
+package de.heidelberg.pvs.diego.collectionswitch.custom.sets;
+
+import java.util.AbstractSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+import java.util.SortedSet;
+
+import de.heidelberg.pvs.diego.collectionswitch.custom.maps.SortedArrayMap;
+
+/**
+ * Navigable set over a sorted array, the keys of a {@link SortedArrayMap}, as
+ * {@link java.util.TreeSet} is over a {@link java.util.TreeMap}.
+ *
+ * Unlike {@link BinaryArraySet}, which keeps several sorted arrays so that
+ * inserts are amortized, the single array is iterated in order and supports
+ * removals, at the price of shifting it on inserts in the middle.
+ */
+public class SortedArraySet<E> extends AbstractSet<E> implements NavigableSet<E> {
+
+	private static final Object PRESENT = Boolean.TRUE;
+
+	private final NavigableMap<E, Object> map;
+
+	public SortedArraySet() {
+		this(new SortedArrayMap<E, Object>());
+	}
+
+	public SortedArraySet(int initialCapacity) {
+		this(new SortedArrayMap<E, Object>(initialCapacity));
+	}
+
+	public SortedArraySet(Comparator<? super E> comparator) {
+		this(new SortedArrayMap<E, Object>(comparator));
+	}
+
+	/**
+	 * Copy of the given collection, keeping the comparator of a sorted set
+	 */
+	@SuppressWarnings("unchecked")
+	public SortedArraySet(Collection<? extends E> c) {
+		this(new SortedArrayMap<E, Object>(c.size(),
+				c instanceof SortedSet ? ((SortedSet<E>) c).comparator() : null));
+		addAll(c);
+	}
+
+	private SortedArraySet(NavigableMap<E, Object> map) {
+		this.map = map;
+	}
+
+	public boolean add(E e) {
+		return map.put(e, PRESENT) == null;
+	}
+
+	public boolean remove(Object o) {
+		return map.remove(o) == PRESENT;
+	}
+
+	public boolean contains(Object o) {
+		return map.containsKey(o);
+	}
+
+	public int size() {
+		return map.size();
+	}
+
+	public boolean isEmpty() {
+		return map.isEmpty();
+	}
+
+	public void clear() {
+		map.clear();
+	}
+
+	public Iterator<E> iterator() {
+		return map.navigableKeySet().iterator();
+	}
+
+	public Iterator<E> descendingIterator() {
+		return map.descendingKeySet().iterator();
+	}
+
+	public Comparator<? super E> comparator() {
+		return map.comparator();
+	}
+
+	public E first() {
+		return map.firstKey();
+	}
+
+	public E last() {
+		return map.lastKey();
+	}
+
+	public E lower(E e) {
+		return map.lowerKey(e);
+	}
+
+	public E floor(E e) {
+		return map.floorKey(e);
+	}
+
+	public E ceiling(E e) {
+		return map.ceilingKey(e);
+	}
+
+	public E higher(E e) {
+		return map.higherKey(e);
+	}
+
+	public E pollFirst() {
+		Map.Entry<E, ?> entry = map.pollFirstEntry();
+		return entry == null ? null : entry.getKey();
+	}
+
+	public E pollLast() {
+		Map.Entry<E, ?> entry = map.pollLastEntry();
+		return entry == null ? null : entry.getKey();
+	}
+
+	public NavigableSet<E> descendingSet() {
+		return new SortedArraySet<E>(map.descendingMap());
+	}
+
+	public NavigableSet<E> subSet(E fromElement, boolean fromInclusive, E toElement, boolean toInclusive) {
+		return new SortedArraySet<E>(map.subMap(fromElement, fromInclusive, toElement, toInclusive));
+	}
+
+	public NavigableSet<E> headSet(E toElement, boolean inclusive) {
+		return new SortedArraySet<E>(map.headMap(toElement, inclusive));
+	}
+
+	public NavigableSet<E> tailSet(E fromElement, boolean inclusive) {
+		return new SortedArraySet<E>(map.tailMap(fromElement, inclusive));
+	}
+
+	public SortedSet<E> subSet(E fromElement, E toElement) {
+		return subSet(fromElement, true, toElement, false);
+	}
+
+	public SortedSet<E> headSet(E toElement) {
+		return headSet(toElement, false);
+	}
+
+	public SortedSet<E> tailSet(E fromElement) {
+		return tailSet(fromElement, true);
+	}
+
+}
@@ -1,381 +1,1299 @@
-package de.heidelberg.pvs.diego.collectionswitch.factories;
-
-import de.heidelberg.pvs.diego.collectionswitch.context.ListAllocationContext;
-import de.heidelberg.pvs.diego.collectionswitch.context.ListAllocationContextInfo;
-import de.heidelberg.pvs.diego.collectionswitch.context.ListCollectionType;
-import de.heidelberg.pvs.diego.collectionswitch.context.MapAllocationContext;
-import de.heidelberg.pvs.diego.collectionswitch.context.MapAllocationContextInfo;
-import de.heidelberg.pvs.diego.collectionswitch.context.MapCollectionType;
-import de.heidelberg.pvs.diego.collectionswitch.context.SetAllocationContext;
-import de.heidelberg.pvs.diego.collectionswitch.context.SetAllocationContextInfo;
-import de.heidelberg.pvs.diego.collectionswitch.context.SetCollectionType;
-import de.heidelberg.pvs.diego.collectionswitch.context.impl.EmpiricalListAllocationContext;
-import de.heidelberg.pvs.diego.collectionswitch.context.impl.EmpiricalMapAllocationContext;
-import de.heidelberg.pvs.diego.collectionswitch.context.impl.EmpiricalSetAllocationContext;
-import de.heidelberg.pvs.diego.collectionswitch.context.impl.LogListAllocationContext;
-import de.heidelberg.pvs.diego.collectionswitch.context.impl.LogMapAllocationContext;
-import de.heidelberg.pvs.diego.collectionswitch.context.impl.LogSetAllocationContext;
-import de.heidelberg.pvs.diego.collectionswitch.manager.PerformanceGoal;
-import de.heidelberg.pvs.diego.collectionswitch.manager.SwitchManager;
-import de.heidelberg.pvs.diego.collectionswitch.manager.PerformanceGoal.PerformanceDimension;
-import de.heidelberg.pvs.diego.collectionswitch.optimizers.lists.ListAllocationOptimizer;
-import de.heidelberg.pvs.diego.collectionswitch.optimizers.lists.ListEmpiricalOptimizer;
-import de.heidelberg.pvs.diego.collectionswitch.optimizers.lists.ListEmpiricalPerformanceEvaluator;
-import de.heidelberg.pvs.diego.collectionswitch.optimizers.maps.MapAllocationOptimizer;
-import de.heidelberg.pvs.diego.collectionswitch.optimizers.maps.MapEmpiricalOptimizer;
-import de.heidelberg.pvs.diego.collectionswitch.optimizers.maps.MapEmpiricalPerformanceEvaluator;
-import de.heidelberg.pvs.diego.collectionswitch.optimizers.sets.SetAllocationOptimizer;
-import de.heidelberg.pvs.diego.collectionswitch.optimizers.sets.SetEmpiricalOptimizer;
-import de.heidelberg.pvs.diego.collectionswitch.optimizers.sets.SetEmpiricalPerformanceEvaluator;
-
-public class AllocationContextFactory {
-
-	private static final double FINISHED_RATIO = 1;
-	private static final int SAMPLES = 50;
-	private static final int WINDOW_SIZE = 10;
-	private static final int DELAY = 1000;
-	private static final int INITIAL_DELAY = 1000;
-	private static final double DEFAULT_MIN_IMPROVEMENT = 1.2;
-	private static final double DEFAULT_MAX_PENALTY = 0.7;
-	private static final double DEFAULT_FINISHED_RATIO = 0.8;
-	private static final int DEFAULT_THREADS_NUMBER = 1;
-
-	protected static SwitchManager manager = new SwitchManager();
-	private static PerformanceGoal goal;
-	private static boolean init;
-	private static AllocationContextBuilder builder;
-
-	private static ListEmpiricalPerformanceEvaluator listEvaluator;
-	private static SetEmpiricalPerformanceEvaluator setEvaluator;
-	private static MapEmpiricalPerformanceEvaluator mapEvaluator;
-
-	public static class AllocationContextBuilder {
-
-		// Default: EMPIRICAL
-		private AllocationContextAlgorithm algorithm = AllocationContextAlgorithm.EMPIRICAL;
-
-		private boolean hasLog = false;
-		private String logFile;
-
-		private int windowSize = WINDOW_SIZE;
-		private int samples = SAMPLES;
-		private int initialDelay = INITIAL_DELAY;
-		private int delay = DELAY;
-		private int threadsNumber = DEFAULT_THREADS_NUMBER;
-
-		private double finishedRatio = DEFAULT_FINISHED_RATIO;
-		private PerformanceDimension majorDimension = PerformanceDimension.TIME;
-		private PerformanceDimension minorDimension = PerformanceDimension.ALLOCATION;
-		private double maxPenalty = DEFAULT_MAX_PENALTY;
-		private double minImprovement = DEFAULT_MIN_IMPROVEMENT;
-
-		public enum AllocationContextAlgorithm {
-			EMPIRICAL;
-		}
-
-		public AllocationContextBuilder() {
-		}
-
-		public AllocationContextBuilder withAlgorithm(AllocationContextAlgorithm algorithm) {
-			this.algorithm = algorithm;
-			return this;
-		}
-
-		public AllocationContextBuilder withLog(String logFile) {
-			this.hasLog = true;
-			this.logFile = logFile;
-			return this;
-		}
-
-		public AllocationContextBuilder windowSize(int windowSize) {
-			this.windowSize = windowSize;
-			return this;
-		}
-
-		public AllocationContextBuilder samples(int samples) {
-			this.samples = samples;
-			return this;
-		}
-
-		public AllocationContextBuilder withInitialDelay(int parseInt) {
-			this.initialDelay = parseInt;
-			return this;
-
-		}
-
-		public AllocationContextBuilder withDelay(int parseInt) {
-			this.delay = parseInt;
-			return this;
-
-		}
-
-		public AllocationContextBuilder withThreadsNumber(int parseInt) {
-			this.threadsNumber = parseInt;
-			return this;
-
-		}
-
-		public AllocationContextBuilder withFinishedRatio(double parseDouble) {
-			this.finishedRatio = parseDouble;
-			return this;
-
-		}
-
-		public AllocationContextBuilder withMajorDimension(PerformanceDimension parse) {
-			this.majorDimension = parse;
-			return this;
-		}
-
-		public AllocationContextBuilder withMinorDimension(PerformanceDimension parse) {
-			this.minorDimension = parse;
-			return this;
-
-		}
-
-		public void withMinImprovement(double parseDouble) {
-			this.minImprovement = parseDouble;
-
-		}
-
-		public void withMaxPenalty(double parseDouble) {
-			this.maxPenalty = parseDouble;
-
-		}
-
-	}
-
-	/*
-	 * LISTS
-	 */
-	public static ListAllocationContext buildListContext(ListCollectionType type, String identifier) {
-
-		if (!init) {
-			bootstrap();
-		}
-
-		return buildListContext(type, builder, identifier);
-	}
-
-	public synchronized static void bootstrap() {
-		
-		// FIXME: This has a big chance of concurrency issues - FIX THIS LATER
-		init = true;
-		
-		builder = parseCommandLine();
-
-		listEvaluator = new ListEmpiricalPerformanceEvaluator();
-		listEvaluator.addEmpiricalModel(PerformanceDimension.TIME,
-				PerformanceModelFactory.buildListPerformanceModelsTime());
-		listEvaluator.addEmpiricalModel(PerformanceDimension.ALLOCATION,
-				PerformanceModelFactory.buildListPerformanceModelsAllocation());
-
-		setEvaluator = new SetEmpiricalPerformanceEvaluator();
-		setEvaluator.addEmpiricalModel(PerformanceDimension.TIME,
-				PerformanceModelFactory.buildSetsPerformanceModelTime());
-		setEvaluator.addEmpiricalModel(PerformanceDimension.ALLOCATION,
-				PerformanceModelFactory.buildSetsPerformanceModelAllocation());
-
-		mapEvaluator = new MapEmpiricalPerformanceEvaluator();
-		mapEvaluator.addEmpiricalModel(PerformanceDimension.TIME,
-				PerformanceModelFactory.buildMapsPerformanceModelTime());
-		mapEvaluator.addEmpiricalModel(PerformanceDimension.ALLOCATION,
-				PerformanceModelFactory.buildMapsPerformanceModelAllocation());
-
-		goal = new PerformanceGoal(builder.majorDimension, builder.minorDimension, builder.minImprovement,
-				builder.maxPenalty);
-
-		manager.configureAndScheduleManager(builder.threadsNumber, builder.initialDelay, builder.delay);
-
-	}
-
-	private static ListAllocationContext buildListContext(ListCollectionType type, AllocationContextBuilder builder,
-			String identifier) {
-
-		final ListAllocationOptimizer optimizer;
-		ListAllocationContextInfo context = null;
-
-		// Build the optimizer
-		switch (builder.algorithm) {
-
-		case EMPIRICAL:
-		default:
-			optimizer = new ListEmpiricalOptimizer(listEvaluator, type, goal, builder.windowSize,
-					builder.finishedRatio);
-			
-			context = new EmpiricalListAllocationContext(type, optimizer, builder.windowSize);
-		}
-
-		manager.addOptimizer(optimizer);
-		// Print the log of the changes
-		if (builder.hasLog) {
-			ListAllocationContext logContext = new LogListAllocationContext(context, identifier, builder.logFile);
-			optimizer.setContext(logContext);
-			return logContext;
-
-		} else {
-			optimizer.setContext(context);
-			return context;
-		}
-		
-
-	}
-
-	/*
-	 * ------------------------------- SETS -------------------------------
-	 */
-	public static <E> SetAllocationContext buildSetContext(SetCollectionType type, String identifier) {
-
-		if (!init) {
-			bootstrap();
-		}
-		return buildSetContext(type, builder, identifier);
-
-	}
-
-	public static <E> SetAllocationContext buildSetContext(SetCollectionType type, AllocationContextBuilder builder,
-			String identifier) {
-
-		SetAllocationOptimizer optimizer = null;
-		SetAllocationContextInfo context = null;
-
-		// Build the optimizer
-		switch (builder.algorithm) {
-
-		case EMPIRICAL:
-			optimizer = new SetEmpiricalOptimizer(setEvaluator, type, goal, builder.windowSize, builder.finishedRatio);
-			context = new EmpiricalSetAllocationContext(type, optimizer, builder.windowSize);
-			break;
-		}
-		
-		manager.addOptimizer(optimizer);
-
-		// Print the log of the changes
-		if (builder.hasLog) {
-			SetAllocationContext logContext = new LogSetAllocationContext(context, identifier, builder.logFile);
-			optimizer.setContext(logContext);
-			return logContext;
-
-		} else {
-			optimizer.setContext(context);
-			return context;
-		}
-
-		
-
-	}
-
-	/*
-	 * ------------------------------- MAPS -------------------------------
-	 */
-	public static <K, V> MapAllocationContext buildMapContext(MapCollectionType type, String identifier) {
-
-		if (!init) {
-			bootstrap();
-		}
-
-		return buildMapContext(type, builder, identifier);
-
-	}
-
-	public static MapAllocationContext buildMapContext(MapCollectionType type, AllocationContextBuilder builder,
-			String identifier) {
-
-		// Build the context + optimizer
-		MapAllocationOptimizer optimizer = null;
-		MapAllocationContextInfo context = null;
-
-		// Build the optimizer
-		switch (builder.algorithm) {
-			
-		case EMPIRICAL:
-			optimizer = new MapEmpiricalOptimizer(mapEvaluator, type, goal, builder.windowSize, builder.finishedRatio);
-			context = new EmpiricalMapAllocationContext(type, optimizer, builder.windowSize);
-			break;
-		}
-		manager.addOptimizer(optimizer);
-
-		// Print the log of the changes
-		if (builder.hasLog) {
-			MapAllocationContext logContext = new LogMapAllocationContext(context, identifier, builder.logFile);
-			optimizer.setContext(logContext);
-			return logContext;
-
-		} else {
-			optimizer.setContext(context);
-			return context;
-		}
-
-	}
-
-	/*
-	 * COMMAND LINE
-	 */
-	public static AllocationContextBuilder parseCommandLine() {
-
-		AllocationContextBuilder builder = new AllocationContextBuilder();
-
-		String windowSizeStr = System.getProperty("windowSize");
-		if (windowSizeStr != null) {
-			builder.windowSize(Integer.parseInt(windowSizeStr));
-		}
-
-		String sampleStr = System.getProperty("samples");
-		if (sampleStr != null) {
-			builder.samples(Integer.parseInt(sampleStr));
-		}
-
-		String logFile = System.getProperty("log");
-		if (logFile != null) {
-			builder.withLog(logFile);
-		}
-
-		logFile = System.getProperty("logOutput");
-		if (logFile != null) {
-			builder.withLog(logFile);
-		}
-
-		String initialDelay = System.getProperty("initialDelay");
-		if (initialDelay != null) {
-			builder.withInitialDelay(Integer.parseInt(initialDelay));
-		}
-
-		String delay = System.getProperty("delay");
-		if (delay != null) {
-			builder.withDelay(Integer.parseInt(delay));
-		}
-
-		String threads = System.getProperty("threads");
-		if (threads != null) {
-			builder.withThreadsNumber(Integer.parseInt(threads));
-		}
-
-		String finished = System.getProperty("finishedRatio");
-		if (threads != null) {
-			builder.withFinishedRatio(Double.parseDouble(finished));
-		}
-
-		String majorDimension = System.getProperty("majorDimension");
-		if (majorDimension != null) {
-			builder.withMajorDimension(PerformanceGoal.PerformanceDimension.parse(majorDimension));
-		}
-
-		String minImprovement = System.getProperty("minImprovement");
-		if (minImprovement != null) {
-			builder.withMinImprovement(Double.parseDouble(minImprovement));
-		}
-
-		String minorDimension = System.getProperty("minorDimension");
-		if (minorDimension != null) {
-			builder.withMinorDimension(PerformanceGoal.PerformanceDimension.parse(minorDimension));
-		}
-
-		String maxPenalty = System.getProperty("maxPenalty");
-		if (maxPenalty != null) {
-			builder.withMaxPenalty(Double.parseDouble(maxPenalty));
-		}
-
-		return builder;
-
-	}
-
-}
+package de.heidelberg.pvs.diego.collectionswitch.factories;
+
+import java.io.File;
+import java.io.IOException;
+
+import de.heidelberg.pvs.diego.collectionswitch.context.BagAllocationContext;
+import de.heidelberg.pvs.diego.collectionswitch.context.BagAllocationContextInfo;
+import de.heidelberg.pvs.diego.collectionswitch.context.BagCollectionType;
+import de.heidelberg.pvs.diego.collectionswitch.context.ConcurrentMapAllocationContext;
+import de.heidelberg.pvs.diego.collectionswitch.context.ConcurrentMapAllocationContextInfo;
+import de.heidelberg.pvs.diego.collectionswitch.context.ConcurrentMapCollectionType;
+import de.heidelberg.pvs.diego.collectionswitch.context.ConcurrentSetAllocationContext;
+import de.heidelberg.pvs.diego.collectionswitch.context.ConcurrentSetAllocationContextInfo;
+import de.heidelberg.pvs.diego.collectionswitch.context.ConcurrentSetCollectionType;
+import de.heidelberg.pvs.diego.collectionswitch.context.DequeAllocationContext;
+import de.heidelberg.pvs.diego.collectionswitch.context.DequeAllocationContextInfo;
+import de.heidelberg.pvs.diego.collectionswitch.context.IntListAllocationContext;
+import de.heidelberg.pvs.diego.collectionswitch.context.IntObjMapAllocationContext;
+import de.heidelberg.pvs.diego.collectionswitch.context.IntSetAllocationContext;
+import de.heidelberg.pvs.diego.collectionswitch.context.ListAllocationContext;
+import de.heidelberg.pvs.diego.collectionswitch.context.ListAllocationContextInfo;
+import de.heidelberg.pvs.diego.collectionswitch.context.ListCollectionType;
+import de.heidelberg.pvs.diego.collectionswitch.context.LongListAllocationContext;
+import de.heidelberg.pvs.diego.collectionswitch.context.LongObjMapAllocationContext;
+import de.heidelberg.pvs.diego.collectionswitch.context.LongSetAllocationContext;
+import de.heidelberg.pvs.diego.collectionswitch.context.MapAllocationContext;
+import de.heidelberg.pvs.diego.collectionswitch.context.MapAllocationContextInfo;
+import de.heidelberg.pvs.diego.collectionswitch.context.MapCollectionType;
+import de.heidelberg.pvs.diego.collectionswitch.context.MultimapAllocationContext;
+import de.heidelberg.pvs.diego.collectionswitch.context.MultimapAllocationContextInfo;
+import de.heidelberg.pvs.diego.collectionswitch.context.MultimapCollectionType;
+import de.heidelberg.pvs.diego.collectionswitch.context.NavigableMapAllocationContext;
+import de.heidelberg.pvs.diego.collectionswitch.context.NavigableMapAllocationContextInfo;
+import de.heidelberg.pvs.diego.collectionswitch.context.NavigableSetAllocationContext;
+import de.heidelberg.pvs.diego.collectionswitch.context.NavigableSetAllocationContextInfo;
+import de.heidelberg.pvs.diego.collectionswitch.context.QueueAllocationContext;
+import de.heidelberg.pvs.diego.collectionswitch.context.QueueAllocationContextInfo;
+import de.heidelberg.pvs.diego.collectionswitch.context.QueueCollectionType;
+import de.heidelberg.pvs.diego.collectionswitch.context.SetAllocationContext;
+import de.heidelberg.pvs.diego.collectionswitch.context.SetAllocationContextInfo;
+import de.heidelberg.pvs.diego.collectionswitch.context.SetCollectionType;
+import de.heidelberg.pvs.diego.collectionswitch.context.SortedMapAllocationContext;
+import de.heidelberg.pvs.diego.collectionswitch.context.SortedMapAllocationContextInfo;
+import de.heidelberg.pvs.diego.collectionswitch.context.SortedMapCollectionType;
+import de.heidelberg.pvs.diego.collectionswitch.context.SortedSetAllocationContext;
+import de.heidelberg.pvs.diego.collectionswitch.context.SortedSetAllocationContextInfo;
+import de.heidelberg.pvs.diego.collectionswitch.context.SortedSetCollectionType;
+import de.heidelberg.pvs.diego.collectionswitch.context.impl.BanditListAllocationContext;
+import de.heidelberg.pvs.diego.collectionswitch.context.impl.BanditMapAllocationContext;
+import de.heidelberg.pvs.diego.collectionswitch.context.impl.BanditSetAllocationContext;
+import de.heidelberg.pvs.diego.collectionswitch.context.impl.ConcurrentEmpiricalListAllocationContext;
+import de.heidelberg.pvs.diego.collectionswitch.context.impl.ConcurrentEmpiricalMapAllocationContext;
+import de.heidelberg.pvs.diego.collectionswitch.context.impl.ConcurrentEmpiricalSetAllocationContext;
+import de.heidelberg.pvs.diego.collectionswitch.context.impl.EmpiricalBagAllocationContext;
+import de.heidelberg.pvs.diego.collectionswitch.context.impl.EmpiricalConcurrentMapAllocationContext;
+import de.heidelberg.pvs.diego.collectionswitch.context.impl.EmpiricalConcurrentSetAllocationContext;
+import de.heidelberg.pvs.diego.collectionswitch.context.impl.EmpiricalDequeAllocationContext;
+import de.heidelberg.pvs.diego.collectionswitch.context.impl.EmpiricalListAllocationContext;
+import de.heidelberg.pvs.diego.collectionswitch.context.impl.EmpiricalMapAllocationContext;
+import de.heidelberg.pvs.diego.collectionswitch.context.impl.EmpiricalMultimapAllocationContext;
+import de.heidelberg.pvs.diego.collectionswitch.context.impl.EmpiricalNavigableMapAllocationContext;
+import de.heidelberg.pvs.diego.collectionswitch.context.impl.EmpiricalNavigableSetAllocationContext;
+import de.heidelberg.pvs.diego.collectionswitch.context.impl.EmpiricalQueueAllocationContext;
+import de.heidelberg.pvs.diego.collectionswitch.context.impl.EmpiricalSetAllocationContext;
+import de.heidelberg.pvs.diego.collectionswitch.context.impl.EmpiricalSortedMapAllocationContext;
+import de.heidelberg.pvs.diego.collectionswitch.context.impl.EmpiricalSortedSetAllocationContext;
+import de.heidelberg.pvs.diego.collectionswitch.context.impl.LogBagAllocationContext;
+import de.heidelberg.pvs.diego.collectionswitch.context.impl.LogConcurrentMapAllocationContext;
+import de.heidelberg.pvs.diego.collectionswitch.context.impl.LogConcurrentSetAllocationContext;
+import de.heidelberg.pvs.diego.collectionswitch.context.impl.LogDequeAllocationContext;
+import de.heidelberg.pvs.diego.collectionswitch.context.impl.LogListAllocationContext;
+import de.heidelberg.pvs.diego.collectionswitch.context.impl.LogMapAllocationContext;
+import de.heidelberg.pvs.diego.collectionswitch.context.impl.LogMultimapAllocationContext;
+import de.heidelberg.pvs.diego.collectionswitch.context.impl.LogNavigableMapAllocationContext;
+import de.heidelberg.pvs.diego.collectionswitch.context.impl.LogNavigableSetAllocationContext;
+import de.heidelberg.pvs.diego.collectionswitch.context.impl.LogQueueAllocationContext;
+import de.heidelberg.pvs.diego.collectionswitch.context.impl.LogSetAllocationContext;
+import de.heidelberg.pvs.diego.collectionswitch.context.impl.LogSortedMapAllocationContext;
+import de.heidelberg.pvs.diego.collectionswitch.context.impl.LogSortedSetAllocationContext;
+import de.heidelberg.pvs.diego.collectionswitch.context.impl.MigratingListAllocationContext;
+import de.heidelberg.pvs.diego.collectionswitch.context.impl.MigratingMapAllocationContext;
+import de.heidelberg.pvs.diego.collectionswitch.context.impl.MigratingSetAllocationContext;
+import de.heidelberg.pvs.diego.collectionswitch.context.impl.PrimitiveListAllocationContext;
+import de.heidelberg.pvs.diego.collectionswitch.context.impl.PrimitiveMapAllocationContext;
+import de.heidelberg.pvs.diego.collectionswitch.context.impl.PrimitiveSetAllocationContext;
+import de.heidelberg.pvs.diego.collectionswitch.context.impl.SamplingListAllocationContext;
+import de.heidelberg.pvs.diego.collectionswitch.context.impl.SamplingMapAllocationContext;
+import de.heidelberg.pvs.diego.collectionswitch.context.impl.SamplingSetAllocationContext;
+import de.heidelberg.pvs.diego.collectionswitch.manager.PerformanceGoal;
+import de.heidelberg.pvs.diego.collectionswitch.manager.SwitchManager;
+import de.heidelberg.pvs.diego.collectionswitch.manager.PerformanceGoal.PerformanceDimension;
+import de.heidelberg.pvs.diego.collectionswitch.monitors.KeyProfile;
+import de.heidelberg.pvs.diego.collectionswitch.optimizers.BanditPolicy;
+import de.heidelberg.pvs.diego.collectionswitch.optimizers.BanditPolicy.Strategy;
+import de.heidelberg.pvs.diego.collectionswitch.optimizers.concurrent.ConcurrentEmpiricalPerformanceEvaluator;
+import de.heidelberg.pvs.diego.collectionswitch.optimizers.concurrent.ConcurrentMapEmpiricalOptimizer;
+import de.heidelberg.pvs.diego.collectionswitch.optimizers.concurrent.ConcurrentSetEmpiricalOptimizer;
+import de.heidelberg.pvs.diego.collectionswitch.optimizers.counting.BagEmpiricalOptimizer;
+import de.heidelberg.pvs.diego.collectionswitch.optimizers.counting.CountingEmpiricalPerformanceEvaluator;
+import de.heidelberg.pvs.diego.collectionswitch.optimizers.counting.MultimapEmpiricalOptimizer;
+import de.heidelberg.pvs.diego.collectionswitch.optimizers.lists.BanditListOptimizer;
+import de.heidelberg.pvs.diego.collectionswitch.optimizers.lists.ListAllocationOptimizer;
+import de.heidelberg.pvs.diego.collectionswitch.optimizers.lists.ListEmpiricalOptimizer;
+import de.heidelberg.pvs.diego.collectionswitch.optimizers.lists.ListEmpiricalPerformanceEvaluator;
+import de.heidelberg.pvs.diego.collectionswitch.optimizers.maps.BanditMapOptimizer;
+import de.heidelberg.pvs.diego.collectionswitch.optimizers.maps.MapAllocationOptimizer;
+import de.heidelberg.pvs.diego.collectionswitch.optimizers.maps.MapEmpiricalOptimizer;
+import de.heidelberg.pvs.diego.collectionswitch.optimizers.maps.MapEmpiricalPerformanceEvaluator;
+import de.heidelberg.pvs.diego.collectionswitch.optimizers.queues.QueueEmpiricalOptimizer;
+import de.heidelberg.pvs.diego.collectionswitch.optimizers.queues.QueueEmpiricalPerformanceEvaluator;
+import de.heidelberg.pvs.diego.collectionswitch.optimizers.sets.SetAllocationOptimizer;
+import de.heidelberg.pvs.diego.collectionswitch.optimizers.sets.BanditSetOptimizer;
+import de.heidelberg.pvs.diego.collectionswitch.optimizers.sets.SetEmpiricalOptimizer;
+import de.heidelberg.pvs.diego.collectionswitch.optimizers.sets.SetEmpiricalPerformanceEvaluator;
+import de.heidelberg.pvs.diego.collectionswitch.optimizers.sorted.SortedEmpiricalPerformanceEvaluator;
+import de.heidelberg.pvs.diego.collectionswitch.optimizers.sorted.SortedMapEmpiricalOptimizer;
+import de.heidelberg.pvs.diego.collectionswitch.optimizers.sorted.SortedSetEmpiricalOptimizer;
+
+public class AllocationContextFactory {
+
+	private static final double FINISHED_RATIO = 1;
+	private static final int SAMPLES = 50;
+	private static final int WINDOW_SIZE = 10;
+	private static final int DELAY = 1000;
+	private static final int INITIAL_DELAY = 1000;
+	private static final double DEFAULT_MIN_IMPROVEMENT = 1.2;
+	private static final double DEFAULT_MAX_PENALTY = 0.7;
+	private static final double DEFAULT_FINISHED_RATIO = 0.8;
+	private static final int DEFAULT_THREADS_NUMBER = 1;
+	private static final int DEFAULT_EXPLORATION_RATE = 16;
+	private static final double DEFAULT_EPSILON = 0.1;
+	// Operations of the shared instances of a window before it is analyzed
+	private static final long MIN_CONCURRENT_OPERATIONS = 10000;
+
+	protected static SwitchManager manager = new SwitchManager();
+	private static PerformanceGoal goal;
+	private static volatile boolean init;
+	private static AllocationContextBuilder builder;
+
+	private static ListEmpiricalPerformanceEvaluator listEvaluator;
+	private static SetEmpiricalPerformanceEvaluator setEvaluator;
+	private static MapEmpiricalPerformanceEvaluator mapEvaluator;
+
+	// Generic implementations plus the primitive ones of the element type
+	private static ListEmpiricalPerformanceEvaluator intListEvaluator;
+	private static ListEmpiricalPerformanceEvaluator longListEvaluator;
+	private static SetEmpiricalPerformanceEvaluator intSetEvaluator;
+	private static SetEmpiricalPerformanceEvaluator longSetEvaluator;
+	private static MapEmpiricalPerformanceEvaluator intMapEvaluator;
+	private static MapEmpiricalPerformanceEvaluator longMapEvaluator;
+
+	// Built-in models of the concurrent implementations
+	private static ConcurrentEmpiricalPerformanceEvaluator<ConcurrentMapCollectionType> concurrentMapEvaluator;
+	private static ConcurrentEmpiricalPerformanceEvaluator<ConcurrentSetCollectionType> concurrentSetEvaluator;
+
+	// Built-in models of the queues and deques
+	private static QueueEmpiricalPerformanceEvaluator queueEvaluator;
+
+	// Built-in models of the sorted maps and sets
+	private static SortedEmpiricalPerformanceEvaluator<SortedMapCollectionType> sortedMapEvaluator;
+	private static SortedEmpiricalPerformanceEvaluator<SortedSetCollectionType> sortedSetEvaluator;
+
+	// Built-in models of the bags and multimaps
+	private static CountingEmpiricalPerformanceEvaluator<BagCollectionType> bagEvaluator;
+	private static CountingEmpiricalPerformanceEvaluator<MultimapCollectionType> multimapEvaluator;
+
+	public static class AllocationContextBuilder {
+
+		// Default: EMPIRICAL
+		private AllocationContextAlgorithm algorithm = AllocationContextAlgorithm.EMPIRICAL;
+
+		private boolean hasLog = false;
+		private String logFile;
+
+		private boolean concurrent = false;
+		private int samplingRate = 0;
+		private int lightPeriod = 0;
+		private int keyProfilePeriod = 0;
+		private boolean migration = false;
+		private String models;
+		private String modelsCache;
+
+		private int windowSize = WINDOW_SIZE;
+		private int samples = SAMPLES;
+		private int initialDelay = INITIAL_DELAY;
+		private int delay = DELAY;
+		private int threadsNumber = DEFAULT_THREADS_NUMBER;
+
+		private double finishedRatio = DEFAULT_FINISHED_RATIO;
+		private PerformanceDimension majorDimension = PerformanceDimension.TIME;
+		private PerformanceDimension minorDimension = PerformanceDimension.ALLOCATION;
+		private double maxPenalty = DEFAULT_MAX_PENALTY;
+		private double minImprovement = DEFAULT_MIN_IMPROVEMENT;
+		private double confidence = PerformanceGoal.DEFAULT_CONFIDENCE;
+		private double hysteresis = PerformanceGoal.DEFAULT_HYSTERESIS;
+		private int cooldown = PerformanceGoal.DEFAULT_COOLDOWN;
+		private int explorationRate = DEFAULT_EXPLORATION_RATE;
+		private double epsilon = DEFAULT_EPSILON;
+
+		/**
+		 * EMPIRICAL selects the types from the performance models, while the
+		 * bandit algorithms measure the real cost of a sampled fraction of the
+		 * instances handed to every type, see {@link BanditPolicy}
+		 */
+		public enum AllocationContextAlgorithm {
+			EMPIRICAL, EPSILON_GREEDY, THOMPSON_SAMPLING;
+
+			public static AllocationContextAlgorithm parse(String algorithm) {
+				return valueOf(algorithm.toUpperCase().replace('-', '_'));
+			}
+		}
+
+		public AllocationContextBuilder() {
+		}
+
+		public AllocationContextBuilder withAlgorithm(AllocationContextAlgorithm algorithm) {
+			this.algorithm = algorithm;
+			return this;
+		}
+
+		public AllocationContextBuilder withLog(String logFile) {
+			this.hasLog = true;
+			this.logFile = logFile;
+			return this;
+		}
+
+		/**
+		 * Builds contexts that can be shared by many threads creating
+		 * collections at the same time.
+		 */
+		public AllocationContextBuilder withConcurrentContexts() {
+			this.concurrent = true;
+			return this;
+		}
+
+		/**
+		 * Monitors one in every {@code samplingRate} instances for the whole
+		 * lifetime of the context, instead of only the first window after each
+		 * switch. The rate is rounded up to the next power of two.
+		 */
+		public AllocationContextBuilder withSampling(int samplingRate) {
+			this.samplingRate = samplingRate;
+			return this;
+		}
+
+		/**
+		 * Monitors the sampled instances with light monitors, which record only
+		 * one in every {@code period} operations. Enables sampling of every
+		 * instance unless a sampling rate is set.
+		 */
+		public AllocationContextBuilder withLightMonitors(int period) {
+			this.lightPeriod = period;
+			return this;
+		}
+
+		/**
+		 * Profiles one in every {@code period} elements added to the monitored
+		 * lists or keys added to the monitored sets and maps, so that open
+		 * addressing is avoided for clustered hash codes and generic contexts
+		 * holding only Integer or Long values may select primitive
+		 * implementations.
+		 */
+		public AllocationContextBuilder withKeyProfiling(int period) {
+			this.keyProfilePeriod = period;
+			return this;
+		}
+
+		/**
+		 * Wraps the created collections so that they also move to a new type
+		 * selected after they were allocated.
+		 */
+		public AllocationContextBuilder withMigration() {
+			this.migration = true;
+			return this;
+		}
+
+		/**
+		 * Reads the performance models from the given model file instead of
+		 * the classpath or the built-in models. It only holds the models of
+		 * lists, sets and maps, the other contexts use the built-in ones.
+		 */
+		public AllocationContextBuilder withModels(String models) {
+			this.models = models;
+			return this;
+		}
+
+		/**
+		 * Caches the parsed model file in the given directory, so that later
+		 * startups neither read nor parse it while it does not change. The
+		 * directory must only be writable by the user.
+		 */
+		public AllocationContextBuilder withModelsCache(String modelsCache) {
+			this.modelsCache = modelsCache;
+			return this;
+		}
+
+		public AllocationContextBuilder windowSize(int windowSize) {
+			this.windowSize = windowSize;
+			return this;
+		}
+
+		public AllocationContextBuilder samples(int samples) {
+			this.samples = samples;
+			return this;
+		}
+
+		public AllocationContextBuilder withInitialDelay(int parseInt) {
+			this.initialDelay = parseInt;
+			return this;
+
+		}
+
+		public AllocationContextBuilder withDelay(int parseInt) {
+			this.delay = parseInt;
+			return this;
+
+		}
+
+		public AllocationContextBuilder withThreadsNumber(int parseInt) {
+			this.threadsNumber = parseInt;
+			return this;
+
+		}
+
+		public AllocationContextBuilder withFinishedRatio(double parseDouble) {
+			this.finishedRatio = parseDouble;
+			return this;
+
+		}
+
+		public AllocationContextBuilder withMajorDimension(PerformanceDimension parse) {
+			this.majorDimension = parse;
+			return this;
+		}
+
+		public AllocationContextBuilder withMinorDimension(PerformanceDimension parse) {
+			this.minorDimension = parse;
+			return this;
+
+		}
+
+		public void withMinImprovement(double parseDouble) {
+			this.minImprovement = parseDouble;
+
+		}
+
+		public void withMaxPenalty(double parseDouble) {
+			this.maxPenalty = parseDouble;
+
+		}
+
+		public AllocationContextBuilder withConfidence(double confidence) {
+			this.confidence = confidence;
+			return this;
+		}
+
+		public AllocationContextBuilder withHysteresis(double hysteresis) {
+			this.hysteresis = hysteresis;
+			return this;
+		}
+
+		public AllocationContextBuilder withCooldown(int cooldown) {
+			this.cooldown = cooldown;
+			return this;
+		}
+
+		/**
+		 * Hands one in every {@code explorationRate} instances to the bandit
+		 * algorithms. The rate is rounded up to the next power of two.
+		 */
+		public AllocationContextBuilder withExplorationRate(int explorationRate) {
+			this.explorationRate = explorationRate;
+			return this;
+		}
+
+		/**
+		 * Share of the measured instances the epsilon-greedy algorithm hands
+		 * to a random type
+		 */
+		public AllocationContextBuilder withEpsilon(double epsilon) {
+			this.epsilon = epsilon;
+			return this;
+		}
+
+	}
+
+	/*
+	 * LISTS
+	 */
+	public static ListAllocationContext buildListContext(ListCollectionType type, String identifier) {
+
+		if (!init) {
+			bootstrap();
+		}
+
+		return buildListContext(type, builder, identifier);
+	}
+
+	public synchronized static void bootstrap() {
+
+		// Double-checked: init is only published once everything is in place
+		if (init) {
+			return;
+		}
+
+		builder = parseCommandLine();
+
+		PerformanceModels models = loadModels(builder.models, builder.modelsCache);
+
+		listEvaluator = buildListEvaluator(models, Object.class);
+		setEvaluator = buildSetEvaluator(models, Object.class);
+		mapEvaluator = buildMapEvaluator(models, Object.class);
+
+		intListEvaluator = buildListEvaluator(models, Integer.class);
+		longListEvaluator = buildListEvaluator(models, Long.class);
+		intSetEvaluator = buildSetEvaluator(models, Integer.class);
+		longSetEvaluator = buildSetEvaluator(models, Long.class);
+		intMapEvaluator = buildMapEvaluator(models, Integer.class);
+		longMapEvaluator = buildMapEvaluator(models, Long.class);
+
+		concurrentMapEvaluator = new ConcurrentEmpiricalPerformanceEvaluator<ConcurrentMapCollectionType>();
+		concurrentMapEvaluator.addEmpiricalModel(PerformanceDimension.TIME,
+				PerformanceModelFactory.buildConcurrentMapsPerformanceModelTime());
+		concurrentMapEvaluator.addEmpiricalModel(PerformanceDimension.ALLOCATION,
+				PerformanceModelFactory.buildConcurrentMapsPerformanceModelAllocation());
+		concurrentMapEvaluator.addEmpiricalModel(PerformanceDimension.MEMORY_FOOTPRINT,
+				PerformanceModelFactory.buildConcurrentMapsPerformanceModelFootprint());
+
+		concurrentSetEvaluator = new ConcurrentEmpiricalPerformanceEvaluator<ConcurrentSetCollectionType>();
+		concurrentSetEvaluator.addEmpiricalModel(PerformanceDimension.TIME,
+				PerformanceModelFactory.buildConcurrentSetsPerformanceModelTime());
+		concurrentSetEvaluator.addEmpiricalModel(PerformanceDimension.ALLOCATION,
+				PerformanceModelFactory.buildConcurrentSetsPerformanceModelAllocation());
+		concurrentSetEvaluator.addEmpiricalModel(PerformanceDimension.MEMORY_FOOTPRINT,
+				PerformanceModelFactory.buildConcurrentSetsPerformanceModelFootprint());
+
+		queueEvaluator = new QueueEmpiricalPerformanceEvaluator();
+		queueEvaluator.addEmpiricalModel(PerformanceDimension.TIME,
+				PerformanceModelFactory.buildQueuesPerformanceModelTime());
+		queueEvaluator.addEmpiricalModel(PerformanceDimension.ALLOCATION,
+				PerformanceModelFactory.buildQueuesPerformanceModelAllocation());
+		queueEvaluator.addEmpiricalModel(PerformanceDimension.MEMORY_FOOTPRINT,
+				PerformanceModelFactory.buildQueuesPerformanceModelFootprint());
+
+		sortedMapEvaluator = new SortedEmpiricalPerformanceEvaluator<SortedMapCollectionType>();
+		sortedMapEvaluator.addEmpiricalModel(PerformanceDimension.TIME,
+				PerformanceModelFactory.buildSortedMapsPerformanceModelTime());
+		sortedMapEvaluator.addEmpiricalModel(PerformanceDimension.ALLOCATION,
+				PerformanceModelFactory.buildSortedMapsPerformanceModelAllocation());
+		sortedMapEvaluator.addEmpiricalModel(PerformanceDimension.MEMORY_FOOTPRINT,
+				PerformanceModelFactory.buildSortedMapsPerformanceModelFootprint());
+
+		sortedSetEvaluator = new SortedEmpiricalPerformanceEvaluator<SortedSetCollectionType>();
+		sortedSetEvaluator.addEmpiricalModel(PerformanceDimension.TIME,
+				PerformanceModelFactory.buildSortedSetsPerformanceModelTime());
+		sortedSetEvaluator.addEmpiricalModel(PerformanceDimension.ALLOCATION,
+				PerformanceModelFactory.buildSortedSetsPerformanceModelAllocation());
+		sortedSetEvaluator.addEmpiricalModel(PerformanceDimension.MEMORY_FOOTPRINT,
+				PerformanceModelFactory.buildSortedSetsPerformanceModelFootprint());
+
+		bagEvaluator = new CountingEmpiricalPerformanceEvaluator<BagCollectionType>();
+		bagEvaluator.addEmpiricalModel(PerformanceDimension.TIME,
+				PerformanceModelFactory.buildBagsPerformanceModelTime());
+		bagEvaluator.addEmpiricalModel(PerformanceDimension.ALLOCATION,
+				PerformanceModelFactory.buildBagsPerformanceModelAllocation());
+		bagEvaluator.addEmpiricalModel(PerformanceDimension.MEMORY_FOOTPRINT,
+				PerformanceModelFactory.buildBagsPerformanceModelFootprint());
+
+		multimapEvaluator = new CountingEmpiricalPerformanceEvaluator<MultimapCollectionType>();
+		multimapEvaluator.addEmpiricalModel(PerformanceDimension.TIME,
+				PerformanceModelFactory.buildMultimapsPerformanceModelTime());
+		multimapEvaluator.addEmpiricalModel(PerformanceDimension.ALLOCATION,
+				PerformanceModelFactory.buildMultimapsPerformanceModelAllocation());
+		multimapEvaluator.addEmpiricalModel(PerformanceDimension.MEMORY_FOOTPRINT,
+				PerformanceModelFactory.buildMultimapsPerformanceModelFootprint());
+
+		goal = new PerformanceGoal(builder.majorDimension, builder.minorDimension, builder.minImprovement,
+				builder.maxPenalty, builder.confidence, builder.hysteresis, builder.cooldown);
+
+		manager.configureAndScheduleManager(builder.threadsNumber, builder.initialDelay, builder.delay);
+
+		init = true;
+
+	}
+
+	/**
+	 * Models from the configured file or the classpath, or {@code null} for the
+	 * built-in models
+	 */
+	private static PerformanceModels loadModels(String path, String cacheDir) {
+		try {
+			if (path != null) {
+				return PerformanceModelLoader.load(new File(path), cacheDir == null ? null : new File(cacheDir));
+			}
+			return PerformanceModelLoader.loadResource(PerformanceModelLoader.DEFAULT_RESOURCE);
+		} catch (IOException e) {
+			throw new IllegalStateException("Cannot read the performance models", e);
+		}
+	}
+
+	/**
+	 * Evaluator of the implementations that accept the given element type,
+	 * from the loaded models or the built-in ones
+	 */
+	private static ListEmpiricalPerformanceEvaluator buildListEvaluator(PerformanceModels models,
+			Class<?> elementType) {
+
+		if (models != null) {
+			return models.buildListEvaluator(elementType);
+		}
+
+		ListEmpiricalPerformanceEvaluator evaluator = new ListEmpiricalPerformanceEvaluator();
+		evaluator.addEmpiricalModel(PerformanceDimension.TIME,
+				PerformanceModelFactory.buildListPerformanceModelsTime(elementType));
+		evaluator.addEmpiricalModel(PerformanceDimension.ALLOCATION,
+				PerformanceModelFactory.buildListPerformanceModelsAllocation(elementType));
+		evaluator.addEmpiricalModel(PerformanceDimension.MEMORY_FOOTPRINT,
+				PerformanceModelFactory.buildListPerformanceModelsFootprint(elementType));
+		return evaluator;
+	}
+
+	private static SetEmpiricalPerformanceEvaluator buildSetEvaluator(PerformanceModels models,
+			Class<?> elementType) {
+
+		if (models != null) {
+			return models.buildSetEvaluator(elementType);
+		}
+
+		SetEmpiricalPerformanceEvaluator evaluator = new SetEmpiricalPerformanceEvaluator();
+		evaluator.addEmpiricalModel(PerformanceDimension.TIME,
+				PerformanceModelFactory.buildSetsPerformanceModelTime(elementType));
+		evaluator.addEmpiricalModel(PerformanceDimension.ALLOCATION,
+				PerformanceModelFactory.buildSetsPerformanceModelAllocation(elementType));
+		evaluator.addEmpiricalModel(PerformanceDimension.MEMORY_FOOTPRINT,
+				PerformanceModelFactory.buildSetsPerformanceModelFootprint(elementType));
+		return evaluator;
+	}
+
+	private static MapEmpiricalPerformanceEvaluator buildMapEvaluator(PerformanceModels models, Class<?> keyType) {
+
+		if (models != null) {
+			return models.buildMapEvaluator(keyType);
+		}
+
+		MapEmpiricalPerformanceEvaluator evaluator = new MapEmpiricalPerformanceEvaluator();
+		evaluator.addEmpiricalModel(PerformanceDimension.TIME,
+				PerformanceModelFactory.buildMapsPerformanceModelTime(keyType));
+		evaluator.addEmpiricalModel(PerformanceDimension.ALLOCATION,
+				PerformanceModelFactory.buildMapsPerformanceModelAllocation(keyType));
+		evaluator.addEmpiricalModel(PerformanceDimension.MEMORY_FOOTPRINT,
+				PerformanceModelFactory.buildMapsPerformanceModelFootprint(keyType));
+		return evaluator;
+	}
+
+	/**
+	 * Context of lists of ints, which selects among the generic
+	 * implementations and the primitive ones of int elements
+	 */
+	public static IntListAllocationContext buildIntListContext(ListCollectionType type, String identifier) {
+		checkType(type.accepts(Integer.class), type);
+		if (!init) {
+			bootstrap();
+		}
+		return new PrimitiveListAllocationContext.OfInt(
+				buildListContext(type, intListEvaluator, Integer.class, builder, identifier));
+	}
+
+	public static LongListAllocationContext buildLongListContext(ListCollectionType type, String identifier) {
+		checkType(type.accepts(Long.class), type);
+		if (!init) {
+			bootstrap();
+		}
+		return new PrimitiveListAllocationContext.OfLong(
+				buildListContext(type, longListEvaluator, Long.class, builder, identifier));
+	}
+
+	private static Strategy strategy(AllocationContextBuilder.AllocationContextAlgorithm algorithm) {
+		return algorithm == AllocationContextBuilder.AllocationContextAlgorithm.THOMPSON_SAMPLING
+				? Strategy.THOMPSON_SAMPLING : Strategy.EPSILON_GREEDY;
+	}
+
+	private static void checkType(boolean accepted, Enum<?> type) {
+		if (!accepted) {
+			throw new IllegalArgumentException("Unsupported element type for " + type);
+		}
+	}
+
+	private static ListAllocationContext buildListContext(ListCollectionType type, AllocationContextBuilder builder,
+			String identifier) {
+		return buildListContext(type, listEvaluator, Object.class, builder, identifier);
+	}
+
+	private static ListAllocationContext buildListContext(ListCollectionType type,
+			ListEmpiricalPerformanceEvaluator evaluator, Class<?> elementType, AllocationContextBuilder builder,
+			String identifier) {
+
+		final ListAllocationOptimizer optimizer;
+		ListAllocationContextInfo context = null;
+
+		// Build the optimizer
+		switch (builder.algorithm) {
+
+		case EPSILON_GREEDY:
+		case THOMPSON_SAMPLING:
+			BanditListOptimizer banditOptimizer = new BanditListOptimizer(type, elementType, goal,
+					strategy(builder.algorithm), builder.epsilon, 2 * builder.windowSize);
+			optimizer = banditOptimizer;
+			context = new BanditListAllocationContext(type, banditOptimizer, builder.explorationRate, elementType);
+
+			if (builder.migration) {
+				context = new MigratingListAllocationContext(type, context);
+			}
+			break;
+
+		case EMPIRICAL:
+		default:
+			ListEmpiricalOptimizer listOptimizer = new ListEmpiricalOptimizer(evaluator, type, goal,
+					builder.windowSize, builder.finishedRatio);
+			listOptimizer.setElementType(elementType);
+			if (builder.keyProfilePeriod > 0) {
+				listOptimizer.setKeyProfile(new KeyProfile(builder.keyProfilePeriod));
+			}
+			optimizer = listOptimizer;
+
+			if (builder.samplingRate > 0 || builder.lightPeriod > 0) {
+				context = new SamplingListAllocationContext(type, optimizer, Math.max(1, builder.samplingRate),
+						builder.lightPeriod, elementType);
+			} else if (builder.concurrent) {
+				context = new ConcurrentEmpiricalListAllocationContext(type, optimizer, builder.windowSize,
+						elementType);
+			} else {
+				context = new EmpiricalListAllocationContext(type, optimizer, builder.windowSize, elementType);
+			}
+
+			if (builder.migration) {
+				context = new MigratingListAllocationContext(type, context);
+			}
+		}
+
+		manager.addOptimizer(optimizer);
+		// Print the log of the changes
+		if (builder.hasLog) {
+			ListAllocationContext logContext = new LogListAllocationContext(context, identifier, builder.logFile);
+			optimizer.setContext(logContext);
+			return logContext;
+
+		} else {
+			optimizer.setContext(context);
+			return context;
+		}
+		
+
+	}
+
+	/*
+	 * ------------------------------- SETS -------------------------------
+	 */
+	public static <E> SetAllocationContext buildSetContext(SetCollectionType type, String identifier) {
+
+		if (!init) {
+			bootstrap();
+		}
+		return buildSetContext(type, builder, identifier);
+
+	}
+
+	public static IntSetAllocationContext buildIntSetContext(SetCollectionType type, String identifier) {
+		checkType(type.accepts(Integer.class), type);
+		if (!init) {
+			bootstrap();
+		}
+		return new PrimitiveSetAllocationContext.OfInt(buildSetContext(type, intSetEvaluator, Integer.class, builder, identifier));
+	}
+
+	public static LongSetAllocationContext buildLongSetContext(SetCollectionType type, String identifier) {
+		checkType(type.accepts(Long.class), type);
+		if (!init) {
+			bootstrap();
+		}
+		return new PrimitiveSetAllocationContext.OfLong(buildSetContext(type, longSetEvaluator, Long.class, builder, identifier));
+	}
+
+	public static <E> SetAllocationContext buildSetContext(SetCollectionType type, AllocationContextBuilder builder,
+			String identifier) {
+		return buildSetContext(type, setEvaluator, Object.class, builder, identifier);
+	}
+
+	private static SetAllocationContext buildSetContext(SetCollectionType type,
+			SetEmpiricalPerformanceEvaluator evaluator, Class<?> elementType, AllocationContextBuilder builder,
+			String identifier) {
+
+		SetAllocationOptimizer optimizer = null;
+		SetAllocationContextInfo context = null;
+
+		// Build the optimizer
+		switch (builder.algorithm) {
+
+		case EPSILON_GREEDY:
+		case THOMPSON_SAMPLING:
+			BanditSetOptimizer banditOptimizer = new BanditSetOptimizer(type, elementType, goal,
+					strategy(builder.algorithm), builder.epsilon, 2 * builder.windowSize);
+			optimizer = banditOptimizer;
+			context = new BanditSetAllocationContext(type, banditOptimizer, builder.explorationRate, elementType);
+
+			if (builder.migration) {
+				context = new MigratingSetAllocationContext(type, context);
+			}
+			break;
+
+		case EMPIRICAL:
+			SetEmpiricalOptimizer setOptimizer = new SetEmpiricalOptimizer(evaluator, type, goal,
+					builder.windowSize, builder.finishedRatio);
+			setOptimizer.setElementType(elementType);
+			if (builder.keyProfilePeriod > 0) {
+				setOptimizer.setKeyProfile(new KeyProfile(builder.keyProfilePeriod));
+			}
+			optimizer = setOptimizer;
+			if (builder.samplingRate > 0 || builder.lightPeriod > 0) {
+				context = new SamplingSetAllocationContext(type, optimizer, Math.max(1, builder.samplingRate),
+						builder.lightPeriod, elementType);
+			} else if (builder.concurrent) {
+				context = new ConcurrentEmpiricalSetAllocationContext(type, optimizer, builder.windowSize,
+						elementType);
+			} else {
+				context = new EmpiricalSetAllocationContext(type, optimizer, builder.windowSize, elementType);
+			}
+
+			if (builder.migration) {
+				context = new MigratingSetAllocationContext(type, context);
+			}
+			break;
+		}
+		
+		manager.addOptimizer(optimizer);
+
+		// Print the log of the changes
+		if (builder.hasLog) {
+			SetAllocationContext logContext = new LogSetAllocationContext(context, identifier, builder.logFile);
+			optimizer.setContext(logContext);
+			return logContext;
+
+		} else {
+			optimizer.setContext(context);
+			return context;
+		}
+
+		
+
+	}
+
+	/*
+	 * ------------------------------- MAPS -------------------------------
+	 */
+	public static <K, V> MapAllocationContext buildMapContext(MapCollectionType type, String identifier) {
+
+		if (!init) {
+			bootstrap();
+		}
+
+		return buildMapContext(type, builder, identifier);
+
+	}
+
+	public static IntObjMapAllocationContext buildIntObjMapContext(MapCollectionType type, String identifier) {
+		checkType(type.accepts(Integer.class), type);
+		if (!init) {
+			bootstrap();
+		}
+		return new PrimitiveMapAllocationContext.OfInt(buildMapContext(type, intMapEvaluator, Integer.class, builder, identifier));
+	}
+
+	public static LongObjMapAllocationContext buildLongObjMapContext(MapCollectionType type, String identifier) {
+		checkType(type.accepts(Long.class), type);
+		if (!init) {
+			bootstrap();
+		}
+		return new PrimitiveMapAllocationContext.OfLong(buildMapContext(type, longMapEvaluator, Long.class, builder, identifier));
+	}
+
+	public static MapAllocationContext buildMapContext(MapCollectionType type, AllocationContextBuilder builder,
+			String identifier) {
+		return buildMapContext(type, mapEvaluator, Object.class, builder, identifier);
+	}
+
+	private static MapAllocationContext buildMapContext(MapCollectionType type,
+			MapEmpiricalPerformanceEvaluator evaluator, Class<?> elementType, AllocationContextBuilder builder,
+			String identifier) {
+
+		// Build the context + optimizer
+		MapAllocationOptimizer optimizer = null;
+		MapAllocationContextInfo context = null;
+
+		// Build the optimizer
+		switch (builder.algorithm) {
+
+		case EPSILON_GREEDY:
+		case THOMPSON_SAMPLING:
+			BanditMapOptimizer banditOptimizer = new BanditMapOptimizer(type, elementType, goal,
+					strategy(builder.algorithm), builder.epsilon, 2 * builder.windowSize);
+			optimizer = banditOptimizer;
+			context = new BanditMapAllocationContext(type, banditOptimizer, builder.explorationRate, elementType);
+
+			if (builder.migration) {
+				context = new MigratingMapAllocationContext(type, context);
+			}
+			break;
+
+		case EMPIRICAL:
+			MapEmpiricalOptimizer mapOptimizer = new MapEmpiricalOptimizer(evaluator, type, goal,
+					builder.windowSize, builder.finishedRatio);
+			mapOptimizer.setElementType(elementType);
+			if (builder.keyProfilePeriod > 0) {
+				mapOptimizer.setKeyProfile(new KeyProfile(builder.keyProfilePeriod));
+			}
+			optimizer = mapOptimizer;
+			if (builder.samplingRate > 0 || builder.lightPeriod > 0) {
+				context = new SamplingMapAllocationContext(type, optimizer, Math.max(1, builder.samplingRate),
+						builder.lightPeriod, elementType);
+			} else if (builder.concurrent) {
+				context = new ConcurrentEmpiricalMapAllocationContext(type, optimizer, builder.windowSize,
+						elementType);
+			} else {
+				context = new EmpiricalMapAllocationContext(type, optimizer, builder.windowSize, elementType);
+			}
+
+			if (builder.migration) {
+				context = new MigratingMapAllocationContext(type, context);
+			}
+			break;
+		}
+		manager.addOptimizer(optimizer);
+
+		// Print the log of the changes
+		if (builder.hasLog) {
+			MapAllocationContext logContext = new LogMapAllocationContext(context, identifier, builder.logFile);
+			optimizer.setContext(logContext);
+			return logContext;
+
+		} else {
+			optimizer.setContext(context);
+			return context;
+		}
+
+	}
+
+	/*
+	 * ------------------------- CONCURRENT MAPS AND SETS -------------------------
+	 */
+
+	/**
+	 * Context of maps shared by many threads, such as caches. Its instances
+	 * are always thread-safe, whatever the configuration. It selects them with
+	 * the built-in concurrent models, a model file only replaces the models of
+	 * lists, sets and maps
+	 */
+	public static ConcurrentMapAllocationContext buildConcurrentMapContext(ConcurrentMapCollectionType type,
+			String identifier) {
+
+		if (!init) {
+			bootstrap();
+		}
+
+		ConcurrentMapEmpiricalOptimizer optimizer = new ConcurrentMapEmpiricalOptimizer(concurrentMapEvaluator, type,
+				goal, MIN_CONCURRENT_OPERATIONS);
+		ConcurrentMapAllocationContextInfo context = new EmpiricalConcurrentMapAllocationContext(type, optimizer,
+				builder.windowSize);
+		manager.addOptimizer(optimizer);
+
+		// Print the log of the changes
+		if (builder.hasLog) {
+			ConcurrentMapAllocationContext logContext = new LogConcurrentMapAllocationContext(context, identifier,
+					builder.logFile);
+			optimizer.setContext(logContext);
+			return logContext;
+		}
+
+		optimizer.setContext(context);
+		return context;
+
+	}
+
+	/**
+	 * Context of sets shared by many threads, see
+	 * {@link #buildConcurrentMapContext(ConcurrentMapCollectionType, String)}
+	 */
+	public static ConcurrentSetAllocationContext buildConcurrentSetContext(ConcurrentSetCollectionType type,
+			String identifier) {
+
+		if (!init) {
+			bootstrap();
+		}
+
+		ConcurrentSetEmpiricalOptimizer optimizer = new ConcurrentSetEmpiricalOptimizer(concurrentSetEvaluator, type,
+				goal, MIN_CONCURRENT_OPERATIONS);
+		ConcurrentSetAllocationContextInfo context = new EmpiricalConcurrentSetAllocationContext(type, optimizer,
+				builder.windowSize);
+		manager.addOptimizer(optimizer);
+
+		// Print the log of the changes
+		if (builder.hasLog) {
+			ConcurrentSetAllocationContext logContext = new LogConcurrentSetAllocationContext(context, identifier,
+					builder.logFile);
+			optimizer.setContext(logContext);
+			return logContext;
+		}
+
+		optimizer.setContext(context);
+		return context;
+
+	}
+
+	/*
+	 * ------------------------- QUEUES AND DEQUES -------------------------
+	 */
+
+	/**
+	 * Context of queues, which selects among the FIFO queues or among the
+	 * priority queues, depending on the given type. It selects them with the
+	 * built-in queue models, a model file does not replace them
+	 */
+	public static QueueAllocationContext buildQueueContext(QueueCollectionType type, String identifier) {
+
+		if (!init) {
+			bootstrap();
+		}
+
+		QueueEmpiricalOptimizer optimizer = new QueueEmpiricalOptimizer(queueEvaluator, type, goal,
+				builder.windowSize, builder.finishedRatio);
+		QueueAllocationContextInfo context = new EmpiricalQueueAllocationContext(type, optimizer, builder.windowSize);
+		manager.addOptimizer(optimizer);
+
+		// Print the log of the changes
+		if (builder.hasLog) {
+			QueueAllocationContext logContext = new LogQueueAllocationContext(context, identifier, builder.logFile);
+			optimizer.setContext(logContext);
+			return logContext;
+		}
+
+		optimizer.setContext(context);
+		return context;
+
+	}
+
+	/**
+	 * Context of deques, which also selects among the deques only
+	 */
+	public static DequeAllocationContext buildDequeContext(QueueCollectionType type, String identifier) {
+		if (!type.isDeque()) {
+			throw new IllegalArgumentException("Not a deque: " + type);
+		}
+		if (!init) {
+			bootstrap();
+		}
+
+		QueueEmpiricalOptimizer optimizer = new QueueEmpiricalOptimizer(queueEvaluator, type, goal,
+				builder.windowSize, builder.finishedRatio);
+		DequeAllocationContextInfo context = new EmpiricalDequeAllocationContext(type, optimizer, builder.windowSize);
+		manager.addOptimizer(optimizer);
+
+		// Print the log of the changes
+		if (builder.hasLog) {
+			DequeAllocationContext logContext = new LogDequeAllocationContext(context, identifier, builder.logFile);
+			optimizer.setContext(logContext);
+			return logContext;
+		}
+
+		optimizer.setContext(context);
+		return context;
+
+	}
+
+	/*
+	 * ------------------------- SORTED MAPS AND SETS -------------------------
+	 */
+
+	/**
+	 * Context of sorted maps, which selects among all the sorted maps as
+	 * thread-safe as the given type. It selects them with the built-in sorted
+	 * models, a model file does not replace them
+	 */
+	public static SortedMapAllocationContext buildSortedMapContext(SortedMapCollectionType type,
+			String identifier) {
+
+		if (!init) {
+			bootstrap();
+		}
+
+		SortedMapEmpiricalOptimizer optimizer = new SortedMapEmpiricalOptimizer(sortedMapEvaluator, type, false,
+				goal, builder.windowSize, builder.finishedRatio);
+		SortedMapAllocationContextInfo context = new EmpiricalSortedMapAllocationContext(type, optimizer,
+				builder.windowSize);
+		manager.addOptimizer(optimizer);
+
+		// Print the log of the changes
+		if (builder.hasLog) {
+			SortedMapAllocationContext logContext = new LogSortedMapAllocationContext(context, identifier,
+					builder.logFile);
+			optimizer.setContext(logContext);
+			return logContext;
+		}
+
+		optimizer.setContext(context);
+		return context;
+
+	}
+
+	/**
+	 * Context of navigable maps, which also selects among the navigable maps
+	 * only
+	 */
+	public static NavigableMapAllocationContext buildNavigableMapContext(SortedMapCollectionType type,
+			String identifier) {
+		if (!type.isNavigable()) {
+			throw new IllegalArgumentException("Not navigable: " + type);
+		}
+		if (!init) {
+			bootstrap();
+		}
+
+		SortedMapEmpiricalOptimizer optimizer = new SortedMapEmpiricalOptimizer(sortedMapEvaluator, type, true,
+				goal, builder.windowSize, builder.finishedRatio);
+		NavigableMapAllocationContextInfo context = new EmpiricalNavigableMapAllocationContext(type, optimizer,
+				builder.windowSize);
+		manager.addOptimizer(optimizer);
+
+		// Print the log of the changes
+		if (builder.hasLog) {
+			NavigableMapAllocationContext logContext = new LogNavigableMapAllocationContext(context, identifier,
+					builder.logFile);
+			optimizer.setContext(logContext);
+			return logContext;
+		}
+
+		optimizer.setContext(context);
+		return context;
+
+	}
+
+	/**
+	 * Context of sorted sets, which selects among all the sorted sets as
+	 * thread-safe as the given type
+	 */
+	public static SortedSetAllocationContext buildSortedSetContext(SortedSetCollectionType type,
+			String identifier) {
+
+		if (!init) {
+			bootstrap();
+		}
+
+		SortedSetEmpiricalOptimizer optimizer = new SortedSetEmpiricalOptimizer(sortedSetEvaluator, type, false,
+				goal, builder.windowSize, builder.finishedRatio);
+		SortedSetAllocationContextInfo context = new EmpiricalSortedSetAllocationContext(type, optimizer,
+				builder.windowSize);
+		manager.addOptimizer(optimizer);
+
+		// Print the log of the changes
+		if (builder.hasLog) {
+			SortedSetAllocationContext logContext = new LogSortedSetAllocationContext(context, identifier,
+					builder.logFile);
+			optimizer.setContext(logContext);
+			return logContext;
+		}
+
+		optimizer.setContext(context);
+		return context;
+
+	}
+
+	/**
+	 * Context of navigable sets, which also selects among the navigable sets
+	 * only
+	 */
+	public static NavigableSetAllocationContext buildNavigableSetContext(SortedSetCollectionType type,
+			String identifier) {
+		if (!type.isNavigable()) {
+			throw new IllegalArgumentException("Not navigable: " + type);
+		}
+		if (!init) {
+			bootstrap();
+		}
+
+		SortedSetEmpiricalOptimizer optimizer = new SortedSetEmpiricalOptimizer(sortedSetEvaluator, type, true,
+				goal, builder.windowSize, builder.finishedRatio);
+		NavigableSetAllocationContextInfo context = new EmpiricalNavigableSetAllocationContext(type, optimizer,
+				builder.windowSize);
+		manager.addOptimizer(optimizer);
+
+		// Print the log of the changes
+		if (builder.hasLog) {
+			NavigableSetAllocationContext logContext = new LogNavigableSetAllocationContext(context, identifier,
+					builder.logFile);
+			optimizer.setContext(logContext);
+			return logContext;
+		}
+
+		optimizer.setContext(context);
+		return context;
+
+	}
+
+	/*
+	 * ------------------------- BAGS AND MULTIMAPS -------------------------
+	 */
+
+	/**
+	 * Context of bags, which selects among the bags ordered as the given type.
+	 * It selects them with the built-in counting models, a model file does not
+	 * replace them
+	 */
+	public static BagAllocationContext buildBagContext(BagCollectionType type, String identifier) {
+
+		if (!init) {
+			bootstrap();
+		}
+
+		BagEmpiricalOptimizer optimizer = new BagEmpiricalOptimizer(bagEvaluator, type, goal, builder.windowSize,
+				builder.finishedRatio);
+		BagAllocationContextInfo context = new EmpiricalBagAllocationContext(type, optimizer, builder.windowSize);
+		manager.addOptimizer(optimizer);
+
+		// Print the log of the changes
+		if (builder.hasLog) {
+			BagAllocationContext logContext = new LogBagAllocationContext(context, identifier, builder.logFile);
+			optimizer.setContext(logContext);
+			return logContext;
+		}
+
+		optimizer.setContext(context);
+		return context;
+
+	}
+
+	/**
+	 * Context of multimaps, which selects among the list valued or the set
+	 * valued multimaps as the given type
+	 */
+	public static MultimapAllocationContext buildMultimapContext(MultimapCollectionType type,
+			String identifier) {
+
+		if (!init) {
+			bootstrap();
+		}
+
+		MultimapEmpiricalOptimizer optimizer = new MultimapEmpiricalOptimizer(multimapEvaluator, type, goal,
+				builder.windowSize, builder.finishedRatio);
+		MultimapAllocationContextInfo context = new EmpiricalMultimapAllocationContext(type, optimizer,
+				builder.windowSize);
+		manager.addOptimizer(optimizer);
+
+		// Print the log of the changes
+		if (builder.hasLog) {
+			MultimapAllocationContext logContext = new LogMultimapAllocationContext(context, identifier,
+					builder.logFile);
+			optimizer.setContext(logContext);
+			return logContext;
+		}
+
+		optimizer.setContext(context);
+		return context;
+
+	}
+
+	/*
+	 * COMMAND LINE
+	 */
+	public static AllocationContextBuilder parseCommandLine() {
+
+		AllocationContextBuilder builder = new AllocationContextBuilder();
+
+		String windowSizeStr = System.getProperty("windowSize");
+		if (windowSizeStr != null) {
+			builder.windowSize(Integer.parseInt(windowSizeStr));
+		}
+
+		String sampleStr = System.getProperty("samples");
+		if (sampleStr != null) {
+			builder.samples(Integer.parseInt(sampleStr));
+		}
+
+		String logFile = System.getProperty("log");
+		if (logFile != null) {
+			builder.withLog(logFile);
+		}
+
+		logFile = System.getProperty("logOutput");
+		if (logFile != null) {
+			builder.withLog(logFile);
+		}
+
+		String concurrent = System.getProperty("concurrent");
+		if (concurrent != null && Boolean.parseBoolean(concurrent)) {
+			builder.withConcurrentContexts();
+		}
+
+		String samplingRate = System.getProperty("samplingRate");
+		if (samplingRate != null) {
+			builder.withSampling(Integer.parseInt(samplingRate));
+		}
+
+		String lightPeriod = System.getProperty("lightMonitors");
+		if (lightPeriod != null) {
+			builder.withLightMonitors(Integer.parseInt(lightPeriod));
+		}
+
+		String keyProfiling = System.getProperty("keyProfiling");
+		if (keyProfiling != null) {
+			builder.withKeyProfiling(Integer.parseInt(keyProfiling));
+		}
+
+		String migration = System.getProperty("migration");
+		if (migration != null && Boolean.parseBoolean(migration)) {
+			builder.withMigration();
+		}
+
+		String models = System.getProperty("models");
+		if (models != null) {
+			builder.withModels(models);
+		}
+
+		String modelsCache = System.getProperty("modelsCache");
+		if (modelsCache != null) {
+			builder.withModelsCache(modelsCache);
+		}
+
+		String initialDelay = System.getProperty("initialDelay");
+		if (initialDelay != null) {
+			builder.withInitialDelay(Integer.parseInt(initialDelay));
+		}
+
+		String delay = System.getProperty("delay");
+		if (delay != null) {
+			builder.withDelay(Integer.parseInt(delay));
+		}
+
+		String threads = System.getProperty("threads");
+		if (threads != null) {
+			builder.withThreadsNumber(Integer.parseInt(threads));
+		}
+
+		String finished = System.getProperty("finishedRatio");
+		if (threads != null) {
+			builder.withFinishedRatio(Double.parseDouble(finished));
+		}
+
+		String majorDimension = System.getProperty("majorDimension");
+		if (majorDimension != null) {
+			builder.withMajorDimension(PerformanceGoal.PerformanceDimension.parse(majorDimension));
+		}
+
+		String minImprovement = System.getProperty("minImprovement");
+		if (minImprovement != null) {
+			builder.withMinImprovement(Double.parseDouble(minImprovement));
+		}
+
+		String minorDimension = System.getProperty("minorDimension");
+		if (minorDimension != null) {
+			builder.withMinorDimension(PerformanceGoal.PerformanceDimension.parse(minorDimension));
+		}
+
+		String maxPenalty = System.getProperty("maxPenalty");
+		if (maxPenalty != null) {
+			builder.withMaxPenalty(Double.parseDouble(maxPenalty));
+		}
+
+		String confidence = System.getProperty("confidence");
+		if (confidence != null) {
+			builder.withConfidence(Double.parseDouble(confidence));
+		}
+
+		String hysteresis = System.getProperty("hysteresis");
+		if (hysteresis != null) {
+			builder.withHysteresis(Double.parseDouble(hysteresis));
+		}
+
+		String cooldown = System.getProperty("cooldown");
+		if (cooldown != null) {
+			builder.withCooldown(Integer.parseInt(cooldown));
+		}
+
+		String algorithm = System.getProperty("algorithm");
+		if (algorithm != null) {
+			builder.withAlgorithm(AllocationContextBuilder.AllocationContextAlgorithm.parse(algorithm));
+		}
+
+		String explorationRate = System.getProperty("explorationRate");
+		if (explorationRate != null) {
+			builder.withExplorationRate(Integer.parseInt(explorationRate));
+		}
+
+		String epsilon = System.getProperty("epsilon");
+		if (epsilon != null) {
+			builder.withEpsilon(Double.parseDouble(epsilon));
+		}
+
+		return builder;
+
+	}
+
+}
@@ -1,203 +1,1568 @@
-package de.heidelberg.pvs.diego.collectionswitch.factories;
-
-import java.util.List;
-
-import de.heidelberg.pvs.diego.collectionswitch.context.ListCollectionType;
-import de.heidelberg.pvs.diego.collectionswitch.context.MapCollectionType;
-import de.heidelberg.pvs.diego.collectionswitch.context.SetCollectionType;
-import de.heidelberg.pvs.diego.collectionswitch.optimizers.lists.ListPerformanceModel;
-import de.heidelberg.pvs.diego.collectionswitch.optimizers.maps.MapPerformanceModel;
-import de.heidelberg.pvs.diego.collectionswitch.optimizers.sets.SetPerformanceModel;
-
-public class PerformanceModelFactory {
-
-	// TODO: Hard-coded performance model factory
-	// This should be implemented as an input
-
-	public static List<ListPerformanceModel> buildListPerformanceModelsTime() {
-
-		List<ListPerformanceModel> performanceModel = new java.util.ArrayList<ListPerformanceModel>();
-
-		// AUTOMATICALLY GENERATED - VARIABLE TIME
-		ListPerformanceModel ArrayListTime = new ListPerformanceModel(ListCollectionType.JDK_ARRAYLIST,
-				new double[] { -68.142119, 7.590974, -0.005205 }, new double[] { 29.950540, 0.518341, -0.000141 },
-				new double[] { 5.550586, 4.244929, -0.000151 });
-		performanceModel.add(ArrayListTime);
-		// AUTOMATICALLY GENERATED - VARIABLE TIME
-		ListPerformanceModel LinkedListTime = new ListPerformanceModel(ListCollectionType.JDK_LINKEDLIST,
-				new double[] { 41.580798, 5.373206, 0.001918 }, new double[] { 29.367605, 0.924321, -0.000051 },
-				new double[] { -2.464303, 4.757063, -0.000942 });
-		performanceModel.add(LinkedListTime);
-		// AUTOMATICALLY GENERATED - VARIABLE TIME
-		ListPerformanceModel AdaptiveListTime = new ListPerformanceModel(ListCollectionType.ONLINEADAPTER_ADAPTIVELIST,
-				new double[] { -749.209976, 46.435289, -0.011771 }, new double[] { 38.666151, 0.055588, -0.000107 },
-				new double[] { 6.983691, 4.373944, 0.000872 });
-		performanceModel.add(AdaptiveListTime);
-		// AUTOMATICALLY GENERATED - VARIABLE TIME
-		ListPerformanceModel HashArrayListTime = new ListPerformanceModel(
-				ListCollectionType.ONLINEADAPTER_HASHARRAYLIST, new double[] { -95.816045, 42.094208, -0.011714 },
-				new double[] { 29.264840, 0.094781, -0.000152 }, new double[] { 2.657610, 4.177008, 0.000677 });
-		performanceModel.add(HashArrayListTime);
-
-		return performanceModel;
-		
-	}
-
-	public static List<ListPerformanceModel> buildListPerformanceModelsAllocation() {
-
-		List<ListPerformanceModel> performanceModel = new java.util.ArrayList<ListPerformanceModel>();
-		// AUTOMATICALLY GENERATED - VARIABLE ·GC.ALLOC.RATE.NORM
-		ListPerformanceModel ArrayListgcallocratenorm = new ListPerformanceModel(ListCollectionType.JDK_ARRAYLIST,
-				new double[] { -119.004257, 19.299468, -0.009556 }, new double[] { -0.856593, 0.029089, -0.000005 },
-				new double[] { 0.000006, 0.000006, -0.000000 });
-		performanceModel.add(ArrayListgcallocratenorm);
-		// AUTOMATICALLY GENERATED - VARIABLE ·GC.ALLOC.RATE.NORM
-		ListPerformanceModel LinkedListgcallocratenorm = new ListPerformanceModel(ListCollectionType.JDK_LINKEDLIST,
-				new double[] { 32.000062, 24.000007, 0.000000 }, new double[] { -0.856598, 0.029089, -0.000005 },
-				new double[] { -0.000006, 0.000006, -0.000000 });
-		performanceModel.add(LinkedListgcallocratenorm);
-		// AUTOMATICALLY GENERATED - VARIABLE ·GC.ALLOC.RATE.NORM
-		ListPerformanceModel AdaptiveListgcallocratenorm = new ListPerformanceModel(
-				ListCollectionType.ONLINEADAPTER_ADAPTIVELIST, new double[] { -1228.127328, 77.053782, -0.048796 },
-				new double[] { -0.856823, 0.029098, -0.000005 }, new double[] { -0.648953, 0.001387, 0.000146 });
-		performanceModel.add(AdaptiveListgcallocratenorm);
-		// AUTOMATICALLY GENERATED - VARIABLE ·GC.ALLOC.RATE.NORM
-		ListPerformanceModel HashArrayListgcallocratenorm = new ListPerformanceModel(
-				ListCollectionType.ONLINEADAPTER_HASHARRAYLIST, new double[] { -232.205056, 71.000311, -0.043266 },
-				new double[] { -0.856819, 0.029097, -0.000005 }, new double[] { -0.000016, 0.000006, -0.000000 });
-		performanceModel.add(HashArrayListgcallocratenorm);
-
-		return performanceModel;
-		
-	}
-
-	public static List<SetPerformanceModel> buildSetsPerformanceModelTime() {
-
-		List<SetPerformanceModel> performanceModel = new java.util.ArrayList<SetPerformanceModel>();
-
-		// AUTOMATICALLY GENERATED - VARIABLE TIME
-		SetPerformanceModel FastUtilHashSetTime = new SetPerformanceModel(SetCollectionType.FASTUTILS_HASHSET,
-				new double[] { -316.145596, 25.689791, -0.006822 }, new double[] { 27.394889, 0.073665, -0.000111 },
-				new double[] { -14.111811, 5.793781, -0.001714 });
-		performanceModel.add(FastUtilHashSetTime);
-		// AUTOMATICALLY GENERATED - VARIABLE TIME
-		SetPerformanceModel UnifiedSetTime = new SetPerformanceModel(SetCollectionType.GSCOLLECTIONS_UNIFIEDSET,
-				new double[] { -549.835979, 41.040946, -0.022664 }, new double[] { 33.591044, 0.050408, -0.000069 },
-				new double[] { -75.086755, 11.573696, -0.007554 });
-		performanceModel.add(UnifiedSetTime);
-		// AUTOMATICALLY GENERATED - VARIABLE TIME
-		SetPerformanceModel JDKHashSetTime = new SetPerformanceModel(SetCollectionType.JDK_HASHSET,
-				new double[] { -147.563815, 25.882185, -0.003529 }, new double[] { 29.817089, 0.066021, -0.000100 },
-				new double[] { -11.468034, 5.131184, 0.007571 });
-		performanceModel.add(JDKHashSetTime);
-		// AUTOMATICALLY GENERATED - VARIABLE TIME
-		SetPerformanceModel LinkedHashSetTime = new SetPerformanceModel(SetCollectionType.JDK_LINKEDHASHSET,
-				new double[] { -40.506715, 23.358312, 0.003296 }, new double[] { 29.814675, 0.071508, -0.000115 },
-				new double[] { 8.394560, 3.864150, 0.000808 });
-		performanceModel.add(LinkedHashSetTime);
-		// AUTOMATICALLY GENERATED - VARIABLE TIME
-		SetPerformanceModel HashSetTime = new SetPerformanceModel(SetCollectionType.KOLOBOKE_HASHSET,
-				new double[] { -341.262428, 33.228792, -0.024395 }, new double[] { 29.005397, 0.049525, -0.000070 },
-				new double[] { -23.884863, 6.504564, -0.001198 });
-		performanceModel.add(HashSetTime);
-		// AUTOMATICALLY GENERATED - VARIABLE TIME
-		SetPerformanceModel ArraySetTime = new SetPerformanceModel(SetCollectionType.NLP_ARRAYSET,
-				new double[] { 141.540041, 6.883808, 0.444936 }, new double[] { 30.044110, 0.555977, -0.000226 },
-				new double[] { -9.160581, 4.783920, 0.000294 });
-		performanceModel.add(ArraySetTime);
-		// AUTOMATICALLY GENERATED - VARIABLE TIME
-		SetPerformanceModel AdaptiveSetTime = new SetPerformanceModel(SetCollectionType.ONLINEADAPTER_ADAPTIVESET,
-				new double[] { -96.650564, 38.827774, -0.035870 }, new double[] { 37.416124, 0.012403, -0.000022 },
-				new double[] { -32.038533, 6.133033, 0.002870 });
-		performanceModel.add(AdaptiveSetTime);
-
-		return performanceModel;
-		
-	}
-
-	public static List<SetPerformanceModel> buildSetsPerformanceModelAllocation() {
-
-		List<SetPerformanceModel> performanceModel = new java.util.ArrayList<SetPerformanceModel>();
-		
-		// AUTOMATICALLY GENERATED - VARIABLE ·GC.ALLOC.RATE.NORM
-		SetPerformanceModel FastUtilHashSetgcallocratenorm = new SetPerformanceModel(SetCollectionType.FASTUTILS_HASHSET, new double[]{-227.244994,26.432850,-0.017358}, new double[]{-0.856861,0.029099,-0.000005}, new double[]{-0.000023,0.000008,-0.000000});
-		performanceModel.add(FastUtilHashSetgcallocratenorm);
-		// AUTOMATICALLY GENERATED - VARIABLE ·GC.ALLOC.RATE.NORM
-		SetPerformanceModel UnifiedSetgcallocratenorm = new SetPerformanceModel(SetCollectionType.GSCOLLECTIONS_UNIFIEDSET, new double[]{-381.574355,48.384927,-0.024525}, new double[]{-0.856836,0.029098,-0.000005}, new double[]{-3.986774,0.174788,-0.000351});
-		performanceModel.add(UnifiedSetgcallocratenorm);
-		// AUTOMATICALLY GENERATED - VARIABLE ·GC.ALLOC.RATE.NORM
-		SetPerformanceModel HashSetgcallocratenorm = new SetPerformanceModel(SetCollectionType.JDK_HASHSET, new double[]{-219.090428,59.013734,-0.018427}, new double[]{-0.856848,0.029098,-0.000005}, new double[]{-0.811162,0.001731,0.000183});
-		performanceModel.add(HashSetgcallocratenorm);
-		// AUTOMATICALLY GENERATED - VARIABLE ·GC.ALLOC.RATE.NORM
-		SetPerformanceModel LinkedHashSetgcallocratenorm = new SetPerformanceModel(SetCollectionType.JDK_LINKEDHASHSET, new double[]{-211.090115,67.013724,-0.018427}, new double[]{-0.856840,0.029098,-0.000005}, new double[]{-0.648969,0.001387,0.000146});
-		performanceModel.add(LinkedHashSetgcallocratenorm);
-		// AUTOMATICALLY GENERATED - VARIABLE ·GC.ALLOC.RATE.NORM
-		SetPerformanceModel KolobokeHashSetgcallocratenorm = new SetPerformanceModel(SetCollectionType.KOLOBOKE_HASHSET, new double[]{-251.090774,27.013745,-0.018427}, new double[]{-0.856848,0.029098,-0.000005}, new double[]{-0.000003,0.000008,0.000000});
-		performanceModel.add(KolobokeHashSetgcallocratenorm);
-		// AUTOMATICALLY GENERATED - VARIABLE ·GC.ALLOC.RATE.NORM
-		SetPerformanceModel ArraySetgcallocratenorm = new SetPerformanceModel(SetCollectionType.NLP_ARRAYSET, new double[]{-103.003898,19.299470,-0.009555}, new double[]{-0.854475,0.029076,-0.000005}, new double[]{-0.648959,0.001387,0.000146});
-		performanceModel.add(ArraySetgcallocratenorm);
-		// AUTOMATICALLY GENERATED - VARIABLE ·GC.ALLOC.RATE.NORM
-		SetPerformanceModel AdaptiveSetgcallocratenorm = new SetPerformanceModel(SetCollectionType.ONLINEADAPTER_ADAPTIVESET, new double[]{-193.679351,30.844353,-0.024542}, new double[]{-0.856838,0.029098,-0.000005}, new double[]{-0.811248,0.001734,0.000183});
-		performanceModel.add(AdaptiveSetgcallocratenorm);
-
-		return performanceModel;
-		
-	}
-
-	public static List<MapPerformanceModel> buildMapsPerformanceModelTime() {
-
-		List<MapPerformanceModel> performanceModel = new java.util.ArrayList<MapPerformanceModel>();
-
-		// AUTOMATICALLY GENERATED - VARIABLE TIME
-		MapPerformanceModel UnifiedMapsTime = new MapPerformanceModel(MapCollectionType.GSCOLLECTIONS_UNIFIEDMAP, new double[]{-541.264229,54.608505,-0.018659}, new double[]{32.262985,0.020520,-0.000026}, new double[]{-36.663724,13.466403,-0.001900});
-		performanceModel.add(UnifiedMapsTime);
-		// AUTOMATICALLY GENERATED - VARIABLE TIME
-		MapPerformanceModel ArrayMapTime = new MapPerformanceModel(MapCollectionType.GOOGLE_ARRAYMAP, new double[]{-1734.855889,68.318187,0.354878}, new double[]{30.340651,0.466380,-0.000087}, new double[]{-3.737298,6.321758,-0.000628});
-		performanceModel.add(ArrayMapTime);
-		// AUTOMATICALLY GENERATED - VARIABLE TIME
-		MapPerformanceModel HashMapTime = new MapPerformanceModel(MapCollectionType.JDK_HASHMAP, new double[]{-159.526456,27.831369,0.000357}, new double[]{29.878743,-0.005077,0.000019}, new double[]{26.746037,5.452778,0.001511});
-		performanceModel.add(HashMapTime);
-		// AUTOMATICALLY GENERATED - VARIABLE TIME
-		MapPerformanceModel LinkedHashMapTime = new MapPerformanceModel(MapCollectionType.JDK_LINKEDHASHMAP, new double[]{-188.400441,31.811119,-0.007272}, new double[]{29.628054,0.004791,-0.000006}, new double[]{-12.794264,4.445188,-0.000366});
-		performanceModel.add(LinkedHashMapTime);
-		// AUTOMATICALLY GENERATED - VARIABLE TIME
-		MapPerformanceModel KolobokeHashMapTime = new MapPerformanceModel(MapCollectionType.KOLOBOKE_HASHMAP, new double[]{-236.858702,33.706754,-0.008767}, new double[]{26.827767,0.024344,-0.000035}, new double[]{-121.625078,20.183441,-0.004244});
-		performanceModel.add(KolobokeHashMapTime);
-		// AUTOMATICALLY GENERATED - VARIABLE TIME
-		MapPerformanceModel NayukiCompactHashMapTime = new MapPerformanceModel(MapCollectionType.NAYUKI_COMPACTHASHMAP, new double[]{19.138060,78.018373,0.018487}, new double[]{44.214786,0.085242,-0.000085}, new double[]{125.838428,32.534349,-0.005407});
-		performanceModel.add(NayukiCompactHashMapTime);
-		
-		return performanceModel;
-		
-
-	}
-
-	public static List<MapPerformanceModel> buildMapsPerformanceModelAllocation() {
-
-		List<MapPerformanceModel> performanceModel = new java.util.ArrayList<MapPerformanceModel>();
-
-		// AUTOMATICALLY GENERATED - VARIABLE ·GC.ALLOC.RATE.NORM
-		MapPerformanceModel UnifiedMapsgcallocratenorm = new MapPerformanceModel(MapCollectionType.GSCOLLECTIONS_UNIFIEDMAP, new double[]{-843.394386,83.392457,-0.048719}, new double[]{0.000043,0.000000,-0.000000}, new double[]{31.999958,24.000018,-0.000000});
-		performanceModel.add(UnifiedMapsgcallocratenorm);
-		// AUTOMATICALLY GENERATED - VARIABLE ·GC.ALLOC.RATE.NORM
-		MapPerformanceModel ArrayMapgcallocratenorm = new MapPerformanceModel(MapCollectionType.GOOGLE_ARRAYMAP, new double[]{354.889708,18.467617,0.028073}, new double[]{0.000042,0.000001,-0.000000}, new double[]{-0.000035,24.000009,-0.000000});
-		performanceModel.add(ArrayMapgcallocratenorm);
-		// AUTOMATICALLY GENERATED - VARIABLE ·GC.ALLOC.RATE.NORM
-		MapPerformanceModel HashMapgcallocratenorm = new MapPerformanceModel(MapCollectionType.JDK_HASHMAP, new double[]{-235.090512,59.013739,-0.018427}, new double[]{0.000039,-0.000000,0.000000}, new double[]{0.000025,0.000008,0.000000});
-		performanceModel.add(HashMapgcallocratenorm);
-		// AUTOMATICALLY GENERATED - VARIABLE ·GC.ALLOC.RATE.NORM
-		MapPerformanceModel LinkedHashMapgcallocratenorm = new MapPerformanceModel(MapCollectionType.JDK_LINKEDHASHMAP, new double[]{-227.090512,67.013745,-0.018427}, new double[]{0.000040,0.000000,-0.000000}, new double[]{0.000004,0.000006,0.000000});
-		performanceModel.add(LinkedHashMapgcallocratenorm);
-		// AUTOMATICALLY GENERATED - VARIABLE ·GC.ALLOC.RATE.NORM
-		MapPerformanceModel KolobokeHashMapgcallocratenorm = new MapPerformanceModel(MapCollectionType.KOLOBOKE_HASHMAP, new double[]{-556.696152,53.470694,-0.036075}, new double[]{0.000037,0.000000,-0.000000}, new double[]{39.999850,40.000027,-0.000000});
-		performanceModel.add(KolobokeHashMapgcallocratenorm);
-		// AUTOMATICALLY GENERATED - VARIABLE ·GC.ALLOC.RATE.NORM
-		MapPerformanceModel NayukiCompactHashMapgcallocratenorm = new MapPerformanceModel(MapCollectionType.NAYUKI_COMPACTHASHMAP, new double[]{5.655551,55.839487,-0.003252}, new double[]{22.640998,0.100559,-0.000174}, new double[]{407.283902,53.565156,0.000359});
-		performanceModel.add(NayukiCompactHashMapgcallocratenorm);
-		
-		return performanceModel;
-		
-	}
-
-}
+package de.heidelberg.pvs.diego.collectionswitch.factories;
+
+import java.util.List;
+
+
+import de.heidelberg.pvs.diego.collectionswitch.context.BagCollectionType;
+import de.heidelberg.pvs.diego.collectionswitch.context.ConcurrentMapCollectionType;
+import de.heidelberg.pvs.diego.collectionswitch.context.ConcurrentSetCollectionType;
+import de.heidelberg.pvs.diego.collectionswitch.context.ListCollectionType;
+import de.heidelberg.pvs.diego.collectionswitch.context.MapCollectionType;
+import de.heidelberg.pvs.diego.collectionswitch.context.MultimapCollectionType;
+import de.heidelberg.pvs.diego.collectionswitch.context.QueueCollectionType;
+import de.heidelberg.pvs.diego.collectionswitch.context.SetCollectionType;
+import de.heidelberg.pvs.diego.collectionswitch.context.SortedMapCollectionType;
+import de.heidelberg.pvs.diego.collectionswitch.context.SortedSetCollectionType;
+import de.heidelberg.pvs.diego.collectionswitch.monitors.KeyProfile;
+import de.heidelberg.pvs.diego.collectionswitch.optimizers.concurrent.ConcurrentPerformanceModel;
+import de.heidelberg.pvs.diego.collectionswitch.optimizers.counting.CountingPerformanceModel;
+import de.heidelberg.pvs.diego.collectionswitch.optimizers.lists.ListPerformanceModel;
+import de.heidelberg.pvs.diego.collectionswitch.optimizers.maps.MapPerformanceModel;
+import de.heidelberg.pvs.diego.collectionswitch.optimizers.queues.QueuePerformanceModel;
+import de.heidelberg.pvs.diego.collectionswitch.optimizers.sets.SetPerformanceModel;
+import de.heidelberg.pvs.diego.collectionswitch.optimizers.sorted.SortedPerformanceModel;
+
+public class PerformanceModelFactory {
+
+	// Built-in models, used when no model file is configured or found on the
+	// classpath (see PerformanceModelLoader)
+
+	// The list models for time and allocation end with the cost of random
+	// access and of inserts and removals at the head, middle and tail. The map
+	// models end with the cost of gets that hit and miss, of puts of new keys,
+	// of overwrites and of removals
+
+	public static List<ListPerformanceModel> buildListPerformanceModelsTime() {
+
+		List<ListPerformanceModel> performanceModel = new java.util.ArrayList<ListPerformanceModel>();
+
+		// AUTOMATICALLY GENERATED - VARIABLE TIME
+		ListPerformanceModel ArrayListTime = new ListPerformanceModel(ListCollectionType.JDK_ARRAYLIST,
+				new double[] { -68.142119, 7.590974, -0.005205 }, new double[] { 29.950540, 0.518341, -0.000141 },
+				new double[] { 5.550586, 4.244929, -0.000151 },
+				new double[] { 6.069815, -0.001699, 0.000001 }, new double[] { -0.035776, 0.215359, 0.000005 },
+				new double[] { 23.122913, 0.047094, 0.000008 }, new double[] { 7.022429, 0.000408, -0.000000 });
+		performanceModel.add(ArrayListTime);
+		// AUTOMATICALLY GENERATED - VARIABLE TIME
+		ListPerformanceModel LinkedListTime = new ListPerformanceModel(ListCollectionType.JDK_LINKEDLIST,
+				new double[] { 41.580798, 5.373206, 0.001918 }, new double[] { 29.367605, 0.924321, -0.000051 },
+				new double[] { -2.464303, 4.757063, -0.000942 },
+				new double[] { -1.620132, 0.371471, 0.000057 }, new double[] { 7.227599, -0.002478, 0.000002 },
+				new double[] { -53.027539, 1.523288, -0.000259 }, new double[] { 6.997835, 0.002445, -0.000001 });
+		performanceModel.add(LinkedListTime);
+		// AUTOMATICALLY GENERATED - VARIABLE TIME
+		ListPerformanceModel AdaptiveListTime = new ListPerformanceModel(ListCollectionType.ONLINEADAPTER_ADAPTIVELIST,
+				new double[] { -749.209976, 46.435289, -0.011771 }, new double[] { 38.666151, 0.055588, -0.000107 },
+				new double[] { 6.983691, 4.373944, 0.000872 },
+				new double[] { 6.338165, 0.001865, -0.000001 }, new double[] { -3.151485, 0.339036, -0.000053 },
+				new double[] { 23.111831, 0.100489, -0.000002 }, new double[] { 10.370571, 0.028787, -0.000012 });
+		performanceModel.add(AdaptiveListTime);
+		// AUTOMATICALLY GENERATED - VARIABLE TIME
+		ListPerformanceModel HashArrayListTime = new ListPerformanceModel(
+				ListCollectionType.ONLINEADAPTER_HASHARRAYLIST, new double[] { -95.816045, 42.094208, -0.011714 },
+				new double[] { 29.264840, 0.094781, -0.000152 }, new double[] { 2.657610, 4.177008, 0.000677 },
+				new double[] { 5.918330, -0.000167, 0.000000 }, new double[] { 11.408987, 0.150720, 0.000051 },
+				new double[] { 23.534121, 0.073404, 0.000003 }, new double[] { 13.211892, 0.005880, -0.000002 });
+		performanceModel.add(HashArrayListTime);
+
+		return performanceModel;
+		
+	}
+
+	public static List<ListPerformanceModel> buildListPerformanceModelsAllocation() {
+
+		List<ListPerformanceModel> performanceModel = new java.util.ArrayList<ListPerformanceModel>();
+		// AUTOMATICALLY GENERATED - VARIABLE ·GC.ALLOC.RATE.NORM
+		ListPerformanceModel ArrayListgcallocratenorm = new ListPerformanceModel(ListCollectionType.JDK_ARRAYLIST,
+				new double[] { -119.004257, 19.299468, -0.009556 }, new double[] { -0.856593, 0.029089, -0.000005 },
+				new double[] { 0.000006, 0.000006, -0.000000 },
+				new double[] { 0.000010, -0.000000, 0.000000 }, new double[] { 0.000001, 0.000000, 0.000000 },
+				new double[] { 0.000039, 0.000000, 0.000000 }, new double[] { 0.000012, 0.000000, -0.000000 });
+		performanceModel.add(ArrayListgcallocratenorm);
+		// AUTOMATICALLY GENERATED - VARIABLE ·GC.ALLOC.RATE.NORM
+		ListPerformanceModel LinkedListgcallocratenorm = new ListPerformanceModel(ListCollectionType.JDK_LINKEDLIST,
+				new double[] { 32.000062, 24.000007, 0.000000 }, new double[] { -0.856598, 0.029089, -0.000005 },
+				new double[] { -0.000006, 0.000006, -0.000000 },
+				new double[] { -0.000004, 0.000001, 0.000000 }, new double[] { 12.000013, -0.000000, 0.000000 },
+				new double[] { 11.999898, 0.000003, -0.000000 }, new double[] { 12.000012, 0.000000, -0.000000 });
+		performanceModel.add(LinkedListgcallocratenorm);
+		// AUTOMATICALLY GENERATED - VARIABLE ·GC.ALLOC.RATE.NORM
+		ListPerformanceModel AdaptiveListgcallocratenorm = new ListPerformanceModel(
+				ListCollectionType.ONLINEADAPTER_ADAPTIVELIST, new double[] { -1228.127328, 77.053782, -0.048796 },
+				new double[] { -0.856823, 0.029098, -0.000005 }, new double[] { -0.648953, 0.001387, 0.000146 },
+				new double[] { 0.000011, 0.000000, -0.000000 }, new double[] { -0.000004, 0.000001, -0.000000 },
+				new double[] { 0.000040, 0.000000, -0.000000 }, new double[] { 0.000018, 0.000000, -0.000000 });
+		performanceModel.add(AdaptiveListgcallocratenorm);
+		// AUTOMATICALLY GENERATED - VARIABLE ·GC.ALLOC.RATE.NORM
+		ListPerformanceModel HashArrayListgcallocratenorm = new ListPerformanceModel(
+				ListCollectionType.ONLINEADAPTER_HASHARRAYLIST, new double[] { -232.205056, 71.000311, -0.043266 },
+				new double[] { -0.856819, 0.029097, -0.000005 }, new double[] { -0.000016, 0.000006, -0.000000 },
+				new double[] { 0.000010, -0.000000, 0.000000 }, new double[] { 0.000020, 0.000000, 0.000000 },
+				new double[] { 0.000041, 0.000000, 0.000000 }, new double[] { 0.000023, 0.000000, -0.000000 });
+		performanceModel.add(HashArrayListgcallocratenorm);
+
+		return performanceModel;
+		
+	}
+
+	public static List<SetPerformanceModel> buildSetsPerformanceModelTime() {
+
+		List<SetPerformanceModel> performanceModel = new java.util.ArrayList<SetPerformanceModel>();
+
+		// AUTOMATICALLY GENERATED - VARIABLE TIME
+		SetPerformanceModel FastUtilHashSetTime = new SetPerformanceModel(SetCollectionType.FASTUTILS_HASHSET,
+				new double[] { -316.145596, 25.689791, -0.006822 }, new double[] { 27.394889, 0.073665, -0.000111 },
+				new double[] { -14.111811, 5.793781, -0.001714 });
+		performanceModel.add(FastUtilHashSetTime);
+		// AUTOMATICALLY GENERATED - VARIABLE TIME
+		SetPerformanceModel UnifiedSetTime = new SetPerformanceModel(SetCollectionType.GSCOLLECTIONS_UNIFIEDSET,
+				new double[] { -549.835979, 41.040946, -0.022664 }, new double[] { 33.591044, 0.050408, -0.000069 },
+				new double[] { -75.086755, 11.573696, -0.007554 });
+		performanceModel.add(UnifiedSetTime);
+		// AUTOMATICALLY GENERATED - VARIABLE TIME
+		SetPerformanceModel JDKHashSetTime = new SetPerformanceModel(SetCollectionType.JDK_HASHSET,
+				new double[] { -147.563815, 25.882185, -0.003529 }, new double[] { 29.817089, 0.066021, -0.000100 },
+				new double[] { -11.468034, 5.131184, 0.007571 });
+		performanceModel.add(JDKHashSetTime);
+		// AUTOMATICALLY GENERATED - VARIABLE TIME
+		SetPerformanceModel LinkedHashSetTime = new SetPerformanceModel(SetCollectionType.JDK_LINKEDHASHSET,
+				new double[] { -40.506715, 23.358312, 0.003296 }, new double[] { 29.814675, 0.071508, -0.000115 },
+				new double[] { 8.394560, 3.864150, 0.000808 });
+		performanceModel.add(LinkedHashSetTime);
+		// AUTOMATICALLY GENERATED - VARIABLE TIME
+		SetPerformanceModel HashSetTime = new SetPerformanceModel(SetCollectionType.KOLOBOKE_HASHSET,
+				new double[] { -341.262428, 33.228792, -0.024395 }, new double[] { 29.005397, 0.049525, -0.000070 },
+				new double[] { -23.884863, 6.504564, -0.001198 });
+		performanceModel.add(HashSetTime);
+		// AUTOMATICALLY GENERATED - VARIABLE TIME
+		SetPerformanceModel ArraySetTime = new SetPerformanceModel(SetCollectionType.NLP_ARRAYSET,
+				new double[] { 141.540041, 6.883808, 0.444936 }, new double[] { 30.044110, 0.555977, -0.000226 },
+				new double[] { -9.160581, 4.783920, 0.000294 });
+		performanceModel.add(ArraySetTime);
+		// AUTOMATICALLY GENERATED - VARIABLE TIME
+		SetPerformanceModel AdaptiveSetTime = new SetPerformanceModel(SetCollectionType.ONLINEADAPTER_ADAPTIVESET,
+				new double[] { -96.650564, 38.827774, -0.035870 }, new double[] { 37.416124, 0.012403, -0.000022 },
+				new double[] { -32.038533, 6.133033, 0.002870 });
+		performanceModel.add(AdaptiveSetTime);
+
+		return performanceModel;
+		
+	}
+
+	public static List<SetPerformanceModel> buildSetsPerformanceModelAllocation() {
+
+		List<SetPerformanceModel> performanceModel = new java.util.ArrayList<SetPerformanceModel>();
+		
+		// AUTOMATICALLY GENERATED - VARIABLE ·GC.ALLOC.RATE.NORM
+		SetPerformanceModel FastUtilHashSetgcallocratenorm = new SetPerformanceModel(SetCollectionType.FASTUTILS_HASHSET, new double[]{-227.244994,26.432850,-0.017358}, new double[]{-0.856861,0.029099,-0.000005}, new double[]{-0.000023,0.000008,-0.000000});
+		performanceModel.add(FastUtilHashSetgcallocratenorm);
+		// AUTOMATICALLY GENERATED - VARIABLE ·GC.ALLOC.RATE.NORM
+		SetPerformanceModel UnifiedSetgcallocratenorm = new SetPerformanceModel(SetCollectionType.GSCOLLECTIONS_UNIFIEDSET, new double[]{-381.574355,48.384927,-0.024525}, new double[]{-0.856836,0.029098,-0.000005}, new double[]{-3.986774,0.174788,-0.000351});
+		performanceModel.add(UnifiedSetgcallocratenorm);
+		// AUTOMATICALLY GENERATED - VARIABLE ·GC.ALLOC.RATE.NORM
+		SetPerformanceModel HashSetgcallocratenorm = new SetPerformanceModel(SetCollectionType.JDK_HASHSET, new double[]{-219.090428,59.013734,-0.018427}, new double[]{-0.856848,0.029098,-0.000005}, new double[]{-0.811162,0.001731,0.000183});
+		performanceModel.add(HashSetgcallocratenorm);
+		// AUTOMATICALLY GENERATED - VARIABLE ·GC.ALLOC.RATE.NORM
+		SetPerformanceModel LinkedHashSetgcallocratenorm = new SetPerformanceModel(SetCollectionType.JDK_LINKEDHASHSET, new double[]{-211.090115,67.013724,-0.018427}, new double[]{-0.856840,0.029098,-0.000005}, new double[]{-0.648969,0.001387,0.000146});
+		performanceModel.add(LinkedHashSetgcallocratenorm);
+		// AUTOMATICALLY GENERATED - VARIABLE ·GC.ALLOC.RATE.NORM
+		SetPerformanceModel KolobokeHashSetgcallocratenorm = new SetPerformanceModel(SetCollectionType.KOLOBOKE_HASHSET, new double[]{-251.090774,27.013745,-0.018427}, new double[]{-0.856848,0.029098,-0.000005}, new double[]{-0.000003,0.000008,0.000000});
+		performanceModel.add(KolobokeHashSetgcallocratenorm);
+		// AUTOMATICALLY GENERATED - VARIABLE ·GC.ALLOC.RATE.NORM
+		SetPerformanceModel ArraySetgcallocratenorm = new SetPerformanceModel(SetCollectionType.NLP_ARRAYSET, new double[]{-103.003898,19.299470,-0.009555}, new double[]{-0.854475,0.029076,-0.000005}, new double[]{-0.648959,0.001387,0.000146});
+		performanceModel.add(ArraySetgcallocratenorm);
+		// AUTOMATICALLY GENERATED - VARIABLE ·GC.ALLOC.RATE.NORM
+		SetPerformanceModel AdaptiveSetgcallocratenorm = new SetPerformanceModel(SetCollectionType.ONLINEADAPTER_ADAPTIVESET, new double[]{-193.679351,30.844353,-0.024542}, new double[]{-0.856838,0.029098,-0.000005}, new double[]{-0.811248,0.001734,0.000183});
+		performanceModel.add(AdaptiveSetgcallocratenorm);
+
+		return performanceModel;
+		
+	}
+
+	public static List<MapPerformanceModel> buildMapsPerformanceModelTime() {
+
+		List<MapPerformanceModel> performanceModel = new java.util.ArrayList<MapPerformanceModel>();
+
+		// AUTOMATICALLY GENERATED - VARIABLE TIME
+		MapPerformanceModel UnifiedMapsTime = new MapPerformanceModel(MapCollectionType.GSCOLLECTIONS_UNIFIEDMAP, new double[]{-541.264229,54.608505,-0.018659}, new double[]{32.262985,0.020520,-0.000026}, new double[]{-36.663724,13.466403,-0.001900}, new double[]{10.623066,0.028150,-0.000014}, new double[]{25.549105,-0.021416,0.000009}, new double[]{8.754932,-0.001242,0.000002}, new double[]{12.410357,0.016470,-0.000007}, new double[]{8.754932,-0.001242,0.000002});
+		performanceModel.add(UnifiedMapsTime);
+		// AUTOMATICALLY GENERATED - VARIABLE TIME
+		MapPerformanceModel ArrayMapTime = new MapPerformanceModel(MapCollectionType.GOOGLE_ARRAYMAP, new double[]{-1734.855889,68.318187,0.354878}, new double[]{30.340651,0.466380,-0.000087}, new double[]{-3.737298,6.321758,-0.000628}, new double[]{70.083426,0.253766,0.000460}, new double[]{-107.734535,2.583661,0.000052}, new double[]{-20.821408,1.099873,0.000023}, new double[]{-94.132859,2.170749,-0.000839}, new double[]{-20.821408,1.099873,0.000023});
+		performanceModel.add(ArrayMapTime);
+		// AUTOMATICALLY GENERATED - VARIABLE TIME
+		MapPerformanceModel HashMapTime = new MapPerformanceModel(MapCollectionType.JDK_HASHMAP, new double[]{-159.526456,27.831369,0.000357}, new double[]{29.878743,-0.005077,0.000019}, new double[]{26.746037,5.452778,0.001511}, new double[]{7.279346,0.008875,-0.000001}, new double[]{20.406432,-0.014639,0.000007}, new double[]{10.200068,-0.000147,0.000000}, new double[]{13.246238,0.014520,-0.000008}, new double[]{10.200068,-0.000147,0.000000});
+		performanceModel.add(HashMapTime);
+		// AUTOMATICALLY GENERATED - VARIABLE TIME
+		MapPerformanceModel LinkedHashMapTime = new MapPerformanceModel(MapCollectionType.JDK_LINKEDHASHMAP, new double[]{-188.400441,31.811119,-0.007272}, new double[]{29.628054,0.004791,-0.000006}, new double[]{-12.794264,4.445188,-0.000366}, new double[]{10.179794,0.014908,-0.000006}, new double[]{12.420079,0.008167,-0.000005}, new double[]{13.628785,0.000350,-0.000001}, new double[]{10.870547,0.015279,-0.000008}, new double[]{13.628785,0.000350,-0.000001});
+		performanceModel.add(LinkedHashMapTime);
+		// AUTOMATICALLY GENERATED - VARIABLE TIME
+		MapPerformanceModel KolobokeHashMapTime = new MapPerformanceModel(MapCollectionType.KOLOBOKE_HASHMAP, new double[]{-236.858702,33.706754,-0.008767}, new double[]{26.827767,0.024344,-0.000035}, new double[]{-121.625078,20.183441,-0.004244}, new double[]{39.909579,0.622671,0.000094}, new double[]{11.442003,0.003339,-0.000002}, new double[]{10.046880,0.009212,-0.000005}, new double[]{-39.441804,1.272471,-0.000430}, new double[]{10.046880,0.009212,-0.000005});
+		performanceModel.add(KolobokeHashMapTime);
+		// AUTOMATICALLY GENERATED - VARIABLE TIME
+		MapPerformanceModel NayukiCompactHashMapTime = new MapPerformanceModel(MapCollectionType.NAYUKI_COMPACTHASHMAP, new double[]{19.138060,78.018373,0.018487}, new double[]{44.214786,0.085242,-0.000085}, new double[]{125.838428,32.534349,-0.005407}, new double[]{74.895878,0.010123,0.000001}, new double[]{16.880191,0.078527,-0.000036}, new double[]{34.670093,0.064999,-0.000028}, new double[]{32.049953,0.109424,-0.000051}, new double[]{34.670093,0.064999,-0.000028});
+		performanceModel.add(NayukiCompactHashMapTime);
+		
+		return performanceModel;
+		
+
+	}
+
+	public static List<MapPerformanceModel> buildMapsPerformanceModelAllocation() {
+
+		List<MapPerformanceModel> performanceModel = new java.util.ArrayList<MapPerformanceModel>();
+
+		// AUTOMATICALLY GENERATED - VARIABLE ·GC.ALLOC.RATE.NORM
+		MapPerformanceModel UnifiedMapsgcallocratenorm = new MapPerformanceModel(MapCollectionType.GSCOLLECTIONS_UNIFIEDMAP, new double[]{-843.394386,83.392457,-0.048719}, new double[]{0.000043,0.000000,-0.000000}, new double[]{31.999958,24.000018,-0.000000}, new double[]{0.000018,0.000000,-0.000000}, new double[]{0.000043,-0.000000,0.000000}, new double[]{0.000015,-0.000000,0.000000}, new double[]{0.000022,0.000000,-0.000000}, new double[]{0.000015,-0.000000,0.000000});
+		performanceModel.add(UnifiedMapsgcallocratenorm);
+		// AUTOMATICALLY GENERATED - VARIABLE ·GC.ALLOC.RATE.NORM
+		MapPerformanceModel ArrayMapgcallocratenorm = new MapPerformanceModel(MapCollectionType.GOOGLE_ARRAYMAP, new double[]{354.889708,18.467617,0.028073}, new double[]{0.000042,0.000001,-0.000000}, new double[]{-0.000035,24.000009,-0.000000}, new double[]{0.000121,0.000000,0.000000}, new double[]{-0.000178,0.000004,0.000000}, new double[]{-0.000030,0.000002,0.000000}, new double[]{-0.000156,0.000004,-0.000000}, new double[]{-0.000030,0.000002,0.000000});
+		performanceModel.add(ArrayMapgcallocratenorm);
+		// AUTOMATICALLY GENERATED - VARIABLE ·GC.ALLOC.RATE.NORM
+		MapPerformanceModel HashMapgcallocratenorm = new MapPerformanceModel(MapCollectionType.JDK_HASHMAP, new double[]{-235.090512,59.013739,-0.018427}, new double[]{0.000039,-0.000000,0.000000}, new double[]{0.000025,0.000008,0.000000}, new double[]{0.000013,0.000000,-0.000000}, new double[]{0.000036,-0.000000,0.000000}, new double[]{16.000018,-0.000000,0.000000}, new double[]{0.000022,0.000000,-0.000000}, new double[]{16.000018,-0.000000,0.000000});
+		performanceModel.add(HashMapgcallocratenorm);
+		// AUTOMATICALLY GENERATED - VARIABLE ·GC.ALLOC.RATE.NORM
+		MapPerformanceModel LinkedHashMapgcallocratenorm = new MapPerformanceModel(MapCollectionType.JDK_LINKEDHASHMAP, new double[]{-227.090512,67.013745,-0.018427}, new double[]{0.000040,0.000000,-0.000000}, new double[]{0.000004,0.000006,0.000000}, new double[]{0.000018,0.000000,-0.000000}, new double[]{0.000021,0.000000,-0.000000}, new double[]{20.000023,0.000000,-0.000000}, new double[]{0.000019,0.000000,-0.000000}, new double[]{20.000023,0.000000,-0.000000});
+		performanceModel.add(LinkedHashMapgcallocratenorm);
+		// AUTOMATICALLY GENERATED - VARIABLE ·GC.ALLOC.RATE.NORM
+		MapPerformanceModel KolobokeHashMapgcallocratenorm = new MapPerformanceModel(MapCollectionType.KOLOBOKE_HASHMAP, new double[]{-556.696152,53.470694,-0.036075}, new double[]{0.000037,0.000000,-0.000000}, new double[]{39.999850,40.000027,-0.000000}, new double[]{0.000071,0.000001,0.000000}, new double[]{0.000020,0.000000,-0.000000}, new double[]{0.000017,0.000000,-0.000000}, new double[]{-0.000064,0.000002,-0.000000}, new double[]{0.000017,0.000000,-0.000000});
+		performanceModel.add(KolobokeHashMapgcallocratenorm);
+		// AUTOMATICALLY GENERATED - VARIABLE ·GC.ALLOC.RATE.NORM
+		MapPerformanceModel NayukiCompactHashMapgcallocratenorm = new MapPerformanceModel(MapCollectionType.NAYUKI_COMPACTHASHMAP, new double[]{5.655551,55.839487,-0.003252}, new double[]{22.640998,0.100559,-0.000174}, new double[]{407.283902,53.565156,0.000359}, new double[]{32.000128,0.000000,-0.000000}, new double[]{1.716424,0.018946,-0.000007}, new double[]{32.000060,0.000000,-0.000000}, new double[]{32.000054,0.000000,-0.000000}, new double[]{32.000060,0.000000,-0.000000});
+		performanceModel.add(NayukiCompactHashMapgcallocratenorm);
+		
+		return performanceModel;
+		
+	}
+
+	public static List<ListPerformanceModel> buildListPerformanceModelsFootprint() {
+		return buildListFootprint(0);
+	}
+
+	private static List<ListPerformanceModel> buildListFootprint(double box) {
+
+		List<ListPerformanceModel> performanceModel = new java.util.ArrayList<ListPerformanceModel>();
+
+		// Retained bytes without the elements (see FootprintCalibration) plus the
+		// given bytes of a box per element, contains and iterate retain nothing
+		// AUTOMATICALLY GENERATED - VARIABLE MEMORY_FOOTPRINT
+		ListPerformanceModel JdkArraylistFootprint = new ListPerformanceModel(ListCollectionType.JDK_ARRAYLIST, new double[]{59.275814,4.383076 + box}, new double[]{0}, new double[]{0});
+		performanceModel.add(JdkArraylistFootprint);
+		// AUTOMATICALLY GENERATED - VARIABLE MEMORY_FOOTPRINT
+		ListPerformanceModel JdkLinkedlistFootprint = new ListPerformanceModel(ListCollectionType.JDK_LINKEDLIST, new double[]{32.000000,24.000000 + box}, new double[]{0}, new double[]{0});
+		performanceModel.add(JdkLinkedlistFootprint);
+		// AUTOMATICALLY GENERATED - VARIABLE MEMORY_FOOTPRINT
+		ListPerformanceModel OnlineadapterHasharraylistFootprint = new ListPerformanceModel(ListCollectionType.ONLINEADAPTER_HASHARRAYLIST, new double[]{243.932703,22.270989 + box}, new double[]{0}, new double[]{0});
+		performanceModel.add(OnlineadapterHasharraylistFootprint);
+		// AUTOMATICALLY GENERATED - VARIABLE MEMORY_FOOTPRINT
+		ListPerformanceModel OnlineadapterAdaptivelistFootprint = new ListPerformanceModel(ListCollectionType.ONLINEADAPTER_ADAPTIVELIST, new double[]{61.218675,7.727958 + box}, new double[]{0}, new double[]{0});
+		performanceModel.add(OnlineadapterAdaptivelistFootprint);
+
+		return performanceModel;
+		
+	}
+
+	public static List<SetPerformanceModel> buildSetsPerformanceModelFootprint() {
+		return buildSetsFootprint(0);
+	}
+
+	private static List<SetPerformanceModel> buildSetsFootprint(double box) {
+
+		List<SetPerformanceModel> performanceModel = new java.util.ArrayList<SetPerformanceModel>();
+
+		// Retained bytes without the elements (see FootprintCalibration) plus the
+		// given bytes of a box per element, contains and iterate retain nothing
+		// AUTOMATICALLY GENERATED - VARIABLE MEMORY_FOOTPRINT
+		SetPerformanceModel JdkHashsetFootprint = new SetPerformanceModel(SetCollectionType.JDK_HASHSET, new double[]{139.749805,39.479911 + box}, new double[]{0}, new double[]{0});
+		performanceModel.add(JdkHashsetFootprint);
+		// AUTOMATICALLY GENERATED - VARIABLE MEMORY_FOOTPRINT
+		SetPerformanceModel JdkLinkedhashsetFootprint = new SetPerformanceModel(SetCollectionType.JDK_LINKEDHASHSET, new double[]{148.945482,47.425674 + box}, new double[]{0}, new double[]{0});
+		performanceModel.add(JdkLinkedhashsetFootprint);
+		// AUTOMATICALLY GENERATED - VARIABLE MEMORY_FOOTPRINT
+		SetPerformanceModel FastutilsHashsetFootprint = new SetPerformanceModel(SetCollectionType.FASTUTILS_HASHSET, new double[]{114.371503,12.294011 + box}, new double[]{0}, new double[]{0});
+		performanceModel.add(FastutilsHashsetFootprint);
+		// AUTOMATICALLY GENERATED - VARIABLE MEMORY_FOOTPRINT
+		SetPerformanceModel GscollectionsUnifiedsetFootprint = new SetPerformanceModel(SetCollectionType.GSCOLLECTIONS_UNIFIEDSET, new double[]{72.788849,7.894487 + box}, new double[]{0}, new double[]{0});
+		performanceModel.add(GscollectionsUnifiedsetFootprint);
+		// AUTOMATICALLY GENERATED - VARIABLE MEMORY_FOOTPRINT
+		SetPerformanceModel KolobokeHashsetFootprint = new SetPerformanceModel(SetCollectionType.KOLOBOKE_HASHSET, new double[]{267.642316,8.636402 + box}, new double[]{0}, new double[]{0});
+		performanceModel.add(KolobokeHashsetFootprint);
+		// AUTOMATICALLY GENERATED - VARIABLE MEMORY_FOOTPRINT
+		SetPerformanceModel NlpArraysetFootprint = new SetPerformanceModel(SetCollectionType.NLP_ARRAYSET, new double[]{74.779587,4.445857 + box}, new double[]{0}, new double[]{0});
+		performanceModel.add(NlpArraysetFootprint);
+		// AUTOMATICALLY GENERATED - VARIABLE MEMORY_FOOTPRINT
+		SetPerformanceModel OnlineadapterAdaptivesetFootprint = new SetPerformanceModel(SetCollectionType.ONLINEADAPTER_ADAPTIVESET, new double[]{76.034405,8.318622 + box}, new double[]{0}, new double[]{0});
+		performanceModel.add(OnlineadapterAdaptivesetFootprint);
+
+		return performanceModel;
+		
+	}
+
+	public static List<MapPerformanceModel> buildMapsPerformanceModelFootprint() {
+		return buildMapsFootprint(0);
+	}
+
+	private static List<MapPerformanceModel> buildMapsFootprint(double box) {
+
+		List<MapPerformanceModel> performanceModel = new java.util.ArrayList<MapPerformanceModel>();
+
+		// Retained bytes without the elements (see FootprintCalibration) plus the
+		// given bytes of a box per element, contains and iterate retain nothing
+		// AUTOMATICALLY GENERATED - VARIABLE MEMORY_FOOTPRINT
+		MapPerformanceModel JdkHashmapFootprint = new MapPerformanceModel(MapCollectionType.JDK_HASHMAP, new double[]{109.639978,39.280459 + box}, new double[]{0}, new double[]{0});
+		performanceModel.add(JdkHashmapFootprint);
+		// AUTOMATICALLY GENERATED - VARIABLE MEMORY_FOOTPRINT
+		MapPerformanceModel KolobokeHashmapFootprint = new MapPerformanceModel(MapCollectionType.KOLOBOKE_HASHMAP, new double[]{289.559470,16.835242 + box}, new double[]{0}, new double[]{0});
+		performanceModel.add(KolobokeHashmapFootprint);
+		// AUTOMATICALLY GENERATED - VARIABLE MEMORY_FOOTPRINT
+		MapPerformanceModel OnlineadapterAdaptivemapFootprint = new MapPerformanceModel(MapCollectionType.ONLINEADAPTER_ADAPTIVEMAP, new double[]{55.994487,13.825232 + box}, new double[]{0}, new double[]{0});
+		performanceModel.add(OnlineadapterAdaptivemapFootprint);
+		// AUTOMATICALLY GENERATED - VARIABLE MEMORY_FOOTPRINT
+		MapPerformanceModel JdkLinkedhashmapFootprint = new MapPerformanceModel(MapCollectionType.JDK_LINKEDHASHMAP, new double[]{118.590161,47.248734 + box}, new double[]{0}, new double[]{0});
+		performanceModel.add(JdkLinkedhashmapFootprint);
+		// AUTOMATICALLY GENERATED - VARIABLE MEMORY_FOOTPRINT
+		MapPerformanceModel FastutilsHashmapFootprint = new MapPerformanceModel(MapCollectionType.FASTUTILS_HASHMAP, new double[]{178.821159,23.749079 + box}, new double[]{0}, new double[]{0});
+		performanceModel.add(FastutilsHashmapFootprint);
+		// AUTOMATICALLY GENERATED - VARIABLE MEMORY_FOOTPRINT
+		MapPerformanceModel GscollectionsUnifiedmapFootprint = new MapPerformanceModel(MapCollectionType.GSCOLLECTIONS_UNIFIEDMAP, new double[]{102.962258,15.024842 + box}, new double[]{0}, new double[]{0});
+		performanceModel.add(GscollectionsUnifiedmapFootprint);
+		// AUTOMATICALLY GENERATED - VARIABLE MEMORY_FOOTPRINT
+		MapPerformanceModel NlpArraymapFootprint = new MapPerformanceModel(MapCollectionType.NLP_ARRAYMAP, new double[]{58.307656,29.005033 + box}, new double[]{0}, new double[]{0});
+		performanceModel.add(NlpArraymapFootprint);
+		// AUTOMATICALLY GENERATED - VARIABLE MEMORY_FOOTPRINT
+		MapPerformanceModel GoogleArraymapFootprint = new MapPerformanceModel(MapCollectionType.GOOGLE_ARRAYMAP, new double[]{47.146797,9.580049 + box}, new double[]{0}, new double[]{0});
+		performanceModel.add(GoogleArraymapFootprint);
+		// AUTOMATICALLY GENERATED - VARIABLE MEMORY_FOOTPRINT
+		MapPerformanceModel NayukiCompacthashmapFootprint = new MapPerformanceModel(MapCollectionType.NAYUKI_COMPACTHASHMAP, new double[]{90.571013,47.023538 + box}, new double[]{0}, new double[]{0});
+		performanceModel.add(NayukiCompacthashmapFootprint);
+
+		return performanceModel;
+		
+	}
+
+	// The generic models plus the models of the primitive implementations of
+	// the given element or key type, measured through the boxed interfaces.
+	// Their iterators box the values they return. For Object every primitive
+	// model is kept, see PerformanceModels
+
+	public static List<ListPerformanceModel> buildListPerformanceModelsTime(Class<?> elementType) {
+
+		List<ListPerformanceModel> performanceModel = buildListPerformanceModelsTime();
+
+		// AUTOMATICALLY GENERATED - VARIABLE TIME
+		ListPerformanceModel FastutilIntarraylistTime = new ListPerformanceModel(ListCollectionType.FASTUTIL_INTARRAYLIST,
+				new double[] { -95.395119, 8.168594, -0.001342 },
+				new double[] { 8.063104, 0.161792, 0.000031 },
+				new double[] { -190.901129, 7.079436, -0.000569 },
+				new double[] { 5.658006, 0.000307, 0.000000 },
+				new double[] { 14.213343, 0.072254, 0.000088 },
+				new double[] { 12.769732, 0.016711, 0.000062 },
+				new double[] { 3.466291, 0.003913, -0.000002 });
+		performanceModel.add(FastutilIntarraylistTime);
+		// AUTOMATICALLY GENERATED - VARIABLE TIME
+		ListPerformanceModel FastutilLongarraylistTime = new ListPerformanceModel(ListCollectionType.FASTUTIL_LONGARRAYLIST,
+				new double[] { -92.420587, 9.449529, -0.001367 },
+				new double[] { 6.267169, 0.138849, -0.000001 },
+				new double[] { -175.533982, 8.534140, -0.001237 },
+				new double[] { 5.049710, 0.004584, -0.000002 },
+				new double[] { 6.670677, 0.368568, -0.000031 },
+				new double[] { 0.978005, 0.228053, -0.000023 },
+				new double[] { 3.657577, 0.004095, -0.000002 });
+		performanceModel.add(FastutilLongarraylistTime);
+
+		performanceModel.removeIf(model -> elementType != Object.class && !model.getType().accepts(elementType));
+		return performanceModel;
+
+	}
+
+	public static List<ListPerformanceModel> buildListPerformanceModelsAllocation(Class<?> elementType) {
+
+		List<ListPerformanceModel> performanceModel = buildListPerformanceModelsAllocation();
+
+		// AUTOMATICALLY GENERATED - VARIABLE ·GC.ALLOC.RATE.NORM
+		ListPerformanceModel FastutilIntarraylistAllocation = new ListPerformanceModel(ListCollectionType.FASTUTIL_INTARRAYLIST,
+				new double[] { 103.055014, 8.117983, 0.000033 },
+				new double[] { 0.000014, 0.000000, 0.000000 },
+				new double[] { -621.289742, 12.753698, 0.001301 },
+				new double[] { -0.336230, 0.025428, -0.000009 },
+				new double[] { -0.726864, 0.014645, -0.000005 },
+				new double[] { -0.726866, 0.014645, -0.000005 },
+				new double[] { -0.726882, 0.014645, -0.000005 });
+		performanceModel.add(FastutilIntarraylistAllocation);
+		// AUTOMATICALLY GENERATED - VARIABLE ·GC.ALLOC.RATE.NORM
+		ListPerformanceModel FastutilLongarraylistAllocation = new ListPerformanceModel(ListCollectionType.FASTUTIL_LONGARRAYLIST,
+				new double[] { 149.404115, 16.095476, 0.000114 },
+				new double[] { 0.000010, 0.000000, -0.000000 },
+				new double[] { -932.607710, 19.140198, 0.001941 },
+				new double[] { -0.504352, 0.038142, -0.000014 },
+				new double[] { -1.090319, 0.021967, -0.000008 },
+				new double[] { -1.090331, 0.021967, -0.000008 },
+				new double[] { -1.090326, 0.021967, -0.000008 });
+		performanceModel.add(FastutilLongarraylistAllocation);
+
+		performanceModel.removeIf(model -> elementType != Object.class && !model.getType().accepts(elementType));
+		return performanceModel;
+
+	}
+
+	public static List<ListPerformanceModel> buildListPerformanceModelsFootprint(Class<?> elementType) {
+
+		List<ListPerformanceModel> performanceModel = buildListFootprint(KeyProfile.boxSize(elementType));
+
+		// AUTOMATICALLY GENERATED - VARIABLE MEMORY_FOOTPRINT
+		ListPerformanceModel FastutilIntarraylistFootprint = new ListPerformanceModel(ListCollectionType.FASTUTIL_INTARRAYLIST,
+				new double[] { 85.659867, 4.194795 },
+				new double[] { 0 },
+				new double[] { 0 });
+		performanceModel.add(FastutilIntarraylistFootprint);
+		// AUTOMATICALLY GENERATED - VARIABLE MEMORY_FOOTPRINT
+		ListPerformanceModel FastutilLongarraylistFootprint = new ListPerformanceModel(ListCollectionType.FASTUTIL_LONGARRAYLIST,
+				new double[] { 131.556637, 8.315425 },
+				new double[] { 0 },
+				new double[] { 0 });
+		performanceModel.add(FastutilLongarraylistFootprint);
+
+		performanceModel.removeIf(model -> elementType != Object.class && !model.getType().accepts(elementType));
+		return performanceModel;
+
+	}
+
+	public static List<SetPerformanceModel> buildSetsPerformanceModelTime(Class<?> elementType) {
+
+		List<SetPerformanceModel> performanceModel = buildSetsPerformanceModelTime();
+
+		// AUTOMATICALLY GENERATED - VARIABLE TIME
+		SetPerformanceModel FastutilIntopenhashsetTime = new SetPerformanceModel(SetCollectionType.FASTUTIL_INTOPENHASHSET,
+				new double[] { -254.581925, 18.780100, -0.002555 },
+				new double[] { 6.644486, 0.003414, -0.000002 },
+				new double[] { -294.874534, 11.026215, -0.000739 });
+		performanceModel.add(FastutilIntopenhashsetTime);
+		// AUTOMATICALLY GENERATED - VARIABLE TIME
+		SetPerformanceModel KolobokeHashintsetTime = new SetPerformanceModel(SetCollectionType.KOLOBOKE_HASHINTSET,
+				new double[] { -34.334865, 18.663112, -0.003109 },
+				new double[] { 7.379617, 0.000578, -0.000000 },
+				new double[] { -59.780402, 9.864641, 0.001742 });
+		performanceModel.add(KolobokeHashintsetTime);
+		// AUTOMATICALLY GENERATED - VARIABLE TIME
+		SetPerformanceModel FastutilLongopenhashsetTime = new SetPerformanceModel(SetCollectionType.FASTUTIL_LONGOPENHASHSET,
+				new double[] { 114.060822, 18.496264, -0.001106 },
+				new double[] { 6.827798, 0.002921, -0.000001 },
+				new double[] { -248.597988, 12.068124, -0.001324 });
+		performanceModel.add(FastutilLongopenhashsetTime);
+		// AUTOMATICALLY GENERATED - VARIABLE TIME
+		SetPerformanceModel KolobokeHashlongsetTime = new SetPerformanceModel(SetCollectionType.KOLOBOKE_HASHLONGSET,
+				new double[] { 786.661690, 12.737196, 0.007691 },
+				new double[] { 7.225091, -0.000547, 0.000001 },
+				new double[] { -441.195859, 16.810140, -0.004024 });
+		performanceModel.add(KolobokeHashlongsetTime);
+
+		performanceModel.removeIf(model -> elementType != Object.class && !model.getType().accepts(elementType));
+		return performanceModel;
+
+	}
+
+	public static List<SetPerformanceModel> buildSetsPerformanceModelAllocation(Class<?> elementType) {
+
+		List<SetPerformanceModel> performanceModel = buildSetsPerformanceModelAllocation();
+
+		// AUTOMATICALLY GENERATED - VARIABLE ·GC.ALLOC.RATE.NORM
+		SetPerformanceModel FastutilIntopenhashsetAllocation = new SetPerformanceModel(SetCollectionType.FASTUTIL_INTOPENHASHSET,
+				new double[] { 181.757065, 16.165731, 0.000090 },
+				new double[] { 0.000011, 0.000000, -0.000000 },
+				new double[] { -624.232506, 12.785758, 0.001289 });
+		performanceModel.add(FastutilIntopenhashsetAllocation);
+		// AUTOMATICALLY GENERATED - VARIABLE ·GC.ALLOC.RATE.NORM
+		SetPerformanceModel KolobokeHashintsetAllocation = new SetPerformanceModel(SetCollectionType.KOLOBOKE_HASHINTSET,
+				new double[] { 169.073464, 16.280480, 0.000039 },
+				new double[] { 0.000012, 0.000000, -0.000000 },
+				new double[] { -612.233775, 12.751228, 0.001293 });
+		performanceModel.add(KolobokeHashintsetAllocation);
+		// AUTOMATICALLY GENERATED - VARIABLE ·GC.ALLOC.RATE.NORM
+		SetPerformanceModel FastutilLongopenhashsetAllocation = new SetPerformanceModel(SetCollectionType.FASTUTIL_LONGOPENHASHSET,
+				new double[] { 274.455973, 32.120714, 0.000252 },
+				new double[] { 0.000011, 0.000000, -0.000000 },
+				new double[] { -935.702540, 19.186645, 0.001924 });
+		performanceModel.add(FastutilLongopenhashsetAllocation);
+		// AUTOMATICALLY GENERATED - VARIABLE ·GC.ALLOC.RATE.NORM
+		SetPerformanceModel KolobokeHashlongsetAllocation = new SetPerformanceModel(SetCollectionType.KOLOBOKE_HASHLONGSET,
+				new double[] { 257.923527, 32.399886, 0.000133 },
+				new double[] { 0.000012, -0.000000, 0.000000 },
+				new double[] { -931.539187, 19.124883, 0.001957 });
+		performanceModel.add(KolobokeHashlongsetAllocation);
+
+		performanceModel.removeIf(model -> elementType != Object.class && !model.getType().accepts(elementType));
+		return performanceModel;
+
+	}
+
+	public static List<SetPerformanceModel> buildSetsPerformanceModelFootprint(Class<?> elementType) {
+
+		List<SetPerformanceModel> performanceModel = buildSetsFootprint(KeyProfile.boxSize(elementType));
+
+		// AUTOMATICALLY GENERATED - VARIABLE MEMORY_FOOTPRINT
+		SetPerformanceModel FastutilIntopenhashsetFootprint = new SetPerformanceModel(SetCollectionType.FASTUTIL_INTOPENHASHSET,
+				new double[] { 136.562200, 7.709672 },
+				new double[] { 0 },
+				new double[] { 0 });
+		performanceModel.add(FastutilIntopenhashsetFootprint);
+		// AUTOMATICALLY GENERATED - VARIABLE MEMORY_FOOTPRINT
+		SetPerformanceModel KolobokeHashintsetFootprint = new SetPerformanceModel(SetCollectionType.KOLOBOKE_HASHINTSET,
+				new double[] { 259.626796, 8.630358 },
+				new double[] { 0 },
+				new double[] { 0 });
+		performanceModel.add(KolobokeHashintsetFootprint);
+		// AUTOMATICALLY GENERATED - VARIABLE MEMORY_FOOTPRINT
+		SetPerformanceModel FastutilLongopenhashsetFootprint = new SetPerformanceModel(SetCollectionType.FASTUTIL_LONGOPENHASHSET,
+				new double[] { 213.538730, 14.767820 },
+				new double[] { 0 },
+				new double[] { 0 });
+		performanceModel.add(FastutilLongopenhashsetFootprint);
+		// AUTOMATICALLY GENERATED - VARIABLE MEMORY_FOOTPRINT
+		SetPerformanceModel KolobokeHashlongsetFootprint = new SetPerformanceModel(SetCollectionType.KOLOBOKE_HASHLONGSET,
+				new double[] { 281.784686, 16.805590 },
+				new double[] { 0 },
+				new double[] { 0 });
+		performanceModel.add(KolobokeHashlongsetFootprint);
+
+		performanceModel.removeIf(model -> elementType != Object.class && !model.getType().accepts(elementType));
+		return performanceModel;
+
+	}
+
+	public static List<MapPerformanceModel> buildMapsPerformanceModelTime(Class<?> elementType) {
+
+		List<MapPerformanceModel> performanceModel = buildMapsPerformanceModelTime();
+
+		// AUTOMATICALLY GENERATED - VARIABLE TIME
+		MapPerformanceModel FastutilInt2objectmapTime = new MapPerformanceModel(MapCollectionType.FASTUTIL_INT2OBJECTMAP,
+				new double[] { 202.158338, 24.831006, -0.005835 },
+				new double[] { 5.699163, 0.005828, -0.000003 },
+				new double[] { -6.648121, 11.535089, -0.001138 },
+				new double[] { 10.018356, -0.000026, 0.000000 },
+				new double[] { 6.785232, 0.004385, -0.000002 },
+				new double[] { 7.250639, 0.007969, -0.000003 },
+				new double[] { 8.424984, 0.002553, -0.000001 },
+				new double[] { 7.250639, 0.007969, -0.000003 });
+		performanceModel.add(FastutilInt2objectmapTime);
+		// AUTOMATICALLY GENERATED - VARIABLE TIME
+		MapPerformanceModel KolobokeHashintobjmapTime = new MapPerformanceModel(MapCollectionType.KOLOBOKE_HASHINTOBJMAP,
+				new double[] { 195.890191, 24.967227, -0.000289 },
+				new double[] { 7.892458, 0.001193, -0.000001 },
+				new double[] { 351.632383, 14.113241, -0.000392 },
+				new double[] { 7.975126, 0.000163, -0.000000 },
+				new double[] { 7.463993, 0.000844, -0.000000 },
+				new double[] { 8.523859, 0.007601, -0.000004 },
+				new double[] { 7.426166, 0.004619, -0.000001 },
+				new double[] { 8.523859, 0.007601, -0.000004 });
+		performanceModel.add(KolobokeHashintobjmapTime);
+		// AUTOMATICALLY GENERATED - VARIABLE TIME
+		MapPerformanceModel FastutilLong2objectmapTime = new MapPerformanceModel(MapCollectionType.FASTUTIL_LONG2OBJECTMAP,
+				new double[] { 215.428500, 25.966300, -0.001668 },
+				new double[] { 7.311248, 0.003777, -0.000001 },
+				new double[] { 18.303255, 10.554265, -0.000325 },
+				new double[] { 9.056554, -0.000802, 0.000000 },
+				new double[] { 7.773920, 0.000386, -0.000000 },
+				new double[] { 7.953591, 0.007388, -0.000003 },
+				new double[] { 6.135681, 0.009670, -0.000003 },
+				new double[] { 7.953591, 0.007388, -0.000003 });
+		performanceModel.add(FastutilLong2objectmapTime);
+		// AUTOMATICALLY GENERATED - VARIABLE TIME
+		MapPerformanceModel KolobokeHashlongobjmapTime = new MapPerformanceModel(MapCollectionType.KOLOBOKE_HASHLONGOBJMAP,
+				new double[] { 1223.296060, 12.121862, 0.012398 },
+				new double[] { 8.022881, 0.002899, -0.000001 },
+				new double[] { 104.746045, 15.655584, -0.000510 },
+				new double[] { 9.828332, -0.000053, 0.000000 },
+				new double[] { 9.085724, 0.000996, -0.000001 },
+				new double[] { 9.329821, 0.006471, -0.000003 },
+				new double[] { 7.226600, 0.009211, -0.000004 },
+				new double[] { 9.329821, 0.006471, -0.000003 });
+		performanceModel.add(KolobokeHashlongobjmapTime);
+
+		performanceModel.removeIf(model -> elementType != Object.class && !model.getType().accepts(elementType));
+		return performanceModel;
+
+	}
+
+	public static List<MapPerformanceModel> buildMapsPerformanceModelAllocation(Class<?> elementType) {
+
+		List<MapPerformanceModel> performanceModel = buildMapsPerformanceModelAllocation();
+
+		// AUTOMATICALLY GENERATED - VARIABLE ·GC.ALLOC.RATE.NORM
+		MapPerformanceModel FastutilInt2objectmapAllocation = new MapPerformanceModel(MapCollectionType.FASTUTIL_INT2OBJECTMAP,
+				new double[] { 347.515424, 32.331441, 0.000181 },
+				new double[] { 0.000010, 0.000000, -0.000000 },
+				new double[] { -2.438287, 24.040380, -0.000007 },
+				new double[] { 0.000017, -0.000000, 0.000000 },
+				new double[] { 0.000012, 0.000000, -0.000000 },
+				new double[] { 0.000013, 0.000000, -0.000000 },
+				new double[] { 0.000015, 0.000000, -0.000000 },
+				new double[] { 0.000013, 0.000000, -0.000000 });
+		performanceModel.add(FastutilInt2objectmapAllocation);
+		// AUTOMATICALLY GENERATED - VARIABLE ·GC.ALLOC.RATE.NORM
+		MapPerformanceModel KolobokeHashintobjmapAllocation = new MapPerformanceModel(MapCollectionType.KOLOBOKE_HASHINTOBJMAP,
+				new double[] { 298.148350, 32.560938, 0.000078 },
+				new double[] { 0.000013, 0.000000, -0.000000 },
+				new double[] { 48.449288, 39.993590, 0.000007 },
+				new double[] { 0.000014, 0.000000, -0.000000 },
+				new double[] { 0.000013, 0.000000, -0.000000 },
+				new double[] { 0.000015, 0.000000, -0.000000 },
+				new double[] { 0.000013, 0.000000, -0.000000 },
+				new double[] { 0.000015, 0.000000, -0.000000 });
+		performanceModel.add(KolobokeHashintobjmapAllocation);
+		// AUTOMATICALLY GENERATED - VARIABLE ·GC.ALLOC.RATE.NORM
+		MapPerformanceModel FastutilLong2objectmapAllocation = new MapPerformanceModel(MapCollectionType.FASTUTIL_LONG2OBJECTMAP,
+				new double[] { 440.213536, 48.286426, 0.000342 },
+				new double[] { 0.000012, 0.000000, -0.000000 },
+				new double[] { -2.316607, 24.027423, -0.000001 },
+				new double[] { 0.000016, -0.000000, 0.000000 },
+				new double[] { 0.000013, 0.000000, -0.000000 },
+				new double[] { 0.000014, 0.000000, -0.000000 },
+				new double[] { 0.000011, 0.000000, -0.000000 },
+				new double[] { 0.000014, 0.000000, -0.000000 });
+		performanceModel.add(FastutilLong2objectmapAllocation);
+		// AUTOMATICALLY GENERATED - VARIABLE ·GC.ALLOC.RATE.NORM
+		MapPerformanceModel KolobokeHashlongobjmapAllocation = new MapPerformanceModel(MapCollectionType.KOLOBOKE_HASHLONGOBJMAP,
+				new double[] { 394.999637, 48.680321, 0.000172 },
+				new double[] { 0.000014, 0.000000, -0.000000 },
+				new double[] { 56.000196, 48.000028, -0.000000 },
+				new double[] { 0.000017, -0.000000, 0.000000 },
+				new double[] { 0.000016, 0.000000, -0.000000 },
+				new double[] { 0.000016, 0.000000, -0.000000 },
+				new double[] { 0.000013, 0.000000, -0.000000 },
+				new double[] { 0.000016, 0.000000, -0.000000 });
+		performanceModel.add(KolobokeHashlongobjmapAllocation);
+
+		performanceModel.removeIf(model -> elementType != Object.class && !model.getType().accepts(elementType));
+		return performanceModel;
+
+	}
+
+	public static List<MapPerformanceModel> buildMapsPerformanceModelFootprint(Class<?> elementType) {
+
+		List<MapPerformanceModel> performanceModel = buildMapsFootprint(KeyProfile.boxSize(elementType));
+
+		// AUTOMATICALLY GENERATED - VARIABLE MEMORY_FOOTPRINT
+		MapPerformanceModel FastutilInt2objectmapFootprint = new MapPerformanceModel(MapCollectionType.FASTUTIL_INT2OBJECTMAP,
+				new double[] { 258.029138, 15.282855 },
+				new double[] { 0 },
+				new double[] { 0 });
+		performanceModel.add(FastutilInt2objectmapFootprint);
+		// AUTOMATICALLY GENERATED - VARIABLE MEMORY_FOOTPRINT
+		MapPerformanceModel KolobokeHashintobjmapFootprint = new MapPerformanceModel(MapCollectionType.KOLOBOKE_HASHINTOBJMAP,
+				new double[] { 297.348670, 16.863263 },
+				new double[] { 0 },
+				new double[] { 0 });
+		performanceModel.add(KolobokeHashintobjmapFootprint);
+		// AUTOMATICALLY GENERATED - VARIABLE MEMORY_FOOTPRINT
+		MapPerformanceModel FastutilLong2objectmapFootprint = new MapPerformanceModel(MapCollectionType.FASTUTIL_LONG2OBJECTMAP,
+				new double[] { 334.958517, 22.347363 },
+				new double[] { 0 },
+				new double[] { 0 });
+		performanceModel.add(FastutilLong2objectmapFootprint);
+		// AUTOMATICALLY GENERATED - VARIABLE MEMORY_FOOTPRINT
+		MapPerformanceModel KolobokeHashlongobjmapFootprint = new MapPerformanceModel(MapCollectionType.KOLOBOKE_HASHLONGOBJMAP,
+				new double[] { 330.318072, 24.740383 },
+				new double[] { 0 },
+				new double[] { 0 });
+		performanceModel.add(KolobokeHashlongobjmapFootprint);
+
+		performanceModel.removeIf(model -> elementType != Object.class && !model.getType().accepts(elementType));
+		return performanceModel;
+
+	}
+
+	// Models of the concurrent implementations: the cost of creating an
+	// instance, of a read and a write by size, of a full iteration by size,
+	// and the slowdown of reads and writes by the number of threads operating
+	// at the same time. They are estimates until measured with
+	// ConcurrentCalibrationBenchmark: lock-free reads do not slow down, writes
+	// retry or wait on their bin or segment, and locked reads and copy-on-write
+	// writes serialize. Footprints count the retained bytes without the
+	// elements on compressed oops
+
+	public static List<ConcurrentPerformanceModel<ConcurrentMapCollectionType>> buildConcurrentMapsPerformanceModelTime() {
+
+		List<ConcurrentPerformanceModel<ConcurrentMapCollectionType>> performanceModel = new java.util.ArrayList<ConcurrentPerformanceModel<ConcurrentMapCollectionType>>();
+
+		performanceModel.add(new ConcurrentPerformanceModel<ConcurrentMapCollectionType>(ConcurrentMapCollectionType.JDK_CONCURRENTHASHMAP,
+				new double[] { 20 },
+				new double[] { 12 },
+				new double[] { 30 },
+				new double[] { 10, 4.0 },
+				new double[] { 1 },
+				new double[] { 0.8, 0.2 }));
+		performanceModel.add(new ConcurrentPerformanceModel<ConcurrentMapCollectionType>(ConcurrentMapCollectionType.JDK_CONCURRENTSKIPLISTMAP,
+				new double[] { 40 },
+				new double[] { 30, 0.005 },
+				new double[] { 60, 0.005 },
+				new double[] { 20, 6.0 },
+				new double[] { 1 },
+				new double[] { 0.9, 0.1 }));
+		performanceModel.add(new ConcurrentPerformanceModel<ConcurrentMapCollectionType>(ConcurrentMapCollectionType.GSCOLLECTIONS_CONCURRENTHASHMAP,
+				new double[] { 60 },
+				new double[] { 14 },
+				new double[] { 28 },
+				new double[] { 10, 3.5 },
+				new double[] { 1 },
+				new double[] { 0.7, 0.3 }));
+		performanceModel.add(new ConcurrentPerformanceModel<ConcurrentMapCollectionType>(ConcurrentMapCollectionType.GSCOLLECTIONS_CONCURRENTHASHMAPUNSAFE,
+				new double[] { 60 },
+				new double[] { 12 },
+				new double[] { 25 },
+				new double[] { 10, 3.5 },
+				new double[] { 1 },
+				new double[] { 0.7, 0.3 }));
+		performanceModel.add(new ConcurrentPerformanceModel<ConcurrentMapCollectionType>(ConcurrentMapCollectionType.ONLINEADAPTER_STRIPEDHASHMAP,
+				new double[] { 300 },
+				new double[] { 25 },
+				new double[] { 35 },
+				new double[] { 200, 30.0 },
+				new double[] { 0.6, 0.4 },
+				new double[] { 0.6, 0.4 }));
+
+		return performanceModel;
+
+	}
+
+	public static List<ConcurrentPerformanceModel<ConcurrentMapCollectionType>> buildConcurrentMapsPerformanceModelAllocation() {
+
+		List<ConcurrentPerformanceModel<ConcurrentMapCollectionType>> performanceModel = new java.util.ArrayList<ConcurrentPerformanceModel<ConcurrentMapCollectionType>>();
+
+		// Bytes allocated, reads allocate nothing
+		performanceModel.add(new ConcurrentPerformanceModel<ConcurrentMapCollectionType>(ConcurrentMapCollectionType.JDK_CONCURRENTHASHMAP,
+				new double[] { 64 },
+				new double[] { 0 },
+				new double[] { 44 },
+				new double[] { 40 }));
+		performanceModel.add(new ConcurrentPerformanceModel<ConcurrentMapCollectionType>(ConcurrentMapCollectionType.JDK_CONCURRENTSKIPLISTMAP,
+				new double[] { 104 },
+				new double[] { 0 },
+				new double[] { 36 },
+				new double[] { 40 }));
+		performanceModel.add(new ConcurrentPerformanceModel<ConcurrentMapCollectionType>(ConcurrentMapCollectionType.GSCOLLECTIONS_CONCURRENTHASHMAP,
+				new double[] { 116 },
+				new double[] { 0 },
+				new double[] { 32 },
+				new double[] { 48 }));
+		performanceModel.add(new ConcurrentPerformanceModel<ConcurrentMapCollectionType>(ConcurrentMapCollectionType.GSCOLLECTIONS_CONCURRENTHASHMAPUNSAFE,
+				new double[] { 116 },
+				new double[] { 0 },
+				new double[] { 32 },
+				new double[] { 48 }));
+		performanceModel.add(new ConcurrentPerformanceModel<ConcurrentMapCollectionType>(ConcurrentMapCollectionType.ONLINEADAPTER_STRIPEDHASHMAP,
+				new double[] { 872 },
+				new double[] { 0 },
+				new double[] { 40 },
+				new double[] { 640, 28 }));
+
+		return performanceModel;
+
+	}
+
+	public static List<ConcurrentPerformanceModel<ConcurrentMapCollectionType>> buildConcurrentMapsPerformanceModelFootprint() {
+
+		List<ConcurrentPerformanceModel<ConcurrentMapCollectionType>> performanceModel = new java.util.ArrayList<ConcurrentPerformanceModel<ConcurrentMapCollectionType>>();
+
+		performanceModel.add(new ConcurrentPerformanceModel<ConcurrentMapCollectionType>(ConcurrentMapCollectionType.JDK_CONCURRENTHASHMAP,
+				new double[] { 64, 40 },
+				new double[] { 0 },
+				new double[] { 0 },
+				new double[] { 0 }));
+		performanceModel.add(new ConcurrentPerformanceModel<ConcurrentMapCollectionType>(ConcurrentMapCollectionType.JDK_CONCURRENTSKIPLISTMAP,
+				new double[] { 104, 36 },
+				new double[] { 0 },
+				new double[] { 0 },
+				new double[] { 0 }));
+		performanceModel.add(new ConcurrentPerformanceModel<ConcurrentMapCollectionType>(ConcurrentMapCollectionType.GSCOLLECTIONS_CONCURRENTHASHMAP,
+				new double[] { 116, 32 },
+				new double[] { 0 },
+				new double[] { 0 },
+				new double[] { 0 }));
+		performanceModel.add(new ConcurrentPerformanceModel<ConcurrentMapCollectionType>(ConcurrentMapCollectionType.GSCOLLECTIONS_CONCURRENTHASHMAPUNSAFE,
+				new double[] { 116, 32 },
+				new double[] { 0 },
+				new double[] { 0 },
+				new double[] { 0 }));
+		performanceModel.add(new ConcurrentPerformanceModel<ConcurrentMapCollectionType>(ConcurrentMapCollectionType.ONLINEADAPTER_STRIPEDHASHMAP,
+				new double[] { 872, 40 },
+				new double[] { 0 },
+				new double[] { 0 },
+				new double[] { 0 }));
+
+		return performanceModel;
+
+	}
+
+	public static List<ConcurrentPerformanceModel<ConcurrentSetCollectionType>> buildConcurrentSetsPerformanceModelTime() {
+
+		List<ConcurrentPerformanceModel<ConcurrentSetCollectionType>> performanceModel = new java.util.ArrayList<ConcurrentPerformanceModel<ConcurrentSetCollectionType>>();
+
+		performanceModel.add(new ConcurrentPerformanceModel<ConcurrentSetCollectionType>(ConcurrentSetCollectionType.JDK_CONCURRENTHASHSET,
+				new double[] { 20 },
+				new double[] { 12 },
+				new double[] { 30 },
+				new double[] { 10, 4.0 },
+				new double[] { 1 },
+				new double[] { 0.8, 0.2 }));
+		performanceModel.add(new ConcurrentPerformanceModel<ConcurrentSetCollectionType>(ConcurrentSetCollectionType.JDK_CONCURRENTSKIPLISTSET,
+				new double[] { 40 },
+				new double[] { 30, 0.005 },
+				new double[] { 60, 0.005 },
+				new double[] { 20, 6.0 },
+				new double[] { 1 },
+				new double[] { 0.9, 0.1 }));
+		performanceModel.add(new ConcurrentPerformanceModel<ConcurrentSetCollectionType>(ConcurrentSetCollectionType.JDK_COPYONWRITEARRAYSET,
+				new double[] { 20 },
+				new double[] { 4, 1.0 },
+				new double[] { 40, 2.0 },
+				new double[] { 10, 1.0 },
+				new double[] { 1 },
+				new double[] { 0.5, 0.5 }));
+		performanceModel.add(new ConcurrentPerformanceModel<ConcurrentSetCollectionType>(ConcurrentSetCollectionType.GSCOLLECTIONS_CONCURRENTHASHSET,
+				new double[] { 70 },
+				new double[] { 15 },
+				new double[] { 30 },
+				new double[] { 10, 3.5 },
+				new double[] { 1 },
+				new double[] { 0.7, 0.3 }));
+		performanceModel.add(new ConcurrentPerformanceModel<ConcurrentSetCollectionType>(ConcurrentSetCollectionType.ONLINEADAPTER_STRIPEDHASHSET,
+				new double[] { 310 },
+				new double[] { 26 },
+				new double[] { 36 },
+				new double[] { 200, 30.0 },
+				new double[] { 0.6, 0.4 },
+				new double[] { 0.6, 0.4 }));
+
+		return performanceModel;
+
+	}
+
+	public static List<ConcurrentPerformanceModel<ConcurrentSetCollectionType>> buildConcurrentSetsPerformanceModelAllocation() {
+
+		List<ConcurrentPerformanceModel<ConcurrentSetCollectionType>> performanceModel = new java.util.ArrayList<ConcurrentPerformanceModel<ConcurrentSetCollectionType>>();
+
+		// Bytes allocated, reads allocate nothing
+		performanceModel.add(new ConcurrentPerformanceModel<ConcurrentSetCollectionType>(ConcurrentSetCollectionType.JDK_CONCURRENTHASHSET,
+				new double[] { 88 },
+				new double[] { 0 },
+				new double[] { 44 },
+				new double[] { 40 }));
+		performanceModel.add(new ConcurrentPerformanceModel<ConcurrentSetCollectionType>(ConcurrentSetCollectionType.JDK_CONCURRENTSKIPLISTSET,
+				new double[] { 120 },
+				new double[] { 0 },
+				new double[] { 36 },
+				new double[] { 40 }));
+		performanceModel.add(new ConcurrentPerformanceModel<ConcurrentSetCollectionType>(ConcurrentSetCollectionType.JDK_COPYONWRITEARRAYSET,
+				new double[] { 56 },
+				new double[] { 0 },
+				new double[] { 16, 4 },
+				new double[] { 24 }));
+		performanceModel.add(new ConcurrentPerformanceModel<ConcurrentSetCollectionType>(ConcurrentSetCollectionType.GSCOLLECTIONS_CONCURRENTHASHSET,
+				new double[] { 140 },
+				new double[] { 0 },
+				new double[] { 32 },
+				new double[] { 48 }));
+		performanceModel.add(new ConcurrentPerformanceModel<ConcurrentSetCollectionType>(ConcurrentSetCollectionType.ONLINEADAPTER_STRIPEDHASHSET,
+				new double[] { 896 },
+				new double[] { 0 },
+				new double[] { 40 },
+				new double[] { 640, 28 }));
+
+		return performanceModel;
+
+	}
+
+	public static List<ConcurrentPerformanceModel<ConcurrentSetCollectionType>> buildConcurrentSetsPerformanceModelFootprint() {
+
+		List<ConcurrentPerformanceModel<ConcurrentSetCollectionType>> performanceModel = new java.util.ArrayList<ConcurrentPerformanceModel<ConcurrentSetCollectionType>>();
+
+		performanceModel.add(new ConcurrentPerformanceModel<ConcurrentSetCollectionType>(ConcurrentSetCollectionType.JDK_CONCURRENTHASHSET,
+				new double[] { 88, 40 },
+				new double[] { 0 },
+				new double[] { 0 },
+				new double[] { 0 }));
+		performanceModel.add(new ConcurrentPerformanceModel<ConcurrentSetCollectionType>(ConcurrentSetCollectionType.JDK_CONCURRENTSKIPLISTSET,
+				new double[] { 120, 36 },
+				new double[] { 0 },
+				new double[] { 0 },
+				new double[] { 0 }));
+		performanceModel.add(new ConcurrentPerformanceModel<ConcurrentSetCollectionType>(ConcurrentSetCollectionType.JDK_COPYONWRITEARRAYSET,
+				new double[] { 56, 4 },
+				new double[] { 0 },
+				new double[] { 0 },
+				new double[] { 0 }));
+		performanceModel.add(new ConcurrentPerformanceModel<ConcurrentSetCollectionType>(ConcurrentSetCollectionType.GSCOLLECTIONS_CONCURRENTHASHSET,
+				new double[] { 140, 32 },
+				new double[] { 0 },
+				new double[] { 0 },
+				new double[] { 0 }));
+		performanceModel.add(new ConcurrentPerformanceModel<ConcurrentSetCollectionType>(ConcurrentSetCollectionType.ONLINEADAPTER_STRIPEDHASHSET,
+				new double[] { 896, 40 },
+				new double[] { 0 },
+				new double[] { 0 },
+				new double[] { 0 }));
+
+		return performanceModel;
+
+	}
+
+	// Models of the queues: the cost of creating an instance that grows to a
+	// size, of an offer, poll, peek and contains by size, and of a full
+	// iteration by size. They are estimates until measured with
+	// QueueCalibrationBenchmark: linked nodes cost an allocation per offer,
+	// the heap of PriorityQueue sifts on every poll and the unsorted array
+	// scans on every poll. Footprints count the retained bytes without the
+	// elements on compressed oops
+
+	public static List<QueuePerformanceModel> buildQueuesPerformanceModelTime() {
+
+		List<QueuePerformanceModel> performanceModel = new java.util.ArrayList<QueuePerformanceModel>();
+
+		performanceModel.add(new QueuePerformanceModel(QueueCollectionType.JDK_ARRAYDEQUE,
+				new double[] { 20, 1.0 },
+				new double[] { 3 },
+				new double[] { 3 },
+				new double[] { 1 },
+				new double[] { 1, 0.5 },
+				new double[] { 2, 1.0 }));
+		performanceModel.add(new QueuePerformanceModel(QueueCollectionType.JDK_LINKEDLIST,
+				new double[] { 10 },
+				new double[] { 10 },
+				new double[] { 4 },
+				new double[] { 1 },
+				new double[] { 1, 1.0 },
+				new double[] { 2, 2.0 }));
+		performanceModel.add(new QueuePerformanceModel(QueueCollectionType.JDK_PRIORITYQUEUE,
+				new double[] { 25, 1.0 },
+				new double[] { 8 },
+				new double[] { 12, 0.02 },
+				new double[] { 1 },
+				new double[] { 1, 0.5 },
+				new double[] { 2, 1.0 }));
+		performanceModel.add(new QueuePerformanceModel(QueueCollectionType.ONLINEADAPTER_ARRAYPRIORITYQUEUE,
+				new double[] { 10, 1.0 },
+				new double[] { 4 },
+				new double[] { 5, 1.5 },
+				new double[] { 1 },
+				new double[] { 1, 0.5 },
+				new double[] { 2, 1.0 }));
+
+		return performanceModel;
+
+	}
+
+	public static List<QueuePerformanceModel> buildQueuesPerformanceModelAllocation() {
+
+		List<QueuePerformanceModel> performanceModel = new java.util.ArrayList<QueuePerformanceModel>();
+
+		// Bytes allocated, only linked nodes and iterators allocate after the
+		// arrays have grown
+		performanceModel.add(new QueuePerformanceModel(QueueCollectionType.JDK_ARRAYDEQUE,
+				new double[] { 104, 8 },
+				new double[] { 0 },
+				new double[] { 0 },
+				new double[] { 0 },
+				new double[] { 0 },
+				new double[] { 32 }));
+		performanceModel.add(new QueuePerformanceModel(QueueCollectionType.JDK_LINKEDLIST,
+				new double[] { 32 },
+				new double[] { 24 },
+				new double[] { 0 },
+				new double[] { 0 },
+				new double[] { 0 },
+				new double[] { 40 }));
+		performanceModel.add(new QueuePerformanceModel(QueueCollectionType.JDK_PRIORITYQUEUE,
+				new double[] { 96, 6 },
+				new double[] { 0 },
+				new double[] { 0 },
+				new double[] { 0 },
+				new double[] { 0 },
+				new double[] { 32 }));
+		performanceModel.add(new QueuePerformanceModel(QueueCollectionType.ONLINEADAPTER_ARRAYPRIORITYQUEUE,
+				new double[] { 48, 10 },
+				new double[] { 0 },
+				new double[] { 0 },
+				new double[] { 0 },
+				new double[] { 0 },
+				new double[] { 24 }));
+
+		return performanceModel;
+
+	}
+
+	public static List<QueuePerformanceModel> buildQueuesPerformanceModelFootprint() {
+
+		List<QueuePerformanceModel> performanceModel = new java.util.ArrayList<QueuePerformanceModel>();
+
+		performanceModel.add(new QueuePerformanceModel(QueueCollectionType.JDK_ARRAYDEQUE,
+				new double[] { 96, 6 },
+				new double[] { 0 },
+				new double[] { 0 },
+				new double[] { 0 },
+				new double[] { 0 },
+				new double[] { 0 }));
+		performanceModel.add(new QueuePerformanceModel(QueueCollectionType.JDK_LINKEDLIST,
+				new double[] { 32, 24 },
+				new double[] { 0 },
+				new double[] { 0 },
+				new double[] { 0 },
+				new double[] { 0 },
+				new double[] { 0 }));
+		performanceModel.add(new QueuePerformanceModel(QueueCollectionType.JDK_PRIORITYQUEUE,
+				new double[] { 96, 5 },
+				new double[] { 0 },
+				new double[] { 0 },
+				new double[] { 0 },
+				new double[] { 0 },
+				new double[] { 0 }));
+		performanceModel.add(new QueuePerformanceModel(QueueCollectionType.ONLINEADAPTER_ARRAYPRIORITYQUEUE,
+				new double[] { 40, 5 },
+				new double[] { 0 },
+				new double[] { 0 },
+				new double[] { 0 },
+				new double[] { 0 },
+				new double[] { 0 }));
+
+		return performanceModel;
+
+	}
+
+	// Models of the sorted maps and sets: the cost of creating an instance
+	// that grows to a size, of a lookup, insert, removal, navigation and
+	// range view by size, and of a full iteration by size. They are estimates
+	// until measured with SortedCalibrationBenchmark: the trees chase a
+	// pointer per level, which the small slopes stand for, while the sorted
+	// arrays shift on inserts and removals but iterate contiguous memory.
+	// Footprints count the retained bytes without the elements on compressed
+	// oops
+
+	public static List<SortedPerformanceModel<SortedMapCollectionType>> buildSortedMapsPerformanceModelTime() {
+
+		List<SortedPerformanceModel<SortedMapCollectionType>> performanceModel = new java.util.ArrayList<SortedPerformanceModel<SortedMapCollectionType>>();
+
+		performanceModel.add(new SortedPerformanceModel<SortedMapCollectionType>(SortedMapCollectionType.JDK_TREEMAP,
+				new double[] { 30 },
+				new double[] { 20, 0.002 },
+				new double[] { 45, 0.003 },
+				new double[] { 40, 0.003 },
+				new double[] { 22, 0.002 },
+				new double[] { 20, 0.002 },
+				new double[] { 5, 4 }));
+		performanceModel.add(new SortedPerformanceModel<SortedMapCollectionType>(SortedMapCollectionType.JDK_CONCURRENTSKIPLISTMAP,
+				new double[] { 80 },
+				new double[] { 35, 0.004 },
+				new double[] { 70, 0.004 },
+				new double[] { 60, 0.004 },
+				new double[] { 38, 0.004 },
+				new double[] { 30, 0.004 },
+				new double[] { 5, 5 }));
+		performanceModel.add(new SortedPerformanceModel<SortedMapCollectionType>(SortedMapCollectionType.FASTUTIL_AVLTREEMAP,
+				new double[] { 30 },
+				new double[] { 18, 0.002 },
+				new double[] { 50, 0.003 },
+				new double[] { 45, 0.003 },
+				new double[] { 20, 0.002 },
+				new double[] { 20, 0.002 },
+				new double[] { 5, 3.5 }));
+		performanceModel.add(new SortedPerformanceModel<SortedMapCollectionType>(SortedMapCollectionType.FASTUTIL_RBTREEMAP,
+				new double[] { 30 },
+				new double[] { 19, 0.002 },
+				new double[] { 45, 0.003 },
+				new double[] { 40, 0.003 },
+				new double[] { 21, 0.002 },
+				new double[] { 20, 0.002 },
+				new double[] { 5, 3.5 }));
+		performanceModel.add(new SortedPerformanceModel<SortedMapCollectionType>(SortedMapCollectionType.ONLINEADAPTER_SORTEDARRAYMAP,
+				new double[] { 30, 1 },
+				new double[] { 12, 0.001 },
+				new double[] { 15, 0.1 },
+				new double[] { 15, 0.1 },
+				new double[] { 14, 0.001 },
+				new double[] { 25, 0.002 },
+				new double[] { 5, 1.5 }));
+
+		return performanceModel;
+
+	}
+
+	public static List<SortedPerformanceModel<SortedMapCollectionType>> buildSortedMapsPerformanceModelAllocation() {
+
+		List<SortedPerformanceModel<SortedMapCollectionType>> performanceModel = new java.util.ArrayList<SortedPerformanceModel<SortedMapCollectionType>>();
+
+		// Bytes allocated, the trees allocate a node per insert and the
+		// sorted array an entry per visited entry
+		performanceModel.add(new SortedPerformanceModel<SortedMapCollectionType>(SortedMapCollectionType.JDK_TREEMAP,
+				new double[] { 48 },
+				new double[] { 0 },
+				new double[] { 40 },
+				new double[] { 0 },
+				new double[] { 8 },
+				new double[] { 64 },
+				new double[] { 32 }));
+		performanceModel.add(new SortedPerformanceModel<SortedMapCollectionType>(SortedMapCollectionType.JDK_CONCURRENTSKIPLISTMAP,
+				new double[] { 96 },
+				new double[] { 0 },
+				new double[] { 32 },
+				new double[] { 0 },
+				new double[] { 8 },
+				new double[] { 64 },
+				new double[] { 32 }));
+		performanceModel.add(new SortedPerformanceModel<SortedMapCollectionType>(SortedMapCollectionType.FASTUTIL_AVLTREEMAP,
+				new double[] { 56 },
+				new double[] { 0 },
+				new double[] { 40 },
+				new double[] { 0 },
+				new double[] { 0 },
+				new double[] { 64 },
+				new double[] { 32 }));
+		performanceModel.add(new SortedPerformanceModel<SortedMapCollectionType>(SortedMapCollectionType.FASTUTIL_RBTREEMAP,
+				new double[] { 56 },
+				new double[] { 0 },
+				new double[] { 40 },
+				new double[] { 0 },
+				new double[] { 0 },
+				new double[] { 64 },
+				new double[] { 32 }));
+		performanceModel.add(new SortedPerformanceModel<SortedMapCollectionType>(SortedMapCollectionType.ONLINEADAPTER_SORTEDARRAYMAP,
+				new double[] { 64, 24 },
+				new double[] { 0 },
+				new double[] { 0 },
+				new double[] { 0 },
+				new double[] { 8 },
+				new double[] { 64 },
+				new double[] { 32, 8 }));
+
+		return performanceModel;
+
+	}
+
+	public static List<SortedPerformanceModel<SortedMapCollectionType>> buildSortedMapsPerformanceModelFootprint() {
+
+		List<SortedPerformanceModel<SortedMapCollectionType>> performanceModel = new java.util.ArrayList<SortedPerformanceModel<SortedMapCollectionType>>();
+
+		performanceModel.add(new SortedPerformanceModel<SortedMapCollectionType>(SortedMapCollectionType.JDK_TREEMAP,
+				new double[] { 48, 40 },
+				new double[] { 0 },
+				new double[] { 0 },
+				new double[] { 0 },
+				new double[] { 0 },
+				new double[] { 0 },
+				new double[] { 0 }));
+		performanceModel.add(new SortedPerformanceModel<SortedMapCollectionType>(SortedMapCollectionType.JDK_CONCURRENTSKIPLISTMAP,
+				new double[] { 96, 32 },
+				new double[] { 0 },
+				new double[] { 0 },
+				new double[] { 0 },
+				new double[] { 0 },
+				new double[] { 0 },
+				new double[] { 0 }));
+		performanceModel.add(new SortedPerformanceModel<SortedMapCollectionType>(SortedMapCollectionType.FASTUTIL_AVLTREEMAP,
+				new double[] { 56, 40 },
+				new double[] { 0 },
+				new double[] { 0 },
+				new double[] { 0 },
+				new double[] { 0 },
+				new double[] { 0 },
+				new double[] { 0 }));
+		performanceModel.add(new SortedPerformanceModel<SortedMapCollectionType>(SortedMapCollectionType.FASTUTIL_RBTREEMAP,
+				new double[] { 56, 40 },
+				new double[] { 0 },
+				new double[] { 0 },
+				new double[] { 0 },
+				new double[] { 0 },
+				new double[] { 0 },
+				new double[] { 0 }));
+		performanceModel.add(new SortedPerformanceModel<SortedMapCollectionType>(SortedMapCollectionType.ONLINEADAPTER_SORTEDARRAYMAP,
+				new double[] { 56, 10 },
+				new double[] { 0 },
+				new double[] { 0 },
+				new double[] { 0 },
+				new double[] { 0 },
+				new double[] { 0 },
+				new double[] { 0 }));
+
+		return performanceModel;
+
+	}
+
+	public static List<SortedPerformanceModel<SortedSetCollectionType>> buildSortedSetsPerformanceModelTime() {
+
+		List<SortedPerformanceModel<SortedSetCollectionType>> performanceModel = new java.util.ArrayList<SortedPerformanceModel<SortedSetCollectionType>>();
+
+		performanceModel.add(new SortedPerformanceModel<SortedSetCollectionType>(SortedSetCollectionType.JDK_TREESET,
+				new double[] { 30 },
+				new double[] { 20, 0.002 },
+				new double[] { 45, 0.003 },
+				new double[] { 40, 0.003 },
+				new double[] { 22, 0.002 },
+				new double[] { 20, 0.002 },
+				new double[] { 5, 4 }));
+		performanceModel.add(new SortedPerformanceModel<SortedSetCollectionType>(SortedSetCollectionType.JDK_CONCURRENTSKIPLISTSET,
+				new double[] { 80 },
+				new double[] { 35, 0.004 },
+				new double[] { 70, 0.004 },
+				new double[] { 60, 0.004 },
+				new double[] { 38, 0.004 },
+				new double[] { 30, 0.004 },
+				new double[] { 5, 5 }));
+		performanceModel.add(new SortedPerformanceModel<SortedSetCollectionType>(SortedSetCollectionType.FASTUTIL_AVLTREESET,
+				new double[] { 30 },
+				new double[] { 18, 0.002 },
+				new double[] { 50, 0.003 },
+				new double[] { 45, 0.003 },
+				new double[] { 20, 0.002 },
+				new double[] { 20, 0.002 },
+				new double[] { 5, 3.5 }));
+		performanceModel.add(new SortedPerformanceModel<SortedSetCollectionType>(SortedSetCollectionType.FASTUTIL_RBTREESET,
+				new double[] { 30 },
+				new double[] { 19, 0.002 },
+				new double[] { 45, 0.003 },
+				new double[] { 40, 0.003 },
+				new double[] { 21, 0.002 },
+				new double[] { 20, 0.002 },
+				new double[] { 5, 3.5 }));
+		performanceModel.add(new SortedPerformanceModel<SortedSetCollectionType>(SortedSetCollectionType.ONLINEADAPTER_SORTEDARRAYSET,
+				new double[] { 30, 1 },
+				new double[] { 12, 0.001 },
+				new double[] { 15, 0.1 },
+				new double[] { 15, 0.1 },
+				new double[] { 14, 0.001 },
+				new double[] { 25, 0.002 },
+				new double[] { 5, 1.5 }));
+
+		return performanceModel;
+
+	}
+
+	public static List<SortedPerformanceModel<SortedSetCollectionType>> buildSortedSetsPerformanceModelAllocation() {
+
+		List<SortedPerformanceModel<SortedSetCollectionType>> performanceModel = new java.util.ArrayList<SortedPerformanceModel<SortedSetCollectionType>>();
+
+		performanceModel.add(new SortedPerformanceModel<SortedSetCollectionType>(SortedSetCollectionType.JDK_TREESET,
+				new double[] { 64 },
+				new double[] { 0 },
+				new double[] { 40 },
+				new double[] { 0 },
+				new double[] { 0 },
+				new double[] { 80 },
+				new double[] { 32 }));
+		performanceModel.add(new SortedPerformanceModel<SortedSetCollectionType>(SortedSetCollectionType.JDK_CONCURRENTSKIPLISTSET,
+				new double[] { 112 },
+				new double[] { 0 },
+				new double[] { 32 },
+				new double[] { 0 },
+				new double[] { 0 },
+				new double[] { 80 },
+				new double[] { 32 }));
+		performanceModel.add(new SortedPerformanceModel<SortedSetCollectionType>(SortedSetCollectionType.FASTUTIL_AVLTREESET,
+				new double[] { 48 },
+				new double[] { 0 },
+				new double[] { 32 },
+				new double[] { 0 },
+				new double[] { 0 },
+				new double[] { 64 },
+				new double[] { 32 }));
+		performanceModel.add(new SortedPerformanceModel<SortedSetCollectionType>(SortedSetCollectionType.FASTUTIL_RBTREESET,
+				new double[] { 48 },
+				new double[] { 0 },
+				new double[] { 32 },
+				new double[] { 0 },
+				new double[] { 0 },
+				new double[] { 64 },
+				new double[] { 32 }));
+		performanceModel.add(new SortedPerformanceModel<SortedSetCollectionType>(SortedSetCollectionType.ONLINEADAPTER_SORTEDARRAYSET,
+				new double[] { 80, 24 },
+				new double[] { 0 },
+				new double[] { 0 },
+				new double[] { 0 },
+				new double[] { 0 },
+				new double[] { 96 },
+				new double[] { 32 }));
+
+		return performanceModel;
+
+	}
+
+	public static List<SortedPerformanceModel<SortedSetCollectionType>> buildSortedSetsPerformanceModelFootprint() {
+
+		List<SortedPerformanceModel<SortedSetCollectionType>> performanceModel = new java.util.ArrayList<SortedPerformanceModel<SortedSetCollectionType>>();
+
+		performanceModel.add(new SortedPerformanceModel<SortedSetCollectionType>(SortedSetCollectionType.JDK_TREESET,
+				new double[] { 64, 40 },
+				new double[] { 0 },
+				new double[] { 0 },
+				new double[] { 0 },
+				new double[] { 0 },
+				new double[] { 0 },
+				new double[] { 0 }));
+		performanceModel.add(new SortedPerformanceModel<SortedSetCollectionType>(SortedSetCollectionType.JDK_CONCURRENTSKIPLISTSET,
+				new double[] { 112, 32 },
+				new double[] { 0 },
+				new double[] { 0 },
+				new double[] { 0 },
+				new double[] { 0 },
+				new double[] { 0 },
+				new double[] { 0 }));
+		performanceModel.add(new SortedPerformanceModel<SortedSetCollectionType>(SortedSetCollectionType.FASTUTIL_AVLTREESET,
+				new double[] { 48, 32 },
+				new double[] { 0 },
+				new double[] { 0 },
+				new double[] { 0 },
+				new double[] { 0 },
+				new double[] { 0 },
+				new double[] { 0 }));
+		performanceModel.add(new SortedPerformanceModel<SortedSetCollectionType>(SortedSetCollectionType.FASTUTIL_RBTREESET,
+				new double[] { 48, 32 },
+				new double[] { 0 },
+				new double[] { 0 },
+				new double[] { 0 },
+				new double[] { 0 },
+				new double[] { 0 },
+				new double[] { 0 }));
+		performanceModel.add(new SortedPerformanceModel<SortedSetCollectionType>(SortedSetCollectionType.ONLINEADAPTER_SORTEDARRAYSET,
+				new double[] { 72, 10 },
+				new double[] { 0 },
+				new double[] { 0 },
+				new double[] { 0 },
+				new double[] { 0 },
+				new double[] { 0 },
+				new double[] { 0 }));
+
+		return performanceModel;
+
+	}
+
+	// Models of the bags and multimaps: the cost of creating an instance
+	// that grows to a number of distinct elements or keys, of an add or put,
+	// of each occurrence or value it stores, of a count or lookup and of a
+	// removal by size, and of a full iteration by size. They are estimates
+	// until measured with CountingCalibrationBenchmark: the commons bag boxes
+	// its counters in a HashMap, the Eclipse one keeps them in an open
+	// addressing map, and the linked bag also appends every occurrence to a
+	// list. The multimaps keep a collection per key, so their footprint
+	// grows with the keys and the values apart
+
+	public static List<CountingPerformanceModel<BagCollectionType>> buildBagsPerformanceModelTime() {
+
+		List<CountingPerformanceModel<BagCollectionType>> performanceModel = new java.util.ArrayList<CountingPerformanceModel<BagCollectionType>>();
+
+		performanceModel.add(new CountingPerformanceModel<BagCollectionType>(BagCollectionType.COMMONS_HASHBAG,
+				new double[] { 40 },
+				new double[] { 25, 0.001 },
+				new double[] { 0 },
+				new double[] { 15, 0.001 },
+				new double[] { 22, 0.001 },
+				new double[] { 5, 6 }));
+		performanceModel.add(new CountingPerformanceModel<BagCollectionType>(BagCollectionType.GSCOLLECTIONS_HASHBAG,
+				new double[] { 30 },
+				new double[] { 14, 0.001 },
+				new double[] { 0 },
+				new double[] { 10, 0.001 },
+				new double[] { 14, 0.001 },
+				new double[] { 5, 4 }));
+		performanceModel.add(new CountingPerformanceModel<BagCollectionType>(BagCollectionType.ONLINEADAPTER_LINKEDHASHBAG,
+				new double[] { 50 },
+				new double[] { 25, 0.001 },
+				new double[] { 4 },
+				new double[] { 15, 0.001 },
+				new double[] { 30, 0.5 },
+				new double[] { 5, 1.5 }));
+
+		return performanceModel;
+
+	}
+
+	public static List<CountingPerformanceModel<BagCollectionType>> buildBagsPerformanceModelAllocation() {
+
+		List<CountingPerformanceModel<BagCollectionType>> performanceModel = new java.util.ArrayList<CountingPerformanceModel<BagCollectionType>>();
+
+		// Bytes allocated, the commons bag boxes a counter per new element
+		performanceModel.add(new CountingPerformanceModel<BagCollectionType>(BagCollectionType.COMMONS_HASHBAG,
+				new double[] { 48 },
+				new double[] { 24 },
+				new double[] { 0 },
+				new double[] { 0 },
+				new double[] { 0 },
+				new double[] { 32 }));
+		performanceModel.add(new CountingPerformanceModel<BagCollectionType>(BagCollectionType.GSCOLLECTIONS_HASHBAG,
+				new double[] { 64 },
+				new double[] { 4 },
+				new double[] { 0 },
+				new double[] { 0 },
+				new double[] { 0 },
+				new double[] { 32 }));
+		performanceModel.add(new CountingPerformanceModel<BagCollectionType>(BagCollectionType.ONLINEADAPTER_LINKEDHASHBAG,
+				new double[] { 72 },
+				new double[] { 24 },
+				new double[] { 6 },
+				new double[] { 0 },
+				new double[] { 0 },
+				new double[] { 24 }));
+
+		return performanceModel;
+
+	}
+
+	public static List<CountingPerformanceModel<BagCollectionType>> buildBagsPerformanceModelFootprint() {
+
+		List<CountingPerformanceModel<BagCollectionType>> performanceModel = new java.util.ArrayList<CountingPerformanceModel<BagCollectionType>>();
+
+		performanceModel.add(new CountingPerformanceModel<BagCollectionType>(BagCollectionType.COMMONS_HASHBAG,
+				new double[] { 64, 56 },
+				new double[] { 0 },
+				new double[] { 0 },
+				new double[] { 0 },
+				new double[] { 0 },
+				new double[] { 0 }));
+		performanceModel.add(new CountingPerformanceModel<BagCollectionType>(BagCollectionType.GSCOLLECTIONS_HASHBAG,
+				new double[] { 80, 16 },
+				new double[] { 0 },
+				new double[] { 0 },
+				new double[] { 0 },
+				new double[] { 0 },
+				new double[] { 0 }));
+		performanceModel.add(new CountingPerformanceModel<BagCollectionType>(BagCollectionType.ONLINEADAPTER_LINKEDHASHBAG,
+				new double[] { 104, 56 },
+				new double[] { 0 },
+				new double[] { 4 },
+				new double[] { 0 },
+				new double[] { 0 },
+				new double[] { 0 }));
+
+		return performanceModel;
+
+	}
+
+	public static List<CountingPerformanceModel<MultimapCollectionType>> buildMultimapsPerformanceModelTime() {
+
+		List<CountingPerformanceModel<MultimapCollectionType>> performanceModel = new java.util.ArrayList<CountingPerformanceModel<MultimapCollectionType>>();
+
+		performanceModel.add(new CountingPerformanceModel<MultimapCollectionType>(MultimapCollectionType.COMMONS_ARRAYLISTVALUEDHASHMAP,
+				new double[] { 40 },
+				new double[] { 20, 0.001 },
+				new double[] { 8 },
+				new double[] { 15, 0.001 },
+				new double[] { 25, 0.001 },
+				new double[] { 5, 5 }));
+		performanceModel.add(new CountingPerformanceModel<MultimapCollectionType>(MultimapCollectionType.COMMONS_HASHSETVALUEDHASHMAP,
+				new double[] { 40 },
+				new double[] { 20, 0.001 },
+				new double[] { 25 },
+				new double[] { 15, 0.001 },
+				new double[] { 25, 0.001 },
+				new double[] { 5, 7 }));
+		performanceModel.add(new CountingPerformanceModel<MultimapCollectionType>(MultimapCollectionType.GSCOLLECTIONS_FASTLISTMULTIMAP,
+				new double[] { 35 },
+				new double[] { 15, 0.001 },
+				new double[] { 6 },
+				new double[] { 11, 0.001 },
+				new double[] { 20, 0.001 },
+				new double[] { 5, 4 }));
+		performanceModel.add(new CountingPerformanceModel<MultimapCollectionType>(MultimapCollectionType.GSCOLLECTIONS_UNIFIEDSETMULTIMAP,
+				new double[] { 35 },
+				new double[] { 15, 0.001 },
+				new double[] { 20 },
+				new double[] { 11, 0.001 },
+				new double[] { 20, 0.001 },
+				new double[] { 5, 5 }));
+		performanceModel.add(new CountingPerformanceModel<MultimapCollectionType>(MultimapCollectionType.ONLINEADAPTER_COMPACTLISTMULTIMAP,
+				new double[] { 35 },
+				new double[] { 15, 0.001 },
+				new double[] { 10 },
+				new double[] { 11, 0.001 },
+				new double[] { 20, 0.001 },
+				new double[] { 5, 4 }));
+
+		return performanceModel;
+
+	}
+
+	public static List<CountingPerformanceModel<MultimapCollectionType>> buildMultimapsPerformanceModelAllocation() {
+
+		List<CountingPerformanceModel<MultimapCollectionType>> performanceModel = new java.util.ArrayList<CountingPerformanceModel<MultimapCollectionType>>();
+
+		// Bytes allocated, the set valued maps allocate an entry per value
+		performanceModel.add(new CountingPerformanceModel<MultimapCollectionType>(MultimapCollectionType.COMMONS_ARRAYLISTVALUEDHASHMAP,
+				new double[] { 48 },
+				new double[] { 16 },
+				new double[] { 6 },
+				new double[] { 0 },
+				new double[] { 0 },
+				new double[] { 32 }));
+		performanceModel.add(new CountingPerformanceModel<MultimapCollectionType>(MultimapCollectionType.COMMONS_HASHSETVALUEDHASHMAP,
+				new double[] { 48 },
+				new double[] { 16 },
+				new double[] { 40 },
+				new double[] { 0 },
+				new double[] { 0 },
+				new double[] { 32 }));
+		performanceModel.add(new CountingPerformanceModel<MultimapCollectionType>(MultimapCollectionType.GSCOLLECTIONS_FASTLISTMULTIMAP,
+				new double[] { 64 },
+				new double[] { 8 },
+				new double[] { 6 },
+				new double[] { 0 },
+				new double[] { 0 },
+				new double[] { 32 }));
+		performanceModel.add(new CountingPerformanceModel<MultimapCollectionType>(MultimapCollectionType.GSCOLLECTIONS_UNIFIEDSETMULTIMAP,
+				new double[] { 64 },
+				new double[] { 8 },
+				new double[] { 16 },
+				new double[] { 0 },
+				new double[] { 0 },
+				new double[] { 32 }));
+		performanceModel.add(new CountingPerformanceModel<MultimapCollectionType>(MultimapCollectionType.ONLINEADAPTER_COMPACTLISTMULTIMAP,
+				new double[] { 64 },
+				new double[] { 8 },
+				new double[] { 10 },
+				new double[] { 0 },
+				new double[] { 0 },
+				new double[] { 32 }));
+
+		return performanceModel;
+
+	}
+
+	public static List<CountingPerformanceModel<MultimapCollectionType>> buildMultimapsPerformanceModelFootprint() {
+
+		List<CountingPerformanceModel<MultimapCollectionType>> performanceModel = new java.util.ArrayList<CountingPerformanceModel<MultimapCollectionType>>();
+
+		performanceModel.add(new CountingPerformanceModel<MultimapCollectionType>(MultimapCollectionType.COMMONS_ARRAYLISTVALUEDHASHMAP,
+				new double[] { 48, 112 },
+				new double[] { 0 },
+				new double[] { 4 },
+				new double[] { 0 },
+				new double[] { 0 },
+				new double[] { 0 }));
+		performanceModel.add(new CountingPerformanceModel<MultimapCollectionType>(MultimapCollectionType.COMMONS_HASHSETVALUEDHASHMAP,
+				new double[] { 48, 160 },
+				new double[] { 0 },
+				new double[] { 40 },
+				new double[] { 0 },
+				new double[] { 0 },
+				new double[] { 0 }));
+		performanceModel.add(new CountingPerformanceModel<MultimapCollectionType>(MultimapCollectionType.GSCOLLECTIONS_FASTLISTMULTIMAP,
+				new double[] { 64, 96 },
+				new double[] { 0 },
+				new double[] { 4 },
+				new double[] { 0 },
+				new double[] { 0 },
+				new double[] { 0 }));
+		performanceModel.add(new CountingPerformanceModel<MultimapCollectionType>(MultimapCollectionType.GSCOLLECTIONS_UNIFIEDSETMULTIMAP,
+				new double[] { 64, 80 },
+				new double[] { 0 },
+				new double[] { 16 },
+				new double[] { 0 },
+				new double[] { 0 },
+				new double[] { 0 }));
+		performanceModel.add(new CountingPerformanceModel<MultimapCollectionType>(MultimapCollectionType.ONLINEADAPTER_COMPACTLISTMULTIMAP,
+				new double[] { 64, 64 },
+				new double[] { 0 },
+				new double[] { 6 },
+				new double[] { 0 },
+				new double[] { 0 },
+				new double[] { 0 }));
+
+		return performanceModel;
+
+	}
+
+}
@@ -0,0 +1,389 @@
+package de.heidelberg.pvs.diego.collectionswitch.factories;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Locale;
+
+import de.heidelberg.pvs.diego.collectionswitch.factories.PerformanceModels.Entry;
+import de.heidelberg.pvs.diego.collectionswitch.factories.PerformanceModels.Kind;
+import de.heidelberg.pvs.diego.collectionswitch.manager.PerformanceGoal.PerformanceDimension;
+
+/**
+ * Reads performance models from versioned model files.
+ *
+ * A model file starts with the header {@code collectionswitch-models 1} and
+ * has one model per line:
+ *
+ * <pre>
+ * # kind dimension type populate contains iterate
+ * list TIME JDK_ARRAYLIST -68.14,7.59,-0.0052 29.95,0.51,-0.00014 5.55,4.24,-0.00015
+ * </pre>
+ *
+ * List models may add the polynomials of random access and of inserts and
+ * removals at the head, in the middle and at the tail, in this order. Map
+ * models may add the polynomials of a get that finds its key, of a get that
+ * misses, of a put of a new key, of an overwrite and of a removal.
+ *
+ * Each polynomial is given by its comma separated coefficients, from the
+ * constant term up. Parsed files may be cached in a compact binary form in a
+ * given directory, so that later startups neither read nor parse them. Each
+ * file has a single cache, which records the path, length and modification
+ * time of the file and is only used while they match. Classpath resources are
+ * never cached.
+ */
+public class PerformanceModelLoader {
+
+	public static final String HEADER = "collectionswitch-models";
+	public static final int VERSION = 1;
+
+	/** Classpath resource read when no model file is configured */
+	public static final String DEFAULT_RESOURCE = "collectionswitch-models.txt";
+
+	private static final int BINARY_MAGIC = 0x43534d44;
+	private static final int BINARY_VERSION = 2;
+
+	/**
+	 * Loads a model file.
+	 */
+	public static PerformanceModels load(File file) throws IOException {
+		return load(file, null);
+	}
+
+	/**
+	 * Loads a model file, from its binary cache in the given directory when
+	 * the file did not change since it was cached. The directory is created
+	 * with owner only permissions, and the file is parsed without any cache
+	 * when it is {@code null} or cannot be created.
+	 */
+	public static PerformanceModels load(File file, File cacheDir) throws IOException {
+
+		File source = file.getCanonicalFile();
+		long length = source.length();
+		long modified = source.lastModified();
+
+		File cache = cacheDir == null || !createCacheDir(cacheDir) ? null
+				: new File(cacheDir, HEADER + "-" + toHex(digest(source.getPath())) + ".bin");
+
+		if (cache != null && cache.isFile()) {
+			try {
+				DataInputStream cached = new DataInputStream(new BufferedInputStream(new FileInputStream(cache)));
+				try {
+					if (source.getPath().equals(cached.readUTF()) && cached.readLong() == length
+							&& cached.readLong() == modified) {
+						return readBinary(cached);
+					}
+				} finally {
+					cached.close();
+				}
+			} catch (IOException | IllegalArgumentException e) {
+				// Unreadable cache, parses the source again
+			}
+		}
+
+		PerformanceModels models;
+		Reader reader = new InputStreamReader(new FileInputStream(source), StandardCharsets.UTF_8);
+		try {
+			models = parse(reader);
+		} finally {
+			reader.close();
+		}
+
+		// A file changed while it was read is cached at the next startup
+		if (cache != null && source.length() == length && source.lastModified() == modified) {
+			writeCache(models, source.getPath(), length, modified, cache);
+		}
+
+		return models;
+	}
+
+	/**
+	 * Loads the given classpath resource, or returns {@code null} when it does
+	 * not exist.
+	 */
+	public static PerformanceModels loadResource(String name) throws IOException {
+		InputStream in = PerformanceModelLoader.class.getClassLoader().getResourceAsStream(name);
+		if (in == null) {
+			return null;
+		}
+		try {
+			return parse(new InputStreamReader(in, StandardCharsets.UTF_8));
+		} finally {
+			in.close();
+		}
+	}
+
+	/**
+	 * Parses a model file.
+	 *
+	 * @throws IllegalArgumentException
+	 *             for unsupported versions, unknown types and malformed lines
+	 */
+	public static PerformanceModels parse(Reader reader) throws IOException {
+
+		BufferedReader lines = new BufferedReader(reader);
+		PerformanceModels models = new PerformanceModels();
+
+		boolean header = false;
+		int number = 0;
+		String line;
+		while ((line = lines.readLine()) != null) {
+			number++;
+			line = line.trim();
+			if (line.isEmpty() || line.startsWith("#")) {
+				continue;
+			}
+
+			String[] fields = line.split("\\s+");
+			try {
+				if (!header) {
+					if (fields.length != 2 || !fields[0].equals(HEADER)) {
+						throw new IllegalArgumentException("Missing header " + HEADER);
+					}
+					if (Integer.parseInt(fields[1]) != VERSION) {
+						throw new IllegalArgumentException("Unsupported version " + fields[1]);
+					}
+					header = true;
+					continue;
+				}
+
+				Kind kind = Kind.valueOf(fields[0].toUpperCase(Locale.ROOT));
+				int extra = PerformanceModels.operationCount(kind);
+				if (fields.length != 6 && (extra == 0 || fields.length != 6 + extra)) {
+					throw new IllegalArgumentException(extra == 0
+							? String.format("Expected 6 fields but found %d", fields.length)
+							: String.format("Expected 6 or %d fields but found %d", 6 + extra, fields.length));
+				}
+
+				double[][] operations = null;
+				if (fields.length > 6) {
+					operations = new double[extra][];
+					for (int i = 0; i < operations.length; i++) {
+						operations[i] = parseCoefficients(fields[6 + i]);
+					}
+				}
+
+				models.add(kind, PerformanceDimension.valueOf(fields[1].toUpperCase(Locale.ROOT)), fields[2],
+						parseCoefficients(fields[3]), parseCoefficients(fields[4]), parseCoefficients(fields[5]),
+						operations);
+
+			} catch (IllegalArgumentException e) {
+				throw new IllegalArgumentException(String.format("Line %d: %s", number, e.getMessage()), e);
+			}
+		}
+
+		if (!header) {
+			throw new IllegalArgumentException("Missing header " + HEADER);
+		}
+
+		return models;
+	}
+
+	/**
+	 * Writes the models in the format read by {@link #parse(Reader)}.
+	 */
+	public static void writeText(PerformanceModels models, Writer writer) throws IOException {
+
+		BufferedWriter out = new BufferedWriter(writer);
+		out.write(HEADER + " " + VERSION);
+		out.newLine();
+		out.write("# kind dimension type populate contains iterate [index head middle tail]");
+		out.newLine();
+		out.write("# map models: ... iterate [hit miss put-new overwrite remove]");
+		out.newLine();
+
+		for (Entry entry : models.getEntries()) {
+			out.write(String.format("%s %s %s %s %s %s", entry.getKind().name().toLowerCase(Locale.ROOT),
+					entry.getDimension(), entry.getType(), formatCoefficients(entry.getPopulate()),
+					formatCoefficients(entry.getContains()), formatCoefficients(entry.getIterate())));
+			double[][] operations = entry.getOperations();
+			if (operations != null) {
+				for (double[] operation : operations) {
+					out.write(" " + formatCoefficients(operation));
+				}
+			}
+			out.newLine();
+		}
+		out.flush();
+	}
+
+	public static PerformanceModels readBinary(DataInputStream in) throws IOException {
+
+		if (in.readInt() != BINARY_MAGIC || in.readInt() != BINARY_VERSION) {
+			throw new IOException("Not a model cache");
+		}
+
+		PerformanceModels models = new PerformanceModels();
+		int count = in.readInt();
+		for (int i = 0; i < count; i++) {
+			// Names instead of ordinals, so that the types are validated again
+			Kind kind = Kind.valueOf(in.readUTF());
+			PerformanceDimension dimension = PerformanceDimension.valueOf(in.readUTF());
+			String type = in.readUTF();
+			double[] populate = readCoefficients(in);
+			double[] contains = readCoefficients(in);
+			double[] iterate = readCoefficients(in);
+
+			double[][] operations = null;
+			if (in.readBoolean()) {
+				operations = new double[PerformanceModels.operationCount(kind)][];
+				for (int j = 0; j < operations.length; j++) {
+					operations[j] = readCoefficients(in);
+				}
+			}
+			models.add(kind, dimension, type, populate, contains, iterate, operations);
+		}
+		return models;
+	}
+
+	public static void writeBinary(PerformanceModels models, DataOutputStream out) throws IOException {
+
+		out.writeInt(BINARY_MAGIC);
+		out.writeInt(BINARY_VERSION);
+		out.writeInt(models.size());
+		for (Entry entry : models.getEntries()) {
+			out.writeUTF(entry.getKind().name());
+			out.writeUTF(entry.getDimension().name());
+			out.writeUTF(entry.getType());
+			writeCoefficients(entry.getPopulate(), out);
+			writeCoefficients(entry.getContains(), out);
+			writeCoefficients(entry.getIterate(), out);
+
+			double[][] operations = entry.getOperations();
+			out.writeBoolean(operations != null);
+			if (operations != null) {
+				for (double[] operation : operations) {
+					writeCoefficients(operation, out);
+				}
+			}
+		}
+		out.flush();
+	}
+
+	private static void writeCache(PerformanceModels models, String path, long length, long modified, File cache) {
+
+		// Written aside and renamed over the cache of the previous version of
+		// the file, so that other processes never read a partial cache
+		File temporary = new File(cache.getPath() + ".tmp" + System.nanoTime());
+		try {
+			DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temporary)));
+			try {
+				out.writeUTF(path);
+				out.writeLong(length);
+				out.writeLong(modified);
+				writeBinary(models, out);
+			} finally {
+				out.close();
+			}
+			Files.move(temporary.toPath(), cache.toPath(), StandardCopyOption.REPLACE_EXISTING);
+		} catch (IOException e) {
+			// The cache is only an optimization
+			temporary.delete();
+		}
+	}
+
+	private static double[] parseCoefficients(String field) {
+		String[] values = field.split(",");
+		double[] coefficients = new double[values.length];
+		for (int i = 0; i < values.length; i++) {
+			coefficients[i] = Double.parseDouble(values[i]);
+		}
+		return coefficients;
+	}
+
+	private static String formatCoefficients(double[] coefficients) {
+		StringBuilder builder = new StringBuilder();
+		for (int i = 0; i < coefficients.length; i++) {
+			if (i > 0) {
+				builder.append(',');
+			}
+			builder.append(coefficients[i]);
+		}
+		return builder.toString();
+	}
+
+	private static double[] readCoefficients(DataInputStream in) throws IOException {
+		double[] coefficients = new double[in.readUnsignedByte()];
+		for (int i = 0; i < coefficients.length; i++) {
+			coefficients[i] = in.readDouble();
+		}
+		return coefficients;
+	}
+
+	private static void writeCoefficients(double[] coefficients, DataOutputStream out) throws IOException {
+		if (coefficients.length > 255) {
+			throw new IOException("Polynomial of degree " + coefficients.length + " is not supported");
+		}
+		out.writeByte(coefficients.length);
+		for (double coefficient : coefficients) {
+			out.writeDouble(coefficient);
+		}
+	}
+
+	/**
+	 * SHA-256 digest of the path of a model file, which names its cache
+	 */
+	private static byte[] digest(String path) {
+		try {
+			return MessageDigest.getInstance("SHA-256").digest(path.getBytes(StandardCharsets.UTF_8));
+		} catch (NoSuchAlgorithmException e) {
+			// Every Java platform implements SHA-256
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private static String toHex(byte[] bytes) {
+		StringBuilder builder = new StringBuilder(2 * bytes.length);
+		for (byte b : bytes) {
+			builder.append(String.format("%02x", b));
+		}
+		return builder.toString();
+	}
+
+	/**
+	 * Creates the cache directory with owner only permissions, unless it
+	 * exists, and tells whether it can be used
+	 */
+	private static boolean createCacheDir(File dir) {
+		if (dir.isDirectory()) {
+			return true;
+		}
+		try {
+			Files.createDirectories(dir.toPath(),
+					PosixFilePermissions.asFileAttribute(PosixFilePermissions.fromString("rwx------")));
+		} catch (UnsupportedOperationException e) {
+			// Not a POSIX file system, restricts the directory afterwards
+			if (!dir.mkdirs()) {
+				return false;
+			}
+			dir.setReadable(false, false);
+			dir.setWritable(false, false);
+			dir.setExecutable(false, false);
+			dir.setReadable(true, true);
+			dir.setWritable(true, true);
+			dir.setExecutable(true, true);
+		} catch (IOException e) {
+			// The cache is only an optimization
+			return false;
+		}
+		return true;
+	}
+
+}
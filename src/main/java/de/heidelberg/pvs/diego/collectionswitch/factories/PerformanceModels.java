@@ -0,0 +1,325 @@
+package de.heidelberg.pvs.diego.collectionswitch.factories;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+import de.heidelberg.pvs.diego.collectionswitch.context.ListCollectionType;
+import de.heidelberg.pvs.diego.collectionswitch.context.MapCollectionType;
+import de.heidelberg.pvs.diego.collectionswitch.context.SetCollectionType;
+import de.heidelberg.pvs.diego.collectionswitch.manager.PerformanceGoal.PerformanceDimension;
+import de.heidelberg.pvs.diego.collectionswitch.monitors.KeyProfile;
+import de.heidelberg.pvs.diego.collectionswitch.optimizers.lists.ListEmpiricalPerformanceEvaluator;
+import de.heidelberg.pvs.diego.collectionswitch.optimizers.lists.ListPerformanceModel;
+import de.heidelberg.pvs.diego.collectionswitch.optimizers.maps.MapEmpiricalPerformanceEvaluator;
+import de.heidelberg.pvs.diego.collectionswitch.optimizers.maps.MapPerformanceModel;
+import de.heidelberg.pvs.diego.collectionswitch.optimizers.sets.SetEmpiricalPerformanceEvaluator;
+import de.heidelberg.pvs.diego.collectionswitch.optimizers.sets.SetPerformanceModel;
+
+/**
+ * Validated coefficients of a set of performance models, as read by the
+ * {@link PerformanceModelLoader}.
+ */
+public class PerformanceModels {
+
+	public enum Kind {
+		LIST, SET, MAP;
+	}
+
+	/** Positional polynomials of a list model: index, head, middle and tail */
+	public static final int POSITIONS = 4;
+
+	/**
+	 * Key operation polynomials of a map model: get hit, get miss, put of a new
+	 * key, overwrite and remove
+	 */
+	public static final int KEY_OPERATIONS = 5;
+
+	private final List<Entry> entries = new ArrayList<Entry>();
+
+	/**
+	 * Adds the polynomials of one implementation for one dimension. The type
+	 * name must be a constant of the collection type enum of the given kind.
+	 */
+	public void add(Kind kind, PerformanceDimension dimension, String type, double[] populate, double[] contains,
+			double[] iterate) {
+		add(kind, dimension, type, populate, contains, iterate, null);
+	}
+
+	/**
+	 * Adds a model with the polynomials of the operations specific to its
+	 * kind, or {@code null} without them: the positional operations of a list
+	 * or the key operations of a map, in the order of their descriptions.
+	 */
+	public void add(Kind kind, PerformanceDimension dimension, String type, double[] populate, double[] contains,
+			double[] iterate, double[][] operations) {
+
+		if (operations != null && operations.length != operationCount(kind)) {
+			throw new IllegalArgumentException(String.format("Expected %d operation polynomials for a %s model",
+					operationCount(kind), kind.name().toLowerCase(Locale.ROOT)));
+		}
+
+		// Fails for unknown types
+		Enum<?> collectionType;
+		switch (kind) {
+		case LIST:
+			collectionType = ListCollectionType.valueOf(type);
+			break;
+		case SET:
+			collectionType = SetCollectionType.valueOf(type);
+			break;
+		default:
+			collectionType = MapCollectionType.valueOf(type);
+		}
+
+		for (Entry entry : entries) {
+			if (entry.kind == kind && entry.dimension == dimension && entry.type == collectionType) {
+				throw new IllegalArgumentException(
+						String.format("Duplicated model for %s %s %s", kind, dimension, type));
+			}
+		}
+
+		double[][] checkedOperations = null;
+		if (operations != null) {
+			checkedOperations = new double[operations.length][];
+			for (int i = 0; i < operations.length; i++) {
+				checkedOperations[i] = checkCoefficients(operations[i]);
+			}
+		}
+
+		entries.add(new Entry(kind, dimension, collectionType, checkCoefficients(populate),
+				checkCoefficients(contains), checkCoefficients(iterate), checkedOperations));
+	}
+
+	/**
+	 * Number of operation polynomials a model of the given kind may add, 0 if
+	 * it has none
+	 */
+	public static int operationCount(Kind kind) {
+		switch (kind) {
+		case LIST:
+			return POSITIONS;
+		case MAP:
+			return KEY_OPERATIONS;
+		default:
+			return 0;
+		}
+	}
+
+	public List<Entry> getEntries() {
+		return Collections.unmodifiableList(entries);
+	}
+
+	public int size() {
+		return entries.size();
+	}
+
+	/**
+	 * Evaluator of all the list implementations, for a generic context
+	 */
+	public ListEmpiricalPerformanceEvaluator buildListEvaluator() {
+		return buildListEvaluator(Object.class);
+	}
+
+	/**
+	 * Evaluator of the list implementations that accept elements of the given
+	 * class, including the primitive ones of that class. For {@code Object}
+	 * the primitive ones are included as well, since the optimizer of a
+	 * generic context selects them when its profile allows it
+	 */
+	public ListEmpiricalPerformanceEvaluator buildListEvaluator(Class<?> elementType) {
+		ListEmpiricalPerformanceEvaluator evaluator = new ListEmpiricalPerformanceEvaluator();
+		for (PerformanceDimension dimension : PerformanceDimension.values()) {
+			List<ListPerformanceModel> models = new ArrayList<ListPerformanceModel>();
+			for (Entry entry : select(Kind.LIST, dimension)) {
+				if (elementType != Object.class && !((ListCollectionType) entry.type).accepts(elementType)) {
+					continue;
+				}
+				double[] populate = populate(entry, ((ListCollectionType) entry.type).getElementType(), elementType);
+				if (entry.operations == null) {
+					models.add(new ListPerformanceModel((ListCollectionType) entry.type, populate,
+							entry.contains, entry.iterate));
+				} else {
+					models.add(new ListPerformanceModel((ListCollectionType) entry.type, populate,
+							entry.contains, entry.iterate, entry.operations[0], entry.operations[1],
+							entry.operations[2], entry.operations[3]));
+				}
+			}
+			if (!models.isEmpty()) {
+				evaluator.addEmpiricalModel(dimension, models);
+			}
+		}
+		return evaluator;
+	}
+
+	/**
+	 * Evaluator of all the set implementations, for a generic context
+	 */
+	public SetEmpiricalPerformanceEvaluator buildSetEvaluator() {
+		return buildSetEvaluator(Object.class);
+	}
+
+	/**
+	 * Evaluator of the set implementations that accept elements of the given
+	 * class, including the primitive ones of that class. For {@code Object}
+	 * the primitive ones are included as well, since the optimizer of a
+	 * generic context selects them when its profile allows it
+	 */
+	public SetEmpiricalPerformanceEvaluator buildSetEvaluator(Class<?> elementType) {
+		SetEmpiricalPerformanceEvaluator evaluator = new SetEmpiricalPerformanceEvaluator();
+		for (PerformanceDimension dimension : PerformanceDimension.values()) {
+			List<SetPerformanceModel> models = new ArrayList<SetPerformanceModel>();
+			for (Entry entry : select(Kind.SET, dimension)) {
+				if (elementType != Object.class && !((SetCollectionType) entry.type).accepts(elementType)) {
+					continue;
+				}
+				double[] populate = populate(entry, ((SetCollectionType) entry.type).getElementType(), elementType);
+				models.add(new SetPerformanceModel((SetCollectionType) entry.type, populate, entry.contains,
+						entry.iterate));
+			}
+			if (!models.isEmpty()) {
+				evaluator.addEmpiricalModel(dimension, models);
+			}
+		}
+		return evaluator;
+	}
+
+	/**
+	 * Evaluator of all the map implementations, for a generic context
+	 */
+	public MapEmpiricalPerformanceEvaluator buildMapEvaluator() {
+		return buildMapEvaluator(Object.class);
+	}
+
+	/**
+	 * Evaluator of the map implementations that accept keys of the given
+	 * class, including the primitive ones of that class. For {@code Object}
+	 * the primitive ones are included as well, since the optimizer of a
+	 * generic context selects them when its profile allows it
+	 */
+	public MapEmpiricalPerformanceEvaluator buildMapEvaluator(Class<?> keyType) {
+		MapEmpiricalPerformanceEvaluator evaluator = new MapEmpiricalPerformanceEvaluator();
+		for (PerformanceDimension dimension : PerformanceDimension.values()) {
+			List<MapPerformanceModel> models = new ArrayList<MapPerformanceModel>();
+			for (Entry entry : select(Kind.MAP, dimension)) {
+				if (keyType != Object.class && !((MapCollectionType) entry.type).accepts(keyType)) {
+					continue;
+				}
+				double[] populate = populate(entry, ((MapCollectionType) entry.type).getKeyType(), keyType);
+				if (entry.operations == null) {
+					models.add(new MapPerformanceModel((MapCollectionType) entry.type, populate,
+							entry.contains, entry.iterate));
+				} else {
+					models.add(new MapPerformanceModel((MapCollectionType) entry.type, populate,
+							entry.contains, entry.iterate, entry.operations[0], entry.operations[1],
+							entry.operations[2], entry.operations[3], entry.operations[4]));
+				}
+			}
+			if (!models.isEmpty()) {
+				evaluator.addEmpiricalModel(dimension, models);
+			}
+		}
+		return evaluator;
+	}
+
+	/**
+	 * Populate polynomial of the entry, charged with the boxes a generic
+	 * implementation retains when it holds elements of a primitive type
+	 */
+	private static double[] populate(Entry entry, Class<?> entryType, Class<?> elementType) {
+		double box = KeyProfile.boxSize(elementType);
+		if (entry.dimension != PerformanceDimension.MEMORY_FOOTPRINT || entryType != Object.class || box == 0) {
+			return entry.populate;
+		}
+		double[] populate = Arrays.copyOf(entry.populate, Math.max(2, entry.populate.length));
+		populate[1] += box;
+		return populate;
+	}
+
+	private List<Entry> select(Kind kind, PerformanceDimension dimension) {
+		List<Entry> selected = new ArrayList<Entry>();
+		for (Entry entry : entries) {
+			if (entry.kind == kind && entry.dimension == dimension) {
+				selected.add(entry);
+			}
+		}
+		return selected;
+	}
+
+	private static double[] checkCoefficients(double[] coefficients) {
+		if (coefficients == null || coefficients.length == 0) {
+			throw new IllegalArgumentException("Empty polynomial");
+		}
+		for (double coefficient : coefficients) {
+			if (Double.isNaN(coefficient) || Double.isInfinite(coefficient)) {
+				throw new IllegalArgumentException("Coefficient is not finite: " + coefficient);
+			}
+		}
+		return coefficients.clone();
+	}
+
+	public static final class Entry {
+
+		private final Kind kind;
+		private final PerformanceDimension dimension;
+		private final Enum<?> type;
+		private final double[] populate;
+		private final double[] contains;
+		private final double[] iterate;
+		private final double[][] operations;
+
+		private Entry(Kind kind, PerformanceDimension dimension, Enum<?> type, double[] populate, double[] contains,
+				double[] iterate, double[][] operations) {
+			this.kind = kind;
+			this.dimension = dimension;
+			this.type = type;
+			this.populate = populate;
+			this.contains = contains;
+			this.iterate = iterate;
+			this.operations = operations;
+		}
+
+		public Kind getKind() {
+			return kind;
+		}
+
+		public PerformanceDimension getDimension() {
+			return dimension;
+		}
+
+		public String getType() {
+			return type.name();
+		}
+
+		public double[] getPopulate() {
+			return populate.clone();
+		}
+
+		public double[] getContains() {
+			return contains.clone();
+		}
+
+		public double[] getIterate() {
+			return iterate.clone();
+		}
+
+		/**
+		 * Polynomials of the operations specific to the kind, or {@code null}
+		 * if the model has none
+		 */
+		public double[][] getOperations() {
+			if (operations == null) {
+				return null;
+			}
+			double[][] copy = new double[operations.length][];
+			for (int i = 0; i < operations.length; i++) {
+				copy[i] = operations[i].clone();
+			}
+			return copy;
+		}
+
+	}
+
+}
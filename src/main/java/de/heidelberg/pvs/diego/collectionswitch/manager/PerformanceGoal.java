@@ -1,45 +1,72 @@
-package de.heidelberg.pvs.diego.collectionswitch.manager;
-
-public class PerformanceGoal {
-	
-	public final PerformanceDimension majorDimension;
-	public final PerformanceDimension minorDimension;
-	public final double maxPenalty;
-	public final double minImprovement;
-	
-	public enum PerformanceDimension {
-		TIME,
-		ALLOCATION,
-		MEMORY_FOOTPRINT;
-
-		public static PerformanceDimension parse(String majorDimension) {
-			
-			if(majorDimension.equalsIgnoreCase("time")){
-				return TIME;
-			}
-			
-			if(majorDimension.equalsIgnoreCase("allocation")){
-				return ALLOCATION;
-			}
-			
-			return null;
-		}
-	}
-	
-	public PerformanceGoal(PerformanceDimension major, PerformanceDimension minor, double minInprovement, double maxPenalty) {
-		this.majorDimension = major;
-		this.minorDimension = minor;
-		this.minImprovement = minInprovement;
-		this.maxPenalty = maxPenalty;
-	}
-	
-	public PerformanceGoal() {
-		majorDimension = PerformanceDimension.TIME;
-		minorDimension = PerformanceDimension.ALLOCATION;
-		maxPenalty = 0.7;
-		minImprovement = 1.2;
-	}
-
-	
-	
-}
+package de.heidelberg.pvs.diego.collectionswitch.manager;
+
+public class PerformanceGoal {
+	
+	public final PerformanceDimension majorDimension;
+	public final PerformanceDimension minorDimension;
+	public final double maxPenalty;
+	public final double minImprovement;
+
+	// Guard of the switches, see SwitchGuard
+	public final double confidence;
+	public final double hysteresis;
+	public final int cooldown;
+
+	public static final double DEFAULT_CONFIDENCE = 0.95;
+	public static final double DEFAULT_HYSTERESIS = 0.05;
+	public static final int DEFAULT_COOLDOWN = 1;
+	
+	public enum PerformanceDimension {
+		TIME,
+		ALLOCATION,
+		MEMORY_FOOTPRINT;
+
+		public static PerformanceDimension parse(String majorDimension) {
+			
+			if(majorDimension.equalsIgnoreCase("time")){
+				return TIME;
+			}
+			
+			if(majorDimension.equalsIgnoreCase("allocation")){
+				return ALLOCATION;
+			}
+			
+			if(majorDimension.equalsIgnoreCase("memory_footprint") || majorDimension.equalsIgnoreCase("footprint")){
+				return MEMORY_FOOTPRINT;
+			}
+			
+			return null;
+		}
+	}
+	
+	public PerformanceGoal(PerformanceDimension major, PerformanceDimension minor, double minInprovement, double maxPenalty) {
+		this(major, minor, minInprovement, maxPenalty, DEFAULT_CONFIDENCE, DEFAULT_HYSTERESIS, DEFAULT_COOLDOWN);
+	}
+
+	/**
+	 * @param confidence
+	 *            confidence level a switch needs, or 0 to switch on the
+	 *            predicted totals alone
+	 * @param hysteresis
+	 *            share of the cost of the current type a switch must save
+	 * @param cooldown
+	 *            windows that keep the type selected by a switch
+	 */
+	public PerformanceGoal(PerformanceDimension major, PerformanceDimension minor, double minInprovement,
+			double maxPenalty, double confidence, double hysteresis, int cooldown) {
+		this.majorDimension = major;
+		this.minorDimension = minor;
+		this.minImprovement = minInprovement;
+		this.maxPenalty = maxPenalty;
+		this.confidence = confidence;
+		this.hysteresis = hysteresis;
+		this.cooldown = cooldown;
+	}
+	
+	public PerformanceGoal() {
+		this(PerformanceDimension.TIME, PerformanceDimension.ALLOCATION, 1.2, 0.7);
+	}
+
+	
+	
+}
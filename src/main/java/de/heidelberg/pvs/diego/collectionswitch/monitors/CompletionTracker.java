@@ -0,0 +1,84 @@
+package de.heidelberg.pvs.diego.collectionswitch.monitors;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.collections.api.collection.primitive.MutableLongCollection;
+
+/**
+ * Tracks the monitored collections until they are garbage collected.
+ *
+ * Each collection is registered together with the id of its record in the
+ * {@link MetricsBuffer}. When the collection is collected, the JVM enqueues its
+ * reference, so the optimizer only polls the newly finished collections instead
+ * of scanning every record on each analysis.
+ */
+public class CompletionTracker {
+
+	/** Returned by {@link #pollFinished()} when no collection finished */
+	public static final long NONE = -1;
+
+	private final ReferenceQueue<Object> queue;
+
+	// References have to stay reachable until the JVM enqueues them
+	private final Set<RecordReference> active;
+
+	public CompletionTracker() {
+		this.queue = new ReferenceQueue<Object>();
+		this.active = ConcurrentHashMap.newKeySet();
+	}
+
+	public void track(Object collection, long id) {
+		active.add(new RecordReference(collection, id, queue));
+	}
+
+	/**
+	 * Returns the record id of a collection that finished since the last poll,
+	 * or {@link #NONE} if there is none.
+	 */
+	public long pollFinished() {
+		RecordReference reference;
+		while ((reference = (RecordReference) queue.poll()) != null) {
+			// Forgotten references are not reported
+			if (active.remove(reference)) {
+				return reference.id;
+			}
+		}
+		return NONE;
+	}
+
+	/**
+	 * Adds the record ids of the collections that are still alive.
+	 */
+	public void collectActive(MutableLongCollection ids) {
+		for (RecordReference reference : active) {
+			ids.add(reference.id);
+		}
+	}
+
+	public int activeCount() {
+		return active.size();
+	}
+
+	/**
+	 * Forgets every tracked collection. Their references become unreachable
+	 * and are never enqueued.
+	 */
+	public void clear() {
+		active.clear();
+	}
+
+	private static class RecordReference extends WeakReference<Object> {
+
+		private final long id;
+
+		RecordReference(Object collection, long id, ReferenceQueue<Object> queue) {
+			super(collection, queue);
+			this.id = id;
+		}
+
+	}
+
+}
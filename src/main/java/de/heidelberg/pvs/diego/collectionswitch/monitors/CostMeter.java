@@ -0,0 +1,68 @@
+package de.heidelberg.pvs.diego.collectionswitch.monitors;
+
+import java.lang.management.ManagementFactory;
+
+import de.heidelberg.pvs.diego.collectionswitch.manager.PerformanceGoal.PerformanceDimension;
+
+/**
+ * Measures the real cost of the operations of an instance, in nanoseconds or
+ * in the bytes allocated by the calling thread, and adds it to the record of
+ * the instance.
+ *
+ * Allocations are read from the {@code com.sun.management.ThreadMXBean} of
+ * HotSpot, which has no counter of retained bytes, so the footprint is
+ * measured by the bytes allocated as well. Without that counter, the meter
+ * falls back to the time.
+ */
+public final class CostMeter {
+
+	public static final int COST = MetricsBuffer.FIRST_FIELD;
+	public static final int OPS = MetricsBuffer.FIRST_FIELD + 1;
+	public static final int ARM = MetricsBuffer.FIRST_FIELD + 2;
+
+	public static final int SLOT_WIDTH = 8;
+
+	private static final com.sun.management.ThreadMXBean THREADS = allocationCounter();
+
+	private final boolean bytes;
+
+	public CostMeter(PerformanceDimension dimension) {
+		this.bytes = dimension != PerformanceDimension.TIME && THREADS != null;
+	}
+
+	public long start() {
+		return bytes ? THREADS.getThreadAllocatedBytes(Thread.currentThread().getId()) : System.nanoTime();
+	}
+
+	/**
+	 * Adds the cost since {@code start} to the record
+	 */
+	public void stop(MetricsBuffer buffer, long id, long start) {
+		buffer.add(id, COST, start() - start);
+		buffer.add(id, OPS, 1);
+	}
+
+	/**
+	 * Whether the cost is measured in allocated bytes
+	 */
+	public boolean isAllocation() {
+		return bytes;
+	}
+
+	private static com.sun.management.ThreadMXBean allocationCounter() {
+		try {
+			java.lang.management.ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+			if (threads instanceof com.sun.management.ThreadMXBean) {
+				com.sun.management.ThreadMXBean counter = (com.sun.management.ThreadMXBean) threads;
+				if (counter.isThreadAllocatedMemorySupported()) {
+					counter.setThreadAllocatedMemoryEnabled(true);
+					return counter;
+				}
+			}
+		} catch (UnsupportedOperationException | SecurityException e) {
+			// Measured in time
+		}
+		return null;
+	}
+
+}
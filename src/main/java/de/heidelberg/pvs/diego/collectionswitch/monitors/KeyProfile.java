@@ -0,0 +1,218 @@
+package de.heidelberg.pvs.diego.collectionswitch.monitors;
+
+import java.util.Arrays;
+
+/**
+ * Profile of the elements inserted in the lists or the keys inserted in the
+ * sets or maps of one context: the share of boxed numbers and strings, whether
+ * all of them are of a class primitive implementations can store, and for each
+ * {@link HashMixing} a histogram of the low bits of the mixed hash codes, which
+ * are the bits that select the slot of the power of two tables using it.
+ *
+ * Monitors record one in every {@link #getPeriod()} insertions. The profile is
+ * shared by all the collections of the context and updated without
+ * synchronization, so concurrent samples may be lost, which only makes the
+ * profile coarser.
+ */
+public class KeyProfile {
+
+	/**
+	 * Function a power of two open addressing table applies to the hash code
+	 * of a key before masking its slot
+	 */
+	public enum HashMixing {
+
+		/** {@code h ^ h >>> 16}, Koloboke tables of objects */
+		SPREAD,
+
+		/** Golden ratio product, then spread: fastutil tables and Koloboke tables of ints */
+		PHI,
+
+		/** The same on the 64 bits of a long: fastutil and Koloboke tables of longs */
+		LONG_PHI;
+
+		public int mix(Object key) {
+			if (this == LONG_PHI && key instanceof Long) {
+				long h = (Long) key * 0x9E3779B97F4A7C15L;
+				h ^= h >>> 32;
+				return (int) (h ^ h >>> 16);
+			}
+			int h = key.hashCode();
+			if (this != SPREAD) {
+				h *= 0x9E3779B9;
+			}
+			return h ^ h >>> 16;
+		}
+
+	}
+
+	private static final HashMixing[] MIXINGS = HashMixing.values();
+
+	/** Buckets of the hash histogram, a power of two */
+	public static final int BUCKETS = 64;
+
+	/** Samples needed before the profile reports anything */
+	public static final int MIN_SAMPLES = 64;
+
+	/** Clustering above which the hashes are considered clustered */
+	public static final double CLUSTERED = 4;
+
+	/** Share of boxed numbers above which primitive keys are suggested */
+	public static final double NUMERIC = 0.99;
+
+	private final int period;
+
+	private final long[][] buckets = new long[MIXINGS.length][BUCKETS];
+	private long samples;
+	private long numeric;
+	private long strings;
+	private long ints;
+	private long longs;
+	private long nulls;
+
+	/**
+	 * Bytes of a box of the given class, which the generic implementations
+	 * retain for each element or key of a primitive type, with compressed references
+	 */
+	public static double boxSize(Class<?> type) {
+		if (type == Integer.class) {
+			return 16;
+		}
+		if (type == Long.class) {
+			return 24;
+		}
+		return 0;
+	}
+
+	public KeyProfile(int period) {
+		if (period < 1) {
+			throw new IllegalArgumentException("Sampling period must be positive: " + period);
+		}
+		this.period = period;
+	}
+
+	public int getPeriod() {
+		return period;
+	}
+
+	public void record(Object key) {
+		if (key == null) {
+			nulls++;
+			return;
+		}
+		Class<?> type = key.getClass();
+		if (type == Integer.class) {
+			ints++;
+			numeric++;
+		} else if (type == Long.class) {
+			longs++;
+			numeric++;
+		} else if (type == Short.class || type == Byte.class || type == Character.class || type == Double.class
+				|| type == Float.class) {
+			numeric++;
+		} else if (type == String.class) {
+			strings++;
+		}
+		for (HashMixing mixing : MIXINGS) {
+			buckets[mixing.ordinal()][mixing.mix(key) & (BUCKETS - 1)]++;
+		}
+		samples++;
+	}
+
+	public long getSampleCount() {
+		return samples;
+	}
+
+	public double getNumericRatio() {
+		return samples == 0 ? 0 : (double) numeric / samples;
+	}
+
+	public double getStringRatio() {
+		return samples == 0 ? 0 : (double) strings / samples;
+	}
+
+	/**
+	 * Clustering under the mixing that spreads the sampled keys the least
+	 */
+	public double getClustering() {
+		double clustering = 1;
+		for (HashMixing mixing : MIXINGS) {
+			clustering = Math.max(clustering, getClustering(mixing));
+		}
+		return clustering;
+	}
+
+	/**
+	 * How much more often two sampled keys share a slot of tables using the
+	 * given mixing than with uniform hashes: 1 for uniform hashes up to
+	 * {@link #BUCKETS} when all of them share one bucket
+	 */
+	public double getClustering(HashMixing mixing) {
+		long total = 0;
+		double pairs = 0;
+		for (long count : buckets[mixing.ordinal()]) {
+			total += count;
+			pairs += (double) count * (count - 1);
+		}
+		if (total < 2) {
+			return 1;
+		}
+		return Math.max(1, pairs / ((double) total * (total - 1)) * BUCKETS);
+	}
+
+	/**
+	 * Whether enough keys were sampled and their hashes are clustered under
+	 * any mixing
+	 */
+	public boolean isClustered() {
+		return samples >= MIN_SAMPLES && getClustering() > CLUSTERED;
+	}
+
+	/**
+	 * Whether enough keys were sampled and their hashes are clustered in the
+	 * tables using the given mixing
+	 */
+	public boolean isClustered(HashMixing mixing) {
+		return samples >= MIN_SAMPLES && getClustering(mixing) > CLUSTERED;
+	}
+
+	/**
+	 * Whether enough keys were sampled and nearly all of them are boxed
+	 * numbers, which primitive specialized collections store unboxed
+	 */
+	public boolean suggestsPrimitiveKeys() {
+		return samples >= MIN_SAMPLES && getNumericRatio() >= NUMERIC;
+	}
+
+	/**
+	 * {@code Integer} or {@code Long} when enough keys were sampled and all of
+	 * them are of that class, {@code Object} otherwise. A single sampled
+	 * {@code null} or other key keeps the profile at {@code Object} until it
+	 * is reset.
+	 */
+	public Class<?> getElementType() {
+		if (samples < MIN_SAMPLES || nulls > 0) {
+			return Object.class;
+		}
+		if (ints == samples) {
+			return Integer.class;
+		}
+		if (longs == samples) {
+			return Long.class;
+		}
+		return Object.class;
+	}
+
+	public void reset() {
+		for (long[] histogram : buckets) {
+			Arrays.fill(histogram, 0);
+		}
+		samples = 0;
+		numeric = 0;
+		strings = 0;
+		ints = 0;
+		longs = 0;
+		nulls = 0;
+	}
+
+}
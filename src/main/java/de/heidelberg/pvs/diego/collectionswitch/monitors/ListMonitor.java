@@ -1,14 +1,14 @@
-package de.heidelberg.pvs.diego.collectionswitch.monitors;
-
-public interface ListMonitor<E> {
-	
-	public int getSize();
-	
-	public int getContainsOP();
-	
-	public int getIterateOP();
-	
-	public int getMidListOP();
-	
-	
-}
+package de.heidelberg.pvs.diego.collectionswitch.monitors;
+
+public interface ListMonitor<E> {
+	
+	public int getSize();
+	
+	public int getContainsOP();
+	
+	public int getIterateOP();
+	
+	public int getMidListOP();
+	
+	
+}
@@ -0,0 +1,126 @@
+package de.heidelberg.pvs.diego.collectionswitch.monitors;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Ring buffer of packed metric records, one per monitored collection.
+ *
+ * Every record is a fixed-width slot of a single {@code long[]}. The first
+ * field of a slot holds the id of the collection that owns it, so a monitor
+ * only keeps that id and writes are ignored once the slot is reused. Ids grow
+ * monotonically, which makes a window reset a pointer bump.
+ *
+ * Counters are written by the thread using the collection and read by the
+ * optimizer without synchronization, the same as the former metric objects.
+ */
+public final class MetricsBuffer {
+
+	public static final int SIZE = 1;
+	public static final int MAX_SIZE = 2;
+
+	/** First slot field available for collection specific counters */
+	public static final int FIRST_FIELD = 3;
+
+	private static final int OWNER = 0;
+
+	private final long[] data;
+	private final int slotShift;
+	private final int slotWidth;
+	private final long mask;
+
+	private final AtomicLong sequence;
+	private volatile long windowStart;
+
+	/**
+	 * @param slotWidth
+	 *            fields per record, rounded up to a power of two
+	 * @param capacity
+	 *            records kept before the oldest ones are overwritten, rounded
+	 *            up to a power of two
+	 */
+	public MetricsBuffer(int slotWidth, int capacity) {
+		this.slotWidth = nextPowerOfTwo(slotWidth);
+		this.slotShift = Integer.numberOfTrailingZeros(this.slotWidth);
+		int slots = nextPowerOfTwo(capacity);
+		this.mask = slots - 1;
+		this.data = new long[slots << slotShift];
+		this.sequence = new AtomicLong();
+	}
+
+	/**
+	 * Claims the next slot and returns the id of its record.
+	 */
+	public long allocate() {
+		long id = sequence.getAndIncrement();
+		int base = base(id);
+		data[base + OWNER] = -1;
+		Arrays.fill(data, base + 1, base + slotWidth, 0);
+		data[base + OWNER] = id;
+		return id;
+	}
+
+	public void add(long id, int field, long delta) {
+		int base = base(id);
+		if (data[base + OWNER] == id) {
+			data[base + field] += delta;
+		}
+	}
+
+	public void updateSize(long id, long delta) {
+		int base = base(id);
+		if (data[base + OWNER] == id) {
+			long size = data[base + SIZE] += delta;
+			if (size > data[base + MAX_SIZE]) {
+				data[base + MAX_SIZE] = size;
+			}
+		}
+	}
+
+	/**
+	 * Sets the size to an observed value, for monitors that do not follow
+	 * every change.
+	 */
+	public void recordSize(long id, long size) {
+		int base = base(id);
+		if (data[base + OWNER] == id) {
+			data[base + SIZE] = size;
+			if (size > data[base + MAX_SIZE]) {
+				data[base + MAX_SIZE] = size;
+			}
+		}
+	}
+
+	public long get(long id, int field) {
+		int base = base(id);
+		return data[base + OWNER] == id ? data[base + field] : 0;
+	}
+
+	/**
+	 * Whether the record belongs to the current window and was not
+	 * overwritten.
+	 */
+	public boolean isCurrent(long id) {
+		return id >= windowStart && data[base(id) + OWNER] == id;
+	}
+
+	/**
+	 * Starts a new window. Records allocated before are no longer current.
+	 */
+	public void reset() {
+		windowStart = sequence.get();
+	}
+
+	public int getCapacity() {
+		return (int) mask + 1;
+	}
+
+	private int base(long id) {
+		return (int) (id & mask) << slotShift;
+	}
+
+	private static int nextPowerOfTwo(int value) {
+		return value <= 1 ? 1 : Integer.highestOneBit(value - 1) << 1;
+	}
+
+}
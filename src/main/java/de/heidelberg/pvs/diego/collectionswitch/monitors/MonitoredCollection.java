@@ -0,0 +1,158 @@
+package de.heidelberg.pvs.diego.collectionswitch.monitors;
+
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * View of a monitored collection, such as the values of a map, recording its
+ * operations in the record of the backing collection.
+ *
+ * Lookups are counted as contains operations and every traversal, including
+ * {@code forEach} and streams, as one iteration. Iterators count the elements
+ * they visit, while the bulk traversals and streams count every element.
+ * Removals through the view, its iterators and {@code removeIf} update the
+ * size of the record.
+ */
+public class MonitoredCollection<E> implements Collection<E>, MonitoredInstance {
+
+	protected final Collection<E> collection;
+	protected final MetricsBuffer buffer;
+	protected final long id;
+
+	private final int containsOp;
+	private final int iterationOp;
+	private final int visitOp;
+
+	public MonitoredCollection(Collection<E> collection, MetricsBuffer buffer, long id, int containsOp,
+			int iterationOp, int visitOp) {
+		this.collection = collection;
+		this.buffer = buffer;
+		this.id = id;
+		this.containsOp = containsOp;
+		this.iterationOp = iterationOp;
+		this.visitOp = visitOp;
+	}
+
+	/**
+	 * MONITORED OPERATIONS
+	 */
+
+	public boolean contains(Object o) {
+		buffer.add(id, containsOp, 1);
+		return collection.contains(o);
+	}
+
+	public boolean containsAll(Collection<?> c) {
+		buffer.add(id, containsOp, c.size());
+		return collection.containsAll(c);
+	}
+
+	public Iterator<E> iterator() {
+		buffer.add(id, iterationOp, 1);
+		return new MonitoredIterator<E>(collection.iterator(), buffer, id, visitOp);
+	}
+
+	public void forEach(Consumer<? super E> action) {
+		countTraversal();
+		collection.forEach(action);
+	}
+
+	public Spliterator<E> spliterator() {
+		// Streams cannot change the collection, so the backing spliterator
+		// keeps its characteristics and splitting
+		countTraversal();
+		return collection.spliterator();
+	}
+
+	public boolean add(E e) {
+		boolean added = collection.add(e);
+		if (added) {
+			buffer.updateSize(id, 1);
+		}
+		return added;
+	}
+
+	public boolean addAll(Collection<? extends E> c) {
+		int size = collection.size();
+		boolean added = collection.addAll(c);
+		buffer.updateSize(id, collection.size() - size);
+		return added;
+	}
+
+	public boolean remove(Object o) {
+		boolean removed = collection.remove(o);
+		if (removed) {
+			buffer.updateSize(id, -1);
+		}
+		return removed;
+	}
+
+	public boolean removeAll(Collection<?> c) {
+		int size = collection.size();
+		boolean removed = collection.removeAll(c);
+		buffer.updateSize(id, collection.size() - size);
+		return removed;
+	}
+
+	public boolean retainAll(Collection<?> c) {
+		buffer.add(id, containsOp, c.size());
+		int size = collection.size();
+		boolean removed = collection.retainAll(c);
+		buffer.updateSize(id, collection.size() - size);
+		return removed;
+	}
+
+	public boolean removeIf(Predicate<? super E> filter) {
+		countTraversal();
+		int size = collection.size();
+		boolean removed = collection.removeIf(filter);
+		buffer.updateSize(id, collection.size() - size);
+		return removed;
+	}
+
+	public void clear() {
+		buffer.updateSize(id, -collection.size());
+		collection.clear();
+	}
+
+	private void countTraversal() {
+		buffer.add(id, iterationOp, 1);
+		buffer.add(id, visitOp, collection.size());
+	}
+
+	/**
+	 * NON-MONITORED OPERATIONS
+	 */
+
+	public int size() {
+		return collection.size();
+	}
+
+	public boolean isEmpty() {
+		return collection.isEmpty();
+	}
+
+	public Object[] toArray() {
+		return collection.toArray();
+	}
+
+	public <T> T[] toArray(T[] a) {
+		return collection.toArray(a);
+	}
+
+	public boolean equals(Object o) {
+		return o == this || collection.equals(o);
+	}
+
+	public int hashCode() {
+		return collection.hashCode();
+	}
+
+	public String toString() {
+		return collection.toString();
+	}
+
+}
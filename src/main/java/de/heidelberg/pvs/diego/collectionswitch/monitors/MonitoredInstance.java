@@ -0,0 +1,10 @@
+package de.heidelberg.pvs.diego.collectionswitch.monitors;
+
+/**
+ * Marks the instances whose operations are recorded for their allocation
+ * context. Their record is bound to the instance, so it must not be replaced
+ * by a copy while it is still reachable.
+ */
+public interface MonitoredInstance {
+
+}
@@ -0,0 +1,73 @@
+package de.heidelberg.pvs.diego.collectionswitch.monitors;
+
+import java.util.Iterator;
+import java.util.function.Consumer;
+
+/**
+ * Iterator over a monitored collection or view, recording the elements visited
+ * and removed through it. The traversal itself is counted when the iterator is
+ * created.
+ *
+ * Visits are counted in the iterator and flushed to the record when the
+ * iterator is exhausted and whenever the count reaches a power of two. An
+ * iterator abandoned by an early exit has therefore recorded at least half of
+ * its visits, with a logarithmic number of writes.
+ */
+public class MonitoredIterator<E> implements Iterator<E> {
+
+	private final Iterator<E> iterator;
+	protected final MetricsBuffer buffer;
+	protected final long id;
+	private final int visitOp;
+
+	private int visited;
+	private int flushed;
+
+	public MonitoredIterator(Iterator<E> iterator, MetricsBuffer buffer, long id, int visitOp) {
+		this.iterator = iterator;
+		this.buffer = buffer;
+		this.id = id;
+		this.visitOp = visitOp;
+	}
+
+	public boolean hasNext() {
+		if (iterator.hasNext()) {
+			return true;
+		}
+		flush();
+		return false;
+	}
+
+	public E next() {
+		E next = iterator.next();
+		visit();
+		return next;
+	}
+
+	public void remove() {
+		iterator.remove();
+		buffer.updateSize(id, -1);
+	}
+
+	public void forEachRemaining(Consumer<? super E> action) {
+		iterator.forEachRemaining(e -> {
+			visited++;
+			action.accept(e);
+		});
+		flush();
+	}
+
+	protected void visit() {
+		if (++visited >= flushed << 1) {
+			flush();
+		}
+	}
+
+	private void flush() {
+		if (visited != flushed) {
+			buffer.add(id, visitOp, visited - flushed);
+			flushed = visited;
+		}
+	}
+
+}
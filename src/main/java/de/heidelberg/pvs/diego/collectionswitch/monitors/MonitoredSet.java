@@ -0,0 +1,14 @@
+package de.heidelberg.pvs.diego.collectionswitch.monitors;
+
+import java.util.Set;
+
+/**
+ * Set view of a monitored collection, such as the keys or entries of a map.
+ */
+public class MonitoredSet<E> extends MonitoredCollection<E> implements Set<E> {
+
+	public MonitoredSet(Set<E> set, MetricsBuffer buffer, long id, int containsOp, int iterationOp, int visitOp) {
+		super(set, buffer, id, containsOp, iterationOp, visitOp);
+	}
+
+}
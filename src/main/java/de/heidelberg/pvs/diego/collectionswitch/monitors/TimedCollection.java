@@ -0,0 +1,152 @@
+package de.heidelberg.pvs.diego.collectionswitch.monitors;
+
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * Collection, or view of one, whose operations add their real cost to the
+ * record of the instance, see {@link CostMeter}. Unlike the monitors, it does
+ * not count the operations by kind, only their total cost.
+ *
+ * The elements visited by iterators are measured one by one, and streams and
+ * spliterators are not measured.
+ */
+public class TimedCollection<E> implements Collection<E>, MonitoredInstance {
+
+	protected final Collection<E> collection;
+	protected final MetricsBuffer buffer;
+	protected final long id;
+	protected final CostMeter meter;
+
+	public TimedCollection(Collection<E> collection, MetricsBuffer buffer, long id, CostMeter meter) {
+		this.collection = collection;
+		this.buffer = buffer;
+		this.id = id;
+		this.meter = meter;
+	}
+
+	/**
+	 * MEASURED OPERATIONS
+	 */
+
+	public boolean contains(Object o) {
+		long start = meter.start();
+		boolean contains = collection.contains(o);
+		meter.stop(buffer, id, start);
+		return contains;
+	}
+
+	public boolean containsAll(Collection<?> c) {
+		long start = meter.start();
+		boolean contains = collection.containsAll(c);
+		meter.stop(buffer, id, start);
+		return contains;
+	}
+
+	public Iterator<E> iterator() {
+		long start = meter.start();
+		Iterator<E> iterator = collection.iterator();
+		meter.stop(buffer, id, start);
+		return new TimedIterator<E>(iterator, buffer, id, meter);
+	}
+
+	public void forEach(Consumer<? super E> action) {
+		long start = meter.start();
+		collection.forEach(action);
+		meter.stop(buffer, id, start);
+	}
+
+	public boolean add(E e) {
+		long start = meter.start();
+		boolean added = collection.add(e);
+		meter.stop(buffer, id, start);
+		return added;
+	}
+
+	public boolean addAll(Collection<? extends E> c) {
+		long start = meter.start();
+		boolean added = collection.addAll(c);
+		meter.stop(buffer, id, start);
+		return added;
+	}
+
+	public boolean remove(Object o) {
+		long start = meter.start();
+		boolean removed = collection.remove(o);
+		meter.stop(buffer, id, start);
+		return removed;
+	}
+
+	public boolean removeAll(Collection<?> c) {
+		long start = meter.start();
+		boolean removed = collection.removeAll(c);
+		meter.stop(buffer, id, start);
+		return removed;
+	}
+
+	public boolean retainAll(Collection<?> c) {
+		long start = meter.start();
+		boolean removed = collection.retainAll(c);
+		meter.stop(buffer, id, start);
+		return removed;
+	}
+
+	public boolean removeIf(Predicate<? super E> filter) {
+		long start = meter.start();
+		boolean removed = collection.removeIf(filter);
+		meter.stop(buffer, id, start);
+		return removed;
+	}
+
+	public void clear() {
+		long start = meter.start();
+		collection.clear();
+		meter.stop(buffer, id, start);
+	}
+
+	public Object[] toArray() {
+		long start = meter.start();
+		Object[] array = collection.toArray();
+		meter.stop(buffer, id, start);
+		return array;
+	}
+
+	public <T> T[] toArray(T[] a) {
+		long start = meter.start();
+		T[] array = collection.toArray(a);
+		meter.stop(buffer, id, start);
+		return array;
+	}
+
+	/**
+	 * NON-MEASURED OPERATIONS
+	 */
+
+	public int size() {
+		return collection.size();
+	}
+
+	public boolean isEmpty() {
+		return collection.isEmpty();
+	}
+
+	public Spliterator<E> spliterator() {
+		return collection.spliterator();
+	}
+
+	public boolean equals(Object o) {
+		return o == this || collection.equals(o);
+	}
+
+	public int hashCode() {
+		return collection.hashCode();
+	}
+
+	public String toString() {
+		return collection.toString();
+	}
+
+}
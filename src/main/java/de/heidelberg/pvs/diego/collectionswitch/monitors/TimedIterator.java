@@ -0,0 +1,47 @@
+package de.heidelberg.pvs.diego.collectionswitch.monitors;
+
+import java.util.Iterator;
+import java.util.function.Consumer;
+
+/**
+ * Iterator over a measured collection or view, adding the cost of each step
+ * to the record of the instance.
+ */
+public class TimedIterator<E> implements Iterator<E> {
+
+	private final Iterator<E> iterator;
+	protected final MetricsBuffer buffer;
+	protected final long id;
+	protected final CostMeter meter;
+
+	public TimedIterator(Iterator<E> iterator, MetricsBuffer buffer, long id, CostMeter meter) {
+		this.iterator = iterator;
+		this.buffer = buffer;
+		this.id = id;
+		this.meter = meter;
+	}
+
+	public boolean hasNext() {
+		return iterator.hasNext();
+	}
+
+	public E next() {
+		long start = meter.start();
+		E next = iterator.next();
+		meter.stop(buffer, id, start);
+		return next;
+	}
+
+	public void remove() {
+		long start = meter.start();
+		iterator.remove();
+		meter.stop(buffer, id, start);
+	}
+
+	public void forEachRemaining(Consumer<? super E> action) {
+		long start = meter.start();
+		iterator.forEachRemaining(action);
+		meter.stop(buffer, id, start);
+	}
+
+}
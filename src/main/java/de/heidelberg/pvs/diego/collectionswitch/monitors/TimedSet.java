@@ -0,0 +1,14 @@
+package de.heidelberg.pvs.diego.collectionswitch.monitors;
+
+import java.util.Set;
+
+/**
+ * Measured set, or set view of a measured map, see {@link TimedCollection}.
+ */
+public class TimedSet<E> extends TimedCollection<E> implements Set<E> {
+
+	public TimedSet(Set<E> set, MetricsBuffer buffer, long id, CostMeter meter) {
+		super(set, buffer, id, meter);
+	}
+
+}
@@ -0,0 +1,276 @@
+package de.heidelberg.pvs.diego.collectionswitch.monitors.concurrent;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+import de.heidelberg.pvs.diego.collectionswitch.monitors.MonitoredInstance;
+
+/**
+ * Monitor of a map shared by many threads, which records its operations in a
+ * thread-safe {@link ConcurrentMetrics}.
+ *
+ * The size is tracked from the results of the operations instead of asking
+ * the map, whose size is linear for skip lists. The functions given to the
+ * compute methods may be retried, so their last call decides the change.
+ */
+public class ConcurrentMapMonitor<K, V> implements ConcurrentMap<K, V>, MonitoredInstance {
+
+	private final ConcurrentMap<K, V> map;
+	private final ConcurrentMetrics metrics;
+
+	public ConcurrentMapMonitor(ConcurrentMap<K, V> map, ConcurrentMetrics metrics) {
+		super();
+		this.map = map;
+		this.metrics = metrics;
+	}
+
+	/**
+	 * READS
+	 */
+
+	public V get(Object key) {
+		metrics.enter();
+		try {
+			return map.get(key);
+		} finally {
+			metrics.read();
+		}
+	}
+
+	public V getOrDefault(Object key, V defaultValue) {
+		metrics.enter();
+		try {
+			return map.getOrDefault(key, defaultValue);
+		} finally {
+			metrics.read();
+		}
+	}
+
+	public boolean containsKey(Object key) {
+		metrics.enter();
+		try {
+			return map.containsKey(key);
+		} finally {
+			metrics.read();
+		}
+	}
+
+	/**
+	 * WRITES
+	 */
+
+	public V put(K key, V value) {
+		metrics.enter();
+		int delta = 0;
+		try {
+			V previous = map.put(key, value);
+			delta = previous == null ? 1 : 0;
+			return previous;
+		} finally {
+			metrics.write(delta);
+		}
+	}
+
+	public V putIfAbsent(K key, V value) {
+		metrics.enter();
+		int delta = 0;
+		try {
+			V previous = map.putIfAbsent(key, value);
+			delta = previous == null ? 1 : 0;
+			return previous;
+		} finally {
+			metrics.write(delta);
+		}
+	}
+
+	public V remove(Object key) {
+		metrics.enter();
+		int delta = 0;
+		try {
+			V previous = map.remove(key);
+			delta = previous == null ? 0 : -1;
+			return previous;
+		} finally {
+			metrics.write(delta);
+		}
+	}
+
+	public boolean remove(Object key, Object value) {
+		metrics.enter();
+		int delta = 0;
+		try {
+			boolean removed = map.remove(key, value);
+			delta = removed ? -1 : 0;
+			return removed;
+		} finally {
+			metrics.write(delta);
+		}
+	}
+
+	public boolean replace(K key, V oldValue, V newValue) {
+		metrics.enter();
+		try {
+			return map.replace(key, oldValue, newValue);
+		} finally {
+			metrics.write(0);
+		}
+	}
+
+	public V replace(K key, V value) {
+		metrics.enter();
+		try {
+			return map.replace(key, value);
+		} finally {
+			metrics.write(0);
+		}
+	}
+
+	public V computeIfAbsent(K key, Function<? super K, ? extends V> mappingFunction) {
+		metrics.enter();
+		int[] delta = new int[1];
+		try {
+			return map.computeIfAbsent(key, k -> {
+				V value = mappingFunction.apply(k);
+				delta[0] = value == null ? 0 : 1;
+				return value;
+			});
+		} finally {
+			metrics.write(delta[0]);
+		}
+	}
+
+	public V computeIfPresent(K key, BiFunction<? super K, ? super V, ? extends V> remappingFunction) {
+		metrics.enter();
+		int[] delta = new int[1];
+		try {
+			return map.computeIfPresent(key, (k, old) -> {
+				V value = remappingFunction.apply(k, old);
+				delta[0] = value == null ? -1 : 0;
+				return value;
+			});
+		} finally {
+			metrics.write(delta[0]);
+		}
+	}
+
+	public V compute(K key, BiFunction<? super K, ? super V, ? extends V> remappingFunction) {
+		metrics.enter();
+		int[] delta = new int[1];
+		try {
+			return map.compute(key, (k, old) -> {
+				V value = remappingFunction.apply(k, old);
+				delta[0] = (value == null ? 0 : 1) - (old == null ? 0 : 1);
+				return value;
+			});
+		} finally {
+			metrics.write(delta[0]);
+		}
+	}
+
+	public V merge(K key, V value, BiFunction<? super V, ? super V, ? extends V> remappingFunction) {
+		metrics.enter();
+		// Absent keys are inserted without calling the function
+		int[] delta = { 1 };
+		try {
+			return map.merge(key, value, (old, given) -> {
+				V merged = remappingFunction.apply(old, given);
+				delta[0] = merged == null ? -1 : 0;
+				return merged;
+			});
+		} finally {
+			metrics.write(delta[0]);
+		}
+	}
+
+	// Bulk writes resize the record, which counts the elements of the map
+
+	public void putAll(Map<? extends K, ? extends V> m) {
+		metrics.enter();
+		try {
+			map.putAll(m);
+		} finally {
+			metrics.write(0);
+			metrics.resize(map.size());
+		}
+	}
+
+	public void clear() {
+		metrics.enter();
+		try {
+			map.clear();
+		} finally {
+			metrics.write(0);
+			metrics.resize(0);
+		}
+	}
+
+	/**
+	 * TRAVERSALS
+	 */
+
+	public boolean containsValue(Object value) {
+		countTraversal();
+		return map.containsValue(value);
+	}
+
+	public void forEach(BiConsumer<? super K, ? super V> action) {
+		countTraversal();
+		map.forEach(action);
+	}
+
+	public void replaceAll(BiFunction<? super K, ? super V, ? extends V> function) {
+		countTraversal();
+		map.replaceAll(function);
+	}
+
+	// The key and entry views count their own lookups and traversals, the
+	// values are only traversed
+
+	public Set<K> keySet() {
+		return new ConcurrentSetMonitor<K>(map.keySet(), metrics);
+	}
+
+	public Set<Map.Entry<K, V>> entrySet() {
+		return new ConcurrentSetMonitor<Map.Entry<K, V>>(map.entrySet(), metrics);
+	}
+
+	public Collection<V> values() {
+		countTraversal();
+		return map.values();
+	}
+
+	private void countTraversal() {
+		metrics.enter();
+		metrics.iterate();
+	}
+
+	/**
+	 * NON-MONITORED OPERATIONS
+	 */
+
+	public int size() {
+		return map.size();
+	}
+
+	public boolean isEmpty() {
+		return map.isEmpty();
+	}
+
+	public boolean equals(Object o) {
+		return o == this || map.equals(o);
+	}
+
+	public int hashCode() {
+		return map.hashCode();
+	}
+
+	public String toString() {
+		return map.toString();
+	}
+
+}
@@ -0,0 +1,183 @@
+package de.heidelberg.pvs.diego.collectionswitch.monitors.concurrent;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Thread-safe record of one instance shared by many threads.
+ *
+ * Besides the operation mix, it records two contention signals. The threads
+ * that operated on the instance give the operations per thread. Every
+ * operation that starts while others are running on the instance is
+ * contended, which is where compare-and-swap loops retry and locks block, and
+ * the number of operations it overlaps gives the threads that actually
+ * contend, the input of the concurrent models.
+ *
+ * Counting the running operations costs two atomic updates per operation, so
+ * only the instances of a monitoring window are recorded, and the record is
+ * closed once analyzed, for the instances that outlive their window.
+ */
+public class ConcurrentMetrics {
+
+	private final LongAdder reads = new LongAdder();
+	private final LongAdder writes = new LongAdder();
+	private final LongAdder iterations = new LongAdder();
+	private final LongAdder visits = new LongAdder();
+
+	// Elements added minus elements removed
+	private final LongAdder size = new LongAdder();
+
+	private final AtomicInteger running = new AtomicInteger();
+	private final LongAdder contended = new LongAdder();
+	// Operations running when each contended operation started
+	private final LongAdder overlapped = new LongAdder();
+
+	// Only updated when another thread than the last one operates
+	private volatile long lastThread = -1;
+	private final Set<Long> threads = ConcurrentHashMap.newKeySet();
+
+	private volatile boolean closed;
+
+	public ConcurrentMetrics() {
+		super();
+	}
+
+	/**
+	 * Record of an instance that starts with the given number of elements
+	 */
+	public ConcurrentMetrics(int initialSize) {
+		super();
+		size.add(initialSize);
+	}
+
+	/**
+	 * Starts an operation, which must be finished by {@link #read()},
+	 * {@link #write(int)} or {@link #iterate()}
+	 */
+	public void enter() {
+		if (closed) {
+			return;
+		}
+		long thread = Thread.currentThread().getId();
+		if (thread != lastThread) {
+			lastThread = thread;
+			threads.add(thread);
+		}
+		int others = running.getAndIncrement();
+		if (others > 0) {
+			contended.increment();
+			overlapped.add(others);
+		}
+	}
+
+	public void read() {
+		if (closed) {
+			return;
+		}
+		running.decrementAndGet();
+		reads.increment();
+	}
+
+	/**
+	 * Finishes a write that changed the size by the given delta
+	 */
+	public void write(int delta) {
+		if (closed) {
+			return;
+		}
+		running.decrementAndGet();
+		writes.increment();
+		if (delta != 0) {
+			size.add(delta);
+		}
+	}
+
+	/**
+	 * Finishes an iteration, which visits every element
+	 */
+	public void iterate() {
+		if (closed) {
+			return;
+		}
+		running.decrementAndGet();
+		iterations.increment();
+		visits.add(Math.max(0, size.sum()));
+	}
+
+	/**
+	 * Replaces the tracked size after operations whose change of the size is
+	 * not known
+	 */
+	public void resize(int actualSize) {
+		if (closed) {
+			return;
+		}
+		size.add(actualSize - size.sum());
+	}
+
+	/**
+	 * Stops recording, the monitored instance then only pays a volatile read
+	 * per operation
+	 */
+	public void close() {
+		closed = true;
+	}
+
+	public boolean isClosed() {
+		return closed;
+	}
+
+	public long getReads() {
+		return reads.sum();
+	}
+
+	public long getWrites() {
+		return writes.sum();
+	}
+
+	public long getIterations() {
+		return iterations.sum();
+	}
+
+	public long getVisits() {
+		return visits.sum();
+	}
+
+	public long getOperations() {
+		return reads.sum() + writes.sum() + iterations.sum();
+	}
+
+	public int getSize() {
+		return (int) Math.max(0, size.sum());
+	}
+
+	public long getContended() {
+		return contended.sum();
+	}
+
+	/**
+	 * Distinct threads that operated on the instance
+	 */
+	public int getThreads() {
+		return Math.max(1, threads.size());
+	}
+
+	public double getOperationsPerThread() {
+		return (double) getOperations() / getThreads();
+	}
+
+	/**
+	 * Average number of threads operating on the instance at the same time,
+	 * from 1 without contention up to the number of threads
+	 */
+	public double getContendingThreads() {
+		long operations = getOperations();
+		if (operations == 0) {
+			return 1;
+		}
+		return Math.min(getThreads(), 1 + (double) overlapped.sum() / operations);
+	}
+
+}
@@ -0,0 +1,191 @@
+package de.heidelberg.pvs.diego.collectionswitch.monitors.concurrent;
+
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+import de.heidelberg.pvs.diego.collectionswitch.monitors.MonitoredInstance;
+
+/**
+ * Monitor of a set shared by many threads, which records its operations in a
+ * thread-safe {@link ConcurrentMetrics}. Also monitors the key and entry
+ * views of {@link ConcurrentMapMonitor}.
+ */
+public class ConcurrentSetMonitor<E> implements Set<E>, MonitoredInstance {
+
+	private final Set<E> set;
+	private final ConcurrentMetrics metrics;
+
+	public ConcurrentSetMonitor(Set<E> set, ConcurrentMetrics metrics) {
+		super();
+		this.set = set;
+		this.metrics = metrics;
+	}
+
+	/**
+	 * READS
+	 */
+
+	public boolean contains(Object o) {
+		metrics.enter();
+		try {
+			return set.contains(o);
+		} finally {
+			metrics.read();
+		}
+	}
+
+	public boolean containsAll(Collection<?> c) {
+		metrics.enter();
+		try {
+			return set.containsAll(c);
+		} finally {
+			metrics.read();
+		}
+	}
+
+	/**
+	 * WRITES
+	 */
+
+	public boolean add(E e) {
+		metrics.enter();
+		int delta = 0;
+		try {
+			if (set.add(e)) {
+				delta = 1;
+				return true;
+			}
+			return false;
+		} finally {
+			metrics.write(delta);
+		}
+	}
+
+	public boolean remove(Object o) {
+		metrics.enter();
+		int delta = 0;
+		try {
+			if (set.remove(o)) {
+				delta = -1;
+				return true;
+			}
+			return false;
+		} finally {
+			metrics.write(delta);
+		}
+	}
+
+	// Bulk writes resize the record, which counts the elements of the set
+
+	public boolean addAll(Collection<? extends E> c) {
+		metrics.enter();
+		try {
+			return set.addAll(c);
+		} finally {
+			metrics.write(0);
+			metrics.resize(set.size());
+		}
+	}
+
+	public boolean removeAll(Collection<?> c) {
+		metrics.enter();
+		try {
+			return set.removeAll(c);
+		} finally {
+			metrics.write(0);
+			metrics.resize(set.size());
+		}
+	}
+
+	public boolean retainAll(Collection<?> c) {
+		metrics.enter();
+		try {
+			return set.retainAll(c);
+		} finally {
+			metrics.write(0);
+			metrics.resize(set.size());
+		}
+	}
+
+	public void clear() {
+		metrics.enter();
+		try {
+			set.clear();
+		} finally {
+			metrics.write(0);
+			metrics.resize(0);
+		}
+	}
+
+	/**
+	 * TRAVERSALS
+	 */
+
+	public Iterator<E> iterator() {
+		countTraversal();
+		return set.iterator();
+	}
+
+	public void forEach(Consumer<? super E> action) {
+		countTraversal();
+		set.forEach(action);
+	}
+
+	public Spliterator<E> spliterator() {
+		countTraversal();
+		return set.spliterator();
+	}
+
+	public boolean removeIf(Predicate<? super E> filter) {
+		countTraversal();
+		boolean removed = set.removeIf(filter);
+		if (removed) {
+			metrics.resize(set.size());
+		}
+		return removed;
+	}
+
+	public Object[] toArray() {
+		countTraversal();
+		return set.toArray();
+	}
+
+	public <T> T[] toArray(T[] a) {
+		countTraversal();
+		return set.toArray(a);
+	}
+
+	private void countTraversal() {
+		metrics.enter();
+		metrics.iterate();
+	}
+
+	/**
+	 * NON-MONITORED OPERATIONS
+	 */
+
+	public int size() {
+		return set.size();
+	}
+
+	public boolean isEmpty() {
+		return set.isEmpty();
+	}
+
+	public boolean equals(Object o) {
+		return o == this || set.equals(o);
+	}
+
+	public int hashCode() {
+		return set.hashCode();
+	}
+
+	public String toString() {
+		return set.toString();
+	}
+
+}
@@ -0,0 +1,161 @@
+package de.heidelberg.pvs.diego.collectionswitch.monitors.counting;
+
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.function.Predicate;
+
+import org.apache.commons.collections4.Bag;
+
+import de.heidelberg.pvs.diego.collectionswitch.monitors.MetricsBuffer;
+import de.heidelberg.pvs.diego.collectionswitch.monitors.MonitoredCollection;
+import de.heidelberg.pvs.diego.collectionswitch.monitors.MonitoredIterator;
+import de.heidelberg.pvs.diego.collectionswitch.monitors.MonitoredSet;
+
+/**
+ * Monitor of a bag recording the mix of adds, with their occurrences, and
+ * counts. The size of the record is the number of distinct elements, which
+ * only changes when the first occurrence is added or the last one removed.
+ */
+public class BagMonitor<E> extends MonitoredCollection<E> implements Bag<E> {
+
+	private final Bag<E> bag;
+
+	public BagMonitor(Bag<E> bag, CountingMetrics metrics) {
+		this(bag, metrics.getBuffer(), metrics.getId());
+	}
+
+	public BagMonitor(Bag<E> bag, MetricsBuffer buffer, long id) {
+		super(bag, buffer, id, CountingMetrics.COUNT_OP, CountingMetrics.ITERATION_OP, CountingMetrics.VISIT_OP);
+		this.bag = bag;
+		buffer.updateSize(id, distinct()); // first record
+	}
+
+	/**
+	 * COUNTS
+	 */
+
+	public int getCount(Object object) {
+		buffer.add(id, CountingMetrics.COUNT_OP, 1);
+		return bag.getCount(object);
+	}
+
+	/**
+	 * WRITES
+	 */
+
+	@Override
+	public boolean add(E object) {
+		return add(object, 1);
+	}
+
+	public boolean add(E object, int nCopies) {
+		buffer.add(id, CountingMetrics.ADD_OP, 1);
+		buffer.add(id, CountingMetrics.COPY_OP, nCopies);
+		// Bags only report the elements new to the unique set
+		boolean added = bag.add(object, nCopies);
+		if (added) {
+			buffer.updateSize(id, 1);
+		}
+		return added;
+	}
+
+	@Override
+	public boolean addAll(Collection<? extends E> c) {
+		boolean modified = false;
+		for (E e : c) {
+			modified |= add(e, 1);
+		}
+		return modified;
+	}
+
+	/**
+	 * Removes all the occurrences of the object
+	 */
+	@Override
+	public boolean remove(Object object) {
+		buffer.add(id, CountingMetrics.REMOVE_OP, 1);
+		return super.remove(object);
+	}
+
+	public boolean remove(Object object, int nCopies) {
+		buffer.add(id, CountingMetrics.REMOVE_OP, 1);
+		boolean removed = bag.remove(object, nCopies);
+		if (removed && bag.getCount(object) == 0) {
+			buffer.updateSize(id, -1);
+		}
+		return removed;
+	}
+
+	@Override
+	public boolean removeAll(Collection<?> c) {
+		buffer.add(id, CountingMetrics.REMOVE_OP, c.size());
+		int distinct = distinct();
+		boolean removed = bag.removeAll(c);
+		buffer.updateSize(id, distinct() - distinct);
+		return removed;
+	}
+
+	@Override
+	public boolean retainAll(Collection<?> c) {
+		buffer.add(id, CountingMetrics.COUNT_OP, c.size());
+		int distinct = distinct();
+		boolean removed = bag.retainAll(c);
+		buffer.updateSize(id, distinct() - distinct);
+		return removed;
+	}
+
+	@Override
+	public boolean removeIf(Predicate<? super E> filter) {
+		buffer.add(id, CountingMetrics.ITERATION_OP, 1);
+		buffer.add(id, CountingMetrics.VISIT_OP, bag.size());
+		int distinct = distinct();
+		boolean removed = bag.removeIf(filter);
+		buffer.updateSize(id, distinct() - distinct);
+		return removed;
+	}
+
+	@Override
+	public void clear() {
+		buffer.updateSize(id, -distinct());
+		bag.clear();
+	}
+
+	/**
+	 * TRAVERSALS
+	 */
+
+	@Override
+	public Iterator<E> iterator() {
+		buffer.add(id, CountingMetrics.ITERATION_OP, 1);
+		return new MonitoredIterator<E>(bag.iterator(), buffer, id, CountingMetrics.VISIT_OP) {
+
+			private E last;
+
+			@Override
+			public E next() {
+				return last = super.next();
+			}
+
+			@Override
+			public void remove() {
+				super.remove();
+				if (bag.getCount(last) > 0) {
+					// Other occurrences left, the element is still distinct
+					buffer.updateSize(id, 1);
+				}
+			}
+
+		};
+	}
+
+	public Set<E> uniqueSet() {
+		return new MonitoredSet<E>(bag.uniqueSet(), buffer, id, CountingMetrics.COUNT_OP,
+				CountingMetrics.ITERATION_OP, CountingMetrics.VISIT_OP);
+	}
+
+	private int distinct() {
+		return bag.uniqueSet().size();
+	}
+
+}
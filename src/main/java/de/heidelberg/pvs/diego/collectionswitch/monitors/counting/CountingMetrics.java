@@ -0,0 +1,119 @@
+package de.heidelberg.pvs.diego.collectionswitch.monitors.counting;
+
+import de.heidelberg.pvs.diego.collectionswitch.monitors.MetricsBuffer;
+
+/**
+ * View over the record of one bag or multimap in a {@link MetricsBuffer}. The
+ * view can be moved to other records, so the optimizer aggregates a whole
+ * window through a single instance.
+ *
+ * Both count many values under few keys: the occurrences of an element of a
+ * bag, or the values of a key of a multimap. The size of the record is the
+ * number of distinct elements or keys, and the copies count the occurrences
+ * or values added, since an ordered bag stores each occurrence.
+ */
+public class CountingMetrics {
+
+	/** Adds of a bag, with any number of occurrences, and puts of a multimap */
+	public static final int ADD_OP = MetricsBuffer.FIRST_FIELD;
+	/** Occurrences or values added by all the adds */
+	public static final int COPY_OP = MetricsBuffer.FIRST_FIELD + 1;
+	/** Counts of the occurrences of an element or lookups of the values of a key */
+	public static final int COUNT_OP = MetricsBuffer.FIRST_FIELD + 2;
+	/** Removals of occurrences, mappings or whole keys */
+	public static final int REMOVE_OP = MetricsBuffer.FIRST_FIELD + 3;
+	public static final int ITERATION_OP = MetricsBuffer.FIRST_FIELD + 4;
+	/** Occurrences, values or keys visited by all iterations */
+	public static final int VISIT_OP = MetricsBuffer.FIRST_FIELD + 5;
+
+	public static final int SLOT_WIDTH = 16;
+
+	private final MetricsBuffer buffer;
+	private long id;
+
+	/**
+	 * Standalone record, backed by its own single slot buffer
+	 */
+	public CountingMetrics() {
+		this.buffer = new MetricsBuffer(SLOT_WIDTH, 1);
+		this.id = buffer.allocate();
+	}
+
+	public CountingMetrics(MetricsBuffer buffer, long id) {
+		this.buffer = buffer;
+		this.id = id;
+	}
+
+	public void moveTo(long id) {
+		this.id = id;
+	}
+
+	public MetricsBuffer getBuffer() {
+		return buffer;
+	}
+
+	public long getId() {
+		return id;
+	}
+
+	public int getLastSize() {
+		return (int) buffer.get(id, MetricsBuffer.SIZE);
+	}
+
+	public int getMaxSize() {
+		return (int) buffer.get(id, MetricsBuffer.MAX_SIZE);
+	}
+
+	public int getAddOp() {
+		return (int) buffer.get(id, ADD_OP);
+	}
+
+	public long getCopyOp() {
+		return buffer.get(id, COPY_OP);
+	}
+
+	public int getCountOp() {
+		return (int) buffer.get(id, COUNT_OP);
+	}
+
+	public int getRemoveOp() {
+		return (int) buffer.get(id, REMOVE_OP);
+	}
+
+	public int getIterationOp() {
+		return (int) buffer.get(id, ITERATION_OP);
+	}
+
+	public long getVisitOp() {
+		return buffer.get(id, VISIT_OP);
+	}
+
+	public void updateSize(int delta) {
+		buffer.updateSize(id, delta);
+	}
+
+	public void updateAddOp(int delta) {
+		buffer.add(id, ADD_OP, delta);
+	}
+
+	public void updateCopyOp(long delta) {
+		buffer.add(id, COPY_OP, delta);
+	}
+
+	public void updateCountOp(int delta) {
+		buffer.add(id, COUNT_OP, delta);
+	}
+
+	public void updateRemoveOp(int delta) {
+		buffer.add(id, REMOVE_OP, delta);
+	}
+
+	public void updateIteratorOp(int delta) {
+		buffer.add(id, ITERATION_OP, delta);
+	}
+
+	public void updateVisitOp(long delta) {
+		buffer.add(id, VISIT_OP, delta);
+	}
+
+}
@@ -0,0 +1,215 @@
+package de.heidelberg.pvs.diego.collectionswitch.monitors.counting;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+
+import org.apache.commons.collections4.MapIterator;
+import org.apache.commons.collections4.MultiSet;
+import org.apache.commons.collections4.MultiValuedMap;
+
+import de.heidelberg.pvs.diego.collectionswitch.monitors.MetricsBuffer;
+import de.heidelberg.pvs.diego.collectionswitch.monitors.MonitoredInstance;
+import de.heidelberg.pvs.diego.collectionswitch.monitors.MonitoredSet;
+
+/**
+ * Monitor of a multimap recording its puts, with the values they add, and the
+ * lookups of keys. The size of the record is the number of keys.
+ *
+ * The collections of values returned by {@link #get(Object)} are not
+ * monitored, and neither are the writes through them.
+ */
+public class MultimapMonitor<K, V> implements MultiValuedMap<K, V>, MonitoredInstance {
+
+	private final MultiValuedMap<K, V> map;
+	private final MetricsBuffer buffer;
+	private final long id;
+
+	public MultimapMonitor(MultiValuedMap<K, V> map, CountingMetrics metrics) {
+		this(map, metrics.getBuffer(), metrics.getId());
+	}
+
+	public MultimapMonitor(MultiValuedMap<K, V> map, MetricsBuffer buffer, long id) {
+		this.map = map;
+		this.buffer = buffer;
+		this.id = id;
+		buffer.updateSize(id, keyCount()); // first record
+	}
+
+	/**
+	 * LOOKUPS
+	 */
+
+	public Collection<V> get(K key) {
+		buffer.add(id, CountingMetrics.COUNT_OP, 1);
+		return map.get(key);
+	}
+
+	public boolean containsKey(Object key) {
+		buffer.add(id, CountingMetrics.COUNT_OP, 1);
+		return map.containsKey(key);
+	}
+
+	public boolean containsMapping(Object key, Object value) {
+		buffer.add(id, CountingMetrics.COUNT_OP, 1);
+		return map.containsMapping(key, value);
+	}
+
+	public boolean containsValue(Object value) {
+		countTraversal();
+		return map.containsValue(value);
+	}
+
+	/**
+	 * WRITES
+	 */
+
+	public boolean put(K key, V value) {
+		buffer.add(id, CountingMetrics.ADD_OP, 1);
+		buffer.add(id, CountingMetrics.COPY_OP, 1);
+		int keys = keyCount();
+		boolean added = map.put(key, value);
+		buffer.updateSize(id, keyCount() - keys);
+		return added;
+	}
+
+	public boolean putAll(K key, Iterable<? extends V> values) {
+		int keys = keyCount();
+		int copies = 0;
+		boolean modified = false;
+		for (V value : values) {
+			modified |= map.put(key, value);
+			copies++;
+		}
+		buffer.add(id, CountingMetrics.ADD_OP, 1);
+		buffer.add(id, CountingMetrics.COPY_OP, copies);
+		buffer.updateSize(id, keyCount() - keys);
+		return modified;
+	}
+
+	public boolean putAll(Map<? extends K, ? extends V> m) {
+		boolean modified = false;
+		for (Entry<? extends K, ? extends V> entry : m.entrySet()) {
+			modified |= put(entry.getKey(), entry.getValue());
+		}
+		return modified;
+	}
+
+	public boolean putAll(MultiValuedMap<? extends K, ? extends V> m) {
+		boolean modified = false;
+		for (Entry<? extends K, ? extends V> entry : m.entries()) {
+			modified |= put(entry.getKey(), entry.getValue());
+		}
+		return modified;
+	}
+
+	/**
+	 * Removes all the values of the key
+	 */
+	public Collection<V> remove(Object key) {
+		buffer.add(id, CountingMetrics.REMOVE_OP, 1);
+		int keys = keyCount();
+		Collection<V> removed = map.remove(key);
+		buffer.updateSize(id, keyCount() - keys);
+		return removed;
+	}
+
+	public boolean removeMapping(Object key, Object value) {
+		buffer.add(id, CountingMetrics.REMOVE_OP, 1);
+		int keys = keyCount();
+		boolean removed = map.removeMapping(key, value);
+		buffer.updateSize(id, keyCount() - keys);
+		return removed;
+	}
+
+	public void clear() {
+		buffer.updateSize(id, -keyCount());
+		map.clear();
+	}
+
+	/**
+	 * TRAVERSALS
+	 */
+
+	public Set<K> keySet() {
+		return new MonitoredSet<K>(map.keySet(), buffer, id, CountingMetrics.COUNT_OP, CountingMetrics.ITERATION_OP,
+				CountingMetrics.VISIT_OP);
+	}
+
+	/**
+	 * Counted as a traversal of every mapping
+	 */
+	public Collection<Entry<K, V>> entries() {
+		countTraversal();
+		return map.entries();
+	}
+
+	/**
+	 * Counted as a traversal of every mapping
+	 */
+	public Collection<V> values() {
+		countTraversal();
+		return map.values();
+	}
+
+	/**
+	 * Counted as a traversal of every mapping
+	 */
+	public MapIterator<K, V> mapIterator() {
+		countTraversal();
+		return map.mapIterator();
+	}
+
+	/**
+	 * Counted as a traversal of every key
+	 */
+	public MultiSet<K> keys() {
+		buffer.add(id, CountingMetrics.ITERATION_OP, 1);
+		buffer.add(id, CountingMetrics.VISIT_OP, keyCount());
+		return map.keys();
+	}
+
+	/**
+	 * Counted as a traversal of every key
+	 */
+	public Map<K, Collection<V>> asMap() {
+		buffer.add(id, CountingMetrics.ITERATION_OP, 1);
+		buffer.add(id, CountingMetrics.VISIT_OP, keyCount());
+		return map.asMap();
+	}
+
+	private void countTraversal() {
+		buffer.add(id, CountingMetrics.ITERATION_OP, 1);
+		buffer.add(id, CountingMetrics.VISIT_OP, map.size());
+	}
+
+	private int keyCount() {
+		return map.keySet().size();
+	}
+
+	/**
+	 * NON-MONITORED OPERATIONS
+	 */
+
+	public int size() {
+		return map.size();
+	}
+
+	public boolean isEmpty() {
+		return map.isEmpty();
+	}
+
+	public boolean equals(Object o) {
+		return o == this || map.equals(o);
+	}
+
+	public int hashCode() {
+		return map.hashCode();
+	}
+
+	public String toString() {
+		return map.toString();
+	}
+
+}
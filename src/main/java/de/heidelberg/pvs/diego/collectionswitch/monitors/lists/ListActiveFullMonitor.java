@@ -1,151 +1,323 @@
-package de.heidelberg.pvs.diego.collectionswitch.monitors.lists;
-
-import java.util.Collection;
-import java.util.Iterator;
-import java.util.List;
-import java.util.ListIterator;
-
-public class ListActiveFullMonitor<E> implements List<E>{
-
-	private List<E> list;
-	private ListMetrics state;
-
-	public ListActiveFullMonitor(List<E> list, ListMetrics metrics) {
-		super();
-		this.list = list;
-		this.state = metrics;
-		state.updateSize(list.size()); // First Record
-	}
-
-	/**
-	 * MONITORED OPERATIONS
-	 */
-
-	public boolean contains(Object o) {
-		this.state.updateContainsOp(1);
-		return list.contains(o);
-	}
-
-	public Iterator<E> iterator() {
-		this.state.updateIteratorOp(1);
-		return list.iterator();
-	}
-
-	public boolean add(E e) {
-		this.state.updateSize(1);
-		return list.add(e);
-	}
-	
-	public boolean containsAll(Collection<?> c) {
-		this.state.updateContainsOp(c.size());
-		return list.containsAll(c);
-	}
-	
-	public boolean addAll(Collection<? extends E> c) {
-		this.state.updateSize(c.size());
-		return list.addAll(c);
-	}
-	
-	public boolean addAll(int index, Collection<? extends E> c) {
-		this.state.updateSize(c.size());
-		return list.addAll(index, c);
-	}
-	
-	public boolean retainAll(Collection<?> c) {
-		this.state.updateContainsOp(c.size());
-		return list.retainAll(c);
-	}
-	
-	public E get(int index) {
-		this.state.updateIndexOp(1);
-		return list.get(index);
-	}
-	
-	public void add(int index, E element) {
-		this.state.updateIndexOp(1);
-		this.state.updateSize(1);
-		list.add(index, element);
-	}
-	
-	public int indexOf(Object o) {
-		this.state.updateContainsOp(1);
-		return list.indexOf(o);
-	}
-
-	public int lastIndexOf(Object o) {
-		this.state.updateContainsOp(1);
-		return list.lastIndexOf(o);
-	}
-
-	public ListIterator<E> listIterator() {
-		this.state.updateIteratorOp(1);
-		return list.listIterator();
-	}
-
-	public ListIterator<E> listIterator(int index) {
-		this.state.updateIteratorOp(1);
-		return list.listIterator(index);
-	}
-	
-	public E set(int index, E element) {
-		state.updateIndexOp(1);
-		return list.set(index, element);
-	}
-	
-	public boolean remove(Object o) {
-		state.updateContainsOp(1);
-		boolean remove = list.remove(o);
-		if(remove) state.updateSize(-1);
-		return remove;
-	}
-
-	public boolean removeAll(Collection<?> c) {
-		state.updateSize(-c.size());
-		return list.removeAll(c);
-	}
-	
-
-	public E remove(int index) {
-		state.updateSize(1);
-		return list.remove(index);
-	}
-	
-	public void clear() {
-		state.updateSize(-size());
-		list.clear();
-	}
-
-	
-	/**
-	 * NON_MONITORED OPERATIONS
-	 */
-
-	public int size() {
-		return list.size();
-	}
-
-	public boolean isEmpty() {
-		return list.isEmpty();
-	}
-	
-	public Object[] toArray() {
-		return list.toArray();
-	}
-
-	public <T> T[] toArray(T[] a) {
-		return list.toArray(a);
-	}
-	
-	public boolean equals(Object o) {
-		return list.equals(o);
-	}
-
-	public int hashCode() {
-		return list.hashCode();
-	}
-	public List<E> subList(int fromIndex, int toIndex) {
-		return list.subList(fromIndex, toIndex);
-	}
-
-	
-}
+package de.heidelberg.pvs.diego.collectionswitch.monitors.lists;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+
+import de.heidelberg.pvs.diego.collectionswitch.monitors.KeyProfile;
+import de.heidelberg.pvs.diego.collectionswitch.monitors.MetricsBuffer;
+import de.heidelberg.pvs.diego.collectionswitch.monitors.MonitoredInstance;
+import de.heidelberg.pvs.diego.collectionswitch.monitors.MonitoredIterator;
+
+public class ListActiveFullMonitor<E> implements List<E>, MonitoredInstance {
+
+	private List<E> list;
+	private final MetricsBuffer buffer;
+	private final long id;
+
+	// Monitored list and position of this view in it, for sub lists
+	private final List<E> root;
+	private final int offset;
+
+	private final KeyProfile profile;
+	private int countdown;
+
+	public ListActiveFullMonitor(List<E> list, ListMetrics metrics) {
+		this(list, metrics.getBuffer(), metrics.getId());
+	}
+
+	public ListActiveFullMonitor(List<E> list, MetricsBuffer buffer, long id) {
+		this(list, buffer, id, null);
+	}
+
+	/**
+	 * Also records the added elements in the element profile, if not
+	 * {@code null}
+	 */
+	public ListActiveFullMonitor(List<E> list, MetricsBuffer buffer, long id, KeyProfile profile) {
+		super();
+		this.list = list;
+		this.buffer = buffer;
+		this.id = id;
+		this.root = list;
+		this.offset = 0;
+		this.profile = profile;
+		this.countdown = profile == null ? 0 : profile.getPeriod();
+		buffer.updateSize(id, list.size()); // First Record
+	}
+
+	private ListActiveFullMonitor(List<E> list, MetricsBuffer buffer, long id, List<E> root, int offset,
+			KeyProfile profile) {
+		this.list = list;
+		this.buffer = buffer;
+		this.id = id;
+		this.root = root;
+		this.offset = offset;
+		this.profile = profile;
+		this.countdown = profile == null ? 0 : profile.getPeriod();
+	}
+
+	/**
+	 * MONITORED OPERATIONS
+	 */
+
+	public boolean contains(Object o) {
+		buffer.add(id, ListMetrics.CONTAINS_OP, 1);
+		return list.contains(o);
+	}
+
+	public Iterator<E> iterator() {
+		buffer.add(id, ListMetrics.ITERATION_OP, 1);
+		return new MonitoredListIterator(list.listIterator());
+	}
+
+	public void forEach(Consumer<? super E> action) {
+		countTraversal();
+		list.forEach(action);
+	}
+
+	public Spliterator<E> spliterator() {
+		// Streams cannot change the list, so the backing spliterator keeps its
+		// characteristics and splitting
+		countTraversal();
+		return list.spliterator();
+	}
+
+	public boolean add(E e) {
+		buffer.updateSize(id, 1);
+		profile(e);
+		return list.add(e);
+	}
+	
+	public boolean containsAll(Collection<?> c) {
+		buffer.add(id, ListMetrics.CONTAINS_OP, c.size());
+		return list.containsAll(c);
+	}
+	
+	public boolean addAll(Collection<? extends E> c) {
+		buffer.updateSize(id, c.size());
+		return list.addAll(c);
+	}
+	
+	public boolean addAll(int index, Collection<? extends E> c) {
+		buffer.add(id, ListMetrics.position(offset + index, root.size()), 1);
+		buffer.updateSize(id, c.size());
+		return list.addAll(index, c);
+	}
+	
+	public boolean retainAll(Collection<?> c) {
+		buffer.add(id, ListMetrics.CONTAINS_OP, c.size());
+		return list.retainAll(c);
+	}
+	
+	public E get(int index) {
+		countIndex(index);
+		return list.get(index);
+	}
+	
+	public void add(int index, E element) {
+		buffer.add(id, ListMetrics.position(offset + index, root.size()), 1);
+		buffer.updateSize(id, 1);
+		profile(element);
+		list.add(index, element);
+	}
+	
+	public int indexOf(Object o) {
+		buffer.add(id, ListMetrics.CONTAINS_OP, 1);
+		return list.indexOf(o);
+	}
+
+	public int lastIndexOf(Object o) {
+		buffer.add(id, ListMetrics.CONTAINS_OP, 1);
+		return list.lastIndexOf(o);
+	}
+
+	public ListIterator<E> listIterator() {
+		buffer.add(id, ListMetrics.ITERATION_OP, 1);
+		return new MonitoredListIterator(list.listIterator());
+	}
+
+	public ListIterator<E> listIterator(int index) {
+		buffer.add(id, ListMetrics.ITERATION_OP, 1);
+		return new MonitoredListIterator(list.listIterator(index));
+	}
+	
+	public E set(int index, E element) {
+		countIndex(index);
+		return list.set(index, element);
+	}
+	
+	public boolean remove(Object o) {
+		buffer.add(id, ListMetrics.CONTAINS_OP, 1);
+		boolean remove = list.remove(o);
+		if(remove) buffer.updateSize(id, -1);
+		return remove;
+	}
+
+	public boolean removeAll(Collection<?> c) {
+		int size = list.size();
+		boolean removed = list.removeAll(c);
+		buffer.updateSize(id, list.size() - size);
+		return removed;
+	}
+	
+
+	public E remove(int index) {
+		buffer.add(id, ListMetrics.position(offset + index, root.size() - 1), 1);
+		E removed = list.remove(index);
+		buffer.updateSize(id, -1);
+		return removed;
+	}
+	
+	public boolean removeIf(Predicate<? super E> filter) {
+		countTraversal();
+		int size = list.size();
+		boolean removed = list.removeIf(filter);
+		buffer.updateSize(id, list.size() - size);
+		return removed;
+	}
+
+	public void replaceAll(UnaryOperator<E> operator) {
+		countTraversal();
+		list.replaceAll(operator);
+	}
+
+	public void sort(Comparator<? super E> c) {
+		countTraversal();
+		list.sort(c);
+	}
+
+	/**
+	 * View sharing the record of this list
+	 */
+	public List<E> subList(int fromIndex, int toIndex) {
+		return new ListActiveFullMonitor<E>(list.subList(fromIndex, toIndex), buffer, id, root, offset + fromIndex,
+				profile);
+	}
+
+	public void clear() {
+		buffer.updateSize(id, -size());
+		list.clear();
+	}
+
+	private void countTraversal() {
+		buffer.add(id, ListMetrics.ITERATION_OP, 1);
+		buffer.add(id, ListMetrics.VISIT_OP, list.size());
+	}
+
+	private void profile(E e) {
+		if (profile != null && --countdown == 0) {
+			countdown = profile.getPeriod();
+			profile.record(e);
+		}
+	}
+
+	/**
+	 * Counts random accesses only, both ends are cheap in every implementation
+	 */
+	private void countIndex(int index) {
+		index += offset;
+		if (index > 0 && index < root.size() - 1) {
+			buffer.add(id, ListMetrics.INDEX_OP, 1);
+		}
+	}
+
+	/**
+	 * Records the elements inserted and removed through the iterator like the
+	 * positional operations of the list
+	 */
+	private class MonitoredListIterator extends MonitoredIterator<E> implements ListIterator<E> {
+
+		private final ListIterator<E> iterator;
+		private int lastIndex = -1;
+
+		MonitoredListIterator(ListIterator<E> iterator) {
+			super(iterator, ListActiveFullMonitor.this.buffer, ListActiveFullMonitor.this.id,
+					ListMetrics.VISIT_OP);
+			this.iterator = iterator;
+		}
+
+		public E next() {
+			lastIndex = iterator.nextIndex();
+			return super.next();
+		}
+
+		public boolean hasPrevious() {
+			return iterator.hasPrevious();
+		}
+
+		public E previous() {
+			lastIndex = iterator.previousIndex();
+			E previous = iterator.previous();
+			visit();
+			return previous;
+		}
+
+		public int nextIndex() {
+			return iterator.nextIndex();
+		}
+
+		public int previousIndex() {
+			return iterator.previousIndex();
+		}
+
+		public void remove() {
+			super.remove();
+			// The removed element was the last one if it is at the new size
+			buffer.add(id, ListMetrics.position(offset + lastIndex, root.size()), 1);
+		}
+
+		public void set(E e) {
+			iterator.set(e);
+		}
+
+		public void add(E e) {
+			buffer.add(id, ListMetrics.position(offset + iterator.nextIndex(), root.size()), 1);
+			iterator.add(e);
+			buffer.updateSize(id, 1);
+		}
+
+		public void forEachRemaining(Consumer<? super E> action) {
+			super.forEachRemaining(action);
+			lastIndex = iterator.previousIndex();
+		}
+
+	}
+
+	
+	/**
+	 * NON_MONITORED OPERATIONS
+	 */
+
+	public int size() {
+		return list.size();
+	}
+
+	public boolean isEmpty() {
+		return list.isEmpty();
+	}
+	
+	public Object[] toArray() {
+		return list.toArray();
+	}
+
+	public <T> T[] toArray(T[] a) {
+		return list.toArray(a);
+	}
+	
+	public boolean equals(Object o) {
+		return list.equals(o);
+	}
+
+	public int hashCode() {
+		return list.hashCode();
+	}
+
+	
+}
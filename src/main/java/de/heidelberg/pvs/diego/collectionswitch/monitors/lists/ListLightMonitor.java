@@ -0,0 +1,263 @@
+package de.heidelberg.pvs.diego.collectionswitch.monitors.lists;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.Spliterator;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+
+import de.heidelberg.pvs.diego.collectionswitch.monitors.KeyProfile;
+import de.heidelberg.pvs.diego.collectionswitch.monitors.MetricsBuffer;
+import de.heidelberg.pvs.diego.collectionswitch.monitors.MonitoredInstance;
+
+/**
+ * Monitor that records only one in every {@code period} operations, for
+ * profiling that stays enabled in production.
+ *
+ * Every operation decrements a countdown kept in the monitor, a list being
+ * used by one thread at a time. When it reaches zero the operation is recorded
+ * as {@code period} operations of its kind and the size is observed. The first
+ * countdown is random, so that instances created together do not sample the
+ * same operations. Iterations are recorded as full scans and views are not
+ * monitored.
+ */
+public class ListLightMonitor<E> implements List<E>, MonitoredInstance {
+
+	private final List<E> list;
+	private final MetricsBuffer buffer;
+	private final long id;
+
+	private final int period;
+	private int countdown;
+
+	private final KeyProfile profile;
+
+	public ListLightMonitor(List<E> list, MetricsBuffer buffer, long id, int period) {
+		this(list, buffer, id, period, null);
+	}
+
+	/**
+	 * Also records the elements of the sampled insertions in the element
+	 * profile, if not {@code null}
+	 */
+	public ListLightMonitor(List<E> list, MetricsBuffer buffer, long id, int period, KeyProfile profile) {
+		if (period < 1) {
+			throw new IllegalArgumentException("Sampling period must be positive: " + period);
+		}
+		this.list = list;
+		this.buffer = buffer;
+		this.id = id;
+		this.period = period;
+		this.profile = profile;
+		this.countdown = 1 + ThreadLocalRandom.current().nextInt(period);
+		buffer.recordSize(id, list.size()); // First Record
+	}
+
+	/**
+	 * SAMPLED OPERATIONS
+	 */
+
+	public boolean contains(Object o) {
+		if (sampled()) {
+			buffer.add(id, ListMetrics.CONTAINS_OP, period);
+		}
+		return list.contains(o);
+	}
+
+	public boolean containsAll(Collection<?> c) {
+		if (sampled()) {
+			buffer.add(id, ListMetrics.CONTAINS_OP, (long) period * c.size());
+		}
+		return list.containsAll(c);
+	}
+
+	public int indexOf(Object o) {
+		if (sampled()) {
+			buffer.add(id, ListMetrics.CONTAINS_OP, period);
+		}
+		return list.indexOf(o);
+	}
+
+	public int lastIndexOf(Object o) {
+		if (sampled()) {
+			buffer.add(id, ListMetrics.CONTAINS_OP, period);
+		}
+		return list.lastIndexOf(o);
+	}
+
+	public Iterator<E> iterator() {
+		sampleTraversal();
+		return list.iterator();
+	}
+
+	public ListIterator<E> listIterator() {
+		sampleTraversal();
+		return list.listIterator();
+	}
+
+	public ListIterator<E> listIterator(int index) {
+		sampleTraversal();
+		return list.listIterator(index);
+	}
+
+	public void forEach(Consumer<? super E> action) {
+		sampleTraversal();
+		list.forEach(action);
+	}
+
+	public Spliterator<E> spliterator() {
+		sampleTraversal();
+		return list.spliterator();
+	}
+
+	public E get(int index) {
+		if (sampled() && index > 0 && index < list.size() - 1) {
+			buffer.add(id, ListMetrics.INDEX_OP, period);
+		}
+		return list.get(index);
+	}
+
+	public E set(int index, E element) {
+		if (sampled() && index > 0 && index < list.size() - 1) {
+			buffer.add(id, ListMetrics.INDEX_OP, period);
+		}
+		return list.set(index, element);
+	}
+
+	public void add(int index, E element) {
+		if (sampled()) {
+			buffer.add(id, ListMetrics.position(index, list.size()), period);
+		}
+		list.add(index, element);
+	}
+
+	public E remove(int index) {
+		if (sampled()) {
+			buffer.add(id, ListMetrics.position(index, list.size() - 1), period);
+		}
+		return list.remove(index);
+	}
+
+	// Changes only observe the size
+
+	public boolean add(E e) {
+		boolean added = list.add(e);
+		if (sampled() && profile != null) {
+			profile.record(e);
+		}
+		return added;
+	}
+
+	public boolean addAll(Collection<? extends E> c) {
+		boolean added = list.addAll(c);
+		sampled();
+		return added;
+	}
+
+	public boolean addAll(int index, Collection<? extends E> c) {
+		boolean added = list.addAll(index, c);
+		sampled();
+		return added;
+	}
+
+	public boolean remove(Object o) {
+		boolean removed = list.remove(o);
+		if (sampled()) {
+			buffer.add(id, ListMetrics.CONTAINS_OP, period);
+		}
+		return removed;
+	}
+
+	public boolean removeAll(Collection<?> c) {
+		boolean removed = list.removeAll(c);
+		sampled();
+		return removed;
+	}
+
+	public boolean retainAll(Collection<?> c) {
+		boolean removed = list.retainAll(c);
+		sampled();
+		return removed;
+	}
+
+	public boolean removeIf(Predicate<? super E> filter) {
+		sampleTraversal();
+		return list.removeIf(filter);
+	}
+
+	public void replaceAll(UnaryOperator<E> operator) {
+		sampleTraversal();
+		list.replaceAll(operator);
+	}
+
+	public void sort(Comparator<? super E> c) {
+		sampleTraversal();
+		list.sort(c);
+	}
+
+	public void clear() {
+		list.clear();
+		sampled();
+	}
+
+	/**
+	 * Counts down and observes the size when the operation is sampled
+	 */
+	private boolean sampled() {
+		if (--countdown != 0) {
+			return false;
+		}
+		countdown = period;
+		buffer.recordSize(id, list.size());
+		return true;
+	}
+
+	private void sampleTraversal() {
+		if (sampled()) {
+			buffer.add(id, ListMetrics.ITERATION_OP, period);
+			buffer.add(id, ListMetrics.VISIT_OP, (long) period * list.size());
+		}
+	}
+
+	/**
+	 * NON_MONITORED OPERATIONS
+	 */
+
+	public int size() {
+		return list.size();
+	}
+
+	public boolean isEmpty() {
+		return list.isEmpty();
+	}
+
+	public Object[] toArray() {
+		return list.toArray();
+	}
+
+	public <T> T[] toArray(T[] a) {
+		return list.toArray(a);
+	}
+
+	public List<E> subList(int fromIndex, int toIndex) {
+		return list.subList(fromIndex, toIndex);
+	}
+
+	public boolean equals(Object o) {
+		return list.equals(o);
+	}
+
+	public int hashCode() {
+		return list.hashCode();
+	}
+
+	public String toString() {
+		return list.toString();
+	}
+
+}
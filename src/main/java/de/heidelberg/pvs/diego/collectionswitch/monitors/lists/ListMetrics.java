@@ -1,68 +1,137 @@
-package de.heidelberg.pvs.diego.collectionswitch.monitors.lists;
-
-import java.lang.ref.WeakReference;
-
-public class ListMetrics {
-
-	private int size;
-	private int maxSize;
-	private int containsOp;
-	private int indexOp;
-	private int middleOp;
-	private int iterationOp;
-
-	private WeakReference<?> list;
-	
-	public ListMetrics(WeakReference<?> list) {
-		super();
-		this.list = list;
-	}
-
-	public boolean hasCollectionFinished() {
-		return list.get() == null;
-	}
-
-	public int getLastSize() {
-		return size;
-	}
-
-	public int getMaxSize() {
-		return maxSize;
-	}
-
-	public int getContainsOp() {
-		return containsOp;
-	}
-
-	public int getIndexOp() {
-		return indexOp;
-	}
-
-	public int getIterationOp() {
-		return iterationOp;
-	}
-	
-	public int getMiddleOp() {
-		return middleOp;
-	}
-
-	public void updateIteratorOp(int delta) {
-		iterationOp += delta;
-	}
-
-	public void updateSize(int delta) {
-		size += delta;
-		if(size > maxSize) {
-			maxSize = size;
-		}
-	}
-
-	public void updateIndexOp(int delta) {
-		indexOp += delta;
-	}
-
-	public void updateContainsOp(int delta) {
-		containsOp += delta;
-	}
-
-}
+package de.heidelberg.pvs.diego.collectionswitch.monitors.lists;
+
+import de.heidelberg.pvs.diego.collectionswitch.monitors.MetricsBuffer;
+
+/**
+ * View over the record of one list in a {@link MetricsBuffer}. The view can be
+ * moved to other records, so the optimizer aggregates a whole window through a
+ * single instance.
+ */
+public class ListMetrics {
+
+	public static final int CONTAINS_OP = MetricsBuffer.FIRST_FIELD;
+	/** Random get and set, away from both ends */
+	public static final int INDEX_OP = MetricsBuffer.FIRST_FIELD + 1;
+	/** Inserts and removals away from both ends */
+	public static final int MIDDLE_OP = MetricsBuffer.FIRST_FIELD + 2;
+	public static final int ITERATION_OP = MetricsBuffer.FIRST_FIELD + 3;
+	/** Inserts and removals at the first position */
+	public static final int HEAD_OP = MetricsBuffer.FIRST_FIELD + 4;
+	/** Positional inserts and removals at the last position */
+	public static final int TAIL_OP = MetricsBuffer.FIRST_FIELD + 5;
+	/** Elements visited by all iterations */
+	public static final int VISIT_OP = MetricsBuffer.FIRST_FIELD + 6;
+
+	public static final int SLOT_WIDTH = 16;
+
+	/**
+	 * Counter of an insert or removal at the given index, where last is the
+	 * index of an append or of the last element
+	 */
+	public static int position(int index, int last) {
+		if (index == 0) {
+			return HEAD_OP;
+		}
+		if (index >= last) {
+			return TAIL_OP;
+		}
+		return MIDDLE_OP;
+	}
+
+	private final MetricsBuffer buffer;
+	private long id;
+
+	/**
+	 * Standalone record, backed by its own single slot buffer
+	 */
+	public ListMetrics() {
+		this.buffer = new MetricsBuffer(SLOT_WIDTH, 1);
+		this.id = buffer.allocate();
+	}
+
+	public ListMetrics(MetricsBuffer buffer, long id) {
+		this.buffer = buffer;
+		this.id = id;
+	}
+
+	public void moveTo(long id) {
+		this.id = id;
+	}
+
+	public MetricsBuffer getBuffer() {
+		return buffer;
+	}
+
+	public long getId() {
+		return id;
+	}
+
+	public int getLastSize() {
+		return (int) buffer.get(id, MetricsBuffer.SIZE);
+	}
+
+	public int getMaxSize() {
+		return (int) buffer.get(id, MetricsBuffer.MAX_SIZE);
+	}
+
+	public int getContainsOp() {
+		return (int) buffer.get(id, CONTAINS_OP);
+	}
+
+	public int getIndexOp() {
+		return (int) buffer.get(id, INDEX_OP);
+	}
+
+	public int getIterationOp() {
+		return (int) buffer.get(id, ITERATION_OP);
+	}
+	
+	public int getMiddleOp() {
+		return (int) buffer.get(id, MIDDLE_OP);
+	}
+
+	public int getHeadOp() {
+		return (int) buffer.get(id, HEAD_OP);
+	}
+
+	public int getTailOp() {
+		return (int) buffer.get(id, TAIL_OP);
+	}
+
+	public long getVisitOp() {
+		return buffer.get(id, VISIT_OP);
+	}
+
+	public void updateIteratorOp(int delta) {
+		buffer.add(id, ITERATION_OP, delta);
+	}
+
+	public void updateSize(int delta) {
+		buffer.updateSize(id, delta);
+	}
+
+	public void updateIndexOp(int delta) {
+		buffer.add(id, INDEX_OP, delta);
+	}
+
+	public void updateContainsOp(int delta) {
+		buffer.add(id, CONTAINS_OP, delta);
+	}
+
+	public void updateMiddleOp(int delta) {
+		buffer.add(id, MIDDLE_OP, delta);
+	}
+
+	public void updateHeadOp(int delta) {
+		buffer.add(id, HEAD_OP, delta);
+	}
+
+	public void updateTailOp(int delta) {
+		buffer.add(id, TAIL_OP, delta);
+	}
+
+	public void updateVisitOp(long delta) {
+		buffer.add(id, VISIT_OP, delta);
+	}
+
+}
@@ -0,0 +1,102 @@
+package de.heidelberg.pvs.diego.collectionswitch.monitors.lists;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.function.UnaryOperator;
+
+import de.heidelberg.pvs.diego.collectionswitch.monitors.CostMeter;
+import de.heidelberg.pvs.diego.collectionswitch.monitors.MetricsBuffer;
+import de.heidelberg.pvs.diego.collectionswitch.monitors.TimedCollection;
+
+/**
+ * List whose operations add their real cost to the record of the instance,
+ * see {@link TimedCollection}. Sub lists share the record, while list
+ * iterators are only measured when they are created.
+ */
+public class TimedList<E> extends TimedCollection<E> implements List<E> {
+
+	private final List<E> list;
+
+	public TimedList(List<E> list, MetricsBuffer buffer, long id, CostMeter meter) {
+		super(list, buffer, id, meter);
+		this.list = list;
+	}
+
+	public E get(int index) {
+		long start = meter.start();
+		E element = list.get(index);
+		meter.stop(buffer, id, start);
+		return element;
+	}
+
+	public E set(int index, E element) {
+		long start = meter.start();
+		E previous = list.set(index, element);
+		meter.stop(buffer, id, start);
+		return previous;
+	}
+
+	public void add(int index, E element) {
+		long start = meter.start();
+		list.add(index, element);
+		meter.stop(buffer, id, start);
+	}
+
+	public boolean addAll(int index, Collection<? extends E> c) {
+		long start = meter.start();
+		boolean added = list.addAll(index, c);
+		meter.stop(buffer, id, start);
+		return added;
+	}
+
+	public E remove(int index) {
+		long start = meter.start();
+		E removed = list.remove(index);
+		meter.stop(buffer, id, start);
+		return removed;
+	}
+
+	public int indexOf(Object o) {
+		long start = meter.start();
+		int index = list.indexOf(o);
+		meter.stop(buffer, id, start);
+		return index;
+	}
+
+	public int lastIndexOf(Object o) {
+		long start = meter.start();
+		int index = list.lastIndexOf(o);
+		meter.stop(buffer, id, start);
+		return index;
+	}
+
+	public void replaceAll(UnaryOperator<E> operator) {
+		long start = meter.start();
+		list.replaceAll(operator);
+		meter.stop(buffer, id, start);
+	}
+
+	public void sort(Comparator<? super E> c) {
+		long start = meter.start();
+		list.sort(c);
+		meter.stop(buffer, id, start);
+	}
+
+	public ListIterator<E> listIterator() {
+		return listIterator(0);
+	}
+
+	public ListIterator<E> listIterator(int index) {
+		long start = meter.start();
+		ListIterator<E> iterator = list.listIterator(index);
+		meter.stop(buffer, id, start);
+		return iterator;
+	}
+
+	public List<E> subList(int fromIndex, int toIndex) {
+		return new TimedList<E>(list.subList(fromIndex, toIndex), buffer, id, meter);
+	}
+
+}
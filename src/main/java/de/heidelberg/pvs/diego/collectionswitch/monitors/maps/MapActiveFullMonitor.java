@@ -1,88 +1,159 @@
-package de.heidelberg.pvs.diego.collectionswitch.monitors.maps;
-
-import java.util.Collection;
-import java.util.Map;
-import java.util.Set;
-
-
-public class MapActiveFullMonitor<K, V> implements Map<K, V> {
-	
-	private Map<K, V> map;
-	private MapMetrics state;
-	
-	public MapActiveFullMonitor(Map<K, V> map, MapMetrics state) {
-		super();
-		this.map = map;
-		this.state = state;
-		this.state.updateSize(map.size()); // first record
-	}
-	
-	public boolean containsKey(Object key) {
-		this.state.updateContainsOp(1);
-		return map.containsKey(key);
-	}
-
-	public boolean containsValue(Object value) {
-		this.state.updateContainsOp(1);
-		return map.containsValue(value);
-	}
-	
-	public V get(Object key) {
-		this.state.updateContainsOp(1);
-		return map.get(key);
-	}
-
-	public V put(K key, V value) {
-		this.state.updateSize(1);
-		return map.put(key, value);
-	}
-	
-	public Set<java.util.Map.Entry<K, V>> entrySet() {
-		state.updateIteration(1);
-		return map.entrySet();
-	}
-	
-	public void putAll(Map<? extends K, ? extends V> m) {
-		state.updateSize(m.size());
-		map.putAll(m);
-	}
-
-	public Set<K> keySet() {
-		state.updateIteration(1);
-		return map.keySet();
-	}
-
-	public Collection<V> values() {
-		state.updateIteration(1);
-		return map.values();
-	}
-	
-	public V remove(Object key) {
-		state.updateSize(-1);
-		return map.remove(key);
-	}
-	
-	// --------------------------
-	
-	public int size() {
-		return map.size();
-	}
-
-	public boolean isEmpty() {
-		return map.isEmpty();
-	}
-
-	public void clear() {
-		state.updateSize(-map.size());
-		map.clear();
-	}
-
-	public boolean equals(Object o) {
-		return map.equals(o);
-	}
-
-	public int hashCode() {
-		return map.hashCode();
-	}
-
-}
+package de.heidelberg.pvs.diego.collectionswitch.monitors.maps;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+
+import de.heidelberg.pvs.diego.collectionswitch.monitors.KeyProfile;
+import de.heidelberg.pvs.diego.collectionswitch.monitors.MetricsBuffer;
+import de.heidelberg.pvs.diego.collectionswitch.monitors.MonitoredCollection;
+import de.heidelberg.pvs.diego.collectionswitch.monitors.MonitoredInstance;
+import de.heidelberg.pvs.diego.collectionswitch.monitors.MonitoredSet;
+
+
+public class MapActiveFullMonitor<K, V> implements Map<K, V>, MonitoredInstance {
+	
+	private Map<K, V> map;
+	private final MetricsBuffer buffer;
+	private final long id;
+
+	private final KeyProfile profile;
+	private int countdown;
+	
+	public MapActiveFullMonitor(Map<K, V> map, MapMetrics state) {
+		this(map, state.getBuffer(), state.getId());
+	}
+
+	public MapActiveFullMonitor(Map<K, V> map, MetricsBuffer buffer, long id) {
+		this(map, buffer, id, null);
+	}
+
+	/**
+	 * Also records the new keys in the key profile, if not {@code null}
+	 */
+	public MapActiveFullMonitor(Map<K, V> map, MetricsBuffer buffer, long id, KeyProfile profile) {
+		super();
+		this.map = map;
+		this.buffer = buffer;
+		this.id = id;
+		this.profile = profile;
+		this.countdown = profile == null ? 0 : profile.getPeriod();
+		buffer.updateSize(id, map.size()); // first record
+	}
+	
+	public boolean containsKey(Object key) {
+		buffer.add(id, MapMetrics.CONTAINS_OP, 1);
+		return map.containsKey(key);
+	}
+
+	public boolean containsValue(Object value) {
+		buffer.add(id, MapMetrics.CONTAINS_OP, 1);
+		return map.containsValue(value);
+	}
+	
+	// A null value is counted as a miss, which costs no second lookup
+
+	public V get(Object key) {
+		V value = map.get(key);
+		buffer.add(id, value != null ? MapMetrics.HIT_OP : MapMetrics.MISS_OP, 1);
+		return value;
+	}
+
+	public V put(K key, V value) {
+		int before = map.size();
+		V previous = map.put(key, value);
+		if (countPut(before) && profile != null && --countdown == 0) {
+			countdown = profile.getPeriod();
+			profile.record(key);
+		}
+		return previous;
+	}
+	
+	// The views count their own lookups and traversals
+
+	public Set<java.util.Map.Entry<K, V>> entrySet() {
+		return new MonitoredSet<java.util.Map.Entry<K, V>>(map.entrySet(), buffer, id, MapMetrics.CONTAINS_OP,
+				MapMetrics.ITERATION_OP, MapMetrics.VISIT_OP);
+	}
+	
+	public void putAll(Map<? extends K, ? extends V> m) {
+		int before = map.size();
+		map.putAll(m);
+		int added = map.size() - before;
+		buffer.add(id, MapMetrics.PUT_NEW_OP, added);
+		buffer.add(id, MapMetrics.OVERWRITE_OP, m.size() - added);
+		buffer.updateSize(id, added);
+	}
+
+	public Set<K> keySet() {
+		return new MonitoredSet<K>(map.keySet(), buffer, id, MapMetrics.CONTAINS_OP, MapMetrics.ITERATION_OP,
+				MapMetrics.VISIT_OP);
+	}
+
+	public Collection<V> values() {
+		return new MonitoredCollection<V>(map.values(), buffer, id, MapMetrics.CONTAINS_OP,
+				MapMetrics.ITERATION_OP, MapMetrics.VISIT_OP);
+	}
+
+	public void forEach(BiConsumer<? super K, ? super V> action) {
+		countTraversal();
+		map.forEach(action);
+	}
+
+	public void replaceAll(BiFunction<? super K, ? super V, ? extends V> function) {
+		countTraversal();
+		map.replaceAll(function);
+	}
+	
+	public V remove(Object key) {
+		int before = map.size();
+		V previous = map.remove(key);
+		buffer.add(id, MapMetrics.REMOVE_OP, 1);
+		buffer.updateSize(id, map.size() - before);
+		return previous;
+	}
+
+	/**
+	 * Counts a put and returns whether it added a new key
+	 */
+	private boolean countPut(int before) {
+		if (map.size() > before) {
+			buffer.add(id, MapMetrics.PUT_NEW_OP, 1);
+			buffer.updateSize(id, 1);
+			return true;
+		}
+		buffer.add(id, MapMetrics.OVERWRITE_OP, 1);
+		return false;
+	}
+	
+	private void countTraversal() {
+		buffer.add(id, MapMetrics.ITERATION_OP, 1);
+		buffer.add(id, MapMetrics.VISIT_OP, map.size());
+	}
+
+	// --------------------------
+	
+	public int size() {
+		return map.size();
+	}
+
+	public boolean isEmpty() {
+		return map.isEmpty();
+	}
+
+	public void clear() {
+		buffer.updateSize(id, -map.size());
+		map.clear();
+	}
+
+	public boolean equals(Object o) {
+		return map.equals(o);
+	}
+
+	public int hashCode() {
+		return map.hashCode();
+	}
+
+}
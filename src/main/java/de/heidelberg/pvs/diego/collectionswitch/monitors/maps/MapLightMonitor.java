@@ -0,0 +1,180 @@
+package de.heidelberg.pvs.diego.collectionswitch.monitors.maps;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+
+import de.heidelberg.pvs.diego.collectionswitch.monitors.KeyProfile;
+import de.heidelberg.pvs.diego.collectionswitch.monitors.MetricsBuffer;
+import de.heidelberg.pvs.diego.collectionswitch.monitors.MonitoredInstance;
+
+/**
+ * Map monitor that records only one in every {@code period} operations, scaled
+ * up by the period, in the same way as the light list monitor. Traversals of
+ * the views are sampled when the view is taken.
+ */
+public class MapLightMonitor<K, V> implements Map<K, V>, MonitoredInstance {
+
+	private final Map<K, V> map;
+	private final MetricsBuffer buffer;
+	private final long id;
+
+	private final int period;
+	private int countdown;
+
+	private final KeyProfile profile;
+
+	public MapLightMonitor(Map<K, V> map, MetricsBuffer buffer, long id, int period) {
+		this(map, buffer, id, period, null);
+	}
+
+	/**
+	 * Also records the keys of the sampled insertions in the key profile, if
+	 * not {@code null}
+	 */
+	public MapLightMonitor(Map<K, V> map, MetricsBuffer buffer, long id, int period, KeyProfile profile) {
+		if (period < 1) {
+			throw new IllegalArgumentException("Sampling period must be positive: " + period);
+		}
+		this.map = map;
+		this.buffer = buffer;
+		this.id = id;
+		this.period = period;
+		this.profile = profile;
+		this.countdown = 1 + ThreadLocalRandom.current().nextInt(period);
+		buffer.recordSize(id, map.size()); // first record
+	}
+
+	public boolean containsKey(Object key) {
+		if (sampled()) {
+			buffer.add(id, MapMetrics.CONTAINS_OP, period);
+		}
+		return map.containsKey(key);
+	}
+
+	public boolean containsValue(Object value) {
+		if (sampled()) {
+			buffer.add(id, MapMetrics.CONTAINS_OP, period);
+		}
+		return map.containsValue(value);
+	}
+
+	public V get(Object key) {
+		V value = map.get(key);
+		if (sampled()) {
+			buffer.add(id, value != null ? MapMetrics.HIT_OP : MapMetrics.MISS_OP, period);
+		}
+		return value;
+	}
+
+	public V getOrDefault(Object key, V defaultValue) {
+		V value = map.getOrDefault(key, defaultValue);
+		if (sampled()) {
+			buffer.add(id, value != defaultValue ? MapMetrics.HIT_OP : MapMetrics.MISS_OP, period);
+		}
+		return value;
+	}
+
+	public Set<java.util.Map.Entry<K, V>> entrySet() {
+		sampleTraversal();
+		return map.entrySet();
+	}
+
+	public Set<K> keySet() {
+		sampleTraversal();
+		return map.keySet();
+	}
+
+	public Collection<V> values() {
+		sampleTraversal();
+		return map.values();
+	}
+
+	public void forEach(BiConsumer<? super K, ? super V> action) {
+		sampleTraversal();
+		map.forEach(action);
+	}
+
+	public void replaceAll(BiFunction<? super K, ? super V, ? extends V> function) {
+		sampleTraversal();
+		map.replaceAll(function);
+	}
+
+	public V put(K key, V value) {
+		int before = map.size();
+		V previous = map.put(key, value);
+		if (sampled()) {
+			boolean added = map.size() > before;
+			buffer.add(id, added ? MapMetrics.PUT_NEW_OP : MapMetrics.OVERWRITE_OP, period);
+			if (added && profile != null) {
+				profile.record(key);
+			}
+		}
+		return previous;
+	}
+
+	public void putAll(Map<? extends K, ? extends V> m) {
+		int before = map.size();
+		map.putAll(m);
+		if (sampled()) {
+			int added = map.size() - before;
+			buffer.add(id, MapMetrics.PUT_NEW_OP, (long) period * added);
+			buffer.add(id, MapMetrics.OVERWRITE_OP, (long) period * (m.size() - added));
+		}
+	}
+
+	public V remove(Object key) {
+		V removed = map.remove(key);
+		if (sampled()) {
+			buffer.add(id, MapMetrics.REMOVE_OP, period);
+		}
+		return removed;
+	}
+
+	public void clear() {
+		map.clear();
+		sampled();
+	}
+
+	private boolean sampled() {
+		if (--countdown != 0) {
+			return false;
+		}
+		countdown = period;
+		buffer.recordSize(id, map.size());
+		return true;
+	}
+
+	private void sampleTraversal() {
+		if (sampled()) {
+			buffer.add(id, MapMetrics.ITERATION_OP, period);
+			buffer.add(id, MapMetrics.VISIT_OP, (long) period * map.size());
+		}
+	}
+
+	// --------------------------
+
+	public int size() {
+		return map.size();
+	}
+
+	public boolean isEmpty() {
+		return map.isEmpty();
+	}
+
+	public boolean equals(Object o) {
+		return map.equals(o);
+	}
+
+	public int hashCode() {
+		return map.hashCode();
+	}
+
+	public String toString() {
+		return map.toString();
+	}
+
+}
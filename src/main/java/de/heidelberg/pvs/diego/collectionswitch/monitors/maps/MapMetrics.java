@@ -1,54 +1,132 @@
-package de.heidelberg.pvs.diego.collectionswitch.monitors.maps;
-
-import java.lang.ref.WeakReference;
-
-public class MapMetrics {
-	
-	private int size;
-	private int maxSize;
-	private int containsOp;
-	private int iterationOp;
-	
-	private WeakReference<?> mapReference;
-	
-	public MapMetrics(WeakReference<?> map) {
-		super();
-		this.mapReference = map;
-	}
-
-	public boolean hasCollectionFinished() {
-		return mapReference.get() == null;
-	}
-	
-	public int getLastSize() {
-		return size;
-	}
-	
-	public int getMaxSize() {
-		return maxSize;
-	}
-
-	public int getContainsOp() {
-		return containsOp;
-	}
-
-	public int getIterationOp() {
-		return iterationOp;
-	}
-	
-	public void updateSize(int delta) {
-		size += delta;
-		if(size > maxSize) {
-			maxSize = size;
-		}
-	}
-	
-	public void updateContainsOp(int delta) {
-		containsOp += delta;
-	}
-	
-	public void updateIteration(int delta) {
-		iterationOp += delta;
-	}
-
-}
+package de.heidelberg.pvs.diego.collectionswitch.monitors.maps;
+
+import de.heidelberg.pvs.diego.collectionswitch.monitors.MetricsBuffer;
+
+/**
+ * View over the record of one map in a {@link MetricsBuffer}. The view can be
+ * moved to other records, so the optimizer aggregates a whole window through a
+ * single instance.
+ */
+public class MapMetrics {
+	
+	public static final int CONTAINS_OP = MetricsBuffer.FIRST_FIELD;
+	public static final int ITERATION_OP = MetricsBuffer.FIRST_FIELD + 1;
+	/** Elements visited by all iterations */
+	public static final int VISIT_OP = MetricsBuffer.FIRST_FIELD + 2;
+	/** Gets that found their key */
+	public static final int HIT_OP = MetricsBuffer.FIRST_FIELD + 3;
+	/** Gets that did not find their key */
+	public static final int MISS_OP = MetricsBuffer.FIRST_FIELD + 4;
+	/** Puts that added a new key */
+	public static final int PUT_NEW_OP = MetricsBuffer.FIRST_FIELD + 5;
+	/** Puts that replaced the value of an existing key */
+	public static final int OVERWRITE_OP = MetricsBuffer.FIRST_FIELD + 6;
+	public static final int REMOVE_OP = MetricsBuffer.FIRST_FIELD + 7;
+
+	public static final int SLOT_WIDTH = 16;
+
+	private final MetricsBuffer buffer;
+	private long id;
+	
+	/**
+	 * Standalone record, backed by its own single slot buffer
+	 */
+	public MapMetrics() {
+		this.buffer = new MetricsBuffer(SLOT_WIDTH, 1);
+		this.id = buffer.allocate();
+	}
+
+	public MapMetrics(MetricsBuffer buffer, long id) {
+		this.buffer = buffer;
+		this.id = id;
+	}
+
+	public void moveTo(long id) {
+		this.id = id;
+	}
+
+	public MetricsBuffer getBuffer() {
+		return buffer;
+	}
+
+	public long getId() {
+		return id;
+	}
+	
+	public int getLastSize() {
+		return (int) buffer.get(id, MetricsBuffer.SIZE);
+	}
+
+	public int getMaxSize() {
+		return (int) buffer.get(id, MetricsBuffer.MAX_SIZE);
+	}
+	
+	public int getContainsOp() {
+		return (int) buffer.get(id, CONTAINS_OP);
+	}
+
+	public int getIterationOp() {
+		return (int) buffer.get(id, ITERATION_OP);
+	}
+
+	public long getVisitOp() {
+		return buffer.get(id, VISIT_OP);
+	}
+
+	public int getHitOp() {
+		return (int) buffer.get(id, HIT_OP);
+	}
+
+	public int getMissOp() {
+		return (int) buffer.get(id, MISS_OP);
+	}
+
+	public int getPutNewOp() {
+		return (int) buffer.get(id, PUT_NEW_OP);
+	}
+
+	public int getOverwriteOp() {
+		return (int) buffer.get(id, OVERWRITE_OP);
+	}
+
+	public int getRemoveOp() {
+		return (int) buffer.get(id, REMOVE_OP);
+	}
+	
+	public void updateSize(int delta) {
+		buffer.updateSize(id, delta);
+	}
+	
+	public void updateContainsOp(int delta) {
+		buffer.add(id, CONTAINS_OP, delta);
+	}
+	
+	public void updateIteration(int delta) {
+		buffer.add(id, ITERATION_OP, delta);
+	}
+
+	public void updateVisitOp(long delta) {
+		buffer.add(id, VISIT_OP, delta);
+	}
+
+	public void updateHitOp(int delta) {
+		buffer.add(id, HIT_OP, delta);
+	}
+
+	public void updateMissOp(int delta) {
+		buffer.add(id, MISS_OP, delta);
+	}
+
+	public void updatePutNewOp(int delta) {
+		buffer.add(id, PUT_NEW_OP, delta);
+	}
+
+	public void updateOverwriteOp(int delta) {
+		buffer.add(id, OVERWRITE_OP, delta);
+	}
+
+	public void updateRemoveOp(int delta) {
+		buffer.add(id, REMOVE_OP, delta);
+	}
+
+}
@@ -0,0 +1,155 @@
+package de.heidelberg.pvs.diego.collectionswitch.monitors.maps;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+import de.heidelberg.pvs.diego.collectionswitch.monitors.CostMeter;
+import de.heidelberg.pvs.diego.collectionswitch.monitors.MetricsBuffer;
+import de.heidelberg.pvs.diego.collectionswitch.monitors.MonitoredInstance;
+import de.heidelberg.pvs.diego.collectionswitch.monitors.TimedCollection;
+import de.heidelberg.pvs.diego.collectionswitch.monitors.TimedSet;
+
+/**
+ * Map whose operations add their real cost to the record of the instance,
+ * see {@link TimedCollection}. The views share the record.
+ */
+public class TimedMap<K, V> implements Map<K, V>, MonitoredInstance {
+
+	private final Map<K, V> map;
+	private final MetricsBuffer buffer;
+	private final long id;
+	private final CostMeter meter;
+
+	public TimedMap(Map<K, V> map, MetricsBuffer buffer, long id, CostMeter meter) {
+		this.map = map;
+		this.buffer = buffer;
+		this.id = id;
+		this.meter = meter;
+	}
+
+	public boolean containsKey(Object key) {
+		long start = meter.start();
+		boolean contains = map.containsKey(key);
+		meter.stop(buffer, id, start);
+		return contains;
+	}
+
+	public boolean containsValue(Object value) {
+		long start = meter.start();
+		boolean contains = map.containsValue(value);
+		meter.stop(buffer, id, start);
+		return contains;
+	}
+
+	public V get(Object key) {
+		long start = meter.start();
+		V value = map.get(key);
+		meter.stop(buffer, id, start);
+		return value;
+	}
+
+	public V getOrDefault(Object key, V defaultValue) {
+		long start = meter.start();
+		V value = map.getOrDefault(key, defaultValue);
+		meter.stop(buffer, id, start);
+		return value;
+	}
+
+	public V put(K key, V value) {
+		long start = meter.start();
+		V previous = map.put(key, value);
+		meter.stop(buffer, id, start);
+		return previous;
+	}
+
+	public V putIfAbsent(K key, V value) {
+		long start = meter.start();
+		V previous = map.putIfAbsent(key, value);
+		meter.stop(buffer, id, start);
+		return previous;
+	}
+
+	public void putAll(Map<? extends K, ? extends V> m) {
+		long start = meter.start();
+		map.putAll(m);
+		meter.stop(buffer, id, start);
+	}
+
+	public V remove(Object key) {
+		long start = meter.start();
+		V previous = map.remove(key);
+		meter.stop(buffer, id, start);
+		return previous;
+	}
+
+	public V computeIfAbsent(K key, Function<? super K, ? extends V> mappingFunction) {
+		long start = meter.start();
+		V value = map.computeIfAbsent(key, mappingFunction);
+		meter.stop(buffer, id, start);
+		return value;
+	}
+
+	public V merge(K key, V value, BiFunction<? super V, ? super V, ? extends V> remappingFunction) {
+		long start = meter.start();
+		V merged = map.merge(key, value, remappingFunction);
+		meter.stop(buffer, id, start);
+		return merged;
+	}
+
+	public void forEach(BiConsumer<? super K, ? super V> action) {
+		long start = meter.start();
+		map.forEach(action);
+		meter.stop(buffer, id, start);
+	}
+
+	public void replaceAll(BiFunction<? super K, ? super V, ? extends V> function) {
+		long start = meter.start();
+		map.replaceAll(function);
+		meter.stop(buffer, id, start);
+	}
+
+	public void clear() {
+		long start = meter.start();
+		map.clear();
+		meter.stop(buffer, id, start);
+	}
+
+	public Set<K> keySet() {
+		return new TimedSet<K>(map.keySet(), buffer, id, meter);
+	}
+
+	public Collection<V> values() {
+		return new TimedCollection<V>(map.values(), buffer, id, meter);
+	}
+
+	public Set<Map.Entry<K, V>> entrySet() {
+		return new TimedSet<Map.Entry<K, V>>(map.entrySet(), buffer, id, meter);
+	}
+
+	// --------------------------
+
+	public int size() {
+		return map.size();
+	}
+
+	public boolean isEmpty() {
+		return map.isEmpty();
+	}
+
+	public boolean equals(Object o) {
+		return o == this || map.equals(o);
+	}
+
+	public int hashCode() {
+		return map.hashCode();
+	}
+
+	public String toString() {
+		return map.toString();
+	}
+
+}
@@ -0,0 +1,147 @@
+package de.heidelberg.pvs.diego.collectionswitch.monitors.queues;
+
+import java.util.Deque;
+import java.util.Iterator;
+
+import de.heidelberg.pvs.diego.collectionswitch.monitors.MetricsBuffer;
+import de.heidelberg.pvs.diego.collectionswitch.monitors.MonitoredIterator;
+
+/**
+ * Monitor of a deque, which counts the operations at both ends as offers,
+ * polls and peeks, see {@link QueueMetrics}
+ */
+public class DequeActiveFullMonitor<E> extends QueueActiveFullMonitor<E> implements Deque<E> {
+
+	private final Deque<E> deque;
+
+	public DequeActiveFullMonitor(Deque<E> deque, QueueMetrics metrics) {
+		this(deque, metrics.getBuffer(), metrics.getId());
+	}
+
+	public DequeActiveFullMonitor(Deque<E> deque, MetricsBuffer buffer, long id) {
+		super(deque, buffer, id);
+		this.deque = deque;
+	}
+
+	/**
+	 * OFFERS
+	 */
+
+	public void addFirst(E e) {
+		buffer.add(id, QueueMetrics.OFFER_OP, 1);
+		deque.addFirst(e);
+		buffer.updateSize(id, 1);
+	}
+
+	public void addLast(E e) {
+		buffer.add(id, QueueMetrics.OFFER_OP, 1);
+		deque.addLast(e);
+		buffer.updateSize(id, 1);
+	}
+
+	public boolean offerFirst(E e) {
+		buffer.add(id, QueueMetrics.OFFER_OP, 1);
+		boolean added = deque.offerFirst(e);
+		if (added) {
+			buffer.updateSize(id, 1);
+		}
+		return added;
+	}
+
+	public boolean offerLast(E e) {
+		buffer.add(id, QueueMetrics.OFFER_OP, 1);
+		boolean added = deque.offerLast(e);
+		if (added) {
+			buffer.updateSize(id, 1);
+		}
+		return added;
+	}
+
+	public void push(E e) {
+		addFirst(e);
+	}
+
+	/**
+	 * POLLS
+	 */
+
+	public E removeFirst() {
+		buffer.add(id, QueueMetrics.POLL_OP, 1);
+		E removed = deque.removeFirst();
+		buffer.updateSize(id, -1);
+		return removed;
+	}
+
+	public E removeLast() {
+		buffer.add(id, QueueMetrics.POLL_OP, 1);
+		E removed = deque.removeLast();
+		buffer.updateSize(id, -1);
+		return removed;
+	}
+
+	public E pollFirst() {
+		buffer.add(id, QueueMetrics.POLL_OP, 1);
+		return polled(deque.pollFirst());
+	}
+
+	public E pollLast() {
+		buffer.add(id, QueueMetrics.POLL_OP, 1);
+		return polled(deque.pollLast());
+	}
+
+	public E pop() {
+		return removeFirst();
+	}
+
+	/**
+	 * PEEKS
+	 */
+
+	public E getFirst() {
+		buffer.add(id, QueueMetrics.PEEK_OP, 1);
+		return deque.getFirst();
+	}
+
+	public E getLast() {
+		buffer.add(id, QueueMetrics.PEEK_OP, 1);
+		return deque.getLast();
+	}
+
+	public E peekFirst() {
+		buffer.add(id, QueueMetrics.PEEK_OP, 1);
+		return deque.peekFirst();
+	}
+
+	public E peekLast() {
+		buffer.add(id, QueueMetrics.PEEK_OP, 1);
+		return deque.peekLast();
+	}
+
+	/**
+	 * LOOKUPS AND TRAVERSALS
+	 */
+
+	public boolean removeFirstOccurrence(Object o) {
+		buffer.add(id, QueueMetrics.CONTAINS_OP, 1);
+		boolean removed = deque.removeFirstOccurrence(o);
+		if (removed) {
+			buffer.updateSize(id, -1);
+		}
+		return removed;
+	}
+
+	public boolean removeLastOccurrence(Object o) {
+		buffer.add(id, QueueMetrics.CONTAINS_OP, 1);
+		boolean removed = deque.removeLastOccurrence(o);
+		if (removed) {
+			buffer.updateSize(id, -1);
+		}
+		return removed;
+	}
+
+	public Iterator<E> descendingIterator() {
+		buffer.add(id, QueueMetrics.ITERATION_OP, 1);
+		return new MonitoredIterator<E>(deque.descendingIterator(), buffer, id, QueueMetrics.VISIT_OP);
+	}
+
+}
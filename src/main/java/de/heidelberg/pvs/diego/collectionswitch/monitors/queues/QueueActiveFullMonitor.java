@@ -0,0 +1,102 @@
+package de.heidelberg.pvs.diego.collectionswitch.monitors.queues;
+
+import java.util.Collection;
+import java.util.Queue;
+
+import de.heidelberg.pvs.diego.collectionswitch.monitors.MetricsBuffer;
+import de.heidelberg.pvs.diego.collectionswitch.monitors.MonitoredCollection;
+
+/**
+ * Monitor of a queue recording its offers, polls and peeks. Removing a given
+ * element scans the queue, so it is counted as a contains operation.
+ */
+public class QueueActiveFullMonitor<E> extends MonitoredCollection<E> implements Queue<E> {
+
+	private final Queue<E> queue;
+
+	public QueueActiveFullMonitor(Queue<E> queue, QueueMetrics metrics) {
+		this(queue, metrics.getBuffer(), metrics.getId());
+	}
+
+	public QueueActiveFullMonitor(Queue<E> queue, MetricsBuffer buffer, long id) {
+		super(queue, buffer, id, QueueMetrics.CONTAINS_OP, QueueMetrics.ITERATION_OP, QueueMetrics.VISIT_OP);
+		this.queue = queue;
+		buffer.updateSize(id, queue.size()); // first record
+	}
+
+	/**
+	 * OFFERS
+	 */
+
+	public boolean offer(E e) {
+		buffer.add(id, QueueMetrics.OFFER_OP, 1);
+		boolean added = queue.offer(e);
+		if (added) {
+			buffer.updateSize(id, 1);
+		}
+		return added;
+	}
+
+	@Override
+	public boolean add(E e) {
+		buffer.add(id, QueueMetrics.OFFER_OP, 1);
+		return super.add(e);
+	}
+
+	@Override
+	public boolean addAll(Collection<? extends E> c) {
+		buffer.add(id, QueueMetrics.OFFER_OP, c.size());
+		return super.addAll(c);
+	}
+
+	/**
+	 * POLLS
+	 */
+
+	public E poll() {
+		buffer.add(id, QueueMetrics.POLL_OP, 1);
+		return polled(queue.poll());
+	}
+
+	public E remove() {
+		buffer.add(id, QueueMetrics.POLL_OP, 1);
+		E removed = queue.remove();
+		buffer.updateSize(id, -1);
+		return removed;
+	}
+
+	/**
+	 * PEEKS
+	 */
+
+	public E peek() {
+		buffer.add(id, QueueMetrics.PEEK_OP, 1);
+		return queue.peek();
+	}
+
+	public E element() {
+		buffer.add(id, QueueMetrics.PEEK_OP, 1);
+		return queue.element();
+	}
+
+	/**
+	 * LOOKUPS
+	 */
+
+	@Override
+	public boolean remove(Object o) {
+		buffer.add(id, QueueMetrics.CONTAINS_OP, 1);
+		return super.remove(o);
+	}
+
+	/**
+	 * Updates the size after a poll, which returns {@code null} when empty
+	 */
+	protected E polled(E e) {
+		if (e != null) {
+			buffer.updateSize(id, -1);
+		}
+		return e;
+	}
+
+}
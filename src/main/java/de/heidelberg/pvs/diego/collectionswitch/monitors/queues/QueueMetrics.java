@@ -0,0 +1,117 @@
+package de.heidelberg.pvs.diego.collectionswitch.monitors.queues;
+
+import de.heidelberg.pvs.diego.collectionswitch.monitors.MetricsBuffer;
+
+/**
+ * View over the record of one queue or deque in a {@link MetricsBuffer}. The
+ * view can be moved to other records, so the optimizer aggregates a whole
+ * window through a single instance.
+ *
+ * Operations at either end of a deque are counted alike, since every deque
+ * implementation costs the same at both ends.
+ */
+public class QueueMetrics {
+
+	/** Inserts at either end */
+	public static final int OFFER_OP = MetricsBuffer.FIRST_FIELD;
+	/** Removals at either end */
+	public static final int POLL_OP = MetricsBuffer.FIRST_FIELD + 1;
+	/** Reads at either end */
+	public static final int PEEK_OP = MetricsBuffer.FIRST_FIELD + 2;
+	/** Lookups and removals of a given element */
+	public static final int CONTAINS_OP = MetricsBuffer.FIRST_FIELD + 3;
+	public static final int ITERATION_OP = MetricsBuffer.FIRST_FIELD + 4;
+	/** Elements visited by all iterations */
+	public static final int VISIT_OP = MetricsBuffer.FIRST_FIELD + 5;
+
+	public static final int SLOT_WIDTH = 16;
+
+	private final MetricsBuffer buffer;
+	private long id;
+
+	/**
+	 * Standalone record, backed by its own single slot buffer
+	 */
+	public QueueMetrics() {
+		this.buffer = new MetricsBuffer(SLOT_WIDTH, 1);
+		this.id = buffer.allocate();
+	}
+
+	public QueueMetrics(MetricsBuffer buffer, long id) {
+		this.buffer = buffer;
+		this.id = id;
+	}
+
+	public void moveTo(long id) {
+		this.id = id;
+	}
+
+	public MetricsBuffer getBuffer() {
+		return buffer;
+	}
+
+	public long getId() {
+		return id;
+	}
+
+	public int getLastSize() {
+		return (int) buffer.get(id, MetricsBuffer.SIZE);
+	}
+
+	public int getMaxSize() {
+		return (int) buffer.get(id, MetricsBuffer.MAX_SIZE);
+	}
+
+	public int getOfferOp() {
+		return (int) buffer.get(id, OFFER_OP);
+	}
+
+	public int getPollOp() {
+		return (int) buffer.get(id, POLL_OP);
+	}
+
+	public int getPeekOp() {
+		return (int) buffer.get(id, PEEK_OP);
+	}
+
+	public int getContainsOp() {
+		return (int) buffer.get(id, CONTAINS_OP);
+	}
+
+	public int getIterationOp() {
+		return (int) buffer.get(id, ITERATION_OP);
+	}
+
+	public long getVisitOp() {
+		return buffer.get(id, VISIT_OP);
+	}
+
+	public void updateSize(int delta) {
+		buffer.updateSize(id, delta);
+	}
+
+	public void updateOfferOp(int delta) {
+		buffer.add(id, OFFER_OP, delta);
+	}
+
+	public void updatePollOp(int delta) {
+		buffer.add(id, POLL_OP, delta);
+	}
+
+	public void updatePeekOp(int delta) {
+		buffer.add(id, PEEK_OP, delta);
+	}
+
+	public void updateContainsOp(int delta) {
+		buffer.add(id, CONTAINS_OP, delta);
+	}
+
+	public void updateIteratorOp(int delta) {
+		buffer.add(id, ITERATION_OP, delta);
+	}
+
+	public void updateVisitOp(long delta) {
+		buffer.add(id, VISIT_OP, delta);
+	}
+
+}
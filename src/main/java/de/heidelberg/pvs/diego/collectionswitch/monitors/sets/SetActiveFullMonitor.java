@@ -1,99 +1,42 @@
-package de.heidelberg.pvs.diego.collectionswitch.monitors.sets;
-
-import java.util.Collection;
-import java.util.Iterator;
-import java.util.Set;
-
-public class SetActiveFullMonitor<E> implements Set<E> {
-
-	private Set<E> set;
-	
-	private SetMetrics state;
-	
-	public SetActiveFullMonitor(Set<E> set, SetMetrics state) {
-		super();
-		this.set = set;
-		this.state = state;
-		this.state.updateSize(set.size()); // first record
-	}
-
-	/**
-	 * MONITORED OPERATIONS
-	 */
-	
-	public boolean contains(Object o) {
-		state.updateContainsOp(1);
-		return set.contains(o);
-	}
-
-	public Iterator<E> iterator() {
-		state.updateIteration(1);
-		return set.iterator();
-	}
-
-	public boolean add(E e) {
-		state.updateSize(1);
-		return set.add(e);
-	}
-
-	public boolean containsAll(Collection<?> c) {
-		state.updateContainsOp(c.size());
-		return set.containsAll(c);
-	}
-
-	public boolean addAll(Collection<? extends E> c) {
-		state.updateSize(c.size());
-		return set.addAll(c);
-	}
-
-	public boolean retainAll(Collection<?> c) {
-		state.updateContainsOp(c.size());
-		return set.retainAll(c);
-	}
-	
-	public boolean remove(Object o) {
-		state.updateSize(-1);
-		return set.remove(o);
-	}
-	
-	public boolean removeAll(Collection<?> c) {
-		state.updateSize(-c.size());
-		return set.removeAll(c);
-	}
-	
-	public void clear() {
-		state.updateSize(-size());
-		set.clear();
-	}
-
-	/**
-	 * NON-MONITORED OPERATIONS
-	 */
-	
-	
-	public int size() {
-		return set.size();
-	}
-
-	public boolean isEmpty() {
-		return set.isEmpty();
-	}
-
-	
-	public Object[] toArray() {
-		return set.toArray();
-	}
-
-	public <T> T[] toArray(T[] a) {
-		return set.toArray(a);
-	}
-
-	public boolean equals(Object o) {
-		return set.equals(o);
-	}
-
-	public int hashCode() {
-		return set.hashCode();
-	}
-	
-}
+package de.heidelberg.pvs.diego.collectionswitch.monitors.sets;
+
+import java.util.Set;
+
+import de.heidelberg.pvs.diego.collectionswitch.monitors.KeyProfile;
+import de.heidelberg.pvs.diego.collectionswitch.monitors.MetricsBuffer;
+import de.heidelberg.pvs.diego.collectionswitch.monitors.MonitoredSet;
+
+public class SetActiveFullMonitor<E> extends MonitoredSet<E> {
+
+	public SetActiveFullMonitor(Set<E> set, SetMetrics state) {
+		this(set, state.getBuffer(), state.getId());
+	}
+
+	private final KeyProfile profile;
+	private int countdown;
+
+	public SetActiveFullMonitor(Set<E> set, MetricsBuffer buffer, long id) {
+		this(set, buffer, id, null);
+	}
+
+	/**
+	 * Also records the added elements in the key profile, if not {@code null}
+	 */
+	public SetActiveFullMonitor(Set<E> set, MetricsBuffer buffer, long id, KeyProfile profile) {
+		super(set, buffer, id, SetMetrics.CONTAINS_OP, SetMetrics.ITERATION_OP, SetMetrics.VISIT_OP);
+		this.profile = profile;
+		this.countdown = profile == null ? 0 : profile.getPeriod();
+		buffer.updateSize(id, set.size()); // first record
+	}
+
+	@Override
+	public boolean add(E e) {
+		boolean added = super.add(e);
+		if (added && profile != null && --countdown == 0) {
+			countdown = profile.getPeriod();
+			profile.record(e);
+		}
+		return added;
+	}
+
+}
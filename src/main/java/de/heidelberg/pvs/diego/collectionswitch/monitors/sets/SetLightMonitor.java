@@ -0,0 +1,176 @@
+package de.heidelberg.pvs.diego.collectionswitch.monitors.sets;
+
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+import de.heidelberg.pvs.diego.collectionswitch.monitors.KeyProfile;
+import de.heidelberg.pvs.diego.collectionswitch.monitors.MetricsBuffer;
+import de.heidelberg.pvs.diego.collectionswitch.monitors.MonitoredInstance;
+
+/**
+ * Set monitor that records only one in every {@code period} operations, scaled
+ * up by the period, in the same way as the light list monitor.
+ */
+public class SetLightMonitor<E> implements Set<E>, MonitoredInstance {
+
+	private final Set<E> set;
+	private final MetricsBuffer buffer;
+	private final long id;
+
+	private final int period;
+	private int countdown;
+
+	private final KeyProfile profile;
+
+	public SetLightMonitor(Set<E> set, MetricsBuffer buffer, long id, int period) {
+		this(set, buffer, id, period, null);
+	}
+
+	/**
+	 * Also records the keys of the sampled insertions in the key profile, if
+	 * not {@code null}
+	 */
+	public SetLightMonitor(Set<E> set, MetricsBuffer buffer, long id, int period, KeyProfile profile) {
+		if (period < 1) {
+			throw new IllegalArgumentException("Sampling period must be positive: " + period);
+		}
+		this.set = set;
+		this.buffer = buffer;
+		this.id = id;
+		this.period = period;
+		this.profile = profile;
+		this.countdown = 1 + ThreadLocalRandom.current().nextInt(period);
+		buffer.recordSize(id, set.size()); // first record
+	}
+
+	/**
+	 * SAMPLED OPERATIONS
+	 */
+
+	public boolean contains(Object o) {
+		if (sampled()) {
+			buffer.add(id, SetMetrics.CONTAINS_OP, period);
+		}
+		return set.contains(o);
+	}
+
+	public boolean containsAll(Collection<?> c) {
+		if (sampled()) {
+			buffer.add(id, SetMetrics.CONTAINS_OP, (long) period * c.size());
+		}
+		return set.containsAll(c);
+	}
+
+	public Iterator<E> iterator() {
+		sampleTraversal();
+		return set.iterator();
+	}
+
+	public void forEach(Consumer<? super E> action) {
+		sampleTraversal();
+		set.forEach(action);
+	}
+
+	public Spliterator<E> spliterator() {
+		sampleTraversal();
+		return set.spliterator();
+	}
+
+	public boolean removeIf(Predicate<? super E> filter) {
+		sampleTraversal();
+		return set.removeIf(filter);
+	}
+
+	public boolean add(E e) {
+		boolean added = set.add(e);
+		if (sampled() && added && profile != null) {
+			profile.record(e);
+		}
+		return added;
+	}
+
+	public boolean addAll(Collection<? extends E> c) {
+		boolean added = set.addAll(c);
+		sampled();
+		return added;
+	}
+
+	public boolean remove(Object o) {
+		boolean removed = set.remove(o);
+		sampled();
+		return removed;
+	}
+
+	public boolean removeAll(Collection<?> c) {
+		boolean removed = set.removeAll(c);
+		sampled();
+		return removed;
+	}
+
+	public boolean retainAll(Collection<?> c) {
+		boolean removed = set.retainAll(c);
+		if (sampled()) {
+			buffer.add(id, SetMetrics.CONTAINS_OP, (long) period * c.size());
+		}
+		return removed;
+	}
+
+	public void clear() {
+		set.clear();
+		sampled();
+	}
+
+	private boolean sampled() {
+		if (--countdown != 0) {
+			return false;
+		}
+		countdown = period;
+		buffer.recordSize(id, set.size());
+		return true;
+	}
+
+	private void sampleTraversal() {
+		if (sampled()) {
+			buffer.add(id, SetMetrics.ITERATION_OP, period);
+			buffer.add(id, SetMetrics.VISIT_OP, (long) period * set.size());
+		}
+	}
+
+	/**
+	 * NON-MONITORED OPERATIONS
+	 */
+
+	public int size() {
+		return set.size();
+	}
+
+	public boolean isEmpty() {
+		return set.isEmpty();
+	}
+
+	public Object[] toArray() {
+		return set.toArray();
+	}
+
+	public <T> T[] toArray(T[] a) {
+		return set.toArray(a);
+	}
+
+	public boolean equals(Object o) {
+		return set.equals(o);
+	}
+
+	public int hashCode() {
+		return set.hashCode();
+	}
+
+	public String toString() {
+		return set.toString();
+	}
+
+}
@@ -1,54 +1,83 @@
-package de.heidelberg.pvs.diego.collectionswitch.monitors.sets;
-
-import java.lang.ref.WeakReference;
-
-public class SetMetrics {
-	
-	private int size;
-	private int maxSize;
-	private int containsOp;
-	private int iterationOp;
-	
-	private WeakReference<?> setReference;
-	
-	public SetMetrics(WeakReference<?> map) {
-		super();
-		this.setReference = map;
-	}
-
-	public boolean hasCollectionFinished() {
-		return setReference.get() == null;
-	}
-	
-	public int getLastSize() {
-		return size;
-	}
-
-	public int getMaxSize() {
-		return maxSize;
-	}
-	
-	public int getContainsOp() {
-		return containsOp;
-	}
-
-	public int getIterationOp() {
-		return iterationOp;
-	}
-	
-	public void updateSize(int delta) {
-		size += delta;
-		if(size > maxSize) {
-			maxSize = size;
-		}
-	}
-	
-	public void updateContainsOp(int delta) {
-		containsOp += delta;
-	}
-	
-	public void updateIteration(int delta) {
-		iterationOp += delta;
-	}
-
-}
+package de.heidelberg.pvs.diego.collectionswitch.monitors.sets;
+
+import de.heidelberg.pvs.diego.collectionswitch.monitors.MetricsBuffer;
+
+/**
+ * View over the record of one set in a {@link MetricsBuffer}. The view can be
+ * moved to other records, so the optimizer aggregates a whole window through a
+ * single instance.
+ */
+public class SetMetrics {
+	
+	public static final int CONTAINS_OP = MetricsBuffer.FIRST_FIELD;
+	public static final int ITERATION_OP = MetricsBuffer.FIRST_FIELD + 1;
+	/** Elements visited by all iterations */
+	public static final int VISIT_OP = MetricsBuffer.FIRST_FIELD + 2;
+
+	public static final int SLOT_WIDTH = 8;
+
+	private final MetricsBuffer buffer;
+	private long id;
+	
+	/**
+	 * Standalone record, backed by its own single slot buffer
+	 */
+	public SetMetrics() {
+		this.buffer = new MetricsBuffer(SLOT_WIDTH, 1);
+		this.id = buffer.allocate();
+	}
+
+	public SetMetrics(MetricsBuffer buffer, long id) {
+		this.buffer = buffer;
+		this.id = id;
+	}
+
+	public void moveTo(long id) {
+		this.id = id;
+	}
+
+	public MetricsBuffer getBuffer() {
+		return buffer;
+	}
+
+	public long getId() {
+		return id;
+	}
+	
+	public int getLastSize() {
+		return (int) buffer.get(id, MetricsBuffer.SIZE);
+	}
+
+	public int getMaxSize() {
+		return (int) buffer.get(id, MetricsBuffer.MAX_SIZE);
+	}
+	
+	public int getContainsOp() {
+		return (int) buffer.get(id, CONTAINS_OP);
+	}
+
+	public int getIterationOp() {
+		return (int) buffer.get(id, ITERATION_OP);
+	}
+
+	public long getVisitOp() {
+		return buffer.get(id, VISIT_OP);
+	}
+	
+	public void updateSize(int delta) {
+		buffer.updateSize(id, delta);
+	}
+	
+	public void updateContainsOp(int delta) {
+		buffer.add(id, CONTAINS_OP, delta);
+	}
+	
+	public void updateIteration(int delta) {
+		buffer.add(id, ITERATION_OP, delta);
+	}
+
+	public void updateVisitOp(long delta) {
+		buffer.add(id, VISIT_OP, delta);
+	}
+
+}
@@ -0,0 +1,140 @@
+package de.heidelberg.pvs.diego.collectionswitch.monitors.sorted;
+
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+import java.util.Set;
+
+import de.heidelberg.pvs.diego.collectionswitch.monitors.MetricsBuffer;
+
+/**
+ * Monitor of a navigable map, which also counts floor, ceiling, lower and
+ * higher keys as navigation, see {@link SortedMetrics}
+ */
+public class NavigableMapMonitor<K, V> extends SortedMapMonitor<K, V> implements NavigableMap<K, V> {
+
+	private final NavigableMap<K, V> map;
+
+	public NavigableMapMonitor(NavigableMap<K, V> map, SortedMetrics metrics) {
+		this(map, metrics.getBuffer(), metrics.getId());
+	}
+
+	public NavigableMapMonitor(NavigableMap<K, V> map, MetricsBuffer buffer, long id) {
+		super(map, buffer, id);
+		this.map = map;
+	}
+
+	/**
+	 * Monitor of a view, which shares the record of its map
+	 */
+	protected NavigableMapMonitor(NavigableMap<K, V> map, MetricsBuffer buffer, long id, boolean view) {
+		super(map, buffer, id, view);
+		this.map = map;
+	}
+
+	/**
+	 * NAVIGATION
+	 */
+
+	public Map.Entry<K, V> lowerEntry(K key) {
+		buffer.add(id, SortedMetrics.NAVIGATION_OP, 1);
+		return map.lowerEntry(key);
+	}
+
+	public K lowerKey(K key) {
+		buffer.add(id, SortedMetrics.NAVIGATION_OP, 1);
+		return map.lowerKey(key);
+	}
+
+	public Map.Entry<K, V> floorEntry(K key) {
+		buffer.add(id, SortedMetrics.NAVIGATION_OP, 1);
+		return map.floorEntry(key);
+	}
+
+	public K floorKey(K key) {
+		buffer.add(id, SortedMetrics.NAVIGATION_OP, 1);
+		return map.floorKey(key);
+	}
+
+	public Map.Entry<K, V> ceilingEntry(K key) {
+		buffer.add(id, SortedMetrics.NAVIGATION_OP, 1);
+		return map.ceilingEntry(key);
+	}
+
+	public K ceilingKey(K key) {
+		buffer.add(id, SortedMetrics.NAVIGATION_OP, 1);
+		return map.ceilingKey(key);
+	}
+
+	public Map.Entry<K, V> higherEntry(K key) {
+		buffer.add(id, SortedMetrics.NAVIGATION_OP, 1);
+		return map.higherEntry(key);
+	}
+
+	public K higherKey(K key) {
+		buffer.add(id, SortedMetrics.NAVIGATION_OP, 1);
+		return map.higherKey(key);
+	}
+
+	public Map.Entry<K, V> firstEntry() {
+		buffer.add(id, SortedMetrics.NAVIGATION_OP, 1);
+		return map.firstEntry();
+	}
+
+	public Map.Entry<K, V> lastEntry() {
+		buffer.add(id, SortedMetrics.NAVIGATION_OP, 1);
+		return map.lastEntry();
+	}
+
+	public Map.Entry<K, V> pollFirstEntry() {
+		buffer.add(id, SortedMetrics.REMOVE_OP, 1);
+		return removed(map.pollFirstEntry());
+	}
+
+	public Map.Entry<K, V> pollLastEntry() {
+		buffer.add(id, SortedMetrics.REMOVE_OP, 1);
+		return removed(map.pollLastEntry());
+	}
+
+	/**
+	 * RANGES
+	 */
+
+	public NavigableMap<K, V> subMap(K fromKey, boolean fromInclusive, K toKey, boolean toInclusive) {
+		buffer.add(id, SortedMetrics.RANGE_OP, 1);
+		return new NavigableMapMonitor<K, V>(map.subMap(fromKey, fromInclusive, toKey, toInclusive), buffer, id,
+				true);
+	}
+
+	public NavigableMap<K, V> headMap(K toKey, boolean inclusive) {
+		buffer.add(id, SortedMetrics.RANGE_OP, 1);
+		return new NavigableMapMonitor<K, V>(map.headMap(toKey, inclusive), buffer, id, true);
+	}
+
+	public NavigableMap<K, V> tailMap(K fromKey, boolean inclusive) {
+		buffer.add(id, SortedMetrics.RANGE_OP, 1);
+		return new NavigableMapMonitor<K, V>(map.tailMap(fromKey, inclusive), buffer, id, true);
+	}
+
+	/**
+	 * ORDERED ITERATION
+	 */
+
+	public NavigableMap<K, V> descendingMap() {
+		return new NavigableMapMonitor<K, V>(map.descendingMap(), buffer, id, true);
+	}
+
+	@Override
+	public Set<K> keySet() {
+		return navigableKeySet();
+	}
+
+	public NavigableSet<K> navigableKeySet() {
+		return new NavigableSetMonitor<K>(map.navigableKeySet(), buffer, id, true);
+	}
+
+	public NavigableSet<K> descendingKeySet() {
+		return new NavigableSetMonitor<K>(map.descendingKeySet(), buffer, id, true);
+	}
+
+}
@@ -0,0 +1,108 @@
+package de.heidelberg.pvs.diego.collectionswitch.monitors.sorted;
+
+import java.util.Iterator;
+import java.util.NavigableSet;
+
+import de.heidelberg.pvs.diego.collectionswitch.monitors.MetricsBuffer;
+import de.heidelberg.pvs.diego.collectionswitch.monitors.MonitoredIterator;
+
+/**
+ * Monitor of a navigable set, which also counts floor, ceiling, lower and
+ * higher elements as navigation, see {@link SortedMetrics}
+ */
+public class NavigableSetMonitor<E> extends SortedSetMonitor<E> implements NavigableSet<E> {
+
+	private final NavigableSet<E> set;
+
+	public NavigableSetMonitor(NavigableSet<E> set, SortedMetrics metrics) {
+		this(set, metrics.getBuffer(), metrics.getId());
+	}
+
+	public NavigableSetMonitor(NavigableSet<E> set, MetricsBuffer buffer, long id) {
+		super(set, buffer, id);
+		this.set = set;
+	}
+
+	/**
+	 * Monitor of a view, which shares the record of its set or map
+	 */
+	protected NavigableSetMonitor(NavigableSet<E> set, MetricsBuffer buffer, long id, boolean view) {
+		super(set, buffer, id, view);
+		this.set = set;
+	}
+
+	/**
+	 * NAVIGATION
+	 */
+
+	public E lower(E e) {
+		buffer.add(id, SortedMetrics.NAVIGATION_OP, 1);
+		return set.lower(e);
+	}
+
+	public E floor(E e) {
+		buffer.add(id, SortedMetrics.NAVIGATION_OP, 1);
+		return set.floor(e);
+	}
+
+	public E ceiling(E e) {
+		buffer.add(id, SortedMetrics.NAVIGATION_OP, 1);
+		return set.ceiling(e);
+	}
+
+	public E higher(E e) {
+		buffer.add(id, SortedMetrics.NAVIGATION_OP, 1);
+		return set.higher(e);
+	}
+
+	public E pollFirst() {
+		buffer.add(id, SortedMetrics.REMOVE_OP, 1);
+		return polled(set.pollFirst());
+	}
+
+	public E pollLast() {
+		buffer.add(id, SortedMetrics.REMOVE_OP, 1);
+		return polled(set.pollLast());
+	}
+
+	/**
+	 * RANGES
+	 */
+
+	public NavigableSet<E> subSet(E fromElement, boolean fromInclusive, E toElement, boolean toInclusive) {
+		buffer.add(id, SortedMetrics.RANGE_OP, 1);
+		return new NavigableSetMonitor<E>(set.subSet(fromElement, fromInclusive, toElement, toInclusive), buffer,
+				id, true);
+	}
+
+	public NavigableSet<E> headSet(E toElement, boolean inclusive) {
+		buffer.add(id, SortedMetrics.RANGE_OP, 1);
+		return new NavigableSetMonitor<E>(set.headSet(toElement, inclusive), buffer, id, true);
+	}
+
+	public NavigableSet<E> tailSet(E fromElement, boolean inclusive) {
+		buffer.add(id, SortedMetrics.RANGE_OP, 1);
+		return new NavigableSetMonitor<E>(set.tailSet(fromElement, inclusive), buffer, id, true);
+	}
+
+	/**
+	 * ORDERED ITERATION
+	 */
+
+	public NavigableSet<E> descendingSet() {
+		return new NavigableSetMonitor<E>(set.descendingSet(), buffer, id, true);
+	}
+
+	public Iterator<E> descendingIterator() {
+		buffer.add(id, SortedMetrics.ITERATION_OP, 1);
+		return new MonitoredIterator<E>(set.descendingIterator(), buffer, id, SortedMetrics.VISIT_OP);
+	}
+
+	private E polled(E e) {
+		if (e != null) {
+			buffer.updateSize(id, -1);
+		}
+		return e;
+	}
+
+}
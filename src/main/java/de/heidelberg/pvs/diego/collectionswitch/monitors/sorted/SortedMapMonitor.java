@@ -0,0 +1,206 @@
+package de.heidelberg.pvs.diego.collectionswitch.monitors.sorted;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+
+import de.heidelberg.pvs.diego.collectionswitch.monitors.MetricsBuffer;
+import de.heidelberg.pvs.diego.collectionswitch.monitors.MonitoredCollection;
+import de.heidelberg.pvs.diego.collectionswitch.monitors.MonitoredInstance;
+import de.heidelberg.pvs.diego.collectionswitch.monitors.MonitoredSet;
+
+/**
+ * Monitor of a sorted map recording its lookups, inserts, removals and
+ * navigation. Range views are monitored too, and record in the same slot.
+ *
+ * Puts and removals tell the new and removed keys by the previous value, as
+ * the size of some views and of the skip lists is linear. A {@code null}
+ * value therefore counts as absent.
+ */
+public class SortedMapMonitor<K, V> implements SortedMap<K, V>, MonitoredInstance {
+
+	private final SortedMap<K, V> map;
+	protected final MetricsBuffer buffer;
+	protected final long id;
+
+	public SortedMapMonitor(SortedMap<K, V> map, SortedMetrics metrics) {
+		this(map, metrics.getBuffer(), metrics.getId());
+	}
+
+	public SortedMapMonitor(SortedMap<K, V> map, MetricsBuffer buffer, long id) {
+		this(map, buffer, id, false);
+		buffer.updateSize(id, map.size()); // first record
+	}
+
+	/**
+	 * Monitor of a view, which shares the record of its map
+	 */
+	protected SortedMapMonitor(SortedMap<K, V> map, MetricsBuffer buffer, long id, boolean view) {
+		this.map = map;
+		this.buffer = buffer;
+		this.id = id;
+	}
+
+	/**
+	 * LOOKUPS
+	 */
+
+	public boolean containsKey(Object key) {
+		buffer.add(id, SortedMetrics.LOOKUP_OP, 1);
+		return map.containsKey(key);
+	}
+
+	public V get(Object key) {
+		buffer.add(id, SortedMetrics.LOOKUP_OP, 1);
+		return map.get(key);
+	}
+
+	public boolean containsValue(Object value) {
+		countTraversal();
+		return map.containsValue(value);
+	}
+
+	/**
+	 * WRITES
+	 */
+
+	public V put(K key, V value) {
+		V previous = map.put(key, value);
+		if (previous == null) {
+			buffer.add(id, SortedMetrics.INSERT_OP, 1);
+			buffer.updateSize(id, 1);
+		} else {
+			buffer.add(id, SortedMetrics.LOOKUP_OP, 1);
+		}
+		return previous;
+	}
+
+	public void putAll(Map<? extends K, ? extends V> m) {
+		for (Map.Entry<? extends K, ? extends V> entry : m.entrySet()) {
+			put(entry.getKey(), entry.getValue());
+		}
+	}
+
+	public V remove(Object key) {
+		buffer.add(id, SortedMetrics.REMOVE_OP, 1);
+		return removed(map.remove(key));
+	}
+
+	public void clear() {
+		buffer.updateSize(id, -map.size());
+		map.clear();
+	}
+
+	/**
+	 * NAVIGATION
+	 */
+
+	public K firstKey() {
+		buffer.add(id, SortedMetrics.NAVIGATION_OP, 1);
+		return map.firstKey();
+	}
+
+	public K lastKey() {
+		buffer.add(id, SortedMetrics.NAVIGATION_OP, 1);
+		return map.lastKey();
+	}
+
+	/**
+	 * RANGES
+	 */
+
+	public SortedMap<K, V> subMap(K fromKey, K toKey) {
+		buffer.add(id, SortedMetrics.RANGE_OP, 1);
+		return new SortedMapMonitor<K, V>(map.subMap(fromKey, toKey), buffer, id, true);
+	}
+
+	public SortedMap<K, V> headMap(K toKey) {
+		buffer.add(id, SortedMetrics.RANGE_OP, 1);
+		return new SortedMapMonitor<K, V>(map.headMap(toKey), buffer, id, true);
+	}
+
+	public SortedMap<K, V> tailMap(K fromKey) {
+		buffer.add(id, SortedMetrics.RANGE_OP, 1);
+		return new SortedMapMonitor<K, V>(map.tailMap(fromKey), buffer, id, true);
+	}
+
+	/**
+	 * ORDERED ITERATION
+	 */
+
+	// The views count their own lookups and traversals
+
+	public Set<K> keySet() {
+		return new MonitoredSet<K>(map.keySet(), buffer, id, SortedMetrics.LOOKUP_OP, SortedMetrics.ITERATION_OP,
+				SortedMetrics.VISIT_OP);
+	}
+
+	public Collection<V> values() {
+		return new MonitoredCollection<V>(map.values(), buffer, id, SortedMetrics.LOOKUP_OP,
+				SortedMetrics.ITERATION_OP, SortedMetrics.VISIT_OP);
+	}
+
+	public Set<Map.Entry<K, V>> entrySet() {
+		return new MonitoredSet<Map.Entry<K, V>>(map.entrySet(), buffer, id, SortedMetrics.LOOKUP_OP,
+				SortedMetrics.ITERATION_OP, SortedMetrics.VISIT_OP);
+	}
+
+	public void forEach(BiConsumer<? super K, ? super V> action) {
+		countTraversal();
+		map.forEach(action);
+	}
+
+	public void replaceAll(BiFunction<? super K, ? super V, ? extends V> function) {
+		countTraversal();
+		map.replaceAll(function);
+	}
+
+	/**
+	 * Updates the size after a removal, which returns {@code null} when
+	 * absent
+	 */
+	protected <T> T removed(T previous) {
+		if (previous != null) {
+			buffer.updateSize(id, -1);
+		}
+		return previous;
+	}
+
+	private void countTraversal() {
+		buffer.add(id, SortedMetrics.ITERATION_OP, 1);
+		buffer.add(id, SortedMetrics.VISIT_OP, map.size());
+	}
+
+	/**
+	 * NON-MONITORED OPERATIONS
+	 */
+
+	public Comparator<? super K> comparator() {
+		return map.comparator();
+	}
+
+	public int size() {
+		return map.size();
+	}
+
+	public boolean isEmpty() {
+		return map.isEmpty();
+	}
+
+	public boolean equals(Object o) {
+		return o == this || map.equals(o);
+	}
+
+	public int hashCode() {
+		return map.hashCode();
+	}
+
+	public String toString() {
+		return map.toString();
+	}
+
+}
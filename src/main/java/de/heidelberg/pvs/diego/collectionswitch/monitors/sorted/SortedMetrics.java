@@ -0,0 +1,127 @@
+package de.heidelberg.pvs.diego.collectionswitch.monitors.sorted;
+
+import de.heidelberg.pvs.diego.collectionswitch.monitors.MetricsBuffer;
+
+/**
+ * View over the record of one sorted map or set in a {@link MetricsBuffer}.
+ * The view can be moved to other records, so the optimizer aggregates a whole
+ * window through a single instance.
+ *
+ * Inserts and removals are counted apart from lookups, since they shift the
+ * arrays of the sorted array implementations.
+ */
+public class SortedMetrics {
+
+	/** Lookups of a given key, including the puts that overwrite one */
+	public static final int LOOKUP_OP = MetricsBuffer.FIRST_FIELD;
+	/** Puts and adds of new keys */
+	public static final int INSERT_OP = MetricsBuffer.FIRST_FIELD + 1;
+	/** Removals, including the polls of the first and last keys */
+	public static final int REMOVE_OP = MetricsBuffer.FIRST_FIELD + 2;
+	/** First, last, floor, ceiling, lower and higher keys */
+	public static final int NAVIGATION_OP = MetricsBuffer.FIRST_FIELD + 3;
+	/** Range views, such as sub, head and tail maps */
+	public static final int RANGE_OP = MetricsBuffer.FIRST_FIELD + 4;
+	public static final int ITERATION_OP = MetricsBuffer.FIRST_FIELD + 5;
+	/** Elements visited by all iterations, in order or through range views */
+	public static final int VISIT_OP = MetricsBuffer.FIRST_FIELD + 6;
+
+	public static final int SLOT_WIDTH = 16;
+
+	private final MetricsBuffer buffer;
+	private long id;
+
+	/**
+	 * Standalone record, backed by its own single slot buffer
+	 */
+	public SortedMetrics() {
+		this.buffer = new MetricsBuffer(SLOT_WIDTH, 1);
+		this.id = buffer.allocate();
+	}
+
+	public SortedMetrics(MetricsBuffer buffer, long id) {
+		this.buffer = buffer;
+		this.id = id;
+	}
+
+	public void moveTo(long id) {
+		this.id = id;
+	}
+
+	public MetricsBuffer getBuffer() {
+		return buffer;
+	}
+
+	public long getId() {
+		return id;
+	}
+
+	public int getLastSize() {
+		return (int) buffer.get(id, MetricsBuffer.SIZE);
+	}
+
+	public int getMaxSize() {
+		return (int) buffer.get(id, MetricsBuffer.MAX_SIZE);
+	}
+
+	public int getLookupOp() {
+		return (int) buffer.get(id, LOOKUP_OP);
+	}
+
+	public int getInsertOp() {
+		return (int) buffer.get(id, INSERT_OP);
+	}
+
+	public int getRemoveOp() {
+		return (int) buffer.get(id, REMOVE_OP);
+	}
+
+	public int getNavigationOp() {
+		return (int) buffer.get(id, NAVIGATION_OP);
+	}
+
+	public int getRangeOp() {
+		return (int) buffer.get(id, RANGE_OP);
+	}
+
+	public int getIterationOp() {
+		return (int) buffer.get(id, ITERATION_OP);
+	}
+
+	public long getVisitOp() {
+		return buffer.get(id, VISIT_OP);
+	}
+
+	public void updateSize(int delta) {
+		buffer.updateSize(id, delta);
+	}
+
+	public void updateLookupOp(int delta) {
+		buffer.add(id, LOOKUP_OP, delta);
+	}
+
+	public void updateInsertOp(int delta) {
+		buffer.add(id, INSERT_OP, delta);
+	}
+
+	public void updateRemoveOp(int delta) {
+		buffer.add(id, REMOVE_OP, delta);
+	}
+
+	public void updateNavigationOp(int delta) {
+		buffer.add(id, NAVIGATION_OP, delta);
+	}
+
+	public void updateRangeOp(int delta) {
+		buffer.add(id, RANGE_OP, delta);
+	}
+
+	public void updateIteratorOp(int delta) {
+		buffer.add(id, ITERATION_OP, delta);
+	}
+
+	public void updateVisitOp(long delta) {
+		buffer.add(id, VISIT_OP, delta);
+	}
+
+}
@@ -0,0 +1,98 @@
+package de.heidelberg.pvs.diego.collectionswitch.monitors.sorted;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.SortedSet;
+
+import de.heidelberg.pvs.diego.collectionswitch.monitors.MetricsBuffer;
+import de.heidelberg.pvs.diego.collectionswitch.monitors.MonitoredCollection;
+
+/**
+ * Monitor of a sorted set recording its lookups, inserts, removals and
+ * navigation. Range views are monitored too, and record in the same slot.
+ */
+public class SortedSetMonitor<E> extends MonitoredCollection<E> implements SortedSet<E> {
+
+	private final SortedSet<E> set;
+
+	public SortedSetMonitor(SortedSet<E> set, SortedMetrics metrics) {
+		this(set, metrics.getBuffer(), metrics.getId());
+	}
+
+	public SortedSetMonitor(SortedSet<E> set, MetricsBuffer buffer, long id) {
+		this(set, buffer, id, false);
+		buffer.updateSize(id, set.size()); // first record
+	}
+
+	/**
+	 * Monitor of a view, which shares the record of its set
+	 */
+	protected SortedSetMonitor(SortedSet<E> set, MetricsBuffer buffer, long id, boolean view) {
+		super(set, buffer, id, SortedMetrics.LOOKUP_OP, SortedMetrics.ITERATION_OP, SortedMetrics.VISIT_OP);
+		this.set = set;
+	}
+
+	/**
+	 * WRITES
+	 */
+
+	@Override
+	public boolean add(E e) {
+		boolean added = super.add(e);
+		buffer.add(id, added ? SortedMetrics.INSERT_OP : SortedMetrics.LOOKUP_OP, 1);
+		return added;
+	}
+
+	@Override
+	public boolean addAll(Collection<? extends E> c) {
+		boolean modified = false;
+		for (E e : c) {
+			modified |= add(e);
+		}
+		return modified;
+	}
+
+	@Override
+	public boolean remove(Object o) {
+		buffer.add(id, SortedMetrics.REMOVE_OP, 1);
+		return super.remove(o);
+	}
+
+	/**
+	 * NAVIGATION
+	 */
+
+	public E first() {
+		buffer.add(id, SortedMetrics.NAVIGATION_OP, 1);
+		return set.first();
+	}
+
+	public E last() {
+		buffer.add(id, SortedMetrics.NAVIGATION_OP, 1);
+		return set.last();
+	}
+
+	/**
+	 * RANGES
+	 */
+
+	public SortedSet<E> subSet(E fromElement, E toElement) {
+		buffer.add(id, SortedMetrics.RANGE_OP, 1);
+		return new SortedSetMonitor<E>(set.subSet(fromElement, toElement), buffer, id, true);
+	}
+
+	public SortedSet<E> headSet(E toElement) {
+		buffer.add(id, SortedMetrics.RANGE_OP, 1);
+		return new SortedSetMonitor<E>(set.headSet(toElement), buffer, id, true);
+	}
+
+	public SortedSet<E> tailSet(E fromElement) {
+		buffer.add(id, SortedMetrics.RANGE_OP, 1);
+		return new SortedSetMonitor<E>(set.tailSet(fromElement), buffer, id, true);
+	}
+
+	public Comparator<? super E> comparator() {
+		return set.comparator();
+	}
+
+}
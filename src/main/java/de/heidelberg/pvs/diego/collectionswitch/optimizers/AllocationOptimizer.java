@@ -1,7 +1,7 @@
-package de.heidelberg.pvs.diego.collectionswitch.optimizers;
-
-public interface AllocationOptimizer {
-	
-	void analyzeAndOptimize();
-
-}
+package de.heidelberg.pvs.diego.collectionswitch.optimizers;
+
+public interface AllocationOptimizer {
+	
+	void analyzeAndOptimize();
+
+}
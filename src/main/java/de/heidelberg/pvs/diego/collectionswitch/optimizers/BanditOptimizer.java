@@ -0,0 +1,124 @@
+package de.heidelberg.pvs.diego.collectionswitch.optimizers;
+
+import java.util.List;
+
+import de.heidelberg.pvs.diego.collectionswitch.manager.PerformanceGoal;
+import de.heidelberg.pvs.diego.collectionswitch.monitors.CompletionTracker;
+import de.heidelberg.pvs.diego.collectionswitch.monitors.CostMeter;
+import de.heidelberg.pvs.diego.collectionswitch.monitors.MetricsBuffer;
+import de.heidelberg.pvs.diego.collectionswitch.optimizers.BanditPolicy.Strategy;
+
+/**
+ * Optimizer that selects the implementation of a context from the real cost
+ * of its instances instead of the performance models. The context hands the
+ * measured instances to the arms the {@link BanditPolicy} selects, and the
+ * cost of the major dimension of each instance is recorded when it is
+ * garbage collected. The other instances take the arm with the lowest mean
+ * cost so far.
+ *
+ * The costs are never forgotten, so the selection converges for a steady
+ * workload but follows a changing one slowly.
+ */
+public abstract class BanditOptimizer<T> implements AllocationOptimizer {
+
+	protected final MetricsBuffer buffer;
+	protected final CompletionTracker tracker;
+	protected final CostMeter meter;
+
+	private final List<T> arms;
+	private final BanditPolicy policy;
+
+	private volatile T currentType;
+
+	/**
+	 * @param arms
+	 *            implementations the context may select, including the
+	 *            default one
+	 * @param capacity
+	 *            records of live measured instances kept before the oldest
+	 *            ones are overwritten and not recorded
+	 */
+	public BanditOptimizer(List<T> arms, T defaultType, PerformanceGoal goal, Strategy strategy, double epsilon,
+			int capacity) {
+		if (!arms.contains(defaultType)) {
+			throw new IllegalArgumentException("Default type is not an arm: " + defaultType);
+		}
+		this.arms = arms;
+		this.currentType = defaultType;
+		this.policy = new BanditPolicy(arms.size(), strategy, epsilon);
+		this.meter = new CostMeter(goal.majorDimension);
+		this.buffer = new MetricsBuffer(CostMeter.SLOT_WIDTH, capacity);
+		this.tracker = new CompletionTracker();
+	}
+
+	/**
+	 * Type of the next measured instance
+	 */
+	public T selectArm() {
+		return arms.get(policy.select());
+	}
+
+	/**
+	 * Starts measuring an instance before it is created, see
+	 * {@link #track(Object, Object, long)}
+	 */
+	public long start() {
+		return meter.start();
+	}
+
+	/**
+	 * Tracks a new instance of the arm and adds the cost of its creation since
+	 * {@code start} to its record
+	 *
+	 * @return the id of the record
+	 */
+	protected long track(Object instance, T arm, long start) {
+		long id = buffer.allocate();
+		buffer.add(id, CostMeter.ARM, arms.indexOf(arm));
+		meter.stop(buffer, id, start);
+		tracker.track(instance, id);
+		return id;
+	}
+
+	@Override
+	public void analyzeAndOptimize() {
+
+		boolean recorded = false;
+		long finished;
+		while ((finished = tracker.pollFinished()) != CompletionTracker.NONE) {
+			// Records overwritten by newer instances are skipped
+			if (buffer.isCurrent(finished)) {
+				policy.record((int) buffer.get(finished, CostMeter.ARM), buffer.get(finished, CostMeter.COST));
+				recorded = true;
+			}
+		}
+
+		if (recorded) {
+			policy.publish();
+			int best = policy.getBest();
+			if (best >= 0 && arms.get(best) != currentType) {
+				currentType = arms.get(best);
+				publish(currentType);
+			}
+		}
+
+	}
+
+	/**
+	 * Sets the type of the instances that are not measured
+	 */
+	protected abstract void publish(T type);
+
+	public T getCurrentType() {
+		return currentType;
+	}
+
+	public List<T> getArms() {
+		return arms;
+	}
+
+	public BanditPolicy getPolicy() {
+		return policy;
+	}
+
+}
@@ -0,0 +1,137 @@
+package de.heidelberg.pvs.diego.collectionswitch.optimizers;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.apache.commons.math3.stat.descriptive.SummaryStatistics;
+
+/**
+ * Multi-armed bandit over the implementations of a context, minimizing the
+ * measured cost per instance.
+ *
+ * The costs are recorded by the optimizer thread, which publishes a snapshot
+ * of the statistics of every arm. The threads creating instances select the
+ * arms from the last snapshot, so selections neither lock nor allocate. Arms
+ * without {@link #MIN_PULLS} costs are explored first, then either the best
+ * arm is pulled but for an epsilon share of random ones, or every arm draws a
+ * cost from a normal posterior of its mean and the lowest draw is pulled.
+ */
+public class BanditPolicy {
+
+	public enum Strategy {
+		EPSILON_GREEDY, THOMPSON_SAMPLING;
+	}
+
+	/** Costs an arm needs before it is compared with the others */
+	public static final int MIN_PULLS = 2;
+
+	private final Strategy strategy;
+	private final double epsilon;
+
+	// Only used by the optimizer thread
+	private final SummaryStatistics[] costs;
+
+	private volatile Snapshot snapshot;
+
+	public BanditPolicy(int arms, Strategy strategy, double epsilon) {
+		this.strategy = strategy;
+		this.epsilon = epsilon;
+		this.costs = new SummaryStatistics[arms];
+		for (int i = 0; i < arms; i++) {
+			costs[i] = new SummaryStatistics();
+		}
+		publish();
+	}
+
+	/**
+	 * Index of the arm the next measured instance pulls
+	 */
+	public int select() {
+		Snapshot snapshot = this.snapshot;
+		ThreadLocalRandom random = ThreadLocalRandom.current();
+
+		if (snapshot.pending.length > 0) {
+			return snapshot.pending[random.nextInt(snapshot.pending.length)];
+		}
+
+		if (strategy == Strategy.EPSILON_GREEDY) {
+			return random.nextDouble() < epsilon ? random.nextInt(costs.length) : snapshot.best;
+		}
+
+		int selected = 0;
+		double min = Double.MAX_VALUE;
+		for (int i = 0; i < costs.length; i++) {
+			double draw = snapshot.means[i] + snapshot.errors[i] * random.nextGaussian();
+			if (draw < min) {
+				selected = i;
+				min = draw;
+			}
+		}
+		return selected;
+	}
+
+	/**
+	 * Records the cost of an instance that pulled the arm, visible to
+	 * {@link #select()} after the next {@link #publish()}
+	 */
+	public void record(int arm, double cost) {
+		costs[arm].addValue(cost);
+	}
+
+	public void publish() {
+		int pending = 0;
+		for (SummaryStatistics cost : costs) {
+			if (cost.getN() < MIN_PULLS) {
+				pending++;
+			}
+		}
+
+		Snapshot snapshot = new Snapshot(costs.length, pending);
+		double min = Double.MAX_VALUE;
+		for (int i = 0, p = 0; i < costs.length; i++) {
+			SummaryStatistics cost = costs[i];
+			if (cost.getN() < MIN_PULLS) {
+				snapshot.pending[p++] = i;
+				continue;
+			}
+			snapshot.means[i] = cost.getMean();
+			snapshot.errors[i] = cost.getStandardDeviation() / Math.sqrt(cost.getN());
+			if (cost.getMean() < min) {
+				snapshot.best = i;
+				min = cost.getMean();
+			}
+		}
+		this.snapshot = snapshot;
+	}
+
+	/**
+	 * Index of the arm with the lowest mean cost among the ones compared, or
+	 * -1 if none is yet
+	 */
+	public int getBest() {
+		return snapshot.best;
+	}
+
+	public long getPulls(int arm) {
+		return costs[arm].getN();
+	}
+
+	public double getMeanCost(int arm) {
+		return costs[arm].getMean();
+	}
+
+	private static final class Snapshot {
+
+		final double[] means;
+		final double[] errors;
+		final int[] pending;
+		int best = -1;
+
+		Snapshot(int arms, int pending) {
+			this.means = new double[arms];
+			this.errors = new double[arms];
+			this.pending = new int[pending];
+		}
+
+	}
+
+}
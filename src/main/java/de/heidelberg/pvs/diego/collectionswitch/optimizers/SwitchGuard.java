@@ -0,0 +1,168 @@
+package de.heidelberg.pvs.diego.collectionswitch.optimizers;
+
+import java.util.Map;
+
+import org.apache.commons.math3.distribution.TDistribution;
+import org.apache.commons.math3.stat.descriptive.SummaryStatistics;
+import org.eclipse.collections.api.map.primitive.ObjectDoubleMap;
+import org.eclipse.collections.impl.map.mutable.UnifiedMap;
+
+import de.heidelberg.pvs.diego.collectionswitch.manager.PerformanceGoal;
+
+/**
+ * Guards the switches of an optimizer against noisy windows. The saving of
+ * each implementation over the current one is sampled for every instance of
+ * the window, and a switch needs the lower bound of the one-sided t-interval
+ * of the mean saving to exceed the hysteresis share of the current cost.
+ *
+ * After a switch, the next windows of the cooldown keep the new type whatever
+ * they predict, so that a context does not flip between types on every tick.
+ */
+public class SwitchGuard<T> {
+
+	private final double confidence;
+	private final double hysteresis;
+	private final int cooldown;
+
+	// Savings per instance of each implementation over the current one
+	private final Map<T, SummaryStatistics> savings = new UnifiedMap<T, SummaryStatistics>();
+	private final SummaryStatistics currentCost = new SummaryStatistics();
+
+	// Whether the current type no longer accepts the elements of an instance
+	private boolean rejected;
+
+	private int cooldownLeft;
+
+	/**
+	 * Guard with the settings of the goal, or the defaults without a goal, as
+	 * before the factory is bootstrapped
+	 */
+	public SwitchGuard(PerformanceGoal goal) {
+		this(goal == null ? PerformanceGoal.DEFAULT_CONFIDENCE : goal.confidence,
+				goal == null ? PerformanceGoal.DEFAULT_HYSTERESIS : goal.hysteresis,
+				goal == null ? PerformanceGoal.DEFAULT_COOLDOWN : goal.cooldown);
+	}
+
+	/**
+	 * @param confidence
+	 *            confidence level of the intervals, or 0 to switch on the
+	 *            predicted totals alone
+	 * @param hysteresis
+	 *            share of the cost of the current type an implementation must
+	 *            save at least
+	 * @param cooldown
+	 *            windows that keep the type selected by a switch
+	 */
+	public SwitchGuard(double confidence, double hysteresis, int cooldown) {
+		this.confidence = confidence;
+		this.hysteresis = hysteresis;
+		this.cooldown = cooldown;
+	}
+
+	/**
+	 * Whether the optimizer needs to sample the instances of the window
+	 */
+	public boolean isSampling() {
+		return confidence > 0 || hysteresis > 0;
+	}
+
+	/**
+	 * Samples the predicted performance of one instance for each
+	 * implementation
+	 */
+	public void sample(T current, ObjectDoubleMap<T> performance) {
+		if (!performance.containsKey(current)) {
+			rejected = true;
+			return;
+		}
+		double cost = performance.get(current);
+		currentCost.addValue(cost);
+		performance.forEachKeyValue((type, value) -> {
+			SummaryStatistics saving = savings.get(type);
+			if (saving == null) {
+				saving = new SummaryStatistics();
+				savings.put(type, saving);
+			}
+			saving.addValue(cost - value);
+		});
+	}
+
+	/**
+	 * Two-sided confidence interval of the mean saving per instance of the
+	 * given type, or {@code null} without two samples
+	 */
+	public double[] getInterval(T type) {
+		SummaryStatistics saving = savings.get(type);
+		if (saving == null || saving.getN() < 2) {
+			return null;
+		}
+		double margin = margin(saving, 0.5 + confidence / 2);
+		return new double[] { saving.getMean() - margin, saving.getMean() + margin };
+	}
+
+	/**
+	 * Whether the type saves significantly more than the hysteresis over the
+	 * current one in this window
+	 */
+	public boolean isSignificant(T type) {
+		double threshold = hysteresis * currentCost.getMean();
+		if (confidence <= 0) {
+			// Only the band of the hysteresis, on the mean
+			SummaryStatistics saving = savings.get(type);
+			return hysteresis <= 0 || (saving != null && saving.getMean() > threshold);
+		}
+		SummaryStatistics saving = savings.get(type);
+		if (saving == null || saving.getN() < 2) {
+			return false;
+		}
+		return saving.getMean() - margin(saving, confidence) > threshold;
+	}
+
+	/**
+	 * Selects the type of the next window and clears the samples. Returns to
+	 * the default type of the context are guarded like any other switch, so
+	 * that a context near the threshold does not oscillate between the default
+	 * and another type. Only switches away from a type that rejected some
+	 * elements are not guarded.
+	 *
+	 * @param current
+	 *            type of the instances of this window
+	 * @param champion
+	 *            best type for the predicted totals of this window
+	 */
+	public T decide(T current, T champion) {
+		T decision = current;
+		if (champion != current && rejected) {
+			decision = champion;
+		} else if (cooldownLeft > 0) {
+			cooldownLeft--;
+		} else if (champion != current && isSignificant(champion)) {
+			decision = champion;
+			cooldownLeft = cooldown;
+		}
+		reset();
+		return decision;
+	}
+
+	public void reset() {
+		savings.clear();
+		currentCost.clear();
+		rejected = false;
+	}
+
+	/**
+	 * Half width of the interval of the mean at the given quantile of the t
+	 * distribution
+	 */
+	private static double margin(SummaryStatistics saving, double quantile) {
+		double deviation = saving.getStandardDeviation();
+		if (deviation == 0) {
+			return 0;
+		}
+		// No random generator, the distribution is never sampled
+		TDistribution t = new TDistribution(null, saving.getN() - 1,
+				TDistribution.DEFAULT_INVERSE_ABSOLUTE_ACCURACY);
+		return t.inverseCumulativeProbability(quantile) * deviation / Math.sqrt(saving.getN());
+	}
+
+}
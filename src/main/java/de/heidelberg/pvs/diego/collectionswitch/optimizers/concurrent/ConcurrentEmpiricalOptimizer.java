@@ -0,0 +1,182 @@
+package de.heidelberg.pvs.diego.collectionswitch.optimizers.concurrent;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import org.eclipse.collections.api.block.predicate.primitive.ObjectDoublePredicate;
+import org.eclipse.collections.api.map.primitive.MutableObjectDoubleMap;
+
+import de.heidelberg.pvs.diego.collectionswitch.manager.PerformanceGoal;
+import de.heidelberg.pvs.diego.collectionswitch.monitors.concurrent.ConcurrentMetrics;
+import de.heidelberg.pvs.diego.collectionswitch.optimizers.AllocationOptimizer;
+
+/**
+ * Empirical optimizer of the contexts of concurrent collections.
+ *
+ * Shared instances such as caches usually live as long as the application, so
+ * the analysis does not wait for them to finish. It runs once the instances
+ * of the window performed the given number of operations, and predicts each
+ * implementation from their operation mix, size and contending threads.
+ *
+ * Short-lived instances may finish before that, so the operations are counted
+ * across windows: a window short of operations keeps its records and the next
+ * instances are monitored as well. Records without any operation since the
+ * last analysis are dropped, as their instances are unused or collected.
+ */
+public abstract class ConcurrentEmpiricalOptimizer<T> implements AllocationOptimizer {
+
+	private final ConcurrentEmpiricalPerformanceEvaluator<T> evaluator;
+	private final T defaultType;
+	private final PerformanceGoal goal;
+	private final long minOperations;
+
+	// Records of the instances monitored since the last analysis
+	private final Queue<ConcurrentMetrics> window = new ConcurrentLinkedQueue<ConcurrentMetrics>();
+
+	// Records without operations at the last analysis
+	private Set<ConcurrentMetrics> idle = new HashSet<ConcurrentMetrics>();
+
+	// Average contending threads of the last analysis
+	private volatile double contendingThreads = 1;
+
+	protected ConcurrentEmpiricalOptimizer(ConcurrentEmpiricalPerformanceEvaluator<T> evaluator, T defaultType,
+			PerformanceGoal goal, long minOperations) {
+		super();
+		this.evaluator = evaluator;
+		this.defaultType = defaultType;
+		this.goal = goal;
+		this.minOperations = minOperations;
+	}
+
+	/**
+	 * New record of an instance of the given size for the current window
+	 */
+	protected ConcurrentMetrics register(int size) {
+		ConcurrentMetrics metrics = new ConcurrentMetrics(size);
+		window.add(metrics);
+		return metrics;
+	}
+
+	/**
+	 * Whether the given implementation can replace the default one
+	 */
+	protected abstract boolean isCandidate(T type);
+
+	/**
+	 * Publishes the selected implementation to the context
+	 */
+	protected abstract void publish(T champion);
+
+	/**
+	 * Monitors the next instances of the context as well
+	 */
+	protected abstract void extendWindow();
+
+	@SuppressWarnings("serial")
+	@Override
+	public void analyzeAndOptimize() {
+
+		List<ConcurrentMetrics> instances = new ArrayList<ConcurrentMetrics>(window);
+		long operations = 0;
+		double threads = 0;
+		for (ConcurrentMetrics metrics : instances) {
+			operations += metrics.getOperations();
+			threads += metrics.getContendingThreads() * metrics.getOperations();
+		}
+
+		// Only analyze it when the window saw enough operations
+		if (instances.isEmpty() || operations < minOperations) {
+			dropIdle(instances);
+			extendWindow();
+			return;
+		}
+		idle.clear();
+
+		MutableObjectDoubleMap<T> majorCandidates = getCandidates(
+				evaluator.predictPerformance(instances, goal.majorDimension), goal.minImprovement);
+
+		MutableObjectDoubleMap<T> bestOptions;
+		if (goal.maxPenalty > 0) {
+			MutableObjectDoubleMap<T> minorCandidates = getCandidates(
+					evaluator.predictPerformance(instances, goal.minorDimension), goal.maxPenalty);
+			bestOptions = majorCandidates.select(new ObjectDoublePredicate<T>() {
+				@Override
+				public boolean accept(T key, double value) {
+					return minorCandidates.containsKey(key);
+				}
+			});
+		} else {
+			bestOptions = majorCandidates;
+		}
+
+		double min = Double.MAX_VALUE;
+		T champion = defaultType;
+		for (T type : bestOptions.keySet()) {
+			double perf = bestOptions.get(type);
+			if (perf < min) {
+				champion = type;
+				min = perf;
+			}
+		}
+
+		// The analyzed instances stop recording, the next window only holds
+		// instances created after the switch
+		for (ConcurrentMetrics metrics : instances) {
+			metrics.close();
+		}
+		window.removeAll(instances);
+		contendingThreads = threads / Math.max(1, operations);
+
+		publish(champion);
+
+	}
+
+	private void dropIdle(List<ConcurrentMetrics> instances) {
+		Set<ConcurrentMetrics> idleNow = new HashSet<ConcurrentMetrics>();
+		for (ConcurrentMetrics metrics : instances) {
+			if (metrics.getOperations() == 0) {
+				if (idle.contains(metrics)) {
+					metrics.close();
+					window.remove(metrics);
+				} else {
+					idleNow.add(metrics);
+				}
+			}
+		}
+		idle = idleNow;
+	}
+
+	private MutableObjectDoubleMap<T> getCandidates(MutableObjectDoubleMap<T> performance, double factor) {
+
+		// Gets the default performance
+		double defaultPerformance = performance.get(defaultType);
+
+		// Selects only the implementations with better performance
+		@SuppressWarnings("serial")
+		MutableObjectDoubleMap<T> candidates = performance.select(new ObjectDoublePredicate<T>() {
+			@Override
+			public boolean accept(T type, double value) {
+				return isCandidate(type) && defaultPerformance / value > factor;
+			}
+		});
+
+		return candidates;
+	}
+
+	/**
+	 * Average threads operating on the instances of the last analyzed window
+	 * at the same time, weighted by their operations
+	 */
+	public double getContendingThreads() {
+		return contendingThreads;
+	}
+
+	public T getDefaultType() {
+		return defaultType;
+	}
+
+}
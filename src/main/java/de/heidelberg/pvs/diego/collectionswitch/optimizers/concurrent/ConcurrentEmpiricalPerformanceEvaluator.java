@@ -0,0 +1,47 @@
+package de.heidelberg.pvs.diego.collectionswitch.optimizers.concurrent;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.collections.api.map.primitive.MutableObjectDoubleMap;
+import org.eclipse.collections.impl.map.mutable.UnifiedMap;
+import org.eclipse.collections.impl.map.mutable.primitive.ObjectDoubleHashMap;
+
+import de.heidelberg.pvs.diego.collectionswitch.manager.PerformanceGoal.PerformanceDimension;
+import de.heidelberg.pvs.diego.collectionswitch.monitors.concurrent.ConcurrentMetrics;
+
+public class ConcurrentEmpiricalPerformanceEvaluator<T> {
+
+	private Map<PerformanceDimension, List<ConcurrentPerformanceModel<T>>> empiricalModel = new UnifiedMap<PerformanceDimension, List<ConcurrentPerformanceModel<T>>>();
+
+	public void addEmpiricalModel(PerformanceDimension dimension, List<ConcurrentPerformanceModel<T>> performanceModel) {
+		empiricalModel.put(dimension, performanceModel);
+	}
+
+	public Set<PerformanceDimension> getDimensions() {
+		return empiricalModel.keySet();
+	}
+
+	/**
+	 * Predicted performance of the given instances for each implementation
+	 */
+	public MutableObjectDoubleMap<T> predictPerformance(Iterable<ConcurrentMetrics> instances,
+			PerformanceDimension dimension) {
+
+		List<ConcurrentPerformanceModel<T>> models = empiricalModel.getOrDefault(dimension,
+				Collections.<ConcurrentPerformanceModel<T>>emptyList());
+		MutableObjectDoubleMap<T> performanceResult = new ObjectDoubleHashMap<T>(models.size());
+
+		for (ConcurrentMetrics metrics : instances) {
+			for (ConcurrentPerformanceModel<T> model : models) {
+				performanceResult.addToValue(model.getType(), model.calculatePerformance(metrics));
+			}
+		}
+
+		return performanceResult;
+
+	}
+
+}
@@ -0,0 +1,14 @@
+package de.heidelberg.pvs.diego.collectionswitch.optimizers.concurrent;
+
+import java.util.concurrent.ConcurrentMap;
+
+import de.heidelberg.pvs.diego.collectionswitch.context.ConcurrentMapAllocationContext;
+import de.heidelberg.pvs.diego.collectionswitch.optimizers.AllocationOptimizer;
+
+public interface ConcurrentMapAllocationOptimizer extends AllocationOptimizer {
+
+	public <K, V> ConcurrentMap<K, V> createMonitor(ConcurrentMap<K, V> map);
+
+	public void setContext(ConcurrentMapAllocationContext context);
+
+}
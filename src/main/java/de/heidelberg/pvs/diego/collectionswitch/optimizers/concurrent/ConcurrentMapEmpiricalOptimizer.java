@@ -0,0 +1,50 @@
+package de.heidelberg.pvs.diego.collectionswitch.optimizers.concurrent;
+
+import java.util.concurrent.ConcurrentMap;
+
+import de.heidelberg.pvs.diego.collectionswitch.context.ConcurrentMapAllocationContext;
+import de.heidelberg.pvs.diego.collectionswitch.context.ConcurrentMapCollectionType;
+import de.heidelberg.pvs.diego.collectionswitch.manager.PerformanceGoal;
+import de.heidelberg.pvs.diego.collectionswitch.monitors.concurrent.ConcurrentMapMonitor;
+
+/**
+ * Sorted maps need comparable keys, so they are only candidates of contexts
+ * that start with one.
+ */
+public class ConcurrentMapEmpiricalOptimizer extends ConcurrentEmpiricalOptimizer<ConcurrentMapCollectionType>
+		implements ConcurrentMapAllocationOptimizer {
+
+	private ConcurrentMapAllocationContext context;
+
+	public ConcurrentMapEmpiricalOptimizer(
+			ConcurrentEmpiricalPerformanceEvaluator<ConcurrentMapCollectionType> evaluator,
+			ConcurrentMapCollectionType defaultType, PerformanceGoal goal, long minOperations) {
+		super(evaluator, defaultType, goal, minOperations);
+	}
+
+	@Override
+	public <K, V> ConcurrentMap<K, V> createMonitor(ConcurrentMap<K, V> map) {
+		return new ConcurrentMapMonitor<K, V>(map, register(map.size()));
+	}
+
+	@Override
+	protected boolean isCandidate(ConcurrentMapCollectionType type) {
+		return !type.isSorted() || getDefaultType().isSorted();
+	}
+
+	@Override
+	protected void publish(ConcurrentMapCollectionType champion) {
+		context.updateCollectionType(champion);
+	}
+
+	@Override
+	protected void extendWindow() {
+		context.openWindow();
+	}
+
+	@Override
+	public void setContext(ConcurrentMapAllocationContext context) {
+		this.context = context;
+	}
+
+}
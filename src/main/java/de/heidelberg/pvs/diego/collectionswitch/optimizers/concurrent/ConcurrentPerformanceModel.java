@@ -0,0 +1,67 @@
+package de.heidelberg.pvs.diego.collectionswitch.optimizers.concurrent;
+
+import org.apache.commons.math3.analysis.UnivariateFunction;
+import org.apache.commons.math3.analysis.polynomials.PolynomialFunction;
+
+import de.heidelberg.pvs.diego.collectionswitch.monitors.concurrent.ConcurrentMetrics;
+
+/**
+ * Performance model of a concurrent implementation. The cost of reads and
+ * writes is a polynomial of the size scaled by a polynomial of the contending
+ * threads, so that implementations that block or retry under contention lose
+ * against the ones that scale.
+ */
+public class ConcurrentPerformanceModel<T> {
+
+	private final T type;
+
+	// Cost of the instance apart from its operations, such as its footprint
+	private final UnivariateFunction base;
+	private final UnivariateFunction read;
+	private final UnivariateFunction write;
+	private final UnivariateFunction iterate;
+
+	private final UnivariateFunction readScaling;
+	private final UnivariateFunction writeScaling;
+
+	/**
+	 * Model without contention costs
+	 */
+	public ConcurrentPerformanceModel(T type, double[] base, double[] read, double[] write, double[] iterate) {
+		this(type, base, read, write, iterate, new double[] { 1 }, new double[] { 1 });
+	}
+
+	public ConcurrentPerformanceModel(T type, double[] base, double[] read, double[] write, double[] iterate,
+			double[] readScaling, double[] writeScaling) {
+		super();
+		this.type = type;
+		this.base = new PolynomialFunction(base);
+		this.read = new PolynomialFunction(read);
+		this.write = new PolynomialFunction(write);
+		this.iterate = new PolynomialFunction(iterate);
+		this.readScaling = new PolynomialFunction(readScaling);
+		this.writeScaling = new PolynomialFunction(writeScaling);
+	}
+
+	public double calculatePerformance(ConcurrentMetrics metrics) {
+		int size = metrics.getSize();
+		return calculatePerformance(size, metrics.getContendingThreads(), metrics.getReads(), metrics.getWrites(),
+				metrics.getVisits() * iterate.value(size) / Math.max(1, size));
+	}
+
+	/**
+	 * Cost of an instance of the given size with the given operation counts,
+	 * given the average number of threads operating on it at the same time
+	 */
+	public double calculatePerformance(int size, double threads, double reads, double writes, double iterationCost) {
+		return base.value(size)
+				+ reads * read.value(size) * readScaling.value(threads)
+				+ writes * write.value(size) * writeScaling.value(threads)
+				+ iterationCost;
+	}
+
+	public T getType() {
+		return type;
+	}
+
+}
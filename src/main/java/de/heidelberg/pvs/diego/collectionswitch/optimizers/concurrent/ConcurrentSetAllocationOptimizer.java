@@ -0,0 +1,14 @@
+package de.heidelberg.pvs.diego.collectionswitch.optimizers.concurrent;
+
+import java.util.Set;
+
+import de.heidelberg.pvs.diego.collectionswitch.context.ConcurrentSetAllocationContext;
+import de.heidelberg.pvs.diego.collectionswitch.optimizers.AllocationOptimizer;
+
+public interface ConcurrentSetAllocationOptimizer extends AllocationOptimizer {
+
+	public <E> Set<E> createMonitor(Set<E> set);
+
+	public void setContext(ConcurrentSetAllocationContext context);
+
+}
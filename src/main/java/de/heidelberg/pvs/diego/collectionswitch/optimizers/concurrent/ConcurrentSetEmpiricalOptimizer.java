@@ -0,0 +1,50 @@
+package de.heidelberg.pvs.diego.collectionswitch.optimizers.concurrent;
+
+import java.util.Set;
+
+import de.heidelberg.pvs.diego.collectionswitch.context.ConcurrentSetAllocationContext;
+import de.heidelberg.pvs.diego.collectionswitch.context.ConcurrentSetCollectionType;
+import de.heidelberg.pvs.diego.collectionswitch.manager.PerformanceGoal;
+import de.heidelberg.pvs.diego.collectionswitch.monitors.concurrent.ConcurrentSetMonitor;
+
+/**
+ * Sorted sets need comparable elements, so they are only candidates of
+ * contexts that start with one.
+ */
+public class ConcurrentSetEmpiricalOptimizer extends ConcurrentEmpiricalOptimizer<ConcurrentSetCollectionType>
+		implements ConcurrentSetAllocationOptimizer {
+
+	private ConcurrentSetAllocationContext context;
+
+	public ConcurrentSetEmpiricalOptimizer(
+			ConcurrentEmpiricalPerformanceEvaluator<ConcurrentSetCollectionType> evaluator,
+			ConcurrentSetCollectionType defaultType, PerformanceGoal goal, long minOperations) {
+		super(evaluator, defaultType, goal, minOperations);
+	}
+
+	@Override
+	public <E> Set<E> createMonitor(Set<E> set) {
+		return new ConcurrentSetMonitor<E>(set, register(set.size()));
+	}
+
+	@Override
+	protected boolean isCandidate(ConcurrentSetCollectionType type) {
+		return !type.isSorted() || getDefaultType().isSorted();
+	}
+
+	@Override
+	protected void publish(ConcurrentSetCollectionType champion) {
+		context.updateCollectionType(champion);
+	}
+
+	@Override
+	protected void extendWindow() {
+		context.openWindow();
+	}
+
+	@Override
+	public void setContext(ConcurrentSetAllocationContext context) {
+		this.context = context;
+	}
+
+}
@@ -0,0 +1,15 @@
+package de.heidelberg.pvs.diego.collectionswitch.optimizers.counting;
+
+import org.apache.commons.collections4.Bag;
+
+import de.heidelberg.pvs.diego.collectionswitch.context.AllocationContextUpdatable;
+import de.heidelberg.pvs.diego.collectionswitch.context.BagCollectionType;
+import de.heidelberg.pvs.diego.collectionswitch.optimizers.AllocationOptimizer;
+
+public interface BagAllocationOptimizer extends AllocationOptimizer {
+
+	public <E> Bag<E> createMonitor(Bag<E> bag);
+
+	public void setContext(AllocationContextUpdatable<BagCollectionType> context);
+
+}
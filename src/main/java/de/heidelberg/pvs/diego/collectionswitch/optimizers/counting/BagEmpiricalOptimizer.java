@@ -0,0 +1,40 @@
+package de.heidelberg.pvs.diego.collectionswitch.optimizers.counting;
+
+import org.apache.commons.collections4.Bag;
+
+import de.heidelberg.pvs.diego.collectionswitch.context.AllocationContextUpdatable;
+import de.heidelberg.pvs.diego.collectionswitch.context.BagCollectionType;
+import de.heidelberg.pvs.diego.collectionswitch.manager.PerformanceGoal;
+import de.heidelberg.pvs.diego.collectionswitch.monitors.counting.BagMonitor;
+
+public class BagEmpiricalOptimizer extends CountingEmpiricalOptimizer<BagCollectionType>
+		implements BagAllocationOptimizer {
+
+	private AllocationContextUpdatable<BagCollectionType> context;
+
+	public BagEmpiricalOptimizer(CountingEmpiricalPerformanceEvaluator<BagCollectionType> evaluator,
+			BagCollectionType defaultType, PerformanceGoal goal, int windowSize, double finishedRatio) {
+		super(evaluator, defaultType, goal, windowSize, finishedRatio);
+	}
+
+	@Override
+	public <E> Bag<E> createMonitor(Bag<E> bag) {
+		return new BagMonitor<E>(bag, getBuffer(), register(bag));
+	}
+
+	@Override
+	protected boolean isSameKind(BagCollectionType type, BagCollectionType defaultType) {
+		return type.isOrdered() == defaultType.isOrdered();
+	}
+
+	@Override
+	protected void publish(BagCollectionType champion) {
+		context.updateCollectionType(champion);
+	}
+
+	@Override
+	public void setContext(AllocationContextUpdatable<BagCollectionType> context) {
+		this.context = context;
+	}
+
+}
@@ -0,0 +1,159 @@
+package de.heidelberg.pvs.diego.collectionswitch.optimizers.counting;
+
+import org.eclipse.collections.api.block.predicate.primitive.ObjectDoublePredicate;
+import org.eclipse.collections.api.map.primitive.MutableObjectDoubleMap;
+import org.eclipse.collections.impl.list.mutable.primitive.LongArrayList;
+
+import de.heidelberg.pvs.diego.collectionswitch.manager.PerformanceGoal;
+import de.heidelberg.pvs.diego.collectionswitch.monitors.CompletionTracker;
+import de.heidelberg.pvs.diego.collectionswitch.monitors.MetricsBuffer;
+import de.heidelberg.pvs.diego.collectionswitch.monitors.counting.CountingMetrics;
+import de.heidelberg.pvs.diego.collectionswitch.optimizers.AllocationOptimizer;
+
+/**
+ * Empirical optimizer of the contexts of bags and multimaps, which analyzes
+ * the finished instances of the window like the optimizers of lists.
+ *
+ * Only the implementations of the same kind as the default type are
+ * candidates, such as the ordered bags or the set valued multimaps.
+ */
+public abstract class CountingEmpiricalOptimizer<T> implements AllocationOptimizer {
+
+	private MetricsBuffer buffer;
+
+	private CompletionTracker tracker;
+
+	private CountingIncrementalPerformanceEvaluator<T> incrementalEvaluator;
+
+	private CountingMetrics finishedState;
+
+	private T defaultType;
+
+	private int finishedRatio;
+
+	private PerformanceGoal goal;
+
+	protected CountingEmpiricalOptimizer(CountingEmpiricalPerformanceEvaluator<T> evaluator, T defaultType,
+			PerformanceGoal goal, int windowSize, double finishedRatio) {
+		this.buffer = new MetricsBuffer(CountingMetrics.SLOT_WIDTH, 2 * windowSize);
+		this.tracker = new CompletionTracker();
+		this.finishedState = new CountingMetrics(buffer, 0);
+		this.incrementalEvaluator = new CountingIncrementalPerformanceEvaluator<T>(evaluator);
+		this.defaultType = defaultType;
+		this.goal = goal;
+
+		if (finishedRatio == 0.0) {
+			this.finishedRatio = 0;
+		} else if (finishedRatio > 1) {
+			this.finishedRatio = windowSize;
+		} else {
+			this.finishedRatio = (int) (windowSize / finishedRatio);
+		}
+
+	}
+
+	/**
+	 * Allocates the record of a new instance and tracks its completion
+	 */
+	protected long register(Object collection) {
+		long id = buffer.allocate();
+		tracker.track(collection, id);
+		return id;
+	}
+
+	protected MetricsBuffer getBuffer() {
+		return buffer;
+	}
+
+	/**
+	 * Whether the type keeps the semantics of the default type
+	 */
+	protected abstract boolean isSameKind(T type, T defaultType);
+
+	/**
+	 * Publishes the selected implementation to the context
+	 */
+	protected abstract void publish(T champion);
+
+	@SuppressWarnings("serial")
+	@Override
+	public void analyzeAndOptimize() {
+
+		// Only the collections finished since the last analysis are polled
+		// and folded into the running totals
+		long finished;
+		while ((finished = tracker.pollFinished()) != CompletionTracker.NONE) {
+			if (buffer.isCurrent(finished)) {
+				finishedState.moveTo(finished);
+				incrementalEvaluator.fold(finishedState);
+			}
+		}
+
+		if (incrementalEvaluator.getFoldedCount() >= finishedRatio) {
+
+			LongArrayList collectionsState = new LongArrayList(tracker.activeCount());
+			tracker.collectActive(collectionsState);
+
+			MutableObjectDoubleMap<T> majorCandidates = getCandidates(
+					incrementalEvaluator.predictPerformance(buffer, collectionsState, goal.majorDimension),
+					goal.minImprovement);
+
+			MutableObjectDoubleMap<T> bestOptions;
+			if (goal.maxPenalty > 0) {
+				MutableObjectDoubleMap<T> minorCandidates = getCandidates(
+						incrementalEvaluator.predictPerformance(buffer, collectionsState, goal.minorDimension),
+						goal.maxPenalty);
+				bestOptions = majorCandidates.select(new ObjectDoublePredicate<T>() {
+					@Override
+					public boolean accept(T key, double value) {
+						return minorCandidates.containsKey(key);
+					}
+				});
+			} else {
+				bestOptions = majorCandidates;
+			}
+
+			double min = Double.MAX_VALUE;
+			T champion = defaultType;
+			for (T type : bestOptions.keySet()) {
+				double perf = bestOptions.get(type);
+				if (perf < min) {
+					champion = type;
+					min = perf;
+				}
+			}
+
+			// Reset before publishing the new type, so that the next window
+			// only holds instances created after the switch
+			incrementalEvaluator.reset();
+			tracker.clear();
+			buffer.reset();
+
+			publish(champion);
+		}
+
+	}
+
+	private MutableObjectDoubleMap<T> getCandidates(MutableObjectDoubleMap<T> performance, double factor) {
+
+		// Gets the default performance
+		double defaultPerformance = performance.get(defaultType);
+
+		// Selects only the implementations that can replace the default one
+		// with better performance
+		@SuppressWarnings("serial")
+		MutableObjectDoubleMap<T> candidates = performance.select(new ObjectDoublePredicate<T>() {
+			@Override
+			public boolean accept(T type, double value) {
+				return isSameKind(type, defaultType) && defaultPerformance / value > factor;
+			}
+		});
+
+		return candidates;
+	}
+
+	public T getDefaultType() {
+		return defaultType;
+	}
+
+}
@@ -0,0 +1,89 @@
+package de.heidelberg.pvs.diego.collectionswitch.optimizers.counting;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.collections.api.LongIterable;
+import org.eclipse.collections.api.iterator.LongIterator;
+import org.eclipse.collections.api.map.primitive.MutableObjectDoubleMap;
+import org.eclipse.collections.impl.map.mutable.UnifiedMap;
+import org.eclipse.collections.impl.map.mutable.primitive.ObjectDoubleHashMap;
+
+import de.heidelberg.pvs.diego.collectionswitch.manager.PerformanceGoal.PerformanceDimension;
+import de.heidelberg.pvs.diego.collectionswitch.monitors.MetricsBuffer;
+import de.heidelberg.pvs.diego.collectionswitch.monitors.counting.CountingMetrics;
+
+public class CountingEmpiricalPerformanceEvaluator<T> {
+
+	private Map<PerformanceDimension, List<CountingPerformanceModel<T>>> countingEmpiricalModel = new UnifiedMap<PerformanceDimension, List<CountingPerformanceModel<T>>>();
+
+	public CountingEmpiricalPerformanceEvaluator() {
+		super();
+	}
+
+	public CountingEmpiricalPerformanceEvaluator(PerformanceDimension dimension,
+			List<CountingPerformanceModel<T>> performanceModel) {
+		countingEmpiricalModel.put(dimension, performanceModel);
+	}
+
+	public void addEmpiricalModel(PerformanceDimension dimension, List<CountingPerformanceModel<T>> performanceModel) {
+		countingEmpiricalModel.put(dimension, performanceModel);
+	}
+
+	public Set<PerformanceDimension> getDimensions() {
+		return countingEmpiricalModel.keySet();
+	}
+
+	public MutableObjectDoubleMap<T> predictPerformance(MetricsBuffer buffer, LongIterable collectionsState,
+			PerformanceDimension dimension) {
+
+		MutableObjectDoubleMap<T> performanceResult = new ObjectDoubleHashMap<T>(countingEmpiricalModel.size());
+
+		return predictPerformance(buffer, collectionsState, dimension, performanceResult);
+
+	}
+
+	/**
+	 * Adds the prediction of the given records to an existing result
+	 */
+	public MutableObjectDoubleMap<T> predictPerformance(MetricsBuffer buffer, LongIterable collectionsState,
+			PerformanceDimension dimension, MutableObjectDoubleMap<T> performanceResult) {
+
+		// Single view moved over the packed records
+		CountingMetrics state = new CountingMetrics(buffer, 0);
+
+		LongIterator ids = collectionsState.longIterator();
+		while (ids.hasNext()) {
+
+			long id = ids.next();
+			if (!buffer.isCurrent(id)) {
+				continue;
+			}
+			state.moveTo(id);
+
+			accumulatePerformance(state, dimension, performanceResult);
+		}
+
+		return performanceResult;
+
+	}
+
+	/**
+	 * Adds the predicted performance of a single collection for each
+	 * implementation
+	 */
+	public void accumulatePerformance(CountingMetrics state, PerformanceDimension dimension,
+			MutableObjectDoubleMap<T> performanceResult) {
+
+		List<CountingPerformanceModel<T>> models = countingEmpiricalModel.getOrDefault(dimension,
+				Collections.<CountingPerformanceModel<T>>emptyList());
+
+		for (CountingPerformanceModel<T> model : models) {
+			performanceResult.addToValue(model.getType(), model.calculatePerformance(state));
+		}
+
+	}
+
+}
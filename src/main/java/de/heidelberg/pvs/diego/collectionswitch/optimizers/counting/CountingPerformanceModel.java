@@ -0,0 +1,63 @@
+package de.heidelberg.pvs.diego.collectionswitch.optimizers.counting;
+
+import org.apache.commons.math3.analysis.UnivariateFunction;
+import org.apache.commons.math3.analysis.polynomials.PolynomialFunction;
+
+import de.heidelberg.pvs.diego.collectionswitch.monitors.counting.CountingMetrics;
+
+/**
+ * Performance model of a bag or multimap implementation
+ */
+public class CountingPerformanceModel<T> {
+
+	private final T type;
+
+	// Cost of creating an instance that grows to a given number of distinct
+	// elements or keys, without the cost of its adds
+	private final UnivariateFunction create;
+
+	// Cost of a single operation for a given number of distinct elements
+	private final UnivariateFunction add;
+	private final UnivariateFunction copy;
+	private final UnivariateFunction count;
+	private final UnivariateFunction remove;
+
+	private final UnivariateFunction iterate;
+
+	public CountingPerformanceModel(T type, double[] create, double[] add, double[] copy, double[] count,
+			double[] remove, double[] iterate) {
+		super();
+		this.type = type;
+		this.create = new PolynomialFunction(create);
+		this.add = new PolynomialFunction(add);
+		this.copy = new PolynomialFunction(copy);
+		this.count = new PolynomialFunction(count);
+		this.remove = new PolynomialFunction(remove);
+		this.iterate = new PolynomialFunction(iterate);
+	}
+
+	public double calculatePerformance(CountingMetrics state) {
+		int size = state.getMaxSize();
+		// Adds are charged once for finding their element and once for each
+		// occurrence or value they store
+		return create.value(size)
+				+ state.getAddOp() * add.value(size)
+				+ state.getCopyOp() * copy.value(size)
+				+ state.getCountOp() * count.value(size)
+				+ state.getRemoveOp() * remove.value(size)
+				+ state.getVisitOp() * calculateVisit(size);
+	}
+
+	/**
+	 * Cost of visiting one element while iterating an instance of the given
+	 * size, the share of a full iteration
+	 */
+	public double calculateVisit(int size) {
+		return iterate.value(size) / Math.max(1, size);
+	}
+
+	public T getType() {
+		return type;
+	}
+
+}
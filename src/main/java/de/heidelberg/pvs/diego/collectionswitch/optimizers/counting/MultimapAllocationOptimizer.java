@@ -0,0 +1,15 @@
+package de.heidelberg.pvs.diego.collectionswitch.optimizers.counting;
+
+import org.apache.commons.collections4.MultiValuedMap;
+
+import de.heidelberg.pvs.diego.collectionswitch.context.AllocationContextUpdatable;
+import de.heidelberg.pvs.diego.collectionswitch.context.MultimapCollectionType;
+import de.heidelberg.pvs.diego.collectionswitch.optimizers.AllocationOptimizer;
+
+public interface MultimapAllocationOptimizer extends AllocationOptimizer {
+
+	public <K, V> MultiValuedMap<K, V> createMonitor(MultiValuedMap<K, V> map);
+
+	public void setContext(AllocationContextUpdatable<MultimapCollectionType> context);
+
+}
@@ -0,0 +1,40 @@
+package de.heidelberg.pvs.diego.collectionswitch.optimizers.counting;
+
+import org.apache.commons.collections4.MultiValuedMap;
+
+import de.heidelberg.pvs.diego.collectionswitch.context.AllocationContextUpdatable;
+import de.heidelberg.pvs.diego.collectionswitch.context.MultimapCollectionType;
+import de.heidelberg.pvs.diego.collectionswitch.manager.PerformanceGoal;
+import de.heidelberg.pvs.diego.collectionswitch.monitors.counting.MultimapMonitor;
+
+public class MultimapEmpiricalOptimizer extends CountingEmpiricalOptimizer<MultimapCollectionType>
+		implements MultimapAllocationOptimizer {
+
+	private AllocationContextUpdatable<MultimapCollectionType> context;
+
+	public MultimapEmpiricalOptimizer(CountingEmpiricalPerformanceEvaluator<MultimapCollectionType> evaluator,
+			MultimapCollectionType defaultType, PerformanceGoal goal, int windowSize, double finishedRatio) {
+		super(evaluator, defaultType, goal, windowSize, finishedRatio);
+	}
+
+	@Override
+	public <K, V> MultiValuedMap<K, V> createMonitor(MultiValuedMap<K, V> map) {
+		return new MultimapMonitor<K, V>(map, getBuffer(), register(map));
+	}
+
+	@Override
+	protected boolean isSameKind(MultimapCollectionType type, MultimapCollectionType defaultType) {
+		return type.isSetValued() == defaultType.isSetValued();
+	}
+
+	@Override
+	protected void publish(MultimapCollectionType champion) {
+		context.updateCollectionType(champion);
+	}
+
+	@Override
+	public void setContext(AllocationContextUpdatable<MultimapCollectionType> context) {
+		this.context = context;
+	}
+
+}
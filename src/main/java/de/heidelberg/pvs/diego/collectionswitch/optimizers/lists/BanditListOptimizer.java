@@ -0,0 +1,77 @@
+package de.heidelberg.pvs.diego.collectionswitch.optimizers.lists;
+
+import java.util.List;
+
+import org.eclipse.collections.impl.list.mutable.FastList;
+
+import de.heidelberg.pvs.diego.collectionswitch.adaptive.AdaptiveList;
+import de.heidelberg.pvs.diego.collectionswitch.adaptive.TurningPoint;
+import de.heidelberg.pvs.diego.collectionswitch.context.ListAllocationContext;
+import de.heidelberg.pvs.diego.collectionswitch.context.ListCollectionType;
+import de.heidelberg.pvs.diego.collectionswitch.manager.PerformanceGoal;
+import de.heidelberg.pvs.diego.collectionswitch.monitors.lists.TimedList;
+import de.heidelberg.pvs.diego.collectionswitch.optimizers.BanditOptimizer;
+import de.heidelberg.pvs.diego.collectionswitch.optimizers.BanditPolicy.Strategy;
+
+/**
+ * List optimizer over the measured cost of the instances, see
+ * {@link BanditOptimizer}. The arms are the types that accept the elements of
+ * the context.
+ */
+public class BanditListOptimizer extends BanditOptimizer<ListCollectionType> implements ListAllocationOptimizer {
+
+	private ListAllocationContext context;
+	private final TurningPoint turningPoint = new TurningPoint(AdaptiveList.DEFAULT_TURNING_POINT);
+
+	public BanditListOptimizer(ListCollectionType defaultType, Class<?> elementType, PerformanceGoal goal,
+			Strategy strategy, double epsilon, int capacity) {
+		super(arms(defaultType, elementType), defaultType, goal, strategy, epsilon, capacity);
+	}
+
+	/**
+	 * Measures a new list of the arm, created since {@code start}
+	 */
+	public <E> List<E> measure(List<E> list, ListCollectionType arm, long start) {
+		long id = track(list, arm, start);
+		return new TimedList<E>(list, buffer, id, meter);
+	}
+
+	@Override
+	public <E> List<E> createMonitor(List<E> list) {
+		return measure(list, getCurrentType(), start());
+	}
+
+	/**
+	 * Costs are measured on every operation, so the period is ignored
+	 */
+	@Override
+	public <E> List<E> createLightMonitor(List<E> list, int period) {
+		return createMonitor(list);
+	}
+
+	@Override
+	public void setContext(ListAllocationContext context) {
+		this.context = context;
+	}
+
+	@Override
+	public TurningPoint getTurningPoint() {
+		return turningPoint;
+	}
+
+	@Override
+	protected void publish(ListCollectionType type) {
+		context.updateCollectionType(type);
+	}
+
+	private static List<ListCollectionType> arms(ListCollectionType defaultType, Class<?> elementType) {
+		FastList<ListCollectionType> arms = new FastList<ListCollectionType>();
+		for (ListCollectionType type : ListCollectionType.values()) {
+			if (type == defaultType || type.accepts(elementType)) {
+				arms.add(type);
+			}
+		}
+		return arms;
+	}
+
+}
@@ -1,14 +1,27 @@
-package de.heidelberg.pvs.diego.collectionswitch.optimizers.lists;
-
-import java.util.List;
-
-import de.heidelberg.pvs.diego.collectionswitch.context.ListAllocationContext;
-import de.heidelberg.pvs.diego.collectionswitch.optimizers.AllocationOptimizer;
-
-public interface ListAllocationOptimizer extends AllocationOptimizer {
-	
-	public <E> List<E> createMonitor(List<E> monitor);
-	
-	public void setContext(ListAllocationContext context);
-
-}
+package de.heidelberg.pvs.diego.collectionswitch.optimizers.lists;
+
+import java.util.List;
+
+import de.heidelberg.pvs.diego.collectionswitch.adaptive.TurningPoint;
+import de.heidelberg.pvs.diego.collectionswitch.context.ListAllocationContext;
+import de.heidelberg.pvs.diego.collectionswitch.monitors.lists.ListLightMonitor;
+import de.heidelberg.pvs.diego.collectionswitch.optimizers.AllocationOptimizer;
+
+public interface ListAllocationOptimizer extends AllocationOptimizer {
+	
+	public <E> List<E> createMonitor(List<E> monitor);
+
+	/**
+	 * Monitor recording one in every {@code period} operations, see
+	 * {@link ListLightMonitor}
+	 */
+	public <E> List<E> createLightMonitor(List<E> list, int period);
+	
+	public void setContext(ListAllocationContext context);
+
+	/**
+	 * Turning point shared by the adaptive collections of the context
+	 */
+	public TurningPoint getTurningPoint();
+
+}
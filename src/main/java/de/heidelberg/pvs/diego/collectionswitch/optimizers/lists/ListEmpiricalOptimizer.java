@@ -1,144 +1,299 @@
-package de.heidelberg.pvs.diego.collectionswitch.optimizers.lists;
-
-import java.lang.ref.WeakReference;
-import java.util.ArrayList;
-import java.util.List;
-
-import org.eclipse.collections.api.block.predicate.primitive.ObjectDoublePredicate;
-import org.eclipse.collections.api.map.primitive.MutableObjectDoubleMap;
-
-import de.heidelberg.pvs.diego.collectionswitch.context.CollectionTypeEnum;
-import de.heidelberg.pvs.diego.collectionswitch.context.ListAllocationContext;
-import de.heidelberg.pvs.diego.collectionswitch.context.ListCollectionType;
-import de.heidelberg.pvs.diego.collectionswitch.context.SetCollectionType;
-import de.heidelberg.pvs.diego.collectionswitch.manager.PerformanceGoal;
-import de.heidelberg.pvs.diego.collectionswitch.manager.PerformanceGoal.PerformanceDimension;
-import de.heidelberg.pvs.diego.collectionswitch.monitors.lists.ListActiveFullMonitor;
-import de.heidelberg.pvs.diego.collectionswitch.monitors.lists.ListMetrics;
-import de.heidelberg.pvs.diego.collectionswitch.optimizers.sets.SetEmpiricalPerformanceEvaluator;
-
-public class ListEmpiricalOptimizer implements ListAllocationOptimizer {
-
-	private List<ListMetrics> collectionsState;
-
-	private ListAllocationContext context;
-	private ListCollectionType defaultType;
-
-	private int finishedRatio;
-
-	private ListEmpiricalPerformanceEvaluator evaluator;
-	private PerformanceGoal goal;
-
-	public ListEmpiricalOptimizer(ListEmpiricalPerformanceEvaluator evaluator, ListCollectionType defaultType, PerformanceGoal goal,
-			int windowSize, double finishedRatio) {
-		this.collectionsState = new ArrayList<ListMetrics>(windowSize);
-		this.defaultType = defaultType;
-		this.evaluator = evaluator;
-		this.goal = goal;
-		
-		if (finishedRatio == 0.0) {
-			this.finishedRatio = 0;
-		} else if(finishedRatio > 1) {
-			this.finishedRatio = windowSize;
-		} else {
-			this.finishedRatio = (int) (windowSize / finishedRatio);
-
-		}
-
-	}
-
-	@Override
-	public <E> List<E> createMonitor(List<E> list) {
-		ListMetrics state = new ListMetrics(new WeakReference<List<E>>(list));
-		collectionsState.add(state);
-		return new ListActiveFullMonitor<E>(list, state);
-	}
-
-	@SuppressWarnings("serial")
-	@Override
-	public void analyzeAndOptimize() {
-
-		int amountFinishedCollections = 0;
-		for (ListMetrics metric : collectionsState) {
-			if (metric.hasCollectionFinished())
-				amountFinishedCollections++;
-		}
-
-		// Only analyze it when
-		if (amountFinishedCollections >= finishedRatio) {
-
-			// Get candidates from the major performance goal
-			MutableObjectDoubleMap<ListCollectionType> majorCandidates = getCandidates(
-					goal.majorDimension, goal.minImprovement);
-			
-			MutableObjectDoubleMap<ListCollectionType> bestOptions;
-
-			// FIXME: This should be implemented in a better way
-			if(goal.maxPenalty > 0) {
-			
-				// Get candidates that fulfill the minor performance goal
-				MutableObjectDoubleMap<ListCollectionType> minorCandidates = getCandidates(
-						goal.minorDimension, goal.maxPenalty);
-	
-				bestOptions = majorCandidates
-						.select(new ObjectDoublePredicate<ListCollectionType>() {
-							@Override
-							public boolean accept(ListCollectionType key, double value) {
-								return minorCandidates.containsKey(key);
-							}
-						});
-			
-			} else {
-				bestOptions = majorCandidates;	
-			}
-			
-			// Get the top implementation - Finding the minimum value
-			// FIXME: Find a better implementation for this
-			double min = Double.MAX_VALUE;
-			ListCollectionType champion = defaultType;
-			for (ListCollectionType type : bestOptions.keySet()) {
-				double perf = bestOptions.get(type);
-				if (perf < min) {
-					champion = type;
-					min = perf;
-				}
-			}
-
-			context.updateCollectionType(champion);
-
-			// Reset
-			collectionsState.clear();
-		}
-
-	}
-
-	private MutableObjectDoubleMap<ListCollectionType> getCandidates(PerformanceDimension performanceDimension,
-			double factor) {
-
-		// Gets the performance prediction for each instance
-		MutableObjectDoubleMap<ListCollectionType> majorPerformance = evaluator.predictPerformance(collectionsState,
-				performanceDimension);
-
-		// Gets the default performance
-		double defaultPerformance = majorPerformance.get(defaultType);
-
-		// Selects only the implementations with better performance
-		@SuppressWarnings("serial")
-		MutableObjectDoubleMap<ListCollectionType> candidates = majorPerformance
-				.select(new ObjectDoublePredicate<ListCollectionType>() {
-					@Override
-					public boolean accept(ListCollectionType object, double value) {
-						return defaultPerformance / value > factor;
-					}
-				});
-
-		return candidates;
-	}
-
-	@Override
-	public void setContext(ListAllocationContext context) {
-		this.context = context;
-
-	}
-
-}
+package de.heidelberg.pvs.diego.collectionswitch.optimizers.lists;
+
+import java.util.List;
+
+import org.eclipse.collections.api.block.predicate.primitive.ObjectDoublePredicate;
+import org.eclipse.collections.api.iterator.LongIterator;
+import org.eclipse.collections.api.map.primitive.MutableObjectDoubleMap;
+import org.eclipse.collections.impl.list.mutable.primitive.LongArrayList;
+import org.eclipse.collections.impl.map.mutable.primitive.ObjectDoubleHashMap;
+
+import de.heidelberg.pvs.diego.collectionswitch.adaptive.AdaptiveList;
+import de.heidelberg.pvs.diego.collectionswitch.adaptive.TurningPoint;
+import de.heidelberg.pvs.diego.collectionswitch.context.CollectionTypeEnum;
+import de.heidelberg.pvs.diego.collectionswitch.context.ListAllocationContext;
+import de.heidelberg.pvs.diego.collectionswitch.context.ListCollectionType;
+import de.heidelberg.pvs.diego.collectionswitch.context.SetCollectionType;
+import de.heidelberg.pvs.diego.collectionswitch.manager.PerformanceGoal;
+import de.heidelberg.pvs.diego.collectionswitch.manager.PerformanceGoal.PerformanceDimension;
+import de.heidelberg.pvs.diego.collectionswitch.monitors.CompletionTracker;
+import de.heidelberg.pvs.diego.collectionswitch.monitors.KeyProfile;
+import de.heidelberg.pvs.diego.collectionswitch.monitors.MetricsBuffer;
+import de.heidelberg.pvs.diego.collectionswitch.monitors.lists.ListActiveFullMonitor;
+import de.heidelberg.pvs.diego.collectionswitch.monitors.lists.ListLightMonitor;
+import de.heidelberg.pvs.diego.collectionswitch.monitors.lists.ListMetrics;
+import de.heidelberg.pvs.diego.collectionswitch.optimizers.SwitchGuard;
+import de.heidelberg.pvs.diego.collectionswitch.optimizers.sets.SetEmpiricalPerformanceEvaluator;
+
+public class ListEmpiricalOptimizer implements ListAllocationOptimizer {
+
+	private MetricsBuffer buffer;
+
+	private CompletionTracker tracker;
+
+	private ListIncrementalPerformanceEvaluator incrementalEvaluator;
+
+	private ListMetrics finishedState;
+
+	private ListAllocationContext context;
+	private ListCollectionType defaultType;
+	private ListCollectionType currentType;
+
+	private int finishedRatio;
+
+	private ListEmpiricalPerformanceEvaluator evaluator;
+	private TurningPoint turningPoint;
+	private PerformanceGoal goal;
+
+	// Guard of the switches and the predictions of a single instance it samples
+	private SwitchGuard<ListCollectionType> guard;
+	private MutableObjectDoubleMap<ListCollectionType> instancePerformance = new ObjectDoubleHashMap<ListCollectionType>();
+
+	// Elements of the monitored instances, if profiled
+	private KeyProfile keyProfile;
+
+	// Class of the elements the context accepts
+	private Class<?> elementType = Object.class;
+
+	public ListEmpiricalOptimizer(ListEmpiricalPerformanceEvaluator evaluator, ListCollectionType defaultType, PerformanceGoal goal,
+			int windowSize, double finishedRatio) {
+		this.buffer = new MetricsBuffer(ListMetrics.SLOT_WIDTH, 2 * windowSize);
+		this.tracker = new CompletionTracker();
+		this.finishedState = new ListMetrics(buffer, 0);
+		this.incrementalEvaluator = new ListIncrementalPerformanceEvaluator(evaluator);
+		this.defaultType = defaultType;
+		this.currentType = defaultType;
+		this.evaluator = evaluator;
+		this.turningPoint = new TurningPoint(AdaptiveList.DEFAULT_TURNING_POINT);
+		this.goal = goal;
+		this.guard = new SwitchGuard<ListCollectionType>(goal);
+		
+		if (finishedRatio == 0.0) {
+			this.finishedRatio = 0;
+		} else if(finishedRatio > 1) {
+			this.finishedRatio = windowSize;
+		} else {
+			this.finishedRatio = (int) (windowSize / finishedRatio);
+
+		}
+
+	}
+
+	@Override
+	public <E> List<E> createMonitor(List<E> list) {
+		long id = buffer.allocate();
+		tracker.track(list, id);
+		return new ListActiveFullMonitor<E>(list, buffer, id, keyProfile);
+	}
+
+	@Override
+	public <E> List<E> createLightMonitor(List<E> list, int period) {
+		long id = buffer.allocate();
+		tracker.track(list, id);
+		return new ListLightMonitor<E>(list, buffer, id, period, keyProfile);
+	}
+
+	@SuppressWarnings("serial")
+	@Override
+	public void analyzeAndOptimize() {
+
+		// Only the collections finished since the last analysis are polled and
+		// folded into the running totals
+		long finished;
+		while ((finished = tracker.pollFinished()) != CompletionTracker.NONE) {
+			// Records overwritten by newer collections are skipped
+			if (buffer.isCurrent(finished)) {
+				finishedState.moveTo(finished);
+				incrementalEvaluator.fold(finishedState);
+				sample(finishedState);
+			}
+		}
+
+		// Only analyze it when
+		if (incrementalEvaluator.getFoldedCount() >= finishedRatio) {
+
+			// Only the collections still alive are evaluated now
+			LongArrayList collectionsState = new LongArrayList(tracker.activeCount());
+			tracker.collectActive(collectionsState);
+			for (LongIterator ids = collectionsState.longIterator(); ids.hasNext();) {
+				long id = ids.next();
+				if (buffer.isCurrent(id)) {
+					finishedState.moveTo(id);
+					sample(finishedState);
+				}
+			}
+			Class<?> profiledType = getProfiledType();
+			long elements = incrementalEvaluator.countElements(buffer, collectionsState);
+
+			// Get candidates from the major performance goal
+			MutableObjectDoubleMap<ListCollectionType> majorPerformance = forElementType(
+					incrementalEvaluator.predictPerformance(buffer, collectionsState, goal.majorDimension),
+					goal.majorDimension, profiledType, elements);
+			MutableObjectDoubleMap<ListCollectionType> majorCandidates = getCandidates(majorPerformance, goal.minImprovement);
+			
+			MutableObjectDoubleMap<ListCollectionType> bestOptions;
+
+			// FIXME: This should be implemented in a better way
+			if(goal.maxPenalty > 0) {
+			
+				// Get candidates that fulfill the minor performance goal
+				MutableObjectDoubleMap<ListCollectionType> minorCandidates = getCandidates(forElementType(
+					incrementalEvaluator.predictPerformance(buffer, collectionsState, goal.minorDimension),
+					goal.minorDimension, profiledType, elements), goal.maxPenalty);
+	
+				bestOptions = majorCandidates
+						.select(new ObjectDoublePredicate<ListCollectionType>() {
+							@Override
+							public boolean accept(ListCollectionType key, double value) {
+								return minorCandidates.containsKey(key);
+							}
+						});
+			
+			} else {
+				bestOptions = majorCandidates;	
+			}
+			
+			// Get the top implementation - Finding the minimum value
+			// FIXME: Find a better implementation for this
+			double min = Double.MAX_VALUE;
+			ListCollectionType champion = defaultType;
+			for (ListCollectionType type : bestOptions.keySet()) {
+				double perf = bestOptions.get(type);
+				if (perf < min) {
+					champion = type;
+					min = perf;
+				}
+			}
+
+			// Noisy windows and recent switches keep the current type
+			champion = guard.decide(currentType, champion);
+
+			// Live instances only migrate when copying them costs less than what
+			// an average instance of this window saves
+			int instances = Math.max(1, incrementalEvaluator.getFoldedCount() + collectionsState.size());
+			double savings = (majorPerformance.get(currentType) - majorPerformance.get(champion)) / instances;
+			int maxMigrationSize = evaluator.maxMigrationSize(champion, goal.majorDimension, savings);
+
+			// Adaptive instances change representation where the models of both
+			// representations cross for the operations of this window
+			int crossover = evaluator.crossover(ListCollectionType.JDK_ARRAYLIST, ListCollectionType.ONLINEADAPTER_HASHARRAYLIST,
+					goal.majorDimension, incrementalEvaluator.getAverageContainsOp(),
+					incrementalEvaluator.getAverageIterationOp());
+			if (crossover > 0) {
+				turningPoint.set(crossover);
+			}
+
+			// Reset before publishing the new type, so that the next window
+			// only holds instances created after the switch
+			incrementalEvaluator.reset();
+			tracker.clear();
+			buffer.reset();
+
+			context.updateCollectionType(champion, maxMigrationSize);
+			currentType = champion;
+		}
+
+	}
+
+	/**
+	 * Samples the predictions of one instance for the guard of the switches
+	 */
+	private void sample(ListMetrics state) {
+		if (guard.isSampling()) {
+			instancePerformance.clear();
+			evaluator.accumulatePerformance(state, goal.majorDimension, instancePerformance);
+			guard.sample(currentType, forElementType(instancePerformance, goal.majorDimension,
+					getProfiledType(), state.getMaxSize()));
+		}
+	}
+
+	private MutableObjectDoubleMap<ListCollectionType> getCandidates(MutableObjectDoubleMap<ListCollectionType> majorPerformance,
+			double factor) {
+
+		// Gets the default performance
+		double defaultPerformance = majorPerformance.get(defaultType);
+
+		// Selects only the implementations with better performance
+		@SuppressWarnings("serial")
+		MutableObjectDoubleMap<ListCollectionType> candidates = majorPerformance
+				.select(new ObjectDoublePredicate<ListCollectionType>() {
+					@Override
+					public boolean accept(ListCollectionType object, double value) {
+						return defaultPerformance / value > factor;
+					}
+				});
+
+		return candidates;
+	}
+
+	/**
+	 * Only the implementations that accept the profiled element. When a generic
+	 * context only holds Integer or Long elements, the generic implementations are
+	 * charged the box of each element, which their footprint models exclude and
+	 * the primitive ones do not retain.
+	 */
+	private MutableObjectDoubleMap<ListCollectionType> forElementType(
+			MutableObjectDoubleMap<ListCollectionType> performance, PerformanceDimension dimension,
+			Class<?> profiledType, long elements) {
+
+		double boxes = 0;
+		if (dimension == PerformanceDimension.MEMORY_FOOTPRINT && profiledType != elementType) {
+			boxes = KeyProfile.boxSize(profiledType) * elements;
+		}
+
+		for (ListCollectionType type : ListCollectionType.values()) {
+			if (!performance.containsKey(type)) {
+				continue;
+			}
+			if (!type.accepts(profiledType)) {
+				performance.removeKey(type);
+			} else if (type.accepts(Object.class)) {
+				performance.addToValue(type, boxes);
+			}
+		}
+		return performance;
+	}
+
+	/**
+	 * Class of the elements of the context, or of all the profiled elements of a
+	 * generic context
+	 */
+	private Class<?> getProfiledType() {
+		if (elementType != Object.class || keyProfile == null) {
+			return elementType;
+		}
+		return keyProfile.getElementType();
+	}
+
+	/**
+	 * Class of the elements the context accepts, {@code Object} by default. Only
+	 * generic contexts move to primitive implementations on their profile
+	 */
+	public void setElementType(Class<?> elementType) {
+		this.elementType = elementType;
+	}
+
+	/**
+	 * Profiles the elements of the monitored instances with the given profile,
+	 * or stops profiling if it is {@code null}
+	 */
+	public void setKeyProfile(KeyProfile keyProfile) {
+		this.keyProfile = keyProfile;
+	}
+
+	public KeyProfile getKeyProfile() {
+		return keyProfile;
+	}
+
+	@Override
+	public TurningPoint getTurningPoint() {
+		return turningPoint;
+	}
+
+	@Override
+	public void setContext(ListAllocationContext context) {
+		this.context = context;
+
+	}
+
+}
@@ -1,57 +1,170 @@
-package de.heidelberg.pvs.diego.collectionswitch.optimizers.lists;
-
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.List;
-import java.util.Map;
-
-import org.eclipse.collections.api.map.primitive.MutableObjectDoubleMap;
-import org.eclipse.collections.impl.map.mutable.UnifiedMap;
-import org.eclipse.collections.impl.map.mutable.primitive.ObjectDoubleHashMap;
-
-import de.heidelberg.pvs.diego.collectionswitch.context.ListCollectionType;
-import de.heidelberg.pvs.diego.collectionswitch.manager.PerformanceGoal.PerformanceDimension;
-import de.heidelberg.pvs.diego.collectionswitch.monitors.lists.ListMetrics;
-
-public class ListEmpiricalPerformanceEvaluator {
-
-	private Map<PerformanceDimension, List<ListPerformanceModel>> listEmpiricalModel = new UnifiedMap<PerformanceDimension, List<ListPerformanceModel>>();
-	
-	
-
-	public ListEmpiricalPerformanceEvaluator() {
-		super();
-	}
-	
-	public ListEmpiricalPerformanceEvaluator(PerformanceDimension dimension, List<ListPerformanceModel> performanceModel) {
-		listEmpiricalModel.put(dimension, performanceModel);
-	}
-	
-	public void addEmpiricalModel(PerformanceDimension dimension, List<ListPerformanceModel> performanceModel) {
-		listEmpiricalModel.put(dimension, performanceModel);
-	}
-	
-	public MutableObjectDoubleMap<ListCollectionType> predictPerformance(List<ListMetrics> collectionsState,
-			PerformanceDimension dimension) {
-
-		MutableObjectDoubleMap<ListCollectionType> performanceResult = new ObjectDoubleHashMap<ListCollectionType>(listEmpiricalModel.size());
-
-		List<ListPerformanceModel> models = listEmpiricalModel.getOrDefault(dimension, Collections.EMPTY_LIST);
-		
-		// For each monitored collection
-		for (ListMetrics state : collectionsState) {
-
-			// For each model
-			for (ListPerformanceModel model : models) {
-
-				// Accumulate the performance of each implementation
-				performanceResult.addToValue(model.getType(),
-						model.calculatePerformance(state));
-			}
-		}
-
-		return performanceResult;
-
-	}
-
-}
+package de.heidelberg.pvs.diego.collectionswitch.optimizers.lists;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.collections.api.LongIterable;
+import org.eclipse.collections.api.iterator.LongIterator;
+import org.eclipse.collections.api.map.primitive.MutableObjectDoubleMap;
+import org.eclipse.collections.impl.map.mutable.UnifiedMap;
+import org.eclipse.collections.impl.map.mutable.primitive.ObjectDoubleHashMap;
+
+import de.heidelberg.pvs.diego.collectionswitch.context.ListCollectionType;
+import de.heidelberg.pvs.diego.collectionswitch.manager.PerformanceGoal.PerformanceDimension;
+import de.heidelberg.pvs.diego.collectionswitch.monitors.MetricsBuffer;
+import de.heidelberg.pvs.diego.collectionswitch.monitors.lists.ListMetrics;
+
+public class ListEmpiricalPerformanceEvaluator {
+
+	// Largest size the populate models are searched for
+	private static final int MAX_MIGRATION_SIZE = 1 << 20;
+
+	// Largest size the turning point is searched for
+	private static final int MAX_TURNING_POINT = 4096;
+
+	private Map<PerformanceDimension, List<ListPerformanceModel>> listEmpiricalModel = new UnifiedMap<PerformanceDimension, List<ListPerformanceModel>>();
+	
+	
+
+	public ListEmpiricalPerformanceEvaluator() {
+		super();
+	}
+	
+	public ListEmpiricalPerformanceEvaluator(PerformanceDimension dimension, List<ListPerformanceModel> performanceModel) {
+		listEmpiricalModel.put(dimension, performanceModel);
+	}
+	
+	public void addEmpiricalModel(PerformanceDimension dimension, List<ListPerformanceModel> performanceModel) {
+		listEmpiricalModel.put(dimension, performanceModel);
+	}
+
+	public Set<PerformanceDimension> getDimensions() {
+		return listEmpiricalModel.keySet();
+	}
+	
+	/**
+	 * Largest instance that can be copied into the given type for at most the
+	 * given cost, according to its populate model
+	 */
+	public int maxMigrationSize(ListCollectionType type, PerformanceDimension dimension, double budget) {
+
+		ListPerformanceModel model = getModel(type, dimension);
+
+		if (model == null || budget <= 0) {
+			return 0;
+		}
+
+		// Doubles until the budget is exceeded, then searches the last interval
+		int size = 1;
+		while (model.calculatePopulate(size) <= budget) {
+			if (size >= MAX_MIGRATION_SIZE) {
+				return Integer.MAX_VALUE;
+			}
+			size <<= 1;
+		}
+
+		int low = size >> 1;
+		int high = size - 1;
+		while (low < high) {
+			int middle = (low + high + 1) >>> 1;
+			if (model.calculatePopulate(middle) <= budget) {
+				low = middle;
+			} else {
+				high = middle - 1;
+			}
+		}
+		return low;
+
+	}
+
+	/**
+	 * Smallest size from which the large implementation performs better than
+	 * the small one for the given operation mix, or 0 without models for both
+	 */
+	public int crossover(ListCollectionType small, ListCollectionType large, PerformanceDimension dimension,
+			double containsOp, double iterationOp) {
+
+		ListPerformanceModel smallModel = getModel(small, dimension);
+		ListPerformanceModel largeModel = getModel(large, dimension);
+
+		if (smallModel == null || largeModel == null) {
+			return 0;
+		}
+
+		for (int size = 1; size < MAX_TURNING_POINT; size++) {
+			if (largeModel.calculatePerformance(size, containsOp, iterationOp) < smallModel
+					.calculatePerformance(size, containsOp, iterationOp)) {
+				return size;
+			}
+		}
+		return MAX_TURNING_POINT;
+
+	}
+
+	private ListPerformanceModel getModel(ListCollectionType type, PerformanceDimension dimension) {
+		for (ListPerformanceModel model : listEmpiricalModel.getOrDefault(dimension, Collections.<ListPerformanceModel>emptyList())) {
+			if (model.getType() == type) {
+				return model;
+			}
+		}
+		return null;
+	}
+
+	public MutableObjectDoubleMap<ListCollectionType> predictPerformance(MetricsBuffer buffer, LongIterable collectionsState,
+			PerformanceDimension dimension) {
+
+		MutableObjectDoubleMap<ListCollectionType> performanceResult = new ObjectDoubleHashMap<ListCollectionType>(listEmpiricalModel.size());
+
+		return predictPerformance(buffer, collectionsState, dimension, performanceResult);
+
+	}
+
+	/**
+	 * Adds the prediction of the given records to an existing result
+	 */
+	public MutableObjectDoubleMap<ListCollectionType> predictPerformance(MetricsBuffer buffer, LongIterable collectionsState,
+			PerformanceDimension dimension, MutableObjectDoubleMap<ListCollectionType> performanceResult) {
+
+		// Single view moved over the packed records
+		ListMetrics state = new ListMetrics(buffer, 0);
+
+		// For each monitored collection
+		LongIterator ids = collectionsState.longIterator();
+		while (ids.hasNext()) {
+
+			long id = ids.next();
+			if (!buffer.isCurrent(id)) {
+				continue;
+			}
+			state.moveTo(id);
+
+			accumulatePerformance(state, dimension, performanceResult);
+		}
+
+		return performanceResult;
+
+	}
+
+	/**
+	 * Adds the predicted performance of a single collection for each
+	 * implementation
+	 */
+	public void accumulatePerformance(ListMetrics state, PerformanceDimension dimension,
+			MutableObjectDoubleMap<ListCollectionType> performanceResult) {
+
+		List<ListPerformanceModel> models = listEmpiricalModel.getOrDefault(dimension, Collections.EMPTY_LIST);
+
+		// For each model
+		for (ListPerformanceModel model : models) {
+
+			// Accumulate the performance of each implementation
+			performanceResult.addToValue(model.getType(),
+					model.calculatePerformance(state));
+		}
+
+	}
+
+}
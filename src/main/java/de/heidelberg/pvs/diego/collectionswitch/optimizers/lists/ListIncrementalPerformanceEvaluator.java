@@ -0,0 +1,118 @@
+package de.heidelberg.pvs.diego.collectionswitch.optimizers.lists;
+
+import java.util.Map;
+
+import org.eclipse.collections.api.LongIterable;
+import org.eclipse.collections.api.iterator.LongIterator;
+import org.eclipse.collections.api.map.primitive.MutableObjectDoubleMap;
+import org.eclipse.collections.impl.map.mutable.UnifiedMap;
+import org.eclipse.collections.impl.map.mutable.primitive.ObjectDoubleHashMap;
+
+import de.heidelberg.pvs.diego.collectionswitch.context.ListCollectionType;
+import de.heidelberg.pvs.diego.collectionswitch.manager.PerformanceGoal.PerformanceDimension;
+import de.heidelberg.pvs.diego.collectionswitch.monitors.MetricsBuffer;
+import de.heidelberg.pvs.diego.collectionswitch.monitors.lists.ListMetrics;
+
+/**
+ * Keeps the predicted performance of the finished collections as running
+ * totals per implementation.
+ * 
+ * Each collection is folded once when it finishes, so its record can be
+ * recycled right away and an analysis only has to add the collections that are
+ * still alive.
+ */
+public class ListIncrementalPerformanceEvaluator {
+
+	private final ListEmpiricalPerformanceEvaluator evaluator;
+
+	private final Map<PerformanceDimension, MutableObjectDoubleMap<ListCollectionType>> totals;
+
+	private int foldedCount;
+
+	private long containsOps;
+	private long iterationOps;
+	private long elements;
+
+	public ListIncrementalPerformanceEvaluator(ListEmpiricalPerformanceEvaluator evaluator) {
+		this.evaluator = evaluator;
+		this.totals = new UnifiedMap<PerformanceDimension, MutableObjectDoubleMap<ListCollectionType>>();
+	}
+
+	/**
+	 * Adds a finished collection to the running totals of every dimension
+	 */
+	public void fold(ListMetrics state) {
+		for (PerformanceDimension dimension : evaluator.getDimensions()) {
+			MutableObjectDoubleMap<ListCollectionType> total = totals.get(dimension);
+			if (total == null) {
+				total = new ObjectDoubleHashMap<ListCollectionType>();
+				totals.put(dimension, total);
+			}
+			evaluator.accumulatePerformance(state, dimension, total);
+		}
+		containsOps += state.getContainsOp();
+		iterationOps += state.getIterationOp();
+		elements += state.getMaxSize();
+		foldedCount++;
+	}
+
+	public int getFoldedCount() {
+		return foldedCount;
+	}
+
+	/**
+	 * Average contains operations of the finished collections
+	 */
+	public double getAverageContainsOp() {
+		return foldedCount == 0 ? 0 : (double) containsOps / foldedCount;
+	}
+
+	/**
+	 * Average iterations of the finished collections
+	 */
+	public double getAverageIterationOp() {
+		return foldedCount == 0 ? 0 : (double) iterationOps / foldedCount;
+	}
+
+	/**
+	 * Running totals plus the prediction of the collections still alive
+	 */
+	public MutableObjectDoubleMap<ListCollectionType> predictPerformance(MetricsBuffer buffer,
+			LongIterable activeState, PerformanceDimension dimension) {
+
+		MutableObjectDoubleMap<ListCollectionType> performanceResult = new ObjectDoubleHashMap<ListCollectionType>();
+		MutableObjectDoubleMap<ListCollectionType> folded = totals.get(dimension);
+		if (folded != null) {
+			performanceResult.putAll(folded);
+		}
+
+		return evaluator.predictPerformance(buffer, activeState, dimension, performanceResult);
+	}
+
+	/**
+	 * Elements of the finished collections plus those of the collections
+	 * still alive, each at its maximum size
+	 */
+	public long countElements(MetricsBuffer buffer, LongIterable activeState) {
+		long count = elements;
+		LongIterator ids = activeState.longIterator();
+		while (ids.hasNext()) {
+			long id = ids.next();
+			if (buffer.isCurrent(id)) {
+				count += buffer.get(id, MetricsBuffer.MAX_SIZE);
+			}
+		}
+		return count;
+	}
+
+	public void reset() {
+		for (MutableObjectDoubleMap<ListCollectionType> total : totals.values()) {
+			total.clear();
+		}
+		foldedCount = 0;
+		containsOps = 0;
+		iterationOps = 0;
+		elements = 0;
+	}
+
+}
@@ -1,53 +1,99 @@
-package de.heidelberg.pvs.diego.collectionswitch.optimizers.lists;
-
-import org.apache.commons.math3.analysis.UnivariateFunction;
-import org.apache.commons.math3.analysis.polynomials.PolynomialFunction;
-
-import de.heidelberg.pvs.diego.collectionswitch.context.ListCollectionType;
-import de.heidelberg.pvs.diego.collectionswitch.monitors.lists.ListMetrics;
-
-public class ListPerformanceModel {
-
-	private final ListCollectionType type;
-
-	private final UnivariateFunction contains;
-	private final UnivariateFunction populate;
-	private final UnivariateFunction iterate;
-	private  UnivariateFunction index;
-
-	@Deprecated
-	public ListPerformanceModel(ListCollectionType type, double[] populate, double[] contains, 
-			double[] iterate, double[] index) {
-		super();
-		this.type = type;
-		this.contains = new PolynomialFunction(contains);
-		this.populate = new PolynomialFunction(populate);
-		this.iterate = new PolynomialFunction(iterate);
-		this.index = new PolynomialFunction(index);
-	}
-	
-	public ListPerformanceModel(ListCollectionType type, double[] populate, double[] contains, 
-			double[] iterate) {
-		super();
-		this.type = type;
-		this.contains = new PolynomialFunction(contains);
-		this.populate = new PolynomialFunction(populate);
-		this.iterate = new PolynomialFunction(iterate);
-	}
-	
-	
-
-	public double calculatePerformance(ListMetrics state) {
-
-		int size = state.getMaxSize();
-
-		return populate.value(size) 
-				+ state.getContainsOp() * contains.value(size)
-				+ state.getIterationOp() * iterate.value(size);
-		}
-
-	public ListCollectionType getType() {
-		return type;
-	}
-
-}
+package de.heidelberg.pvs.diego.collectionswitch.optimizers.lists;
+
+import org.apache.commons.math3.analysis.UnivariateFunction;
+import org.apache.commons.math3.analysis.polynomials.PolynomialFunction;
+
+import de.heidelberg.pvs.diego.collectionswitch.context.ListCollectionType;
+import de.heidelberg.pvs.diego.collectionswitch.monitors.lists.ListMetrics;
+
+public class ListPerformanceModel {
+
+	// Cost of the positional operations without a measured model
+	private static final UnivariateFunction NONE = new PolynomialFunction(new double[] { 0 });
+
+	private final ListCollectionType type;
+
+	private final UnivariateFunction contains;
+	private final UnivariateFunction populate;
+	private final UnivariateFunction iterate;
+
+	// Cost of a single positional operation for a given size
+	private final UnivariateFunction index;
+	private final UnivariateFunction head;
+	private final UnivariateFunction middle;
+	private final UnivariateFunction tail;
+
+	public ListPerformanceModel(ListCollectionType type, double[] populate, double[] contains, 
+			double[] iterate, double[] index) {
+		this(type, populate, contains, iterate, index, null, null, null);
+	}
+	
+	public ListPerformanceModel(ListCollectionType type, double[] populate, double[] contains, 
+			double[] iterate) {
+		this(type, populate, contains, iterate, null, null, null, null);
+	}
+
+	/**
+	 * Model with the cost of random access and of inserts and removals at the
+	 * head, in the middle and at the tail. Missing positional models cost
+	 * nothing.
+	 */
+	public ListPerformanceModel(ListCollectionType type, double[] populate, double[] contains, double[] iterate,
+			double[] index, double[] head, double[] middle, double[] tail) {
+		super();
+		this.type = type;
+		this.contains = new PolynomialFunction(contains);
+		this.populate = new PolynomialFunction(populate);
+		this.iterate = new PolynomialFunction(iterate);
+		this.index = polynomial(index);
+		this.head = polynomial(head);
+		this.middle = polynomial(middle);
+		this.tail = polynomial(tail);
+	}
+
+	private static UnivariateFunction polynomial(double[] coefficients) {
+		return coefficients == null ? NONE : new PolynomialFunction(coefficients);
+	}
+
+	public double calculatePerformance(ListMetrics state) {
+		int size = state.getMaxSize();
+		// Iterations are charged for the elements they visited, so early exits
+		// cost less than full scans
+		return populate.value(size)
+				+ state.getContainsOp() * contains.value(size)
+				+ state.getVisitOp() * calculateVisit(size)
+				+ state.getIndexOp() * index.value(size)
+				+ state.getHeadOp() * head.value(size)
+				+ state.getMiddleOp() * middle.value(size)
+				+ state.getTailOp() * tail.value(size);
+	}
+
+	/**
+	 * Cost of an instance of the given size with the given operation counts
+	 */
+	public double calculatePerformance(int size, double containsOp, double iterationOp) {
+		return populate.value(size) 
+				+ containsOp * contains.value(size)
+				+ iterationOp * iterate.value(size);
+	}
+
+	/**
+	 * Cost of visiting one element while iterating an instance of the given
+	 * size, the share of a full iteration
+	 */
+	public double calculateVisit(int size) {
+		return iterate.value(size) / Math.max(1, size);
+	}
+
+	/**
+	 * Cost of populating an instance with the given number of elements
+	 */
+	public double calculatePopulate(int size) {
+		return populate.value(size);
+	}
+
+	public ListCollectionType getType() {
+		return type;
+	}
+
+}
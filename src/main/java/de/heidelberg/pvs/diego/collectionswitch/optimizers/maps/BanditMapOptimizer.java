@@ -0,0 +1,78 @@
+package de.heidelberg.pvs.diego.collectionswitch.optimizers.maps;
+
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.collections.impl.list.mutable.FastList;
+
+import de.heidelberg.pvs.diego.collectionswitch.adaptive.AdaptiveMap;
+import de.heidelberg.pvs.diego.collectionswitch.adaptive.TurningPoint;
+import de.heidelberg.pvs.diego.collectionswitch.context.MapAllocationContext;
+import de.heidelberg.pvs.diego.collectionswitch.context.MapCollectionType;
+import de.heidelberg.pvs.diego.collectionswitch.manager.PerformanceGoal;
+import de.heidelberg.pvs.diego.collectionswitch.monitors.maps.TimedMap;
+import de.heidelberg.pvs.diego.collectionswitch.optimizers.BanditOptimizer;
+import de.heidelberg.pvs.diego.collectionswitch.optimizers.BanditPolicy.Strategy;
+
+/**
+ * Map optimizer over the measured cost of the instances, see
+ * {@link BanditOptimizer}. The arms are the types that accept the keys of the
+ * context.
+ */
+public class BanditMapOptimizer extends BanditOptimizer<MapCollectionType> implements MapAllocationOptimizer {
+
+	private MapAllocationContext context;
+	private final TurningPoint turningPoint = new TurningPoint(AdaptiveMap.DEFAULT_TURNING_POINT);
+
+	public BanditMapOptimizer(MapCollectionType defaultType, Class<?> keyType, PerformanceGoal goal,
+			Strategy strategy, double epsilon, int capacity) {
+		super(arms(defaultType, keyType), defaultType, goal, strategy, epsilon, capacity);
+	}
+
+	/**
+	 * Measures a new map of the arm, created since {@code start}
+	 */
+	public <K, V> Map<K, V> measure(Map<K, V> map, MapCollectionType arm, long start) {
+		long id = track(map, arm, start);
+		return new TimedMap<K, V>(map, buffer, id, meter);
+	}
+
+	@Override
+	public <K, V> Map<K, V> createMonitor(Map<K, V> map) {
+		return measure(map, getCurrentType(), start());
+	}
+
+	/**
+	 * Costs are measured on every operation, so the period is ignored
+	 */
+	@Override
+	public <K, V> Map<K, V> createLightMonitor(Map<K, V> map, int period) {
+		return createMonitor(map);
+	}
+
+	@Override
+	public void setContext(MapAllocationContext context) {
+		this.context = context;
+	}
+
+	@Override
+	public TurningPoint getTurningPoint() {
+		return turningPoint;
+	}
+
+	@Override
+	protected void publish(MapCollectionType type) {
+		context.updateCollectionType(type);
+	}
+
+	private static List<MapCollectionType> arms(MapCollectionType defaultType, Class<?> keyType) {
+		FastList<MapCollectionType> arms = new FastList<MapCollectionType>();
+		for (MapCollectionType type : MapCollectionType.values()) {
+			if (type == defaultType || type.accepts(keyType)) {
+				arms.add(type);
+			}
+		}
+		return arms;
+	}
+
+}
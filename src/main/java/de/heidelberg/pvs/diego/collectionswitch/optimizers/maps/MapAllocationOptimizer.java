@@ -1,15 +1,28 @@
-package de.heidelberg.pvs.diego.collectionswitch.optimizers.maps;
-
-
-import java.util.Map;
-
-import de.heidelberg.pvs.diego.collectionswitch.context.MapAllocationContext;
-import de.heidelberg.pvs.diego.collectionswitch.optimizers.AllocationOptimizer;
-
-public interface MapAllocationOptimizer extends AllocationOptimizer {
-	
-	public <K, V> Map<K, V> createMonitor(Map<K, V> map);
-	
-	void setContext(MapAllocationContext context);
-	
-}
+package de.heidelberg.pvs.diego.collectionswitch.optimizers.maps;
+
+
+import java.util.Map;
+
+import de.heidelberg.pvs.diego.collectionswitch.adaptive.TurningPoint;
+import de.heidelberg.pvs.diego.collectionswitch.context.MapAllocationContext;
+import de.heidelberg.pvs.diego.collectionswitch.monitors.maps.MapLightMonitor;
+import de.heidelberg.pvs.diego.collectionswitch.optimizers.AllocationOptimizer;
+
+public interface MapAllocationOptimizer extends AllocationOptimizer {
+	
+	public <K, V> Map<K, V> createMonitor(Map<K, V> map);
+
+	/**
+	 * Monitor recording one in every {@code period} operations, see
+	 * {@link MapLightMonitor}
+	 */
+	public <K, V> Map<K, V> createLightMonitor(Map<K, V> map, int period);
+	
+	void setContext(MapAllocationContext context);
+
+	/**
+	 * Turning point shared by the adaptive collections of the context
+	 */
+	public TurningPoint getTurningPoint();
+
+}
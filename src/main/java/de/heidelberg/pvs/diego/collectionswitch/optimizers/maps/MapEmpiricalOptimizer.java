@@ -1,145 +1,321 @@
-package de.heidelberg.pvs.diego.collectionswitch.optimizers.maps;
-
-import java.lang.ref.WeakReference;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Map;
-
-import org.eclipse.collections.api.block.predicate.primitive.ObjectDoublePredicate;
-import org.eclipse.collections.api.map.primitive.MutableObjectDoubleMap;
-
-import de.heidelberg.pvs.diego.collectionswitch.context.MapAllocationContext;
-import de.heidelberg.pvs.diego.collectionswitch.context.MapCollectionType;
-import de.heidelberg.pvs.diego.collectionswitch.manager.PerformanceGoal;
-import de.heidelberg.pvs.diego.collectionswitch.manager.PerformanceGoal.PerformanceDimension;
-import de.heidelberg.pvs.diego.collectionswitch.monitors.maps.MapActiveFullMonitor;
-import de.heidelberg.pvs.diego.collectionswitch.monitors.maps.MapMetrics;
-
-public class MapEmpiricalOptimizer implements MapAllocationOptimizer {
-
-	MapAllocationContext context;
-
-	List<MapMetrics> collectionsState;
-
-	private double finishedRatio;
-
-	private MapCollectionType defaultType;
-
-	private MapEmpiricalPerformanceEvaluator evaluator;
-	
-	private PerformanceGoal goal;
-
-	public MapEmpiricalOptimizer(MapEmpiricalPerformanceEvaluator evaluator, 
-			MapCollectionType defaultType, PerformanceGoal goal, int windowSize, double finishedRatio) {
-		super();
-		
-		this.defaultType = defaultType;
-		this.collectionsState = new ArrayList<MapMetrics>(windowSize);
-		this.evaluator = evaluator;
-		this.goal = goal;
-		
-		if(finishedRatio == 0.0) {
-			this.finishedRatio = 0;
-		}  else if(finishedRatio > 1) {
-			this.finishedRatio = windowSize;
-		} else {
-			this.finishedRatio = (int) (windowSize / finishedRatio);
-			
-		}
-	}
-
-	@Override
-	public void analyzeAndOptimize() {
-
-		int amountFinishedCollections = 0;
-
-		// Checks how many collections have finished
-		for (MapMetrics metric : collectionsState) {
-			if (metric.hasCollectionFinished())
-				amountFinishedCollections++;
-		}
-
-		// Only analyze it when
-		if (amountFinishedCollections >= finishedRatio) {
-
-			// Get candidates from the major performance goal
-			MutableObjectDoubleMap<MapCollectionType> majorCandidates = getCandidates(
-					goal.majorDimension, goal.minImprovement);
-
-			MutableObjectDoubleMap<MapCollectionType> bestOptions;
-			
-			if(goal.maxPenalty > 0) {
-			
-			// Get candidates that fulfill the minor performance goal
-			MutableObjectDoubleMap<MapCollectionType> minorCandidates = getCandidates(
-					goal.minorDimension, goal.maxPenalty);
-
-			bestOptions = majorCandidates
-					.select(new ObjectDoublePredicate<MapCollectionType>() {
-						@Override
-						public boolean accept(MapCollectionType key, double value) {
-							return minorCandidates.containsKey(key);
-						}
-					});
-			
-			} else {
-				bestOptions = majorCandidates;
-			}
-
-			// Get the top implementation - Finding the minimum value
-			// FIXME: Find a better implementation for this
-			double min = Double.MAX_VALUE;
-			MapCollectionType champion = defaultType;
-			for (MapCollectionType type : bestOptions.keySet()) {
-				double perf = bestOptions.get(type);
-				if (perf < min) {
-					champion = type;
-					min = perf;
-				}
-			}
-
-			context.updateCollectionType(champion);
-
-			// Reset
-			collectionsState.clear();
-		}
-
-	}
-
-	private MutableObjectDoubleMap<MapCollectionType> getCandidates(PerformanceDimension performanceDimension,
-			double factor) {
-
-		// Gets the performance prediction for each instance
-		MutableObjectDoubleMap<MapCollectionType> majorPerformance = evaluator
-				.predictPerformance(collectionsState, performanceDimension);
-
-		// Gets the default performance
-		double defaultPerformance = majorPerformance.get(defaultType);
-
-		// Selects only the implementations with better performance
-		@SuppressWarnings("serial")
-		MutableObjectDoubleMap<MapCollectionType> candidates = majorPerformance
-				.select(new ObjectDoublePredicate<MapCollectionType>() {
-					@Override
-					public boolean accept(MapCollectionType object, double value) {
-						return defaultPerformance / value > factor;
-					}
-				});
-
-		return candidates;
-	}
-
-	@Override
-	public <K, V> Map<K, V> createMonitor(Map<K, V> map) {
-		MapMetrics metrics = new MapMetrics(new WeakReference<Map<K, V>>(map));
-		collectionsState.add(metrics);
-		return new MapActiveFullMonitor<K, V>(map, metrics);
-	}
-
-	@Override
-	public void setContext(MapAllocationContext context) {
-		this.context = context;
-
-	}
-
-}
+package de.heidelberg.pvs.diego.collectionswitch.optimizers.maps;
+
+import java.util.Map;
+
+import org.eclipse.collections.api.block.predicate.primitive.ObjectDoublePredicate;
+import org.eclipse.collections.api.iterator.LongIterator;
+import org.eclipse.collections.api.map.primitive.MutableObjectDoubleMap;
+import org.eclipse.collections.impl.list.mutable.primitive.LongArrayList;
+import org.eclipse.collections.impl.map.mutable.primitive.ObjectDoubleHashMap;
+
+import de.heidelberg.pvs.diego.collectionswitch.adaptive.AdaptiveMap;
+import de.heidelberg.pvs.diego.collectionswitch.adaptive.TurningPoint;
+import de.heidelberg.pvs.diego.collectionswitch.context.MapAllocationContext;
+import de.heidelberg.pvs.diego.collectionswitch.context.MapCollectionType;
+import de.heidelberg.pvs.diego.collectionswitch.manager.PerformanceGoal;
+import de.heidelberg.pvs.diego.collectionswitch.manager.PerformanceGoal.PerformanceDimension;
+import de.heidelberg.pvs.diego.collectionswitch.monitors.CompletionTracker;
+import de.heidelberg.pvs.diego.collectionswitch.monitors.KeyProfile;
+import de.heidelberg.pvs.diego.collectionswitch.monitors.KeyProfile.HashMixing;
+import de.heidelberg.pvs.diego.collectionswitch.monitors.MetricsBuffer;
+import de.heidelberg.pvs.diego.collectionswitch.monitors.maps.MapActiveFullMonitor;
+import de.heidelberg.pvs.diego.collectionswitch.monitors.maps.MapLightMonitor;
+import de.heidelberg.pvs.diego.collectionswitch.monitors.maps.MapMetrics;
+import de.heidelberg.pvs.diego.collectionswitch.optimizers.SwitchGuard;
+
+public class MapEmpiricalOptimizer implements MapAllocationOptimizer {
+
+	MapAllocationContext context;
+
+	MetricsBuffer buffer;
+
+	CompletionTracker tracker;
+
+	MapIncrementalPerformanceEvaluator incrementalEvaluator;
+
+	MapMetrics finishedState;
+
+	private double finishedRatio;
+
+	private MapCollectionType defaultType;
+	private MapCollectionType currentType;
+
+	private MapEmpiricalPerformanceEvaluator evaluator;
+	private TurningPoint turningPoint;
+	
+	private PerformanceGoal goal;
+
+	// Guard of the switches and the predictions of a single instance it samples
+	private SwitchGuard<MapCollectionType> guard;
+	private MutableObjectDoubleMap<MapCollectionType> instancePerformance = new ObjectDoubleHashMap<MapCollectionType>();
+
+	// Keys of the monitored instances, if profiled
+	private KeyProfile keyProfile;
+
+	// Class of the keys the context accepts
+	private Class<?> elementType = Object.class;
+
+	public MapEmpiricalOptimizer(MapEmpiricalPerformanceEvaluator evaluator, 
+			MapCollectionType defaultType, PerformanceGoal goal, int windowSize, double finishedRatio) {
+		super();
+		
+		this.defaultType = defaultType;
+		this.currentType = defaultType;
+		this.buffer = new MetricsBuffer(MapMetrics.SLOT_WIDTH, 2 * windowSize);
+		this.tracker = new CompletionTracker();
+		this.finishedState = new MapMetrics(buffer, 0);
+		this.incrementalEvaluator = new MapIncrementalPerformanceEvaluator(evaluator);
+		this.evaluator = evaluator;
+		this.turningPoint = new TurningPoint(AdaptiveMap.DEFAULT_TURNING_POINT);
+		this.goal = goal;
+		this.guard = new SwitchGuard<MapCollectionType>(goal);
+		
+		if(finishedRatio == 0.0) {
+			this.finishedRatio = 0;
+		}  else if(finishedRatio > 1) {
+			this.finishedRatio = windowSize;
+		} else {
+			this.finishedRatio = (int) (windowSize / finishedRatio);
+			
+		}
+	}
+
+	@Override
+	public void analyzeAndOptimize() {
+
+		// Only the collections finished since the last analysis are polled and
+		// folded into the running totals
+		long finished;
+		while ((finished = tracker.pollFinished()) != CompletionTracker.NONE) {
+			// Records overwritten by newer collections are skipped
+			if (buffer.isCurrent(finished)) {
+				finishedState.moveTo(finished);
+				incrementalEvaluator.fold(finishedState);
+				sample(finishedState);
+			}
+		}
+
+		// Only analyze it when
+		if (incrementalEvaluator.getFoldedCount() >= finishedRatio) {
+
+			// Only the collections still alive are evaluated now
+			LongArrayList collectionsState = new LongArrayList(tracker.activeCount());
+			tracker.collectActive(collectionsState);
+			for (LongIterator ids = collectionsState.longIterator(); ids.hasNext();) {
+				long id = ids.next();
+				if (buffer.isCurrent(id)) {
+					finishedState.moveTo(id);
+					sample(finishedState);
+				}
+			}
+			Class<?> profiledType = getProfiledType();
+			long elements = incrementalEvaluator.countElements(buffer, collectionsState);
+
+			// Get candidates from the major performance goal
+			MutableObjectDoubleMap<MapCollectionType> majorPerformance = forElementType(penalizeClusteredHashes(
+					incrementalEvaluator.predictPerformance(buffer, collectionsState, goal.majorDimension),
+					goal.majorDimension), goal.majorDimension, profiledType, elements);
+			MutableObjectDoubleMap<MapCollectionType> majorCandidates = getCandidates(majorPerformance, goal.minImprovement);
+
+			MutableObjectDoubleMap<MapCollectionType> bestOptions;
+			
+			if(goal.maxPenalty > 0) {
+			
+			// Get candidates that fulfill the minor performance goal
+			MutableObjectDoubleMap<MapCollectionType> minorCandidates = getCandidates(
+					forElementType(penalizeClusteredHashes(
+							incrementalEvaluator.predictPerformance(buffer, collectionsState, goal.minorDimension),
+							goal.minorDimension), goal.minorDimension, profiledType, elements),
+					goal.maxPenalty);
+
+			bestOptions = majorCandidates
+					.select(new ObjectDoublePredicate<MapCollectionType>() {
+						@Override
+						public boolean accept(MapCollectionType key, double value) {
+							return minorCandidates.containsKey(key);
+						}
+					});
+			
+			} else {
+				bestOptions = majorCandidates;
+			}
+
+			// Get the top implementation - Finding the minimum value
+			// FIXME: Find a better implementation for this
+			double min = Double.MAX_VALUE;
+			MapCollectionType champion = defaultType;
+			for (MapCollectionType type : bestOptions.keySet()) {
+				double perf = bestOptions.get(type);
+				if (perf < min) {
+					champion = type;
+					min = perf;
+				}
+			}
+
+			// Noisy windows and recent switches keep the current type
+			champion = guard.decide(currentType, champion);
+
+			// Live instances only migrate when copying them costs less than what
+			// an average instance of this window saves
+			int instances = Math.max(1, incrementalEvaluator.getFoldedCount() + collectionsState.size());
+			double savings = (majorPerformance.get(currentType) - majorPerformance.get(champion)) / instances;
+			int maxMigrationSize = evaluator.maxMigrationSize(champion, goal.majorDimension, savings);
+
+			// Adaptive instances change representation where the models of both
+			// representations cross for the operations of this window
+			int crossover = evaluator.crossover(MapCollectionType.GOOGLE_ARRAYMAP, MapCollectionType.KOLOBOKE_HASHMAP,
+					goal.majorDimension, incrementalEvaluator.getAverageContainsOp(),
+					incrementalEvaluator.getAverageIterationOp());
+			if (crossover > 0) {
+				turningPoint.set(crossover);
+			}
+
+			// Reset before publishing the new type, so that the next window
+			// only holds instances created after the switch
+			incrementalEvaluator.reset();
+			tracker.clear();
+			buffer.reset();
+
+			context.updateCollectionType(champion, maxMigrationSize);
+			currentType = champion;
+		}
+
+	}
+
+	/**
+	 * Samples the predictions of one instance for the guard of the switches
+	 */
+	private void sample(MapMetrics state) {
+		if (guard.isSampling()) {
+			instancePerformance.clear();
+			evaluator.accumulatePerformance(state, goal.majorDimension, instancePerformance);
+			guard.sample(currentType, forElementType(penalizeClusteredHashes(instancePerformance, goal.majorDimension), goal.majorDimension,
+					getProfiledType(), state.getMaxSize()));
+		}
+	}
+
+	private MutableObjectDoubleMap<MapCollectionType> getCandidates(MutableObjectDoubleMap<MapCollectionType> majorPerformance,
+			double factor) {
+
+		// Gets the default performance
+		double defaultPerformance = majorPerformance.get(defaultType);
+
+		// Selects only the implementations with better performance
+		@SuppressWarnings("serial")
+		MutableObjectDoubleMap<MapCollectionType> candidates = majorPerformance
+				.select(new ObjectDoublePredicate<MapCollectionType>() {
+					@Override
+					public boolean accept(MapCollectionType object, double value) {
+						return defaultPerformance / value > factor;
+					}
+				});
+
+		return candidates;
+	}
+
+	@Override
+	public <K, V> Map<K, V> createMonitor(Map<K, V> map) {
+		long id = buffer.allocate();
+		tracker.track(map, id);
+		return new MapActiveFullMonitor<K, V>(map, buffer, id, keyProfile);
+	}
+
+	@Override
+	public <K, V> Map<K, V> createLightMonitor(Map<K, V> map, int period) {
+		long id = buffer.allocate();
+		tracker.track(map, id);
+		return new MapLightMonitor<K, V>(map, buffer, id, period, keyProfile);
+	}
+
+	/**
+	 * The models are measured with well spread keys. Open addressing probes
+	 * longer when the profiled hash codes cluster after the mixing of the
+	 * table, so its time is scaled by that clustering.
+	 */
+	private MutableObjectDoubleMap<MapCollectionType> penalizeClusteredHashes(
+			MutableObjectDoubleMap<MapCollectionType> performance, PerformanceDimension dimension) {
+
+		if (keyProfile == null || dimension != PerformanceDimension.TIME || !keyProfile.isClustered()) {
+			return performance;
+		}
+
+		for (MapCollectionType type : MapCollectionType.values()) {
+			HashMixing mixing = type.getHashMixing();
+			if (mixing != null && performance.containsKey(type) && keyProfile.isClustered(mixing)) {
+				performance.put(type, performance.get(type) * keyProfile.getClustering(mixing));
+			}
+		}
+		return performance;
+	}
+
+	/**
+	 * Only the implementations that accept the profiled key. When a generic
+	 * context only holds Integer or Long keys, the generic implementations are
+	 * charged the box of each key, which their footprint models exclude and
+	 * the primitive ones do not retain.
+	 */
+	private MutableObjectDoubleMap<MapCollectionType> forElementType(
+			MutableObjectDoubleMap<MapCollectionType> performance, PerformanceDimension dimension,
+			Class<?> profiledType, long elements) {
+
+		double boxes = 0;
+		if (dimension == PerformanceDimension.MEMORY_FOOTPRINT && profiledType != elementType) {
+			boxes = KeyProfile.boxSize(profiledType) * elements;
+		}
+
+		for (MapCollectionType type : MapCollectionType.values()) {
+			if (!performance.containsKey(type)) {
+				continue;
+			}
+			if (!type.accepts(profiledType)) {
+				performance.removeKey(type);
+			} else if (type.accepts(Object.class)) {
+				performance.addToValue(type, boxes);
+			}
+		}
+		return performance;
+	}
+
+	/**
+	 * Class of the keys of the context, or of all the profiled keys of a
+	 * generic context
+	 */
+	private Class<?> getProfiledType() {
+		if (elementType != Object.class || keyProfile == null) {
+			return elementType;
+		}
+		return keyProfile.getElementType();
+	}
+
+	/**
+	 * Class of the keys the context accepts, {@code Object} by default. Only
+	 * generic contexts move to primitive implementations on their profile
+	 */
+	public void setElementType(Class<?> elementType) {
+		this.elementType = elementType;
+	}
+
+	/**
+	 * Profiles the keys of the monitored instances with the given profile,
+	 * or stops profiling if it is {@code null}
+	 */
+	public void setKeyProfile(KeyProfile keyProfile) {
+		this.keyProfile = keyProfile;
+	}
+
+	public KeyProfile getKeyProfile() {
+		return keyProfile;
+	}
+
+	@Override
+	public TurningPoint getTurningPoint() {
+		return turningPoint;
+	}
+
+	@Override
+	public void setContext(MapAllocationContext context) {
+		this.context = context;
+
+	}
+
+}
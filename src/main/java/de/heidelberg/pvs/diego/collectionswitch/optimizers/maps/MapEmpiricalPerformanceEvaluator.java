@@ -1,50 +1,164 @@
-package de.heidelberg.pvs.diego.collectionswitch.optimizers.maps;
-
-import java.lang.reflect.Array;
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.List;
-import java.util.Map;
-
-import org.eclipse.collections.api.map.primitive.MutableObjectDoubleMap;
-import org.eclipse.collections.impl.map.mutable.UnifiedMap;
-import org.eclipse.collections.impl.map.mutable.primitive.ObjectDoubleHashMap;
-
-import de.heidelberg.pvs.diego.collectionswitch.context.MapCollectionType;
-import de.heidelberg.pvs.diego.collectionswitch.manager.PerformanceGoal.PerformanceDimension;
-import de.heidelberg.pvs.diego.collectionswitch.monitors.maps.MapMetrics;
-
-public class MapEmpiricalPerformanceEvaluator {
-	
-	private Map<PerformanceDimension, List<MapPerformanceModel>> empiricalModel = 
-			new UnifiedMap<PerformanceDimension, List<MapPerformanceModel>>();
-
-	public void addEmpiricalModel(PerformanceDimension dimension, List<MapPerformanceModel> performanceModel) {
-		// FIXME: This method REWRITES the empirical model every time
-		// We need to find a better way of handling this
-		empiricalModel.put(dimension, performanceModel);
-	}
-
-	public MutableObjectDoubleMap<MapCollectionType> predictPerformance(List<MapMetrics> collectionsState,
-			PerformanceDimension dimension) {
-
-		MutableObjectDoubleMap<MapCollectionType> performanceResult = new ObjectDoubleHashMap<MapCollectionType>(empiricalModel.size());
-
-		List<MapPerformanceModel> models = empiricalModel.getOrDefault(dimension, Collections.EMPTY_LIST);
-
-		// For each monitored collection
-		for (MapMetrics state : collectionsState) {
-
-			// For each model
-			for (MapPerformanceModel model : models) {
-
-				// Accumulate the performance of each implementation
-				performanceResult.addToValue(model.getType(), model.calculatePerformance(state));
-			}
-		}
-
-		return performanceResult;
-
-	}
-
-}
+package de.heidelberg.pvs.diego.collectionswitch.optimizers.maps;
+
+import java.lang.reflect.Array;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.collections.api.LongIterable;
+import org.eclipse.collections.api.iterator.LongIterator;
+import org.eclipse.collections.api.map.primitive.MutableObjectDoubleMap;
+import org.eclipse.collections.impl.map.mutable.UnifiedMap;
+import org.eclipse.collections.impl.map.mutable.primitive.ObjectDoubleHashMap;
+
+import de.heidelberg.pvs.diego.collectionswitch.context.MapCollectionType;
+import de.heidelberg.pvs.diego.collectionswitch.manager.PerformanceGoal.PerformanceDimension;
+import de.heidelberg.pvs.diego.collectionswitch.monitors.MetricsBuffer;
+import de.heidelberg.pvs.diego.collectionswitch.monitors.maps.MapMetrics;
+
+public class MapEmpiricalPerformanceEvaluator {
+
+	// Largest size the populate models are searched for
+	private static final int MAX_MIGRATION_SIZE = 1 << 20;
+
+	// Largest size the turning point is searched for
+	private static final int MAX_TURNING_POINT = 4096;
+	
+	private Map<PerformanceDimension, List<MapPerformanceModel>> empiricalModel = 
+			new UnifiedMap<PerformanceDimension, List<MapPerformanceModel>>();
+
+	public void addEmpiricalModel(PerformanceDimension dimension, List<MapPerformanceModel> performanceModel) {
+		// FIXME: This method REWRITES the empirical model every time
+		// We need to find a better way of handling this
+		empiricalModel.put(dimension, performanceModel);
+	}
+
+	public Set<PerformanceDimension> getDimensions() {
+		return empiricalModel.keySet();
+	}
+
+	/**
+	 * Largest instance that can be copied into the given type for at most the
+	 * given cost, according to its populate model
+	 */
+	public int maxMigrationSize(MapCollectionType type, PerformanceDimension dimension, double budget) {
+
+		MapPerformanceModel model = getModel(type, dimension);
+
+		if (model == null || budget <= 0) {
+			return 0;
+		}
+
+		// Doubles until the budget is exceeded, then searches the last interval
+		int size = 1;
+		while (model.calculatePopulate(size) <= budget) {
+			if (size >= MAX_MIGRATION_SIZE) {
+				return Integer.MAX_VALUE;
+			}
+			size <<= 1;
+		}
+
+		int low = size >> 1;
+		int high = size - 1;
+		while (low < high) {
+			int middle = (low + high + 1) >>> 1;
+			if (model.calculatePopulate(middle) <= budget) {
+				low = middle;
+			} else {
+				high = middle - 1;
+			}
+		}
+		return low;
+
+	}
+
+	/**
+	 * Smallest size from which the large implementation performs better than
+	 * the small one for the given operation mix, or 0 without models for both
+	 */
+	public int crossover(MapCollectionType small, MapCollectionType large, PerformanceDimension dimension,
+			double containsOp, double iterationOp) {
+
+		MapPerformanceModel smallModel = getModel(small, dimension);
+		MapPerformanceModel largeModel = getModel(large, dimension);
+
+		if (smallModel == null || largeModel == null) {
+			return 0;
+		}
+
+		for (int size = 1; size < MAX_TURNING_POINT; size++) {
+			if (largeModel.calculatePerformance(size, containsOp, iterationOp) < smallModel
+					.calculatePerformance(size, containsOp, iterationOp)) {
+				return size;
+			}
+		}
+		return MAX_TURNING_POINT;
+
+	}
+
+	private MapPerformanceModel getModel(MapCollectionType type, PerformanceDimension dimension) {
+		for (MapPerformanceModel model : empiricalModel.getOrDefault(dimension, Collections.<MapPerformanceModel>emptyList())) {
+			if (model.getType() == type) {
+				return model;
+			}
+		}
+		return null;
+	}
+
+	public MutableObjectDoubleMap<MapCollectionType> predictPerformance(MetricsBuffer buffer, LongIterable collectionsState,
+			PerformanceDimension dimension) {
+
+		MutableObjectDoubleMap<MapCollectionType> performanceResult = new ObjectDoubleHashMap<MapCollectionType>(empiricalModel.size());
+
+		return predictPerformance(buffer, collectionsState, dimension, performanceResult);
+
+	}
+
+	/**
+	 * Adds the prediction of the given records to an existing result
+	 */
+	public MutableObjectDoubleMap<MapCollectionType> predictPerformance(MetricsBuffer buffer, LongIterable collectionsState,
+			PerformanceDimension dimension, MutableObjectDoubleMap<MapCollectionType> performanceResult) {
+
+		// Single view moved over the packed records
+		MapMetrics state = new MapMetrics(buffer, 0);
+
+		// For each monitored collection
+		LongIterator ids = collectionsState.longIterator();
+		while (ids.hasNext()) {
+
+			long id = ids.next();
+			if (!buffer.isCurrent(id)) {
+				continue;
+			}
+			state.moveTo(id);
+
+			accumulatePerformance(state, dimension, performanceResult);
+		}
+
+		return performanceResult;
+
+	}
+
+	/**
+	 * Adds the predicted performance of a single collection for each
+	 * implementation
+	 */
+	public void accumulatePerformance(MapMetrics state, PerformanceDimension dimension,
+			MutableObjectDoubleMap<MapCollectionType> performanceResult) {
+
+		List<MapPerformanceModel> models = empiricalModel.getOrDefault(dimension, Collections.EMPTY_LIST);
+
+		// For each model
+		for (MapPerformanceModel model : models) {
+
+			// Accumulate the performance of each implementation
+			performanceResult.addToValue(model.getType(),
+					model.calculatePerformance(state));
+		}
+
+	}
+
+}
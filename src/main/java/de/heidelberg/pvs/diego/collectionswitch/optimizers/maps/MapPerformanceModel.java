@@ -1,55 +1,110 @@
-package de.heidelberg.pvs.diego.collectionswitch.optimizers.maps;
-
-import org.apache.commons.math3.analysis.UnivariateFunction;
-import org.apache.commons.math3.analysis.polynomials.PolynomialFunction;
-
-import de.heidelberg.pvs.diego.collectionswitch.context.MapCollectionType;
-import de.heidelberg.pvs.diego.collectionswitch.monitors.maps.MapMetrics;
-
-public class MapPerformanceModel {
-
-	private MapCollectionType type;
-
-	private UnivariateFunction contains;
-	private UnivariateFunction populate;
-	private UnivariateFunction iterate;
-
-	public MapPerformanceModel(MapCollectionType type, double[] populate, double[] contains, double[] iterate) {
-		super();
-		this.type = type;
-		this.contains = new PolynomialFunction(contains);
-		this.populate = new PolynomialFunction(populate);
-		this.iterate = new PolynomialFunction(iterate);
-	}
-
-	public MapPerformanceModel(MapCollectionType type) {
-		super();
-		this.type = type;
-	}
-
-	public void setContains(double[] contains) {
-		this.contains = new PolynomialFunction(contains);
-	}
-
-	public void setPopulate(double[] populate) {
-		this.populate = new PolynomialFunction(populate);
-	}
-
-	public void setIterate(double[] iterate) {
-		this.iterate = new PolynomialFunction(iterate);
-	}
-
-	public double calculatePerformance(MapMetrics state) {
-		// FIXME: Flexibilize here
-		int size = state.getMaxSize();
-
-		return 1 * populate.value(size) 
-				+ state.getContainsOp() * contains.value(size)
-				+ state.getIterationOp() * iterate.value(size);
-	}
-
-	public MapCollectionType getType() {
-		return type;
-	}
-
-}
+package de.heidelberg.pvs.diego.collectionswitch.optimizers.maps;
+
+import org.apache.commons.math3.analysis.UnivariateFunction;
+import org.apache.commons.math3.analysis.polynomials.PolynomialFunction;
+
+import de.heidelberg.pvs.diego.collectionswitch.context.MapCollectionType;
+import de.heidelberg.pvs.diego.collectionswitch.monitors.maps.MapMetrics;
+
+public class MapPerformanceModel {
+
+	// Cost of the key operations without a measured model
+	private static final UnivariateFunction NONE = new PolynomialFunction(new double[] { 0 });
+
+	private MapCollectionType type;
+
+	private UnivariateFunction contains;
+	private UnivariateFunction populate;
+	private UnivariateFunction iterate;
+
+	// Cost of a single key operation for a given size, gets costing as much as
+	// a contains unless measured
+	private UnivariateFunction hit;
+	private UnivariateFunction miss;
+	private UnivariateFunction putNew = NONE;
+	private UnivariateFunction overwrite = NONE;
+	private UnivariateFunction remove = NONE;
+
+	public MapPerformanceModel(MapCollectionType type, double[] populate, double[] contains, double[] iterate) {
+		super();
+		this.type = type;
+		this.contains = new PolynomialFunction(contains);
+		this.populate = new PolynomialFunction(populate);
+		this.iterate = new PolynomialFunction(iterate);
+	}
+
+	/**
+	 * Model with the cost of gets that hit and miss, of puts of new keys, of
+	 * overwrites and of removals
+	 */
+	public MapPerformanceModel(MapCollectionType type, double[] populate, double[] contains, double[] iterate,
+			double[] hit, double[] miss, double[] putNew, double[] overwrite, double[] remove) {
+		this(type, populate, contains, iterate);
+		this.hit = new PolynomialFunction(hit);
+		this.miss = new PolynomialFunction(miss);
+		this.putNew = new PolynomialFunction(putNew);
+		this.overwrite = new PolynomialFunction(overwrite);
+		this.remove = new PolynomialFunction(remove);
+	}
+
+	public MapPerformanceModel(MapCollectionType type) {
+		super();
+		this.type = type;
+	}
+
+	public void setContains(double[] contains) {
+		this.contains = new PolynomialFunction(contains);
+	}
+
+	public void setPopulate(double[] populate) {
+		this.populate = new PolynomialFunction(populate);
+	}
+
+	public void setIterate(double[] iterate) {
+		this.iterate = new PolynomialFunction(iterate);
+	}
+
+	public double calculatePerformance(MapMetrics state) {
+		int size = state.getMaxSize();
+		// Populating covers the puts up to the largest size, only the keys
+		// added again after removals are charged on their own
+		int churn = Math.max(0, state.getPutNewOp() - size);
+		return populate.value(size)
+				+ state.getContainsOp() * contains.value(size)
+				+ state.getHitOp() * (hit != null ? hit : contains).value(size)
+				+ state.getMissOp() * (miss != null ? miss : contains).value(size)
+				+ churn * putNew.value(size)
+				+ state.getOverwriteOp() * overwrite.value(size)
+				+ state.getRemoveOp() * remove.value(size)
+				+ state.getVisitOp() * calculateVisit(size);
+	}
+
+	/**
+	 * Cost of an instance of the given size with the given operation counts
+	 */
+	public double calculatePerformance(int size, double containsOp, double iterationOp) {
+		return populate.value(size) 
+				+ containsOp * contains.value(size)
+				+ iterationOp * iterate.value(size);
+	}
+
+	/**
+	 * Cost of visiting one element while iterating an instance of the given
+	 * size, the share of a full iteration
+	 */
+	public double calculateVisit(int size) {
+		return iterate.value(size) / Math.max(1, size);
+	}
+
+	/**
+	 * Cost of populating an instance with the given number of elements
+	 */
+	public double calculatePopulate(int size) {
+		return populate.value(size);
+	}
+
+	public MapCollectionType getType() {
+		return type;
+	}
+
+}
@@ -0,0 +1,21 @@
+package de.heidelberg.pvs.diego.collectionswitch.optimizers.queues;
+
+import java.util.Deque;
+import java.util.Queue;
+
+import de.heidelberg.pvs.diego.collectionswitch.context.AllocationContextUpdatable;
+import de.heidelberg.pvs.diego.collectionswitch.context.QueueCollectionType;
+import de.heidelberg.pvs.diego.collectionswitch.optimizers.AllocationOptimizer;
+
+/**
+ * Optimizer of a context of queues or of deques, which share their types
+ */
+public interface QueueAllocationOptimizer extends AllocationOptimizer {
+
+	public <E> Queue<E> createMonitor(Queue<E> queue);
+
+	public <E> Deque<E> createDequeMonitor(Deque<E> deque);
+
+	public void setContext(AllocationContextUpdatable<QueueCollectionType> context);
+
+}
@@ -0,0 +1,160 @@
+package de.heidelberg.pvs.diego.collectionswitch.optimizers.queues;
+
+import java.util.Deque;
+import java.util.Queue;
+
+import org.eclipse.collections.api.block.predicate.primitive.ObjectDoublePredicate;
+import org.eclipse.collections.api.map.primitive.MutableObjectDoubleMap;
+import org.eclipse.collections.impl.list.mutable.primitive.LongArrayList;
+
+import de.heidelberg.pvs.diego.collectionswitch.context.AllocationContextUpdatable;
+import de.heidelberg.pvs.diego.collectionswitch.context.QueueCollectionType;
+import de.heidelberg.pvs.diego.collectionswitch.manager.PerformanceGoal;
+import de.heidelberg.pvs.diego.collectionswitch.monitors.CompletionTracker;
+import de.heidelberg.pvs.diego.collectionswitch.monitors.MetricsBuffer;
+import de.heidelberg.pvs.diego.collectionswitch.monitors.queues.DequeActiveFullMonitor;
+import de.heidelberg.pvs.diego.collectionswitch.monitors.queues.QueueActiveFullMonitor;
+import de.heidelberg.pvs.diego.collectionswitch.monitors.queues.QueueMetrics;
+
+/**
+ * Empirical optimizer of the contexts of queues and deques.
+ *
+ * Only the implementations of the family of the default type are candidates:
+ * a FIFO queue never becomes a priority queue, nor the other way around.
+ * Contexts of deques start with a deque, so their candidates are deques too.
+ */
+public class QueueEmpiricalOptimizer implements QueueAllocationOptimizer {
+
+	private MetricsBuffer buffer;
+
+	private CompletionTracker tracker;
+
+	private QueueIncrementalPerformanceEvaluator incrementalEvaluator;
+
+	private QueueMetrics finishedState;
+
+	private AllocationContextUpdatable<QueueCollectionType> context;
+	private QueueCollectionType defaultType;
+
+	private int finishedRatio;
+
+	private PerformanceGoal goal;
+
+	public QueueEmpiricalOptimizer(QueueEmpiricalPerformanceEvaluator evaluator, QueueCollectionType defaultType,
+			PerformanceGoal goal, int windowSize, double finishedRatio) {
+		this.buffer = new MetricsBuffer(QueueMetrics.SLOT_WIDTH, 2 * windowSize);
+		this.tracker = new CompletionTracker();
+		this.finishedState = new QueueMetrics(buffer, 0);
+		this.incrementalEvaluator = new QueueIncrementalPerformanceEvaluator(evaluator);
+		this.defaultType = defaultType;
+		this.goal = goal;
+
+		if (finishedRatio == 0.0) {
+			this.finishedRatio = 0;
+		} else if (finishedRatio > 1) {
+			this.finishedRatio = windowSize;
+		} else {
+			this.finishedRatio = (int) (windowSize / finishedRatio);
+		}
+
+	}
+
+	@Override
+	public <E> Queue<E> createMonitor(Queue<E> queue) {
+		long id = buffer.allocate();
+		tracker.track(queue, id);
+		return new QueueActiveFullMonitor<E>(queue, buffer, id);
+	}
+
+	@Override
+	public <E> Deque<E> createDequeMonitor(Deque<E> deque) {
+		long id = buffer.allocate();
+		tracker.track(deque, id);
+		return new DequeActiveFullMonitor<E>(deque, buffer, id);
+	}
+
+	@SuppressWarnings("serial")
+	@Override
+	public void analyzeAndOptimize() {
+
+		// Only the queues finished since the last analysis are polled and
+		// folded into the running totals
+		long finished;
+		while ((finished = tracker.pollFinished()) != CompletionTracker.NONE) {
+			if (buffer.isCurrent(finished)) {
+				finishedState.moveTo(finished);
+				incrementalEvaluator.fold(finishedState);
+			}
+		}
+
+		if (incrementalEvaluator.getFoldedCount() >= finishedRatio) {
+
+			LongArrayList collectionsState = new LongArrayList(tracker.activeCount());
+			tracker.collectActive(collectionsState);
+
+			MutableObjectDoubleMap<QueueCollectionType> majorCandidates = getCandidates(
+					incrementalEvaluator.predictPerformance(buffer, collectionsState, goal.majorDimension),
+					goal.minImprovement);
+
+			MutableObjectDoubleMap<QueueCollectionType> bestOptions;
+			if (goal.maxPenalty > 0) {
+				MutableObjectDoubleMap<QueueCollectionType> minorCandidates = getCandidates(
+						incrementalEvaluator.predictPerformance(buffer, collectionsState, goal.minorDimension),
+						goal.maxPenalty);
+				bestOptions = majorCandidates.select(new ObjectDoublePredicate<QueueCollectionType>() {
+					@Override
+					public boolean accept(QueueCollectionType key, double value) {
+						return minorCandidates.containsKey(key);
+					}
+				});
+			} else {
+				bestOptions = majorCandidates;
+			}
+
+			double min = Double.MAX_VALUE;
+			QueueCollectionType champion = defaultType;
+			for (QueueCollectionType type : bestOptions.keySet()) {
+				double perf = bestOptions.get(type);
+				if (perf < min) {
+					champion = type;
+					min = perf;
+				}
+			}
+
+			// Reset before publishing the new type, so that the next window
+			// only holds instances created after the switch
+			incrementalEvaluator.reset();
+			tracker.clear();
+			buffer.reset();
+
+			context.updateCollectionType(champion);
+		}
+
+	}
+
+	private MutableObjectDoubleMap<QueueCollectionType> getCandidates(
+			MutableObjectDoubleMap<QueueCollectionType> performance, double factor) {
+
+		// Gets the default performance
+		double defaultPerformance = performance.get(defaultType);
+
+		// Selects only the implementations of the same family with better
+		// performance
+		@SuppressWarnings("serial")
+		MutableObjectDoubleMap<QueueCollectionType> candidates = performance
+				.select(new ObjectDoublePredicate<QueueCollectionType>() {
+					@Override
+					public boolean accept(QueueCollectionType type, double value) {
+						return type.isPriority() == defaultType.isPriority() && defaultPerformance / value > factor;
+					}
+				});
+
+		return candidates;
+	}
+
+	@Override
+	public void setContext(AllocationContextUpdatable<QueueCollectionType> context) {
+		this.context = context;
+	}
+
+}
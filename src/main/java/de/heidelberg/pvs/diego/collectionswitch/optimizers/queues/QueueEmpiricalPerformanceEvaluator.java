@@ -0,0 +1,91 @@
+package de.heidelberg.pvs.diego.collectionswitch.optimizers.queues;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.collections.api.LongIterable;
+import org.eclipse.collections.api.iterator.LongIterator;
+import org.eclipse.collections.api.map.primitive.MutableObjectDoubleMap;
+import org.eclipse.collections.impl.map.mutable.UnifiedMap;
+import org.eclipse.collections.impl.map.mutable.primitive.ObjectDoubleHashMap;
+
+import de.heidelberg.pvs.diego.collectionswitch.context.QueueCollectionType;
+import de.heidelberg.pvs.diego.collectionswitch.manager.PerformanceGoal.PerformanceDimension;
+import de.heidelberg.pvs.diego.collectionswitch.monitors.MetricsBuffer;
+import de.heidelberg.pvs.diego.collectionswitch.monitors.queues.QueueMetrics;
+
+public class QueueEmpiricalPerformanceEvaluator {
+
+	private Map<PerformanceDimension, List<QueuePerformanceModel>> queueEmpiricalModel = new UnifiedMap<PerformanceDimension, List<QueuePerformanceModel>>();
+
+	public QueueEmpiricalPerformanceEvaluator() {
+		super();
+	}
+
+	public QueueEmpiricalPerformanceEvaluator(PerformanceDimension dimension, List<QueuePerformanceModel> performanceModel) {
+		queueEmpiricalModel.put(dimension, performanceModel);
+	}
+
+	public void addEmpiricalModel(PerformanceDimension dimension, List<QueuePerformanceModel> performanceModel) {
+		queueEmpiricalModel.put(dimension, performanceModel);
+	}
+
+	public Set<PerformanceDimension> getDimensions() {
+		return queueEmpiricalModel.keySet();
+	}
+
+	public MutableObjectDoubleMap<QueueCollectionType> predictPerformance(MetricsBuffer buffer,
+			LongIterable collectionsState, PerformanceDimension dimension) {
+
+		MutableObjectDoubleMap<QueueCollectionType> performanceResult = new ObjectDoubleHashMap<QueueCollectionType>(
+				queueEmpiricalModel.size());
+
+		return predictPerformance(buffer, collectionsState, dimension, performanceResult);
+
+	}
+
+	/**
+	 * Adds the prediction of the given records to an existing result
+	 */
+	public MutableObjectDoubleMap<QueueCollectionType> predictPerformance(MetricsBuffer buffer,
+			LongIterable collectionsState, PerformanceDimension dimension,
+			MutableObjectDoubleMap<QueueCollectionType> performanceResult) {
+
+		// Single view moved over the packed records
+		QueueMetrics state = new QueueMetrics(buffer, 0);
+
+		LongIterator ids = collectionsState.longIterator();
+		while (ids.hasNext()) {
+
+			long id = ids.next();
+			if (!buffer.isCurrent(id)) {
+				continue;
+			}
+			state.moveTo(id);
+
+			accumulatePerformance(state, dimension, performanceResult);
+		}
+
+		return performanceResult;
+
+	}
+
+	/**
+	 * Adds the predicted performance of a single collection for each
+	 * implementation
+	 */
+	public void accumulatePerformance(QueueMetrics state, PerformanceDimension dimension,
+			MutableObjectDoubleMap<QueueCollectionType> performanceResult) {
+
+		List<QueuePerformanceModel> models = queueEmpiricalModel.getOrDefault(dimension,
+				Collections.<QueuePerformanceModel>emptyList());
+
+		for (QueuePerformanceModel model : models) {
+			performanceResult.addToValue(model.getType(), model.calculatePerformance(state));
+		}
+
+	}
+
+}
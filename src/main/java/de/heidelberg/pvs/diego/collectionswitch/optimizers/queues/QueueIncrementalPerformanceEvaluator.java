@@ -0,0 +1,74 @@
+package de.heidelberg.pvs.diego.collectionswitch.optimizers.queues;
+
+import java.util.Map;
+
+import org.eclipse.collections.api.LongIterable;
+import org.eclipse.collections.api.map.primitive.MutableObjectDoubleMap;
+import org.eclipse.collections.impl.map.mutable.UnifiedMap;
+import org.eclipse.collections.impl.map.mutable.primitive.ObjectDoubleHashMap;
+
+import de.heidelberg.pvs.diego.collectionswitch.context.QueueCollectionType;
+import de.heidelberg.pvs.diego.collectionswitch.manager.PerformanceGoal.PerformanceDimension;
+import de.heidelberg.pvs.diego.collectionswitch.monitors.MetricsBuffer;
+import de.heidelberg.pvs.diego.collectionswitch.monitors.queues.QueueMetrics;
+
+/**
+ * Keeps the predicted performance of the finished queues as running totals
+ * per implementation, see
+ * {@link de.heidelberg.pvs.diego.collectionswitch.optimizers.lists.ListIncrementalPerformanceEvaluator}
+ */
+public class QueueIncrementalPerformanceEvaluator {
+
+	private final QueueEmpiricalPerformanceEvaluator evaluator;
+
+	private final Map<PerformanceDimension, MutableObjectDoubleMap<QueueCollectionType>> totals;
+
+	private int foldedCount;
+
+	public QueueIncrementalPerformanceEvaluator(QueueEmpiricalPerformanceEvaluator evaluator) {
+		this.evaluator = evaluator;
+		this.totals = new UnifiedMap<PerformanceDimension, MutableObjectDoubleMap<QueueCollectionType>>();
+	}
+
+	/**
+	 * Adds a finished queue to the running totals of every dimension
+	 */
+	public void fold(QueueMetrics state) {
+		for (PerformanceDimension dimension : evaluator.getDimensions()) {
+			MutableObjectDoubleMap<QueueCollectionType> total = totals.get(dimension);
+			if (total == null) {
+				total = new ObjectDoubleHashMap<QueueCollectionType>();
+				totals.put(dimension, total);
+			}
+			evaluator.accumulatePerformance(state, dimension, total);
+		}
+		foldedCount++;
+	}
+
+	public int getFoldedCount() {
+		return foldedCount;
+	}
+
+	/**
+	 * Running totals plus the prediction of the queues still alive
+	 */
+	public MutableObjectDoubleMap<QueueCollectionType> predictPerformance(MetricsBuffer buffer,
+			LongIterable activeState, PerformanceDimension dimension) {
+
+		MutableObjectDoubleMap<QueueCollectionType> performanceResult = new ObjectDoubleHashMap<QueueCollectionType>();
+		MutableObjectDoubleMap<QueueCollectionType> folded = totals.get(dimension);
+		if (folded != null) {
+			performanceResult.putAll(folded);
+		}
+
+		return evaluator.predictPerformance(buffer, activeState, dimension, performanceResult);
+	}
+
+	public void reset() {
+		for (MutableObjectDoubleMap<QueueCollectionType> total : totals.values()) {
+			total.clear();
+		}
+		foldedCount = 0;
+	}
+
+}
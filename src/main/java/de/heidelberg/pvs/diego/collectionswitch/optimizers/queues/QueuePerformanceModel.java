@@ -0,0 +1,61 @@
+package de.heidelberg.pvs.diego.collectionswitch.optimizers.queues;
+
+import org.apache.commons.math3.analysis.UnivariateFunction;
+import org.apache.commons.math3.analysis.polynomials.PolynomialFunction;
+
+import de.heidelberg.pvs.diego.collectionswitch.context.QueueCollectionType;
+import de.heidelberg.pvs.diego.collectionswitch.monitors.queues.QueueMetrics;
+
+public class QueuePerformanceModel {
+
+	private final QueueCollectionType type;
+
+	// Cost of creating an instance that grows to a given size, without the
+	// cost of its offers
+	private final UnivariateFunction create;
+
+	// Cost of a single operation for a given size
+	private final UnivariateFunction offer;
+	private final UnivariateFunction poll;
+	private final UnivariateFunction peek;
+	private final UnivariateFunction contains;
+
+	private final UnivariateFunction iterate;
+
+	public QueuePerformanceModel(QueueCollectionType type, double[] create, double[] offer, double[] poll,
+			double[] peek, double[] contains, double[] iterate) {
+		super();
+		this.type = type;
+		this.create = new PolynomialFunction(create);
+		this.offer = new PolynomialFunction(offer);
+		this.poll = new PolynomialFunction(poll);
+		this.peek = new PolynomialFunction(peek);
+		this.contains = new PolynomialFunction(contains);
+		this.iterate = new PolynomialFunction(iterate);
+	}
+
+	public double calculatePerformance(QueueMetrics state) {
+		int size = state.getMaxSize();
+		// Iterations are charged for the elements they visited, so early exits
+		// cost less than full scans
+		return create.value(size)
+				+ state.getOfferOp() * offer.value(size)
+				+ state.getPollOp() * poll.value(size)
+				+ state.getPeekOp() * peek.value(size)
+				+ state.getContainsOp() * contains.value(size)
+				+ state.getVisitOp() * calculateVisit(size);
+	}
+
+	/**
+	 * Cost of visiting one element while iterating an instance of the given
+	 * size, the share of a full iteration
+	 */
+	public double calculateVisit(int size) {
+		return iterate.value(size) / Math.max(1, size);
+	}
+
+	public QueueCollectionType getType() {
+		return type;
+	}
+
+}
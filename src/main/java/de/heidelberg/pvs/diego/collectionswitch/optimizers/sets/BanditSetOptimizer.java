@@ -0,0 +1,78 @@
+package de.heidelberg.pvs.diego.collectionswitch.optimizers.sets;
+
+import java.util.List;
+import java.util.Set;
+
+import org.eclipse.collections.impl.list.mutable.FastList;
+
+import de.heidelberg.pvs.diego.collectionswitch.adaptive.AdaptiveSet;
+import de.heidelberg.pvs.diego.collectionswitch.adaptive.TurningPoint;
+import de.heidelberg.pvs.diego.collectionswitch.context.SetAllocationContext;
+import de.heidelberg.pvs.diego.collectionswitch.context.SetCollectionType;
+import de.heidelberg.pvs.diego.collectionswitch.manager.PerformanceGoal;
+import de.heidelberg.pvs.diego.collectionswitch.monitors.TimedSet;
+import de.heidelberg.pvs.diego.collectionswitch.optimizers.BanditOptimizer;
+import de.heidelberg.pvs.diego.collectionswitch.optimizers.BanditPolicy.Strategy;
+
+/**
+ * Set optimizer over the measured cost of the instances, see
+ * {@link BanditOptimizer}. The arms are the types that accept the elements of
+ * the context.
+ */
+public class BanditSetOptimizer extends BanditOptimizer<SetCollectionType> implements SetAllocationOptimizer {
+
+	private SetAllocationContext context;
+	private final TurningPoint turningPoint = new TurningPoint(AdaptiveSet.DEFAULT_TURNING_POINT);
+
+	public BanditSetOptimizer(SetCollectionType defaultType, Class<?> elementType, PerformanceGoal goal,
+			Strategy strategy, double epsilon, int capacity) {
+		super(arms(defaultType, elementType), defaultType, goal, strategy, epsilon, capacity);
+	}
+
+	/**
+	 * Measures a new set of the arm, created since {@code start}
+	 */
+	public <E> Set<E> measure(Set<E> set, SetCollectionType arm, long start) {
+		long id = track(set, arm, start);
+		return new TimedSet<E>(set, buffer, id, meter);
+	}
+
+	@Override
+	public <E> Set<E> createMonitor(Set<E> set) {
+		return measure(set, getCurrentType(), start());
+	}
+
+	/**
+	 * Costs are measured on every operation, so the period is ignored
+	 */
+	@Override
+	public <E> Set<E> createLightMonitor(Set<E> set, int period) {
+		return createMonitor(set);
+	}
+
+	@Override
+	public void setContext(SetAllocationContext context) {
+		this.context = context;
+	}
+
+	@Override
+	public TurningPoint getTurningPoint() {
+		return turningPoint;
+	}
+
+	@Override
+	protected void publish(SetCollectionType type) {
+		context.updateCollectionType(type);
+	}
+
+	private static List<SetCollectionType> arms(SetCollectionType defaultType, Class<?> elementType) {
+		FastList<SetCollectionType> arms = new FastList<SetCollectionType>();
+		for (SetCollectionType type : SetCollectionType.values()) {
+			if (type == defaultType || type.accepts(elementType)) {
+				arms.add(type);
+			}
+		}
+		return arms;
+	}
+
+}
@@ -1,16 +1,29 @@
-package de.heidelberg.pvs.diego.collectionswitch.optimizers.sets;
-
-import java.util.Set;
-
-import de.heidelberg.pvs.diego.collectionswitch.context.SetAllocationContext;
-import de.heidelberg.pvs.diego.collectionswitch.optimizers.AllocationOptimizer;
-
-public interface SetAllocationOptimizer extends AllocationOptimizer {
-	
-	public <E> Set<E> createMonitor(Set<E> set);
-	
-	public void analyzeAndOptimize();
-	
-	public void setContext(SetAllocationContext optimizer);
-
-}
+package de.heidelberg.pvs.diego.collectionswitch.optimizers.sets;
+
+import java.util.Set;
+
+import de.heidelberg.pvs.diego.collectionswitch.adaptive.TurningPoint;
+import de.heidelberg.pvs.diego.collectionswitch.context.SetAllocationContext;
+import de.heidelberg.pvs.diego.collectionswitch.monitors.sets.SetLightMonitor;
+import de.heidelberg.pvs.diego.collectionswitch.optimizers.AllocationOptimizer;
+
+public interface SetAllocationOptimizer extends AllocationOptimizer {
+	
+	public <E> Set<E> createMonitor(Set<E> set);
+
+	/**
+	 * Monitor recording one in every {@code period} operations, see
+	 * {@link SetLightMonitor}
+	 */
+	public <E> Set<E> createLightMonitor(Set<E> set, int period);
+	
+	public void analyzeAndOptimize();
+	
+	public void setContext(SetAllocationContext optimizer);
+
+	/**
+	 * Turning point shared by the adaptive collections of the context
+	 */
+	public TurningPoint getTurningPoint();
+
+}
@@ -1,148 +1,324 @@
-package de.heidelberg.pvs.diego.collectionswitch.optimizers.sets;
-
-import java.lang.ref.WeakReference;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Set;
-
-import org.eclipse.collections.api.block.predicate.primitive.ObjectDoublePredicate;
-import org.eclipse.collections.api.map.primitive.MutableObjectDoubleMap;
-
-import de.heidelberg.pvs.diego.collectionswitch.context.SetAllocationContext;
-import de.heidelberg.pvs.diego.collectionswitch.context.SetCollectionType;
-import de.heidelberg.pvs.diego.collectionswitch.manager.PerformanceGoal;
-import de.heidelberg.pvs.diego.collectionswitch.manager.PerformanceGoal.PerformanceDimension;
-import de.heidelberg.pvs.diego.collectionswitch.monitors.sets.SetActiveFullMonitor;
-import de.heidelberg.pvs.diego.collectionswitch.monitors.sets.SetMetrics;
-
-public class SetEmpiricalOptimizer implements SetAllocationOptimizer {
-
-	SetAllocationContext context;
-
-	List<SetMetrics> collectionsState;
-
-	private int finishedRatio;
-	private SetCollectionType defaultType;
-
-	private SetEmpiricalPerformanceEvaluator evaluator;
-	
-	private PerformanceGoal goal;
-
-	public SetEmpiricalOptimizer(SetEmpiricalPerformanceEvaluator evaluator, SetCollectionType defaultType, PerformanceGoal goal,
-			int windowSize, double finishedRatio) {
-		super();
-		this.defaultType = defaultType;
-		this.collectionsState = new ArrayList<SetMetrics>(windowSize);
-		this.evaluator = evaluator;
-		this.goal = goal;
-
-		if (finishedRatio == 0.0) {
-			this.finishedRatio = 0;
-		} else if(finishedRatio > 1) {
-			this.finishedRatio = windowSize;
-		} else {
-			this.finishedRatio = (int) (windowSize / finishedRatio);
-
-		}
-
-	}
-
-	@Override
-	public <E> Set<E> createMonitor(Set<E> set) {
-		SetMetrics state = new SetMetrics(new WeakReference<Set<E>>(set));
-		collectionsState.add(state);
-		return new SetActiveFullMonitor<E>(set, state);
-	}
-
-	@SuppressWarnings("serial")
-	@Override
-	public void analyzeAndOptimize() {
-
-		int amountFinishedCollections = 0;
-
-		// Checks how many collections have finished
-		for (SetMetrics metric : collectionsState) {
-			if (metric.hasCollectionFinished())
-				amountFinishedCollections++;
-		}
-
-		// Only analyze it when
-		if (amountFinishedCollections >= finishedRatio) {
-
-			// Get candidates from the major performance goal
-			MutableObjectDoubleMap<SetCollectionType> majorCandidates = getCandidates(
-					goal.majorDimension, goal.minImprovement);
-		
-			MutableObjectDoubleMap<SetCollectionType> bestOptions;
-			
-			// FIXME: This should be implemented in a better way
-			if(goal.maxPenalty > 0) {
-
-			// Get candidates that fulfill the minor performance goal
-			MutableObjectDoubleMap<SetCollectionType> minorCandidates = getCandidates(
-					goal.minorDimension, goal.maxPenalty);
-
-			bestOptions = majorCandidates
-					.select(new ObjectDoublePredicate<SetCollectionType>() {
-						@Override
-						public boolean accept(SetCollectionType key, double value) {
-							return minorCandidates.containsKey(key);
-						}
-					});
-
-			} else {
-				bestOptions = majorCandidates;
-			}
-			
-			
-			
-			// Get the top implementation - Finding the minimum value
-			// FIXME: Find a better implementation for this
-			double min = Double.MAX_VALUE;
-			SetCollectionType champion = defaultType;
-			for (SetCollectionType type : bestOptions.keySet()) {
-				double perf = bestOptions.get(type);
-				if (perf < min) {
-					champion = type;
-					min = perf;
-				}
-			}
-
-			context.updateCollectionType(champion);
-
-			// Reset
-			collectionsState.clear();
-		}
-
-	}
-
-	private MutableObjectDoubleMap<SetCollectionType> getCandidates(PerformanceDimension performanceDimension,
-			double factor) {
-
-		// Gets the performance prediction for each instance
-		MutableObjectDoubleMap<SetCollectionType> majorPerformance = evaluator.predictPerformance(collectionsState,
-				performanceDimension);
-
-		// Gets the default performance
-		double defaultPerformance = majorPerformance.get(defaultType);
-
-		// Selects only the implementations with better performance
-		@SuppressWarnings("serial")
-		MutableObjectDoubleMap<SetCollectionType> candidates = majorPerformance
-				.select(new ObjectDoublePredicate<SetCollectionType>() {
-					@Override
-					public boolean accept(SetCollectionType object, double value) {
-						return defaultPerformance / value > factor;
-					}
-				});
-
-		return candidates;
-	}
-
-	@Override
-	public void setContext(SetAllocationContext context) {
-		this.context = context;
-
-	}
-
-}
+package de.heidelberg.pvs.diego.collectionswitch.optimizers.sets;
+
+import java.util.Set;
+
+import org.eclipse.collections.api.block.predicate.primitive.ObjectDoublePredicate;
+import org.eclipse.collections.api.iterator.LongIterator;
+import org.eclipse.collections.api.map.primitive.MutableObjectDoubleMap;
+import org.eclipse.collections.impl.list.mutable.primitive.LongArrayList;
+import org.eclipse.collections.impl.map.mutable.primitive.ObjectDoubleHashMap;
+
+import de.heidelberg.pvs.diego.collectionswitch.adaptive.AdaptiveSet;
+import de.heidelberg.pvs.diego.collectionswitch.adaptive.TurningPoint;
+import de.heidelberg.pvs.diego.collectionswitch.context.SetAllocationContext;
+import de.heidelberg.pvs.diego.collectionswitch.context.SetCollectionType;
+import de.heidelberg.pvs.diego.collectionswitch.manager.PerformanceGoal;
+import de.heidelberg.pvs.diego.collectionswitch.manager.PerformanceGoal.PerformanceDimension;
+import de.heidelberg.pvs.diego.collectionswitch.monitors.CompletionTracker;
+import de.heidelberg.pvs.diego.collectionswitch.monitors.KeyProfile;
+import de.heidelberg.pvs.diego.collectionswitch.monitors.KeyProfile.HashMixing;
+import de.heidelberg.pvs.diego.collectionswitch.monitors.MetricsBuffer;
+import de.heidelberg.pvs.diego.collectionswitch.monitors.sets.SetActiveFullMonitor;
+import de.heidelberg.pvs.diego.collectionswitch.monitors.sets.SetLightMonitor;
+import de.heidelberg.pvs.diego.collectionswitch.monitors.sets.SetMetrics;
+import de.heidelberg.pvs.diego.collectionswitch.optimizers.SwitchGuard;
+
+public class SetEmpiricalOptimizer implements SetAllocationOptimizer {
+
+	SetAllocationContext context;
+
+	MetricsBuffer buffer;
+
+	CompletionTracker tracker;
+
+	SetIncrementalPerformanceEvaluator incrementalEvaluator;
+
+	SetMetrics finishedState;
+
+	private int finishedRatio;
+	private SetCollectionType defaultType;
+	private SetCollectionType currentType;
+
+	private SetEmpiricalPerformanceEvaluator evaluator;
+	private TurningPoint turningPoint;
+	
+	private PerformanceGoal goal;
+
+	// Guard of the switches and the predictions of a single instance it samples
+	private SwitchGuard<SetCollectionType> guard;
+	private MutableObjectDoubleMap<SetCollectionType> instancePerformance = new ObjectDoubleHashMap<SetCollectionType>();
+
+	// Keys of the monitored instances, if profiled
+	private KeyProfile keyProfile;
+
+	// Class of the elements the context accepts
+	private Class<?> elementType = Object.class;
+
+	public SetEmpiricalOptimizer(SetEmpiricalPerformanceEvaluator evaluator, SetCollectionType defaultType, PerformanceGoal goal,
+			int windowSize, double finishedRatio) {
+		super();
+		this.defaultType = defaultType;
+		this.currentType = defaultType;
+		this.buffer = new MetricsBuffer(SetMetrics.SLOT_WIDTH, 2 * windowSize);
+		this.tracker = new CompletionTracker();
+		this.finishedState = new SetMetrics(buffer, 0);
+		this.incrementalEvaluator = new SetIncrementalPerformanceEvaluator(evaluator);
+		this.evaluator = evaluator;
+		this.turningPoint = new TurningPoint(AdaptiveSet.DEFAULT_TURNING_POINT);
+		this.goal = goal;
+		this.guard = new SwitchGuard<SetCollectionType>(goal);
+
+		if (finishedRatio == 0.0) {
+			this.finishedRatio = 0;
+		} else if(finishedRatio > 1) {
+			this.finishedRatio = windowSize;
+		} else {
+			this.finishedRatio = (int) (windowSize / finishedRatio);
+
+		}
+
+	}
+
+	@Override
+	public <E> Set<E> createMonitor(Set<E> set) {
+		long id = buffer.allocate();
+		tracker.track(set, id);
+		return new SetActiveFullMonitor<E>(set, buffer, id, keyProfile);
+	}
+
+	@Override
+	public <E> Set<E> createLightMonitor(Set<E> set, int period) {
+		long id = buffer.allocate();
+		tracker.track(set, id);
+		return new SetLightMonitor<E>(set, buffer, id, period, keyProfile);
+	}
+
+	@SuppressWarnings("serial")
+	@Override
+	public void analyzeAndOptimize() {
+
+		// Only the collections finished since the last analysis are polled and
+		// folded into the running totals
+		long finished;
+		while ((finished = tracker.pollFinished()) != CompletionTracker.NONE) {
+			// Records overwritten by newer collections are skipped
+			if (buffer.isCurrent(finished)) {
+				finishedState.moveTo(finished);
+				incrementalEvaluator.fold(finishedState);
+				sample(finishedState);
+			}
+		}
+
+		// Only analyze it when
+		if (incrementalEvaluator.getFoldedCount() >= finishedRatio) {
+
+			// Only the collections still alive are evaluated now
+			LongArrayList collectionsState = new LongArrayList(tracker.activeCount());
+			tracker.collectActive(collectionsState);
+			for (LongIterator ids = collectionsState.longIterator(); ids.hasNext();) {
+				long id = ids.next();
+				if (buffer.isCurrent(id)) {
+					finishedState.moveTo(id);
+					sample(finishedState);
+				}
+			}
+			Class<?> profiledType = getProfiledType();
+			long elements = incrementalEvaluator.countElements(buffer, collectionsState);
+
+			// Get candidates from the major performance goal
+			MutableObjectDoubleMap<SetCollectionType> majorPerformance = forElementType(penalizeClusteredHashes(
+					incrementalEvaluator.predictPerformance(buffer, collectionsState, goal.majorDimension),
+					goal.majorDimension), goal.majorDimension, profiledType, elements);
+			MutableObjectDoubleMap<SetCollectionType> majorCandidates = getCandidates(majorPerformance, goal.minImprovement);
+		
+			MutableObjectDoubleMap<SetCollectionType> bestOptions;
+			
+			// FIXME: This should be implemented in a better way
+			if(goal.maxPenalty > 0) {
+
+			// Get candidates that fulfill the minor performance goal
+			MutableObjectDoubleMap<SetCollectionType> minorCandidates = getCandidates(
+					forElementType(penalizeClusteredHashes(
+							incrementalEvaluator.predictPerformance(buffer, collectionsState, goal.minorDimension),
+							goal.minorDimension), goal.minorDimension, profiledType, elements),
+					goal.maxPenalty);
+
+			bestOptions = majorCandidates
+					.select(new ObjectDoublePredicate<SetCollectionType>() {
+						@Override
+						public boolean accept(SetCollectionType key, double value) {
+							return minorCandidates.containsKey(key);
+						}
+					});
+
+			} else {
+				bestOptions = majorCandidates;
+			}
+			
+			
+			
+			// Get the top implementation - Finding the minimum value
+			// FIXME: Find a better implementation for this
+			double min = Double.MAX_VALUE;
+			SetCollectionType champion = defaultType;
+			for (SetCollectionType type : bestOptions.keySet()) {
+				double perf = bestOptions.get(type);
+				if (perf < min) {
+					champion = type;
+					min = perf;
+				}
+			}
+
+			// Noisy windows and recent switches keep the current type
+			champion = guard.decide(currentType, champion);
+
+			// Live instances only migrate when copying them costs less than what
+			// an average instance of this window saves
+			int instances = Math.max(1, incrementalEvaluator.getFoldedCount() + collectionsState.size());
+			double savings = (majorPerformance.get(currentType) - majorPerformance.get(champion)) / instances;
+			int maxMigrationSize = evaluator.maxMigrationSize(champion, goal.majorDimension, savings);
+
+			// Adaptive instances change representation where the models of both
+			// representations cross for the operations of this window
+			int crossover = evaluator.crossover(SetCollectionType.NLP_ARRAYSET, SetCollectionType.KOLOBOKE_HASHSET,
+					goal.majorDimension, incrementalEvaluator.getAverageContainsOp(),
+					incrementalEvaluator.getAverageIterationOp());
+			if (crossover > 0) {
+				turningPoint.set(crossover);
+			}
+
+			// Reset before publishing the new type, so that the next window
+			// only holds instances created after the switch
+			incrementalEvaluator.reset();
+			tracker.clear();
+			buffer.reset();
+
+			context.updateCollectionType(champion, maxMigrationSize);
+			currentType = champion;
+		}
+
+	}
+
+	/**
+	 * Samples the predictions of one instance for the guard of the switches
+	 */
+	private void sample(SetMetrics state) {
+		if (guard.isSampling()) {
+			instancePerformance.clear();
+			evaluator.accumulatePerformance(state, goal.majorDimension, instancePerformance);
+			guard.sample(currentType, forElementType(penalizeClusteredHashes(instancePerformance, goal.majorDimension), goal.majorDimension,
+					getProfiledType(), state.getMaxSize()));
+		}
+	}
+
+	private MutableObjectDoubleMap<SetCollectionType> getCandidates(MutableObjectDoubleMap<SetCollectionType> majorPerformance,
+			double factor) {
+
+		// Gets the default performance
+		double defaultPerformance = majorPerformance.get(defaultType);
+
+		// Selects only the implementations with better performance
+		@SuppressWarnings("serial")
+		MutableObjectDoubleMap<SetCollectionType> candidates = majorPerformance
+				.select(new ObjectDoublePredicate<SetCollectionType>() {
+					@Override
+					public boolean accept(SetCollectionType object, double value) {
+						return defaultPerformance / value > factor;
+					}
+				});
+
+		return candidates;
+	}
+
+	/**
+	 * The models are measured with well spread keys. Open addressing probes
+	 * longer when the profiled hash codes cluster after the mixing of the
+	 * table, so its time is scaled by that clustering.
+	 */
+	private MutableObjectDoubleMap<SetCollectionType> penalizeClusteredHashes(
+			MutableObjectDoubleMap<SetCollectionType> performance, PerformanceDimension dimension) {
+
+		if (keyProfile == null || dimension != PerformanceDimension.TIME || !keyProfile.isClustered()) {
+			return performance;
+		}
+
+		for (SetCollectionType type : SetCollectionType.values()) {
+			HashMixing mixing = type.getHashMixing();
+			if (mixing != null && performance.containsKey(type) && keyProfile.isClustered(mixing)) {
+				performance.put(type, performance.get(type) * keyProfile.getClustering(mixing));
+			}
+		}
+		return performance;
+	}
+
+	/**
+	 * Only the implementations that accept the profiled element. When a generic
+	 * context only holds Integer or Long elements, the generic implementations are
+	 * charged the box of each element, which their footprint models exclude and
+	 * the primitive ones do not retain.
+	 */
+	private MutableObjectDoubleMap<SetCollectionType> forElementType(
+			MutableObjectDoubleMap<SetCollectionType> performance, PerformanceDimension dimension,
+			Class<?> profiledType, long elements) {
+
+		double boxes = 0;
+		if (dimension == PerformanceDimension.MEMORY_FOOTPRINT && profiledType != elementType) {
+			boxes = KeyProfile.boxSize(profiledType) * elements;
+		}
+
+		for (SetCollectionType type : SetCollectionType.values()) {
+			if (!performance.containsKey(type)) {
+				continue;
+			}
+			if (!type.accepts(profiledType)) {
+				performance.removeKey(type);
+			} else if (type.accepts(Object.class)) {
+				performance.addToValue(type, boxes);
+			}
+		}
+		return performance;
+	}
+
+	/**
+	 * Class of the elements of the context, or of all the profiled elements of a
+	 * generic context
+	 */
+	private Class<?> getProfiledType() {
+		if (elementType != Object.class || keyProfile == null) {
+			return elementType;
+		}
+		return keyProfile.getElementType();
+	}
+
+	/**
+	 * Class of the elements the context accepts, {@code Object} by default. Only
+	 * generic contexts move to primitive implementations on their profile
+	 */
+	public void setElementType(Class<?> elementType) {
+		this.elementType = elementType;
+	}
+
+	/**
+	 * Profiles the keys of the monitored instances with the given profile,
+	 * or stops profiling if it is {@code null}
+	 */
+	public void setKeyProfile(KeyProfile keyProfile) {
+		this.keyProfile = keyProfile;
+	}
+
+	public KeyProfile getKeyProfile() {
+		return keyProfile;
+	}
+
+	@Override
+	public TurningPoint getTurningPoint() {
+		return turningPoint;
+	}
+
+	@Override
+	public void setContext(SetAllocationContext context) {
+		this.context = context;
+
+	}
+
+}
@@ -0,0 +1,118 @@
+package de.heidelberg.pvs.diego.collectionswitch.optimizers.sets;
+
+import java.util.Map;
+
+import org.eclipse.collections.api.LongIterable;
+import org.eclipse.collections.api.iterator.LongIterator;
+import org.eclipse.collections.api.map.primitive.MutableObjectDoubleMap;
+import org.eclipse.collections.impl.map.mutable.UnifiedMap;
+import org.eclipse.collections.impl.map.mutable.primitive.ObjectDoubleHashMap;
+
+import de.heidelberg.pvs.diego.collectionswitch.context.SetCollectionType;
+import de.heidelberg.pvs.diego.collectionswitch.manager.PerformanceGoal.PerformanceDimension;
+import de.heidelberg.pvs.diego.collectionswitch.monitors.MetricsBuffer;
+import de.heidelberg.pvs.diego.collectionswitch.monitors.sets.SetMetrics;
+
+/**
+ * Keeps the predicted performance of the finished collections as running
+ * totals per implementation.
+ * 
+ * Each collection is folded once when it finishes, so its record can be
+ * recycled right away and an analysis only has to add the collections that are
+ * still alive.
+ */
+public class SetIncrementalPerformanceEvaluator {
+
+	private final SetEmpiricalPerformanceEvaluator evaluator;
+
+	private final Map<PerformanceDimension, MutableObjectDoubleMap<SetCollectionType>> totals;
+
+	private int foldedCount;
+
+	private long containsOps;
+	private long iterationOps;
+	private long elements;
+
+	public SetIncrementalPerformanceEvaluator(SetEmpiricalPerformanceEvaluator evaluator) {
+		this.evaluator = evaluator;
+		this.totals = new UnifiedMap<PerformanceDimension, MutableObjectDoubleMap<SetCollectionType>>();
+	}
+
+	/**
+	 * Adds a finished collection to the running totals of every dimension
+	 */
+	public void fold(SetMetrics state) {
+		for (PerformanceDimension dimension : evaluator.getDimensions()) {
+			MutableObjectDoubleMap<SetCollectionType> total = totals.get(dimension);
+			if (total == null) {
+				total = new ObjectDoubleHashMap<SetCollectionType>();
+				totals.put(dimension, total);
+			}
+			evaluator.accumulatePerformance(state, dimension, total);
+		}
+		containsOps += state.getContainsOp();
+		iterationOps += state.getIterationOp();
+		elements += state.getMaxSize();
+		foldedCount++;
+	}
+
+	public int getFoldedCount() {
+		return foldedCount;
+	}
+
+	/**
+	 * Average contains operations of the finished collections
+	 */
+	public double getAverageContainsOp() {
+		return foldedCount == 0 ? 0 : (double) containsOps / foldedCount;
+	}
+
+	/**
+	 * Average iterations of the finished collections
+	 */
+	public double getAverageIterationOp() {
+		return foldedCount == 0 ? 0 : (double) iterationOps / foldedCount;
+	}
+
+	/**
+	 * Running totals plus the prediction of the collections still alive
+	 */
+	public MutableObjectDoubleMap<SetCollectionType> predictPerformance(MetricsBuffer buffer,
+			LongIterable activeState, PerformanceDimension dimension) {
+
+		MutableObjectDoubleMap<SetCollectionType> performanceResult = new ObjectDoubleHashMap<SetCollectionType>();
+		MutableObjectDoubleMap<SetCollectionType> folded = totals.get(dimension);
+		if (folded != null) {
+			performanceResult.putAll(folded);
+		}
+
+		return evaluator.predictPerformance(buffer, activeState, dimension, performanceResult);
+	}
+
+	/**
+	 * Elements of the finished collections plus those of the collections
+	 * still alive, each at its maximum size
+	 */
+	public long countElements(MetricsBuffer buffer, LongIterable activeState) {
+		long count = elements;
+		LongIterator ids = activeState.longIterator();
+		while (ids.hasNext()) {
+			long id = ids.next();
+			if (buffer.isCurrent(id)) {
+				count += buffer.get(id, MetricsBuffer.MAX_SIZE);
+			}
+		}
+		return count;
+	}
+
+	public void reset() {
+		for (MutableObjectDoubleMap<SetCollectionType> total : totals.values()) {
+			total.clear();
+		}
+		foldedCount = 0;
+		containsOps = 0;
+		iterationOps = 0;
+		elements = 0;
+	}
+
+}
@@ -0,0 +1,162 @@
+package de.heidelberg.pvs.diego.collectionswitch.optimizers.sorted;
+
+import org.eclipse.collections.api.block.predicate.primitive.ObjectDoublePredicate;
+import org.eclipse.collections.api.map.primitive.MutableObjectDoubleMap;
+import org.eclipse.collections.impl.list.mutable.primitive.LongArrayList;
+
+import de.heidelberg.pvs.diego.collectionswitch.manager.PerformanceGoal;
+import de.heidelberg.pvs.diego.collectionswitch.monitors.CompletionTracker;
+import de.heidelberg.pvs.diego.collectionswitch.monitors.MetricsBuffer;
+import de.heidelberg.pvs.diego.collectionswitch.monitors.sorted.SortedMetrics;
+import de.heidelberg.pvs.diego.collectionswitch.optimizers.AllocationOptimizer;
+
+/**
+ * Empirical optimizer of the contexts of sorted maps and sets, which analyzes
+ * the finished instances of the window like the optimizers of lists.
+ *
+ * Only the implementations as thread-safe as the default type are candidates,
+ * and contexts of navigable collections only select navigable ones.
+ */
+public abstract class SortedEmpiricalOptimizer<T> implements AllocationOptimizer {
+
+	private MetricsBuffer buffer;
+
+	private CompletionTracker tracker;
+
+	private SortedIncrementalPerformanceEvaluator<T> incrementalEvaluator;
+
+	private SortedMetrics finishedState;
+
+	private T defaultType;
+
+	private boolean navigable;
+
+	private int finishedRatio;
+
+	private PerformanceGoal goal;
+
+	protected SortedEmpiricalOptimizer(SortedEmpiricalPerformanceEvaluator<T> evaluator, T defaultType,
+			boolean navigable, PerformanceGoal goal, int windowSize, double finishedRatio) {
+		this.buffer = new MetricsBuffer(SortedMetrics.SLOT_WIDTH, 2 * windowSize);
+		this.tracker = new CompletionTracker();
+		this.finishedState = new SortedMetrics(buffer, 0);
+		this.incrementalEvaluator = new SortedIncrementalPerformanceEvaluator<T>(evaluator);
+		this.defaultType = defaultType;
+		this.navigable = navigable;
+		this.goal = goal;
+
+		if (finishedRatio == 0.0) {
+			this.finishedRatio = 0;
+		} else if (finishedRatio > 1) {
+			this.finishedRatio = windowSize;
+		} else {
+			this.finishedRatio = (int) (windowSize / finishedRatio);
+		}
+
+	}
+
+	/**
+	 * Allocates the record of a new instance and tracks its completion
+	 */
+	protected long register(Object collection) {
+		long id = buffer.allocate();
+		tracker.track(collection, id);
+		return id;
+	}
+
+	protected MetricsBuffer getBuffer() {
+		return buffer;
+	}
+
+	protected abstract boolean isConcurrent(T type);
+
+	protected abstract boolean isNavigable(T type);
+
+	/**
+	 * Publishes the selected implementation to the context
+	 */
+	protected abstract void publish(T champion);
+
+	@SuppressWarnings("serial")
+	@Override
+	public void analyzeAndOptimize() {
+
+		// Only the collections finished since the last analysis are polled
+		// and folded into the running totals
+		long finished;
+		while ((finished = tracker.pollFinished()) != CompletionTracker.NONE) {
+			if (buffer.isCurrent(finished)) {
+				finishedState.moveTo(finished);
+				incrementalEvaluator.fold(finishedState);
+			}
+		}
+
+		if (incrementalEvaluator.getFoldedCount() >= finishedRatio) {
+
+			LongArrayList collectionsState = new LongArrayList(tracker.activeCount());
+			tracker.collectActive(collectionsState);
+
+			MutableObjectDoubleMap<T> majorCandidates = getCandidates(
+					incrementalEvaluator.predictPerformance(buffer, collectionsState, goal.majorDimension),
+					goal.minImprovement);
+
+			MutableObjectDoubleMap<T> bestOptions;
+			if (goal.maxPenalty > 0) {
+				MutableObjectDoubleMap<T> minorCandidates = getCandidates(
+						incrementalEvaluator.predictPerformance(buffer, collectionsState, goal.minorDimension),
+						goal.maxPenalty);
+				bestOptions = majorCandidates.select(new ObjectDoublePredicate<T>() {
+					@Override
+					public boolean accept(T key, double value) {
+						return minorCandidates.containsKey(key);
+					}
+				});
+			} else {
+				bestOptions = majorCandidates;
+			}
+
+			double min = Double.MAX_VALUE;
+			T champion = defaultType;
+			for (T type : bestOptions.keySet()) {
+				double perf = bestOptions.get(type);
+				if (perf < min) {
+					champion = type;
+					min = perf;
+				}
+			}
+
+			// Reset before publishing the new type, so that the next window
+			// only holds instances created after the switch
+			incrementalEvaluator.reset();
+			tracker.clear();
+			buffer.reset();
+
+			publish(champion);
+		}
+
+	}
+
+	private MutableObjectDoubleMap<T> getCandidates(MutableObjectDoubleMap<T> performance, double factor) {
+
+		// Gets the default performance
+		double defaultPerformance = performance.get(defaultType);
+
+		// Selects only the implementations that can replace the default one
+		// with better performance
+		@SuppressWarnings("serial")
+		MutableObjectDoubleMap<T> candidates = performance.select(new ObjectDoublePredicate<T>() {
+			@Override
+			public boolean accept(T type, double value) {
+				return isConcurrent(type) == isConcurrent(defaultType) && (!navigable || isNavigable(type))
+						&& defaultPerformance / value > factor;
+			}
+		});
+
+		return candidates;
+	}
+
+	public T getDefaultType() {
+		return defaultType;
+	}
+
+}
@@ -0,0 +1,73 @@
+package de.heidelberg.pvs.diego.collectionswitch.optimizers.sorted;
+
+import java.util.Map;
+
+import org.eclipse.collections.api.LongIterable;
+import org.eclipse.collections.api.map.primitive.MutableObjectDoubleMap;
+import org.eclipse.collections.impl.map.mutable.UnifiedMap;
+import org.eclipse.collections.impl.map.mutable.primitive.ObjectDoubleHashMap;
+
+import de.heidelberg.pvs.diego.collectionswitch.manager.PerformanceGoal.PerformanceDimension;
+import de.heidelberg.pvs.diego.collectionswitch.monitors.MetricsBuffer;
+import de.heidelberg.pvs.diego.collectionswitch.monitors.sorted.SortedMetrics;
+
+/**
+ * Keeps the predicted performance of the finished sorted collections as
+ * running totals per implementation, see
+ * {@link de.heidelberg.pvs.diego.collectionswitch.optimizers.lists.ListIncrementalPerformanceEvaluator}
+ */
+public class SortedIncrementalPerformanceEvaluator<T> {
+
+	private final SortedEmpiricalPerformanceEvaluator<T> evaluator;
+
+	private final Map<PerformanceDimension, MutableObjectDoubleMap<T>> totals;
+
+	private int foldedCount;
+
+	public SortedIncrementalPerformanceEvaluator(SortedEmpiricalPerformanceEvaluator<T> evaluator) {
+		this.evaluator = evaluator;
+		this.totals = new UnifiedMap<PerformanceDimension, MutableObjectDoubleMap<T>>();
+	}
+
+	/**
+	 * Adds a finished collection to the running totals of every dimension
+	 */
+	public void fold(SortedMetrics state) {
+		for (PerformanceDimension dimension : evaluator.getDimensions()) {
+			MutableObjectDoubleMap<T> total = totals.get(dimension);
+			if (total == null) {
+				total = new ObjectDoubleHashMap<T>();
+				totals.put(dimension, total);
+			}
+			evaluator.accumulatePerformance(state, dimension, total);
+		}
+		foldedCount++;
+	}
+
+	public int getFoldedCount() {
+		return foldedCount;
+	}
+
+	/**
+	 * Running totals plus the prediction of the collections still alive
+	 */
+	public MutableObjectDoubleMap<T> predictPerformance(MetricsBuffer buffer, LongIterable activeState,
+			PerformanceDimension dimension) {
+
+		MutableObjectDoubleMap<T> performanceResult = new ObjectDoubleHashMap<T>();
+		MutableObjectDoubleMap<T> folded = totals.get(dimension);
+		if (folded != null) {
+			performanceResult.putAll(folded);
+		}
+
+		return evaluator.predictPerformance(buffer, activeState, dimension, performanceResult);
+	}
+
+	public void reset() {
+		for (MutableObjectDoubleMap<T> total : totals.values()) {
+			total.clear();
+		}
+		foldedCount = 0;
+	}
+
+}
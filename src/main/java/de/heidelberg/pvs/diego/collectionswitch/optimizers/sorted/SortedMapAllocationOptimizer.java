@@ -0,0 +1,22 @@
+package de.heidelberg.pvs.diego.collectionswitch.optimizers.sorted;
+
+import java.util.NavigableMap;
+import java.util.SortedMap;
+
+import de.heidelberg.pvs.diego.collectionswitch.context.AllocationContextUpdatable;
+import de.heidelberg.pvs.diego.collectionswitch.context.SortedMapCollectionType;
+import de.heidelberg.pvs.diego.collectionswitch.optimizers.AllocationOptimizer;
+
+/**
+ * Optimizer of a context of sorted or of navigable maps, which share their
+ * types
+ */
+public interface SortedMapAllocationOptimizer extends AllocationOptimizer {
+
+	public <K, V> SortedMap<K, V> createMonitor(SortedMap<K, V> map);
+
+	public <K, V> NavigableMap<K, V> createNavigableMonitor(NavigableMap<K, V> map);
+
+	public void setContext(AllocationContextUpdatable<SortedMapCollectionType> context);
+
+}
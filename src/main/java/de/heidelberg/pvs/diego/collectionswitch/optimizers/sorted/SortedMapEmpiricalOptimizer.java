@@ -0,0 +1,53 @@
+package de.heidelberg.pvs.diego.collectionswitch.optimizers.sorted;
+
+import java.util.NavigableMap;
+import java.util.SortedMap;
+
+import de.heidelberg.pvs.diego.collectionswitch.context.AllocationContextUpdatable;
+import de.heidelberg.pvs.diego.collectionswitch.context.SortedMapCollectionType;
+import de.heidelberg.pvs.diego.collectionswitch.manager.PerformanceGoal;
+import de.heidelberg.pvs.diego.collectionswitch.monitors.sorted.NavigableMapMonitor;
+import de.heidelberg.pvs.diego.collectionswitch.monitors.sorted.SortedMapMonitor;
+
+public class SortedMapEmpiricalOptimizer extends SortedEmpiricalOptimizer<SortedMapCollectionType>
+		implements SortedMapAllocationOptimizer {
+
+	private AllocationContextUpdatable<SortedMapCollectionType> context;
+
+	public SortedMapEmpiricalOptimizer(SortedEmpiricalPerformanceEvaluator<SortedMapCollectionType> evaluator,
+			SortedMapCollectionType defaultType, boolean navigable, PerformanceGoal goal, int windowSize,
+			double finishedRatio) {
+		super(evaluator, defaultType, navigable, goal, windowSize, finishedRatio);
+	}
+
+	@Override
+	public <K, V> SortedMap<K, V> createMonitor(SortedMap<K, V> map) {
+		return new SortedMapMonitor<K, V>(map, getBuffer(), register(map));
+	}
+
+	@Override
+	public <K, V> NavigableMap<K, V> createNavigableMonitor(NavigableMap<K, V> map) {
+		return new NavigableMapMonitor<K, V>(map, getBuffer(), register(map));
+	}
+
+	@Override
+	protected boolean isConcurrent(SortedMapCollectionType type) {
+		return type.isConcurrent();
+	}
+
+	@Override
+	protected boolean isNavigable(SortedMapCollectionType type) {
+		return type.isNavigable();
+	}
+
+	@Override
+	protected void publish(SortedMapCollectionType champion) {
+		context.updateCollectionType(champion);
+	}
+
+	@Override
+	public void setContext(AllocationContextUpdatable<SortedMapCollectionType> context) {
+		this.context = context;
+	}
+
+}
@@ -0,0 +1,66 @@
+package de.heidelberg.pvs.diego.collectionswitch.optimizers.sorted;
+
+import org.apache.commons.math3.analysis.UnivariateFunction;
+import org.apache.commons.math3.analysis.polynomials.PolynomialFunction;
+
+import de.heidelberg.pvs.diego.collectionswitch.monitors.sorted.SortedMetrics;
+
+/**
+ * Performance model of a sorted map or set implementation
+ */
+public class SortedPerformanceModel<T> {
+
+	private final T type;
+
+	// Cost of creating an instance that grows to a given size, without the
+	// cost of its inserts
+	private final UnivariateFunction create;
+
+	// Cost of a single operation for a given size
+	private final UnivariateFunction lookup;
+	private final UnivariateFunction insert;
+	private final UnivariateFunction remove;
+	private final UnivariateFunction navigate;
+	private final UnivariateFunction range;
+
+	private final UnivariateFunction iterate;
+
+	public SortedPerformanceModel(T type, double[] create, double[] lookup, double[] insert, double[] remove,
+			double[] navigate, double[] range, double[] iterate) {
+		super();
+		this.type = type;
+		this.create = new PolynomialFunction(create);
+		this.lookup = new PolynomialFunction(lookup);
+		this.insert = new PolynomialFunction(insert);
+		this.remove = new PolynomialFunction(remove);
+		this.navigate = new PolynomialFunction(navigate);
+		this.range = new PolynomialFunction(range);
+		this.iterate = new PolynomialFunction(iterate);
+	}
+
+	public double calculatePerformance(SortedMetrics state) {
+		int size = state.getMaxSize();
+		// Range queries are charged for finding their bounds, and for the
+		// elements they visit like any other iteration
+		return create.value(size)
+				+ state.getLookupOp() * lookup.value(size)
+				+ state.getInsertOp() * insert.value(size)
+				+ state.getRemoveOp() * remove.value(size)
+				+ state.getNavigationOp() * navigate.value(size)
+				+ state.getRangeOp() * range.value(size)
+				+ state.getVisitOp() * calculateVisit(size);
+	}
+
+	/**
+	 * Cost of visiting one element while iterating an instance of the given
+	 * size, the share of a full iteration
+	 */
+	public double calculateVisit(int size) {
+		return iterate.value(size) / Math.max(1, size);
+	}
+
+	public T getType() {
+		return type;
+	}
+
+}
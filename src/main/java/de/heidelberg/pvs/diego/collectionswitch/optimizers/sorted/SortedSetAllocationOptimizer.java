@@ -0,0 +1,22 @@
+package de.heidelberg.pvs.diego.collectionswitch.optimizers.sorted;
+
+import java.util.NavigableSet;
+import java.util.SortedSet;
+
+import de.heidelberg.pvs.diego.collectionswitch.context.AllocationContextUpdatable;
+import de.heidelberg.pvs.diego.collectionswitch.context.SortedSetCollectionType;
+import de.heidelberg.pvs.diego.collectionswitch.optimizers.AllocationOptimizer;
+
+/**
+ * Optimizer of a context of sorted or of navigable sets, which share their
+ * types
+ */
+public interface SortedSetAllocationOptimizer extends AllocationOptimizer {
+
+	public <E> SortedSet<E> createMonitor(SortedSet<E> set);
+
+	public <E> NavigableSet<E> createNavigableMonitor(NavigableSet<E> set);
+
+	public void setContext(AllocationContextUpdatable<SortedSetCollectionType> context);
+
+}
@@ -0,0 +1,53 @@
+package de.heidelberg.pvs.diego.collectionswitch.optimizers.sorted;
+
+import java.util.NavigableSet;
+import java.util.SortedSet;
+
+import de.heidelberg.pvs.diego.collectionswitch.context.AllocationContextUpdatable;
+import de.heidelberg.pvs.diego.collectionswitch.context.SortedSetCollectionType;
+import de.heidelberg.pvs.diego.collectionswitch.manager.PerformanceGoal;
+import de.heidelberg.pvs.diego.collectionswitch.monitors.sorted.NavigableSetMonitor;
+import de.heidelberg.pvs.diego.collectionswitch.monitors.sorted.SortedSetMonitor;
+
+public class SortedSetEmpiricalOptimizer extends SortedEmpiricalOptimizer<SortedSetCollectionType>
+		implements SortedSetAllocationOptimizer {
+
+	private AllocationContextUpdatable<SortedSetCollectionType> context;
+
+	public SortedSetEmpiricalOptimizer(SortedEmpiricalPerformanceEvaluator<SortedSetCollectionType> evaluator,
+			SortedSetCollectionType defaultType, boolean navigable, PerformanceGoal goal, int windowSize,
+			double finishedRatio) {
+		super(evaluator, defaultType, navigable, goal, windowSize, finishedRatio);
+	}
+
+	@Override
+	public <E> SortedSet<E> createMonitor(SortedSet<E> set) {
+		return new SortedSetMonitor<E>(set, getBuffer(), register(set));
+	}
+
+	@Override
+	public <E> NavigableSet<E> createNavigableMonitor(NavigableSet<E> set) {
+		return new NavigableSetMonitor<E>(set, getBuffer(), register(set));
+	}
+
+	@Override
+	protected boolean isConcurrent(SortedSetCollectionType type) {
+		return type.isConcurrent();
+	}
+
+	@Override
+	protected boolean isNavigable(SortedSetCollectionType type) {
+		return type.isNavigable();
+	}
+
+	@Override
+	protected void publish(SortedSetCollectionType champion) {
+		context.updateCollectionType(champion);
+	}
+
+	@Override
+	public void setContext(AllocationContextUpdatable<SortedSetCollectionType> context) {
+		this.context = context;
+	}
+
+}
@@ -0,0 +1,89 @@
+package de.heidelberg.pvs.diego.collectionswitch.adaptive;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.openjdk.jol.info.GraphLayout;
+
+public class AdaptiveShrinkTest {
+
+	@Test
+	public void testMapShrinksAfterRemove() {
+
+		Map<Integer, Integer> map = new AdaptiveMap<Integer, Integer>();
+		for (int i = 0; i < 1000; i++) {
+			map.put(i, i);
+		}
+		long transformed = GraphLayout.parseInstance(map).totalSize();
+
+		for (int i = 5; i < 1000; i++) {
+			map.remove(i);
+		}
+
+		Assert.assertEquals(5, map.size());
+		Assert.assertTrue(GraphLayout.parseInstance(map).totalSize() < transformed / 10);
+		Assert.assertEquals(Integer.valueOf(3), map.get(3));
+
+	}
+
+	@Test
+	public void testSetShrinksAfterRetain() {
+
+		Set<Integer> set = new AdaptiveSet<Integer>();
+		for (int i = 0; i < 1000; i++) {
+			set.add(i);
+		}
+		long transformed = GraphLayout.parseInstance(set).totalSize();
+
+		set.retainAll(Collections.singleton(7));
+
+		Assert.assertEquals(1, set.size());
+		Assert.assertTrue(set.contains(7));
+		Assert.assertTrue(GraphLayout.parseInstance(set).totalSize() < transformed / 10);
+
+	}
+
+	@Test
+	public void testListShrinksAfterClear() {
+
+		List<Integer> list = new AdaptiveList<Integer>();
+		long empty = GraphLayout.parseInstance(list).totalSize();
+
+		for (int i = 0; i < 1000; i++) {
+			list.add(i);
+		}
+		list.clear();
+
+		Assert.assertTrue(list.isEmpty());
+		Assert.assertEquals(empty, GraphLayout.parseInstance(list).totalSize());
+
+		list.add(1);
+		Assert.assertEquals(new ArrayList<Integer>(Collections.singleton(1)), list);
+
+	}
+
+	@Test
+	public void testNoShrinkAroundTurningPoint() {
+
+		TurningPoint turningPoint = new TurningPoint(40);
+		Set<Integer> set = new AdaptiveSet<Integer>(turningPoint);
+		for (int i = 0; i <= 40; i++) {
+			set.add(i);
+		}
+		long transformed = GraphLayout.parseInstance(set).totalSize();
+
+		// Still above the shrink threshold
+		for (int i = 40; i >= 20; i--) {
+			set.remove(i);
+		}
+		Assert.assertEquals(20, set.size());
+		Assert.assertTrue(GraphLayout.parseInstance(set).totalSize() > transformed / 2);
+
+	}
+
+}
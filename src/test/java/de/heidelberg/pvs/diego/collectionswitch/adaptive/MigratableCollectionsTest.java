@@ -0,0 +1,201 @@
+package de.heidelberg.pvs.diego.collectionswitch.adaptive;
+
+import java.util.Collection;
+import java.util.ConcurrentModificationException;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import de.heidelberg.pvs.diego.collectionswitch.context.ListCollectionType;
+import de.heidelberg.pvs.diego.collectionswitch.context.MapCollectionType;
+import de.heidelberg.pvs.diego.collectionswitch.context.SetCollectionType;
+import de.heidelberg.pvs.diego.collectionswitch.context.impl.EmpiricalListAllocationContext;
+import de.heidelberg.pvs.diego.collectionswitch.context.impl.MigratingListAllocationContext;
+import de.heidelberg.pvs.diego.collectionswitch.factories.PerformanceModelFactory;
+import de.heidelberg.pvs.diego.collectionswitch.manager.PerformanceGoal;
+import de.heidelberg.pvs.diego.collectionswitch.manager.PerformanceGoal.PerformanceDimension;
+import de.heidelberg.pvs.diego.collectionswitch.monitors.MonitoredInstance;
+import de.heidelberg.pvs.diego.collectionswitch.optimizers.lists.ListEmpiricalOptimizer;
+import de.heidelberg.pvs.diego.collectionswitch.optimizers.lists.ListEmpiricalPerformanceEvaluator;
+
+public class MigratableCollectionsTest {
+
+	@Test
+	public void testListMigratesOnNextMutation() {
+
+		ListEmpiricalOptimizer optimizer = new ListEmpiricalOptimizer(new ListEmpiricalPerformanceEvaluator(),
+				ListCollectionType.JDK_LINKEDLIST, new PerformanceGoal(), 0, 0);
+		MigratingListAllocationContext context = new MigratingListAllocationContext(ListCollectionType.JDK_LINKEDLIST,
+				new EmpiricalListAllocationContext(ListCollectionType.JDK_LINKEDLIST, optimizer, 0));
+
+		List<Integer> list = context.createList();
+		list.add(1);
+		list.add(2);
+
+		context.updateCollectionType(ListCollectionType.JDK_ARRAYLIST);
+
+		// Reads do not migrate
+		Assert.assertEquals(2, list.size());
+		Assert.assertEquals(ListCollectionType.JDK_LINKEDLIST,
+				((MigratableList<Integer>) list).getCurrentCollectionType());
+
+		list.add(3);
+		Assert.assertEquals(ListCollectionType.JDK_ARRAYLIST,
+				((MigratableList<Integer>) list).getCurrentCollectionType());
+		Assert.assertEquals(3, list.size());
+		Assert.assertEquals(Integer.valueOf(1), list.get(0));
+		Assert.assertEquals(Integer.valueOf(3), list.get(2));
+
+		// New instances are created with the new type
+		Assert.assertEquals(ListCollectionType.JDK_ARRAYLIST,
+				((MigratableList<Integer>) context.<Integer>createList()).getCurrentCollectionType());
+
+	}
+
+	@Test
+	public void testLargeInstancesAreNotMigrated() {
+
+		MigrationSignal<MapCollectionType> signal = new MigrationSignal<MapCollectionType>(
+				MapCollectionType.JDK_HASHMAP);
+
+		Map<Integer, Integer> small = new MigratableMap<Integer, Integer>(new HashMap<Integer, Integer>(), signal,
+				signal.current());
+		Map<Integer, Integer> large = new MigratableMap<Integer, Integer>(new HashMap<Integer, Integer>(), signal,
+				signal.current());
+		for (int i = 0; i < 100; i++) {
+			large.put(i, i);
+		}
+
+		signal.publish(MapCollectionType.KOLOBOKE_HASHMAP, 10);
+
+		small.put(1, 1);
+		large.put(100, 100);
+
+		Assert.assertEquals(MapCollectionType.KOLOBOKE_HASHMAP,
+				((MigratableMap<Integer, Integer>) small).getCurrentCollectionType());
+		Assert.assertEquals(MapCollectionType.JDK_HASHMAP,
+				((MigratableMap<Integer, Integer>) large).getCurrentCollectionType());
+		Assert.assertEquals(101, large.size());
+
+		// Clearing migrates regardless of the former size
+		large.clear();
+		signal.publish(MapCollectionType.GSCOLLECTIONS_UNIFIEDMAP, 10);
+		large.clear();
+		Assert.assertEquals(MapCollectionType.GSCOLLECTIONS_UNIFIEDMAP,
+				((MigratableMap<Integer, Integer>) large).getCurrentCollectionType());
+
+	}
+
+	@Test
+	public void testViewsFollowTheMigration() {
+
+		MigrationSignal<MapCollectionType> signal = new MigrationSignal<MapCollectionType>(
+				MapCollectionType.JDK_HASHMAP);
+		MigratableMap<Integer, Integer> map = new MigratableMap<Integer, Integer>(new HashMap<Integer, Integer>(),
+				signal, signal.current());
+		map.put(1, 1);
+		map.put(2, 2);
+
+		Set<Integer> keys = map.keySet();
+		Collection<Integer> values = map.values();
+		Set<Map.Entry<Integer, Integer>> entries = map.entrySet();
+
+		signal.publish(MapCollectionType.KOLOBOKE_HASHMAP, Integer.MAX_VALUE);
+		map.put(3, 3);
+		Assert.assertEquals(MapCollectionType.KOLOBOKE_HASHMAP, map.getCurrentCollectionType());
+
+		// Views held across the migration read and write the new backing map
+		Assert.assertEquals(3, keys.size());
+		Assert.assertTrue(keys.contains(3));
+		Assert.assertTrue(keys.remove(1));
+		Assert.assertFalse(map.containsKey(1));
+		Assert.assertTrue(values.contains(3));
+		for (Map.Entry<Integer, Integer> entry : entries) {
+			entry.setValue(entry.getValue() * 10);
+		}
+		Assert.assertEquals(Integer.valueOf(20), map.get(2));
+		Assert.assertEquals(Integer.valueOf(30), map.get(3));
+		values.clear();
+		Assert.assertTrue(map.isEmpty());
+
+		MigrationSignal<ListCollectionType> listSignal = new MigrationSignal<ListCollectionType>(
+				ListCollectionType.JDK_LINKEDLIST);
+		MigratableList<Integer> list = new MigratableList<Integer>(new LinkedList<Integer>(), listSignal,
+				listSignal.current());
+		list.add(1);
+		list.add(2);
+		List<Integer> subList = list.subList(0, 2);
+
+		listSignal.publish(ListCollectionType.JDK_ARRAYLIST, Integer.MAX_VALUE);
+		subList.add(3);
+		Assert.assertEquals(ListCollectionType.JDK_ARRAYLIST, list.getCurrentCollectionType());
+		Assert.assertEquals(3, list.size());
+		Assert.assertEquals(Integer.valueOf(3), list.get(2));
+
+		MigrationSignal<SetCollectionType> setSignal = new MigrationSignal<SetCollectionType>(
+				SetCollectionType.JDK_HASHSET);
+		MigratableSet<Integer> set = new MigratableSet<Integer>(new HashSet<Integer>(), setSignal,
+				setSignal.current());
+		set.add(1);
+		Iterator<Integer> iterator = set.iterator();
+
+		// Iterators over the former backing set fail fast instead of reading a copy
+		setSignal.publish(SetCollectionType.KOLOBOKE_HASHSET, Integer.MAX_VALUE);
+		set.add(2);
+		try {
+			iterator.next();
+			Assert.fail();
+		} catch (ConcurrentModificationException e) {
+			// expected
+		}
+
+	}
+
+	@Test
+	public void testMonitoredInstancesAreNotMigrated() {
+
+		ListEmpiricalOptimizer optimizer = new ListEmpiricalOptimizer(new ListEmpiricalPerformanceEvaluator(),
+				ListCollectionType.JDK_LINKEDLIST, new PerformanceGoal(), 1, 0);
+		MigratingListAllocationContext context = new MigratingListAllocationContext(ListCollectionType.JDK_LINKEDLIST,
+				new EmpiricalListAllocationContext(ListCollectionType.JDK_LINKEDLIST, optimizer, 1));
+
+		// The first instance is in the window of the inner context
+		List<Integer> monitored = context.createList();
+		Assert.assertTrue(monitored instanceof MonitoredInstance);
+		List<Integer> plain = context.createList();
+		Assert.assertTrue(plain instanceof MigratableList);
+
+		context.updateCollectionType(ListCollectionType.JDK_ARRAYLIST);
+		monitored.add(1);
+		plain.add(1);
+		Assert.assertEquals(1, monitored.size());
+		Assert.assertEquals(ListCollectionType.JDK_ARRAYLIST,
+				((MigratableList<Integer>) plain).getCurrentCollectionType());
+
+	}
+
+	@Test
+	public void testMaxMigrationSizeFollowsPopulateModel() {
+
+		ListEmpiricalPerformanceEvaluator evaluator = new ListEmpiricalPerformanceEvaluator(PerformanceDimension.TIME,
+				PerformanceModelFactory.buildListPerformanceModelsTime());
+
+		Assert.assertEquals(0,
+				evaluator.maxMigrationSize(ListCollectionType.JDK_LINKEDLIST, PerformanceDimension.TIME, 0));
+
+		int size = evaluator.maxMigrationSize(ListCollectionType.JDK_LINKEDLIST, PerformanceDimension.TIME, 1000);
+		Assert.assertTrue(size > 0);
+
+		int larger = evaluator.maxMigrationSize(ListCollectionType.JDK_LINKEDLIST, PerformanceDimension.TIME, 10000);
+		Assert.assertTrue(larger > size);
+
+	}
+
+}
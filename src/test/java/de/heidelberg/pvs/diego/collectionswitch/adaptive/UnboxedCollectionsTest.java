@@ -0,0 +1,153 @@
+package de.heidelberg.pvs.diego.collectionswitch.adaptive;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.ConcurrentModificationException;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.ListIterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import de.heidelberg.pvs.diego.collectionswitch.context.ListCollectionType;
+import de.heidelberg.pvs.diego.collectionswitch.context.MapCollectionType;
+import de.heidelberg.pvs.diego.collectionswitch.context.SetCollectionType;
+
+public class UnboxedCollectionsTest {
+
+	@Test
+	public void testListBoxesOnOtherElement() {
+
+		List<Object> list = UnboxedList.guard(ListCollectionType.FASTUTIL_INTARRAYLIST.createList(),
+				ListCollectionType.FASTUTIL_INTARRAYLIST, Object.class);
+		list.add(1);
+		list.add(2);
+
+		// Lookups of other elements never reach the primitive list
+		Assert.assertFalse(list.contains("one"));
+		Assert.assertEquals(-1, list.indexOf(null));
+		Assert.assertTrue(((UnboxedList<Object>) list).isUnboxed());
+
+		list.add(1, "one");
+		Assert.assertFalse(((UnboxedList<Object>) list).isUnboxed());
+		Assert.assertEquals(Arrays.asList(1, "one", 2), list);
+
+		list.set(0, null);
+		Assert.assertEquals(0, list.indexOf(null));
+
+	}
+
+	@Test
+	public void testSetBoxesOnNull() {
+
+		Set<Long> set = UnboxedSet.guard(SetCollectionType.KOLOBOKE_HASHLONGSET.<Long>createSet(),
+				SetCollectionType.KOLOBOKE_HASHLONGSET, Object.class);
+		set.add(1L);
+		Assert.assertFalse(set.contains(1));
+		Assert.assertTrue(((UnboxedSet<Long>) set).isUnboxed());
+
+		set.add(null);
+		Assert.assertFalse(((UnboxedSet<Long>) set).isUnboxed());
+		Assert.assertTrue(set.contains(null));
+		Assert.assertTrue(set.contains(1L));
+
+	}
+
+	@Test
+	public void testMapBoxesOnOtherKey() {
+
+		Map<Object, String> map = UnboxedMap.guard(MapCollectionType.FASTUTIL_INT2OBJECTMAP.createMap(),
+				MapCollectionType.FASTUTIL_INT2OBJECTMAP, Object.class);
+		map.put(1, "one");
+		Assert.assertNull(map.get(1L));
+		Assert.assertNull(map.remove("one"));
+
+		// Default methods insert through put
+		map.computeIfAbsent(2L, key -> "two");
+		Assert.assertFalse(((UnboxedMap<Object, String>) map).isUnboxed());
+		Assert.assertEquals("one", map.get(1));
+		Assert.assertEquals("two", map.get(2L));
+
+	}
+
+	@Test
+	public void testViewsFollowTheBoxing() {
+
+		Map<Object, String> map = UnboxedMap.guard(MapCollectionType.FASTUTIL_INT2OBJECTMAP.createMap(),
+				MapCollectionType.FASTUTIL_INT2OBJECTMAP, Object.class);
+		map.put(1, "one");
+		Set<Object> keys = map.keySet();
+		Collection<String> values = map.values();
+		Set<Map.Entry<Object, String>> entries = map.entrySet();
+		Iterator<Object> iterator = keys.iterator();
+
+		map.put(null, "null");
+		Assert.assertFalse(((UnboxedMap<Object, String>) map).isUnboxed());
+
+		// Views held across the boxing see the boxed map
+		Assert.assertEquals(2, keys.size());
+		Assert.assertTrue(keys.contains(null));
+		Assert.assertTrue(values.contains("null"));
+		Assert.assertEquals(2, entries.size());
+		Assert.assertTrue(keys.remove(null));
+		Assert.assertFalse(map.containsKey(null));
+		try {
+			iterator.next();
+			Assert.fail();
+		} catch (ConcurrentModificationException e) {
+			// expected
+		}
+
+		List<Object> list = UnboxedList.guard(ListCollectionType.FASTUTIL_INTARRAYLIST.createList(),
+				ListCollectionType.FASTUTIL_INTARRAYLIST, Object.class);
+		list.add(1);
+		list.add(2);
+		List<Object> subList = list.subList(0, 2);
+
+		// Replacing an element is not structural, the iterator goes on
+		ListIterator<Object> elements = list.listIterator();
+		elements.next();
+		elements.set("one");
+		Assert.assertFalse(((UnboxedList<Object>) list).isUnboxed());
+		Assert.assertEquals(Integer.valueOf(2), elements.next());
+		Assert.assertEquals(Arrays.asList("one", 2), subList);
+
+		Set<Long> set = UnboxedSet.guard(SetCollectionType.KOLOBOKE_HASHLONGSET.<Long>createSet(),
+				SetCollectionType.KOLOBOKE_HASHLONGSET, Object.class);
+		set.add(1L);
+		Iterator<Long> longs = set.iterator();
+		set.add(null);
+		try {
+			longs.next();
+			Assert.fail();
+		} catch (ConcurrentModificationException e) {
+			// expected
+		}
+
+	}
+
+	@Test
+	public void testCopies() {
+
+		Map<Object, String> mixed = new HashMap<Object, String>();
+		mixed.put(1, "one");
+		mixed.put("two", "two");
+
+		Map<Object, String> map = UnboxedMap.copyOf(mixed, MapCollectionType.KOLOBOKE_HASHINTOBJMAP);
+		Assert.assertEquals(mixed, map);
+		Assert.assertFalse(((UnboxedMap<Object, String>) map).isUnboxed());
+
+		List<Integer> list = UnboxedList.copyOf(Arrays.asList(1, 2, 3), ListCollectionType.FASTUTIL_INTARRAYLIST);
+		Assert.assertTrue(((UnboxedList<Integer>) list).isUnboxed());
+
+		// Implementations that accept the context elements are not wrapped
+		List<Integer> ints = ListCollectionType.FASTUTIL_INTARRAYLIST.createList();
+		Assert.assertSame(ints, UnboxedList.guard(ints, ListCollectionType.FASTUTIL_INTARRAYLIST, Integer.class));
+
+	}
+
+}
@@ -0,0 +1,107 @@
+package de.heidelberg.pvs.diego.collectionswitch.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import de.heidelberg.pvs.diego.collectionswitch.context.ListAllocationContext;
+import de.heidelberg.pvs.diego.collectionswitch.context.ListCollectionType;
+import de.heidelberg.pvs.diego.collectionswitch.context.impl.ConcurrentEmpiricalListAllocationContext;
+import de.heidelberg.pvs.diego.collectionswitch.context.impl.EmpiricalListAllocationContext;
+import de.heidelberg.pvs.diego.collectionswitch.factories.PerformanceModelFactory;
+import de.heidelberg.pvs.diego.collectionswitch.manager.PerformanceGoal;
+import de.heidelberg.pvs.diego.collectionswitch.manager.PerformanceGoal.PerformanceDimension;
+import de.heidelberg.pvs.diego.collectionswitch.optimizers.lists.ListAllocationOptimizer;
+import de.heidelberg.pvs.diego.collectionswitch.optimizers.lists.ListEmpiricalOptimizer;
+import de.heidelberg.pvs.diego.collectionswitch.optimizers.lists.ListEmpiricalPerformanceEvaluator;
+
+/**
+ * Creation throughput of a single shared list context.
+ *
+ * Run the main method to execute the benchmark from one thread up to the
+ * number of available cores. With the concurrent context the throughput
+ * should scale linearly with the number of threads.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ContextCreationBenchmark {
+
+	@Param({ "CONCURRENT", "SEQUENTIAL" })
+	public String contextType;
+
+	@Param({ "100" })
+	public int windowSize;
+
+	private ListAllocationContext context;
+
+	@Setup
+	public void setup() {
+
+		ListEmpiricalPerformanceEvaluator evaluator = new ListEmpiricalPerformanceEvaluator();
+		evaluator.addEmpiricalModel(PerformanceDimension.TIME,
+				PerformanceModelFactory.buildListPerformanceModelsTime());
+
+		ListAllocationOptimizer optimizer = new ListEmpiricalOptimizer(evaluator, ListCollectionType.JDK_ARRAYLIST,
+				new PerformanceGoal(), windowSize, 1);
+
+		if (contextType.equals("CONCURRENT")) {
+			context = new ConcurrentEmpiricalListAllocationContext(ListCollectionType.JDK_ARRAYLIST, optimizer,
+					windowSize);
+		} else {
+			context = new EmpiricalListAllocationContext(ListCollectionType.JDK_ARRAYLIST, optimizer, windowSize);
+		}
+		optimizer.setContext(context);
+
+	}
+
+	@Benchmark
+	public List<Integer> createList() {
+		return context.createList();
+	}
+
+	@Benchmark
+	public List<Integer> createListWithCapacity() {
+		return context.createList(16);
+	}
+
+	public static void main(String[] args) throws RunnerException {
+
+		int cores = Runtime.getRuntime().availableProcessors();
+
+		int threads = 1;
+		while (true) {
+			Options opt = new OptionsBuilder()
+					.include(ContextCreationBenchmark.class.getSimpleName())
+					.threads(threads)
+					.build();
+
+			new Runner(opt).run();
+
+			if (threads == cores) {
+				break;
+			}
+			threads = Math.min(threads * 2, cores);
+		}
+
+	}
+
+}
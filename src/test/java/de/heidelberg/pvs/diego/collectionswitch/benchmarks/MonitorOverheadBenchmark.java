@@ -0,0 +1,147 @@
+package de.heidelberg.pvs.diego.collectionswitch.benchmarks;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import de.heidelberg.pvs.diego.collectionswitch.monitors.lists.ListActiveFullMonitor;
+import de.heidelberg.pvs.diego.collectionswitch.monitors.lists.ListLightMonitor;
+import de.heidelberg.pvs.diego.collectionswitch.monitors.lists.ListMetrics;
+import de.heidelberg.pvs.diego.collectionswitch.monitors.maps.MapActiveFullMonitor;
+import de.heidelberg.pvs.diego.collectionswitch.monitors.maps.MapLightMonitor;
+import de.heidelberg.pvs.diego.collectionswitch.monitors.maps.MapMetrics;
+import de.heidelberg.pvs.diego.collectionswitch.monitors.sets.SetActiveFullMonitor;
+import de.heidelberg.pvs.diego.collectionswitch.monitors.sets.SetLightMonitor;
+import de.heidelberg.pvs.diego.collectionswitch.monitors.sets.SetMetrics;
+
+/**
+ * Cost per operation of the raw collections and of the full and light
+ * monitors wrapping them.
+ *
+ * The light monitors should stay within one percent of the raw collections on
+ * the lookups, while the full monitors record every operation.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MonitorOverheadBenchmark {
+
+	private static final int SIZE = 1000;
+
+	@Param({ "RAW", "FULL", "LIGHT" })
+	public String monitor;
+
+	@Param({ "1024" })
+	public int period;
+
+	private List<Integer> list;
+	private Set<Integer> set;
+	private Map<Integer, Integer> map;
+
+	@Setup
+	public void setup() {
+
+		List<Integer> rawList = new ArrayList<Integer>();
+		Set<Integer> rawSet = new HashSet<Integer>();
+		Map<Integer, Integer> rawMap = new HashMap<Integer, Integer>();
+		for (int i = 0; i < SIZE; i++) {
+			rawList.add(i);
+			rawSet.add(i);
+			rawMap.put(i, i);
+		}
+
+		if (monitor.equals("FULL")) {
+			list = new ListActiveFullMonitor<Integer>(rawList, new ListMetrics());
+			set = new SetActiveFullMonitor<Integer>(rawSet, new SetMetrics());
+			map = new MapActiveFullMonitor<Integer, Integer>(rawMap, new MapMetrics());
+		} else if (monitor.equals("LIGHT")) {
+			ListMetrics listState = new ListMetrics();
+			SetMetrics setState = new SetMetrics();
+			MapMetrics mapState = new MapMetrics();
+			list = new ListLightMonitor<Integer>(rawList, listState.getBuffer(), listState.getId(), period);
+			set = new SetLightMonitor<Integer>(rawSet, setState.getBuffer(), setState.getId(), period);
+			map = new MapLightMonitor<Integer, Integer>(rawMap, mapState.getBuffer(), mapState.getId(), period);
+		} else {
+			list = rawList;
+			set = rawSet;
+			map = rawMap;
+		}
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(SIZE)
+	public int listGet() {
+		int sum = 0;
+		for (int i = 0; i < SIZE; i++) {
+			sum += list.get(i);
+		}
+		return sum;
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(SIZE)
+	public int listIterate() {
+		int sum = 0;
+		for (Integer value : list) {
+			sum += value;
+		}
+		return sum;
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(SIZE)
+	public int setContains() {
+		int found = 0;
+		for (int i = 0; i < SIZE; i++) {
+			if (set.contains(i)) {
+				found++;
+			}
+		}
+		return found;
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(SIZE)
+	public int mapGet() {
+		int sum = 0;
+		for (int i = 0; i < SIZE; i++) {
+			sum += map.get(i);
+		}
+		return sum;
+	}
+
+	public static void main(String[] args) throws RunnerException {
+
+		Options opt = new OptionsBuilder()
+				.include(MonitorOverheadBenchmark.class.getSimpleName())
+				.build();
+
+		new Runner(opt).run();
+
+	}
+
+}
@@ -0,0 +1,111 @@
+package de.heidelberg.pvs.diego.collectionswitch.calibration;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import de.heidelberg.pvs.diego.collectionswitch.context.ListCollectionType;
+import de.heidelberg.pvs.diego.collectionswitch.context.MapCollectionType;
+import de.heidelberg.pvs.diego.collectionswitch.context.SetCollectionType;
+import de.heidelberg.pvs.diego.collectionswitch.factories.PerformanceModelLoader;
+import de.heidelberg.pvs.diego.collectionswitch.factories.PerformanceModels;
+import de.heidelberg.pvs.diego.collectionswitch.factories.PerformanceModels.Kind;
+import de.heidelberg.pvs.diego.collectionswitch.manager.PerformanceGoal.PerformanceDimension;
+
+/**
+ * Regenerates the performance models for the running machine.
+ *
+ * Runs the calibration benchmarks of every list, set and map type over a size
+ * sweep, with the GC profiler for the allocation models, measures their
+ * footprint with JOL and writes the fitted polynomials to a model file. The
+ * file can be loaded with {@code -Dmodels} or placed on the classpath as {@value PerformanceModelLoader#DEFAULT_RESOURCE}.
+ *
+ * Usage: {@code Calibration [output file] [sizes]}, for example
+ * {@code Calibration models.txt 10,100,1000}.
+ */
+public class Calibration {
+
+	// Same degree as the built-in models
+	private static final int DEGREE = 2;
+
+	private static final String ALLOCATION = "gc.alloc.rate.norm";
+
+	public static void main(String[] args) throws RunnerException, IOException {
+
+		File output = new File(args.length > 0 ? args[0] : PerformanceModelLoader.DEFAULT_RESOURCE);
+		// Default sizes of the benchmarks unless given
+		String[] sizes = args.length > 1 ? args[1].split(",") : null;
+
+		ModelFitter fitter = new ModelFitter(DEGREE);
+		calibrate(ListCalibrationBenchmark.class, Kind.LIST, names(ListCollectionType.values()), sizes, fitter);
+		calibrate(SetCalibrationBenchmark.class, Kind.SET, names(SetCollectionType.values()), sizes, fitter);
+		calibrate(MapCalibrationBenchmark.class, Kind.MAP, names(MapCollectionType.values()), sizes, fitter);
+
+		ModelFitter footprint = new ModelFitter(FootprintCalibration.DEGREE);
+		FootprintCalibration.measure(footprint, sizes == null ? FootprintCalibration.SIZES
+				: Arrays.stream(sizes).mapToInt(Integer::parseInt).toArray());
+
+		PerformanceModels models = footprint.fit(fitter.fit());
+
+		Writer writer = new OutputStreamWriter(new FileOutputStream(output), StandardCharsets.UTF_8);
+		try {
+			PerformanceModelLoader.writeText(models, writer);
+		} finally {
+			writer.close();
+		}
+
+		System.out.println(String.format("%d models written to %s", models.size(), output.getAbsolutePath()));
+
+	}
+
+	private static void calibrate(Class<?> benchmark, Kind kind, String[] types, String[] sizes, ModelFitter fitter)
+			throws RunnerException {
+
+		OptionsBuilder builder = new OptionsBuilder();
+		builder.include(benchmark.getName().replace(".", "\\.") + "\\.")
+				.param("type", types)
+				.addProfiler(GCProfiler.class);
+		if (sizes != null) {
+			builder.param("size", sizes);
+		}
+		Options opt = builder.build();
+
+		for (RunResult result : new Runner(opt).run()) {
+
+			BenchmarkParams params = result.getParams();
+			String operation = params.getBenchmark().substring(params.getBenchmark().lastIndexOf('.') + 1);
+			String type = params.getParam("type");
+			int size = Integer.parseInt(params.getParam("size"));
+
+			fitter.add(kind, type, PerformanceDimension.TIME, operation, size, result.getPrimaryResult().getScore());
+
+			Result<?> allocation = result.getSecondaryResults().get(ALLOCATION);
+			if (allocation != null) {
+				fitter.add(kind, type, PerformanceDimension.ALLOCATION, operation, size, allocation.getScore());
+			}
+		}
+
+	}
+
+	private static String[] names(Enum<?>[] values) {
+		String[] names = new String[values.length];
+		for (int i = 0; i < values.length; i++) {
+			names[i] = values[i].name();
+		}
+		return names;
+	}
+
+}
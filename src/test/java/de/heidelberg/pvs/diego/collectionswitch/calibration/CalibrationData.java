@@ -0,0 +1,63 @@
+package de.heidelberg.pvs.diego.collectionswitch.calibration;
+
+import java.util.Random;
+
+/**
+ * Deterministic inputs shared by the calibration benchmarks
+ */
+public class CalibrationData {
+
+	/** Number of precomputed probe positions, a power of two */
+	public static final int PROBES = 1024;
+
+	private static final long SEED = 42;
+
+	/**
+	 * Distinct elements in random order
+	 */
+	public static Integer[] elements(int size) {
+		Random random = new Random(SEED);
+		Integer[] elements = new Integer[size];
+		for (int i = 0; i < size; i++) {
+			elements[i] = i;
+		}
+		for (int i = size - 1; i > 0; i--) {
+			int j = random.nextInt(i + 1);
+			Integer swap = elements[i];
+			elements[i] = elements[j];
+			elements[j] = swap;
+		}
+		return elements;
+	}
+
+	/**
+	 * Like {@link #elements(int)}, boxed as {@code Long} for implementations
+	 * of long elements, shifted by the given offset
+	 */
+	public static Object[] elements(int size, int offset, Class<?> type) {
+		Integer[] elements = elements(size);
+		Object[] converted = new Object[size];
+		for (int i = 0; i < size; i++) {
+			int element = elements[i] + offset;
+			if (type == Long.class) {
+				converted[i] = Long.valueOf(element);
+			} else {
+				converted[i] = Integer.valueOf(element);
+			}
+		}
+		return converted;
+	}
+
+	/**
+	 * Random positions between 0 and the given size
+	 */
+	public static int[] probes(int size) {
+		Random random = new Random(SEED + 1);
+		int[] probes = new int[PROBES];
+		for (int i = 0; i < PROBES; i++) {
+			probes[i] = random.nextInt(size);
+		}
+		return probes;
+	}
+
+}
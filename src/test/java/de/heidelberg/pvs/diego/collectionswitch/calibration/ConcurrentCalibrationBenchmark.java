@@ -0,0 +1,105 @@
+package de.heidelberg.pvs.diego.collectionswitch.calibration;
+
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import de.heidelberg.pvs.diego.collectionswitch.context.ConcurrentMapCollectionType;
+
+/**
+ * Reads and writes of a map shared by all the benchmark threads. The scores of
+ * one thread are the read and write costs of the concurrent models, and the
+ * scores of more threads divided by them are their slowdowns.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConcurrentCalibrationBenchmark {
+
+	private static final int[] THREADS = { 1, 2, 4, 8 };
+
+	@Param({ "JDK_CONCURRENTHASHMAP", "JDK_CONCURRENTSKIPLISTMAP", "GSCOLLECTIONS_CONCURRENTHASHMAP",
+			"GSCOLLECTIONS_CONCURRENTHASHMAPUNSAFE", "ONLINEADAPTER_STRIPEDHASHMAP" })
+	public String type;
+
+	@Param({ "100", "10000" })
+	public int size;
+
+	private Object[] elements;
+	private int[] probes;
+
+	private ConcurrentMap<Object, Object> map;
+
+	/**
+	 * Probe cursor of each thread, so that the threads do not share it
+	 */
+	@State(Scope.Thread)
+	public static class Cursor {
+
+		private int position;
+
+		int next(int[] probes) {
+			position = (position + 1) & (CalibrationData.PROBES - 1);
+			return probes[position];
+		}
+
+	}
+
+	@Setup
+	public void setup() {
+		elements = CalibrationData.elements(size, 0, Object.class);
+		probes = CalibrationData.probes(size);
+		map = ConcurrentMapCollectionType.valueOf(type).createMap();
+		for (Object element : elements) {
+			map.put(element, element);
+		}
+	}
+
+	@Benchmark
+	public Object read(Cursor cursor) {
+		return map.get(elements[cursor.next(probes)]);
+	}
+
+	@Benchmark
+	public Object write(Cursor cursor) {
+		Object key = elements[cursor.next(probes)];
+		return map.put(key, key);
+	}
+
+	/**
+	 * Prints the scores of each type, size and number of threads
+	 */
+	public static void main(String[] args) throws RunnerException {
+
+		for (int threads : THREADS) {
+			OptionsBuilder builder = new OptionsBuilder();
+			builder.include(ConcurrentCalibrationBenchmark.class.getName().replace(".", "\\.") + "\\.")
+					.threads(threads);
+			for (RunResult result : new Runner(builder.build()).run()) {
+				System.out.println(String.format("%s %s %s %d %f", result.getParams().getBenchmark(),
+						result.getParams().getParam("type"), result.getParams().getParam("size"), threads,
+						result.getPrimaryResult().getScore()));
+			}
+		}
+
+	}
+
+}
@@ -0,0 +1,187 @@
+package de.heidelberg.pvs.diego.collectionswitch.calibration;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.collections4.Bag;
+import org.apache.commons.collections4.MultiValuedMap;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import de.heidelberg.pvs.diego.collectionswitch.context.BagCollectionType;
+import de.heidelberg.pvs.diego.collectionswitch.context.MultimapCollectionType;
+
+/**
+ * Operations of the bag and multimap performance models, for a number of
+ * distinct elements or keys. The populate score minus the adds of its
+ * elements is the cost of creating an instance, and the score of adding
+ * copies minus the one of adding single occurrences is the cost of a copy.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CountingCalibrationBenchmark {
+
+	private static final int COPIES = 4;
+
+	@State(Scope.Thread)
+	public static class Bags {
+
+		@Param({ "COMMONS_HASHBAG", "GSCOLLECTIONS_HASHBAG", "ONLINEADAPTER_LINKEDHASHBAG" })
+		public String type;
+
+		@Param({ "1", "10", "50", "100", "250", "500", "1000", "2000" })
+		public int size;
+
+		private BagCollectionType collectionType;
+		private Object[] elements;
+		private int[] probes;
+		private int cursor;
+
+		private Bag<Object> bag;
+
+		@Setup
+		public void setup() {
+			collectionType = BagCollectionType.valueOf(type);
+			elements = CalibrationData.elements(size, 0, Object.class);
+			probes = CalibrationData.probes(size);
+			bag = populate(collectionType, elements);
+		}
+
+		Object next() {
+			cursor = (cursor + 1) & (CalibrationData.PROBES - 1);
+			return elements[probes[cursor]];
+		}
+
+	}
+
+	@State(Scope.Thread)
+	public static class Multimaps {
+
+		@Param({ "COMMONS_ARRAYLISTVALUEDHASHMAP", "COMMONS_HASHSETVALUEDHASHMAP", "GSCOLLECTIONS_FASTLISTMULTIMAP",
+				"GSCOLLECTIONS_UNIFIEDSETMULTIMAP", "ONLINEADAPTER_COMPACTLISTMULTIMAP" })
+		public String type;
+
+		@Param({ "1", "10", "50", "100", "250", "500", "1000", "2000" })
+		public int size;
+
+		private MultimapCollectionType collectionType;
+		private Object[] elements;
+		private int[] probes;
+		private int cursor;
+
+		private MultiValuedMap<Object, Object> map;
+
+		@Setup
+		public void setup() {
+			collectionType = MultimapCollectionType.valueOf(type);
+			elements = CalibrationData.elements(size, 0, Object.class);
+			probes = CalibrationData.probes(size);
+			map = populate(collectionType, elements);
+		}
+
+		Object next() {
+			cursor = (cursor + 1) & (CalibrationData.PROBES - 1);
+			return elements[probes[cursor]];
+		}
+
+	}
+
+	/**
+	 * BAGS
+	 */
+
+	@Benchmark
+	public Bag<Object> populateBag(Bags state) {
+		return populate(state.collectionType, state.elements);
+	}
+
+	// Adds and removes back the occurrences, so the bag keeps its size and the
+	// score is the cost of both operations
+
+	@Benchmark
+	@OperationsPerInvocation(2)
+	public boolean addRemove(Bags state) {
+		Object element = state.next();
+		state.bag.add(element);
+		return state.bag.remove(element, 1);
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(2)
+	public boolean addCopiesRemove(Bags state) {
+		Object element = state.next();
+		state.bag.add(element, COPIES);
+		return state.bag.remove(element, COPIES);
+	}
+
+	@Benchmark
+	public int count(Bags state) {
+		return state.bag.getCount(state.next());
+	}
+
+	@Benchmark
+	public void iterateBag(Bags state, Blackhole blackhole) {
+		for (Object element : state.bag) {
+			blackhole.consume(element);
+		}
+	}
+
+	/**
+	 * MULTIMAPS
+	 */
+
+	@Benchmark
+	public MultiValuedMap<Object, Object> populateMultimap(Multimaps state) {
+		return populate(state.collectionType, state.elements);
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(2)
+	public boolean putRemove(Multimaps state) {
+		Object key = state.next();
+		state.map.put(key, state);
+		return state.map.removeMapping(key, state);
+	}
+
+	@Benchmark
+	public int get(Multimaps state) {
+		return state.map.get(state.next()).size();
+	}
+
+	@Benchmark
+	public void iterateMultimap(Multimaps state, Blackhole blackhole) {
+		for (Object value : state.map.values()) {
+			blackhole.consume(value);
+		}
+	}
+
+	private static Bag<Object> populate(BagCollectionType type, Object[] elements) {
+		Bag<Object> bag = type.createBag();
+		for (Object element : elements) {
+			bag.add(element);
+		}
+		return bag;
+	}
+
+	private static MultiValuedMap<Object, Object> populate(MultimapCollectionType type, Object[] elements) {
+		MultiValuedMap<Object, Object> map = type.createMultimap();
+		for (Object element : elements) {
+			map.put(element, element);
+		}
+		return map;
+	}
+
+}
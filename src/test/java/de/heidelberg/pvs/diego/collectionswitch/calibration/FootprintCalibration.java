@@ -0,0 +1,99 @@
+package de.heidelberg.pvs.diego.collectionswitch.calibration;
+
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.openjdk.jol.info.GraphLayout;
+
+import de.heidelberg.pvs.diego.collectionswitch.context.ListCollectionType;
+import de.heidelberg.pvs.diego.collectionswitch.context.MapCollectionType;
+import de.heidelberg.pvs.diego.collectionswitch.context.SetCollectionType;
+import de.heidelberg.pvs.diego.collectionswitch.factories.PerformanceModelLoader;
+import de.heidelberg.pvs.diego.collectionswitch.factories.PerformanceModels.Kind;
+import de.heidelberg.pvs.diego.collectionswitch.manager.PerformanceGoal.PerformanceDimension;
+
+/**
+ * Measures the retained footprint of every collection type with JOL.
+ *
+ * The footprint of an instance is the size of its object graph without the
+ * elements, which are shared by all implementations. Primitive
+ * implementations do not keep the boxed elements, so their footprint is their
+ * whole graph. It is fitted as the
+ * populate polynomial of the {@code MEMORY_FOOTPRINT} models, with no cost for
+ * contains and iterate.
+ *
+ * The fit minimizes the relative error, so that the few hundred bytes of small
+ * instances are not lost against the tables of the largest sizes. Hash tables
+ * that grow in steps would otherwise get a negative intercept, and be
+ * predicted almost free for the small instances that most contexts create.
+ */
+public class FootprintCalibration {
+
+	// Footprints grow linearly, apart from the steps of resizing
+	public static final int DEGREE = 1;
+
+	public static final int[] SIZES = { 1, 2, 5, 10, 20, 50, 100, 200, 500, 1000 };
+
+	/**
+	 * Prints the footprint models of the running VM
+	 */
+	public static void main(String[] args) throws IOException {
+		ModelFitter fitter = new ModelFitter(DEGREE);
+		measure(fitter, SIZES);
+		PerformanceModelLoader.writeText(fitter.fit(), new OutputStreamWriter(System.out));
+	}
+
+	public static void measure(ModelFitter fitter, int[] sizes) {
+
+		for (int size : sizes) {
+
+			for (ListCollectionType type : ListCollectionType.values()) {
+				Object[] elements = CalibrationData.elements(size, 0, type.getElementType());
+				List<Object> list = type.createList();
+				Collections.addAll(list, elements);
+				add(fitter, Kind.LIST, type.name(), size, footprint(list, elements));
+			}
+
+			for (SetCollectionType type : SetCollectionType.values()) {
+				Object[] elements = CalibrationData.elements(size, 0, type.getElementType());
+				Set<Object> set = type.createSet();
+				Collections.addAll(set, elements);
+				add(fitter, Kind.SET, type.name(), size, footprint(set, elements));
+			}
+
+			for (MapCollectionType type : MapCollectionType.values()) {
+				Object[] elements = CalibrationData.elements(size, 0, type.getKeyType());
+				Map<Object, Object> map = type.createMap();
+				for (Object element : elements) {
+					map.put(element, element);
+				}
+				add(fitter, Kind.MAP, type.name(), size, footprint(map, elements));
+			}
+		}
+
+	}
+
+	private static long footprint(Object collection, Object[] elements) {
+		// Sizes instead of subtracting the layouts, which compares addresses
+		// that change when the GC moves the elements. The graph of the
+		// collection and the elements only counts the elements once, whether
+		// the collection keeps them or not
+		Object[] roots = new Object[elements.length + 1];
+		roots[0] = collection;
+		System.arraycopy(elements, 0, roots, 1, elements.length);
+		return GraphLayout.parseInstance(roots).totalSize()
+				- GraphLayout.parseInstance(elements).totalSize();
+	}
+
+	private static void add(ModelFitter fitter, Kind kind, String type, int size, long footprint) {
+		fitter.add(kind, type, PerformanceDimension.MEMORY_FOOTPRINT, ModelFitter.POPULATE, size, footprint,
+				1.0 / ((double) footprint * footprint));
+		fitter.add(kind, type, PerformanceDimension.MEMORY_FOOTPRINT, ModelFitter.CONTAINS, size, 0);
+		fitter.add(kind, type, PerformanceDimension.MEMORY_FOOTPRINT, ModelFitter.ITERATE, size, 0);
+	}
+
+}
@@ -0,0 +1,111 @@
+package de.heidelberg.pvs.diego.collectionswitch.calibration;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import de.heidelberg.pvs.diego.collectionswitch.context.ListCollectionType;
+
+/**
+ * Operations of the list performance models, run by {@link Calibration}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ListCalibrationBenchmark {
+
+	// All types, replaced by the current ones when run by Calibration
+	@Param({ "JDK_ARRAYLIST", "JDK_LINKEDLIST", "ONLINEADAPTER_HASHARRAYLIST", "ONLINEADAPTER_ADAPTIVELIST",
+			"FASTUTIL_INTARRAYLIST", "FASTUTIL_LONGARRAYLIST" })
+	public String type;
+
+	@Param({ "1", "10", "50", "100", "250", "500", "1000", "2000" })
+	public int size;
+
+	private ListCollectionType collectionType;
+	private Object[] elements;
+	private int[] probes;
+	private int cursor;
+
+	private List<Object> list;
+
+	@Setup
+	public void setup() {
+		collectionType = ListCollectionType.valueOf(type);
+		elements = CalibrationData.elements(size, 0, collectionType.getElementType());
+		probes = CalibrationData.probes(size);
+		list = populate();
+	}
+
+	@Benchmark
+	public List<Object> populate() {
+		List<Object> populated = collectionType.createList();
+		for (Object element : elements) {
+			populated.add(element);
+		}
+		return populated;
+	}
+
+	@Benchmark
+	public boolean contains() {
+		return list.contains(elements[nextProbe()]);
+	}
+
+	@Benchmark
+	public void iterate(Blackhole blackhole) {
+		for (Object element : list) {
+			blackhole.consume(element);
+		}
+	}
+
+	@Benchmark
+	public Object index() {
+		return list.get(nextProbe());
+	}
+
+	// Each positional benchmark inserts and removes one element, so the list
+	// keeps its size and the score is the cost of a single operation
+
+	@Benchmark
+	@OperationsPerInvocation(2)
+	public Object head() {
+		list.add(0, elements[0]);
+		return list.remove(0);
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(2)
+	public Object middle() {
+		list.add(size / 2, elements[0]);
+		return list.remove(size / 2);
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(2)
+	public Object tail() {
+		list.add(size, elements[0]);
+		return list.remove(size);
+	}
+
+	private int nextProbe() {
+		cursor = (cursor + 1) & (CalibrationData.PROBES - 1);
+		return probes[cursor];
+	}
+
+}
@@ -0,0 +1,113 @@
+package de.heidelberg.pvs.diego.collectionswitch.calibration;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import de.heidelberg.pvs.diego.collectionswitch.context.MapCollectionType;
+
+/**
+ * Operations of the map performance models, run by {@link Calibration}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapCalibrationBenchmark {
+
+	// All types, replaced by the current ones when run by Calibration
+	@Param({ "JDK_HASHMAP", "KOLOBOKE_HASHMAP", "ONLINEADAPTER_ADAPTIVEMAP", "JDK_LINKEDHASHMAP", "FASTUTILS_HASHMAP",
+			"GSCOLLECTIONS_UNIFIEDMAP", "NLP_ARRAYMAP", "GOOGLE_ARRAYMAP", "NAYUKI_COMPACTHASHMAP",
+			"FASTUTIL_INT2OBJECTMAP", "KOLOBOKE_HASHINTOBJMAP", "FASTUTIL_LONG2OBJECTMAP", "KOLOBOKE_HASHLONGOBJMAP" })
+	public String type;
+
+	@Param({ "1", "10", "50", "100", "250", "500", "1000", "2000" })
+	public int size;
+
+	private MapCollectionType collectionType;
+	private Object[] elements;
+	// Keys that are not in the map
+	private Object[] absent;
+	private int[] probes;
+	private int cursor;
+
+	private Map<Object, Object> map;
+
+	@Setup
+	public void setup() {
+		collectionType = MapCollectionType.valueOf(type);
+		elements = CalibrationData.elements(size, 0, collectionType.getKeyType());
+		absent = CalibrationData.elements(size, size, collectionType.getKeyType());
+		probes = CalibrationData.probes(size);
+		map = populate();
+	}
+
+	@Benchmark
+	public Map<Object, Object> populate() {
+		Map<Object, Object> populated = collectionType.createMap();
+		for (Object element : elements) {
+			populated.put(element, element);
+		}
+		return populated;
+	}
+
+	@Benchmark
+	public boolean contains() {
+		return map.containsKey(elements[nextProbe()]);
+	}
+
+	@Benchmark
+	public void iterate(Blackhole blackhole) {
+		for (Map.Entry<Object, Object> entry : map.entrySet()) {
+			blackhole.consume(entry);
+		}
+	}
+
+	@Benchmark
+	public Object hit() {
+		return map.get(elements[nextProbe()]);
+	}
+
+	@Benchmark
+	public Object miss() {
+		return map.get(absent[nextProbe()]);
+	}
+
+	@Benchmark
+	public Object overwrite() {
+		Object key = elements[nextProbe()];
+		return map.put(key, key);
+	}
+
+	// Each new key is removed again, so the map keeps its size and the score
+	// is the cost of a put of a new key and of a removal
+
+	@Benchmark
+	@OperationsPerInvocation(2)
+	public Object churn() {
+		Object key = absent[nextProbe()];
+		map.put(key, key);
+		return map.remove(key);
+	}
+
+	private int nextProbe() {
+		cursor = (cursor + 1) & (CalibrationData.PROBES - 1);
+		return probes[cursor];
+	}
+
+}
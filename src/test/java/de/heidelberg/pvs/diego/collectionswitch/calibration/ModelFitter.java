@@ -0,0 +1,132 @@
+package de.heidelberg.pvs.diego.collectionswitch.calibration;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.apache.commons.math3.fitting.PolynomialCurveFitter;
+import org.apache.commons.math3.fitting.WeightedObservedPoints;
+
+import de.heidelberg.pvs.diego.collectionswitch.factories.PerformanceModels;
+import de.heidelberg.pvs.diego.collectionswitch.factories.PerformanceModels.Kind;
+import de.heidelberg.pvs.diego.collectionswitch.manager.PerformanceGoal.PerformanceDimension;
+
+/**
+ * Fits the polynomials of the performance models to the measured cost of each
+ * operation over the size sweep.
+ */
+public class ModelFitter {
+
+	public static final String POPULATE = "populate";
+	public static final String CONTAINS = "contains";
+	public static final String ITERATE = "iterate";
+	public static final String INDEX = "index";
+	public static final String HEAD = "head";
+	public static final String MIDDLE = "middle";
+	public static final String TAIL = "tail";
+	public static final String HIT = "hit";
+	public static final String MISS = "miss";
+	public static final String OVERWRITE = "overwrite";
+	/** Put of a new key followed by its removal */
+	public static final String CHURN = "churn";
+
+	// Positional operations of the list models, in the order of PerformanceModels
+	private static final String[] POSITIONS = { INDEX, HEAD, MIDDLE, TAIL };
+
+	// Key operations of the map models, the churn standing for both the put of
+	// a new key and the removal
+	private static final String[] KEY_OPERATIONS = { HIT, MISS, CHURN, OVERWRITE, CHURN };
+
+	private final int degree;
+
+	// Keyed by kind, type and dimension, then by operation
+	private final Map<String, Map<String, WeightedObservedPoints>> observations = new LinkedHashMap<String, Map<String, WeightedObservedPoints>>();
+
+	public ModelFitter(int degree) {
+		this.degree = degree;
+	}
+
+	public void add(Kind kind, String type, PerformanceDimension dimension, String operation, int size,
+			double cost) {
+		add(kind, type, dimension, operation, size, cost, 1);
+	}
+
+	/**
+	 * Adds a measurement whose squared error counts the given weight in the
+	 * fit
+	 */
+	public void add(Kind kind, String type, PerformanceDimension dimension, String operation, int size,
+			double cost, double weight) {
+
+		String key = kind + " " + dimension + " " + type;
+		Map<String, WeightedObservedPoints> operations = observations.get(key);
+		if (operations == null) {
+			operations = new LinkedHashMap<String, WeightedObservedPoints>();
+			observations.put(key, operations);
+		}
+
+		WeightedObservedPoints points = operations.get(operation);
+		if (points == null) {
+			points = new WeightedObservedPoints();
+			operations.put(operation, points);
+		}
+		points.add(weight, size, cost);
+	}
+
+	/**
+	 * Models of every type measured for populate, contains and iterate, with
+	 * the positional polynomials of the lists and the key operations of the
+	 * maps when all of them were measured
+	 */
+	public PerformanceModels fit() {
+		return fit(new PerformanceModels());
+	}
+
+	/**
+	 * Adds the fitted models to the given ones
+	 */
+	public PerformanceModels fit(PerformanceModels models) {
+
+		for (Map.Entry<String, Map<String, WeightedObservedPoints>> entry : observations.entrySet()) {
+
+			Map<String, WeightedObservedPoints> operations = entry.getValue();
+			if (!operations.containsKey(POPULATE) || !operations.containsKey(CONTAINS)
+					|| !operations.containsKey(ITERATE)) {
+				continue;
+			}
+
+			String[] key = entry.getKey().split(" ");
+			Kind kind = Kind.valueOf(key[0]);
+
+			String[] names = kind == Kind.LIST ? POSITIONS : kind == Kind.MAP ? KEY_OPERATIONS : new String[0];
+			double[][] extra = null;
+			if (names.length > 0 && operations.keySet().containsAll(Arrays.asList(names))) {
+				extra = new double[names.length][];
+				for (int i = 0; i < names.length; i++) {
+					extra[i] = fit(operations.get(names[i]));
+				}
+			}
+
+			models.add(kind, PerformanceDimension.valueOf(key[1]), key[2], fit(operations.get(POPULATE)),
+					fit(operations.get(CONTAINS)), fit(operations.get(ITERATE)), extra);
+		}
+		return models;
+	}
+
+	/**
+	 * Fitted polynomial of a single operation, or {@code null} if it was not
+	 * measured
+	 */
+	public double[] fit(Kind kind, String type, PerformanceDimension dimension, String operation) {
+		Map<String, WeightedObservedPoints> operations = observations.get(kind + " " + dimension + " " + type);
+		if (operations == null || !operations.containsKey(operation)) {
+			return null;
+		}
+		return fit(operations.get(operation));
+	}
+
+	private double[] fit(WeightedObservedPoints points) {
+		return PolynomialCurveFitter.create(degree).fit(points.toList());
+	}
+
+}
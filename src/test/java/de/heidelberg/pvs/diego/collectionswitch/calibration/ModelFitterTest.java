@@ -0,0 +1,39 @@
+package de.heidelberg.pvs.diego.collectionswitch.calibration;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import de.heidelberg.pvs.diego.collectionswitch.factories.PerformanceModels;
+import de.heidelberg.pvs.diego.collectionswitch.factories.PerformanceModels.Kind;
+import de.heidelberg.pvs.diego.collectionswitch.manager.PerformanceGoal.PerformanceDimension;
+
+public class ModelFitterTest {
+
+	@Test
+	public void testFitsQuadraticCosts() {
+
+		ModelFitter fitter = new ModelFitter(2);
+		for (int size : new int[] { 1, 10, 50, 100, 500, 1000 }) {
+			fitter.add(Kind.SET, "JDK_HASHSET", PerformanceDimension.TIME, ModelFitter.POPULATE, size,
+					10 + 20.0 * size + 0.01 * size * size);
+			fitter.add(Kind.SET, "JDK_HASHSET", PerformanceDimension.TIME, ModelFitter.CONTAINS, size, 30);
+			fitter.add(Kind.SET, "JDK_HASHSET", PerformanceDimension.TIME, ModelFitter.ITERATE, size, 5.0 * size);
+
+			// No iterate measurements, no model
+			fitter.add(Kind.SET, "NLP_ARRAYSET", PerformanceDimension.TIME, ModelFitter.POPULATE, size, size);
+		}
+
+		PerformanceModels models = fitter.fit();
+		Assert.assertEquals(1, models.size());
+
+		PerformanceModels.Entry entry = models.getEntries().get(0);
+		Assert.assertEquals("JDK_HASHSET", entry.getType());
+		Assert.assertArrayEquals(new double[] { 10, 20, 0.01 }, entry.getPopulate(), 1e-6);
+		Assert.assertArrayEquals(new double[] { 30, 0, 0 }, entry.getContains(), 1e-6);
+		Assert.assertArrayEquals(new double[] { 0, 5, 0 }, entry.getIterate(), 1e-6);
+
+		Assert.assertNull(fitter.fit(Kind.SET, "NLP_ARRAYSET", PerformanceDimension.TIME, ModelFitter.INDEX));
+
+	}
+
+}
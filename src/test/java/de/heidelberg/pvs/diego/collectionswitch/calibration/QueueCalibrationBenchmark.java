@@ -0,0 +1,95 @@
+package de.heidelberg.pvs.diego.collectionswitch.calibration;
+
+import java.util.Queue;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import de.heidelberg.pvs.diego.collectionswitch.context.QueueCollectionType;
+
+/**
+ * Operations of the queue performance models. The populate score minus the
+ * offers of its elements is the cost of creating an instance.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class QueueCalibrationBenchmark {
+
+	@Param({ "JDK_ARRAYDEQUE", "JDK_LINKEDLIST", "JDK_PRIORITYQUEUE", "ONLINEADAPTER_ARRAYPRIORITYQUEUE" })
+	public String type;
+
+	@Param({ "1", "10", "50", "100", "250", "500", "1000", "2000" })
+	public int size;
+
+	private QueueCollectionType collectionType;
+	private Object[] elements;
+	private int[] probes;
+	private int cursor;
+
+	private Queue<Object> queue;
+
+	@Setup
+	public void setup() {
+		collectionType = QueueCollectionType.valueOf(type);
+		elements = CalibrationData.elements(size, 0, Integer.class);
+		probes = CalibrationData.probes(size);
+		queue = populate();
+	}
+
+	@Benchmark
+	public Queue<Object> populate() {
+		Queue<Object> populated = collectionType.createQueue();
+		for (Object element : elements) {
+			populated.offer(element);
+		}
+		return populated;
+	}
+
+	// Polls and offers back one element, so the queue keeps its size and the
+	// score is the cost of both operations
+
+	@Benchmark
+	@OperationsPerInvocation(2)
+	public boolean offerPoll() {
+		return queue.offer(queue.poll());
+	}
+
+	@Benchmark
+	public Object peek() {
+		return queue.peek();
+	}
+
+	@Benchmark
+	public boolean contains() {
+		return queue.contains(elements[nextProbe()]);
+	}
+
+	@Benchmark
+	public void iterate(Blackhole blackhole) {
+		for (Object element : queue) {
+			blackhole.consume(element);
+		}
+	}
+
+	private int nextProbe() {
+		cursor = (cursor + 1) & (CalibrationData.PROBES - 1);
+		return probes[cursor];
+	}
+
+}
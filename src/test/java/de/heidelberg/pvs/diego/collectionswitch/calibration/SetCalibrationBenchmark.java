@@ -0,0 +1,82 @@
+package de.heidelberg.pvs.diego.collectionswitch.calibration;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import de.heidelberg.pvs.diego.collectionswitch.context.SetCollectionType;
+
+/**
+ * Operations of the set performance models, run by {@link Calibration}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SetCalibrationBenchmark {
+
+	// All types, replaced by the current ones when run by Calibration
+	@Param({ "JDK_HASHSET", "JDK_LINKEDHASHSET", "FASTUTILS_HASHSET", "GSCOLLECTIONS_UNIFIEDSET", "KOLOBOKE_HASHSET",
+			"NLP_ARRAYSET", "ONLINEADAPTER_ADAPTIVESET", "FASTUTIL_INTOPENHASHSET", "KOLOBOKE_HASHINTSET",
+			"FASTUTIL_LONGOPENHASHSET", "KOLOBOKE_HASHLONGSET" })
+	public String type;
+
+	@Param({ "1", "10", "50", "100", "250", "500", "1000", "2000" })
+	public int size;
+
+	private SetCollectionType collectionType;
+	private Object[] elements;
+	private int[] probes;
+	private int cursor;
+
+	private Set<Object> set;
+
+	@Setup
+	public void setup() {
+		collectionType = SetCollectionType.valueOf(type);
+		elements = CalibrationData.elements(size, 0, collectionType.getElementType());
+		probes = CalibrationData.probes(size);
+		set = populate();
+	}
+
+	@Benchmark
+	public Set<Object> populate() {
+		Set<Object> populated = collectionType.createSet();
+		for (Object element : elements) {
+			populated.add(element);
+		}
+		return populated;
+	}
+
+	@Benchmark
+	public boolean contains() {
+		return set.contains(elements[nextProbe()]);
+	}
+
+	@Benchmark
+	public void iterate(Blackhole blackhole) {
+		for (Object element : set) {
+			blackhole.consume(element);
+		}
+	}
+
+	private int nextProbe() {
+		cursor = (cursor + 1) & (CalibrationData.PROBES - 1);
+		return probes[cursor];
+	}
+
+}
@@ -0,0 +1,111 @@
+package de.heidelberg.pvs.diego.collectionswitch.calibration;
+
+import java.util.NavigableMap;
+import java.util.SortedMap;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import de.heidelberg.pvs.diego.collectionswitch.context.SortedMapCollectionType;
+
+/**
+ * Operations of the sorted map performance models, which the sorted set
+ * models share. The populate score minus the inserts of its keys is the cost
+ * of creating an instance. The fastutil trees are not navigable, so their
+ * floor is measured through a head map.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SortedCalibrationBenchmark {
+
+	@Param({ "JDK_TREEMAP", "JDK_CONCURRENTSKIPLISTMAP", "FASTUTIL_AVLTREEMAP", "FASTUTIL_RBTREEMAP",
+			"ONLINEADAPTER_SORTEDARRAYMAP" })
+	public String type;
+
+	@Param({ "1", "10", "50", "100", "250", "500", "1000", "2000" })
+	public int size;
+
+	private SortedMapCollectionType collectionType;
+	private Object[] elements;
+	private int[] probes;
+	private int cursor;
+
+	private SortedMap<Object, Object> map;
+
+	@Setup
+	public void setup() {
+		collectionType = SortedMapCollectionType.valueOf(type);
+		elements = CalibrationData.elements(size, 0, Integer.class);
+		probes = CalibrationData.probes(size);
+		map = populate();
+	}
+
+	@Benchmark
+	public SortedMap<Object, Object> populate() {
+		SortedMap<Object, Object> populated = collectionType.createMap();
+		for (Object element : elements) {
+			populated.put(element, element);
+		}
+		return populated;
+	}
+
+	@Benchmark
+	public Object lookup() {
+		return map.get(elements[nextProbe()]);
+	}
+
+	// Removes and inserts back one key, so the map keeps its size and the
+	// score is the cost of both operations
+
+	@Benchmark
+	@OperationsPerInvocation(2)
+	public Object removeInsert() {
+		Object key = elements[nextProbe()];
+		map.remove(key);
+		return map.put(key, key);
+	}
+
+	@Benchmark
+	public Object navigate() {
+		Object key = elements[nextProbe()];
+		if (map instanceof NavigableMap) {
+			return ((NavigableMap<Object, Object>) map).floorKey(key);
+		}
+		SortedMap<Object, Object> head = map.headMap(key);
+		return head.isEmpty() ? null : head.lastKey();
+	}
+
+	@Benchmark
+	public Object range() {
+		return map.tailMap(elements[nextProbe()]).isEmpty();
+	}
+
+	@Benchmark
+	public void iterate(Blackhole blackhole) {
+		for (Object key : map.keySet()) {
+			blackhole.consume(key);
+		}
+	}
+
+	private int nextProbe() {
+		cursor = (cursor + 1) & (CalibrationData.PROBES - 1);
+		return probes[cursor];
+	}
+
+}
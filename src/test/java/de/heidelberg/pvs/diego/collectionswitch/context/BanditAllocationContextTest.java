@@ -0,0 +1,119 @@
+package de.heidelberg.pvs.diego.collectionswitch.context;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import de.heidelberg.pvs.diego.collectionswitch.context.impl.BanditListAllocationContext;
+import de.heidelberg.pvs.diego.collectionswitch.context.impl.BanditMapAllocationContext;
+import de.heidelberg.pvs.diego.collectionswitch.manager.PerformanceGoal;
+import de.heidelberg.pvs.diego.collectionswitch.manager.PerformanceGoal.PerformanceDimension;
+import de.heidelberg.pvs.diego.collectionswitch.monitors.lists.TimedList;
+import de.heidelberg.pvs.diego.collectionswitch.optimizers.BanditPolicy;
+import de.heidelberg.pvs.diego.collectionswitch.optimizers.BanditPolicy.Strategy;
+import de.heidelberg.pvs.diego.collectionswitch.optimizers.lists.BanditListOptimizer;
+import de.heidelberg.pvs.diego.collectionswitch.optimizers.maps.BanditMapOptimizer;
+import jlibs.core.lang.RuntimeUtil;
+
+public class BanditAllocationContextTest {
+
+	@Test
+	public void testExplorationRate() throws Exception {
+
+		int rate = 16;
+		int instances = 64000;
+
+		BanditListOptimizer optimizer = new BanditListOptimizer(ListCollectionType.JDK_ARRAYLIST, Object.class,
+				new PerformanceGoal(), Strategy.EPSILON_GREEDY, 0.1, 64);
+		ListAllocationContextInfo context = new BanditListAllocationContext(ListCollectionType.JDK_ARRAYLIST,
+				optimizer, rate, Object.class);
+		optimizer.setContext(context);
+
+		int measured = 0;
+		for (int i = 0; i < instances; i++) {
+			List<Integer> list = context.createList();
+			if (list instanceof TimedList) {
+				measured++;
+			}
+		}
+
+		// Roughly one in every rate instances
+		Assert.assertEquals(instances / rate, measured, instances / rate / 4);
+
+	}
+
+	@Test
+	public void testListConvergesToTheMeasuredBest() throws Exception {
+
+		BanditListOptimizer optimizer = new BanditListOptimizer(ListCollectionType.JDK_LINKEDLIST, Object.class,
+				new PerformanceGoal(), Strategy.THOMPSON_SAMPLING, 0, 256);
+		ListAllocationContextInfo context = new BanditListAllocationContext(ListCollectionType.JDK_LINKEDLIST,
+				optimizer, 1, Object.class);
+		optimizer.setContext(context);
+
+		// Positional reads, which linked lists do in linear time
+		for (int round = 0; round < 10; round++) {
+			for (int i = 0; i < 16; i++) {
+				List<Object> list = context.createList();
+				for (int j = 0; j < 1000; j++) {
+					list.add(j);
+				}
+				for (int j = 0; j < list.size(); j++) {
+					list.get(j);
+				}
+			}
+			RuntimeUtil.gc();
+			optimizer.analyzeAndOptimize();
+		}
+
+		Assert.assertNotEquals(ListCollectionType.JDK_LINKEDLIST, context.getCurrentCollectionType());
+
+		BanditPolicy policy = optimizer.getPolicy();
+		int linked = optimizer.getArms().indexOf(ListCollectionType.JDK_LINKEDLIST);
+		int array = optimizer.getArms().indexOf(ListCollectionType.JDK_ARRAYLIST);
+		Assert.assertTrue(policy.getMeanCost(linked) > policy.getMeanCost(array));
+
+	}
+
+	@Test
+	public void testMapArmsMeasureAllocations() throws Exception {
+
+		PerformanceGoal goal = new PerformanceGoal(PerformanceDimension.ALLOCATION, PerformanceDimension.TIME, 1.2, 0);
+		BanditMapOptimizer optimizer = new BanditMapOptimizer(MapCollectionType.JDK_HASHMAP, Object.class, goal,
+				Strategy.EPSILON_GREEDY, 0.1, 256);
+		MapAllocationContextInfo context = new BanditMapAllocationContext(MapCollectionType.JDK_HASHMAP, optimizer,
+				1, Object.class);
+		optimizer.setContext(context);
+
+		// Only the generic types are arms
+		for (MapCollectionType arm : optimizer.getArms()) {
+			Assert.assertTrue(arm.accepts(Object.class));
+		}
+
+		for (int round = 0; round < 5; round++) {
+			for (int i = 0; i < 64; i++) {
+				Map<Object, Object> map = context.createMap();
+				for (int j = 0; j < 100; j++) {
+					map.put("key" + j, j);
+				}
+				for (Object value : map.values()) {
+					Assert.assertNotNull(value);
+				}
+			}
+			RuntimeUtil.gc();
+			optimizer.analyzeAndOptimize();
+		}
+
+		// Every arm was measured, at a cost
+		BanditPolicy policy = optimizer.getPolicy();
+		for (int arm = 0; arm < optimizer.getArms().size(); arm++) {
+			Assert.assertTrue(policy.getPulls(arm) >= BanditPolicy.MIN_PULLS);
+			Assert.assertTrue(policy.getMeanCost(arm) > 0);
+		}
+		Assert.assertEquals(optimizer.getArms().get(policy.getBest()), context.getCurrentCollectionType());
+
+	}
+
+}
@@ -0,0 +1,62 @@
+package de.heidelberg.pvs.diego.collectionswitch.context;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentMap;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ConcurrentCollectionTypeTest {
+
+	@Test
+	public void testMaps() {
+
+		Map<Integer, String> expected = new HashMap<Integer, String>();
+		for (int i = 0; i < 100; i++) {
+			expected.put(i, "v" + i);
+		}
+
+		for (ConcurrentMapCollectionType type : ConcurrentMapCollectionType.values()) {
+
+			ConcurrentMap<Integer, String> map = type.createMap(10);
+			map.putAll(expected);
+			Assert.assertEquals(type.name(), expected, map);
+			Assert.assertEquals(type.name(), "v1", map.putIfAbsent(1, "other"));
+
+			Assert.assertEquals(type.name(), expected, type.createMap(expected));
+			Assert.assertTrue(type.name(), type.createMap().isEmpty());
+
+		}
+
+		Assert.assertTrue(ConcurrentMapCollectionType.JDK_CONCURRENTSKIPLISTMAP.isSorted());
+		Assert.assertFalse(ConcurrentMapCollectionType.ONLINEADAPTER_STRIPEDHASHMAP.isSorted());
+
+	}
+
+	@Test
+	public void testSets() {
+
+		Set<Integer> expected = new HashSet<Integer>(Arrays.asList(3, 1, 4, 5, 9, 2, 6));
+
+		for (ConcurrentSetCollectionType type : ConcurrentSetCollectionType.values()) {
+
+			Set<Integer> set = type.createSet(10);
+			set.addAll(expected);
+			Assert.assertEquals(type.name(), expected, set);
+			Assert.assertFalse(type.name(), set.add(1));
+
+			Assert.assertEquals(type.name(), expected, type.createSet(expected));
+			Assert.assertTrue(type.name(), type.createSet().isEmpty());
+
+		}
+
+		Assert.assertTrue(ConcurrentSetCollectionType.JDK_CONCURRENTSKIPLISTSET.isSorted());
+		Assert.assertFalse(ConcurrentSetCollectionType.JDK_COPYONWRITEARRAYSET.isSorted());
+
+	}
+
+}
@@ -0,0 +1,132 @@
+package de.heidelberg.pvs.diego.collectionswitch.context;
+
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import de.heidelberg.pvs.diego.collectionswitch.context.impl.ConcurrentEmpiricalListAllocationContext;
+import de.heidelberg.pvs.diego.collectionswitch.context.impl.ConcurrentEmpiricalMapAllocationContext;
+import de.heidelberg.pvs.diego.collectionswitch.manager.PerformanceGoal;
+import de.heidelberg.pvs.diego.collectionswitch.monitors.lists.ListActiveFullMonitor;
+import de.heidelberg.pvs.diego.collectionswitch.monitors.maps.MapActiveFullMonitor;
+import de.heidelberg.pvs.diego.collectionswitch.optimizers.lists.ListAllocationOptimizer;
+import de.heidelberg.pvs.diego.collectionswitch.optimizers.lists.ListEmpiricalOptimizer;
+import de.heidelberg.pvs.diego.collectionswitch.optimizers.lists.ListEmpiricalPerformanceEvaluator;
+import de.heidelberg.pvs.diego.collectionswitch.optimizers.maps.MapAllocationOptimizer;
+import de.heidelberg.pvs.diego.collectionswitch.optimizers.maps.MapEmpiricalOptimizer;
+import de.heidelberg.pvs.diego.collectionswitch.optimizers.maps.MapEmpiricalPerformanceEvaluator;
+
+public class ConcurrentEmpiricalAllocationContextTest {
+
+	private static final int THREADS = 8;
+	private static final int INSTANCES_PER_THREAD = 1000;
+
+	@Test
+	public void testListWindowIsNotOvercounted() throws Exception {
+
+		int windowSize = 50;
+
+		ListAllocationOptimizer optimizer = new ListEmpiricalOptimizer(new ListEmpiricalPerformanceEvaluator(),
+				ListCollectionType.JDK_ARRAYLIST, new PerformanceGoal(), windowSize, 1);
+		ListAllocationContextInfo context = new ConcurrentEmpiricalListAllocationContext(
+				ListCollectionType.JDK_ARRAYLIST, optimizer, windowSize);
+		optimizer.setContext(context);
+
+		List<Future<Integer>> results = runConcurrently(new Callable<Integer>() {
+			@Override
+			public Integer call() throws Exception {
+				int monitored = 0;
+				for (int i = 0; i < INSTANCES_PER_THREAD; i++) {
+					List<Object> list = context.createList();
+					list.add(i);
+					if (list instanceof ListActiveFullMonitor) {
+						monitored++;
+					}
+				}
+				return monitored;
+			}
+		});
+
+		Assert.assertEquals(windowSize, sum(results));
+
+		// A new type opens a new window
+		context.updateCollectionType(ListCollectionType.JDK_LINKEDLIST);
+
+		List<Future<Integer>> linked = runConcurrently(new Callable<Integer>() {
+			@Override
+			public Integer call() throws Exception {
+				int monitored = 0;
+				for (int i = 0; i < INSTANCES_PER_THREAD; i++) {
+					List<Object> list = context.createList();
+					if (list instanceof ListActiveFullMonitor) {
+						monitored++;
+					} else {
+						Assert.assertTrue(list instanceof LinkedList);
+					}
+				}
+				return monitored;
+			}
+		});
+
+		Assert.assertEquals(windowSize, sum(linked));
+		Assert.assertEquals(ListCollectionType.JDK_LINKEDLIST, context.getCurrentCollectionType());
+
+	}
+
+	@Test
+	public void testMapWindowIsNotOvercounted() throws Exception {
+
+		int windowSize = 10;
+
+		MapAllocationOptimizer optimizer = new MapEmpiricalOptimizer(new MapEmpiricalPerformanceEvaluator(),
+				MapCollectionType.JDK_HASHMAP, new PerformanceGoal(), windowSize, 1);
+		MapAllocationContextInfo context = new ConcurrentEmpiricalMapAllocationContext(MapCollectionType.JDK_HASHMAP,
+				optimizer, windowSize);
+		optimizer.setContext(context);
+
+		List<Future<Integer>> results = runConcurrently(new Callable<Integer>() {
+			@Override
+			public Integer call() throws Exception {
+				int monitored = 0;
+				for (int i = 0; i < INSTANCES_PER_THREAD; i++) {
+					Map<Integer, Integer> map = context.createMap();
+					map.put(i, i);
+					if (map instanceof MapActiveFullMonitor) {
+						monitored++;
+					}
+				}
+				return monitored;
+			}
+		});
+
+		Assert.assertEquals(windowSize, sum(results));
+
+	}
+
+	private List<Future<Integer>> runConcurrently(Callable<Integer> task) throws Exception {
+		ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+		List<Future<Integer>> results = new ArrayList<Future<Integer>>();
+		for (int i = 0; i < THREADS; i++) {
+			results.add(executor.submit(task));
+		}
+		executor.shutdown();
+		return results;
+	}
+
+	private int sum(List<Future<Integer>> results) throws Exception {
+		int sum = 0;
+		for (Future<Integer> result : results) {
+			sum += result.get();
+		}
+		return sum;
+	}
+
+}
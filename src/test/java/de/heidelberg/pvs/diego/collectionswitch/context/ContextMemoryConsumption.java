@@ -1,18 +1,18 @@
-package de.heidelberg.pvs.diego.collectionswitch.context;
-
-import static org.junit.Assert.*;
-
-import org.junit.Test;
-
-public class ContextMemoryConsumption {
-	
-	
-	
-	@Test
-	public void testListContext() throws Exception {
-		
-		
-		
-	}
-
-}
+package de.heidelberg.pvs.diego.collectionswitch.context;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+public class ContextMemoryConsumption {
+	
+	
+	
+	@Test
+	public void testListContext() throws Exception {
+		
+		
+		
+	}
+
+}
@@ -0,0 +1,66 @@
+package de.heidelberg.pvs.diego.collectionswitch.context;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.commons.collections4.Bag;
+import org.apache.commons.collections4.MultiValuedMap;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class CountingCollectionTypeTest {
+
+	private static final List<String> ELEMENTS = Arrays.asList("b", "a", "b", "c", "b");
+
+	@Test
+	public void testBags() {
+
+		for (BagCollectionType type : BagCollectionType.values()) {
+
+			Bag<String> bag = type.createBag(ELEMENTS);
+			Assert.assertEquals(type.name(), 3, bag.getCount("b"));
+			Assert.assertEquals(type.name(), 3, bag.uniqueSet().size());
+
+			Assert.assertTrue(type.name(), type.<String>createBag().add("a", 2));
+			Assert.assertFalse(type.name(), bag.add("a", 2));
+			Assert.assertEquals(type.name(), 3, bag.getCount("a"));
+
+			Assert.assertTrue(type.name(), bag.remove("b"));
+			Assert.assertEquals(type.name(), 0, bag.getCount("b"));
+			Assert.assertEquals(type.name(), 4, bag.size());
+
+			if (type.isOrdered()) {
+				Assert.assertEquals(type.name(), Arrays.asList("a", "c", "a", "a"), new ArrayList<String>(bag));
+			}
+
+		}
+
+	}
+
+	@Test
+	public void testMultimaps() {
+
+		for (MultimapCollectionType type : MultimapCollectionType.values()) {
+
+			MultiValuedMap<String, Integer> map = type.createMultimap(4);
+			map.put("a", 1);
+			map.put("a", 1);
+			map.putAll("b", Arrays.asList(2, 3));
+
+			Assert.assertEquals(type.name(), 2, map.keySet().size());
+			Assert.assertTrue(type.name(), map.containsMapping("b", 3));
+			Assert.assertEquals(type.name(), type.isSetValued() ? 1 : 2, map.get("a").size());
+			Assert.assertEquals(type.name(), type.isSetValued() ? 3 : 4, map.size());
+
+			map.removeMapping("b", 2);
+			Assert.assertEquals(type.name(), Collections.singletonList(3), new ArrayList<Integer>(map.get("b")));
+			map.remove("a");
+			Assert.assertFalse(type.name(), map.containsKey("a"));
+
+		}
+
+	}
+
+}
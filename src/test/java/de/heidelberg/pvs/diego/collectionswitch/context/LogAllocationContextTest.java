@@ -0,0 +1,131 @@
+package de.heidelberg.pvs.diego.collectionswitch.context;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import de.heidelberg.pvs.diego.collectionswitch.context.impl.EmpiricalBagAllocationContext;
+import de.heidelberg.pvs.diego.collectionswitch.context.impl.EmpiricalConcurrentMapAllocationContext;
+import de.heidelberg.pvs.diego.collectionswitch.context.impl.EmpiricalDequeAllocationContext;
+import de.heidelberg.pvs.diego.collectionswitch.context.impl.EmpiricalNavigableSetAllocationContext;
+import de.heidelberg.pvs.diego.collectionswitch.context.impl.LogBagAllocationContext;
+import de.heidelberg.pvs.diego.collectionswitch.context.impl.LogConcurrentMapAllocationContext;
+import de.heidelberg.pvs.diego.collectionswitch.context.impl.LogDequeAllocationContext;
+import de.heidelberg.pvs.diego.collectionswitch.context.impl.LogNavigableSetAllocationContext;
+import de.heidelberg.pvs.diego.collectionswitch.manager.PerformanceGoal;
+import de.heidelberg.pvs.diego.collectionswitch.optimizers.concurrent.ConcurrentEmpiricalPerformanceEvaluator;
+import de.heidelberg.pvs.diego.collectionswitch.optimizers.concurrent.ConcurrentMapEmpiricalOptimizer;
+import de.heidelberg.pvs.diego.collectionswitch.optimizers.counting.BagEmpiricalOptimizer;
+import de.heidelberg.pvs.diego.collectionswitch.optimizers.counting.CountingEmpiricalPerformanceEvaluator;
+import de.heidelberg.pvs.diego.collectionswitch.optimizers.queues.QueueEmpiricalOptimizer;
+import de.heidelberg.pvs.diego.collectionswitch.optimizers.queues.QueueEmpiricalPerformanceEvaluator;
+import de.heidelberg.pvs.diego.collectionswitch.optimizers.sorted.SortedEmpiricalPerformanceEvaluator;
+import de.heidelberg.pvs.diego.collectionswitch.optimizers.sorted.SortedSetEmpiricalOptimizer;
+
+public class LogAllocationContextTest {
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	@Test
+	public void testConcurrentMapLog() throws Exception {
+
+		ConcurrentMapEmpiricalOptimizer optimizer = new ConcurrentMapEmpiricalOptimizer(
+				new ConcurrentEmpiricalPerformanceEvaluator<ConcurrentMapCollectionType>(),
+				ConcurrentMapCollectionType.JDK_CONCURRENTHASHMAP, new PerformanceGoal(), 1000);
+		ConcurrentMapAllocationContext context = new LogConcurrentMapAllocationContext(
+				new EmpiricalConcurrentMapAllocationContext(ConcurrentMapCollectionType.JDK_CONCURRENTHASHMAP,
+						optimizer, 10),
+				"cache", folder.getRoot().getPath());
+		optimizer.setContext(context);
+
+		for (int i = 0; i < 1000; i++) {
+			context.createMap();
+		}
+		context.updateCollectionType(ConcurrentMapCollectionType.JDK_CONCURRENTSKIPLISTMAP);
+
+		List<String> log = read("cache");
+		Assert.assertTrue(log.contains("Collecton Type: JDK_CONCURRENTHASHMAP"));
+		Assert.assertTrue(log.contains("Created 1000 maps"));
+		Assert.assertTrue(log.contains("Type updated from JDK_CONCURRENTHASHMAP -- to --JDK_CONCURRENTSKIPLISTMAP"));
+
+	}
+
+	@Test
+	public void testDequeLog() throws Exception {
+
+		QueueEmpiricalOptimizer optimizer = new QueueEmpiricalOptimizer(new QueueEmpiricalPerformanceEvaluator(),
+				QueueCollectionType.JDK_ARRAYDEQUE, new PerformanceGoal(), 10, 1);
+		DequeAllocationContext context = new LogDequeAllocationContext(
+				new EmpiricalDequeAllocationContext(QueueCollectionType.JDK_ARRAYDEQUE, optimizer, 10), "deque",
+				folder.getRoot().getPath());
+		optimizer.setContext(context);
+
+		context.createDeque();
+		// Updates to the same type are not logged
+		context.updateCollectionType(QueueCollectionType.JDK_ARRAYDEQUE);
+		context.updateCollectionType(QueueCollectionType.JDK_LINKEDLIST);
+
+		List<String> log = read("deque");
+		Assert.assertTrue(log.contains("Collecton Type: JDK_ARRAYDEQUE"));
+		Assert.assertTrue(log.contains("1 deques created so far."));
+		Assert.assertTrue(log.contains("Type updated from JDK_ARRAYDEQUE -- to --JDK_LINKEDLIST"));
+		Assert.assertEquals(4, log.size());
+
+	}
+
+	@Test
+	public void testNavigableSetLog() throws Exception {
+
+		SortedSetEmpiricalOptimizer optimizer = new SortedSetEmpiricalOptimizer(
+				new SortedEmpiricalPerformanceEvaluator<SortedSetCollectionType>(), SortedSetCollectionType.JDK_TREESET,
+				true, new PerformanceGoal(), 10, 1);
+		NavigableSetAllocationContext context = new LogNavigableSetAllocationContext(
+				new EmpiricalNavigableSetAllocationContext(SortedSetCollectionType.JDK_TREESET, optimizer, 10), "index",
+				folder.getRoot().getPath());
+		optimizer.setContext(context);
+
+		// Both the sorted and the navigable sets are counted
+		context.createSet();
+		context.createNavigableSet();
+		context.updateCollectionType(SortedSetCollectionType.FASTUTIL_RBTREESET);
+
+		List<String> log = read("index");
+		Assert.assertTrue(log.contains("2 sorted sets created so far."));
+		Assert.assertTrue(log.contains("Type updated from JDK_TREESET -- to --FASTUTIL_RBTREESET"));
+
+	}
+
+	@Test
+	public void testBagLog() throws Exception {
+
+		BagEmpiricalOptimizer optimizer = new BagEmpiricalOptimizer(
+				new CountingEmpiricalPerformanceEvaluator<BagCollectionType>(), BagCollectionType.COMMONS_HASHBAG,
+				new PerformanceGoal(), 10, 1);
+		BagAllocationContext context = new LogBagAllocationContext(
+				new EmpiricalBagAllocationContext(BagCollectionType.COMMONS_HASHBAG, optimizer, 10), "words",
+				folder.getRoot().getPath());
+		optimizer.setContext(context);
+
+		context.createBag();
+		context.updateCollectionType(BagCollectionType.GSCOLLECTIONS_HASHBAG);
+
+		List<String> log = read("words");
+		Assert.assertTrue(log.contains("1 bags created so far."));
+		Assert.assertTrue(log.contains("Type updated from COMMONS_HASHBAG -- to --GSCOLLECTIONS_HASHBAG"));
+
+	}
+
+	private List<String> read(String identifier) throws Exception {
+		File[] files = folder.getRoot().listFiles((dir, name) -> name.startsWith(identifier + "__-__"));
+		Assert.assertEquals(1, files.length);
+		return Files.readAllLines(files[0].toPath(), StandardCharsets.UTF_8);
+	}
+
+}
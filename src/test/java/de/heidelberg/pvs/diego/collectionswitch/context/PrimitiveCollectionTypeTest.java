@@ -0,0 +1,68 @@
+package de.heidelberg.pvs.diego.collectionswitch.context;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.ints.IntOpenHashSet;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.openhft.koloboke.collect.map.hash.HashIntObjMap;
+import net.openhft.koloboke.collect.set.hash.HashLongSet;
+
+public class PrimitiveCollectionTypeTest {
+
+	@Test
+	public void testCreation() {
+
+		List<Integer> list = ListCollectionType.FASTUTIL_INTARRAYLIST.createList(Arrays.asList(1, 2, 3));
+		Assert.assertTrue(list instanceof IntArrayList);
+		Assert.assertEquals(Arrays.asList(1, 2, 3), list);
+
+		Set<Integer> set = SetCollectionType.FASTUTIL_INTOPENHASHSET.createSet(16);
+		Assert.assertTrue(set instanceof IntOpenHashSet);
+
+		Set<Long> longs = SetCollectionType.KOLOBOKE_HASHLONGSET.createSet(Arrays.asList(1L, 2L, 2L));
+		Assert.assertTrue(longs instanceof HashLongSet);
+		Assert.assertEquals(2, longs.size());
+
+		Map<Integer, String> map = MapCollectionType.KOLOBOKE_HASHINTOBJMAP.createMap();
+		Assert.assertTrue(map instanceof HashIntObjMap);
+
+		Map<Long, String> copy = new HashMap<Long, String>();
+		copy.put(7L, "seven");
+		Map<Long, String> longMap = MapCollectionType.FASTUTIL_LONG2OBJECTMAP.createMap(copy);
+		Assert.assertTrue(longMap instanceof Long2ObjectOpenHashMap);
+		Assert.assertEquals("seven", longMap.get(7L));
+
+	}
+
+	@Test
+	public void testAccepts() {
+
+		Assert.assertTrue(ListCollectionType.JDK_ARRAYLIST.accepts(Integer.class));
+		Assert.assertTrue(ListCollectionType.FASTUTIL_INTARRAYLIST.accepts(Integer.class));
+		Assert.assertFalse(ListCollectionType.FASTUTIL_INTARRAYLIST.accepts(Long.class));
+		Assert.assertFalse(ListCollectionType.FASTUTIL_LONGARRAYLIST.accepts(Object.class));
+
+		Assert.assertEquals(Long.class, SetCollectionType.FASTUTIL_LONGOPENHASHSET.getElementType());
+		Assert.assertFalse(SetCollectionType.KOLOBOKE_HASHINTSET.accepts(Object.class));
+
+		Assert.assertEquals(Integer.class, MapCollectionType.FASTUTIL_INT2OBJECTMAP.getKeyType());
+		Assert.assertTrue(MapCollectionType.JDK_HASHMAP.accepts(Long.class));
+		Assert.assertFalse(MapCollectionType.KOLOBOKE_HASHLONGOBJMAP.accepts(Integer.class));
+
+	}
+
+	@Test(expected = ClassCastException.class)
+	public void testRejectsOtherElements() {
+		List<Object> list = ListCollectionType.FASTUTIL_INTARRAYLIST.createList();
+		list.add("one");
+	}
+
+}
@@ -0,0 +1,94 @@
+package de.heidelberg.pvs.diego.collectionswitch.context;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.Queue;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class QueueCollectionTypeTest {
+
+	private static final List<Integer> ELEMENTS = Arrays.asList(3, 1, 4, 1, 5, 9, 2, 6);
+
+	@Test
+	public void testPollOrder() {
+
+		List<Integer> sorted = new ArrayList<Integer>(ELEMENTS);
+		Collections.sort(sorted);
+
+		for (QueueCollectionType type : QueueCollectionType.values()) {
+
+			List<Integer> expected = type.isPriority() ? sorted : ELEMENTS;
+
+			Queue<Integer> queue = type.createQueue(2);
+			queue.addAll(ELEMENTS);
+			Assert.assertEquals(type.name(), expected, drain(queue));
+
+			Assert.assertEquals(type.name(), expected, drain(type.createQueue(ELEMENTS)));
+			Assert.assertTrue(type.name(), type.createQueue().isEmpty());
+
+		}
+
+	}
+
+	@Test
+	public void testDeques() {
+
+		for (QueueCollectionType type : QueueCollectionType.values()) {
+
+			if (!type.isDeque()) {
+				try {
+					type.createDeque();
+					Assert.fail(type.name());
+				} catch (IllegalStateException e) {
+					// Expected
+				}
+				continue;
+			}
+
+			Deque<Integer> deque = type.createDeque(ELEMENTS);
+			deque.push(0);
+			Assert.assertEquals(type.name(), Integer.valueOf(6), deque.pollLast());
+			Assert.assertEquals(type.name(), Integer.valueOf(0), deque.pop());
+
+		}
+
+	}
+
+	@Test
+	public void testComparator() {
+
+		for (QueueCollectionType type : QueueCollectionType.values()) {
+
+			if (!type.isPriority()) {
+				try {
+					type.createQueue(0, Collections.<Integer>reverseOrder());
+					Assert.fail(type.name());
+				} catch (IllegalStateException e) {
+					// Expected
+				}
+				continue;
+			}
+
+			Queue<Integer> queue = type.createQueue(0, Collections.<Integer>reverseOrder());
+			queue.addAll(ELEMENTS);
+			Assert.assertEquals(type.name(), Integer.valueOf(9), queue.peek());
+
+		}
+
+	}
+
+	private static List<Integer> drain(Queue<Integer> queue) {
+		List<Integer> polled = new ArrayList<Integer>();
+		Integer next;
+		while ((next = queue.poll()) != null) {
+			polled.add(next);
+		}
+		return polled;
+	}
+
+}
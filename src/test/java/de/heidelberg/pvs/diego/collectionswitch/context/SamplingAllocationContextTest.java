@@ -0,0 +1,88 @@
+package de.heidelberg.pvs.diego.collectionswitch.context;
+
+import java.util.List;
+import java.util.Set;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import de.heidelberg.pvs.diego.collectionswitch.context.impl.InstanceSampler;
+import de.heidelberg.pvs.diego.collectionswitch.context.impl.SamplingListAllocationContext;
+import de.heidelberg.pvs.diego.collectionswitch.context.impl.SamplingSetAllocationContext;
+import de.heidelberg.pvs.diego.collectionswitch.manager.PerformanceGoal;
+import de.heidelberg.pvs.diego.collectionswitch.monitors.lists.ListActiveFullMonitor;
+import de.heidelberg.pvs.diego.collectionswitch.monitors.sets.SetActiveFullMonitor;
+import de.heidelberg.pvs.diego.collectionswitch.optimizers.lists.ListAllocationOptimizer;
+import de.heidelberg.pvs.diego.collectionswitch.optimizers.lists.ListEmpiricalOptimizer;
+import de.heidelberg.pvs.diego.collectionswitch.optimizers.lists.ListEmpiricalPerformanceEvaluator;
+import de.heidelberg.pvs.diego.collectionswitch.optimizers.sets.SetAllocationOptimizer;
+import de.heidelberg.pvs.diego.collectionswitch.optimizers.sets.SetEmpiricalOptimizer;
+import de.heidelberg.pvs.diego.collectionswitch.optimizers.sets.SetEmpiricalPerformanceEvaluator;
+
+public class SamplingAllocationContextTest {
+
+	@Test
+	public void testSamplingRateIsRoundedToPowerOfTwo() throws Exception {
+
+		Assert.assertEquals(1, new InstanceSampler(1).getRate());
+		Assert.assertEquals(2, new InstanceSampler(2).getRate());
+		Assert.assertEquals(64, new InstanceSampler(50).getRate());
+		Assert.assertEquals(64, new InstanceSampler(64).getRate());
+
+	}
+
+	@Test
+	public void testListSamplingKeepsMonitoring() throws Exception {
+
+		int rate = 16;
+		int instances = 64000;
+
+		ListAllocationOptimizer optimizer = new ListEmpiricalOptimizer(new ListEmpiricalPerformanceEvaluator(),
+				ListCollectionType.JDK_ARRAYLIST, new PerformanceGoal(), 10, 1);
+		ListAllocationContextInfo context = new SamplingListAllocationContext(ListCollectionType.JDK_ARRAYLIST,
+				optimizer, rate);
+		optimizer.setContext(context);
+
+		int monitored = 0;
+		for (int i = 0; i < instances; i++) {
+			List<Integer> list = context.createList();
+			if (list instanceof ListActiveFullMonitor) {
+				monitored++;
+			}
+		}
+
+		// Roughly one in every rate instances
+		Assert.assertEquals(instances / rate, monitored, instances / rate / 4);
+
+		// Still sampling after a switch, without any window
+		context.updateCollectionType(ListCollectionType.JDK_LINKEDLIST);
+
+		monitored = 0;
+		for (int i = 0; i < instances; i++) {
+			List<Integer> list = context.createList();
+			if (list instanceof ListActiveFullMonitor) {
+				monitored++;
+			}
+		}
+
+		Assert.assertEquals(instances / rate, monitored, instances / rate / 4);
+
+	}
+
+	@Test
+	public void testSetSamplingEveryInstance() throws Exception {
+
+		SetAllocationOptimizer optimizer = new SetEmpiricalOptimizer(new SetEmpiricalPerformanceEvaluator(),
+				SetCollectionType.JDK_HASHSET, new PerformanceGoal(), 10, 1);
+		SetAllocationContextInfo context = new SamplingSetAllocationContext(SetCollectionType.JDK_HASHSET, optimizer,
+				1);
+		optimizer.setContext(context);
+
+		for (int i = 0; i < 100; i++) {
+			Set<Integer> set = context.createSet();
+			Assert.assertTrue(set instanceof SetActiveFullMonitor);
+		}
+
+	}
+
+}
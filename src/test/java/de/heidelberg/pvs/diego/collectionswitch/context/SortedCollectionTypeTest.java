@@ -0,0 +1,96 @@
+package de.heidelberg.pvs.diego.collectionswitch.context;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+import java.util.SortedMap;
+import java.util.SortedSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class SortedCollectionTypeTest {
+
+	private static final List<Integer> ELEMENTS = Arrays.asList(3, 1, 4, 1, 5, 9, 2, 6);
+
+	private static final List<Integer> SORTED = Arrays.asList(1, 2, 3, 4, 5, 6, 9);
+
+	@Test
+	public void testSortedMaps() {
+
+		TreeMap<Integer, Integer> reversed = new TreeMap<Integer, Integer>(Collections.reverseOrder());
+		for (Integer element : ELEMENTS) {
+			reversed.put(element, element);
+		}
+
+		for (SortedMapCollectionType type : SortedMapCollectionType.values()) {
+
+			SortedMap<Integer, Integer> map = type.createMap();
+			for (Integer element : ELEMENTS) {
+				map.put(element, element);
+			}
+			Assert.assertEquals(type.name(), SORTED, new ArrayList<Integer>(map.keySet()));
+			Assert.assertEquals(type.name(), Arrays.asList(3, 4), new ArrayList<Integer>(map.subMap(3, 5).keySet()));
+
+			// Copies keep the order of sorted maps
+			SortedMap<Integer, Integer> copy = type.createMap(reversed);
+			Assert.assertEquals(type.name(), Integer.valueOf(9), copy.firstKey());
+			Assert.assertEquals(type.name(), reversed, copy);
+
+			if (type.isNavigable()) {
+				NavigableMap<Integer, Integer> navigable = type.createNavigableMap(map);
+				Assert.assertEquals(type.name(), Integer.valueOf(6), navigable.floorKey(8));
+				Assert.assertEquals(type.name(), Integer.valueOf(9), navigable.ceilingKey(7));
+			} else {
+				try {
+					type.createNavigableMap();
+					Assert.fail(type.name());
+				} catch (IllegalStateException e) {
+					// Expected
+				}
+			}
+
+		}
+
+	}
+
+	@Test
+	public void testSortedSets() {
+
+		TreeSet<Integer> reversed = new TreeSet<Integer>(Collections.reverseOrder());
+		reversed.addAll(ELEMENTS);
+
+		for (SortedSetCollectionType type : SortedSetCollectionType.values()) {
+
+			SortedSet<Integer> set = type.createSet(ELEMENTS);
+			Assert.assertEquals(type.name(), SORTED, new ArrayList<Integer>(set));
+			Assert.assertEquals(type.name(), Arrays.asList(5, 6, 9), new ArrayList<Integer>(set.tailSet(5)));
+
+			SortedSet<Integer> copy = type.createSet(reversed);
+			Assert.assertEquals(type.name(), Integer.valueOf(9), copy.first());
+			Assert.assertEquals(type.name(), reversed, copy);
+
+			if (type.isNavigable()) {
+				NavigableSet<Integer> navigable = type.createNavigableSet(Collections.<Integer>reverseOrder());
+				navigable.addAll(ELEMENTS);
+				Assert.assertEquals(type.name(), Integer.valueOf(6), navigable.higher(9));
+				Assert.assertEquals(type.name(), Integer.valueOf(1), navigable.pollLast());
+			} else {
+				try {
+					type.createNavigableSet();
+					Assert.fail(type.name());
+				} catch (IllegalStateException e) {
+					// Expected
+				}
+			}
+
+		}
+
+	}
+
+}
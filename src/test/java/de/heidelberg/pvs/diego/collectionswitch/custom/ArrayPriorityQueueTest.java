@@ -0,0 +1,104 @@
+package de.heidelberg.pvs.diego.collectionswitch.custom;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.PriorityQueue;
+import java.util.Queue;
+import java.util.Random;
+import java.util.TreeSet;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import de.heidelberg.pvs.diego.collectionswitch.context.QueueCollectionType;
+import de.heidelberg.pvs.diego.collectionswitch.custom.queues.ArrayPriorityQueue;
+
+public class ArrayPriorityQueueTest {
+
+	@Test
+	public void testSameOrderAsPriorityQueue() {
+
+		Random random = new Random(42);
+		ArrayPriorityQueue<Integer> queue = new ArrayPriorityQueue<Integer>();
+		PriorityQueue<Integer> expected = new PriorityQueue<Integer>();
+
+		for (int i = 0; i < 10000; i++) {
+			if (random.nextInt(3) == 0) {
+				Assert.assertEquals(expected.poll(), queue.poll());
+			} else {
+				Integer element = random.nextInt(100);
+				queue.offer(element);
+				expected.offer(element);
+			}
+			Assert.assertEquals(expected.peek(), queue.peek());
+			Assert.assertEquals(expected.size(), queue.size());
+		}
+
+	}
+
+	@Test
+	public void testRemove() {
+
+		ArrayPriorityQueue<Integer> queue = new ArrayPriorityQueue<Integer>(Arrays.asList(5, 1, 4, 2, 3));
+
+		Assert.assertTrue(queue.remove(1));
+		Assert.assertFalse(queue.contains(1));
+		Assert.assertEquals(Integer.valueOf(2), queue.peek());
+
+		// The iterator removes the least element too
+		Iterator<Integer> iterator = queue.iterator();
+		int visited = 0;
+		while (iterator.hasNext()) {
+			visited++;
+			if (iterator.next() == 2) {
+				iterator.remove();
+			}
+		}
+		Assert.assertEquals(4, visited);
+		Assert.assertEquals(3, queue.size());
+		Assert.assertEquals(Integer.valueOf(3), queue.poll());
+		Assert.assertEquals(Integer.valueOf(4), queue.poll());
+		Assert.assertEquals(Integer.valueOf(5), queue.poll());
+		Assert.assertNull(queue.poll());
+
+	}
+
+	@Test
+	public void testCopiesKeepTheComparator() {
+
+		Comparator<Integer> reversed = Collections.reverseOrder();
+		PriorityQueue<Integer> source = new PriorityQueue<Integer>(8, reversed);
+		source.addAll(Arrays.asList(3, 1, 5, 2, 4));
+
+		ArrayPriorityQueue<Integer> copy = new ArrayPriorityQueue<Integer>(source);
+		Assert.assertSame(reversed, copy.comparator());
+		Assert.assertEquals(Integer.valueOf(5), copy.poll());
+
+		TreeSet<Integer> sorted = new TreeSet<Integer>(reversed);
+		sorted.addAll(source);
+		Assert.assertSame(reversed, new ArrayPriorityQueue<Integer>(sorted).comparator());
+
+		// Copies between the priority types keep it too
+		for (QueueCollectionType type : Arrays.asList(QueueCollectionType.JDK_PRIORITYQUEUE,
+				QueueCollectionType.ONLINEADAPTER_ARRAYPRIORITYQUEUE)) {
+			Queue<Integer> queue = type.createQueue(type.createQueue(copy));
+			Assert.assertEquals(4, queue.size());
+			Assert.assertEquals(Integer.valueOf(4), queue.poll());
+			Assert.assertEquals(Integer.valueOf(3), queue.poll());
+		}
+
+	}
+
+	@Test(expected = ClassCastException.class)
+	public void testRejectsIncomparable() {
+		new ArrayPriorityQueue<Object>().offer(new Object());
+	}
+
+	@Test(expected = NullPointerException.class)
+	public void testRejectsNull() {
+		new ArrayPriorityQueue<Integer>().offer(null);
+	}
+
+}
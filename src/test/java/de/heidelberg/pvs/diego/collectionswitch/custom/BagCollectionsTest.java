@@ -0,0 +1,107 @@
+package de.heidelberg.pvs.diego.collectionswitch.custom;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+
+import org.apache.commons.collections4.Bag;
+import org.apache.commons.collections4.bag.HashBag;
+import org.junit.Assert;
+import org.junit.Test;
+
+import de.heidelberg.pvs.diego.collectionswitch.custom.bags.ObjectIntHashBag;
+import de.heidelberg.pvs.diego.collectionswitch.custom.lists.LinkedHashBag;
+
+public class BagCollectionsTest {
+
+	@Test
+	public void testSameAsCommonsHashBag() {
+
+		Random random = new Random(42);
+		Bag<Integer> bag = new ObjectIntHashBag<Integer>();
+		Bag<Integer> expected = new HashBag<Integer>();
+
+		for (int i = 0; i < 10000; i++) {
+			Integer element = random.nextInt(50);
+			switch (random.nextInt(5)) {
+			case 0:
+				Assert.assertEquals(expected.add(element), bag.add(element));
+				break;
+			case 1:
+				int copies = random.nextInt(4);
+				Assert.assertEquals(expected.add(element, copies), bag.add(element, copies));
+				break;
+			case 2:
+				Assert.assertEquals(expected.remove(element, 2), bag.remove(element, 2));
+				break;
+			case 3:
+				if (random.nextInt(10) == 0) {
+					Assert.assertEquals(expected.remove(element), bag.remove(element));
+				}
+				break;
+			default:
+				Assert.assertEquals(expected.getCount(element), bag.getCount(element));
+			}
+			Assert.assertEquals(expected.size(), bag.size());
+		}
+
+		Assert.assertEquals(expected, bag);
+		Assert.assertEquals(bag, expected);
+		Assert.assertEquals(expected.hashCode(), bag.hashCode());
+		Assert.assertEquals(expected.uniqueSet(), bag.uniqueSet());
+
+		// Bulk operations respect the cardinality
+		List<Integer> some = Arrays.asList(1, 1, 2, 3, 3, 3);
+		Assert.assertEquals(expected.containsAll(some), bag.containsAll(some));
+		Assert.assertEquals(expected.removeAll(Arrays.asList(1, 3)), bag.removeAll(Arrays.asList(1, 3)));
+		Assert.assertEquals(expected, bag);
+
+		int[] counts = { bag.getCount(1), bag.getCount(2), bag.getCount(3) };
+		bag.retainAll(some);
+		Assert.assertEquals(Math.min(counts[0], 2), bag.getCount(1));
+		Assert.assertEquals(Math.min(counts[1], 1), bag.getCount(2));
+		Assert.assertEquals(Math.min(counts[2], 3), bag.getCount(3));
+		Assert.assertEquals(bag.getCount(1) + bag.getCount(2) + bag.getCount(3), bag.size());
+
+	}
+
+	@Test
+	public void testUniqueSetIsReadOnly() {
+
+		Bag<String> bag = new ObjectIntHashBag<String>(Arrays.asList("a", "a", "b", "c"));
+		Assert.assertEquals(new HashBag<String>(bag).uniqueSet(), bag.uniqueSet());
+		try {
+			bag.uniqueSet().remove("a");
+			Assert.fail();
+		} catch (UnsupportedOperationException e) {
+			// Expected, as in the commons bags
+		}
+		Assert.assertEquals(2, bag.getCount("a"));
+
+	}
+
+	@Test
+	public void testLinkedHashBagKeepsTheOrder() {
+
+		Bag<String> bag = new LinkedHashBag<String>(Arrays.asList("b", "a", "b"));
+		bag.add("c", 2);
+		Assert.assertEquals(Arrays.asList("b", "a", "b", "c", "c"), new ArrayList<String>(bag));
+
+		// Removing an element removes all its occurrences from the order too
+		bag.remove("b");
+		Assert.assertEquals(Arrays.asList("a", "c", "c"), new ArrayList<String>(bag));
+
+		Iterator<String> iterator = bag.iterator();
+		iterator.next();
+		iterator.remove();
+		Assert.assertEquals(0, bag.getCount("a"));
+		Assert.assertEquals(2, bag.size());
+
+		bag.clear();
+		Assert.assertFalse(bag.iterator().hasNext());
+
+	}
+
+}
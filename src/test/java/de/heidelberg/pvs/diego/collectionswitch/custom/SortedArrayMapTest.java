@@ -0,0 +1,205 @@
+package de.heidelberg.pvs.diego.collectionswitch.custom;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import de.heidelberg.pvs.diego.collectionswitch.custom.maps.SortedArrayMap;
+import de.heidelberg.pvs.diego.collectionswitch.custom.sets.SortedArraySet;
+
+public class SortedArrayMapTest {
+
+	@Test
+	public void testSameAsTreeMap() {
+
+		Random random = new Random(42);
+		NavigableMap<Integer, Integer> map = new SortedArrayMap<Integer, Integer>();
+		NavigableMap<Integer, Integer> expected = new TreeMap<Integer, Integer>();
+
+		for (int i = 0; i < 10000; i++) {
+			Integer key = random.nextInt(200);
+			switch (random.nextInt(4)) {
+			case 0:
+				Assert.assertEquals(expected.remove(key), map.remove(key));
+				break;
+			case 1:
+				Assert.assertEquals(expected.floorEntry(key), map.floorEntry(key));
+				Assert.assertEquals(expected.ceilingKey(key), map.ceilingKey(key));
+				Assert.assertEquals(expected.lowerKey(key), map.lowerKey(key));
+				Assert.assertEquals(expected.higherEntry(key), map.higherEntry(key));
+				break;
+			default:
+				Assert.assertEquals(expected.put(key, i), map.put(key, i));
+			}
+			Assert.assertEquals(expected.get(key), map.get(key));
+			Assert.assertEquals(expected.size(), map.size());
+		}
+
+		Assert.assertEquals(expected, map);
+		Assert.assertEquals(new ArrayList<Integer>(expected.keySet()), new ArrayList<Integer>(map.keySet()));
+		Assert.assertEquals(new ArrayList<Integer>(expected.values()), new ArrayList<Integer>(map.values()));
+		Assert.assertEquals(expected.firstEntry(), map.firstEntry());
+		Assert.assertEquals(expected.lastKey(), map.lastKey());
+
+	}
+
+	@Test
+	public void testViews() {
+
+		NavigableMap<Integer, String> map = new SortedArrayMap<Integer, String>();
+		NavigableMap<Integer, String> expected = new TreeMap<Integer, String>();
+		for (int i = 0; i < 20; i += 2) {
+			map.put(i, "v" + i);
+			expected.put(i, "v" + i);
+		}
+
+		assertSameView(expected.subMap(3, true, 12, true), map.subMap(3, true, 12, true));
+		assertSameView(expected.subMap(4, false, 12, false), map.subMap(4, false, 12, false));
+		assertSameView(expected.headMap(8, true), map.headMap(8, true));
+		assertSameView(expected.tailMap(8, false), map.tailMap(8, false));
+		assertSameView(expected.descendingMap(), map.descendingMap());
+		assertSameView(expected.descendingMap().subMap(14, true, 5, false),
+				map.descendingMap().subMap(14, true, 5, false));
+		assertSameView(expected.descendingMap().headMap(10, false), map.descendingMap().headMap(10, false));
+		assertSameView(expected.tailMap(4, true).headMap(10, true).descendingMap(),
+				map.tailMap(4, true).headMap(10, true).descendingMap());
+
+		// Views write through and reject keys out of their range
+		NavigableMap<Integer, String> view = map.subMap(4, true, 10, true);
+		view.put(5, "v5");
+		Assert.assertEquals("v5", map.get(5));
+		Assert.assertEquals(Arrays.asList(4, 5, 6, 8, 10), new ArrayList<Integer>(view.keySet()));
+		try {
+			view.put(11, "v11");
+			Assert.fail();
+		} catch (IllegalArgumentException e) {
+			// out of range
+		}
+		try {
+			view.subMap(2, 8);
+			Assert.fail();
+		} catch (IllegalArgumentException e) {
+			// out of range
+		}
+
+		view.clear();
+		Assert.assertTrue(view.isEmpty());
+		Assert.assertEquals(Arrays.asList(0, 2, 12, 14, 16, 18), new ArrayList<Integer>(map.keySet()));
+		Assert.assertEquals(Integer.valueOf(0), map.pollFirstEntry().getKey());
+		Assert.assertEquals(Integer.valueOf(18), map.descendingMap().pollFirstEntry().getKey());
+		Assert.assertEquals(Arrays.asList(2, 12, 14, 16), new ArrayList<Integer>(map.keySet()));
+
+	}
+
+	@Test
+	public void testIteratorRemove() {
+
+		NavigableMap<Integer, Integer> map = new SortedArrayMap<Integer, Integer>();
+		for (int i = 0; i < 10; i++) {
+			map.put(i, i);
+		}
+
+		Iterator<Integer> ascending = map.keySet().iterator();
+		while (ascending.hasNext()) {
+			if (ascending.next() % 2 == 0) {
+				ascending.remove();
+			}
+		}
+		Assert.assertEquals(Arrays.asList(1, 3, 5, 7, 9), new ArrayList<Integer>(map.keySet()));
+
+		Iterator<Map.Entry<Integer, Integer>> descending = map.descendingMap().entrySet().iterator();
+		while (descending.hasNext()) {
+			Map.Entry<Integer, Integer> entry = descending.next();
+			if (entry.getKey() > 5) {
+				descending.remove();
+			} else {
+				entry.setValue(-entry.getKey());
+			}
+		}
+		Assert.assertEquals(Arrays.asList(-1, -3, -5), new ArrayList<Integer>(map.values()));
+
+	}
+
+	@Test
+	public void testComparatorAndCopy() {
+
+		NavigableMap<String, Integer> map = new SortedArrayMap<String, Integer>(String.CASE_INSENSITIVE_ORDER);
+		map.put("b", 1);
+		map.put("A", 2);
+		map.put("B", 3);
+		Assert.assertEquals(Arrays.asList("A", "b"), new ArrayList<String>(map.keySet()));
+		Assert.assertEquals(Integer.valueOf(3), map.get("b"));
+
+		NavigableMap<String, Integer> copy = new SortedArrayMap<String, Integer>(map);
+		Assert.assertEquals(String.CASE_INSENSITIVE_ORDER, copy.comparator());
+		Assert.assertEquals(map, copy);
+
+	}
+
+	@Test
+	public void testSortedArraySet() {
+
+		Random random = new Random(7);
+		NavigableSet<Integer> set = new SortedArraySet<Integer>();
+		NavigableSet<Integer> expected = new TreeSet<Integer>();
+
+		for (int i = 0; i < 5000; i++) {
+			Integer element = random.nextInt(100);
+			if (random.nextBoolean()) {
+				Assert.assertEquals(expected.add(element), set.add(element));
+			} else {
+				Assert.assertEquals(expected.remove(element), set.remove(element));
+			}
+			Assert.assertEquals(expected.floor(element), set.floor(element));
+			Assert.assertEquals(expected.higher(element), set.higher(element));
+		}
+
+		Assert.assertEquals(expected, set);
+		Assert.assertEquals(new ArrayList<Integer>(expected.descendingSet()),
+				new ArrayList<Integer>(set.descendingSet()));
+		Assert.assertEquals(new ArrayList<Integer>(expected.subSet(10, true, 50, false)),
+				new ArrayList<Integer>(set.subSet(10, true, 50, false)));
+
+		// Subsets add within their range
+		NavigableSet<Integer> tail = new SortedArraySet<Integer>(Arrays.asList(1, 5, 9)).tailSet(5, true);
+		Assert.assertTrue(tail.add(7));
+		Assert.assertEquals(Arrays.asList(5, 7, 9), new ArrayList<Integer>(tail));
+
+		NavigableSet<Integer> reversed = new SortedArraySet<Integer>(Collections.<Integer>reverseOrder());
+		reversed.addAll(Arrays.asList(1, 3, 2));
+		Assert.assertEquals(Integer.valueOf(3), reversed.pollFirst());
+		Assert.assertEquals(Integer.valueOf(1), reversed.pollLast());
+
+	}
+
+	private static void assertSameView(NavigableMap<Integer, String> expected, NavigableMap<Integer, String> actual) {
+		List<Integer> keys = new ArrayList<Integer>(expected.keySet());
+		Assert.assertEquals(keys, new ArrayList<Integer>(actual.keySet()));
+		Assert.assertEquals(expected.size(), actual.size());
+		for (int key = -1; key <= 20; key++) {
+			Assert.assertEquals(expected.containsKey(key), actual.containsKey(key));
+			Assert.assertEquals(expected.floorKey(key), actual.floorKey(key));
+			Assert.assertEquals(expected.ceilingKey(key), actual.ceilingKey(key));
+			Assert.assertEquals(expected.lowerKey(key), actual.lowerKey(key));
+			Assert.assertEquals(expected.higherKey(key), actual.higherKey(key));
+		}
+		if (!expected.isEmpty()) {
+			Assert.assertEquals(expected.firstKey(), actual.firstKey());
+			Assert.assertEquals(expected.lastEntry(), actual.lastEntry());
+		}
+		Assert.assertEquals(new ArrayList<Integer>(expected.descendingKeySet()),
+				new ArrayList<Integer>(actual.descendingKeySet()));
+	}
+
+}
@@ -0,0 +1,87 @@
+package de.heidelberg.pvs.diego.collectionswitch.custom;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import de.heidelberg.pvs.diego.collectionswitch.custom.maps.StripedHashMap;
+
+public class StripedHashMapTest {
+
+	@Test
+	public void testBehavesAsHashMap() {
+
+		Map<Integer, String> expected = new HashMap<Integer, String>();
+		StripedHashMap<Integer, String> map = new StripedHashMap<Integer, String>(10, 4);
+		for (int i = 0; i < 1000; i++) {
+			expected.put(i, "v" + i);
+			map.put(i, "v" + i);
+		}
+		for (int i = 0; i < 1000; i += 3) {
+			Assert.assertEquals(expected.remove(i), map.remove(i));
+		}
+
+		Assert.assertEquals(expected, map);
+		Assert.assertEquals(map, expected);
+		Assert.assertEquals(expected.hashCode(), map.hashCode());
+		Assert.assertTrue(map.containsValue("v1"));
+		Assert.assertFalse(map.containsKey(0));
+
+	}
+
+	@Test
+	public void testAtomicOperations() {
+
+		StripedHashMap<String, Integer> map = new StripedHashMap<String, Integer>();
+		Assert.assertNull(map.putIfAbsent("a", 1));
+		Assert.assertEquals(Integer.valueOf(1), map.putIfAbsent("a", 2));
+		Assert.assertFalse(map.replace("a", 2, 3));
+		Assert.assertTrue(map.replace("a", 1, 3));
+		Assert.assertFalse(map.remove("a", 1));
+
+		Assert.assertEquals(Integer.valueOf(4), map.merge("a", 1, Integer::sum));
+		Assert.assertEquals(Integer.valueOf(5), map.computeIfAbsent("b", key -> 5));
+		Assert.assertNull(map.computeIfPresent("b", (key, value) -> null));
+		Assert.assertFalse(map.containsKey("b"));
+
+	}
+
+	@Test
+	public void testIterators() {
+
+		StripedHashMap<Integer, Integer> map = new StripedHashMap<Integer, Integer>(1);
+		for (int i = 0; i < 100; i++) {
+			map.put(i, i);
+		}
+
+		// Entries write through, removals go to the map
+		Iterator<Map.Entry<Integer, Integer>> entries = map.entrySet().iterator();
+		while (entries.hasNext()) {
+			Map.Entry<Integer, Integer> entry = entries.next();
+			if (entry.getKey() % 2 == 0) {
+				entries.remove();
+			} else {
+				entry.setValue(-entry.getKey());
+			}
+		}
+
+		Assert.assertEquals(50, map.size());
+		Assert.assertEquals(Integer.valueOf(-1), map.get(1));
+
+		// Weakly consistent, writes during the iteration do not fail it
+		for (Integer key : map.keySet()) {
+			map.put(key + 1000, key);
+		}
+		Assert.assertTrue(map.size() >= 100);
+
+	}
+
+	@Test(expected = NullPointerException.class)
+	public void testNullValues() {
+		new StripedHashMap<String, String>().put("a", null);
+	}
+
+}
@@ -0,0 +1,130 @@
+package de.heidelberg.pvs.diego.collectionswitch.factories;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import de.heidelberg.pvs.diego.collectionswitch.context.ListCollectionType;
+import de.heidelberg.pvs.diego.collectionswitch.factories.PerformanceModels.Kind;
+import de.heidelberg.pvs.diego.collectionswitch.manager.PerformanceGoal.PerformanceDimension;
+
+public class PerformanceModelLoaderTest {
+
+	private static final String MODELS = "collectionswitch-models 1\n"
+			+ "# kind dimension type populate contains iterate [index head middle tail]\n"
+			+ "list TIME JDK_ARRAYLIST -68.142119,7.590974,-0.005205 29.950540,0.518341,-0.000141 5.550586,4.244929,-0.000151"
+			+ " 6.069815 -0.035776,0.215359 23.122913,0.047094 7.022429\n"
+			+ "list time ONLINEADAPTER_HASHARRAYLIST -95.816045,42.094208,-0.011714 29.264840,0.094781,-0.000152 2.657610,4.177008,0.000677\n"
+			+ "map ALLOCATION KOLOBOKE_HASHMAP -556.696152,53.470694,-0.036075 0.000037 39.999850,40.000027\n"
+			+ "map TIME JDK_HASHMAP -159.526456,27.831369 29.878743 26.746037,5.452778 8.1 6.2 21.4 9.3 12.5\n";
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	@Test
+	public void testParseAndWriteText() throws Exception {
+
+		PerformanceModels models = PerformanceModelLoader.parse(new StringReader(MODELS));
+		Assert.assertEquals(4, models.size());
+		Assert.assertEquals(Kind.MAP, models.getEntries().get(2).getKind());
+		Assert.assertArrayEquals(new double[] { 0.000037 }, models.getEntries().get(2).getContains(), 0);
+
+		StringWriter text = new StringWriter();
+		PerformanceModelLoader.writeText(models, text);
+		PerformanceModels parsed = PerformanceModelLoader.parse(new StringReader(text.toString()));
+
+		Assert.assertEquals(models.size(), parsed.size());
+		for (int i = 0; i < models.size(); i++) {
+			Assert.assertEquals(models.getEntries().get(i).getType(), parsed.getEntries().get(i).getType());
+			Assert.assertArrayEquals(models.getEntries().get(i).getPopulate(),
+					parsed.getEntries().get(i).getPopulate(), 0);
+		}
+
+		// Positional polynomials are optional
+		Assert.assertArrayEquals(new double[] { -0.035776, 0.215359 }, parsed.getEntries().get(0).getOperations()[1],
+				0);
+		Assert.assertNull(parsed.getEntries().get(1).getOperations());
+		Assert.assertArrayEquals(new double[] { 21.4 }, parsed.getEntries().get(3).getOperations()[2], 0);
+
+		// Both list models are available to the evaluator
+		Assert.assertTrue(models.buildListEvaluator().crossover(ListCollectionType.JDK_ARRAYLIST,
+				ListCollectionType.ONLINEADAPTER_HASHARRAYLIST, PerformanceDimension.TIME, 10, 1) > 0);
+		Assert.assertTrue(models.buildMapEvaluator().getDimensions().contains(PerformanceDimension.ALLOCATION));
+		Assert.assertTrue(models.buildSetEvaluator().getDimensions().isEmpty());
+
+	}
+
+	@Test
+	public void testInvalidFiles() throws Exception {
+
+		assertInvalid("collectionswitch-models 2\n", "Unsupported version");
+		assertInvalid("list TIME JDK_ARRAYLIST 1 1 1\n", "Missing header");
+		assertInvalid("collectionswitch-models 1\nlist TIME JDK_TREELIST 1 1 1\n", "Line 2");
+		assertInvalid("collectionswitch-models 1\nlist TIME JDK_ARRAYLIST 1 1\n", "Expected 6 or 10 fields");
+		assertInvalid("collectionswitch-models 1\nset TIME JDK_HASHSET 1 1 1 1 1 1 1\n", "Expected 6 fields");
+		assertInvalid("collectionswitch-models 1\nmap TIME JDK_HASHMAP 1 1 1 1 1 1 1\n", "Expected 6 or 11 fields");
+		assertInvalid("collectionswitch-models 1\nlist TIME JDK_ARRAYLIST 1,NaN 1 1\n", "not finite");
+		assertInvalid("collectionswitch-models 1\nlist TIME JDK_ARRAYLIST 1 1 1\nlist TIME JDK_ARRAYLIST 1 1 1\n",
+				"Duplicated");
+
+	}
+
+	@Test
+	public void testBinaryCache() throws Exception {
+
+		File cacheDir = new File(folder.getRoot(), "cache");
+		File file = folder.newFile("models.txt");
+		Files.write(file.toPath(), MODELS.getBytes(StandardCharsets.UTF_8));
+
+		PerformanceModels models = PerformanceModelLoader.load(file, cacheDir);
+		Assert.assertEquals(4, models.size());
+		Assert.assertNotNull(models.getEntries().get(0).getOperations());
+		Assert.assertEquals(1, cacheDir.listFiles().length);
+
+		// Replaces the file without changing its length and modification time
+		// to check that the cache is used instead of the file
+		long modified = file.lastModified();
+		char[] garbage = new char[MODELS.length()];
+		Arrays.fill(garbage, 'x');
+		Files.write(file.toPath(), new String(garbage).getBytes(StandardCharsets.UTF_8));
+		Assert.assertTrue(file.setLastModified(modified));
+		Assert.assertEquals(4, PerformanceModelLoader.load(file, cacheDir).size());
+
+		// A new version of the file replaces its cache
+		Files.write(file.toPath(), (MODELS + "list TIME JDK_LINKEDLIST 1 2 3\n").getBytes(StandardCharsets.UTF_8));
+		Assert.assertTrue(file.setLastModified(modified + 1000));
+		Assert.assertEquals(5, PerformanceModelLoader.load(file, cacheDir).size());
+		Assert.assertEquals(1, cacheDir.listFiles().length);
+		Assert.assertEquals(5, PerformanceModelLoader.load(file, cacheDir).size());
+
+		// A broken cache is ignored
+		new FileOutputStream(cacheDir.listFiles()[0]).close();
+		Assert.assertEquals(5, PerformanceModelLoader.load(file, cacheDir).size());
+
+		// Nothing is cached unless a directory is given
+		File other = folder.newFile("other.txt");
+		Files.write(other.toPath(), MODELS.getBytes(StandardCharsets.UTF_8));
+		Assert.assertEquals(4, PerformanceModelLoader.load(other).size());
+		Assert.assertEquals(1, cacheDir.listFiles().length);
+
+	}
+
+	private static void assertInvalid(String text, String message) throws Exception {
+		try {
+			PerformanceModelLoader.parse(new StringReader(text));
+			Assert.fail("Accepted " + text);
+		} catch (IllegalArgumentException e) {
+			Assert.assertTrue(e.getMessage(), e.getMessage().contains(message));
+		}
+	}
+
+}
@@ -0,0 +1,57 @@
+package de.heidelberg.pvs.diego.collectionswitch.monitors;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.collections.impl.list.mutable.primitive.LongArrayList;
+import org.junit.Assert;
+import org.junit.Test;
+
+import jlibs.core.lang.RuntimeUtil;
+
+public class CompletionTrackerTest {
+
+	@Test
+	public void testFinishedCollectionsArePolledOnce() throws Exception {
+
+		CompletionTracker tracker = new CompletionTracker();
+
+		List<Integer> alive = new ArrayList<Integer>();
+		tracker.track(alive, 1);
+		tracker.track(new ArrayList<Integer>(), 2);
+
+		Assert.assertEquals(2, tracker.activeCount());
+
+		RuntimeUtil.gc();
+		Thread.sleep(100);
+
+		Assert.assertEquals(2, tracker.pollFinished());
+		Assert.assertEquals(CompletionTracker.NONE, tracker.pollFinished());
+		Assert.assertEquals(1, tracker.activeCount());
+
+		LongArrayList active = new LongArrayList();
+		tracker.collectActive(active);
+		Assert.assertEquals(1, active.size());
+		Assert.assertEquals(1, active.get(0));
+
+		alive.add(1);
+
+	}
+
+	@Test
+	public void testClearedCollectionsAreNotReported() throws Exception {
+
+		CompletionTracker tracker = new CompletionTracker();
+		tracker.track(new ArrayList<Integer>(), 1);
+
+		tracker.clear();
+
+		RuntimeUtil.gc();
+		Thread.sleep(100);
+
+		Assert.assertEquals(CompletionTracker.NONE, tracker.pollFinished());
+		Assert.assertEquals(0, tracker.activeCount());
+
+	}
+
+}
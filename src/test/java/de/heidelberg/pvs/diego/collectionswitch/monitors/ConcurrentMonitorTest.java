@@ -0,0 +1,139 @@
+package de.heidelberg.pvs.diego.collectionswitch.monitors;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import de.heidelberg.pvs.diego.collectionswitch.monitors.concurrent.ConcurrentMapMonitor;
+import de.heidelberg.pvs.diego.collectionswitch.monitors.concurrent.ConcurrentMetrics;
+import de.heidelberg.pvs.diego.collectionswitch.monitors.concurrent.ConcurrentSetMonitor;
+
+public class ConcurrentMonitorTest {
+
+	@Test
+	public void testMapMonitor() {
+
+		ConcurrentMetrics metrics = new ConcurrentMetrics();
+		ConcurrentMap<Integer, Integer> map = new ConcurrentMapMonitor<Integer, Integer>(
+				new ConcurrentSkipListMap<Integer, Integer>(), metrics);
+
+		for (int i = 0; i < 100; i++) {
+			map.put(i, i);
+		}
+		map.put(0, 0);
+		map.remove(1);
+		map.computeIfAbsent(1, key -> key);
+		map.computeIfAbsent(2, key -> key);
+		map.merge(100, 1, Integer::sum);
+		map.compute(3, (key, value) -> null);
+		for (int i = 0; i < 10; i++) {
+			map.get(i);
+		}
+		for (Integer key : map.keySet()) {
+			Assert.assertNotNull(key);
+		}
+
+		Assert.assertEquals(10, metrics.getReads());
+		Assert.assertEquals(106, metrics.getWrites());
+		Assert.assertEquals(1, metrics.getIterations());
+		// The size is tracked without asking the skip list
+		Assert.assertEquals(100, metrics.getSize());
+		Assert.assertEquals(map.size(), metrics.getSize());
+		Assert.assertEquals(100, metrics.getVisits());
+
+		// A single thread never contends
+		Assert.assertEquals(0, metrics.getContended());
+		Assert.assertEquals(1, metrics.getThreads());
+		Assert.assertEquals(1.0, metrics.getContendingThreads(), 0.0);
+
+	}
+
+	@Test
+	public void testContention() throws Exception {
+
+		ConcurrentMetrics metrics = new ConcurrentMetrics();
+		ConcurrentMap<Object, Integer> map = new ConcurrentMapMonitor<Object, Integer>(
+				new ConcurrentHashMap<Object, Integer>(), metrics);
+
+		// One thread stays inside an operation while the test thread operates
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		Thread reader = new Thread(() -> map.get(new BlockingKey(started, release)));
+		reader.start();
+		started.await();
+
+		for (int i = 0; i < 999; i++) {
+			map.put(i, i);
+		}
+		release.countDown();
+		reader.join();
+
+		Assert.assertEquals(999, metrics.getContended());
+		Assert.assertEquals(2, metrics.getThreads());
+		Assert.assertEquals(500.0, metrics.getOperationsPerThread(), 0.0);
+		Assert.assertEquals(1.999, metrics.getContendingThreads(), 1e-9);
+		Assert.assertEquals(999, metrics.getSize());
+
+	}
+
+	@Test
+	public void testSetMonitorAndClose() {
+
+		ConcurrentMetrics metrics = new ConcurrentMetrics();
+		Set<String> set = new ConcurrentSetMonitor<String>(new CopyOnWriteArraySet<String>(), metrics);
+
+		set.add("a");
+		set.add("a");
+		set.add("b");
+		set.contains("a");
+		set.remove("b");
+		set.forEach(element -> {
+		});
+		Assert.assertEquals(4, metrics.getWrites());
+		Assert.assertEquals(1, metrics.getReads());
+		Assert.assertEquals(1, metrics.getSize());
+		Assert.assertEquals(1, metrics.getVisits());
+
+		// Closed records stop counting
+		metrics.close();
+		set.contains("a");
+		set.add("c");
+		Assert.assertEquals(1, metrics.getReads());
+		Assert.assertEquals(1, metrics.getSize());
+
+	}
+
+
+	/**
+	 * Key whose hash code waits for the release, so that the operation runs
+	 * without holding any lock of the map
+	 */
+	static class BlockingKey {
+
+		private final CountDownLatch started;
+		private final CountDownLatch release;
+
+		BlockingKey(CountDownLatch started, CountDownLatch release) {
+			this.started = started;
+			this.release = release;
+		}
+
+		public int hashCode() {
+			started.countDown();
+			try {
+				release.await();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			return 0;
+		}
+
+	}
+
+}
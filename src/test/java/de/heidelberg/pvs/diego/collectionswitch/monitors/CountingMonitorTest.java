@@ -0,0 +1,116 @@
+package de.heidelberg.pvs.diego.collectionswitch.monitors;
+
+import java.util.Arrays;
+import java.util.Iterator;
+
+import org.apache.commons.collections4.Bag;
+import org.apache.commons.collections4.MultiValuedMap;
+import org.apache.commons.collections4.bag.HashBag;
+import org.apache.commons.collections4.multimap.ArrayListValuedHashMap;
+import org.junit.Assert;
+import org.junit.Test;
+
+import de.heidelberg.pvs.diego.collectionswitch.custom.bags.ObjectIntHashBag;
+import de.heidelberg.pvs.diego.collectionswitch.monitors.counting.BagMonitor;
+import de.heidelberg.pvs.diego.collectionswitch.monitors.counting.CountingMetrics;
+import de.heidelberg.pvs.diego.collectionswitch.monitors.counting.MultimapMonitor;
+
+public class CountingMonitorTest {
+
+	@Test
+	public void testBagMonitor() {
+
+		for (Bag<Integer> bag : Arrays.<Bag<Integer>>asList(new HashBag<Integer>(), new ObjectIntHashBag<Integer>())) {
+
+			CountingMetrics state = new CountingMetrics();
+			Bag<Integer> monitor = new BagMonitor<Integer>(bag, state);
+
+			int n = 10;
+			for (int i = 0; i < n; i++) {
+				monitor.add(i);
+				monitor.add(i, 3);
+			}
+			Assert.assertEquals(2 * n, state.getAddOp());
+			Assert.assertEquals(4 * n, state.getCopyOp());
+			// The size is the number of distinct elements
+			Assert.assertEquals(n, state.getMaxSize());
+
+			monitor.getCount(1);
+			monitor.contains(2);
+			Assert.assertEquals(2, state.getCountOp());
+
+			monitor.remove(0, 2);
+			Assert.assertEquals(n, state.getLastSize());
+			monitor.remove(0, 2);
+			Assert.assertEquals(n - 1, state.getLastSize());
+			monitor.remove(1);
+			Assert.assertEquals(n - 2, state.getLastSize());
+			Assert.assertEquals(3, state.getRemoveOp());
+
+			// Removing an occurrence through the iterator keeps the element
+			// distinct until the last one
+			Iterator<Integer> iterator = monitor.iterator();
+			while (iterator.hasNext()) {
+				if (iterator.next() == 2) {
+					iterator.remove();
+				}
+			}
+			Assert.assertEquals(1, state.getIterationOp());
+			Assert.assertEquals(4 * (n - 2), state.getVisitOp());
+			Assert.assertEquals(n - 3, state.getLastSize());
+
+			Assert.assertTrue(monitor.uniqueSet().contains(3));
+			Assert.assertEquals(3, state.getCountOp());
+
+			monitor.clear();
+			Assert.assertEquals(0, state.getLastSize());
+
+		}
+
+	}
+
+	@Test
+	public void testMultimapMonitor() {
+
+		CountingMetrics state = new CountingMetrics();
+		MultiValuedMap<Integer, Integer> monitor = new MultimapMonitor<Integer, Integer>(
+				new ArrayListValuedHashMap<Integer, Integer>(), state);
+
+		int n = 10;
+		for (int i = 0; i < n; i++) {
+			monitor.put(i, i);
+			monitor.putAll(i, Arrays.asList(1, 2, 3));
+		}
+		Assert.assertEquals(2 * n, state.getAddOp());
+		Assert.assertEquals(4 * n, state.getCopyOp());
+		// The size is the number of keys
+		Assert.assertEquals(n, state.getMaxSize());
+
+		monitor.get(1);
+		monitor.containsKey(2);
+		monitor.containsMapping(3, 3);
+		Assert.assertEquals(3, state.getCountOp());
+
+		monitor.removeMapping(0, 0);
+		Assert.assertEquals(n, state.getLastSize());
+		monitor.remove(0);
+		Assert.assertEquals(n - 1, state.getLastSize());
+		monitor.keySet().remove(1);
+		Assert.assertEquals(n - 2, state.getLastSize());
+		Assert.assertEquals(2, state.getRemoveOp());
+
+		int visited = 0;
+		for (Integer value : monitor.values()) {
+			Assert.assertNotNull(value);
+			visited++;
+		}
+		Assert.assertEquals(4 * (n - 2), visited);
+		Assert.assertEquals(1, state.getIterationOp());
+		Assert.assertEquals(visited, state.getVisitOp());
+
+		monitor.clear();
+		Assert.assertEquals(0, state.getLastSize());
+
+	}
+
+}
@@ -1,5 +1,5 @@
-package de.heidelberg.pvs.diego.collectionswitch.monitors;
-
-public class CreateMonitorsTest {
-
-}
+package de.heidelberg.pvs.diego.collectionswitch.monitors;
+
+public class CreateMonitorsTest {
+
+}
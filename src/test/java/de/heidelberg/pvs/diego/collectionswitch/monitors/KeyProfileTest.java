@@ -0,0 +1,127 @@
+package de.heidelberg.pvs.diego.collectionswitch.monitors;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import de.heidelberg.pvs.diego.collectionswitch.monitors.KeyProfile.HashMixing;
+import de.heidelberg.pvs.diego.collectionswitch.monitors.maps.MapActiveFullMonitor;
+import de.heidelberg.pvs.diego.collectionswitch.monitors.maps.MapMetrics;
+import de.heidelberg.pvs.diego.collectionswitch.monitors.sets.SetActiveFullMonitor;
+import de.heidelberg.pvs.diego.collectionswitch.monitors.sets.SetMetrics;
+
+public class KeyProfileTest {
+
+	@Test
+	public void testBoxedIntegers() throws Exception {
+
+		KeyProfile profile = new KeyProfile(1);
+		for (int i = 0; i < 1000; i++) {
+			profile.record(i);
+		}
+
+		Assert.assertEquals(1000, profile.getSampleCount());
+		Assert.assertEquals(1.0, profile.getNumericRatio(), 0);
+		Assert.assertTrue(profile.suggestsPrimitiveKeys());
+		Assert.assertEquals(1.0, profile.getClustering(HashMixing.SPREAD), 0.1);
+		Assert.assertFalse(profile.isClustered());
+
+	}
+
+	@Test
+	public void testClusteredHashes() throws Exception {
+
+		KeyProfile profile = new KeyProfile(1);
+		for (int i = 0; i < 1000; i++) {
+			// Low bits always zero and no high bits to spread into them
+			profile.record(i * KeyProfile.BUCKETS);
+			profile.record("key" + i);
+		}
+
+		Assert.assertEquals(0.5, profile.getStringRatio(), 0);
+		Assert.assertFalse(profile.suggestsPrimitiveKeys());
+		Assert.assertTrue(profile.isClustered());
+		Assert.assertTrue(profile.isClustered(HashMixing.SPREAD));
+
+		// The golden ratio product spreads them
+		Assert.assertFalse(profile.isClustered(HashMixing.PHI));
+		Assert.assertEquals(1.0, profile.getClustering(HashMixing.PHI), 0.5);
+
+		// Doubles holding small integers only have high bits, which the
+		// spread moves into the slot
+		profile.reset();
+		for (int i = 0; i < 1000; i++) {
+			profile.record((double) i);
+		}
+		Assert.assertFalse(profile.isClustered(HashMixing.SPREAD));
+
+		profile.reset();
+		Assert.assertEquals(0, profile.getSampleCount());
+		Assert.assertFalse(profile.isClustered());
+
+	}
+
+	@Test
+	public void testMonitorsSampleNewKeys() throws Exception {
+
+		KeyProfile profile = new KeyProfile(4);
+
+		MapMetrics mapState = new MapMetrics();
+		Map<Integer, Integer> map = new MapActiveFullMonitor<Integer, Integer>(new HashMap<Integer, Integer>(),
+				mapState.getBuffer(), mapState.getId(), profile);
+		for (int i = 0; i < 100; i++) {
+			map.put(i, i);
+			// Overwrites are not sampled
+			map.put(i, i);
+		}
+		Assert.assertEquals(25, profile.getSampleCount());
+
+		SetMetrics setState = new SetMetrics();
+		Set<Integer> set = new SetActiveFullMonitor<Integer>(new HashSet<Integer>(), setState.getBuffer(),
+				setState.getId(), profile);
+		for (int i = 0; i < 100; i++) {
+			set.add(i);
+			set.add(i);
+		}
+		Assert.assertEquals(50, profile.getSampleCount());
+
+	}
+
+	@Test
+	public void testElementType() throws Exception {
+
+		KeyProfile profile = new KeyProfile(1);
+		for (long i = 0; i < KeyProfile.MIN_SAMPLES - 1; i++) {
+			profile.record(i);
+		}
+		// Too few samples
+		Assert.assertEquals(Object.class, profile.getElementType());
+
+		profile.record(0L);
+		Assert.assertEquals(Long.class, profile.getElementType());
+
+		// Mixed boxes are still numeric, but no primitive type stores both
+		profile.record(0);
+		Assert.assertTrue(profile.suggestsPrimitiveKeys());
+		Assert.assertEquals(Object.class, profile.getElementType());
+
+		profile.reset();
+		for (int i = 0; i < KeyProfile.MIN_SAMPLES; i++) {
+			profile.record(i);
+		}
+		Assert.assertEquals(Integer.class, profile.getElementType());
+		profile.record(null);
+		Assert.assertEquals(Object.class, profile.getElementType());
+
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testInvalidPeriod() throws Exception {
+		new KeyProfile(0);
+	}
+
+}
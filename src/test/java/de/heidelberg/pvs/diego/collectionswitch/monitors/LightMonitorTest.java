@@ -0,0 +1,117 @@
+package de.heidelberg.pvs.diego.collectionswitch.monitors;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import de.heidelberg.pvs.diego.collectionswitch.monitors.lists.ListLightMonitor;
+import de.heidelberg.pvs.diego.collectionswitch.monitors.lists.ListMetrics;
+import de.heidelberg.pvs.diego.collectionswitch.monitors.maps.MapLightMonitor;
+import de.heidelberg.pvs.diego.collectionswitch.monitors.maps.MapMetrics;
+import de.heidelberg.pvs.diego.collectionswitch.monitors.sets.SetLightMonitor;
+import de.heidelberg.pvs.diego.collectionswitch.monitors.sets.SetMetrics;
+
+public class LightMonitorTest {
+
+	private static final int PERIOD = 16;
+
+	@Test
+	public void testListMonitor() throws Exception {
+
+		ListMetrics state = new ListMetrics();
+		List<Integer> monitor = new ListLightMonitor<Integer>(new ArrayList<Integer>(), state.getBuffer(),
+				state.getId(), PERIOD);
+
+		int n = 1000;
+		for (int i = 0; i < n; i++) {
+			monitor.add(i);
+		}
+		// Observed at most a period before the end
+		Assert.assertTrue(state.getMaxSize() > n - PERIOD);
+
+		int c = 1600;
+		for (int i = 0; i < c; i++) {
+			monitor.contains(i);
+		}
+		Assert.assertEquals(c, state.getContainsOp());
+
+		int g = 3200;
+		for (int i = 0; i < g; i++) {
+			monitor.get(1 + i % (n - 2));
+		}
+		Assert.assertEquals(g, state.getIndexOp());
+
+		int it = 160;
+		for (int i = 0; i < it; i++) {
+			for (Integer k : monitor) {
+				k += 10;
+			}
+		}
+		Assert.assertEquals(it, state.getIterationOp());
+		Assert.assertEquals((long) it * n, state.getVisitOp());
+
+	}
+
+	@Test
+	public void testSetMonitor() throws Exception {
+
+		SetMetrics state = new SetMetrics();
+		Set<Integer> monitor = new SetLightMonitor<Integer>(new HashSet<Integer>(), state.getBuffer(),
+				state.getId(), PERIOD);
+
+		int n = 500;
+		for (int i = 0; i < n; i++) {
+			monitor.add(i);
+		}
+		Assert.assertTrue(state.getMaxSize() > n - PERIOD);
+
+		int c = 3200;
+		for (int i = 0; i < c; i++) {
+			monitor.contains(i);
+		}
+		Assert.assertEquals(c, state.getContainsOp());
+
+	}
+
+	@Test
+	public void testMapMonitor() throws Exception {
+
+		MapMetrics state = new MapMetrics();
+		Map<Integer, Integer> monitor = new MapLightMonitor<Integer, Integer>(new HashMap<Integer, Integer>(),
+				state.getBuffer(), state.getId(), PERIOD);
+
+		int n = 500;
+		for (int i = 0; i < n; i++) {
+			monitor.put(i, i);
+		}
+		Assert.assertTrue(state.getMaxSize() > n - PERIOD);
+
+		int c = 3200;
+		for (int i = 0; i < c; i++) {
+			monitor.get(i);
+		}
+		// Hits and misses apart
+		Assert.assertEquals(c, state.getHitOp() + state.getMissOp());
+		Assert.assertTrue(state.getMissOp() > 0);
+
+		int it = 320;
+		for (int i = 0; i < it; i++) {
+			monitor.keySet();
+		}
+		Assert.assertEquals(it, state.getIterationOp());
+
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testInvalidPeriod() throws Exception {
+		ListMetrics state = new ListMetrics();
+		new ListLightMonitor<Integer>(new ArrayList<Integer>(), state.getBuffer(), state.getId(), 0);
+	}
+
+}
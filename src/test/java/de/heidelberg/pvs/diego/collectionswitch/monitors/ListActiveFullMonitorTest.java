@@ -1,61 +1,164 @@
-package de.heidelberg.pvs.diego.collectionswitch.monitors;
-
-import java.util.ArrayList;
-import java.util.List;
-
-import org.junit.Assert;
-import org.junit.Test;
-
-import com.github.andrewoma.dexx.collection.Set;
-
-import de.heidelberg.pvs.diego.collectionswitch.monitors.lists.ListActiveFullMonitor;
-import de.heidelberg.pvs.diego.collectionswitch.monitors.lists.ListMetrics;
-import de.heidelberg.pvs.diego.collectionswitch.monitors.sets.SetMetrics;
-
-public class ListActiveFullMonitorTest {
-	
-	@Test
-	public void testListMonitor() throws Exception {
-		
-		ListMetrics state = new ListMetrics(null);
-		List<Integer> list = new ArrayList<Integer>();
-		List<Integer> monitor = new ListActiveFullMonitor<Integer>(list, state);
-		
-		monitor.add(1);
-		Assert.assertEquals(1, state.getLastSize());
-		
-		monitor.remove(new Integer(1));
-		Assert.assertEquals(0, state.getLastSize());
-		
-		int n = 100;
-		for(int i = 0; i < n; i++) {
-			monitor.add(i);
-		}
-		Assert.assertEquals(n, state.getLastSize());
-		Assert.assertEquals(n, state.getMaxSize());
-		
-		int r = 55;
-		for(int i = 0; i < r; i++) {
-			monitor.remove(new Integer(i));
-		}
-		Assert.assertEquals(n - r, state.getLastSize());
-		Assert.assertEquals(n, state.getMaxSize());
-		
-		Assert.assertEquals(1 + r, state.getContainsOp());
-		
-		int it = 170;
-		for(int i = 0; i < it; i++) {
-			for(Integer k : monitor) {
-				k += 10;
-			}
-		}
-		
-		Assert.assertEquals(it, state.getIterationOp());
-		
-		monitor.clear();
-		Assert.assertEquals(0, state.getLastSize());
-		Assert.assertEquals(n, state.getMaxSize());
-		
-	}
-	
-}
+package de.heidelberg.pvs.diego.collectionswitch.monitors;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.ListIterator;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.github.andrewoma.dexx.collection.Set;
+
+import de.heidelberg.pvs.diego.collectionswitch.monitors.lists.ListActiveFullMonitor;
+import de.heidelberg.pvs.diego.collectionswitch.monitors.lists.ListMetrics;
+import de.heidelberg.pvs.diego.collectionswitch.monitors.sets.SetMetrics;
+
+public class ListActiveFullMonitorTest {
+	
+	@Test
+	public void testListMonitor() throws Exception {
+		
+		ListMetrics state = new ListMetrics();
+		List<Integer> list = new ArrayList<Integer>();
+		List<Integer> monitor = new ListActiveFullMonitor<Integer>(list, state);
+		
+		monitor.add(1);
+		Assert.assertEquals(1, state.getLastSize());
+		
+		monitor.remove(new Integer(1));
+		Assert.assertEquals(0, state.getLastSize());
+		
+		int n = 100;
+		for(int i = 0; i < n; i++) {
+			monitor.add(i);
+		}
+		Assert.assertEquals(n, state.getLastSize());
+		Assert.assertEquals(n, state.getMaxSize());
+		
+		int r = 55;
+		for(int i = 0; i < r; i++) {
+			monitor.remove(new Integer(i));
+		}
+		Assert.assertEquals(n - r, state.getLastSize());
+		Assert.assertEquals(n, state.getMaxSize());
+		
+		Assert.assertEquals(1 + r, state.getContainsOp());
+		
+		int it = 170;
+		for(int i = 0; i < it; i++) {
+			for(Integer k : monitor) {
+				k += 10;
+			}
+		}
+		
+		Assert.assertEquals(it, state.getIterationOp());
+		
+		monitor.clear();
+		Assert.assertEquals(0, state.getLastSize());
+		Assert.assertEquals(n, state.getMaxSize());
+		
+	}
+	
+	@Test
+	public void testPositionalOperations() throws Exception {
+
+		ListMetrics state = new ListMetrics();
+		List<Integer> monitor = new ListActiveFullMonitor<Integer>(new ArrayList<Integer>(), state);
+
+		for (int i = 0; i < 10; i++) {
+			monitor.add(i);
+		}
+
+		monitor.add(0, -1);
+		monitor.remove(0);
+		Assert.assertEquals(2, state.getHeadOp());
+
+		monitor.add(5, -1);
+		monitor.remove(5);
+		monitor.addAll(3, Arrays.asList(1, 2));
+		Assert.assertEquals(3, state.getMiddleOp());
+
+		monitor.add(monitor.size(), -1);
+		monitor.remove(monitor.size() - 1);
+		Assert.assertEquals(2, state.getTailOp());
+		Assert.assertEquals(12, state.getLastSize());
+
+		// Only accesses away from both ends are random
+		monitor.get(0);
+		monitor.get(4);
+		monitor.set(monitor.size() - 1, 0);
+		monitor.set(6, 0);
+		Assert.assertEquals(2, state.getIndexOp());
+
+	}
+
+	@Test
+	public void testIteratorsAndViews() throws Exception {
+
+		ListMetrics state = new ListMetrics();
+		List<Integer> monitor = new ListActiveFullMonitor<Integer>(new ArrayList<Integer>(), state);
+		for (int i = 0; i < 10; i++) {
+			monitor.add(i);
+		}
+
+		Iterator<Integer> iterator = monitor.iterator();
+		iterator.next();
+		iterator.remove();
+		Assert.assertEquals(1, state.getHeadOp());
+		Assert.assertEquals(9, state.getLastSize());
+
+		ListIterator<Integer> listIterator = monitor.listIterator(4);
+		listIterator.add(-1);
+		listIterator.next();
+		listIterator.remove();
+		Assert.assertEquals(2, state.getMiddleOp());
+		Assert.assertEquals(2, state.getIterationOp());
+
+		// Positions of a sub list are the ones in the whole list
+		List<Integer> tail = monitor.subList(5, 9);
+		tail.remove(tail.size() - 1);
+		tail.add(0, -1);
+		Assert.assertEquals(1, state.getTailOp());
+		Assert.assertEquals(3, state.getMiddleOp());
+		Assert.assertEquals(9, state.getLastSize());
+
+		monitor.forEach(e -> e.hashCode());
+		Assert.assertEquals(3, monitor.stream().filter(e -> e > 4).count());
+		Assert.assertTrue(monitor.removeIf(e -> e < 0));
+		Assert.assertEquals(5, state.getIterationOp());
+		Assert.assertEquals(7, state.getLastSize());
+
+	}
+
+	@Test
+	public void testVisitedElements() throws Exception {
+
+		ListMetrics state = new ListMetrics();
+		List<Integer> monitor = new ListActiveFullMonitor<Integer>(new ArrayList<Integer>(), state);
+		for (int i = 0; i < 100; i++) {
+			monitor.add(i);
+		}
+
+		// Exhausted iterators record every visit
+		for (Integer e : monitor) {
+			e.hashCode();
+		}
+		Assert.assertEquals(100, state.getVisitOp());
+
+		// Early exits record at least half of them
+		for (Integer e : monitor) {
+			if (e == 5) {
+				break;
+			}
+		}
+		Assert.assertEquals(104, state.getVisitOp());
+
+		monitor.forEach(e -> e.hashCode());
+		Assert.assertEquals(204, state.getVisitOp());
+		Assert.assertEquals(3, state.getIterationOp());
+
+	}
+
+}
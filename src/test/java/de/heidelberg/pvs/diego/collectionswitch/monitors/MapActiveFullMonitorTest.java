@@ -1,65 +1,136 @@
-package de.heidelberg.pvs.diego.collectionswitch.monitors;
-
-import java.util.HashMap;
-import java.util.Map;
-
-import org.junit.Assert;
-import org.junit.Test;
-
-import de.heidelberg.pvs.diego.collectionswitch.monitors.maps.MapActiveFullMonitor;
-import de.heidelberg.pvs.diego.collectionswitch.monitors.maps.MapMetrics;
-import de.heidelberg.pvs.diego.collectionswitch.monitors.sets.SetActiveFullMonitor;
-
-public class MapActiveFullMonitorTest {
-	
-	@Test
-	public void testMapMonitor() throws Exception {
-		
-		MapMetrics state = new MapMetrics(null);
-		Map<Integer, Integer> list = new HashMap<Integer, Integer>();
-		Map<Integer, Integer> monitor = new MapActiveFullMonitor<Integer, Integer>(list, state);
-		
-		monitor.put(1, 1);
-		Assert.assertEquals(1, state.getLastSize());
-		
-		monitor.remove(new Integer(1));
-		Assert.assertEquals(0, state.getLastSize());
-		
-		int n = 100;
-		for(int i = 0; i < n; i++) {
-			monitor.put(i, i);
-		}
-		Assert.assertEquals(n, state.getLastSize());
-		Assert.assertEquals(n, state.getMaxSize());
-		
-		int r = 55;
-		for(int i = 0; i < r; i++) {
-			monitor.remove(new Integer(i));
-		}
-		Assert.assertEquals(n - r, state.getLastSize());
-		Assert.assertEquals(n, state.getMaxSize());
-		
-		
-		int c = 78;
-		for(int i = 0; i < c; i++) {
-			monitor.get(new Integer(c));
-		}
-		
-		Assert.assertEquals(c, state.getContainsOp());
-		
-		int it = 170;
-		for(int i = 0; i < it; i++) {
-			for(Integer k : monitor.keySet()) {
-				k += 10;
-			}
-		}
-		
-		Assert.assertEquals(it, state.getIterationOp());
-		
-		monitor.clear();
-		Assert.assertEquals(0, state.getLastSize());
-		Assert.assertEquals(n, state.getMaxSize());
-		
-	}
-
-}
+package de.heidelberg.pvs.diego.collectionswitch.monitors;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import de.heidelberg.pvs.diego.collectionswitch.monitors.maps.MapActiveFullMonitor;
+import de.heidelberg.pvs.diego.collectionswitch.monitors.maps.MapMetrics;
+import de.heidelberg.pvs.diego.collectionswitch.monitors.sets.SetActiveFullMonitor;
+
+public class MapActiveFullMonitorTest {
+	
+	@Test
+	public void testMapMonitor() throws Exception {
+		
+		MapMetrics state = new MapMetrics();
+		Map<Integer, Integer> list = new HashMap<Integer, Integer>();
+		Map<Integer, Integer> monitor = new MapActiveFullMonitor<Integer, Integer>(list, state);
+		
+		monitor.put(1, 1);
+		Assert.assertEquals(1, state.getLastSize());
+		
+		monitor.remove(new Integer(1));
+		Assert.assertEquals(0, state.getLastSize());
+		
+		int n = 100;
+		for(int i = 0; i < n; i++) {
+			monitor.put(i, i);
+		}
+		Assert.assertEquals(n, state.getLastSize());
+		Assert.assertEquals(n, state.getMaxSize());
+		
+		int r = 55;
+		for(int i = 0; i < r; i++) {
+			monitor.remove(new Integer(i));
+		}
+		Assert.assertEquals(n - r, state.getLastSize());
+		Assert.assertEquals(n, state.getMaxSize());
+		
+		
+		int c = 78;
+		for(int i = 0; i < c; i++) {
+			monitor.get(new Integer(c));
+		}
+		
+		Assert.assertEquals(c, state.getHitOp());
+		
+		int it = 170;
+		for(int i = 0; i < it; i++) {
+			for(Integer k : monitor.keySet()) {
+				k += 10;
+			}
+		}
+		
+		Assert.assertEquals(it, state.getIterationOp());
+		
+		monitor.clear();
+		Assert.assertEquals(0, state.getLastSize());
+		Assert.assertEquals(n, state.getMaxSize());
+		
+	}
+
+	@Test
+	public void testViews() throws Exception {
+
+		MapMetrics state = new MapMetrics();
+		Map<Integer, Integer> monitor = new MapActiveFullMonitor<Integer, Integer>(new HashMap<Integer, Integer>(),
+				state);
+		for (int i = 0; i < 10; i++) {
+			monitor.put(i, i);
+		}
+
+		// Taking a view is not an iteration
+		Set<Integer> keys = monitor.keySet();
+		Assert.assertEquals(0, state.getIterationOp());
+
+		Assert.assertTrue(keys.contains(3));
+		Assert.assertTrue(monitor.values().contains(3));
+		Assert.assertEquals(2, state.getContainsOp());
+
+		Iterator<Integer> iterator = keys.iterator();
+		iterator.next();
+		iterator.remove();
+		keys.remove(5);
+		monitor.values().removeIf(v -> v > 7);
+		monitor.entrySet().removeIf(e -> e.getKey() == 7);
+		Assert.assertEquals(5, state.getLastSize());
+
+		monitor.forEach((k, v) -> k.hashCode());
+		Assert.assertEquals(5, monitor.entrySet().stream().count());
+		Assert.assertEquals(5, state.getIterationOp());
+
+	}
+
+	@Test
+	public void testKeyOperations() throws Exception {
+
+		MapMetrics state = new MapMetrics();
+		Map<Integer, Integer> monitor = new MapActiveFullMonitor<Integer, Integer>(new HashMap<Integer, Integer>(),
+				state);
+		for (int i = 0; i < 10; i++) {
+			monitor.put(i, i);
+		}
+		monitor.put(3, 30);
+		monitor.put(4, 40);
+		Assert.assertEquals(10, state.getPutNewOp());
+		Assert.assertEquals(2, state.getOverwriteOp());
+		// Overwrites do not grow the map
+		Assert.assertEquals(10, state.getLastSize());
+
+		monitor.get(3);
+		monitor.get(42);
+		monitor.get(43);
+		Assert.assertEquals(1, state.getHitOp());
+		Assert.assertEquals(2, state.getMissOp());
+		Assert.assertEquals(0, state.getContainsOp());
+
+		monitor.remove(5);
+		monitor.remove(42);
+		Assert.assertEquals(2, state.getRemoveOp());
+		Assert.assertEquals(9, state.getLastSize());
+
+		Map<Integer, Integer> other = new HashMap<Integer, Integer>();
+		other.put(1, 1);
+		other.put(100, 100);
+		monitor.putAll(other);
+		Assert.assertEquals(11, state.getPutNewOp());
+		Assert.assertEquals(3, state.getOverwriteOp());
+		Assert.assertEquals(10, state.getLastSize());
+
+	}
+}
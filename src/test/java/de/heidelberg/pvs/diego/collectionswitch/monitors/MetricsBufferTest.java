@@ -0,0 +1,67 @@
+package de.heidelberg.pvs.diego.collectionswitch.monitors;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import de.heidelberg.pvs.diego.collectionswitch.monitors.lists.ListMetrics;
+
+public class MetricsBufferTest {
+
+	@Test
+	public void testRecordsArePacked() {
+
+		MetricsBuffer buffer = new MetricsBuffer(ListMetrics.SLOT_WIDTH, 4);
+
+		long first = buffer.allocate();
+		long second = buffer.allocate();
+
+		buffer.updateSize(first, 10);
+		buffer.updateSize(first, -4);
+		buffer.add(first, ListMetrics.CONTAINS_OP, 3);
+		buffer.add(second, ListMetrics.INDEX_OP, 7);
+
+		ListMetrics view = new ListMetrics(buffer, first);
+		Assert.assertEquals(6, view.getLastSize());
+		Assert.assertEquals(10, view.getMaxSize());
+		Assert.assertEquals(3, view.getContainsOp());
+		Assert.assertEquals(0, view.getIndexOp());
+
+		view.moveTo(second);
+		Assert.assertEquals(0, view.getLastSize());
+		Assert.assertEquals(7, view.getIndexOp());
+
+	}
+
+	@Test
+	public void testOverwrittenRecordsIgnoreWrites() {
+
+		MetricsBuffer buffer = new MetricsBuffer(ListMetrics.SLOT_WIDTH, 2);
+
+		long stale = buffer.allocate();
+		buffer.allocate();
+		long recycled = buffer.allocate();
+
+		// Both records share the same slot
+		buffer.add(stale, ListMetrics.CONTAINS_OP, 5);
+
+		Assert.assertFalse(buffer.isCurrent(stale));
+		Assert.assertTrue(buffer.isCurrent(recycled));
+		Assert.assertEquals(0, buffer.get(recycled, ListMetrics.CONTAINS_OP));
+
+	}
+
+	@Test
+	public void testResetStartsNewWindow() {
+
+		MetricsBuffer buffer = new MetricsBuffer(ListMetrics.SLOT_WIDTH, 8);
+
+		long previous = buffer.allocate();
+		buffer.reset();
+		long current = buffer.allocate();
+
+		Assert.assertFalse(buffer.isCurrent(previous));
+		Assert.assertTrue(buffer.isCurrent(current));
+
+	}
+
+}
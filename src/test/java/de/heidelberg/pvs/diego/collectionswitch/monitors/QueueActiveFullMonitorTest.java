@@ -0,0 +1,97 @@
+package de.heidelberg.pvs.diego.collectionswitch.monitors;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.PriorityQueue;
+import java.util.Queue;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import de.heidelberg.pvs.diego.collectionswitch.monitors.queues.DequeActiveFullMonitor;
+import de.heidelberg.pvs.diego.collectionswitch.monitors.queues.QueueActiveFullMonitor;
+import de.heidelberg.pvs.diego.collectionswitch.monitors.queues.QueueMetrics;
+
+public class QueueActiveFullMonitorTest {
+
+	@Test
+	public void testQueueMonitor() {
+
+		QueueMetrics state = new QueueMetrics();
+		Queue<Integer> monitor = new QueueActiveFullMonitor<Integer>(new PriorityQueue<Integer>(), state);
+
+		int n = 100;
+		for (int i = 0; i < n; i++) {
+			monitor.offer(i);
+		}
+		monitor.addAll(Arrays.asList(-1, -2));
+		Assert.assertEquals(n + 2, state.getOfferOp());
+		Assert.assertEquals(n + 2, state.getMaxSize());
+
+		Assert.assertEquals(Integer.valueOf(-2), monitor.peek());
+		Assert.assertEquals(Integer.valueOf(-2), monitor.element());
+		Assert.assertEquals(2, state.getPeekOp());
+
+		Assert.assertEquals(Integer.valueOf(-2), monitor.poll());
+		Assert.assertEquals(Integer.valueOf(-1), monitor.remove());
+		Assert.assertEquals(2, state.getPollOp());
+		Assert.assertEquals(n, state.getLastSize());
+
+		Assert.assertTrue(monitor.contains(50));
+		Assert.assertTrue(monitor.remove(50));
+		Assert.assertEquals(2, state.getContainsOp());
+		Assert.assertEquals(n - 1, state.getLastSize());
+
+		// Polls of an empty queue do not change its size
+		monitor.clear();
+		Assert.assertNull(monitor.poll());
+		Assert.assertEquals(0, state.getLastSize());
+		Assert.assertEquals(3, state.getPollOp());
+		Assert.assertEquals(n + 2, state.getMaxSize());
+
+	}
+
+	@Test
+	public void testDequeMonitor() {
+
+		QueueMetrics state = new QueueMetrics();
+		Deque<Integer> monitor = new DequeActiveFullMonitor<Integer>(new ArrayDeque<Integer>(), state);
+
+		// Both ends count alike
+		monitor.addFirst(1);
+		monitor.addLast(2);
+		monitor.offerFirst(0);
+		monitor.offerLast(3);
+		monitor.push(-1);
+		Assert.assertEquals(5, state.getOfferOp());
+		Assert.assertEquals(5, state.getLastSize());
+
+		monitor.peekFirst();
+		monitor.peekLast();
+		monitor.getFirst();
+		monitor.getLast();
+		Assert.assertEquals(4, state.getPeekOp());
+
+		Assert.assertEquals(Integer.valueOf(-1), monitor.pop());
+		Assert.assertEquals(Integer.valueOf(3), monitor.pollLast());
+		Assert.assertEquals(Integer.valueOf(0), monitor.removeFirst());
+		Assert.assertEquals(3, state.getPollOp());
+		Assert.assertEquals(2, state.getLastSize());
+
+		Iterator<Integer> iterator = monitor.descendingIterator();
+		while (iterator.hasNext()) {
+			iterator.next();
+		}
+		Assert.assertEquals(1, state.getIterationOp());
+		Assert.assertEquals(2, state.getVisitOp());
+
+		Assert.assertTrue(monitor.removeLastOccurrence(2));
+		Assert.assertEquals(1, state.getContainsOp());
+		Assert.assertEquals(1, state.getLastSize());
+		Assert.assertEquals(5, state.getMaxSize());
+
+	}
+
+}
@@ -0,0 +1,129 @@
+package de.heidelberg.pvs.diego.collectionswitch.monitors;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import de.heidelberg.pvs.diego.collectionswitch.custom.maps.SortedArrayMap;
+import de.heidelberg.pvs.diego.collectionswitch.monitors.sorted.NavigableMapMonitor;
+import de.heidelberg.pvs.diego.collectionswitch.monitors.sorted.NavigableSetMonitor;
+import de.heidelberg.pvs.diego.collectionswitch.monitors.sorted.SortedMetrics;
+
+public class SortedMonitorTest {
+
+	@Test
+	public void testNavigableMapMonitor() {
+
+		SortedMetrics state = new SortedMetrics();
+		NavigableMap<Integer, Integer> monitor = new NavigableMapMonitor<Integer, Integer>(
+				new TreeMap<Integer, Integer>(), state);
+
+		int n = 100;
+		for (int i = 0; i < n; i++) {
+			monitor.put(i, i);
+		}
+		monitor.put(0, 1);
+		Assert.assertEquals(n, state.getInsertOp());
+		Assert.assertEquals(1, state.getLookupOp());
+		Assert.assertEquals(n, state.getMaxSize());
+
+		monitor.get(5);
+		monitor.containsKey(5);
+		Assert.assertEquals(3, state.getLookupOp());
+
+		monitor.floorKey(50);
+		monitor.ceilingEntry(50);
+		monitor.firstKey();
+		monitor.lastEntry();
+		Assert.assertEquals(4, state.getNavigationOp());
+
+		monitor.remove(50);
+		monitor.pollFirstEntry();
+		Assert.assertEquals(2, state.getRemoveOp());
+		Assert.assertEquals(n - 2, state.getLastSize());
+
+		// Range views record in the same slot, only their visits are counted
+		SortedMap<Integer, Integer> range = monitor.subMap(10, 20);
+		Assert.assertEquals(1, state.getRangeOp());
+		int visited = 0;
+		for (Integer key : range.keySet()) {
+			Assert.assertTrue(key >= 10 && key < 20);
+			visited++;
+		}
+		Assert.assertEquals(10, visited);
+		Assert.assertEquals(1, state.getIterationOp());
+		Assert.assertEquals(10, state.getVisitOp());
+
+		range.remove(15);
+		Assert.assertEquals(n - 3, state.getLastSize());
+
+		NavigableSet<Integer> keys = monitor.tailMap(90, true).descendingKeySet();
+		Assert.assertEquals(Integer.valueOf(98), keys.higher(99));
+		Assert.assertEquals(2, state.getRangeOp());
+		Assert.assertEquals(5, state.getNavigationOp());
+
+		monitor.clear();
+		Assert.assertEquals(0, state.getLastSize());
+
+	}
+
+	@Test
+	public void testNavigableSetMonitor() {
+
+		SortedMetrics state = new SortedMetrics();
+		NavigableSet<Integer> monitor = new NavigableSetMonitor<Integer>(new TreeSet<Integer>(), state);
+
+		monitor.addAll(Arrays.asList(1, 2, 3, 4, 5));
+		monitor.add(3);
+		Assert.assertEquals(5, state.getInsertOp());
+		Assert.assertEquals(1, state.getLookupOp());
+		Assert.assertEquals(5, state.getLastSize());
+
+		monitor.contains(2);
+		monitor.lower(3);
+		monitor.ceiling(3);
+		Assert.assertEquals(2, state.getLookupOp());
+		Assert.assertEquals(2, state.getNavigationOp());
+
+		Assert.assertEquals(Integer.valueOf(5), monitor.pollLast());
+		Assert.assertTrue(monitor.remove(1));
+		Assert.assertFalse(monitor.remove(1));
+		Assert.assertEquals(3, state.getRemoveOp());
+		Assert.assertEquals(3, state.getLastSize());
+
+		Iterator<Integer> iterator = monitor.headSet(4, false).descendingIterator();
+		Assert.assertEquals(Integer.valueOf(3), iterator.next());
+		iterator.remove();
+		Assert.assertEquals(Integer.valueOf(2), iterator.next());
+		Assert.assertFalse(iterator.hasNext());
+		Assert.assertEquals(1, state.getRangeOp());
+		Assert.assertEquals(1, state.getIterationOp());
+		Assert.assertEquals(2, state.getVisitOp());
+		Assert.assertEquals(2, state.getLastSize());
+
+	}
+
+	@Test
+	public void testSortedArrayMapMonitor() {
+
+		SortedMetrics state = new SortedMetrics();
+		SortedArrayMap<Integer, Integer> map = new SortedArrayMap<Integer, Integer>();
+		map.put(1, 1);
+		NavigableMap<Integer, Integer> monitor = new NavigableMapMonitor<Integer, Integer>(map, state);
+		Assert.assertEquals(1, state.getLastSize());
+
+		monitor.descendingMap().put(2, 2);
+		Assert.assertEquals(1, state.getInsertOp());
+		Assert.assertEquals(Integer.valueOf(2), monitor.lastKey());
+		Assert.assertEquals(2, state.getMaxSize());
+
+	}
+
+}
@@ -0,0 +1,78 @@
+package de.heidelberg.pvs.diego.collectionswitch.optimizers;
+
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import de.heidelberg.pvs.diego.collectionswitch.optimizers.BanditPolicy.Strategy;
+
+public class BanditPolicyTest {
+
+	// Mean cost of each arm, the third one is the cheapest
+	private static final double[] COSTS = { 100, 120, 60, 200 };
+
+	@Test
+	public void testEveryArmIsExploredFirst() {
+
+		BanditPolicy policy = new BanditPolicy(COSTS.length, Strategy.THOMPSON_SAMPLING, 0);
+		Assert.assertEquals(-1, policy.getBest());
+
+		for (int i = 0; i < 1000; i++) {
+			pull(policy, new Random(i));
+		}
+
+		for (int arm = 0; arm < COSTS.length; arm++) {
+			Assert.assertTrue(policy.getPulls(arm) >= BanditPolicy.MIN_PULLS);
+		}
+
+	}
+
+	@Test
+	public void testEpsilonGreedyConverges() {
+
+		BanditPolicy policy = converge(Strategy.EPSILON_GREEDY, 0.1);
+		Assert.assertEquals(2, policy.getBest());
+
+		// The best arm takes all but the random share of the pulls
+		long pulls = 0;
+		for (int arm = 0; arm < COSTS.length; arm++) {
+			pulls += policy.getPulls(arm);
+		}
+		Assert.assertTrue(policy.getPulls(2) > pulls * 0.8);
+
+	}
+
+	@Test
+	public void testThompsonSamplingConverges() {
+
+		BanditPolicy policy = converge(Strategy.THOMPSON_SAMPLING, 0);
+		Assert.assertEquals(2, policy.getBest());
+		Assert.assertEquals(COSTS[2], policy.getMeanCost(2), 5);
+
+		// Clearly worse arms are pulled only a few times
+		Assert.assertTrue(policy.getPulls(3) < policy.getPulls(2) / 10);
+
+	}
+
+	private static BanditPolicy converge(Strategy strategy, double epsilon) {
+		BanditPolicy policy = new BanditPolicy(COSTS.length, strategy, epsilon);
+		Random random = new Random(42);
+		for (int round = 0; round < 100; round++) {
+			for (int i = 0; i < 20; i++) {
+				pull(policy, random);
+			}
+			policy.publish();
+		}
+		return policy;
+	}
+
+	/**
+	 * Pulls an arm and records a noisy cost
+	 */
+	private static void pull(BanditPolicy policy, Random random) {
+		int arm = policy.select();
+		policy.record(arm, COSTS[arm] * (1 + 0.2 * random.nextGaussian()));
+	}
+
+}
@@ -0,0 +1,218 @@
+package de.heidelberg.pvs.diego.collectionswitch.optimizers;
+
+import java.util.Arrays;
+import java.util.Set;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import de.heidelberg.pvs.diego.collectionswitch.context.ConcurrentMapCollectionType;
+import de.heidelberg.pvs.diego.collectionswitch.context.ConcurrentSetCollectionType;
+import de.heidelberg.pvs.diego.collectionswitch.context.impl.EmpiricalConcurrentMapAllocationContext;
+import de.heidelberg.pvs.diego.collectionswitch.context.impl.EmpiricalConcurrentSetAllocationContext;
+import de.heidelberg.pvs.diego.collectionswitch.factories.PerformanceModelFactory;
+import de.heidelberg.pvs.diego.collectionswitch.manager.PerformanceGoal;
+import de.heidelberg.pvs.diego.collectionswitch.manager.PerformanceGoal.PerformanceDimension;
+import de.heidelberg.pvs.diego.collectionswitch.optimizers.concurrent.ConcurrentEmpiricalPerformanceEvaluator;
+import de.heidelberg.pvs.diego.collectionswitch.optimizers.concurrent.ConcurrentMapEmpiricalOptimizer;
+import de.heidelberg.pvs.diego.collectionswitch.optimizers.concurrent.ConcurrentPerformanceModel;
+import de.heidelberg.pvs.diego.collectionswitch.optimizers.concurrent.ConcurrentSetEmpiricalOptimizer;
+
+public class ConcurrentContextSelectionTest {
+
+	private static final int MIN_OPERATIONS = 1000;
+
+	@Test
+	public void testSmallReadMostlySetIsCopiedOnWrite() {
+
+		ConcurrentEmpiricalPerformanceEvaluator<ConcurrentSetCollectionType> evaluator = new ConcurrentEmpiricalPerformanceEvaluator<ConcurrentSetCollectionType>();
+		evaluator.addEmpiricalModel(PerformanceDimension.MEMORY_FOOTPRINT,
+				PerformanceModelFactory.buildConcurrentSetsPerformanceModelFootprint());
+		evaluator.addEmpiricalModel(PerformanceDimension.TIME,
+				PerformanceModelFactory.buildConcurrentSetsPerformanceModelTime());
+		PerformanceGoal goal = new PerformanceGoal(PerformanceDimension.MEMORY_FOOTPRINT, PerformanceDimension.TIME,
+				1.2, 0.7);
+
+		ConcurrentSetEmpiricalOptimizer optimizer = new ConcurrentSetEmpiricalOptimizer(evaluator,
+				ConcurrentSetCollectionType.JDK_CONCURRENTHASHSET, goal, MIN_OPERATIONS);
+		EmpiricalConcurrentSetAllocationContext context = new EmpiricalConcurrentSetAllocationContext(
+				ConcurrentSetCollectionType.JDK_CONCURRENTHASHSET, optimizer, 10);
+		optimizer.setContext(context);
+
+		Set<Integer> set = context.createSet(Arrays.asList(1, 2, 3, 4, 5, 6, 7, 8, 9, 10));
+		optimizer.analyzeAndOptimize();
+		// Not enough operations yet
+		Assert.assertEquals(ConcurrentSetCollectionType.JDK_CONCURRENTHASHSET, context.getCurrentCollectionType());
+
+		for (int i = 0; i < MIN_OPERATIONS; i++) {
+			set.contains(i % 20);
+		}
+		optimizer.analyzeAndOptimize();
+		Assert.assertEquals(ConcurrentSetCollectionType.JDK_COPYONWRITEARRAYSET, context.getCurrentCollectionType());
+
+		// Writes to a large set cost too much time copying the array, so the
+		// smaller hash table is selected
+		set = context.createSet();
+		for (int i = 0; i < MIN_OPERATIONS; i++) {
+			set.add(i);
+		}
+		optimizer.analyzeAndOptimize();
+		Assert.assertEquals(ConcurrentSetCollectionType.GSCOLLECTIONS_CONCURRENTHASHSET,
+				context.getCurrentCollectionType());
+
+	}
+
+	@Test
+	public void testShortLivedInstancesAreAnalyzed() {
+
+		ConcurrentEmpiricalPerformanceEvaluator<ConcurrentSetCollectionType> evaluator = new ConcurrentEmpiricalPerformanceEvaluator<ConcurrentSetCollectionType>();
+		evaluator.addEmpiricalModel(PerformanceDimension.MEMORY_FOOTPRINT,
+				PerformanceModelFactory.buildConcurrentSetsPerformanceModelFootprint());
+		evaluator.addEmpiricalModel(PerformanceDimension.TIME,
+				PerformanceModelFactory.buildConcurrentSetsPerformanceModelTime());
+		PerformanceGoal goal = new PerformanceGoal(PerformanceDimension.MEMORY_FOOTPRINT, PerformanceDimension.TIME,
+				1.2, 0.7);
+
+		int windowSize = 10;
+		ConcurrentSetEmpiricalOptimizer optimizer = new ConcurrentSetEmpiricalOptimizer(evaluator,
+				ConcurrentSetCollectionType.JDK_CONCURRENTHASHSET, goal, MIN_OPERATIONS);
+		EmpiricalConcurrentSetAllocationContext context = new EmpiricalConcurrentSetAllocationContext(
+				ConcurrentSetCollectionType.JDK_CONCURRENTHASHSET, optimizer, windowSize);
+		optimizer.setContext(context);
+
+		// Every instance performs less than a window share of the operations
+		int operations = MIN_OPERATIONS / windowSize / 5;
+		int rounds = 0;
+		while (context.getCurrentCollectionType() == ConcurrentSetCollectionType.JDK_CONCURRENTHASHSET) {
+			Assert.assertTrue(rounds++ < 10);
+			// Instances that are never used do not hold the analysis
+			context.createSet();
+			for (int i = 0; i < 50; i++) {
+				Set<Integer> set = context.createSet(Arrays.asList(1, 2, 3, 4, 5, 6, 7, 8, 9, 10));
+				for (int j = 0; j < operations; j++) {
+					set.contains(j % 20);
+				}
+			}
+			optimizer.analyzeAndOptimize();
+		}
+
+		Assert.assertEquals(ConcurrentSetCollectionType.JDK_COPYONWRITEARRAYSET, context.getCurrentCollectionType());
+		Assert.assertTrue(rounds > 1);
+
+	}
+
+	@Test
+	public void testContendingThreadsAreModelInput() throws Exception {
+
+		// The striped map writes faster alone, but its writes serialize
+		ConcurrentEmpiricalPerformanceEvaluator<ConcurrentMapCollectionType> evaluator = new ConcurrentEmpiricalPerformanceEvaluator<ConcurrentMapCollectionType>();
+		evaluator.addEmpiricalModel(PerformanceDimension.TIME, Arrays.asList(
+				new ConcurrentPerformanceModel<ConcurrentMapCollectionType>(
+						ConcurrentMapCollectionType.JDK_CONCURRENTHASHMAP, new double[] { 0 }, new double[] { 10 },
+						new double[] { 30 }, new double[] { 0 }),
+				new ConcurrentPerformanceModel<ConcurrentMapCollectionType>(
+						ConcurrentMapCollectionType.ONLINEADAPTER_STRIPEDHASHMAP, new double[] { 0 },
+						new double[] { 10 }, new double[] { 20 }, new double[] { 0 }, new double[] { 1 },
+						new double[] { 0, 1 })));
+		PerformanceGoal goal = new PerformanceGoal(PerformanceDimension.TIME, PerformanceDimension.ALLOCATION, 1.2, 0);
+
+		ConcurrentMapEmpiricalOptimizer optimizer = new ConcurrentMapEmpiricalOptimizer(evaluator,
+				ConcurrentMapCollectionType.JDK_CONCURRENTHASHMAP, goal, MIN_OPERATIONS);
+		EmpiricalConcurrentMapAllocationContext context = new EmpiricalConcurrentMapAllocationContext(
+				ConcurrentMapCollectionType.JDK_CONCURRENTHASHMAP, optimizer, 10);
+		optimizer.setContext(context);
+
+		// Writes of a single thread
+		ConcurrentMap<Integer, Integer> map = context.createMap();
+		for (int i = 0; i < MIN_OPERATIONS; i++) {
+			map.put(i, i);
+		}
+		optimizer.analyzeAndOptimize();
+		Assert.assertEquals(1.0, optimizer.getContendingThreads(), 0.0);
+		Assert.assertEquals(ConcurrentMapCollectionType.ONLINEADAPTER_STRIPEDHASHMAP,
+				context.getCurrentCollectionType());
+
+		// The same writes while another thread is inside an operation
+		ConcurrentMap<Object, Integer> shared = context.createMap();
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		Thread other = new Thread(() -> shared.get(new BlockingKey(started, release)));
+		other.start();
+		started.await();
+		for (int i = 0; i < MIN_OPERATIONS; i++) {
+			shared.put(i, i);
+		}
+		release.countDown();
+		other.join();
+
+		optimizer.analyzeAndOptimize();
+		Assert.assertTrue(optimizer.getContendingThreads() > 1.9);
+		Assert.assertEquals(ConcurrentMapCollectionType.JDK_CONCURRENTHASHMAP, context.getCurrentCollectionType());
+
+		// The first map was analyzed, so it stops recording
+		map.put(-1, -1);
+		optimizer.analyzeAndOptimize();
+		Assert.assertEquals(ConcurrentMapCollectionType.JDK_CONCURRENTHASHMAP, context.getCurrentCollectionType());
+
+	}
+
+	@Test
+	public void testSortedMapsNeedSortedDefault() {
+
+		ConcurrentEmpiricalPerformanceEvaluator<ConcurrentMapCollectionType> evaluator = new ConcurrentEmpiricalPerformanceEvaluator<ConcurrentMapCollectionType>();
+		evaluator.addEmpiricalModel(PerformanceDimension.MEMORY_FOOTPRINT, Arrays.asList(
+				new ConcurrentPerformanceModel<ConcurrentMapCollectionType>(
+						ConcurrentMapCollectionType.JDK_CONCURRENTHASHMAP, new double[] { 64, 40 },
+						new double[] { 0 }, new double[] { 0 }, new double[] { 0 }),
+				new ConcurrentPerformanceModel<ConcurrentMapCollectionType>(
+						ConcurrentMapCollectionType.JDK_CONCURRENTSKIPLISTMAP, new double[] { 64, 20 },
+						new double[] { 0 }, new double[] { 0 }, new double[] { 0 })));
+		PerformanceGoal goal = new PerformanceGoal(PerformanceDimension.MEMORY_FOOTPRINT,
+				PerformanceDimension.TIME, 1.2, 0);
+
+		ConcurrentMapEmpiricalOptimizer optimizer = new ConcurrentMapEmpiricalOptimizer(evaluator,
+				ConcurrentMapCollectionType.JDK_CONCURRENTHASHMAP, goal, MIN_OPERATIONS);
+		EmpiricalConcurrentMapAllocationContext context = new EmpiricalConcurrentMapAllocationContext(
+				ConcurrentMapCollectionType.JDK_CONCURRENTHASHMAP, optimizer, 10);
+		optimizer.setContext(context);
+
+		// Keys of a hash context need not be comparable
+		ConcurrentMap<Object, Object> map = context.createMap();
+		for (int i = 0; i < MIN_OPERATIONS; i++) {
+			map.put(new Object(), i);
+		}
+		optimizer.analyzeAndOptimize();
+		Assert.assertEquals(ConcurrentMapCollectionType.JDK_CONCURRENTHASHMAP, context.getCurrentCollectionType());
+
+	}
+
+
+	/**
+	 * Key whose hash code waits for the release, so that the operation runs
+	 * without holding any lock of the map
+	 */
+	static class BlockingKey {
+
+		private final CountDownLatch started;
+		private final CountDownLatch release;
+
+		BlockingKey(CountDownLatch started, CountDownLatch release) {
+			this.started = started;
+			this.release = release;
+		}
+
+		public int hashCode() {
+			started.countDown();
+			try {
+				release.await();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			return 0;
+		}
+
+	}
+
+}
@@ -0,0 +1,177 @@
+package de.heidelberg.pvs.diego.collectionswitch.optimizers;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import org.apache.commons.collections4.Bag;
+import org.apache.commons.collections4.MultiValuedMap;
+import org.junit.Assert;
+import org.junit.Test;
+
+import de.heidelberg.pvs.diego.collectionswitch.context.BagCollectionType;
+import de.heidelberg.pvs.diego.collectionswitch.context.MultimapCollectionType;
+import de.heidelberg.pvs.diego.collectionswitch.context.impl.EmpiricalBagAllocationContext;
+import de.heidelberg.pvs.diego.collectionswitch.context.impl.EmpiricalMultimapAllocationContext;
+import de.heidelberg.pvs.diego.collectionswitch.factories.PerformanceModelFactory;
+import de.heidelberg.pvs.diego.collectionswitch.manager.PerformanceGoal;
+import de.heidelberg.pvs.diego.collectionswitch.manager.PerformanceGoal.PerformanceDimension;
+import de.heidelberg.pvs.diego.collectionswitch.optimizers.counting.BagEmpiricalOptimizer;
+import de.heidelberg.pvs.diego.collectionswitch.optimizers.counting.CountingEmpiricalPerformanceEvaluator;
+import de.heidelberg.pvs.diego.collectionswitch.optimizers.counting.MultimapEmpiricalOptimizer;
+
+public class CountingContextSelectionTest {
+
+	private static final int WINDOW_SIZE = 10;
+
+	private static final PerformanceGoal GOAL = new PerformanceGoal(PerformanceDimension.TIME,
+			PerformanceDimension.ALLOCATION, 1.2, 0.7);
+
+	@Test
+	public void testCountingHeavyBagBecomesPrimitiveCounters() {
+
+		BagEmpiricalOptimizer optimizer = new BagEmpiricalOptimizer(buildBagEvaluator(),
+				BagCollectionType.COMMONS_HASHBAG, GOAL, WINDOW_SIZE, 0);
+		EmpiricalBagAllocationContext context = new EmpiricalBagAllocationContext(BagCollectionType.COMMONS_HASHBAG,
+				optimizer, WINDOW_SIZE);
+		optimizer.setContext(context);
+
+		for (int i = 0; i < WINDOW_SIZE; i++) {
+			countWords(context.<String>createBag());
+		}
+
+		optimizer.analyzeAndOptimize();
+		Assert.assertEquals(BagCollectionType.GSCOLLECTIONS_HASHBAG, context.getCurrentCollectionType());
+
+		Bag<String> bag = context.createBag();
+		countWords(bag);
+		Assert.assertEquals(100, bag.getCount("w1"));
+
+	}
+
+	@Test
+	public void testOrderedBagKeepsTheOrder() {
+
+		BagEmpiricalOptimizer optimizer = new BagEmpiricalOptimizer(buildBagEvaluator(),
+				BagCollectionType.ONLINEADAPTER_LINKEDHASHBAG, GOAL, WINDOW_SIZE, 0);
+		EmpiricalBagAllocationContext context = new EmpiricalBagAllocationContext(
+				BagCollectionType.ONLINEADAPTER_LINKEDHASHBAG, optimizer, WINDOW_SIZE);
+		optimizer.setContext(context);
+
+		for (int i = 0; i < WINDOW_SIZE; i++) {
+			countWords(context.<String>createBag());
+		}
+
+		optimizer.analyzeAndOptimize();
+		Assert.assertEquals(BagCollectionType.ONLINEADAPTER_LINKEDHASHBAG, context.getCurrentCollectionType());
+
+	}
+
+	@Test
+	public void testListMultimapBecomesUnified() {
+
+		MultimapEmpiricalOptimizer optimizer = new MultimapEmpiricalOptimizer(buildMultimapEvaluator(),
+				MultimapCollectionType.COMMONS_ARRAYLISTVALUEDHASHMAP, GOAL, WINDOW_SIZE, 0);
+		EmpiricalMultimapAllocationContext context = new EmpiricalMultimapAllocationContext(
+				MultimapCollectionType.COMMONS_ARRAYLISTVALUEDHASHMAP, optimizer, WINDOW_SIZE);
+		optimizer.setContext(context);
+
+		for (int i = 0; i < WINDOW_SIZE; i++) {
+			groupBy(context.<Integer, Integer>createMultimap(), 10);
+		}
+
+		optimizer.analyzeAndOptimize();
+		Assert.assertEquals(MultimapCollectionType.GSCOLLECTIONS_FASTLISTMULTIMAP, context.getCurrentCollectionType());
+
+		// Duplicated values are kept by the new type too
+		MultiValuedMap<Integer, Integer> map = context.createMultimap();
+		map.put(1, 1);
+		map.put(1, 1);
+		Assert.assertEquals(Arrays.asList(1, 1), new ArrayList<Integer>(map.get(1)));
+
+	}
+
+	@Test
+	public void testSetMultimapStaysSetValued() {
+
+		MultimapEmpiricalOptimizer optimizer = new MultimapEmpiricalOptimizer(buildMultimapEvaluator(),
+				MultimapCollectionType.COMMONS_HASHSETVALUEDHASHMAP, GOAL, WINDOW_SIZE, 0);
+		EmpiricalMultimapAllocationContext context = new EmpiricalMultimapAllocationContext(
+				MultimapCollectionType.COMMONS_HASHSETVALUEDHASHMAP, optimizer, WINDOW_SIZE);
+		optimizer.setContext(context);
+
+		for (int i = 0; i < WINDOW_SIZE; i++) {
+			groupBy(context.<Integer, Integer>createMultimap(), 10);
+		}
+
+		optimizer.analyzeAndOptimize();
+		Assert.assertEquals(MultimapCollectionType.GSCOLLECTIONS_UNIFIEDSETMULTIMAP,
+				context.getCurrentCollectionType());
+
+	}
+
+	@Test
+	public void testFewValuesPerKeyBecomeCompact() {
+
+		PerformanceGoal footprint = new PerformanceGoal(PerformanceDimension.MEMORY_FOOTPRINT,
+				PerformanceDimension.TIME, 1.2, 0.7);
+		MultimapEmpiricalOptimizer optimizer = new MultimapEmpiricalOptimizer(buildMultimapEvaluator(),
+				MultimapCollectionType.COMMONS_ARRAYLISTVALUEDHASHMAP, footprint, WINDOW_SIZE, 0);
+		EmpiricalMultimapAllocationContext context = new EmpiricalMultimapAllocationContext(
+				MultimapCollectionType.COMMONS_ARRAYLISTVALUEDHASHMAP, optimizer, WINDOW_SIZE);
+		optimizer.setContext(context);
+
+		for (int i = 0; i < WINDOW_SIZE; i++) {
+			groupBy(context.<Integer, Integer>createMultimap(), 1);
+		}
+
+		optimizer.analyzeAndOptimize();
+		Assert.assertEquals(MultimapCollectionType.ONLINEADAPTER_COMPACTLISTMULTIMAP,
+				context.getCurrentCollectionType());
+
+	}
+
+	/**
+	 * Word count, dominated by adds and counts of few distinct words
+	 */
+	private static void countWords(Bag<String> bag) {
+		for (int j = 0; j < 1000; j++) {
+			bag.add("w" + (j % 10));
+		}
+		for (int j = 0; j < 1000; j++) {
+			bag.getCount("w" + (j % 20));
+		}
+	}
+
+	/**
+	 * Groups a hundred keys with the given number of values each, then looks
+	 * them up
+	 */
+	private static void groupBy(MultiValuedMap<Integer, Integer> map, int valuesPerKey) {
+		for (int j = 0; j < 100 * valuesPerKey; j++) {
+			map.put(j % 100, j);
+		}
+		for (int j = 0; j < 100; j++) {
+			map.containsKey(j);
+		}
+	}
+
+	private static CountingEmpiricalPerformanceEvaluator<BagCollectionType> buildBagEvaluator() {
+		CountingEmpiricalPerformanceEvaluator<BagCollectionType> evaluator = new CountingEmpiricalPerformanceEvaluator<BagCollectionType>();
+		evaluator.addEmpiricalModel(PerformanceDimension.TIME, PerformanceModelFactory.buildBagsPerformanceModelTime());
+		evaluator.addEmpiricalModel(PerformanceDimension.ALLOCATION,
+				PerformanceModelFactory.buildBagsPerformanceModelAllocation());
+		return evaluator;
+	}
+
+	private static CountingEmpiricalPerformanceEvaluator<MultimapCollectionType> buildMultimapEvaluator() {
+		CountingEmpiricalPerformanceEvaluator<MultimapCollectionType> evaluator = new CountingEmpiricalPerformanceEvaluator<MultimapCollectionType>();
+		evaluator.addEmpiricalModel(PerformanceDimension.TIME,
+				PerformanceModelFactory.buildMultimapsPerformanceModelTime());
+		evaluator.addEmpiricalModel(PerformanceDimension.ALLOCATION,
+				PerformanceModelFactory.buildMultimapsPerformanceModelAllocation());
+		evaluator.addEmpiricalModel(PerformanceDimension.MEMORY_FOOTPRINT,
+				PerformanceModelFactory.buildMultimapsPerformanceModelFootprint());
+		return evaluator;
+	}
+
+}
@@ -0,0 +1,88 @@
+package de.heidelberg.pvs.diego.collectionswitch.optimizers;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import de.heidelberg.pvs.diego.collectionswitch.context.ListCollectionType;
+import de.heidelberg.pvs.diego.collectionswitch.context.MapCollectionType;
+import de.heidelberg.pvs.diego.collectionswitch.context.impl.EmpiricalListAllocationContext;
+import de.heidelberg.pvs.diego.collectionswitch.factories.PerformanceModelFactory;
+import de.heidelberg.pvs.diego.collectionswitch.manager.PerformanceGoal;
+import de.heidelberg.pvs.diego.collectionswitch.manager.PerformanceGoal.PerformanceDimension;
+import de.heidelberg.pvs.diego.collectionswitch.optimizers.lists.ListEmpiricalOptimizer;
+import de.heidelberg.pvs.diego.collectionswitch.optimizers.lists.ListEmpiricalPerformanceEvaluator;
+import de.heidelberg.pvs.diego.collectionswitch.optimizers.lists.ListPerformanceModel;
+import de.heidelberg.pvs.diego.collectionswitch.optimizers.maps.MapPerformanceModel;
+import de.heidelberg.pvs.diego.collectionswitch.optimizers.sets.SetPerformanceModel;
+
+public class FootprintDimensionTest {
+
+	@Test
+	public void testParse() {
+		Assert.assertEquals(PerformanceDimension.MEMORY_FOOTPRINT, PerformanceDimension.parse("memory_footprint"));
+		Assert.assertEquals(PerformanceDimension.MEMORY_FOOTPRINT, PerformanceDimension.parse("FOOTPRINT"));
+	}
+
+	@Test
+	public void testSwitchesToSmallestFootprint() {
+
+		ListEmpiricalPerformanceEvaluator evaluator = new ListEmpiricalPerformanceEvaluator();
+		evaluator.addEmpiricalModel(PerformanceDimension.TIME,
+				PerformanceModelFactory.buildListPerformanceModelsTime());
+		evaluator.addEmpiricalModel(PerformanceDimension.MEMORY_FOOTPRINT,
+				PerformanceModelFactory.buildListPerformanceModelsFootprint());
+
+		ListEmpiricalOptimizer optimizer = new ListEmpiricalOptimizer(evaluator, ListCollectionType.JDK_LINKEDLIST,
+				new PerformanceGoal(PerformanceDimension.MEMORY_FOOTPRINT, PerformanceDimension.TIME, 1.2, 0), 10, 0);
+		EmpiricalListAllocationContext context = new EmpiricalListAllocationContext(ListCollectionType.JDK_LINKEDLIST,
+				optimizer, 10);
+		optimizer.setContext(context);
+
+		for (int i = 0; i < 10; i++) {
+			List<Integer> list = context.createList();
+			for (int j = 0; j < 100; j++) {
+				list.add(j);
+			}
+		}
+
+		optimizer.analyzeAndOptimize();
+
+		Assert.assertEquals(ListCollectionType.JDK_ARRAYLIST, context.getCurrentCollectionType());
+
+	}
+
+	@Test
+	public void testSmallInstancesHaveFootprint() {
+
+		for (int size = 0; size <= 10; size++) {
+			for (ListPerformanceModel model : PerformanceModelFactory.buildListPerformanceModelsFootprint(Object.class)) {
+				Assert.assertTrue(model.getType() + " " + size, model.calculatePopulate(size) > 0);
+			}
+			for (SetPerformanceModel model : PerformanceModelFactory.buildSetsPerformanceModelFootprint(Object.class)) {
+				Assert.assertTrue(model.getType() + " " + size, model.calculatePopulate(size) > 0);
+			}
+			for (MapPerformanceModel model : PerformanceModelFactory.buildMapsPerformanceModelFootprint(Object.class)) {
+				Assert.assertTrue(model.getType() + " " + size, model.calculatePopulate(size) > 0);
+			}
+		}
+
+		Map<MapCollectionType, Double> maps = new EnumMap<MapCollectionType, Double>(MapCollectionType.class);
+		for (MapPerformanceModel model : PerformanceModelFactory.buildMapsPerformanceModelFootprint()) {
+			maps.put(model.getType(), model.calculatePopulate(10));
+		}
+
+		// The compact map keeps an entry array besides its table, and the
+		// linked map a list through the entries of the hash map
+		Assert.assertTrue(
+				maps.get(MapCollectionType.NAYUKI_COMPACTHASHMAP) > maps.get(MapCollectionType.JDK_HASHMAP) / 2);
+		Assert.assertTrue(maps.get(MapCollectionType.JDK_LINKEDHASHMAP) > maps.get(MapCollectionType.JDK_HASHMAP));
+		// Array maps are the smallest ones
+		Assert.assertTrue(maps.get(MapCollectionType.GOOGLE_ARRAYMAP) < maps.get(MapCollectionType.JDK_HASHMAP));
+
+	}
+
+}
@@ -0,0 +1,96 @@
+package de.heidelberg.pvs.diego.collectionswitch.optimizers;
+
+import java.util.Map;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import de.heidelberg.pvs.diego.collectionswitch.context.MapCollectionType;
+import de.heidelberg.pvs.diego.collectionswitch.context.impl.EmpiricalMapAllocationContext;
+import de.heidelberg.pvs.diego.collectionswitch.factories.PerformanceModelFactory;
+import de.heidelberg.pvs.diego.collectionswitch.manager.PerformanceGoal;
+import de.heidelberg.pvs.diego.collectionswitch.manager.PerformanceGoal.PerformanceDimension;
+import de.heidelberg.pvs.diego.collectionswitch.monitors.KeyProfile;
+import de.heidelberg.pvs.diego.collectionswitch.optimizers.maps.MapEmpiricalOptimizer;
+import de.heidelberg.pvs.diego.collectionswitch.optimizers.maps.MapEmpiricalPerformanceEvaluator;
+
+public class KeyProfileSelectionTest {
+
+	private static final int SIZE = 1000;
+
+	private MapEmpiricalOptimizer optimizer;
+	private EmpiricalMapAllocationContext context;
+
+	@Test
+	public void testSpreadKeysKeepOpenAddressing() {
+
+		createContext();
+		run(1);
+
+		Assert.assertFalse(optimizer.getKeyProfile().isClustered());
+		Assert.assertEquals(MapCollectionType.KOLOBOKE_HASHMAP, context.getCurrentCollectionType());
+
+	}
+
+	@Test
+	public void testClusteredKeysLeaveOpenAddressing() {
+
+		createContext();
+		run(KeyProfile.BUCKETS);
+
+		Assert.assertTrue(optimizer.getKeyProfile().isClustered());
+		Assert.assertEquals(MapCollectionType.JDK_HASHMAP, context.getCurrentCollectionType());
+
+	}
+
+	/**
+	 * Maps looked up with absent keys, the workload where open addressing is
+	 * the best choice with well spread hash codes
+	 */
+	private void run(int stride) {
+		for (int i = 0; i < 10; i++) {
+			Map<Key, Integer> map = context.createMap();
+			for (int j = 0; j < SIZE; j++) {
+				map.put(new Key(j * stride), j);
+			}
+			for (int j = 0; j < 5 * SIZE; j++) {
+				map.get(new Key((SIZE + j) * stride));
+			}
+		}
+		optimizer.analyzeAndOptimize();
+	}
+
+	private void createContext() {
+
+		MapEmpiricalPerformanceEvaluator evaluator = new MapEmpiricalPerformanceEvaluator();
+		evaluator.addEmpiricalModel(PerformanceDimension.TIME,
+				PerformanceModelFactory.buildMapsPerformanceModelTime());
+
+		optimizer = new MapEmpiricalOptimizer(evaluator, MapCollectionType.KOLOBOKE_HASHMAP,
+				new PerformanceGoal(PerformanceDimension.TIME, PerformanceDimension.ALLOCATION, 1.2, 0), 10, 0);
+		optimizer.setKeyProfile(new KeyProfile(4));
+		context = new EmpiricalMapAllocationContext(MapCollectionType.KOLOBOKE_HASHMAP, optimizer, 10);
+		optimizer.setContext(context);
+	}
+
+	private static class Key {
+
+		private final int hash;
+
+		Key(int hash) {
+			this.hash = hash;
+		}
+
+		@Override
+		public int hashCode() {
+			return hash;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			return obj instanceof Key && ((Key) obj).hash == hash;
+		}
+
+	}
+
+}
@@ -0,0 +1,62 @@
+package de.heidelberg.pvs.diego.collectionswitch.optimizers;
+
+import org.eclipse.collections.api.map.primitive.MutableObjectDoubleMap;
+import org.eclipse.collections.impl.list.mutable.primitive.LongArrayList;
+import org.junit.Assert;
+import org.junit.Test;
+
+import de.heidelberg.pvs.diego.collectionswitch.context.ListCollectionType;
+import de.heidelberg.pvs.diego.collectionswitch.factories.PerformanceModelFactory;
+import de.heidelberg.pvs.diego.collectionswitch.manager.PerformanceGoal.PerformanceDimension;
+import de.heidelberg.pvs.diego.collectionswitch.monitors.MetricsBuffer;
+import de.heidelberg.pvs.diego.collectionswitch.monitors.lists.ListMetrics;
+import de.heidelberg.pvs.diego.collectionswitch.optimizers.lists.ListEmpiricalPerformanceEvaluator;
+import de.heidelberg.pvs.diego.collectionswitch.optimizers.lists.ListIncrementalPerformanceEvaluator;
+
+public class ListIncrementalPerformanceEvaluatorTest {
+
+	@Test
+	public void testFoldedTotalsMatchFullEvaluation() {
+
+		ListEmpiricalPerformanceEvaluator evaluator = new ListEmpiricalPerformanceEvaluator(PerformanceDimension.TIME,
+				PerformanceModelFactory.buildListPerformanceModelsTime());
+		ListIncrementalPerformanceEvaluator incremental = new ListIncrementalPerformanceEvaluator(evaluator);
+
+		MetricsBuffer buffer = new MetricsBuffer(ListMetrics.SLOT_WIDTH, 64);
+		LongArrayList all = new LongArrayList();
+		LongArrayList alive = new LongArrayList();
+
+		for (int i = 0; i < 20; i++) {
+			long id = buffer.allocate();
+			buffer.updateSize(id, i * 10);
+			buffer.add(id, ListMetrics.CONTAINS_OP, i);
+			buffer.add(id, ListMetrics.ITERATION_OP, 2);
+			all.add(id);
+
+			if (i % 4 == 0) {
+				alive.add(id);
+			} else {
+				incremental.fold(new ListMetrics(buffer, id));
+			}
+		}
+
+		Assert.assertEquals(15, incremental.getFoldedCount());
+
+		MutableObjectDoubleMap<ListCollectionType> expected = evaluator.predictPerformance(buffer, all,
+				PerformanceDimension.TIME);
+		MutableObjectDoubleMap<ListCollectionType> actual = incremental.predictPerformance(buffer, alive,
+				PerformanceDimension.TIME);
+
+		Assert.assertEquals(expected.keySet(), actual.keySet());
+		for (ListCollectionType type : expected.keySet()) {
+			Assert.assertEquals(expected.get(type), actual.get(type), Math.abs(expected.get(type)) * 1e-9);
+		}
+
+		incremental.reset();
+		Assert.assertEquals(0, incremental.getFoldedCount());
+		Assert.assertTrue(incremental.predictPerformance(buffer, new LongArrayList(), PerformanceDimension.TIME)
+				.isEmpty());
+
+	}
+
+}
@@ -0,0 +1,78 @@
+package de.heidelberg.pvs.diego.collectionswitch.optimizers;
+
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import de.heidelberg.pvs.diego.collectionswitch.context.ListCollectionType;
+import de.heidelberg.pvs.diego.collectionswitch.context.impl.EmpiricalListAllocationContext;
+import de.heidelberg.pvs.diego.collectionswitch.factories.PerformanceModelFactory;
+import de.heidelberg.pvs.diego.collectionswitch.manager.PerformanceGoal;
+import de.heidelberg.pvs.diego.collectionswitch.manager.PerformanceGoal.PerformanceDimension;
+import de.heidelberg.pvs.diego.collectionswitch.optimizers.lists.ListEmpiricalOptimizer;
+import de.heidelberg.pvs.diego.collectionswitch.optimizers.lists.ListEmpiricalPerformanceEvaluator;
+
+public class ListPositionalModelTest {
+
+	private static final int SIZE = 1000;
+
+	private ListEmpiricalOptimizer optimizer;
+	private EmpiricalListAllocationContext context;
+
+	@Test
+	public void testHeadOperationsSelectLinkedList() {
+
+		createContext(ListCollectionType.JDK_ARRAYLIST);
+
+		for (int i = 0; i < 10; i++) {
+			List<Integer> list = populate();
+			// Used as a queue
+			for (int j = 0; j < SIZE / 2; j++) {
+				list.remove(0);
+			}
+		}
+
+		optimizer.analyzeAndOptimize();
+		Assert.assertEquals(ListCollectionType.JDK_LINKEDLIST, context.getCurrentCollectionType());
+
+	}
+
+	@Test
+	public void testRandomAccessSelectsArrayList() {
+
+		createContext(ListCollectionType.JDK_LINKEDLIST);
+
+		for (int i = 0; i < 10; i++) {
+			List<Integer> list = populate();
+			for (int j = 1; j < SIZE / 2; j++) {
+				list.get(j);
+			}
+		}
+
+		optimizer.analyzeAndOptimize();
+		Assert.assertEquals(ListCollectionType.JDK_ARRAYLIST, context.getCurrentCollectionType());
+
+	}
+
+	private void createContext(ListCollectionType type) {
+
+		ListEmpiricalPerformanceEvaluator evaluator = new ListEmpiricalPerformanceEvaluator();
+		evaluator.addEmpiricalModel(PerformanceDimension.TIME,
+				PerformanceModelFactory.buildListPerformanceModelsTime());
+
+		optimizer = new ListEmpiricalOptimizer(evaluator, type,
+				new PerformanceGoal(PerformanceDimension.TIME, PerformanceDimension.ALLOCATION, 1.2, 0), 10, 0);
+		context = new EmpiricalListAllocationContext(type, optimizer, 10);
+		optimizer.setContext(context);
+	}
+
+	private List<Integer> populate() {
+		List<Integer> list = context.createList();
+		for (int i = 0; i < SIZE; i++) {
+			list.add(i);
+		}
+		return list;
+	}
+
+}
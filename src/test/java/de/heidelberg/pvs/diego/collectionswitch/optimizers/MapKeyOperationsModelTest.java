@@ -0,0 +1,77 @@
+package de.heidelberg.pvs.diego.collectionswitch.optimizers;
+
+import java.util.Map;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import de.heidelberg.pvs.diego.collectionswitch.context.MapCollectionType;
+import de.heidelberg.pvs.diego.collectionswitch.context.impl.EmpiricalMapAllocationContext;
+import de.heidelberg.pvs.diego.collectionswitch.factories.PerformanceModelFactory;
+import de.heidelberg.pvs.diego.collectionswitch.manager.PerformanceGoal;
+import de.heidelberg.pvs.diego.collectionswitch.manager.PerformanceGoal.PerformanceDimension;
+import de.heidelberg.pvs.diego.collectionswitch.optimizers.maps.MapEmpiricalOptimizer;
+import de.heidelberg.pvs.diego.collectionswitch.optimizers.maps.MapEmpiricalPerformanceEvaluator;
+
+public class MapKeyOperationsModelTest {
+
+	private static final int SIZE = 1000;
+
+	private MapEmpiricalOptimizer optimizer;
+	private EmpiricalMapAllocationContext context;
+
+	@Test
+	public void testHitsLeaveOpenAddressing() {
+
+		createContext(MapCollectionType.KOLOBOKE_HASHMAP);
+
+		for (int i = 0; i < 10; i++) {
+			Map<Integer, Integer> map = populate();
+			for (int j = 0; j < 5 * SIZE; j++) {
+				map.get(j % SIZE);
+			}
+		}
+
+		optimizer.analyzeAndOptimize();
+		Assert.assertEquals(MapCollectionType.JDK_HASHMAP, context.getCurrentCollectionType());
+
+	}
+
+	@Test
+	public void testMissesKeepOpenAddressing() {
+
+		createContext(MapCollectionType.KOLOBOKE_HASHMAP);
+
+		for (int i = 0; i < 10; i++) {
+			Map<Integer, Integer> map = populate();
+			for (int j = 0; j < 5 * SIZE; j++) {
+				map.get(SIZE + j);
+			}
+		}
+
+		optimizer.analyzeAndOptimize();
+		Assert.assertEquals(MapCollectionType.KOLOBOKE_HASHMAP, context.getCurrentCollectionType());
+
+	}
+
+	private void createContext(MapCollectionType type) {
+
+		MapEmpiricalPerformanceEvaluator evaluator = new MapEmpiricalPerformanceEvaluator();
+		evaluator.addEmpiricalModel(PerformanceDimension.TIME,
+				PerformanceModelFactory.buildMapsPerformanceModelTime());
+
+		optimizer = new MapEmpiricalOptimizer(evaluator, type,
+				new PerformanceGoal(PerformanceDimension.TIME, PerformanceDimension.ALLOCATION, 1.2, 0), 10, 0);
+		context = new EmpiricalMapAllocationContext(type, optimizer, 10);
+		optimizer.setContext(context);
+	}
+
+	private Map<Integer, Integer> populate() {
+		Map<Integer, Integer> map = context.createMap();
+		for (int i = 0; i < SIZE; i++) {
+			map.put(i, i);
+		}
+		return map;
+	}
+
+}
@@ -0,0 +1,124 @@
+package de.heidelberg.pvs.diego.collectionswitch.optimizers;
+
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import de.heidelberg.pvs.diego.collectionswitch.context.IntSetAllocationContext;
+import de.heidelberg.pvs.diego.collectionswitch.context.ListCollectionType;
+import de.heidelberg.pvs.diego.collectionswitch.context.LongObjMapAllocationContext;
+import de.heidelberg.pvs.diego.collectionswitch.context.MapCollectionType;
+import de.heidelberg.pvs.diego.collectionswitch.context.SetCollectionType;
+import de.heidelberg.pvs.diego.collectionswitch.context.impl.EmpiricalMapAllocationContext;
+import de.heidelberg.pvs.diego.collectionswitch.context.impl.EmpiricalSetAllocationContext;
+import de.heidelberg.pvs.diego.collectionswitch.context.impl.PrimitiveMapAllocationContext;
+import de.heidelberg.pvs.diego.collectionswitch.context.impl.PrimitiveSetAllocationContext;
+import de.heidelberg.pvs.diego.collectionswitch.factories.AllocationContextFactory;
+import de.heidelberg.pvs.diego.collectionswitch.factories.PerformanceModelFactory;
+import de.heidelberg.pvs.diego.collectionswitch.manager.PerformanceGoal;
+import de.heidelberg.pvs.diego.collectionswitch.manager.PerformanceGoal.PerformanceDimension;
+import de.heidelberg.pvs.diego.collectionswitch.optimizers.maps.MapEmpiricalOptimizer;
+import de.heidelberg.pvs.diego.collectionswitch.optimizers.maps.MapEmpiricalPerformanceEvaluator;
+import de.heidelberg.pvs.diego.collectionswitch.optimizers.sets.SetEmpiricalOptimizer;
+import de.heidelberg.pvs.diego.collectionswitch.optimizers.sets.SetEmpiricalPerformanceEvaluator;
+
+public class PrimitiveContextSelectionTest {
+
+	private static final int SIZE = 1000;
+
+	private static final PerformanceGoal FOOTPRINT = new PerformanceGoal(PerformanceDimension.MEMORY_FOOTPRINT,
+			PerformanceDimension.TIME, 1.2, 0);
+
+	@Test
+	public void testIntSetSwitchesToPrimitive() {
+
+		SetEmpiricalPerformanceEvaluator evaluator = new SetEmpiricalPerformanceEvaluator();
+		evaluator.addEmpiricalModel(PerformanceDimension.MEMORY_FOOTPRINT,
+				PerformanceModelFactory.buildSetsPerformanceModelFootprint(Integer.class));
+
+		SetEmpiricalOptimizer optimizer = new SetEmpiricalOptimizer(evaluator, SetCollectionType.JDK_HASHSET,
+				FOOTPRINT, 10, 0);
+		optimizer.setElementType(Integer.class);
+		EmpiricalSetAllocationContext context = new EmpiricalSetAllocationContext(SetCollectionType.JDK_HASHSET,
+				optimizer, 10, Integer.class);
+		optimizer.setContext(context);
+		IntSetAllocationContext ints = new PrimitiveSetAllocationContext.OfInt(context);
+
+		for (int i = 0; i < 10; i++) {
+			Set<Integer> set = ints.createSet();
+			for (int j = 0; j < SIZE; j++) {
+				set.add(j);
+			}
+		}
+		optimizer.analyzeAndOptimize();
+
+		SetCollectionType selected = SetCollectionType.valueOf(context.getCurrentCollectionType());
+		Assert.assertEquals(Integer.class, selected.getElementType());
+
+		// New instances are primitive and still behave as sets of integers
+		Set<Integer> set = ints.createSet();
+		set.add(SIZE);
+		Assert.assertTrue(set.contains(SIZE));
+
+	}
+
+	@Test
+	public void testLongMapSwitchesToPrimitive() {
+
+		MapEmpiricalOptimizer optimizer = createMapOptimizer(Long.class);
+		EmpiricalMapAllocationContext context = new EmpiricalMapAllocationContext(MapCollectionType.JDK_HASHMAP,
+				optimizer, 10, Long.class);
+		optimizer.setContext(context);
+		LongObjMapAllocationContext longs = new PrimitiveMapAllocationContext.OfLong(context);
+
+		for (int i = 0; i < 10; i++) {
+			Map<Long, String> map = longs.createMap();
+			for (long j = 0; j < SIZE; j++) {
+				map.put(j, "");
+			}
+		}
+		optimizer.analyzeAndOptimize();
+
+		Assert.assertEquals(Long.class, context.getCurrentCollectionType().getKeyType());
+
+	}
+
+	@Test
+	public void testGenericContextKeepsGenericTypes() {
+
+		MapEmpiricalOptimizer optimizer = createMapOptimizer(Object.class);
+		EmpiricalMapAllocationContext context = new EmpiricalMapAllocationContext(MapCollectionType.JDK_HASHMAP,
+				optimizer, 10);
+		optimizer.setContext(context);
+
+		for (int i = 0; i < 10; i++) {
+			Map<Long, String> map = context.createMap();
+			for (long j = 0; j < SIZE; j++) {
+				map.put(j, "");
+			}
+		}
+		optimizer.analyzeAndOptimize();
+
+		Assert.assertNotEquals(MapCollectionType.JDK_HASHMAP, context.getCurrentCollectionType());
+		Assert.assertEquals(Object.class, context.getCurrentCollectionType().getKeyType());
+
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testRejectsOtherElementType() {
+		AllocationContextFactory.buildIntListContext(ListCollectionType.FASTUTIL_LONGARRAYLIST, "LongsAsInts");
+	}
+
+	private MapEmpiricalOptimizer createMapOptimizer(Class<?> keyType) {
+		MapEmpiricalPerformanceEvaluator evaluator = new MapEmpiricalPerformanceEvaluator();
+		evaluator.addEmpiricalModel(PerformanceDimension.MEMORY_FOOTPRINT,
+				PerformanceModelFactory.buildMapsPerformanceModelFootprint(keyType));
+		MapEmpiricalOptimizer optimizer = new MapEmpiricalOptimizer(evaluator, MapCollectionType.JDK_HASHMAP,
+				FOOTPRINT, 10, 0);
+		optimizer.setElementType(keyType);
+		return optimizer;
+	}
+
+}
@@ -0,0 +1,156 @@
+package de.heidelberg.pvs.diego.collectionswitch.optimizers;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import de.heidelberg.pvs.diego.collectionswitch.context.ListCollectionType;
+import de.heidelberg.pvs.diego.collectionswitch.context.MapCollectionType;
+import de.heidelberg.pvs.diego.collectionswitch.context.SetCollectionType;
+import de.heidelberg.pvs.diego.collectionswitch.context.impl.EmpiricalListAllocationContext;
+import de.heidelberg.pvs.diego.collectionswitch.context.impl.EmpiricalMapAllocationContext;
+import de.heidelberg.pvs.diego.collectionswitch.context.impl.EmpiricalSetAllocationContext;
+import de.heidelberg.pvs.diego.collectionswitch.factories.PerformanceModelFactory;
+import de.heidelberg.pvs.diego.collectionswitch.manager.PerformanceGoal;
+import de.heidelberg.pvs.diego.collectionswitch.manager.PerformanceGoal.PerformanceDimension;
+import de.heidelberg.pvs.diego.collectionswitch.monitors.KeyProfile;
+import de.heidelberg.pvs.diego.collectionswitch.optimizers.lists.ListEmpiricalOptimizer;
+import de.heidelberg.pvs.diego.collectionswitch.optimizers.lists.ListEmpiricalPerformanceEvaluator;
+import de.heidelberg.pvs.diego.collectionswitch.optimizers.maps.MapEmpiricalOptimizer;
+import de.heidelberg.pvs.diego.collectionswitch.optimizers.maps.MapEmpiricalPerformanceEvaluator;
+import de.heidelberg.pvs.diego.collectionswitch.optimizers.sets.SetEmpiricalOptimizer;
+import de.heidelberg.pvs.diego.collectionswitch.optimizers.sets.SetEmpiricalPerformanceEvaluator;
+
+/**
+ * Generic contexts whose profile only saw Integer or Long values
+ */
+public class PrimitivePromotionTest {
+
+	private static final int SIZE = 1000;
+
+	private static final PerformanceGoal FOOTPRINT = new PerformanceGoal(PerformanceDimension.MEMORY_FOOTPRINT,
+			PerformanceDimension.TIME, 1.2, 0);
+
+	@Test
+	public void testIntListIsPromoted() {
+
+		ListEmpiricalPerformanceEvaluator evaluator = new ListEmpiricalPerformanceEvaluator();
+		evaluator.addEmpiricalModel(PerformanceDimension.MEMORY_FOOTPRINT,
+				PerformanceModelFactory.buildListPerformanceModelsFootprint(Object.class));
+		ListEmpiricalOptimizer optimizer = new ListEmpiricalOptimizer(evaluator, ListCollectionType.JDK_ARRAYLIST,
+				FOOTPRINT, 10, 0);
+		optimizer.setKeyProfile(new KeyProfile(1));
+		EmpiricalListAllocationContext context = new EmpiricalListAllocationContext(
+				ListCollectionType.JDK_ARRAYLIST, optimizer, 10);
+		optimizer.setContext(context);
+
+		for (int i = 0; i < 10; i++) {
+			List<Object> list = context.createList();
+			for (int j = 0; j < SIZE; j++) {
+				list.add(j);
+			}
+		}
+		optimizer.analyzeAndOptimize();
+
+		Assert.assertEquals(ListCollectionType.FASTUTIL_INTARRAYLIST, context.getCurrentCollectionType());
+
+		// The promoted instances still take any element
+		List<Object> list = context.createList();
+		list.add(1);
+		list.add("two");
+		Assert.assertEquals("two", list.get(1));
+
+	}
+
+	@Test
+	public void testProfileWithoutPromotion() {
+
+		SetEmpiricalOptimizer optimizer = createSetOptimizer();
+		optimizer.setKeyProfile(new KeyProfile(1));
+		EmpiricalSetAllocationContext context = new EmpiricalSetAllocationContext(SetCollectionType.JDK_HASHSET,
+				optimizer, 10);
+		optimizer.setContext(context);
+
+		for (int i = 0; i < 10; i++) {
+			Set<Object> set = context.createSet();
+			for (int j = 0; j < SIZE; j++) {
+				set.add(j);
+			}
+			// A single other element keeps the context generic
+			set.add(i == 0 ? "other" : null);
+		}
+		optimizer.analyzeAndOptimize();
+
+		Assert.assertEquals(Object.class, optimizer.getKeyProfile().getElementType());
+		Assert.assertEquals(Object.class,
+				SetCollectionType.valueOf(context.getCurrentCollectionType()).getElementType());
+
+	}
+
+	@Test
+	public void testUnprofiledContextStaysGeneric() {
+
+		SetEmpiricalOptimizer optimizer = createSetOptimizer();
+		EmpiricalSetAllocationContext context = new EmpiricalSetAllocationContext(SetCollectionType.JDK_HASHSET,
+				optimizer, 10);
+		optimizer.setContext(context);
+
+		for (int i = 0; i < 10; i++) {
+			Set<Object> set = context.createSet();
+			for (int j = 0; j < SIZE; j++) {
+				set.add(j);
+			}
+		}
+		optimizer.analyzeAndOptimize();
+
+		Assert.assertEquals(Object.class,
+				SetCollectionType.valueOf(context.getCurrentCollectionType()).getElementType());
+
+	}
+
+	@Test
+	public void testLongMapIsPromotedAndDemoted() {
+
+		MapEmpiricalPerformanceEvaluator evaluator = new MapEmpiricalPerformanceEvaluator();
+		evaluator.addEmpiricalModel(PerformanceDimension.MEMORY_FOOTPRINT,
+				PerformanceModelFactory.buildMapsPerformanceModelFootprint(Object.class));
+		MapEmpiricalOptimizer optimizer = new MapEmpiricalOptimizer(evaluator, MapCollectionType.JDK_HASHMAP,
+				FOOTPRINT, 10, 0);
+		optimizer.setKeyProfile(new KeyProfile(1));
+		EmpiricalMapAllocationContext context = new EmpiricalMapAllocationContext(MapCollectionType.JDK_HASHMAP,
+				optimizer, 10);
+		optimizer.setContext(context);
+
+		for (int i = 0; i < 10; i++) {
+			Map<Object, String> map = context.createMap();
+			for (long j = 0; j < SIZE; j++) {
+				map.put(j, "");
+			}
+		}
+		optimizer.analyzeAndOptimize();
+		Assert.assertEquals(Long.class, context.getCurrentCollectionType().getKeyType());
+
+		// Promoted maps that meet other keys box them and the profile records
+		// them, so the context goes back to a generic type
+		for (int i = 0; i < 10; i++) {
+			Map<Object, String> map = context.createMap();
+			for (int j = 0; j < SIZE; j++) {
+				map.put("key" + j, "");
+			}
+		}
+		optimizer.analyzeAndOptimize();
+		Assert.assertEquals(Object.class, context.getCurrentCollectionType().getKeyType());
+
+	}
+
+	private SetEmpiricalOptimizer createSetOptimizer() {
+		SetEmpiricalPerformanceEvaluator evaluator = new SetEmpiricalPerformanceEvaluator();
+		evaluator.addEmpiricalModel(PerformanceDimension.MEMORY_FOOTPRINT,
+				PerformanceModelFactory.buildSetsPerformanceModelFootprint(Object.class));
+		return new SetEmpiricalOptimizer(evaluator, SetCollectionType.JDK_HASHSET, FOOTPRINT, 10, 0);
+	}
+
+}
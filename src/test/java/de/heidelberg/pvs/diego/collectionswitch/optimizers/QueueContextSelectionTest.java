@@ -0,0 +1,117 @@
+package de.heidelberg.pvs.diego.collectionswitch.optimizers;
+
+import java.util.Deque;
+import java.util.Queue;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import de.heidelberg.pvs.diego.collectionswitch.context.QueueCollectionType;
+import de.heidelberg.pvs.diego.collectionswitch.context.impl.EmpiricalDequeAllocationContext;
+import de.heidelberg.pvs.diego.collectionswitch.context.impl.EmpiricalQueueAllocationContext;
+import de.heidelberg.pvs.diego.collectionswitch.factories.AllocationContextFactory;
+import de.heidelberg.pvs.diego.collectionswitch.factories.PerformanceModelFactory;
+import de.heidelberg.pvs.diego.collectionswitch.manager.PerformanceGoal;
+import de.heidelberg.pvs.diego.collectionswitch.manager.PerformanceGoal.PerformanceDimension;
+import de.heidelberg.pvs.diego.collectionswitch.optimizers.queues.QueueEmpiricalOptimizer;
+import de.heidelberg.pvs.diego.collectionswitch.optimizers.queues.QueueEmpiricalPerformanceEvaluator;
+
+public class QueueContextSelectionTest {
+
+	private static final int WINDOW_SIZE = 10;
+
+	private static final PerformanceGoal GOAL = new PerformanceGoal(PerformanceDimension.TIME,
+			PerformanceDimension.ALLOCATION, 1.2, 0.7);
+
+	@Test
+	public void testLinkedWorkQueueBecomesArrayDeque() {
+
+		QueueEmpiricalOptimizer optimizer = new QueueEmpiricalOptimizer(buildEvaluator(),
+				QueueCollectionType.JDK_LINKEDLIST, GOAL, WINDOW_SIZE, 0);
+		EmpiricalDequeAllocationContext context = new EmpiricalDequeAllocationContext(
+				QueueCollectionType.JDK_LINKEDLIST, optimizer, WINDOW_SIZE);
+		optimizer.setContext(context);
+
+		for (int i = 0; i < WINDOW_SIZE; i++) {
+			Deque<Integer> deque = context.createDeque();
+			for (int j = 0; j < 100; j++) {
+				deque.offer(j);
+				if (j % 10 == 9) {
+					while (deque.poll() != null) {
+					}
+				}
+			}
+		}
+
+		optimizer.analyzeAndOptimize();
+		Assert.assertEquals(QueueCollectionType.JDK_ARRAYDEQUE, context.getCurrentCollectionType());
+
+	}
+
+	@Test
+	public void testSmallPriorityQueuesBecomeArrays() {
+
+		QueueEmpiricalOptimizer optimizer = new QueueEmpiricalOptimizer(buildEvaluator(),
+				QueueCollectionType.JDK_PRIORITYQUEUE, GOAL, WINDOW_SIZE, 0);
+		EmpiricalQueueAllocationContext context = new EmpiricalQueueAllocationContext(
+				QueueCollectionType.JDK_PRIORITYQUEUE, optimizer, WINDOW_SIZE);
+		optimizer.setContext(context);
+
+		// Best of a few candidates, the FIFO queues would be cheaper but do
+		// not poll the least element
+		for (int i = 0; i < WINDOW_SIZE; i++) {
+			Queue<Integer> queue = context.createQueue();
+			for (int j = 8; j > 0; j--) {
+				queue.offer(j);
+			}
+			Assert.assertEquals(Integer.valueOf(1), queue.poll());
+		}
+
+		optimizer.analyzeAndOptimize();
+		Assert.assertEquals(QueueCollectionType.ONLINEADAPTER_ARRAYPRIORITYQUEUE, context.getCurrentCollectionType());
+
+		Queue<Integer> queue = context.createQueue();
+		queue.offer(2);
+		queue.offer(1);
+		Assert.assertEquals(Integer.valueOf(1), queue.poll());
+
+	}
+
+	@Test
+	public void testLargeDrainedPriorityQueuesKeepTheHeap() {
+
+		QueueEmpiricalOptimizer optimizer = new QueueEmpiricalOptimizer(buildEvaluator(),
+				QueueCollectionType.JDK_PRIORITYQUEUE, GOAL, WINDOW_SIZE, 0);
+		EmpiricalQueueAllocationContext context = new EmpiricalQueueAllocationContext(
+				QueueCollectionType.JDK_PRIORITYQUEUE, optimizer, WINDOW_SIZE);
+		optimizer.setContext(context);
+
+		for (int i = 0; i < WINDOW_SIZE; i++) {
+			Queue<Integer> queue = context.createQueue();
+			for (int j = 1000; j > 0; j--) {
+				queue.offer(j);
+			}
+			while (queue.poll() != null) {
+			}
+		}
+
+		optimizer.analyzeAndOptimize();
+		Assert.assertEquals(QueueCollectionType.JDK_PRIORITYQUEUE, context.getCurrentCollectionType());
+
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testDequeContextNeedsDeque() {
+		AllocationContextFactory.buildDequeContext(QueueCollectionType.JDK_PRIORITYQUEUE, "priority");
+	}
+
+	private static QueueEmpiricalPerformanceEvaluator buildEvaluator() {
+		QueueEmpiricalPerformanceEvaluator evaluator = new QueueEmpiricalPerformanceEvaluator();
+		evaluator.addEmpiricalModel(PerformanceDimension.TIME,
+				PerformanceModelFactory.buildQueuesPerformanceModelTime());
+		evaluator.addEmpiricalModel(PerformanceDimension.ALLOCATION,
+				PerformanceModelFactory.buildQueuesPerformanceModelAllocation());
+		return evaluator;
+	}
+
+}
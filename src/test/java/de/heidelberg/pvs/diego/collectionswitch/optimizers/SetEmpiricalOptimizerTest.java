@@ -1,6 +1,6 @@
-package de.heidelberg.pvs.diego.collectionswitch.optimizers;
-
-public class SetEmpiricalOptimizerTest {
-	
-
-}
+package de.heidelberg.pvs.diego.collectionswitch.optimizers;
+
+public class SetEmpiricalOptimizerTest {
+	
+
+}
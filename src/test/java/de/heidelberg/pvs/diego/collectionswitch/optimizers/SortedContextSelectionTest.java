@@ -0,0 +1,173 @@
+package de.heidelberg.pvs.diego.collectionswitch.optimizers;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+import java.util.SortedMap;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import de.heidelberg.pvs.diego.collectionswitch.context.SortedMapCollectionType;
+import de.heidelberg.pvs.diego.collectionswitch.context.SortedSetCollectionType;
+import de.heidelberg.pvs.diego.collectionswitch.context.impl.EmpiricalNavigableMapAllocationContext;
+import de.heidelberg.pvs.diego.collectionswitch.context.impl.EmpiricalNavigableSetAllocationContext;
+import de.heidelberg.pvs.diego.collectionswitch.context.impl.EmpiricalSortedMapAllocationContext;
+import de.heidelberg.pvs.diego.collectionswitch.factories.AllocationContextFactory;
+import de.heidelberg.pvs.diego.collectionswitch.factories.PerformanceModelFactory;
+import de.heidelberg.pvs.diego.collectionswitch.manager.PerformanceGoal;
+import de.heidelberg.pvs.diego.collectionswitch.manager.PerformanceGoal.PerformanceDimension;
+import de.heidelberg.pvs.diego.collectionswitch.optimizers.sorted.SortedEmpiricalPerformanceEvaluator;
+import de.heidelberg.pvs.diego.collectionswitch.optimizers.sorted.SortedMapEmpiricalOptimizer;
+import de.heidelberg.pvs.diego.collectionswitch.optimizers.sorted.SortedSetEmpiricalOptimizer;
+
+public class SortedContextSelectionTest {
+
+	private static final int WINDOW_SIZE = 10;
+
+	private static final PerformanceGoal GOAL = new PerformanceGoal(PerformanceDimension.TIME,
+			PerformanceDimension.ALLOCATION, 1.2, 0.7);
+
+	@Test
+	public void testReadMostlyTreeMapBecomesArray() {
+
+		SortedMapEmpiricalOptimizer optimizer = new SortedMapEmpiricalOptimizer(buildMapEvaluator(),
+				SortedMapCollectionType.JDK_TREEMAP, true, GOAL, WINDOW_SIZE, 0);
+		EmpiricalNavigableMapAllocationContext context = new EmpiricalNavigableMapAllocationContext(
+				SortedMapCollectionType.JDK_TREEMAP, optimizer, WINDOW_SIZE);
+		optimizer.setContext(context);
+
+		for (int i = 0; i < WINDOW_SIZE; i++) {
+			NavigableMap<Integer, Integer> map = context.createNavigableMap();
+			readMostly(map);
+		}
+
+		optimizer.analyzeAndOptimize();
+		Assert.assertEquals(SortedMapCollectionType.ONLINEADAPTER_SORTEDARRAYMAP,
+				context.getCurrentCollectionType());
+
+		NavigableMap<Integer, Integer> map = context.createNavigableMap();
+		map.put(2, 2);
+		map.put(1, 1);
+		Assert.assertEquals(Integer.valueOf(1), map.floorKey(1));
+
+	}
+
+	@Test
+	public void testWriteHeavyTreeMapKeepsTheTree() {
+
+		SortedMapEmpiricalOptimizer optimizer = new SortedMapEmpiricalOptimizer(buildMapEvaluator(),
+				SortedMapCollectionType.JDK_TREEMAP, false, GOAL, WINDOW_SIZE, 0);
+		EmpiricalSortedMapAllocationContext context = new EmpiricalSortedMapAllocationContext(
+				SortedMapCollectionType.JDK_TREEMAP, optimizer, WINDOW_SIZE);
+		optimizer.setContext(context);
+
+		List<Integer> keys = new ArrayList<Integer>();
+		for (int j = 0; j < 5000; j++) {
+			keys.add(j);
+		}
+
+		for (int i = 0; i < WINDOW_SIZE; i++) {
+			SortedMap<Integer, Integer> map = context.createMap();
+			Collections.shuffle(keys);
+			for (Integer key : keys) {
+				map.put(key, key);
+			}
+			Collections.shuffle(keys);
+			for (Integer key : keys) {
+				map.remove(key);
+			}
+		}
+
+		optimizer.analyzeAndOptimize();
+		Assert.assertEquals(SortedMapCollectionType.JDK_TREEMAP, context.getCurrentCollectionType());
+
+	}
+
+	@Test
+	public void testSkipListKeepsThreadSafety() {
+
+		SortedMapEmpiricalOptimizer optimizer = new SortedMapEmpiricalOptimizer(buildMapEvaluator(),
+				SortedMapCollectionType.JDK_CONCURRENTSKIPLISTMAP, true, GOAL, WINDOW_SIZE, 0);
+		EmpiricalNavigableMapAllocationContext context = new EmpiricalNavigableMapAllocationContext(
+				SortedMapCollectionType.JDK_CONCURRENTSKIPLISTMAP, optimizer, WINDOW_SIZE);
+		optimizer.setContext(context);
+
+		for (int i = 0; i < WINDOW_SIZE; i++) {
+			readMostly(context.<Integer, Integer>createNavigableMap());
+		}
+
+		optimizer.analyzeAndOptimize();
+		Assert.assertEquals(SortedMapCollectionType.JDK_CONCURRENTSKIPLISTMAP, context.getCurrentCollectionType());
+
+	}
+
+	@Test
+	public void testReadMostlyTreeSetBecomesArray() {
+
+		SortedSetEmpiricalOptimizer optimizer = new SortedSetEmpiricalOptimizer(buildSetEvaluator(),
+				SortedSetCollectionType.JDK_TREESET, true, GOAL, WINDOW_SIZE, 0);
+		EmpiricalNavigableSetAllocationContext context = new EmpiricalNavigableSetAllocationContext(
+				SortedSetCollectionType.JDK_TREESET, optimizer, WINDOW_SIZE);
+		optimizer.setContext(context);
+
+		for (int i = 0; i < WINDOW_SIZE; i++) {
+			NavigableSet<Integer> set = context.createNavigableSet();
+			for (int j = 0; j < 100; j++) {
+				set.add(j * 10);
+			}
+			for (int j = 0; j < 1000; j++) {
+				set.contains(j);
+				if (j % 5 == 0) {
+					set.floor(j);
+				}
+			}
+		}
+
+		optimizer.analyzeAndOptimize();
+		Assert.assertEquals(SortedSetCollectionType.ONLINEADAPTER_SORTEDARRAYSET,
+				context.getCurrentCollectionType());
+
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testNavigableContextNeedsNavigableType() {
+		AllocationContextFactory.buildNavigableMapContext(SortedMapCollectionType.FASTUTIL_AVLTREEMAP, "avl");
+	}
+
+	/**
+	 * Lookup table built once and then queried
+	 */
+	private static void readMostly(NavigableMap<Integer, Integer> map) {
+		for (int j = 0; j < 100; j++) {
+			map.put(j * 10, j);
+		}
+		for (int j = 0; j < 1000; j++) {
+			map.get(j);
+			if (j % 5 == 0) {
+				map.floorEntry(j);
+			}
+		}
+	}
+
+	private static SortedEmpiricalPerformanceEvaluator<SortedMapCollectionType> buildMapEvaluator() {
+		SortedEmpiricalPerformanceEvaluator<SortedMapCollectionType> evaluator = new SortedEmpiricalPerformanceEvaluator<SortedMapCollectionType>();
+		evaluator.addEmpiricalModel(PerformanceDimension.TIME,
+				PerformanceModelFactory.buildSortedMapsPerformanceModelTime());
+		evaluator.addEmpiricalModel(PerformanceDimension.ALLOCATION,
+				PerformanceModelFactory.buildSortedMapsPerformanceModelAllocation());
+		return evaluator;
+	}
+
+	private static SortedEmpiricalPerformanceEvaluator<SortedSetCollectionType> buildSetEvaluator() {
+		SortedEmpiricalPerformanceEvaluator<SortedSetCollectionType> evaluator = new SortedEmpiricalPerformanceEvaluator<SortedSetCollectionType>();
+		evaluator.addEmpiricalModel(PerformanceDimension.TIME,
+				PerformanceModelFactory.buildSortedSetsPerformanceModelTime());
+		evaluator.addEmpiricalModel(PerformanceDimension.ALLOCATION,
+				PerformanceModelFactory.buildSortedSetsPerformanceModelAllocation());
+		return evaluator;
+	}
+
+}
@@ -0,0 +1,151 @@
+package de.heidelberg.pvs.diego.collectionswitch.optimizers;
+
+import java.util.Random;
+
+import org.eclipse.collections.impl.map.mutable.primitive.ObjectDoubleHashMap;
+import org.junit.Assert;
+import org.junit.Test;
+
+import de.heidelberg.pvs.diego.collectionswitch.context.ListCollectionType;
+
+public class SwitchGuardTest {
+
+	private static final ListCollectionType CURRENT = ListCollectionType.JDK_ARRAYLIST;
+	private static final ListCollectionType OTHER = ListCollectionType.JDK_LINKEDLIST;
+	private static final ListCollectionType DEFAULT = ListCollectionType.ONLINEADAPTER_ADAPTIVELIST;
+
+	@Test
+	public void testConsistentSavingsSwitch() {
+
+		SwitchGuard<ListCollectionType> guard = new SwitchGuard<ListCollectionType>(0.95, 0.05, 0);
+		for (int i = 0; i < 10; i++) {
+			sample(guard, 100, 80 + i % 2);
+		}
+
+		Assert.assertTrue(guard.isSignificant(OTHER));
+		double[] interval = guard.getInterval(OTHER);
+		Assert.assertTrue(interval[0] > 0 && interval[0] < interval[1]);
+		Assert.assertEquals(OTHER, guard.decide(CURRENT, OTHER));
+
+	}
+
+	@Test
+	public void testNoisySavingsKeepTheCurrentType() {
+
+		// Same mean saving as the consistent window, but the interval spans 0
+		SwitchGuard<ListCollectionType> guard = new SwitchGuard<ListCollectionType>(0.95, 0.05, 0);
+		Random random = new Random(42);
+		for (int i = 0; i < 10; i++) {
+			sample(guard, 100, 80 + random.nextGaussian() * 200);
+		}
+
+		Assert.assertFalse(guard.isSignificant(OTHER));
+		Assert.assertEquals(CURRENT, guard.decide(CURRENT, OTHER));
+
+	}
+
+	@Test
+	public void testSavingsInsideTheHysteresisKeepTheCurrentType() {
+
+		SwitchGuard<ListCollectionType> guard = new SwitchGuard<ListCollectionType>(0, 0.05, 0);
+		for (int i = 0; i < 10; i++) {
+			sample(guard, 100, 97);
+		}
+		Assert.assertEquals(CURRENT, guard.decide(CURRENT, OTHER));
+
+		for (int i = 0; i < 10; i++) {
+			sample(guard, 100, 90);
+		}
+		Assert.assertEquals(OTHER, guard.decide(CURRENT, OTHER));
+
+	}
+
+	@Test
+	public void testCooldownKeepsTheSelectedType() {
+
+		SwitchGuard<ListCollectionType> guard = new SwitchGuard<ListCollectionType>(0.95, 0.05, 2);
+		for (int i = 0; i < 10; i++) {
+			sample(guard, 100, 50);
+		}
+		Assert.assertEquals(OTHER, guard.decide(CURRENT, OTHER));
+
+		// Two windows keep it whatever they predict
+		for (int window = 0; window < 2; window++) {
+			for (int i = 0; i < 10; i++) {
+				sampleFrom(guard, OTHER, 100, 50);
+			}
+			Assert.assertEquals(OTHER, guard.decide(OTHER, CURRENT));
+		}
+
+		for (int i = 0; i < 10; i++) {
+			sampleFrom(guard, OTHER, 100, 50);
+		}
+		Assert.assertEquals(CURRENT, guard.decide(OTHER, CURRENT));
+
+	}
+
+	@Test
+	public void testRejectedTypesAreNotGuarded() {
+
+		// Returns to the default type need a significant saving too
+		SwitchGuard<ListCollectionType> guard = new SwitchGuard<ListCollectionType>(0.95, 0.05, 0);
+		Assert.assertEquals(CURRENT, guard.decide(CURRENT, DEFAULT));
+
+		// The current type is missing from the predictions of an instance
+		ObjectDoubleHashMap<ListCollectionType> performance = new ObjectDoubleHashMap<ListCollectionType>();
+		performance.put(OTHER, 100);
+		guard.sample(CURRENT, performance);
+		Assert.assertEquals(OTHER, guard.decide(CURRENT, OTHER));
+
+	}
+
+	@Test
+	public void testNoisyWorkloadNearTheThresholdSwitchesRarely() {
+
+		SwitchGuard<ListCollectionType> guard = new SwitchGuard<ListCollectionType>(null);
+		Random random = new Random(42);
+
+		// The other type saves about the hysteresis, so that the window with
+		// the lower mean changes from one window to the next
+		ListCollectionType current = DEFAULT;
+		int switches = 0;
+		for (int window = 0; window < 200; window++) {
+			double defaultTotal = 0;
+			double otherTotal = 0;
+			for (int i = 0; i < 10; i++) {
+				double defaultCost = 100;
+				double otherCost = 95 + random.nextGaussian() * 15;
+				defaultTotal += defaultCost;
+				otherTotal += otherCost;
+
+				ObjectDoubleHashMap<ListCollectionType> performance = new ObjectDoubleHashMap<ListCollectionType>();
+				performance.put(DEFAULT, defaultCost);
+				performance.put(OTHER, otherCost);
+				guard.sample(current, performance);
+			}
+
+			ListCollectionType champion = otherTotal < defaultTotal ? OTHER : DEFAULT;
+			ListCollectionType decision = guard.decide(current, champion);
+			if (decision != current) {
+				switches++;
+				current = decision;
+			}
+		}
+
+		Assert.assertTrue("Switched " + switches + " times", switches <= 2);
+
+	}
+
+	private static void sample(SwitchGuard<ListCollectionType> guard, double current, double other) {
+		sampleFrom(guard, CURRENT, current, other);
+	}
+
+	private static void sampleFrom(SwitchGuard<ListCollectionType> guard, ListCollectionType from, double current,
+			double other) {
+		ObjectDoubleHashMap<ListCollectionType> performance = new ObjectDoubleHashMap<ListCollectionType>();
+		performance.put(from, current);
+		performance.put(from == CURRENT ? OTHER : CURRENT, other);
+		guard.sample(from, performance);
+	}
+
+}
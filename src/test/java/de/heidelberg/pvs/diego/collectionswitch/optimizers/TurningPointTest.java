@@ -0,0 +1,64 @@
+package de.heidelberg.pvs.diego.collectionswitch.optimizers;
+
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import de.heidelberg.pvs.diego.collectionswitch.adaptive.AdaptiveList;
+import de.heidelberg.pvs.diego.collectionswitch.context.ListCollectionType;
+import de.heidelberg.pvs.diego.collectionswitch.context.impl.EmpiricalListAllocationContext;
+import de.heidelberg.pvs.diego.collectionswitch.factories.PerformanceModelFactory;
+import de.heidelberg.pvs.diego.collectionswitch.manager.PerformanceGoal;
+import de.heidelberg.pvs.diego.collectionswitch.manager.PerformanceGoal.PerformanceDimension;
+import de.heidelberg.pvs.diego.collectionswitch.optimizers.lists.ListEmpiricalOptimizer;
+import de.heidelberg.pvs.diego.collectionswitch.optimizers.lists.ListEmpiricalPerformanceEvaluator;
+
+public class TurningPointTest {
+
+	@Test
+	public void testCrossoverIsWhereTheModelsCross() {
+
+		ListEmpiricalPerformanceEvaluator evaluator = new ListEmpiricalPerformanceEvaluator(PerformanceDimension.TIME,
+				PerformanceModelFactory.buildListPerformanceModelsTime());
+
+		int crossover = evaluator.crossover(ListCollectionType.JDK_ARRAYLIST,
+				ListCollectionType.ONLINEADAPTER_HASHARRAYLIST, PerformanceDimension.TIME, 10, 1);
+
+		Assert.assertTrue(crossover > 0);
+
+		// No models for the dimension
+		Assert.assertEquals(0, evaluator.crossover(ListCollectionType.JDK_ARRAYLIST,
+				ListCollectionType.ONLINEADAPTER_HASHARRAYLIST, PerformanceDimension.ALLOCATION, 10, 1));
+
+	}
+
+	@Test
+	public void testOptimizerPublishesTurningPoint() {
+
+		ListEmpiricalPerformanceEvaluator evaluator = new ListEmpiricalPerformanceEvaluator(PerformanceDimension.TIME,
+				PerformanceModelFactory.buildListPerformanceModelsTime());
+		ListEmpiricalOptimizer optimizer = new ListEmpiricalOptimizer(evaluator,
+				ListCollectionType.ONLINEADAPTER_ADAPTIVELIST,
+				new PerformanceGoal(PerformanceDimension.TIME, PerformanceDimension.ALLOCATION, 1.2, 0), 10, 0);
+		EmpiricalListAllocationContext context = new EmpiricalListAllocationContext(
+				ListCollectionType.ONLINEADAPTER_ADAPTIVELIST, optimizer, 10);
+		optimizer.setContext(context);
+
+		Assert.assertEquals(AdaptiveList.DEFAULT_TURNING_POINT, optimizer.getTurningPoint().get());
+
+		List<Integer> list = context.createList();
+		for (int i = 0; i < 100; i++) {
+			list.add(i);
+		}
+
+		optimizer.analyzeAndOptimize();
+
+		// Without finished collections only the populate costs are compared
+		Assert.assertEquals(evaluator.crossover(ListCollectionType.JDK_ARRAYLIST,
+				ListCollectionType.ONLINEADAPTER_HASHARRAYLIST, PerformanceDimension.TIME, 0, 0),
+				optimizer.getTurningPoint().get());
+
+	}
+
+}
@@ -0,0 +1,58 @@
+package de.heidelberg.pvs.diego.collectionswitch.optimizers;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import de.heidelberg.pvs.diego.collectionswitch.context.ListCollectionType;
+import de.heidelberg.pvs.diego.collectionswitch.monitors.lists.ListActiveFullMonitor;
+import de.heidelberg.pvs.diego.collectionswitch.monitors.lists.ListMetrics;
+import de.heidelberg.pvs.diego.collectionswitch.optimizers.lists.ListPerformanceModel;
+
+public class VisitCostTest {
+
+	private final ListPerformanceModel model = new ListPerformanceModel(ListCollectionType.JDK_ARRAYLIST,
+			new double[] { 0 }, new double[] { 0 }, new double[] { 2, 4 });
+
+	@Test
+	public void testFullScansCostFullIterations() {
+
+		ListMetrics state = scan(Integer.MAX_VALUE);
+		Assert.assertEquals(10 * (2 + 4 * 1000), model.calculatePerformance(state), 1e-6);
+
+	}
+
+	@Test
+	public void testEarlyExitsCostTheirVisits() {
+
+		ListMetrics full = scan(Integer.MAX_VALUE);
+		ListMetrics early = scan(10);
+
+		Assert.assertEquals(10 * 8 * model.calculateVisit(1000), model.calculatePerformance(early), 1e-6);
+		Assert.assertTrue(model.calculatePerformance(early) * 50 < model.calculatePerformance(full));
+
+	}
+
+	// Ten searches over a thousand elements, each stopping after the given visits
+	private static ListMetrics scan(int visits) {
+
+		ListMetrics state = new ListMetrics();
+		List<Integer> monitor = new ListActiveFullMonitor<Integer>(new ArrayList<Integer>(), state);
+		for (int i = 0; i < 1000; i++) {
+			monitor.add(i);
+		}
+
+		for (int i = 0; i < 10; i++) {
+			int visited = 0;
+			for (Integer e : monitor) {
+				if (++visited == visits) {
+					break;
+				}
+			}
+		}
+		return state;
+	}
+
+}